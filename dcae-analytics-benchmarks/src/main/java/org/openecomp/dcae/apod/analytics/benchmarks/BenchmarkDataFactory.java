@@ -0,0 +1,138 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.benchmarks;
+
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.TCAPolicy;
+import org.openecomp.dcae.apod.analytics.model.util.AnalyticsModelJsonUtils;
+
+import java.io.IOException;
+
+/**
+ * Creates synthetic VES CEF messages and TCA Policies used by benchmarks. Messages are measurementsForVfScaling
+ * messages of vFirewall functional role containing given number of vNics, padded with additional fields till they
+ * reach requested message size. TCA Policy contains given number of thresholds for vFirewall functional role where
+ * only last threshold is violated by generated messages, so that all thresholds get evaluated for each message.
+ */
+public abstract class BenchmarkDataFactory {
+
+    public static final String DOMAIN = "measurementsForVfScaling";
+    public static final String FUNCTIONAL_ROLE = "vFirewall";
+    public static final String REPORTING_ENTITY_NAME = "vpp-test";
+    public static final String TCA_APP_NAME = "dcae-tca-benchmark";
+
+    public static final String[] VNIC_FIELD_PATHS = new String[]{
+            "$.event.measurementsForVfScalingFields.vNicUsageArray[*].bytesIn",
+            "$.event.measurementsForVfScalingFields.vNicUsageArray[*].bytesOut",
+            "$.event.measurementsForVfScalingFields.vNicUsageArray[*].packetsIn",
+            "$.event.measurementsForVfScalingFields.vNicUsageArray[*].packetsOut"
+    };
+
+    private static final String VNIC_TEMPLATE = "{\"bytesIn\":%d,\"bytesOut\":%d,\"packetsIn\":%d," +
+            "\"packetsOut\":%d,\"multicastPacketsIn\":0,\"multicastPacketsOut\":0,\"unicastPacketsIn\":0," +
+            "\"unicastPacketsOut\":0,\"broadcastPacketsIn\":0,\"broadcastPacketsOut\":0,\"vNicIdentifier\":\"eth%d\"}";
+
+    private static final String COMMON_EVENT_HEADER_TEMPLATE = "\"commonEventHeader\":{" +
+            "\"reportingEntityName\":\"" + REPORTING_ENTITY_NAME + "\",\"startEpochMicrosec\":1477070210290442," +
+            "\"eventId\":\"%d\",\"lastEpochMicrosec\":1477070220290442,\"priority\":\"Normal\",\"sequence\":%d," +
+            "\"sourceName\":\"Dummy VM name - No Metadata available\",\"domain\":\"" + DOMAIN + "\"," +
+            "\"functionalRole\":\"" + FUNCTIONAL_ROLE + "\",\"reportingEntityId\":\"No UUID available\"," +
+            "\"version\":1.1,\"sourceId\":\"Dummy VM UUID - No Metadata available\"}";
+
+    private static final String ADDITIONAL_FIELD_TEMPLATE =
+            "{\"name\":\"additionalField%d\",\"value\":\"additional field value %d\"}";
+
+    private static final String THRESHOLD_TEMPLATE = "{\"closedLoopControlName\":\"CL-FRWL-BENCHMARK-%d\"," +
+            "\"version\":\"1.0.2\",\"fieldPath\":\"%s\",\"thresholdValue\":%d,\"direction\":\"GREATER_OR_EQUAL\"," +
+            "\"severity\":\"%s\"}";
+
+    //not meant to be instantiated
+    private BenchmarkDataFactory() {
+    }
+
+    /**
+     * Creates VES CEF message json
+     *
+     * @param messageSize minimum size of message in characters. Message is padded with additional fields to reach
+     * this size
+     * @param vNicCount number of vNics in message vNic usage array
+     * @param sequence message sequence number used as event id and sequence
+     *
+     * @return CEF message json
+     */
+    public static String createCEFMessage(final int messageSize, final int vNicCount, final int sequence) {
+        final StringBuilder messageBuilder = new StringBuilder(messageSize + 256);
+        messageBuilder.append("{\"event\":{\"measurementsForVfScalingFields\":{\"measurementInterval\":10,")
+                .append("\"measurementsForVfScalingVersion\":1.1,\"vNicUsageArray\":[");
+        for (int i = 0; i < vNicCount; i++) {
+            if (i > 0) {
+                messageBuilder.append(',');
+            }
+            messageBuilder.append(String.format(VNIC_TEMPLATE, 6086L + i, 7156L + i, 93L + i, 42L + i, i));
+        }
+        messageBuilder.append("]},").append(String.format(COMMON_EVENT_HEADER_TEMPLATE, sequence, sequence));
+
+        // fields unknown to CEF model are still parsed by json processor and json path
+        messageBuilder.append(",\"additionalFields\":[");
+        int additionalFieldIndex = 0;
+        while (messageBuilder.length() + 3 < messageSize) {
+            if (additionalFieldIndex > 0) {
+                messageBuilder.append(',');
+            }
+            messageBuilder.append(String.format(ADDITIONAL_FIELD_TEMPLATE, additionalFieldIndex,
+                    additionalFieldIndex));
+            additionalFieldIndex++;
+        }
+        return messageBuilder.append("]}}").toString();
+    }
+
+    /**
+     * Creates TCA Policy for vFirewall functional role. Thresholds are spread over vNic usage array counters.
+     * Only last threshold is violated by messages created by {@link #createCEFMessage(int, int, int)}
+     *
+     * @param policySize number of thresholds in TCA Policy
+     *
+     * @return TCA Policy
+     */
+    public static TCAPolicy createTCAPolicy(final int policySize) {
+        final StringBuilder policyBuilder = new StringBuilder();
+        policyBuilder.append("{\"domain\":\"").append(DOMAIN).append("\",\"metricsPerFunctionalRole\":[{")
+                .append("\"functionalRole\":\"").append(FUNCTIONAL_ROLE).append("\",")
+                .append("\"policyScope\":\"resource=vFirewall;type=configuration\",")
+                .append("\"policyName\":\"configuration.dcae.microservice.tca.xml\",")
+                .append("\"policyVersion\":\"v0.0.1\",\"thresholds\":[");
+        for (int i = 0; i < policySize; i++) {
+            if (i > 0) {
+                policyBuilder.append(',');
+            }
+            final boolean isViolated = i == policySize - 1;
+            // violated threshold has lower severity so that all other thresholds are evaluated before it
+            policyBuilder.append(String.format(THRESHOLD_TEMPLATE, i, VNIC_FIELD_PATHS[i % VNIC_FIELD_PATHS.length],
+                    isViolated ? 1L : Long.MAX_VALUE / 2, isViolated ? "MAJOR" : "CRITICAL"));
+        }
+        policyBuilder.append("]}]}");
+        try {
+            return AnalyticsModelJsonUtils.readTCAPolicy(policyBuilder.toString());
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to create benchmark TCA Policy", e);
+        }
+    }
+
+}
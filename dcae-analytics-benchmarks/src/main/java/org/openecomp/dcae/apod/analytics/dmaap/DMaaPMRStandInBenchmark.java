@@ -0,0 +1,126 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.dmaap;
+
+import org.openecomp.dcae.apod.analytics.dmaap.domain.config.DMaaPMRPublisherConfig;
+import org.openecomp.dcae.apod.analytics.dmaap.domain.config.DMaaPMRSubscriberConfig;
+import org.openecomp.dcae.apod.analytics.dmaap.domain.response.DMaaPMRPublisherResponse;
+import org.openecomp.dcae.apod.analytics.dmaap.domain.response.DMaaPMRSubscriberResponse;
+import org.openecomp.dcae.apod.analytics.dmaap.service.publisher.DMaaPMRPublisher;
+import org.openecomp.dcae.apod.analytics.dmaap.service.subscriber.DMaaPMRSubscriber;
+import org.openecomp.dcae.apod.analytics.test.dmaap.DMaaPMRStandInServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.openecomp.dcae.apod.analytics.benchmarks.BenchmarkDataFactory.createCEFMessage;
+
+/**
+ * Measures DMaaP MR Publisher and Subscriber round trip throughput against embedded
+ * {@link DMaaPMRStandInServer}. Each operation publishes a batch of VES messages and fetches it back.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DMaaPMRStandInBenchmark {
+
+    private static final String TOPIC_NAME = "DcaeBenchmarkVESPub";
+    private static final String CONSUMER_GROUP = "DcaeBenchmarkGroup";
+    private static final String CONSUMER_ID = "1";
+    private static final String CONTENT_TYPE = "application/json";
+
+    @Param({"1024", "8192"})
+    private int messageSize;
+
+    @Param({"1", "100"})
+    private int batchSize;
+
+    @Param({"0", "5"})
+    private int latencyMS;
+
+    private DMaaPMRStandInServer standInServer;
+    private DMaaPMRPublisher publisher;
+    private DMaaPMRSubscriber subscriber;
+    private List<String> messages;
+
+    @Setup
+    public void setup() throws IOException {
+        standInServer = new DMaaPMRStandInServer.Builder().setLatencyMS(latencyMS).build();
+        standInServer.start();
+
+        final DMaaPMRFactory dMaaPMRFactory = DMaaPMRFactory.create();
+        publisher = dMaaPMRFactory.createPublisher(
+                new DMaaPMRPublisherConfig.Builder(standInServer.getHostName(), TOPIC_NAME)
+                        .setPortNumber(standInServer.getPort())
+                        .setProtocol(DMaaPMRStandInServer.HTTP_PROTOCOL)
+                        .setContentType(CONTENT_TYPE)
+                        .setMaxBatchSize(batchSize)
+                        .build());
+        subscriber = dMaaPMRFactory.createSubscriber(
+                new DMaaPMRSubscriberConfig.Builder(standInServer.getHostName(), TOPIC_NAME)
+                        .setPortNumber(standInServer.getPort())
+                        .setProtocol(DMaaPMRStandInServer.HTTP_PROTOCOL)
+                        .setContentType(CONTENT_TYPE)
+                        .setConsumerGroup(CONSUMER_GROUP)
+                        .setConsumerId(CONSUMER_ID)
+                        .setMessageLimit(batchSize)
+                        .build());
+
+        messages = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            messages.add(createCEFMessage(messageSize, 1, i));
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        publisher.close();
+        subscriber.close();
+        standInServer.close();
+    }
+
+    @Benchmark
+    public DMaaPMRSubscriberResponse publishAndFetch() {
+        final DMaaPMRPublisherResponse publisherResponse = publisher.forcePublish(messages);
+        if (publisherResponse.getResponseCode() != DMaaPMRStandInServer.HTTP_OK_RESPONSE_CODE) {
+            throw new IllegalStateException("Unable to publish benchmark messages: " + publisherResponse);
+        }
+        return subscriber.fetchMessages();
+    }
+
+}
@@ -0,0 +1,87 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.dmaap.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.openecomp.dcae.apod.analytics.benchmarks.BenchmarkDataFactory.createCEFMessage;
+
+/**
+ * Benchmarks DMaaP MR message batch json conversions of {@link BaseDMaaPMRComponent} done by publisher for
+ * every published batch and by subscriber for every fetched batch
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DMaaPMRMessageConversionBenchmark {
+
+    @Param({"1024", "8192", "65536"})
+    private int messageSize;
+
+    @Param({"1", "4", "16"})
+    private int vNicCount;
+
+    @Param({"1", "100"})
+    private int batchSize;
+
+    private List<String> publisherMessages;
+    private String subscriberMessagesJson;
+
+    @Setup
+    public void setup() throws JsonProcessingException {
+        publisherMessages = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            publisherMessages.add(createCEFMessage(messageSize, vNicCount, i));
+        }
+        // DMaaP MR returns fetched messages as json array of escaped message strings
+        subscriberMessagesJson = new ObjectMapper().writeValueAsString(publisherMessages);
+    }
+
+    @Benchmark
+    public String convertToJsonString() {
+        return BaseDMaaPMRComponent.convertToJsonString(publisherMessages);
+    }
+
+    @Benchmark
+    public List<String> convertJsonToStringMessages() {
+        return BaseDMaaPMRComponent.convertJsonToStringMessages(subscriberMessagesJson);
+    }
+
+}
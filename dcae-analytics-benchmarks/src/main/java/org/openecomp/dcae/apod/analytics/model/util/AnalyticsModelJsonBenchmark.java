@@ -0,0 +1,131 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.model.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openecomp.dcae.apod.analytics.model.domain.cef.EventListener;
+import org.openecomp.dcae.apod.analytics.model.util.json.AnalyticsModelObjectMapperSupplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.openecomp.dcae.apod.analytics.benchmarks.BenchmarkDataFactory.createCEFMessage;
+
+/**
+ * Benchmarks CEF message {@link EventListener} binding done by {@link AnalyticsModelJsonUtils} and compares
+ * generic {@link ObjectMapper} calls against pre-built {@link ObjectReader} / {@link ObjectWriter} instances,
+ * with and without Afterburner module.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnalyticsModelJsonBenchmark {
+
+    @Param({"1024", "8192", "65536"})
+    private int messageSize;
+
+    @Param({"1", "4", "16"})
+    private int vNicCount;
+
+    private String cefMessage;
+    private EventListener eventListener;
+
+    private ObjectMapper defaultObjectMapper;
+    private ObjectReader defaultReader;
+    private ObjectWriter defaultWriter;
+    private ObjectReader afterburnerReader;
+    private ObjectWriter afterburnerWriter;
+
+    @Setup
+    public void setup() throws IOException {
+        defaultObjectMapper = new AnalyticsModelObjectMapperSupplier(false).get();
+        final ObjectMapper afterburnerObjectMapper = new AnalyticsModelObjectMapperSupplier(true).get();
+        defaultReader = defaultObjectMapper.readerFor(EventListener.class);
+        defaultWriter = defaultObjectMapper.writerFor(EventListener.class);
+        afterburnerReader = afterburnerObjectMapper.readerFor(EventListener.class);
+        afterburnerWriter = afterburnerObjectMapper.writerFor(EventListener.class);
+
+        cefMessage = createCEFMessage(messageSize, vNicCount, 1);
+        eventListener = AnalyticsModelJsonUtils.readEventListener(cefMessage);
+    }
+
+    @Benchmark
+    public EventListener readEventListener() throws IOException {
+        return AnalyticsModelJsonUtils.readEventListener(cefMessage);
+    }
+
+    @Benchmark
+    public EventListener readValueEventListener() throws IOException {
+        return AnalyticsModelJsonUtils.readValue(cefMessage, EventListener.class);
+    }
+
+    @Benchmark
+    public EventListener readObjectMapper() throws IOException {
+        return defaultObjectMapper.readValue(cefMessage, EventListener.class);
+    }
+
+    @Benchmark
+    public EventListener readObjectReader() throws IOException {
+        return defaultReader.readValue(cefMessage);
+    }
+
+    @Benchmark
+    public EventListener readObjectReaderAfterburner() throws IOException {
+        return afterburnerReader.readValue(cefMessage);
+    }
+
+    @Benchmark
+    public String writeEventListener() throws IOException {
+        return AnalyticsModelJsonUtils.writeValueAsString(eventListener);
+    }
+
+    @Benchmark
+    public String writeObjectMapper() throws IOException {
+        return defaultObjectMapper.writeValueAsString(eventListener);
+    }
+
+    @Benchmark
+    public String writeObjectWriter() throws IOException {
+        return defaultWriter.writeValueAsString(eventListener);
+    }
+
+    @Benchmark
+    public String writeObjectWriterAfterburner() throws IOException {
+        return afterburnerWriter.writeValueAsString(eventListener);
+    }
+
+}
@@ -0,0 +1,103 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.persistance;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.TCAPolicy;
+import org.openecomp.dcae.apod.analytics.model.util.AnalyticsModelJsonUtils;
+import org.openecomp.dcae.apod.analytics.tca.processor.TCACEFProcessorContext;
+import org.openecomp.dcae.apod.analytics.tca.threshold.TCAPolicyThresholds;
+import org.openecomp.dcae.apod.analytics.tca.utils.TCAUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.openecomp.dcae.apod.analytics.benchmarks.BenchmarkDataFactory.TCA_APP_NAME;
+import static org.openecomp.dcae.apod.analytics.benchmarks.BenchmarkDataFactory.createCEFMessage;
+import static org.openecomp.dcae.apod.analytics.benchmarks.BenchmarkDataFactory.createTCAPolicy;
+
+/**
+ * Benchmarks {@link TCAMessageStatusEntity} construction done by {@link TCAMessageStatusPersister} for every
+ * VES CEF message when message status persistence is enabled. Table write itself is not measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TCAMessageStatusPersisterBenchmark {
+
+    private static final int FLOWLET_INSTANCE_ID = 0;
+
+    @Param({"1024", "8192", "65536"})
+    private int messageSize;
+
+    @Param({"1", "4", "16"})
+    private int vNicCount;
+
+    @Param({"2", "16"})
+    private int policySize;
+
+    private TCACEFProcessorContext compliantProcessorContext;
+    private TCACEFProcessorContext nonCompliantProcessorContext;
+    private String alertMessage;
+
+    @Setup
+    public void setup() throws JsonProcessingException {
+        final String cefMessage = createCEFMessage(messageSize, vNicCount, 1);
+        final TCAPolicy tcaPolicy = createTCAPolicy(policySize);
+        // policy without its only violated threshold is never violated by benchmark messages
+        final TCAPolicy compliantTCAPolicy = createTCAPolicy(policySize);
+        compliantTCAPolicy.getMetricsPerFunctionalRole().get(0).getThresholds().remove(policySize - 1);
+
+        compliantProcessorContext = TCAUtils.computeThresholdViolations(
+                TCAUtils.filterCEFMessage(cefMessage, compliantTCAPolicy),
+                new TCAPolicyThresholds(compliantTCAPolicy));
+        nonCompliantProcessorContext = TCAUtils.computeThresholdViolations(
+                TCAUtils.filterCEFMessage(cefMessage, tcaPolicy), new TCAPolicyThresholds(tcaPolicy));
+        alertMessage = AnalyticsModelJsonUtils.writeValueAsString(
+                TCAUtils.createNewTCAVESResponse(nonCompliantProcessorContext, TCA_APP_NAME));
+    }
+
+    @Benchmark
+    public TCAMessageStatusEntity createCompliantMessageStatusEntity() {
+        return TCAMessageStatusPersister.createMessageStatusEntity(compliantProcessorContext,
+                FLOWLET_INSTANCE_ID, TCACalculatorMessageType.COMPLIANT, null);
+    }
+
+    @Benchmark
+    public TCAMessageStatusEntity createNonCompliantMessageStatusEntity() {
+        return TCAMessageStatusPersister.createMessageStatusEntity(nonCompliantProcessorContext,
+                FLOWLET_INSTANCE_ID, TCACalculatorMessageType.NON_COMPLIANT, alertMessage);
+    }
+
+}
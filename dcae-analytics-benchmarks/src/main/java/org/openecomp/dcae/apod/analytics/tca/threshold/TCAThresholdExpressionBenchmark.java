@@ -0,0 +1,186 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+package org.openecomp.dcae.apod.analytics.tca.threshold;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares evaluation of compiled {@link TCAThresholdExpression} against naive approach which
+ * interprets expression text for every message using boxed field path values looked up by field path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TCAThresholdExpressionBenchmark {
+
+    private static final String BYTES_IN_FIELD_PATH =
+            "$.event.measurementsForVfScalingFields.vNicUsageArray[*].bytesIn";
+    private static final String BYTES_OUT_FIELD_PATH =
+            "$.event.measurementsForVfScalingFields.vNicUsageArray[*].bytesOut";
+    private static final String EXPRESSION =
+            "(" + BYTES_IN_FIELD_PATH + " + " + BYTES_OUT_FIELD_PATH + ") * 8 / (1024 * 10)";
+
+    @Param({"1", "4", "16"})
+    private int vNicCount;
+
+    private TCAThresholdExpression compiledExpression;
+    private TCAFieldValues[] operandValues;
+    private Map<String, List<Long>> fieldPathValues;
+
+    @Setup
+    public void setup() {
+        final long[] bytesInValues = new long[vNicCount];
+        final long[] bytesOutValues = new long[vNicCount];
+        fieldPathValues = new HashMap<>();
+        fieldPathValues.put(BYTES_IN_FIELD_PATH, new ArrayList<Long>());
+        fieldPathValues.put(BYTES_OUT_FIELD_PATH, new ArrayList<Long>());
+        for (int i = 0; i < vNicCount; i++) {
+            bytesInValues[i] = 6086L + i;
+            bytesOutValues[i] = 7156L + i;
+            fieldPathValues.get(BYTES_IN_FIELD_PATH).add(bytesInValues[i]);
+            fieldPathValues.get(BYTES_OUT_FIELD_PATH).add(bytesOutValues[i]);
+        }
+        compiledExpression = TCAThresholdExpression.compile(EXPRESSION);
+        operandValues = new TCAFieldValues[]{TCAFieldValues.of(bytesInValues), TCAFieldValues.of(bytesOutValues)};
+    }
+
+    @Benchmark
+    public double[] evaluateCompiled() {
+        return compiledExpression.evaluate(operandValues);
+    }
+
+    @Benchmark
+    public List<Double> evaluateNaive() {
+        return evaluateNaive(EXPRESSION, fieldPathValues);
+    }
+
+    /**
+     * Naive evaluation - expression text is interpreted again for each vNic value
+     */
+    private static List<Double> evaluateNaive(final String expression, final Map<String, List<Long>> fieldValues) {
+        int valueCount = Integer.MAX_VALUE;
+        for (List<Long> values : fieldValues.values()) {
+            valueCount = Math.min(valueCount, values.size());
+        }
+        final List<Double> results = new ArrayList<>();
+        for (int valueIndex = 0; valueIndex < valueCount; valueIndex++) {
+            results.add(new NaiveInterpreter(expression, fieldValues, valueIndex).parseAdditive());
+        }
+        return results;
+    }
+
+    private static final class NaiveInterpreter {
+
+        private final String expression;
+        private final Map<String, List<Long>> fieldValues;
+        private final int valueIndex;
+        private int position;
+
+        private NaiveInterpreter(final String expression, final Map<String, List<Long>> fieldValues,
+                                 final int valueIndex) {
+            this.expression = expression.replace(" ", "");
+            this.fieldValues = fieldValues;
+            this.valueIndex = valueIndex;
+        }
+
+        private Double parseAdditive() {
+            Double value = parseMultiplicative();
+            while (position < expression.length()) {
+                final char operator = expression.charAt(position);
+                if (operator == '+') {
+                    position++;
+                    value = value + parseMultiplicative();
+                } else if (operator == '-') {
+                    position++;
+                    value = value - parseMultiplicative();
+                } else {
+                    break;
+                }
+            }
+            return value;
+        }
+
+        private Double parseMultiplicative() {
+            Double value = parsePrimary();
+            while (position < expression.length()) {
+                final char operator = expression.charAt(position);
+                if (operator == '*') {
+                    position++;
+                    value = value * parsePrimary();
+                } else if (operator == '/') {
+                    position++;
+                    value = value / parsePrimary();
+                } else {
+                    break;
+                }
+            }
+            return value;
+        }
+
+        private Double parsePrimary() {
+            final char currentChar = expression.charAt(position);
+            if (currentChar == '(') {
+                position++;
+                final Double value = parseAdditive();
+                position++;
+                return value;
+            }
+            final int startPosition = position;
+            if (currentChar == '$') {
+                int bracketDepth = 0;
+                while (position < expression.length() && (bracketDepth > 0 ||
+                        "+-*/()".indexOf(expression.charAt(position)) < 0)) {
+                    if (expression.charAt(position) == '[') {
+                        bracketDepth++;
+                    } else if (expression.charAt(position) == ']') {
+                        bracketDepth--;
+                    }
+                    position++;
+                }
+                return fieldValues.get(expression.substring(startPosition, position)).get(valueIndex).doubleValue();
+            }
+            while (position < expression.length() && (Character.isDigit(expression.charAt(position)) ||
+                    expression.charAt(position) == '.')) {
+                position++;
+            }
+            return Double.valueOf(expression.substring(startPosition, position));
+        }
+    }
+
+}
@@ -0,0 +1,131 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.utils;
+
+import com.google.common.collect.ImmutableSet;
+import org.openecomp.dcae.apod.analytics.model.domain.cef.EventListener;
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.TCAPolicy;
+import org.openecomp.dcae.apod.analytics.model.facade.tca.TCAVESResponse;
+import org.openecomp.dcae.apod.analytics.tca.processor.TCACEFProcessorContext;
+import org.openecomp.dcae.apod.analytics.tca.threshold.TCAPolicyThresholds;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.openecomp.dcae.apod.analytics.benchmarks.BenchmarkDataFactory.TCA_APP_NAME;
+import static org.openecomp.dcae.apod.analytics.benchmarks.BenchmarkDataFactory.VNIC_FIELD_PATHS;
+import static org.openecomp.dcae.apod.analytics.benchmarks.BenchmarkDataFactory.createCEFMessage;
+import static org.openecomp.dcae.apod.analytics.benchmarks.BenchmarkDataFactory.createTCAPolicy;
+
+/**
+ * Benchmarks {@link TCAUtils} methods which are invoked by TCA threshold violation calculator for every
+ * VES CEF message
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TCAUtilsBenchmark {
+
+    @Param({"1024", "8192", "65536"})
+    private int messageSize;
+
+    @Param({"1", "4", "16"})
+    private int vNicCount;
+
+    @Param({"2", "16", "64"})
+    private int policySize;
+
+    private String cefMessage;
+    private TCAPolicy tcaPolicy;
+    private TCAPolicyThresholds policyThresholds;
+    private EventListener eventListener;
+    private TCACEFProcessorContext violatedProcessorContext;
+    private Set<String> jsonFieldPaths;
+
+    @Setup
+    public void setup() {
+        cefMessage = createCEFMessage(messageSize, vNicCount, 1);
+        tcaPolicy = createTCAPolicy(policySize);
+        policyThresholds = new TCAPolicyThresholds(tcaPolicy);
+        final TCACEFProcessorContext filteredProcessorContext = TCAUtils.filterCEFMessage(cefMessage, tcaPolicy);
+        if (!filteredProcessorContext.canProcessingContinue()) {
+            throw new IllegalStateException("Benchmark CEF message must not be filtered out by TCA Policy");
+        }
+        eventListener = filteredProcessorContext.getCEFEventListener();
+        violatedProcessorContext = TCAUtils.computeThresholdViolations(filteredProcessorContext, policyThresholds);
+        if (violatedProcessorContext.getMetricsPerFunctionalRole() == null) {
+            throw new IllegalStateException("Benchmark CEF message must violate TCA Policy threshold");
+        }
+        jsonFieldPaths = ImmutableSet.copyOf(VNIC_FIELD_PATHS);
+    }
+
+    @Benchmark
+    public TCACEFProcessorContext filterCEFMessage() {
+        return TCAUtils.filterCEFMessage(cefMessage, tcaPolicy);
+    }
+
+    @Benchmark
+    public TCACEFProcessorContext computeThresholdViolations() {
+        return TCAUtils.computeThresholdViolations(createFilteredProcessorContext());
+    }
+
+    @Benchmark
+    public TCACEFProcessorContext computeThresholdViolationsWithPolicyThresholds() {
+        return TCAUtils.computeThresholdViolations(createFilteredProcessorContext(), policyThresholds);
+    }
+
+    @Benchmark
+    public TCAVESResponse createNewTCAVESResponse() {
+        return TCAUtils.createNewTCAVESResponse(violatedProcessorContext, TCA_APP_NAME);
+    }
+
+    @Benchmark
+    public Map<String, List<Long>> getJsonPathValue() {
+        return TCAUtils.getJsonPathValue(cefMessage, jsonFieldPaths);
+    }
+
+    /**
+     * Creates processor context in the state it is left by filter chain, reusing already parsed event listener
+     * so that json parsing is not measured as part of threshold computation
+     */
+    private TCACEFProcessorContext createFilteredProcessorContext() {
+        final TCACEFProcessorContext processorContext = new TCACEFProcessorContext(cefMessage, tcaPolicy);
+        processorContext.setCEFEventListener(eventListener);
+        return processorContext;
+    }
+
+}
@@ -70,6 +70,12 @@ public abstract class AnalyticsConstants {
     // in case publisher is not responding
     public static final Integer TCA_DEFAULT_PUBLISHER_MAX_RECOVERY_QUEUE_SIZE = 100000;
 
+    // Default publisher alert coalescing window - 0 disables alert coalescing
+    public static final Integer TCA_DEFAULT_PUBLISHER_ALERT_COALESCING_WINDOW_MS = 0;
+
+    // Default publisher alert coalescing type determines which alert of a coalesced group is published
+    public static final String TCA_DEFAULT_PUBLISHER_ALERT_COALESCING_TYPE = "HIGHEST_SEVERITY";
+
     // Default interval during which TCA DMaaP Worker checks if scheduler is shut down
     public static final Integer TCA_DEFAULT_WORKER_SHUTDOWN_CHECK_INTERVAL_MS = 10000;
 
@@ -99,6 +105,9 @@ public abstract class AnalyticsConstants {
     // TCA Quartz DMaaP Publisher Job Parameter Settings
     public static final String CDAP_ALERTS_TABLE_VARIABLE_NAME = "CDAP_TCA_ALERTS_TABLE_NAME";
     public static final String DMAAP_PUBLISHER_VARIABLE_NAME = "DMAAP_PUBLISHER";
+    public static final String TCA_ALERT_COALESCER_VARIABLE_NAME = "TCA_ALERT_COALESCER";
+    public static final String TCA_ALERT_TO_PUBLISH_LATENCY_VARIABLE_NAME = "TCA_ALERT_TO_PUBLISH_LATENCY";
+    public static final String TCA_EVENT_TO_PUBLISH_LATENCY_VARIABLE_NAME = "TCA_EVENT_TO_PUBLISH_LATENCY";
 
     // TCA VES Response Constants
     public static final String TCA_VES_RESPONSE_TARGET_TYPE = "VNF";
@@ -111,8 +120,13 @@ public abstract class AnalyticsConstants {
     public static final String LOAD_BALANCER_TCA_VES_RESPONSE_TARGET_TYPE = "VM";
     public static final String LOAD_BALANCER_TCA_VES_RESPONSE_TARGET = "vserver.vserver-name";
 
-    // TCA VES Message Router Partition Key
-    public static final String TCA_VES_MESSAGE_ROUTER_PARTITION_KEY = "VESMessageHash";
+    // TCA Policy field path prefix of vNic usage array counters
+    public static final String TCA_VNIC_USAGE_ARRAY_FIELD_PATH_PREFIX =
+            "$.event.measurementsForVfScalingFields.vNicUsageArray[*].";
+
+    // TCA VES Message Router Partition Key - hash of reporting entity name so that messages of the same reporting
+    // entity are always processed by the same Threshold Calculator Flowlet instance
+    public static final String TCA_VES_MESSAGE_ROUTER_PARTITION_KEY = "VESReportingEntityHash";
 
     /**
      * Default Number of instances for Threshold violation calculator flowlet
@@ -129,6 +143,237 @@ public abstract class AnalyticsConstants {
      */
     public static final Integer TCA_DEFAULT_VES_ALERTS_TTL_TABLE = 60 * 60 * 24 * 20; // 20 Days
 
+    /**
+     * Default TTL for TCA Threshold Violation Stats table which contains violation stats of each policy threshold
+     */
+    public static final Integer TCA_DEFAULT_THRESHOLD_VIOLATION_STATS_TTL_TABLE = 60 * 60 * 24 * 10; // 10 Days
+
+    /**
+     * Default setting for compact binary records between TCA VES Message Router and Threshold Calculator flowlets.
+     * If disabled raw VES Message strings are emitted to Threshold Calculator Flowlet instances. Compact records
+     * carry pre extracted Common Event Header fields along with raw VES Message bytes
+     */
+    public static final Boolean TCA_DEFAULT_ENABLE_COMPACT_FLOWLET_RECORDS = false;
+
+    /**
+     * Default setting for TCA VES Load Generator Worker. Load generator writes synthetic or replayed VES messages to
+     * TCA subscriber output stream and must only be enabled in test deployments
+     */
+    public static final Boolean TCA_DEFAULT_ENABLE_LOAD_GENERATOR_WORKER = false;
+
+    /**
+     * Default request ID generator type used by TCA Threshold Calculator Flowlet for alert messages
+     */
+    public static final String TCA_DEFAULT_ALERT_REQUEST_ID_GENERATOR = "TIME_BASED";
+
+    /**
+     * Default max number of per reporting entity counter values and window sample buffers kept by each TCA
+     * Threshold Calculator Flowlet instance for delta, rate and window thresholds
+     */
+    public static final Integer TCA_DEFAULT_THRESHOLD_STATE_MAX_ENTRIES = 500000;
+
+    /**
+     * Default time after which counter values of reporting entities which stopped sending messages are evicted
+     */
+    public static final Integer TCA_DEFAULT_THRESHOLD_STATE_TTL_SECONDS = 60 * 60; // 1 Hour
+
+    /**
+     * Default max number of reporting entity and closed loop pairs with recently emitted alerts kept by each TCA
+     * Threshold Calculator Flowlet instance for alert suppression
+     */
+    public static final Integer TCA_DEFAULT_ALERT_SUPPRESSION_MAX_ENTRIES = 100000;
+
+    /**
+     * Default time after which a reporting entity which stays in violation of a closed loop is alerted again.
+     * 0 disables alert suppression and an alert is emitted for each violating message
+     */
+    public static final Integer TCA_DEFAULT_ALERT_REARM_SECONDS = 0;
+
+    /**
+     * Default max alerts per minute emitted for each reporting entity by each TCA Threshold Calculator Flowlet
+     * instance. 0 disables reporting entity alert rate limit
+     */
+    public static final Integer TCA_DEFAULT_ENTITY_ALERT_RATE_LIMIT_PER_MINUTE = 0;
+
+    /**
+     * Default max alerts per minute emitted for each closed loop control name by all TCA Threshold Calculator
+     * Flowlet instances together - each instance enforces its share of the limit. 0 disables closed loop alert
+     * rate limit
+     */
+    public static final Integer TCA_DEFAULT_CLOSED_LOOP_ALERT_RATE_LIMIT_PER_MINUTE = 0;
+
+    /**
+     * Default max alerts which can be emitted at once by a reporting entity or closed loop before alert rate
+     * limits apply
+     */
+    public static final Integer TCA_DEFAULT_ALERT_RATE_LIMIT_BURST_SIZE = 10;
+
+    /**
+     * Max number of reporting entity and closed loop alert rate limit buckets kept by each TCA Threshold Calculator
+     * Flowlet instance
+     */
+    public static final int TCA_ALERT_RATE_LIMIT_MAX_ENTRIES = 100000;
+
+    /**
+     * Max window size of window thresholds - bounds memory used by window sample buffers. Window size is also the
+     * max number of samples of time windows
+     */
+    public static final Integer TCA_MAX_THRESHOLD_WINDOW_SIZE = 256;
+
+    /**
+     * Relative accuracy of percentile window threshold values - reported percentile is within this fraction of an
+     * actual sample value
+     */
+    public static final double TCA_THRESHOLD_PERCENTILE_RELATIVE_ACCURACY = 0.02;
+
+    /**
+     * Max number of buckets of each percentile window quantile sketch. If samples of a window span a range wider
+     * than buckets can cover, lowest buckets are collapsed so that high percentiles stay accurate
+     */
+    public static final int TCA_THRESHOLD_PERCENTILE_MAX_BUCKETS = 256;
+
+    /**
+     * Number of panes percentile windows are divided into. Window slides by one pane at a time
+     */
+    public static final int TCA_THRESHOLD_PERCENTILE_WINDOW_PANES = 4;
+
+    /**
+     * Interval at which percentile window quantile sketches changed since previous checkpoint are saved in TCA
+     * Threshold Sketch Table
+     */
+    public static final int TCA_THRESHOLD_SKETCH_CHECKPOINT_INTERVAL_SECONDS = 60;
+
+    /**
+     * Interval at which message processor latency and processing state metrics are published by calculator
+     */
+    public static final int TCA_MESSAGE_PROCESSOR_METRICS_INTERVAL_SECONDS = 10;
+
+    /**
+     * Interval at which event freshness and pipeline latency percentiles are published
+     */
+    public static final int TCA_EVENT_LATENCY_METRICS_INTERVAL_SECONDS = 10;
+
+    /**
+     * Length of threshold violation stats windows. Violation counts and top offenders of each policy threshold are
+     * kept per window so that stats of any time range can be queried
+     */
+    public static final int TCA_THRESHOLD_VIOLATION_STATS_WINDOW_SECONDS = 60 * 60;
+
+    /**
+     * Interval at which threshold violation stats of current window are saved in TCA Threshold Violation Stats Table
+     */
+    public static final int TCA_THRESHOLD_VIOLATION_STATS_FLUSH_INTERVAL_SECONDS = 60;
+
+    /**
+     * Number of reporting entities tracked by top offenders sketch of each policy threshold. Sketch keeps more
+     * entities than are queried so that top offenders are accurate
+     */
+    public static final int TCA_THRESHOLD_VIOLATION_STATS_TOP_OFFENDERS_CAPACITY = 32;
+
+    /**
+     * Default number of top offending reporting entities returned by TCA Threshold Violation Stats Service
+     */
+    public static final int TCA_THRESHOLD_VIOLATION_STATS_DEFAULT_TOP_K = 10;
+
+    /**
+     * Interval at which counts and latencies aggregated in TCA program instances are flushed to CDAP metrics
+     */
+    public static final int TCA_AGGREGATED_METRICS_FLUSH_INTERVAL_SECONDS = 10;
+
+    /**
+     * Max number of distinct metric names - like per policy threshold violation counts - aggregated by a TCA
+     * program instance
+     */
+    public static final int TCA_AGGREGATED_METRICS_MAX_NAMES = 1000;
+
+    /**
+     * Interval at which DMaaP MR client fetch and publish latency percentiles are published
+     */
+    public static final int TCA_DMAAP_CLIENT_LATENCY_METRICS_INTERVAL_SECONDS = 10;
+
+    /**
+     * CDAP Stream event header which contains time in milli seconds at which VES message was fetched from DMaaP MR.
+     * If header is not present stream event timestamp is used as fetch time
+     */
+    public static final String TCA_VES_FETCH_TIMESTAMP_STREAM_HEADER = "tcaFetchTimestampMS";
+
+    /**
+     * Max number of quantile sketches saved while processing a single message - checkpoints of many sketches are
+     * spread over subsequent messages to keep flowlet transactions small
+     */
+    public static final int TCA_THRESHOLD_SKETCH_CHECKPOINT_MAX_ENTRIES = 1000;
+
+    /**
+     * Default capacity of each bounded queue between TCA Pipeline Runner stages
+     */
+    public static final int TCA_PIPELINE_RUNNER_DEFAULT_QUEUE_CAPACITY = 1000;
+
+    /**
+     * Default max rows kept in TCA Pipeline Runner in memory message status table
+     */
+    public static final int TCA_PIPELINE_RUNNER_DEFAULT_MESSAGE_STATUS_MAX_ENTRIES = 100000;
+
+    /**
+     * Default number of consecutive empty DMaaP MR fetches after which TCA Pipeline Runner subscriber source is
+     * exhausted
+     */
+    public static final int TCA_PIPELINE_RUNNER_DEFAULT_MAX_EMPTY_FETCHES = 3;
+
+    /**
+     * Default rate at which TCA VES Load Generator synthesizes messages. Non positive rate means no pacing
+     */
+    public static final int TCA_LOAD_GENERATOR_DEFAULT_MESSAGES_PER_SECOND = 1000;
+
+    /**
+     * Default max number of messages synthesized by TCA VES Load Generator. Non positive value means no limit
+     */
+    public static final long TCA_LOAD_GENERATOR_DEFAULT_MAX_MESSAGES = 0L;
+
+    /**
+     * Default number of distinct reporting entities per functional role used by TCA VES Load Generator
+     */
+    public static final int TCA_LOAD_GENERATOR_DEFAULT_ENTITY_COUNT = 100;
+
+    /**
+     * Default number of vNics in vNic usage array of messages synthesized by TCA VES Load Generator
+     */
+    public static final int TCA_LOAD_GENERATOR_DEFAULT_VNIC_COUNT = 2;
+
+    /**
+     * Default fraction of policy applicable messages synthesized by TCA VES Load Generator which violate a threshold
+     */
+    public static final double TCA_LOAD_GENERATOR_DEFAULT_VIOLATION_RATIO = 0.01;
+
+    /**
+     * Default number of messages synthesized and written together by TCA VES Load Generator
+     */
+    public static final int TCA_LOAD_GENERATOR_DEFAULT_BATCH_SIZE = 100;
+
+    /**
+     * Default TCA VES Load Generator burst rate multiplier. Multiplier of 1 means no bursts
+     */
+    public static final double TCA_LOAD_GENERATOR_DEFAULT_BURST_MULTIPLIER = 1.0;
+
+    /**
+     * Default duration of each TCA VES Load Generator burst
+     */
+    public static final int TCA_LOAD_GENERATOR_DEFAULT_BURST_DURATION_MS = 0;
+
+    /**
+     * Default interval between start of two TCA VES Load Generator bursts
+     */
+    public static final int TCA_LOAD_GENERATOR_DEFAULT_BURST_PERIOD_MS = 0;
+
+    /**
+     * Default mode in which captured VES traffic is replayed
+     */
+    public static final String TCA_REPLAY_DEFAULT_MODE = "ORIGINAL_TIMING";
+
+    /**
+     * Default speed factor of captured VES traffic replayed with original timing
+     */
+    public static final double TCA_REPLAY_DEFAULT_SPEED_FACTOR = 1.0;
+
 
     // TCA Policy Runtime Argument Paths
     public static final String TCA_POLICY_DELIMITER = ".";
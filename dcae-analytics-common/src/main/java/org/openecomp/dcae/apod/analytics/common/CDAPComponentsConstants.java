@@ -115,6 +115,17 @@ public abstract class CDAPComponentsConstants {
     public static final String TCA_FIXED_DMAAP_PUBLISHER_DESCRIPTION_WORKER =
             "Polls TCA Alerts Table at frequent intervals for new alerts and publishes them to DMaaP MR Topic";
 
+    /**
+     * Fixed Name of TCA VES Load Generator Worker - which will be writing synthetic VES messages to CDAP stream
+     */
+    public static final String TCA_FIXED_VES_LOAD_GENERATOR_WORKER = "TCAVESLoadGeneratorWorker";
+
+    /**
+     * Fixed Description of TCA VES Load Generator Worker
+     */
+    public static final String TCA_FIXED_VES_LOAD_GENERATOR_DESCRIPTION_WORKER =
+            "Synthesizes VES messages at configured rate and writes them to a CDAP stream";
+
     /**
      * Fixed name for TCA VES Collector Messages Processing Flow
      */
@@ -143,6 +154,11 @@ public abstract class CDAPComponentsConstants {
      */
     public static final String TCA_FIXED_VES_MESSAGE_ROUTER_OUTPUT = "TCAVESMessageRouterFlowlet";
 
+    /**
+     * Fixed TCA VES Message Router Flowlet Output which emits compact binary VES Message Records
+     */
+    public static final String TCA_FIXED_VES_MESSAGE_ROUTER_RECORD_OUTPUT = "TCAVESMessageRouterRecordOutput";
+
     /**
      * Fixed Name for TCA VES Message Policy Violated Threshold Calculator Flowlet
      */
@@ -196,5 +212,40 @@ public abstract class CDAPComponentsConstants {
     public static final String TCA_DEFAULT_VES_ALERTS_DESCRIPTION_TABLE =
             "Stores alert messages that need to be DMaaP";
 
+    /**
+     * Default Name for TCA Threshold Sketch table which contains checkpoints of percentile window quantile sketches
+     */
+    public static final String TCA_DEFAULT_THRESHOLD_SKETCH_NAME_TABLE = "TCAThresholdSketchTable";
+
+    /**
+     * Fixed Description for TCA Threshold Sketch table which contains checkpoints of percentile window quantile
+     * sketches
+     */
+    public static final String TCA_FIXED_THRESHOLD_SKETCH_DESCRIPTION_TABLE =
+            "Stores percentile threshold window state so that TCA calculator instances can restart without losing it";
+
+    /**
+     * Default Name for TCA Threshold Violation Stats table which contains violation counts and top offending
+     * reporting entities of each policy threshold
+     */
+    public static final String TCA_DEFAULT_THRESHOLD_VIOLATION_STATS_NAME_TABLE = "TCAThresholdViolationStatsTable";
+
+    /**
+     * Fixed Description for TCA Threshold Violation Stats table
+     */
+    public static final String TCA_FIXED_THRESHOLD_VIOLATION_STATS_DESCRIPTION_TABLE =
+            "Stores violation counts and top offending reporting entities of TCA Policy thresholds";
+
+    /**
+     * Fixed Name for TCA Threshold Violation Stats Service
+     */
+    public static final String TCA_FIXED_THRESHOLD_VIOLATION_STATS_NAME_SERVICE = "TCAThresholdViolationStatsService";
+
+    /**
+     * Fixed Description for TCA Threshold Violation Stats Service
+     */
+    public static final String TCA_FIXED_THRESHOLD_VIOLATION_STATS_DESCRIPTION_SERVICE =
+            "Queries violation counts and top offending reporting entities of TCA Policy thresholds and policies";
+
 
 }
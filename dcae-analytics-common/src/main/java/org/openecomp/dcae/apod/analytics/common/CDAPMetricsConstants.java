@@ -87,6 +87,104 @@ public abstract class CDAPMetricsConstants {
      */
     public static final String TCA_VES_NON_COMPLIANT_MESSAGES_METRIC = "tca.ves.calculator.non_compliant";
 
+    /**
+     * Metric captures number of reporting entity counter values and window sample buffers currently kept by
+     * calculator flowlet instance for delta, rate and window thresholds
+     */
+    public static final String TCA_VES_THRESHOLD_STATE_ENTRIES_METRIC = "tca.ves.calculator.state.entries";
+
+    /**
+     * Metric captures approximate memory in bytes used by calculator flowlet instance threshold state
+     */
+    public static final String TCA_VES_THRESHOLD_STATE_MEMORY_BYTES_METRIC = "tca.ves.calculator.state.memory_bytes";
+
+    /**
+     * Metric counts threshold state entries evicted as reporting entity did not send messages within state TTL
+     */
+    public static final String TCA_VES_THRESHOLD_STATE_EVICTED_METRIC = "tca.ves.calculator.state.evicted";
+
+    /**
+     * Metric counts threshold state entries which could not be created as threshold state was full. Delta, rate
+     * and window thresholds of such reporting entities are not evaluated
+     */
+    public static final String TCA_VES_THRESHOLD_STATE_REJECTED_METRIC = "tca.ves.calculator.state.rejected";
+
+    /**
+     * Metric counts percentile threshold window sketches saved in TCA Threshold Sketch Table
+     */
+    public static final String TCA_VES_THRESHOLD_SKETCH_CHECKPOINTED_METRIC = "tca.ves.calculator.sketch.checkpointed";
+
+    /**
+     * Metric counts threshold violation stats saved in TCA Threshold Violation Stats Table
+     */
+    public static final String TCA_VES_THRESHOLD_VIOLATION_STATS_SAVED_METRIC =
+            "tca.ves.calculator.violation_stats.saved";
+
+    /**
+     * Prefix of metrics counting threshold violations of each policy threshold. Counts are published as
+     * (prefix).(functionalRole).(closedLoopControlName)
+     */
+    public static final String TCA_VES_THRESHOLD_VIOLATIONS_METRIC_PREFIX = "tca.ves.calculator.violations";
+
+    /**
+     * Metric counts updates of aggregated metrics which were not created as max number of aggregated metric names
+     * was reached
+     */
+    public static final String TCA_AGGREGATED_METRICS_OVERFLOW_METRIC = "tca.metrics.aggregator.overflow";
+
+    /**
+     * Metric counts alerts which were not emitted as an alert for the same reporting entity and closed loop was
+     * emitted within alert re-arm interval
+     */
+    public static final String TCA_VES_SUPPRESSED_ALERTS_METRIC = "tca.ves.calculator.suppressed_alerts";
+
+    /**
+     * Metric counts closed loops of reporting entities re-armed before alert re-arm interval as reporting entity
+     * values recovered beyond alert clear margin
+     */
+    public static final String TCA_VES_CLEARED_ALERTS_METRIC = "tca.ves.calculator.cleared_alerts";
+
+    /**
+     * Metric counts alerts which were dropped as reporting entity exceeded its alert rate limit
+     */
+    public static final String TCA_VES_ENTITY_RATE_LIMITED_ALERTS_METRIC =
+            "tca.ves.calculator.rate_limited_alerts.entity";
+
+    /**
+     * Metric counts alerts which were dropped as closed loop exceeded its alert rate limit
+     */
+    public static final String TCA_VES_CLOSED_LOOP_RATE_LIMITED_ALERTS_METRIC =
+            "tca.ves.calculator.rate_limited_alerts.closed_loop";
+
+
+    /**
+     * Prefix of calculator message processor metrics - processing state counts, skipped counts and latency gauges
+     * of each message processor are published under (prefix).(processorName)
+     */
+    public static final String TCA_VES_MESSAGE_PROCESSOR_METRIC_PREFIX = "tca.ves.calculator.processor";
+
+
+    /**
+     * Metric prefix of VES event age in ms when it was fetched from DMaaP MR - time since Common Event Header
+     * lastEpochMicrosec. Percentile gauges are published as (prefix).p50, .p95, .p99 and .max
+     */
+    public static final String TCA_VES_EVENT_AGE_AT_FETCH_METRIC = "tca.ves.latency.event_age_at_fetch_ms";
+
+    /**
+     * Metric prefix of time in ms from VES message fetch until alert was created by calculator
+     */
+    public static final String TCA_VES_FETCH_TO_ALERT_LATENCY_METRIC = "tca.ves.latency.fetch_to_alert_ms";
+
+    /**
+     * Metric prefix of time in ms from alert creation by calculator until alert was published to DMaaP MR
+     */
+    public static final String TCA_VES_ALERT_TO_PUBLISH_LATENCY_METRIC = "tca.ves.latency.alert_to_publish_ms";
+
+    /**
+     * Metric prefix of total time in ms from VES event lastEpochMicrosec until its alert was published to DMaaP MR
+     */
+    public static final String TCA_VES_EVENT_TO_PUBLISH_LATENCY_METRIC = "tca.ves.latency.event_to_publish_ms";
+
 
     /**
      * Metric that counts the number of publisher look ups in alerts table which resulted in 0 new alerts
@@ -103,6 +201,12 @@ public abstract class CDAPMetricsConstants {
      */
     public static final String TCA_PUBLISHER_DELETED_ALERTS_METRIC = "tca.publisher.deleted.alerts";
 
+    /**
+     * Metric that counts the number of new alerts which were not published as they were coalesced with an alert
+     * of the same closed loop and target
+     */
+    public static final String TCA_PUBLISHER_COALESCED_ALERTS_METRIC = "tca.publisher.coalesced.alerts";
+
     /**
      * Metric that counts the number of publisher calls to DMaaP which resulted in successful response code
      */
@@ -113,4 +217,32 @@ public abstract class CDAPMetricsConstants {
      */
     public static final String TCA_PUBLISHER_UNSUCCESSFUL_DMAAP_RESPONSE_METRIC = "tca.publisher.publish.unsuccessful";
 
+    /**
+     * Prefix of DMaaP MR client metrics reported by TCA DMaaP MR Publisher - batch sizes, payload bytes, status
+     * codes, latencies, queue depths, recovery queue spills and connection pool usage
+     */
+    public static final String TCA_PUBLISHER_DMAAP_CLIENT_METRIC_PREFIX = "tca.publisher.dmaap";
+
+    /**
+     * Prefix of DMaaP MR client metrics reported by TCA DMaaP MR Subscriber - fetched message counts, payload bytes,
+     * status codes, latencies and connection pool usage
+     */
+    public static final String TCA_SUBSCRIBER_DMAAP_CLIENT_METRIC_PREFIX = "tca.subscriber.dmaap";
+
+    /**
+     * Metric that counts the number of synthetic VES messages written to stream by load generator
+     */
+    public static final String TCA_LOAD_GENERATOR_MESSAGES_METRIC = "tca.load_generator.message.count";
+
+    /**
+     * Metric that counts the number of synthetic VES messages written by load generator which violate a threshold
+     */
+    public static final String TCA_LOAD_GENERATOR_VIOLATING_MESSAGES_METRIC = "tca.load_generator.message.violating";
+
+    /**
+     * Metric that counts the number of load generator failures to write synthetic VES messages to stream
+     */
+    public static final String TCA_LOAD_GENERATOR_FAILURE_TO_WRITE_TO_STREAM_METRIC =
+            "tca.load_generator.stream.writing.error";
+
 }
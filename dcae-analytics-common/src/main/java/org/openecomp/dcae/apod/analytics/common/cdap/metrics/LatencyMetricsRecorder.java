@@ -0,0 +1,112 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.openecomp.dcae.apod.analytics.common.cdap.metrics;
+
+import co.cask.cdap.api.metrics.Metrics;
+import org.openecomp.dcae.apod.analytics.common.service.metrics.LatencyHistogram;
+
+import javax.annotation.Nonnull;
+
+/**
+ * <p>
+ *     Records a latency distribution in milli seconds and publishes its percentiles as CDAP {@link Metrics} gauges
+ *     at most once every publish interval. Following gauges are published for latencies recorded in each interval:
+ *     <pre>
+ *      (metricName).p50        median latency in milli seconds
+ *      (metricName).p95        95th percentile latency in milli seconds
+ *      (metricName).p99        99th percentile latency in milli seconds
+ *      (metricName).max        max latency in milli seconds
+ *     </pre>
+ *     Gauges are not updated for intervals in which no latency was recorded. Negative latencies - caused by clock
+ *     skew between hosts - are recorded as zero.
+ * </p>
+ * <p>
+ *     Latencies can be recorded by any thread. Publishing is synchronized so recorder can be shared by Quartz job
+ *     executions.
+ * </p>
+ */
+public class LatencyMetricsRecorder {
+
+    private final String metricName;
+    private final long publishIntervalMS;
+    private final LatencyHistogram latencyHistogram = new LatencyHistogram();
+    private LatencyHistogram.Snapshot publishedSnapshot;
+    private long nextPublishTimeMS;
+
+    public LatencyMetricsRecorder(@Nonnull final String metricName, final long publishIntervalMS) {
+        this.metricName = metricName;
+        this.publishIntervalMS = publishIntervalMS;
+        this.publishedSnapshot = latencyHistogram.getSnapshot();
+        this.nextPublishTimeMS = System.currentTimeMillis() + publishIntervalMS;
+    }
+
+    /**
+     * Records a latency
+     *
+     * @param latencyMS latency in milli seconds
+     */
+    public void record(final long latencyMS) {
+        latencyHistogram.record(latencyMS);
+    }
+
+    /**
+     * Publishes percentile gauges of latencies recorded since previous publish if publish interval has elapsed
+     *
+     * @param metrics CDAP metrics
+     */
+    public synchronized void publishIfDue(@Nonnull final Metrics metrics) {
+        final long currentTimeMS = System.currentTimeMillis();
+        if (currentTimeMS < nextPublishTimeMS) {
+            return;
+        }
+        nextPublishTimeMS = currentTimeMS + publishIntervalMS;
+        publish(metrics);
+    }
+
+    /**
+     * Publishes percentile gauges of latencies recorded since previous publish
+     *
+     * @param metrics CDAP metrics
+     */
+    public synchronized void publish(@Nonnull final Metrics metrics) {
+        final LatencyHistogram.Snapshot currentSnapshot = latencyHistogram.getSnapshot();
+        final LatencyHistogram.Snapshot intervalSnapshot = currentSnapshot.minus(publishedSnapshot);
+        publishedSnapshot = currentSnapshot;
+        if (intervalSnapshot.getCount() == 0) {
+            return;
+        }
+        metrics.gauge(metricName + ".p50", intervalSnapshot.getValueAtPercentile(50));
+        metrics.gauge(metricName + ".p95", intervalSnapshot.getValueAtPercentile(95));
+        metrics.gauge(metricName + ".p99", intervalSnapshot.getValueAtPercentile(99));
+        metrics.gauge(metricName + ".max", intervalSnapshot.getMaxValue());
+    }
+
+    /**
+     * Returns snapshot of all latencies recorded so far
+     *
+     * @return latency snapshot in milli seconds
+     */
+    public LatencyHistogram.Snapshot getSnapshot() {
+        return latencyHistogram.getSnapshot();
+    }
+
+}
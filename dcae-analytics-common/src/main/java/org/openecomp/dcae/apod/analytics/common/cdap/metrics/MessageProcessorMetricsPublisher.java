@@ -0,0 +1,114 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.openecomp.dcae.apod.analytics.common.cdap.metrics;
+
+import co.cask.cdap.api.metrics.Metrics;
+import org.openecomp.dcae.apod.analytics.common.service.metrics.LatencyHistogram;
+import org.openecomp.dcae.apod.analytics.common.service.processor.MessageProcessorInstrumentation;
+import org.openecomp.dcae.apod.analytics.common.service.processor.MessageProcessorStats;
+import org.openecomp.dcae.apod.analytics.common.service.processor.ProcessingState;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+
+/**
+ * <p>
+ *     Publishes {@link MessageProcessorInstrumentation} stats as CDAP {@link Metrics} at most once every publish
+ *     interval. For each processor name following metrics are published:
+ *     <pre>
+ *      (prefix).(processorName).(processingState)      count of processor runs ending with processing state
+ *      (prefix).(processorName).skipped                count of processor runs skipped due to early termination
+ *      (prefix).(processorName).latency.p50_micros     gauge of median processor latency in publish interval
+ *      (prefix).(processorName).latency.p99_micros     gauge of 99th percentile processor latency in interval
+ *      (prefix).(processorName).latency.max_micros     gauge of max processor latency in publish interval
+ *     </pre>
+ *     Processor stats are shared by the JVM and each stats interval is published by only one publisher, so
+ *     multiple CDAP program instances running in the same JVM do not publish the same counts twice.
+ * </p>
+ * <p>
+ *     Publisher is not thread safe and must be called by the thread which owns CDAP {@link Metrics}
+ * </p>
+ */
+public class MessageProcessorMetricsPublisher {
+
+    private static final ProcessingState[] PROCESSING_STATES = ProcessingState.values();
+
+    private final String metricsPrefix;
+    private final long publishIntervalMS;
+    private long nextPublishTimeMS;
+
+    public MessageProcessorMetricsPublisher(@Nonnull final String metricsPrefix, final long publishIntervalMS) {
+        this.metricsPrefix = metricsPrefix;
+        this.publishIntervalMS = publishIntervalMS;
+        this.nextPublishTimeMS = System.currentTimeMillis() + publishIntervalMS;
+    }
+
+    /**
+     * Publishes processor stats recorded since previous publish if publish interval has elapsed
+     *
+     * @param metrics CDAP metrics
+     */
+    public void publishIfDue(@Nonnull final Metrics metrics) {
+        final long currentTimeMS = System.currentTimeMillis();
+        if (currentTimeMS < nextPublishTimeMS) {
+            return;
+        }
+        nextPublishTimeMS = currentTimeMS + publishIntervalMS;
+        publish(metrics);
+    }
+
+    /**
+     * Publishes processor stats recorded since previous publish
+     *
+     * @param metrics CDAP metrics
+     */
+    public void publish(@Nonnull final Metrics metrics) {
+        for (MessageProcessorStats processorStats : MessageProcessorInstrumentation.getAllStats()) {
+            final MessageProcessorStats.Snapshot intervalSnapshot = processorStats.getIntervalSnapshot();
+            final String processorMetricsPrefix = metricsPrefix + "." + intervalSnapshot.getProcessorName() + ".";
+
+            for (ProcessingState processingState : PROCESSING_STATES) {
+                final long processingStateCount = intervalSnapshot.getProcessingStateCount(processingState);
+                if (processingStateCount > 0) {
+                    metrics.count(processorMetricsPrefix + processingState.name().toLowerCase(Locale.ENGLISH),
+                            (int) processingStateCount);
+                }
+            }
+            if (intervalSnapshot.getSkippedCount() > 0) {
+                metrics.count(processorMetricsPrefix + "skipped", (int) intervalSnapshot.getSkippedCount());
+            }
+
+            final LatencyHistogram.Snapshot latencyNanos = intervalSnapshot.getLatencyNanos();
+            if (latencyNanos.getCount() > 0) {
+                metrics.gauge(processorMetricsPrefix + "latency.p50_micros",
+                        TimeUnit.NANOSECONDS.toMicros(latencyNanos.getValueAtPercentile(50)));
+                metrics.gauge(processorMetricsPrefix + "latency.p99_micros",
+                        TimeUnit.NANOSECONDS.toMicros(latencyNanos.getValueAtPercentile(99)));
+                metrics.gauge(processorMetricsPrefix + "latency.max_micros",
+                        TimeUnit.NANOSECONDS.toMicros(latencyNanos.getMaxValue()));
+            }
+        }
+    }
+
+}
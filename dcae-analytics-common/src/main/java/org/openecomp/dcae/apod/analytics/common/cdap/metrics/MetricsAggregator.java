@@ -0,0 +1,247 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.common.cdap.metrics;
+
+import co.cask.cdap.api.metrics.Metrics;
+import org.openecomp.dcae.apod.analytics.common.CDAPMetricsConstants;
+import org.openecomp.dcae.apod.analytics.common.service.metrics.StripedCounter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.annotation.Nonnull;
+
+/**
+ * <p>
+ *     Aggregates counts and latencies locally and flushes them to CDAP {@link Metrics} at most once every flush
+ *     interval - or whenever caller completes a batch. Counts are kept in {@link StripedCounter}s and latencies in
+ *     {@link LatencyMetricsRecorder}s, so recording is a lock free in memory update and CDAP metrics are called
+ *     once per metric name and flush instead of once per event. On flush the delta of each counter since previous
+ *     flush is published as count and latency percentiles of the flush interval are published as gauges.
+ *     Gauges are kept as their last set value and published on flush if they were set since previous flush.
+ * </p>
+ * <p>
+ *     As recording is cheap, aggregator can also be used for high cardinality counts - like violations of each
+ *     policy threshold. Number of distinct metric names is bounded - updates of new names beyond max metric names
+ *     are counted in {@link CDAPMetricsConstants#TCA_AGGREGATED_METRICS_OVERFLOW_METRIC}. Bound is approximate
+ *     when new names are created concurrently.
+ * </p>
+ * <p>
+ *     Counts and latencies can be recorded by any thread. Flushing is synchronized so aggregator can be shared by
+ *     Quartz job executions.
+ * </p>
+ */
+public class MetricsAggregator {
+
+    private final long flushIntervalMS;
+    private final int maxMetricNames;
+    private final ConcurrentMap<String, AggregatedCounter> counters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LatencyMetricsRecorder> latencyRecorders = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AggregatedGauge> gauges = new ConcurrentHashMap<>();
+    private final AggregatedCounter overflowCounter = new AggregatedCounter();
+    private final LatencyMetricsRecorder overflowLatencyRecorder;
+    private volatile long nextFlushTimeMS;
+
+    public MetricsAggregator(final long flushIntervalMS, final int maxMetricNames) {
+        this.flushIntervalMS = flushIntervalMS;
+        this.maxMetricNames = maxMetricNames;
+        this.overflowLatencyRecorder = new LatencyMetricsRecorder(
+                CDAPMetricsConstants.TCA_AGGREGATED_METRICS_OVERFLOW_METRIC, flushIntervalMS);
+        this.nextFlushTimeMS = System.currentTimeMillis() + flushIntervalMS;
+    }
+
+    /**
+     * Returns counter of given metric name. Hot paths should keep returned counter instead of looking it up for
+     * each event
+     *
+     * @param metricName metric name
+     *
+     * @return counter of metric name - or overflow counter if max metric names was reached
+     */
+    public StripedCounter getCounter(@Nonnull final String metricName) {
+        AggregatedCounter aggregatedCounter = counters.get(metricName);
+        if (aggregatedCounter == null) {
+            if (getMetricNamesCount() >= maxMetricNames) {
+                return overflowCounter.counter;
+            }
+            final AggregatedCounter newAggregatedCounter = new AggregatedCounter();
+            aggregatedCounter = counters.putIfAbsent(metricName, newAggregatedCounter);
+            if (aggregatedCounter == null) {
+                aggregatedCounter = newAggregatedCounter;
+            }
+        }
+        return aggregatedCounter.counter;
+    }
+
+    /**
+     * Adds given delta to count of given metric name
+     *
+     * @param metricName metric name
+     * @param delta count delta
+     */
+    public void count(@Nonnull final String metricName, final long delta) {
+        getCounter(metricName).add(delta);
+    }
+
+    /**
+     * Returns latency recorder of given metric name. Hot paths should keep returned recorder instead of looking it
+     * up for each event
+     *
+     * @param metricName metric name
+     *
+     * @return latency recorder of metric name - or overflow recorder which is never published if max metric
+     * names was reached
+     */
+    public LatencyMetricsRecorder getLatencyRecorder(@Nonnull final String metricName) {
+        LatencyMetricsRecorder latencyRecorder = latencyRecorders.get(metricName);
+        if (latencyRecorder == null) {
+            if (getMetricNamesCount() >= maxMetricNames) {
+                overflowCounter.counter.increment();
+                return overflowLatencyRecorder;
+            }
+            final LatencyMetricsRecorder newLatencyRecorder = new LatencyMetricsRecorder(metricName, flushIntervalMS);
+            latencyRecorder = latencyRecorders.putIfAbsent(metricName, newLatencyRecorder);
+            if (latencyRecorder == null) {
+                latencyRecorder = newLatencyRecorder;
+            }
+        }
+        return latencyRecorder;
+    }
+
+    /**
+     * Records a latency of given metric name
+     *
+     * @param metricName metric name
+     * @param latencyMS latency in milli seconds
+     */
+    public void recordLatency(@Nonnull final String metricName, final long latencyMS) {
+        getLatencyRecorder(metricName).record(latencyMS);
+    }
+
+    /**
+     * Sets value of gauge of given metric name which is published on next flush
+     *
+     * @param metricName metric name
+     * @param value gauge value
+     */
+    public void gauge(@Nonnull final String metricName, final long value) {
+        AggregatedGauge aggregatedGauge = gauges.get(metricName);
+        if (aggregatedGauge == null) {
+            if (getMetricNamesCount() >= maxMetricNames) {
+                overflowCounter.counter.increment();
+                return;
+            }
+            final AggregatedGauge newAggregatedGauge = new AggregatedGauge();
+            aggregatedGauge = gauges.putIfAbsent(metricName, newAggregatedGauge);
+            if (aggregatedGauge == null) {
+                aggregatedGauge = newAggregatedGauge;
+            }
+        }
+        aggregatedGauge.set(value);
+    }
+
+    /**
+     * Flushes counts and latencies recorded since previous flush if flush interval has elapsed
+     *
+     * @param metrics CDAP metrics
+     */
+    public void flushIfDue(@Nonnull final Metrics metrics) {
+        // volatile read keeps the common case - flush is not due - free of locking
+        if (System.currentTimeMillis() < nextFlushTimeMS) {
+            return;
+        }
+        flush(metrics);
+    }
+
+    /**
+     * Flushes counts and latencies recorded since previous flush
+     *
+     * @param metrics CDAP metrics
+     */
+    public synchronized void flush(@Nonnull final Metrics metrics) {
+        nextFlushTimeMS = System.currentTimeMillis() + flushIntervalMS;
+        for (Map.Entry<String, AggregatedCounter> counterEntry : counters.entrySet()) {
+            counterEntry.getValue().flush(counterEntry.getKey(), metrics);
+        }
+        overflowCounter.flush(CDAPMetricsConstants.TCA_AGGREGATED_METRICS_OVERFLOW_METRIC, metrics);
+        for (LatencyMetricsRecorder latencyRecorder : latencyRecorders.values()) {
+            latencyRecorder.publish(metrics);
+        }
+        for (Map.Entry<String, AggregatedGauge> gaugeEntry : gauges.entrySet()) {
+            gaugeEntry.getValue().flush(gaugeEntry.getKey(), metrics);
+        }
+    }
+
+    private int getMetricNamesCount() {
+        return counters.size() + latencyRecorders.size() + gauges.size();
+    }
+
+
+    /**
+     * Striped counter along with its sum at previous flush
+     */
+    private static class AggregatedCounter {
+
+        private final StripedCounter counter = new StripedCounter();
+        private long flushedSum;
+
+        /**
+         * Publishes counter delta since previous flush - CDAP metrics counts are ints so large deltas are published
+         * in multiple counts
+         */
+        private void flush(final String metricName, final Metrics metrics) {
+            final long sum = counter.sum();
+            long delta = sum - flushedSum;
+            flushedSum = sum;
+            while (delta != 0) {
+                final int deltaCount = (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, delta));
+                metrics.count(metricName, deltaCount);
+                delta -= deltaCount;
+            }
+        }
+    }
+
+    /**
+     * Last set value of a gauge
+     */
+    private static class AggregatedGauge {
+
+        private volatile long value;
+        private volatile boolean isSet;
+
+        private void set(final long value) {
+            this.value = value;
+            this.isSet = true;
+        }
+
+        /**
+         * Publishes gauge value if gauge was set since previous flush
+         */
+        private void flush(final String metricName, final Metrics metrics) {
+            if (isSet) {
+                isSet = false;
+                metrics.gauge(metricName, value);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,176 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.openecomp.dcae.apod.analytics.common.service.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.annotation.Nonnull;
+
+/**
+ * <p>
+ *     Lock free log linear histogram of non negative latency values - like nano seconds of a message processor run
+ *     or milli seconds of event age. Each power of two range is split into 16 linear sub buckets - like HdrHistogram
+ *     with one significant digit - so percentiles have relative error below 1/16. Recording a value is a single
+ *     atomic increment of a fixed size array, so histogram is cheap enough to be always on.
+ * </p>
+ * <p>
+ *     Percentiles are computed from a {@link Snapshot} of bucket counts. Snapshots are not atomic - values recorded
+ *     while snapshot is taken may or may not be part of it.
+ * </p>
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray bucketCounts = new AtomicLongArray(BUCKET_COUNT);
+
+    /**
+     * Records a latency value - negative values are recorded as zero
+     *
+     * @param latency latency value
+     */
+    public void record(final long latency) {
+        bucketCounts.incrementAndGet(getBucketIndex(Math.max(0L, latency)));
+    }
+
+    /**
+     * Returns snapshot of current bucket counts
+     *
+     * @return histogram snapshot
+     */
+    public Snapshot getSnapshot() {
+        final long[] snapshotBucketCounts = new long[BUCKET_COUNT];
+        for (int bucketIndex = 0; bucketIndex < BUCKET_COUNT; bucketIndex++) {
+            snapshotBucketCounts[bucketIndex] = bucketCounts.get(bucketIndex);
+        }
+        return new Snapshot(snapshotBucketCounts);
+    }
+
+    /**
+     * Values below sub bucket count have their own bucket. Larger values are bucketed by position of highest one
+     * bit and next 4 bits
+     */
+    static int getBucketIndex(final long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        final int subBucketIndex = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucketIndex;
+    }
+
+    /**
+     * Returns highest value which is recorded in given bucket
+     */
+    static long getBucketHighestValue(final int bucketIndex) {
+        if (bucketIndex < SUB_BUCKET_COUNT) {
+            return bucketIndex;
+        }
+        final int shift = bucketIndex / SUB_BUCKET_COUNT - 1;
+        final long lowestValue = (long) (SUB_BUCKET_COUNT + bucketIndex % SUB_BUCKET_COUNT) << shift;
+        return lowestValue + (1L << shift) - 1;
+    }
+
+
+    /**
+     * Immutable copy of histogram bucket counts
+     */
+    public static class Snapshot {
+
+        private final long[] bucketCounts;
+        private final long count;
+
+        private Snapshot(final long[] bucketCounts) {
+            this.bucketCounts = bucketCounts;
+            long totalCount = 0;
+            for (long bucketCount : bucketCounts) {
+                totalCount += bucketCount;
+            }
+            this.count = totalCount;
+        }
+
+        /**
+         * Returns number of recorded values
+         *
+         * @return number of recorded values
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Returns highest value of bucket which contains given percentile of recorded values
+         *
+         * @param percentile percentile between 0 and 100
+         *
+         * @return value at percentile or zero if no value was recorded
+         */
+        public long getValueAtPercentile(final double percentile) {
+            if (count == 0) {
+                return 0L;
+            }
+            final double boundedPercentile = Math.min(100.0, Math.max(0.0, percentile));
+            final long targetCount = Math.max(1L, (long) Math.ceil(boundedPercentile / 100.0 * count));
+            long cumulativeCount = 0;
+            for (int bucketIndex = 0; bucketIndex < bucketCounts.length; bucketIndex++) {
+                cumulativeCount += bucketCounts[bucketIndex];
+                if (cumulativeCount >= targetCount) {
+                    return getBucketHighestValue(bucketIndex);
+                }
+            }
+            return getMaxValue();
+        }
+
+        /**
+         * Returns highest value of highest non empty bucket
+         *
+         * @return max value or zero if no value was recorded
+         */
+        public long getMaxValue() {
+            for (int bucketIndex = bucketCounts.length - 1; bucketIndex >= 0; bucketIndex--) {
+                if (bucketCounts[bucketIndex] > 0) {
+                    return getBucketHighestValue(bucketIndex);
+                }
+            }
+            return 0L;
+        }
+
+        /**
+         * Returns snapshot of values recorded after given previous snapshot of same histogram
+         *
+         * @param previousSnapshot previous snapshot of same histogram
+         *
+         * @return snapshot of values recorded since previous snapshot
+         */
+        public Snapshot minus(@Nonnull final Snapshot previousSnapshot) {
+            final long[] intervalBucketCounts = new long[bucketCounts.length];
+            for (int bucketIndex = 0; bucketIndex < bucketCounts.length; bucketIndex++) {
+                intervalBucketCounts[bucketIndex] =
+                        bucketCounts[bucketIndex] - previousSnapshot.bucketCounts[bucketIndex];
+            }
+            return new Snapshot(intervalBucketCounts);
+        }
+    }
+
+}
@@ -0,0 +1,97 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.common.service.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p>
+ *     Lock free counter which spreads concurrent updates over multiple cells - like Java 8 LongAdder. Each thread
+ *     adds to a cell chosen by its thread id and cells are padded to separate cache lines, so threads updating
+ *     the same counter do not contend on a single memory location. Sum is computed by reading all cells.
+ * </p>
+ * <p>
+ *     Sum is not atomic - values added while sum is computed may or may not be part of it.
+ * </p>
+ */
+public class StripedCounter {
+
+    // 8 longs - 64 bytes - separate cells so that each cell is on its own cache line
+    private static final int CELL_PADDING_SHIFT = 3;
+    private static final int MAX_CELL_COUNT = 64;
+
+    private final AtomicLongArray cells;
+    private final int cellIndexMask;
+
+    public StripedCounter() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    StripedCounter(final int concurrencyLevel) {
+        // cell count is a power of two so that cell index can be computed by masking thread id hash
+        int cellCount = 1;
+        while (cellCount < concurrencyLevel && cellCount < MAX_CELL_COUNT) {
+            cellCount <<= 1;
+        }
+        this.cells = new AtomicLongArray(cellCount << CELL_PADDING_SHIFT);
+        this.cellIndexMask = cellCount - 1;
+    }
+
+    /**
+     * Increments counter by one
+     */
+    public void increment() {
+        add(1L);
+    }
+
+    /**
+     * Adds given value to counter
+     *
+     * @param value value to be added
+     */
+    public void add(final long value) {
+        cells.getAndAdd(getCellIndex(), value);
+    }
+
+    /**
+     * Returns sum of all values added so far
+     *
+     * @return counter sum
+     */
+    public long sum() {
+        long sum = 0;
+        for (int cellIndex = 0; cellIndex < cells.length(); cellIndex += 1 << CELL_PADDING_SHIFT) {
+            sum += cells.get(cellIndex);
+        }
+        return sum;
+    }
+
+    /**
+     * Thread ids are sequential so they are mixed before masking to spread threads created together - like
+     * flowlet instance threads - over all cells
+     */
+    private int getCellIndex() {
+        final long threadId = Thread.currentThread().getId();
+        final int threadIdHash = (int) (threadId ^ (threadId >>> 32)) * 0x9E3779B9;
+        return ((threadIdHash ^ (threadIdHash >>> 16)) & cellIndexMask) << CELL_PADDING_SHIFT;
+    }
+
+}
@@ -120,6 +120,19 @@ public abstract class AbstractMessageProcessor<P extends ProcessorContext> imple
 
     @Override
     public final P apply(@Nonnull P processorContext) {
+        if (!MessageProcessorInstrumentation.isEnabled()) {
+            return applyProcessor(processorContext);
+        }
+        // latency and processing state are recorded even if processor throws an exception
+        final long startNanos = System.nanoTime();
+        try {
+            return applyProcessor(processorContext);
+        } finally {
+            MessageProcessorInstrumentation.recordProcessed(this, processingState, System.nanoTime() - startNanos);
+        }
+    }
+
+    private P applyProcessor(final P processorContext) {
         final P preProcessedProcessorContext = preProcessor(processorContext);
         final P processedProcessorContext = processMessage(preProcessedProcessorContext);
         return postProcessor(processedProcessorContext);
@@ -0,0 +1,139 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.openecomp.dcae.apod.analytics.common.service.processor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * <p>
+ *     Built in instrumentation of {@link MessageProcessor}s. {@link AbstractMessageProcessor} records latency and
+ *     processing state of each run and message processor chains record processors skipped due to early
+ *     termination. Stats are kept in {@link MessageProcessorStats} per processor name and shared by all threads of
+ *     the JVM, so that processors which are created for each message still accumulate stats.
+ * </p>
+ * <p>
+ *     Processor name is resolved once for each processor class, so processor classes must not change their
+ *     processor name between instances. Instrumentation is enabled by default and can be disabled for benchmarks.
+ * </p>
+ */
+public abstract class MessageProcessorInstrumentation {
+
+    private static final ConcurrentMap<Class<?>, MessageProcessorStats> PROCESSOR_CLASS_STATS =
+            new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, MessageProcessorStats> PROCESSOR_NAME_STATS =
+            new ConcurrentHashMap<>();
+
+    private static volatile boolean isEnabled = true;
+
+    // not meant to be instantiated
+    private MessageProcessorInstrumentation() {
+    }
+
+    public static boolean isEnabled() {
+        return isEnabled;
+    }
+
+    /**
+     * Enables or disables recording of message processor stats. Already recorded stats are kept
+     *
+     * @param enabled true if stats must be recorded
+     */
+    public static void setEnabled(final boolean enabled) {
+        isEnabled = enabled;
+    }
+
+    /**
+     * Records a processor run
+     *
+     * @param messageProcessor message processor
+     * @param processingState processing state of processor after run
+     * @param latencyNanos processor run time in nano seconds
+     */
+    public static void recordProcessed(@Nonnull final MessageProcessor<?> messageProcessor,
+                                       @Nonnull final ProcessingState processingState, final long latencyNanos) {
+        getOrCreateStats(messageProcessor).recordProcessed(processingState, latencyNanos);
+    }
+
+    /**
+     * Records that processor was not run as message processor chain terminated early
+     *
+     * @param messageProcessor skipped message processor
+     */
+    public static void recordSkipped(@Nonnull final MessageProcessor<?> messageProcessor) {
+        getOrCreateStats(messageProcessor).recordSkipped();
+    }
+
+    /**
+     * Returns stats of given processor name
+     *
+     * @param processorName processor name
+     *
+     * @return processor stats or null if no processor with given name was instrumented
+     */
+    @Nullable
+    public static MessageProcessorStats getStats(@Nonnull final String processorName) {
+        return PROCESSOR_NAME_STATS.get(processorName);
+    }
+
+    /**
+     * Returns stats of all instrumented processors
+     *
+     * @return stats of all processors
+     */
+    public static Collection<MessageProcessorStats> getAllStats() {
+        return new ArrayList<>(PROCESSOR_NAME_STATS.values());
+    }
+
+    /**
+     * Removes stats of all processors
+     */
+    public static void reset() {
+        PROCESSOR_CLASS_STATS.clear();
+        PROCESSOR_NAME_STATS.clear();
+    }
+
+    private static MessageProcessorStats getOrCreateStats(final MessageProcessor<?> messageProcessor) {
+        final Class<?> processorClass = messageProcessor.getClass();
+        final MessageProcessorStats processorStats = PROCESSOR_CLASS_STATS.get(processorClass);
+        if (processorStats != null) {
+            return processorStats;
+        }
+        final String processorName = messageProcessor.getProcessorInfo().getProcessorName();
+        MessageProcessorStats processorNameStats = PROCESSOR_NAME_STATS.get(processorName);
+        if (processorNameStats == null) {
+            final MessageProcessorStats newProcessorNameStats = new MessageProcessorStats(processorName);
+            processorNameStats = PROCESSOR_NAME_STATS.putIfAbsent(processorName, newProcessorNameStats);
+            if (processorNameStats == null) {
+                processorNameStats = newProcessorNameStats;
+            }
+        }
+        PROCESSOR_CLASS_STATS.putIfAbsent(processorClass, processorNameStats);
+        return processorNameStats;
+    }
+
+}
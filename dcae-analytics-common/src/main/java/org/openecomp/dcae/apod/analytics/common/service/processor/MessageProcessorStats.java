@@ -0,0 +1,191 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.openecomp.dcae.apod.analytics.common.service.processor;
+
+import com.google.common.base.Objects;
+import org.openecomp.dcae.apod.analytics.common.service.metrics.LatencyHistogram;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.annotation.Nonnull;
+
+/**
+ * <p>
+ *     Latency and outcome statistics of all {@link MessageProcessor}s with the same processor name. Each processor
+ *     run records its latency and {@link ProcessingState} after run. Processors which were not run as message
+ *     processor chain terminated early before them are counted as skipped.
+ * </p>
+ * <p>
+ *     Stats are thread safe and shared by all threads of the JVM - see {@link MessageProcessorInstrumentation}
+ * </p>
+ */
+public class MessageProcessorStats {
+
+    private static final ProcessingState[] PROCESSING_STATES = ProcessingState.values();
+
+    private final String processorName;
+    private final LatencyHistogram latencyHistogram = new LatencyHistogram();
+    private final AtomicLongArray processingStateCounts = new AtomicLongArray(PROCESSING_STATES.length);
+    private final AtomicLong skippedCount = new AtomicLong();
+    private Snapshot reportedSnapshot;
+
+    public MessageProcessorStats(@Nonnull final String processorName) {
+        this.processorName = processorName;
+        this.reportedSnapshot = new Snapshot(processorName, new long[PROCESSING_STATES.length], 0L,
+                latencyHistogram.getSnapshot());
+    }
+
+    /**
+     * Records a processor run
+     *
+     * @param processingState processing state of processor after run
+     * @param latencyNanos processor run time in nano seconds
+     */
+    public void recordProcessed(@Nonnull final ProcessingState processingState, final long latencyNanos) {
+        processingStateCounts.incrementAndGet(processingState.ordinal());
+        latencyHistogram.record(latencyNanos);
+    }
+
+    /**
+     * Records that processor was not run as message processor chain terminated early
+     */
+    public void recordSkipped() {
+        skippedCount.incrementAndGet();
+    }
+
+    public String getProcessorName() {
+        return processorName;
+    }
+
+    /**
+     * Returns snapshot of all stats recorded so far
+     *
+     * @return stats snapshot
+     */
+    public Snapshot getSnapshot() {
+        final long[] snapshotProcessingStateCounts = new long[PROCESSING_STATES.length];
+        for (int stateIndex = 0; stateIndex < PROCESSING_STATES.length; stateIndex++) {
+            snapshotProcessingStateCounts[stateIndex] = processingStateCounts.get(stateIndex);
+        }
+        return new Snapshot(processorName, snapshotProcessingStateCounts, skippedCount.get(),
+                latencyHistogram.getSnapshot());
+    }
+
+    /**
+     * Returns snapshot of stats recorded since previous call of this method. Interval snapshots are used to report
+     * stats to metrics systems - stats shared by multiple reporters are reported exactly once
+     *
+     * @return stats snapshot since previous interval snapshot
+     */
+    public synchronized Snapshot getIntervalSnapshot() {
+        final Snapshot currentSnapshot = getSnapshot();
+        final Snapshot intervalSnapshot = currentSnapshot.minus(reportedSnapshot);
+        reportedSnapshot = currentSnapshot;
+        return intervalSnapshot;
+    }
+
+    @Override
+    public String toString() {
+        return getSnapshot().toString();
+    }
+
+
+    /**
+     * Immutable copy of message processor stats
+     */
+    public static class Snapshot {
+
+        private final String processorName;
+        private final long[] processingStateCounts;
+        private final long skippedCount;
+        private final LatencyHistogram.Snapshot latencyNanos;
+
+        private Snapshot(final String processorName, final long[] processingStateCounts, final long skippedCount,
+                         final LatencyHistogram.Snapshot latencyNanos) {
+            this.processorName = processorName;
+            this.processingStateCounts = processingStateCounts;
+            this.skippedCount = skippedCount;
+            this.latencyNanos = latencyNanos;
+        }
+
+        public String getProcessorName() {
+            return processorName;
+        }
+
+        /**
+         * Returns number of processor runs which ended with given processing state. Processors which throw an
+         * exception end with {@link ProcessingState#PROCESSING_STARTED}
+         *
+         * @param processingState processing state after run
+         *
+         * @return number of processor runs with given processing state
+         */
+        public long getProcessingStateCount(@Nonnull final ProcessingState processingState) {
+            return processingStateCounts[processingState.ordinal()];
+        }
+
+        /**
+         * Returns number of processor runs
+         *
+         * @return number of processor runs
+         */
+        public long getProcessedCount() {
+            return latencyNanos.getCount();
+        }
+
+        public long getSkippedCount() {
+            return skippedCount;
+        }
+
+        public LatencyHistogram.Snapshot getLatencyNanos() {
+            return latencyNanos;
+        }
+
+        private Snapshot minus(final Snapshot previousSnapshot) {
+            final long[] intervalProcessingStateCounts = new long[processingStateCounts.length];
+            for (int stateIndex = 0; stateIndex < processingStateCounts.length; stateIndex++) {
+                intervalProcessingStateCounts[stateIndex] =
+                        processingStateCounts[stateIndex] - previousSnapshot.processingStateCounts[stateIndex];
+            }
+            return new Snapshot(processorName, intervalProcessingStateCounts,
+                    skippedCount - previousSnapshot.skippedCount, latencyNanos.minus(previousSnapshot.latencyNanos));
+        }
+
+        @Override
+        public String toString() {
+            final Objects.ToStringHelper toStringHelper = Objects.toStringHelper(this)
+                    .add("processorName", processorName)
+                    .add("processedCount", getProcessedCount());
+            for (ProcessingState processingState : PROCESSING_STATES) {
+                toStringHelper.add(processingState.name(), getProcessingStateCount(processingState));
+            }
+            return toStringHelper
+                    .add("skippedCount", skippedCount)
+                    .add("p50LatencyNanos", latencyNanos.getValueAtPercentile(50))
+                    .add("p99LatencyNanos", latencyNanos.getValueAtPercentile(99))
+                    .add("maxLatencyNanos", latencyNanos.getMaxValue())
+                    .toString();
+        }
+    }
+
+}
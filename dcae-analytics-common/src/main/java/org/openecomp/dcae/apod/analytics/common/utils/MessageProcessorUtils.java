@@ -22,6 +22,7 @@ package org.openecomp.dcae.apod.analytics.common.utils;
 
 import org.openecomp.dcae.apod.analytics.common.exception.MessageProcessingException;
 import org.openecomp.dcae.apod.analytics.common.service.processor.MessageProcessor;
+import org.openecomp.dcae.apod.analytics.common.service.processor.MessageProcessorInstrumentation;
 import org.openecomp.dcae.apod.analytics.common.service.processor.ProcessorContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -102,6 +103,7 @@ public abstract class MessageProcessorUtils {
             if (!processorContextAccumulator.canProcessingContinue()) {
                 LOG.debug("Triggering Early Termination, before Message Processor: {}, Incoming Message: {}",
                         nextProcessor.getProcessorInfo().getProcessorName(), processorContextAccumulator.getMessage());
+                recordSkippedProcessors(nextProcessor, processorIterator);
                 break;
             }
             processorContextAccumulator = messageProcessorFunction.apply(processorContextAccumulator, nextProcessor);
@@ -110,5 +112,24 @@ public abstract class MessageProcessorUtils {
         return processorContextAccumulator;
     }
 
+    /**
+     * Records given processor and all remaining processors of the chain as skipped in
+     * {@link MessageProcessorInstrumentation}
+     *
+     * @param skippedProcessor first processor which was not run
+     * @param processorIterator iterator over remaining processors of the chain
+     * @param <P> Sub classes for Processor Context
+     */
+    private static <P extends ProcessorContext> void recordSkippedProcessors(
+            final MessageProcessor<P> skippedProcessor,
+            final Iterator<? extends MessageProcessor<P>> processorIterator) {
+        if (!MessageProcessorInstrumentation.isEnabled()) {
+            return;
+        }
+        MessageProcessorInstrumentation.recordSkipped(skippedProcessor);
+        while (processorIterator.hasNext()) {
+            MessageProcessorInstrumentation.recordSkipped(processorIterator.next());
+        }
+    }
 
 }
@@ -0,0 +1,121 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.common.cdap.metrics;
+
+import co.cask.cdap.api.metrics.Metrics;
+import org.junit.Test;
+import org.openecomp.dcae.apod.analytics.common.BaseAnalyticsCommonUnitTest;
+import org.openecomp.dcae.apod.analytics.common.CDAPMetricsConstants;
+import org.openecomp.dcae.apod.analytics.common.service.metrics.StripedCounter;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+public class MetricsAggregatorTest extends BaseAnalyticsCommonUnitTest {
+
+    @Test
+    public void testFlushPublishesCountDeltasSincePreviousFlush() throws Exception {
+        final Metrics metrics = mock(Metrics.class);
+        final MetricsAggregator metricsAggregator = new MetricsAggregator(60000L, 10);
+        final StripedCounter messagesCounter = metricsAggregator.getCounter("test.messages");
+        assertThat("Same metric name must return same counter", metricsAggregator.getCounter("test.messages"),
+                sameInstance(messagesCounter));
+
+        messagesCounter.increment();
+        messagesCounter.increment();
+        metricsAggregator.count("test.violations.vFirewall", 3);
+        metricsAggregator.flush(metrics);
+        verify(metrics).count("test.messages", 2);
+        verify(metrics).count("test.violations.vFirewall", 3);
+
+        messagesCounter.increment();
+        metricsAggregator.flush(metrics);
+        verify(metrics).count("test.messages", 1);
+        verifyNoMoreInteractions(metrics);
+    }
+
+    @Test
+    public void testFlushIfDueDoesNotFlushBeforeFlushInterval() throws Exception {
+        final Metrics metrics = mock(Metrics.class);
+        final MetricsAggregator metricsAggregator = new MetricsAggregator(60000L, 10);
+        metricsAggregator.count("test.messages", 1);
+        metricsAggregator.recordLatency("test.latency", 5L);
+        metricsAggregator.flushIfDue(metrics);
+        verify(metrics, never()).count(anyString(), anyInt());
+        verify(metrics, never()).gauge(anyString(), anyLong());
+    }
+
+    @Test
+    public void testFlushPublishesLatencyGauges() throws Exception {
+        final Metrics metrics = mock(Metrics.class);
+        final MetricsAggregator metricsAggregator = new MetricsAggregator(60000L, 10);
+        metricsAggregator.recordLatency("test.latency", 5L);
+        metricsAggregator.flush(metrics);
+        verify(metrics).gauge("test.latency.p50", 5L);
+        verify(metrics).gauge("test.latency.max", 5L);
+    }
+
+    @Test
+    public void testFlushPublishesGaugesSetSincePreviousFlush() throws Exception {
+        final Metrics metrics = mock(Metrics.class);
+        final MetricsAggregator metricsAggregator = new MetricsAggregator(60000L, 10);
+        metricsAggregator.gauge("test.entries", 5L);
+        metricsAggregator.gauge("test.entries", 7L);
+        metricsAggregator.flush(metrics);
+        verify(metrics).gauge("test.entries", 7L);
+
+        metricsAggregator.flush(metrics);
+        verifyNoMoreInteractions(metrics);
+    }
+
+    @Test
+    public void testLargeDeltasArePublishedInMultipleCounts() throws Exception {
+        final Metrics metrics = mock(Metrics.class);
+        final MetricsAggregator metricsAggregator = new MetricsAggregator(60000L, 10);
+        metricsAggregator.count("test.bytes", Integer.MAX_VALUE + 10L);
+        metricsAggregator.flush(metrics);
+        verify(metrics).count("test.bytes", Integer.MAX_VALUE);
+        verify(metrics).count("test.bytes", 10);
+    }
+
+    @Test
+    public void testMetricNamesBeyondMaxAreCountedAsOverflow() throws Exception {
+        final Metrics metrics = mock(Metrics.class);
+        final MetricsAggregator metricsAggregator = new MetricsAggregator(60000L, 2);
+        metricsAggregator.count("test.violations.1", 1);
+        metricsAggregator.count("test.violations.2", 1);
+        metricsAggregator.count("test.violations.3", 1);
+        metricsAggregator.count("test.violations.4", 1);
+        metricsAggregator.flush(metrics);
+        verify(metrics).count(CDAPMetricsConstants.TCA_AGGREGATED_METRICS_OVERFLOW_METRIC, 2);
+        verify(metrics, times(3)).count(anyString(), anyInt());
+    }
+
+}
@@ -0,0 +1,66 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.openecomp.dcae.apod.analytics.common.service.metrics;
+
+import org.junit.Test;
+import org.openecomp.dcae.apod.analytics.common.BaseAnalyticsCommonUnitTest;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class LatencyHistogramTest extends BaseAnalyticsCommonUnitTest {
+
+    @Test
+    public void testLatencyHistogramPercentilesAreWithinRelativeError() throws Exception {
+        final LatencyHistogram latencyHistogram = new LatencyHistogram();
+        for (long latency = 1; latency <= 100000; latency++) {
+            latencyHistogram.record(latency);
+        }
+        final LatencyHistogram.Snapshot snapshot = latencyHistogram.getSnapshot();
+        assertThat("Histogram must contain all values", snapshot.getCount(), is(100000L));
+        for (double percentile : new double[]{50, 90, 99, 99.9, 100}) {
+            final double expectedValue = percentile * 1000;
+            final double relativeError = Math.abs(snapshot.getValueAtPercentile(percentile) - expectedValue) /
+                    expectedValue;
+            assertTrue("Percentile " + percentile + " relative error must be below 1/16", relativeError < 1 / 16.0);
+        }
+        assertThat("Small values must be exact", LatencyHistogram.getBucketHighestValue(
+                LatencyHistogram.getBucketIndex(7L)), is(7L));
+        assertThat("Max long must be in last bucket", LatencyHistogram.getBucketHighestValue(
+                LatencyHistogram.getBucketIndex(Long.MAX_VALUE)), is(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testSnapshotMinusOnlyContainsNewValues() throws Exception {
+        final LatencyHistogram latencyHistogram = new LatencyHistogram();
+        latencyHistogram.record(100000L);
+        final LatencyHistogram.Snapshot previousSnapshot = latencyHistogram.getSnapshot();
+        latencyHistogram.record(10L);
+        latencyHistogram.record(-5L);
+        final LatencyHistogram.Snapshot intervalSnapshot = latencyHistogram.getSnapshot().minus(previousSnapshot);
+        assertThat("Interval must contain only new values", intervalSnapshot.getCount(), is(2L));
+        assertThat("Negative values must be recorded as zero", intervalSnapshot.getValueAtPercentile(50), is(0L));
+        assertThat("Interval max must be max of new values", intervalSnapshot.getMaxValue(), is(10L));
+    }
+
+}
@@ -0,0 +1,66 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.common.service.metrics;
+
+import org.junit.Test;
+import org.openecomp.dcae.apod.analytics.common.BaseAnalyticsCommonUnitTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class StripedCounterTest extends BaseAnalyticsCommonUnitTest {
+
+    @Test
+    public void testSumContainsAllValuesAddedByConcurrentThreads() throws Exception {
+        final StripedCounter stripedCounter = new StripedCounter(4);
+        final List<Thread> threads = new ArrayList<>();
+        for (int threadIndex = 0; threadIndex < 8; threadIndex++) {
+            threads.add(new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < 10000; i++) {
+                        stripedCounter.increment();
+                    }
+                    stripedCounter.add(5L);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertThat("Sum must contain values added by all threads", stripedCounter.sum(), is(80040L));
+    }
+
+    @Test
+    public void testSumWithNegativeValues() throws Exception {
+        final StripedCounter stripedCounter = new StripedCounter();
+        stripedCounter.add(10L);
+        stripedCounter.add(-3L);
+        assertThat("Negative values must be subtracted from sum", stripedCounter.sum(), is(7L));
+    }
+
+}
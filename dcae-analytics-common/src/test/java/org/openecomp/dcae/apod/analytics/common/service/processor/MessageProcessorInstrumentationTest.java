@@ -0,0 +1,103 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.openecomp.dcae.apod.analytics.common.service.processor;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openecomp.dcae.apod.analytics.common.BaseAnalyticsCommonUnitTest;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class MessageProcessorInstrumentationTest extends BaseAnalyticsCommonUnitTest {
+
+    @Before
+    public void before() {
+        MessageProcessorInstrumentation.reset();
+    }
+
+    @After
+    public void after() {
+        MessageProcessorInstrumentation.setEnabled(true);
+        MessageProcessorInstrumentation.reset();
+    }
+
+    @Test
+    public void testProcessChainRecordsProcessingStatesAndSkippedProcessors() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            final ImmutableList<? extends MessageProcessor<TestProcessorContext>> testMessageChain =
+                    ImmutableList.of(getTestMessageProcessor1(), getTestMessageProcessor2());
+            new GenericMessageChainProcessor<>(testMessageChain, new TestProcessorContext("Hello", true))
+                    .processChain();
+        }
+        final ImmutableList<? extends MessageProcessor<TestProcessorContext>> earlyTerminatingChain =
+                ImmutableList.of(getTestEarlyTerminationProcessor(), getTestMessageProcessor2());
+        new GenericMessageChainProcessor<>(earlyTerminatingChain, new TestProcessorContext("Hello", true))
+                .processChain();
+
+        final MessageProcessorStats.Snapshot processor2Stats =
+                MessageProcessorInstrumentation.getStats("TestMessageProcessor2").getSnapshot();
+        assertThat("Processor 2 must be run 3 times", processor2Stats.getProcessedCount(), is(3L));
+        assertThat("Processor 2 must finish successfully 3 times",
+                processor2Stats.getProcessingStateCount(ProcessingState.PROCESSING_FINISHED_SUCCESSFULLY), is(3L));
+        assertThat("Processor 2 must be skipped once", processor2Stats.getSkippedCount(), is(1L));
+
+        final MessageProcessorStats.Snapshot earlyTerminatingStats =
+                MessageProcessorInstrumentation.getStats("TestEarlyTerminatingProcessor").getSnapshot();
+        assertThat("Early terminating processor must terminate early once",
+                earlyTerminatingStats.getProcessingStateCount(ProcessingState.PROCESSING_TERMINATED_EARLY), is(1L));
+        assertTrue("Processor latency must be recorded",
+                earlyTerminatingStats.getLatencyNanos().getMaxValue() > 0);
+    }
+
+    @Test
+    public void testIntervalSnapshotOnlyContainsNewStats() throws Exception {
+        final MessageProcessorStats processorStats = new MessageProcessorStats("TestProcessor");
+        processorStats.recordProcessed(ProcessingState.PROCESSING_FINISHED_SUCCESSFULLY, 1000L);
+        processorStats.recordProcessed(ProcessingState.PROCESSING_TERMINATED_EARLY, 1000000L);
+        assertThat("First interval must contain all stats",
+                processorStats.getIntervalSnapshot().getProcessedCount(), is(2L));
+
+        processorStats.recordProcessed(ProcessingState.PROCESSING_FINISHED_SUCCESSFULLY, 2000L);
+        processorStats.recordSkipped();
+        final MessageProcessorStats.Snapshot intervalSnapshot = processorStats.getIntervalSnapshot();
+        assertThat("Second interval must contain only new runs", intervalSnapshot.getProcessedCount(), is(1L));
+        assertThat("Second interval must not contain early terminations",
+                intervalSnapshot.getProcessingStateCount(ProcessingState.PROCESSING_TERMINATED_EARLY), is(0L));
+        assertThat("Second interval must contain skipped run", intervalSnapshot.getSkippedCount(), is(1L));
+        assertThat("Second interval max latency must be bucket of new run",
+                intervalSnapshot.getLatencyNanos().getMaxValue(), is(2047L));
+        assertThat("Total stats must contain all runs", processorStats.getSnapshot().getProcessedCount(), is(3L));
+    }
+
+    @Test
+    public void testDisabledInstrumentationDoesNotRecordStats() throws Exception {
+        MessageProcessorInstrumentation.setEnabled(false);
+        getTestMessageProcessor1().apply(new TestProcessorContext("Hello", true));
+        assertNull("Stats must not be recorded", MessageProcessorInstrumentation.getStats("TestMessageProcessor1"));
+    }
+
+}
@@ -26,6 +26,7 @@ import com.google.inject.Injector;
 import org.openecomp.dcae.apod.analytics.dmaap.domain.config.DMaaPMRPublisherConfig;
 import org.openecomp.dcae.apod.analytics.dmaap.domain.config.DMaaPMRSubscriberConfig;
 import org.openecomp.dcae.apod.analytics.dmaap.module.AnalyticsDMaaPModule;
+import org.openecomp.dcae.apod.analytics.dmaap.service.metrics.DMaaPMRMetrics;
 import org.openecomp.dcae.apod.analytics.dmaap.service.publisher.DMaaPMRPublisher;
 import org.openecomp.dcae.apod.analytics.dmaap.service.publisher.DMaaPMRPublisherFactory;
 import org.openecomp.dcae.apod.analytics.dmaap.service.subscriber.DMaaPMRSubscriber;
@@ -108,5 +109,19 @@ public class DMaaPMRFactory {
         return dMaaPMRFactory;
     }
 
+    /**
+     * Creates an instance of {@link DMaaPMRFactory} whose publishers and subscribers report metrics to given
+     * {@link DMaaPMRMetrics}
+     *
+     * @param dmaapMRMetrics DMaaP MR metrics implementation
+     *
+     * @return {@link DMaaPMRFactory} factory instance
+     */
+    public static DMaaPMRFactory create(@Nonnull final DMaaPMRMetrics dmaapMRMetrics) {
+        final DMaaPMRFactory dMaaPMRFactory = new DMaaPMRFactory(new AnalyticsDMaaPModule(dmaapMRMetrics));
+        LOG.info("Created new instance of DMaaP MR Factory with metrics: {}", dmaapMRMetrics.getClass().getName());
+        return dMaaPMRFactory;
+    }
+
 
 }
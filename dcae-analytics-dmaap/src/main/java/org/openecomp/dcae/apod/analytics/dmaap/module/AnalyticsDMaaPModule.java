@@ -24,6 +24,9 @@ import com.google.inject.AbstractModule;
 import com.google.inject.assistedinject.FactoryModuleBuilder;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.openecomp.dcae.apod.analytics.dmaap.service.metrics.DMaaPMRMetrics;
+import org.openecomp.dcae.apod.analytics.dmaap.service.metrics.DMaaPMRNoOpMetrics;
 import org.openecomp.dcae.apod.analytics.dmaap.service.publisher.DMaaPMRPublisher;
 import org.openecomp.dcae.apod.analytics.dmaap.service.publisher.DMaaPMRPublisherFactory;
 import org.openecomp.dcae.apod.analytics.dmaap.service.publisher.DMaaPMRPublisherImpl;
@@ -35,18 +38,34 @@ import org.openecomp.dcae.apod.analytics.dmaap.service.subscriber.DMaaPMRSubscri
 import org.openecomp.dcae.apod.analytics.dmaap.service.subscriber.DMaaPMRSubscriberImpl;
 
 /**
- * Guice Module to wire concrete implementations with interfaces
+ * Guice Module to wire concrete implementations with interfaces. DMaaP MR Components report their metrics to
+ * {@link DMaaPMRMetrics} given to the module - measurements are discarded by default
  * <p>
  * @author Rajiv Singla. Creation Date: 10/20/2016.
  */
 public class AnalyticsDMaaPModule extends AbstractModule {
 
+    private final DMaaPMRMetrics dmaapMRMetrics;
+
+    public AnalyticsDMaaPModule() {
+        this(new DMaaPMRNoOpMetrics());
+    }
+
+    public AnalyticsDMaaPModule(final DMaaPMRMetrics dmaapMRMetrics) {
+        this.dmaapMRMetrics = dmaapMRMetrics;
+    }
 
     @Override
     protected void configure() {
 
-        // Bind Http Client
-        bind(CloseableHttpClient.class).toInstance(HttpClients.createDefault());
+        // Bind Http Client - connection manager is bound separately so that components can report pool usage
+        final PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        bind(PoolingHttpClientConnectionManager.class).toInstance(connectionManager);
+        bind(CloseableHttpClient.class).toInstance(
+                HttpClients.custom().setConnectionManager(connectionManager).build());
+
+        // Bind DMaaP MR Metrics
+        bind(DMaaPMRMetrics.class).toInstance(dmaapMRMetrics);
 
         // Bind Publishing queue
         install(new FactoryModuleBuilder().implement(DMaaPMRPublisherQueue.class, DMaaPMRPublisherQueueImpl.class)
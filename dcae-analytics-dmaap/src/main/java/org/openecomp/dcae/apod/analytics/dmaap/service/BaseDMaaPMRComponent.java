@@ -32,6 +32,8 @@ import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.ResponseHandler;
 import org.apache.http.client.utils.URIBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
 import org.apache.http.util.EntityUtils;
 import org.openecomp.dcae.apod.analytics.common.AnalyticsConstants;
 import org.openecomp.dcae.apod.analytics.common.exception.DCAEAnalyticsRuntimeException;
@@ -42,6 +44,7 @@ import org.openecomp.dcae.apod.analytics.dmaap.domain.response.DMaaPMRPublisherR
 import org.openecomp.dcae.apod.analytics.dmaap.domain.response.DMaaPMRPublisherResponseImpl;
 import org.openecomp.dcae.apod.analytics.dmaap.domain.response.DMaaPMRSubscriberResponse;
 import org.openecomp.dcae.apod.analytics.dmaap.domain.response.DMaaPMRSubscriberResponseImpl;
+import org.openecomp.dcae.apod.analytics.dmaap.service.metrics.DMaaPMRMetrics;
 import org.openecomp.dcae.apod.analytics.dmaap.service.publisher.DMaaPMRPublisherQueue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -277,6 +280,55 @@ public abstract class BaseDMaaPMRComponent implements DMaaPMRComponent {
     }
 
 
+    /**
+     * Reports total usage of given HTTP connection pool to {@link DMaaPMRMetrics}
+     *
+     * @param connectionManager pooling connection manager - may be null if pool is not known
+     * @param dmaapMRMetrics DMaaP MR metrics
+     */
+    protected static void recordConnectionPoolStats(@Nullable final PoolingHttpClientConnectionManager
+                                                            connectionManager,
+                                                    final DMaaPMRMetrics dmaapMRMetrics) {
+        if (connectionManager == null) {
+            return;
+        }
+        final PoolStats poolStats = connectionManager.getTotalStats();
+        dmaapMRMetrics.recordConnectionPoolStats(poolStats.getLeased(), poolStats.getAvailable(),
+                poolStats.getPending(), poolStats.getMax());
+    }
+
+
+    /**
+     * Returns number of bytes required to encode given string in UTF-8 without encoding it
+     *
+     * @param value string value
+     *
+     * @return UTF-8 encoded length or 0 if value is null
+     */
+    protected static long getUTF8EncodedLength(@Nullable final String value) {
+        if (value == null) {
+            return 0;
+        }
+        long encodedLength = 0;
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c < 0x80) {
+                encodedLength++;
+            } else if (c < 0x800) {
+                encodedLength += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                // surrogate pair is a single 4 byte code point
+                encodedLength += 4;
+                i++;
+            } else {
+                encodedLength += 3;
+            }
+        }
+        return encodedLength;
+    }
+
+
     /**
      * Converts List of messages to Json String Array which can be published to DMaaP MR topic.
      *
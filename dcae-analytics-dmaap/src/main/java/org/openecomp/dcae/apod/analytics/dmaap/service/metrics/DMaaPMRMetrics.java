@@ -0,0 +1,100 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.dmaap.service.metrics;
+
+/**
+ * <p>
+ *     Metrics SPI for DMaaP MR Publishers and Subscribers. DMaaP MR Components report batch sizes, message payload
+ *     sizes, HTTP status codes, request latencies, publisher queue depths and HTTP connection pool usage through
+ *     this interface. Implementations adapt these measurements to a metrics system - like CDAP Metrics - and must
+ *     be thread safe as a single instance is shared by all DMaaP MR Components created by a DMaaP MR Factory.
+ * </p>
+ * <p>
+ *     Methods are invoked on request path and must not block.
+ * </p>
+ */
+public interface DMaaPMRMetrics {
+
+    /**
+     * Records a publishing call to DMaaP MR Topic which received an HTTP response
+     *
+     * @param messageCount number of messages published in the batch
+     * @param requestBytes request body size in bytes
+     * @param responseCode HTTP response status code
+     * @param responseBytes response body size in bytes
+     * @param latencyMS publishing call latency in milli seconds
+     */
+    void recordPublish(int messageCount, long requestBytes, int responseCode, long responseBytes, long latencyMS);
+
+    /**
+     * Records a publishing call to DMaaP MR Topic which failed without HTTP response due to an IO Error
+     *
+     * @param messageCount number of messages in the batch
+     * @param requestBytes request body size in bytes
+     * @param latencyMS time in milli seconds until publishing call failed
+     */
+    void recordPublishError(int messageCount, long requestBytes, long latencyMS);
+
+    /**
+     * Records number of messages currently waiting in publisher batch and recovery queues
+     *
+     * @param batchQueueDepth number of messages in batch queue
+     * @param recoveryQueueDepth number of messages in recovery queue
+     */
+    void recordPublisherQueueDepth(int batchQueueDepth, int recoveryQueueDepth);
+
+    /**
+     * Records messages which could not be published and were spilled to publisher recovery queue
+     *
+     * @param messageCount number of spilled messages
+     * @param isDropped true if recovery queue was full and messages were lost
+     */
+    void recordRecoveryQueueSpill(int messageCount, boolean isDropped);
+
+    /**
+     * Records a fetch call to DMaaP MR Topic which received an HTTP response
+     *
+     * @param messageCount number of messages fetched
+     * @param responseCode HTTP response status code
+     * @param responseBytes response body size in bytes
+     * @param latencyMS fetch call latency in milli seconds
+     */
+    void recordFetch(int messageCount, int responseCode, long responseBytes, long latencyMS);
+
+    /**
+     * Records a fetch call to DMaaP MR Topic which failed without HTTP response due to an IO Error
+     *
+     * @param latencyMS time in milli seconds until fetch call failed
+     */
+    void recordFetchError(long latencyMS);
+
+    /**
+     * Records usage of HTTP connection pool shared by DMaaP MR Components
+     *
+     * @param leasedConnections number of connections currently in use
+     * @param availableConnections number of idle persistent connections
+     * @param pendingRequests number of requests waiting for a connection
+     * @param maxConnections max number of connections in the pool
+     */
+    void recordConnectionPoolStats(int leasedConnections, int availableConnections, int pendingRequests,
+                                   int maxConnections);
+
+}
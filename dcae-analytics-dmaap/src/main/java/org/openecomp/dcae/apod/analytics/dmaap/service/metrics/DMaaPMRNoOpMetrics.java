@@ -0,0 +1,66 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.dmaap.service.metrics;
+
+/**
+ * {@link DMaaPMRMetrics} which discards all measurements. Used by DMaaP MR Components if no metrics
+ * implementation is provided to DMaaP MR Factory
+ */
+public class DMaaPMRNoOpMetrics implements DMaaPMRMetrics {
+
+    @Override
+    public void recordPublish(int messageCount, long requestBytes, int responseCode, long responseBytes,
+                              long latencyMS) {
+        // no op
+    }
+
+    @Override
+    public void recordPublishError(int messageCount, long requestBytes, long latencyMS) {
+        // no op
+    }
+
+    @Override
+    public void recordPublisherQueueDepth(int batchQueueDepth, int recoveryQueueDepth) {
+        // no op
+    }
+
+    @Override
+    public void recordRecoveryQueueSpill(int messageCount, boolean isDropped) {
+        // no op
+    }
+
+    @Override
+    public void recordFetch(int messageCount, int responseCode, long responseBytes, long latencyMS) {
+        // no op
+    }
+
+    @Override
+    public void recordFetchError(long latencyMS) {
+        // no op
+    }
+
+    @Override
+    public void recordConnectionPoolStats(int leasedConnections, int availableConnections, int pendingRequests,
+                                          int maxConnections) {
+        // no op
+    }
+
+}
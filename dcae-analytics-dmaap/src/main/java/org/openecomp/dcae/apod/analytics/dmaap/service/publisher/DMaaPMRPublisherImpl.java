@@ -32,11 +32,14 @@ import org.apache.http.client.methods.HttpPost;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.openecomp.dcae.apod.analytics.common.AnalyticsConstants;
 import org.openecomp.dcae.apod.analytics.common.exception.DCAEAnalyticsRuntimeException;
 import org.openecomp.dcae.apod.analytics.dmaap.domain.config.DMaaPMRPublisherConfig;
 import org.openecomp.dcae.apod.analytics.dmaap.domain.response.DMaaPMRPublisherResponse;
 import org.openecomp.dcae.apod.analytics.dmaap.service.BaseDMaaPMRComponent;
+import org.openecomp.dcae.apod.analytics.dmaap.service.metrics.DMaaPMRMetrics;
+import org.openecomp.dcae.apod.analytics.dmaap.service.metrics.DMaaPMRNoOpMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -44,12 +47,16 @@ import java.io.IOException;
 import java.net.URI;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
 
 import static org.openecomp.dcae.apod.analytics.common.utils.HTTPUtils.isSuccessfulResponseCode;
 import static java.lang.String.format;
 
 /**
- * Concrete Implementation of {@link DMaaPMRPublisher} which uses {@link HttpClient}
+ * Concrete Implementation of {@link DMaaPMRPublisher} which uses {@link HttpClient}. Publisher reports batch
+ * sizes, payload sizes, response codes, latencies, queue depths and recovery queue spills to {@link DMaaPMRMetrics}
  *
  * @author Rajiv Singla. Creation Date: 10/13/2016.
  */
@@ -61,17 +68,29 @@ public class DMaaPMRPublisherImpl extends BaseDMaaPMRComponent implements DMaaPM
     private final CloseableHttpClient closeableHttpClient;
     private final DMaaPMRPublisherQueue publisherQueue;
     private final Date publisherCreationTime;
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final DMaaPMRMetrics dmaapMRMetrics;
     private URI publisherUri;
 
+    public DMaaPMRPublisherImpl(DMaaPMRPublisherConfig publisherConfig,
+                                DMaaPMRPublisherQueueFactory dMaaPMRPublisherQueueFactory,
+                                CloseableHttpClient closeableHttpClient) {
+        this(publisherConfig, dMaaPMRPublisherQueueFactory, closeableHttpClient, null, new DMaaPMRNoOpMetrics());
+    }
+
     @Inject
     public DMaaPMRPublisherImpl(@Assisted DMaaPMRPublisherConfig publisherConfig,
                                 DMaaPMRPublisherQueueFactory dMaaPMRPublisherQueueFactory,
-                                CloseableHttpClient closeableHttpClient) {
+                                CloseableHttpClient closeableHttpClient,
+                                @Nullable PoolingHttpClientConnectionManager connectionManager,
+                                DMaaPMRMetrics dmaapMRMetrics) {
 
         this.publisherConfig = publisherConfig;
         this.publisherQueue = dMaaPMRPublisherQueueFactory.create(
                 publisherConfig.getMaxBatchSize(), publisherConfig.getMaxRecoveryQueueSize());
         this.closeableHttpClient = closeableHttpClient;
+        this.connectionManager = connectionManager;
+        this.dmaapMRMetrics = dmaapMRMetrics;
         this.publisherUri = createPublisherURI(publisherConfig);
         this.publisherCreationTime = new Date();
     }
@@ -87,6 +106,7 @@ public class DMaaPMRPublisherImpl extends BaseDMaaPMRComponent implements DMaaPM
             LOG.debug("Adding messages to batch Queue. No flushing required. Messages Size:{}. Batch Queue Size:{}",
                     messages.size(), batchQueueRemainingSize);
             final int batchQueueSize = publisherQueue.addBatchMessages(messages);
+            recordPublisherQueueDepth();
             return createPublisherAcceptedResponse(batchQueueSize);
 
         } else {
@@ -125,11 +145,15 @@ public class DMaaPMRPublisherImpl extends BaseDMaaPMRComponent implements DMaaPM
         final StringEntity requestEntity =
                 new StringEntity(messagesJson, ContentType.create(contentType, "UTF-8"));
         postRequest.setEntity(requestEntity);
+        final long requestBytes = requestEntity.getContentLength();
 
+        final long startNanos = System.nanoTime();
         try {
             final Pair<Integer, String> responsePair = closeableHttpClient.execute(postRequest, responseHandler());
             final Integer responseCode = responsePair.getLeft();
             final String responseBody = responsePair.getRight();
+            dmaapMRMetrics.recordPublish(messages.size(), requestBytes, responseCode,
+                    getUTF8EncodedLength(responseBody), getElapsedMS(startNanos));
             // if messages were published successfully, return successful response
             if (isSuccessfulResponseCode(responseCode)) {
                 LOG.debug("DMaaP MR Messages published successfully. DMaaP Response Code: {}. DMaaP Response " +
@@ -139,19 +163,24 @@ public class DMaaPMRPublisherImpl extends BaseDMaaPMRComponent implements DMaaPM
             } else {
                 LOG.warn("Unable to publish messages to DMaaP MR Topic. DMaaP Response Code: {}, DMaaP Response " +
                         "Body: {}. Messages will be queued in recovery queue", responseCode, responseBody);
-                addMessagesToRecoveryQueue(publisherQueue, messages);
+                spillToRecoveryQueue(messages);
             }
+            recordPublisherQueueDepth();
 
             return createPublisherResponse(responseCode, responseBody,
                     getPendingMessages(publisherQueue, publisherConfig));
 
         } catch (IOException e) {
+            dmaapMRMetrics.recordPublishError(messages.size(), requestBytes, getElapsedMS(startNanos));
             // If IO Error then we need to also put messages in recovery queue
-            addMessagesToRecoveryQueue(publisherQueue, messages);
+            spillToRecoveryQueue(messages);
+            recordPublisherQueueDepth();
             final String errorMessage = format("IO Exception while publishing messages to DMaaP Topic. " +
                     "Messages will be queued in recovery queue. Messages Size: %d", messages.size());
 
             throw new DCAEAnalyticsRuntimeException(errorMessage, LOG, e);
+        } finally {
+            recordConnectionPoolStats(connectionManager, dmaapMRMetrics);
         }
 
     }
@@ -170,6 +199,34 @@ public class DMaaPMRPublisherImpl extends BaseDMaaPMRComponent implements DMaaPM
         }
     }
 
+    /**
+     * Adds messages to recovery queue and reports spilled - or dropped if recovery queue is full - messages
+     *
+     * @param messages messages which could not be published
+     */
+    private void spillToRecoveryQueue(final List<String> messages) {
+        try {
+            addMessagesToRecoveryQueue(publisherQueue, messages);
+            dmaapMRMetrics.recordRecoveryQueueSpill(messages.size(), false);
+        } catch (DCAEAnalyticsRuntimeException e) {
+            dmaapMRMetrics.recordRecoveryQueueSpill(messages.size(), true);
+            throw e;
+        }
+    }
+
+    /**
+     * Reports current batch and recovery queue depths
+     */
+    private void recordPublisherQueueDepth() {
+        dmaapMRMetrics.recordPublisherQueueDepth(
+                publisherConfig.getMaxBatchSize() - publisherQueue.getBatchQueueRemainingSize(),
+                publisherConfig.getMaxRecoveryQueueSize() - publisherQueue.getRecoveryQueueRemainingSize());
+    }
+
+    private static long getElapsedMS(final long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
     @Override
     public Date getPublisherCreationTime() {
         return new Date(publisherCreationTime.getTime());
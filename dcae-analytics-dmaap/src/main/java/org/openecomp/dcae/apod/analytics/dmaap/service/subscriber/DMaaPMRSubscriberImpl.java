@@ -28,10 +28,13 @@ import org.apache.http.HttpHeaders;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.openecomp.dcae.apod.analytics.common.exception.DCAEAnalyticsRuntimeException;
 import org.openecomp.dcae.apod.analytics.dmaap.domain.config.DMaaPMRSubscriberConfig;
 import org.openecomp.dcae.apod.analytics.dmaap.domain.response.DMaaPMRSubscriberResponse;
 import org.openecomp.dcae.apod.analytics.dmaap.service.BaseDMaaPMRComponent;
+import org.openecomp.dcae.apod.analytics.dmaap.service.metrics.DMaaPMRMetrics;
+import org.openecomp.dcae.apod.analytics.dmaap.service.metrics.DMaaPMRNoOpMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -40,12 +43,16 @@ import java.net.URI;
 import java.util.Date;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
 
 import static org.openecomp.dcae.apod.analytics.common.utils.HTTPUtils.isSuccessfulResponseCode;
 import static java.lang.String.format;
 
 /**
- * Concrete Implementation of {@link DMaaPMRSubscriber} which uses {@link HttpClient}
+ * Concrete Implementation of {@link DMaaPMRSubscriber} which uses {@link HttpClient}. Subscriber reports fetched
+ * message counts, response sizes, response codes and latencies to {@link DMaaPMRMetrics}
  *
  * @author Rajiv Singla. Creation Date: 10/13/2016.
  */
@@ -57,12 +64,23 @@ public class DMaaPMRSubscriberImpl extends BaseDMaaPMRComponent implements DMaaP
     private final CloseableHttpClient closeableHttpClient;
     private final URI subscriberUri;
     private final Date subscriberCreationTime;
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final DMaaPMRMetrics dmaapMRMetrics;
+
+    public DMaaPMRSubscriberImpl(DMaaPMRSubscriberConfig subscriberConfig,
+                                 CloseableHttpClient closeableHttpClient) {
+        this(subscriberConfig, closeableHttpClient, null, new DMaaPMRNoOpMetrics());
+    }
 
     @Inject
     public DMaaPMRSubscriberImpl(@Assisted DMaaPMRSubscriberConfig subscriberConfig,
-                                 CloseableHttpClient closeableHttpClient) {
+                                 CloseableHttpClient closeableHttpClient,
+                                 @Nullable PoolingHttpClientConnectionManager connectionManager,
+                                 DMaaPMRMetrics dmaapMRMetrics) {
         this.subscriberConfig = subscriberConfig;
         this.closeableHttpClient = closeableHttpClient;
+        this.connectionManager = connectionManager;
+        this.dmaapMRMetrics = dmaapMRMetrics;
         this.subscriberUri = createSubscriberURI(subscriberConfig);
         this.subscriberCreationTime = new Date();
     }
@@ -83,9 +101,11 @@ public class DMaaPMRSubscriberImpl extends BaseDMaaPMRComponent implements DMaaP
             LOG.debug("DMaaP MR Subscriber Authentication is disabled as username or password is not present.");
         }
 
+        final long startNanos = System.nanoTime();
         try {
 
             final Pair<Integer, String> responsePair = closeableHttpClient.execute(getRequest, responseHandler());
+            final long latencyMS = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
             final Integer responseCode = responsePair.getLeft();
             final String responseBody = responsePair.getRight();
 
@@ -104,14 +124,19 @@ public class DMaaPMRSubscriberImpl extends BaseDMaaPMRComponent implements DMaaP
                 LOG.error("Unable to fetch messages to DMaaP MR Topic. DMaaP MR unsuccessful Response Code: {}, " +
                         "DMaaP Response Body: {}", responseCode, responseBody);
             }
+            dmaapMRMetrics.recordFetch(fetchedMessages.size(), responseCode, getUTF8EncodedLength(responseBody),
+                    latencyMS);
 
             return createSubscriberResponse(responseCode, responseMessage, fetchedMessages);
 
         } catch (IOException e) {
 
+            dmaapMRMetrics.recordFetchError(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
             final String errorMessage =
                     format("IO Exception while fetching messages from DMaaP Topic. Exception %s", e);
             throw new DCAEAnalyticsRuntimeException(errorMessage, LOG, e);
+        } finally {
+            recordConnectionPoolStats(connectionManager, dmaapMRMetrics);
         }
 
 
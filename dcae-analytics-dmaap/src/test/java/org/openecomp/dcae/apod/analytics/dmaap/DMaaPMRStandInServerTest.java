@@ -0,0 +1,168 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.dmaap;
+
+import org.junit.After;
+import org.junit.Test;
+import org.openecomp.dcae.apod.analytics.dmaap.domain.config.DMaaPMRPublisherConfig;
+import org.openecomp.dcae.apod.analytics.dmaap.domain.config.DMaaPMRSubscriberConfig;
+import org.openecomp.dcae.apod.analytics.dmaap.domain.response.DMaaPMRPublisherResponse;
+import org.openecomp.dcae.apod.analytics.dmaap.domain.response.DMaaPMRSubscriberResponse;
+import org.openecomp.dcae.apod.analytics.dmaap.service.publisher.DMaaPMRPublisher;
+import org.openecomp.dcae.apod.analytics.dmaap.service.subscriber.DMaaPMRSubscriber;
+import org.openecomp.dcae.apod.analytics.test.dmaap.DMaaPMRStandInServer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests DMaaP MR Publisher and Subscriber end to end against {@link DMaaPMRStandInServer}
+ */
+public class DMaaPMRStandInServerTest extends BaseAnalyticsDMaaPUnitTest {
+
+    private DMaaPMRStandInServer standInServer;
+
+    @After
+    public void tearDown() throws Exception {
+        if (standInServer != null) {
+            standInServer.close();
+        }
+    }
+
+    @Test
+    public void testPublishedMessagesAreFetchedBySubscriber() throws Exception {
+        startStandInServer(new DMaaPMRStandInServer.Builder());
+        final DMaaPMRPublisher publisher = createPublisher();
+        final DMaaPMRPublisherResponse publisherResponse = publisher.forcePublish(getTwoSampleMessages());
+        assertThat(publisherResponse.getResponseCode(), is(200));
+        assertThat(standInServer.getPublishedMessageCount(), is(2L));
+
+        final DMaaPMRSubscriber subscriber = createSubscriber(SUBSCRIBER_TIMEOUT_MS, SUBSCRIBER_MESSAGE_LIMIT);
+        final DMaaPMRSubscriberResponse subscriberResponse = subscriber.fetchMessages();
+        assertThat(subscriberResponse.getResponseCode(), is(200));
+        final List<String> fetchedMessages = subscriberResponse.getFetchedMessages();
+        assertThat(fetchedMessages.size(), is(2));
+        assertJson(getTwoSampleMessages().get(0), fetchedMessages.get(0));
+        assertJson(getTwoSampleMessages().get(1), fetchedMessages.get(1));
+
+        // consumer group offset must be moved past fetched messages
+        assertThat(createSubscriber(0, SUBSCRIBER_MESSAGE_LIMIT).fetchMessages().getFetchedMessages().size(), is(0));
+        publisher.close();
+        subscriber.close();
+    }
+
+    @Test
+    public void testFetchHonorsMessageLimit() throws Exception {
+        startStandInServer(new DMaaPMRStandInServer.Builder().setMaxFetchLimit(3));
+        standInServer.addMessages(TOPIC_NAME, createMessages(1, 5));
+
+        final DMaaPMRSubscriber subscriber = createSubscriber(0, 2);
+        assertThat(subscriber.fetchMessages().getFetchedMessages().size(), is(2));
+        assertThat(subscriber.fetchMessages().getFetchedMessages().size(), is(2));
+        assertThat(subscriber.fetchMessages().getFetchedMessages().size(), is(1));
+        // server max fetch limit caps requested limit
+        standInServer.addMessages(TOPIC_NAME, createMessages(6, 9));
+        assertThat(createSubscriber(0, 10).fetchMessages().getFetchedMessages().size(), is(3));
+        subscriber.close();
+    }
+
+    @Test
+    public void testFetchWaitsForLongPollTimeoutWhenNoMessages() throws Exception {
+        startStandInServer(new DMaaPMRStandInServer.Builder().setMaxLongPollTimeoutMS(200));
+        final DMaaPMRSubscriber subscriber = createSubscriber(5000, SUBSCRIBER_MESSAGE_LIMIT);
+        final long startTime = System.currentTimeMillis();
+        final DMaaPMRSubscriberResponse subscriberResponse = subscriber.fetchMessages();
+        assertThat(subscriberResponse.getResponseCode(), is(200));
+        assertThat(subscriberResponse.getFetchedMessages().size(), is(0));
+        assertThat(System.currentTimeMillis() - startTime, greaterThanOrEqualTo(150L));
+        subscriber.close();
+    }
+
+    @Test
+    public void testSimulatedErrors() throws Exception {
+        startStandInServer(new DMaaPMRStandInServer.Builder().setErrorRate(1.0));
+        final DMaaPMRPublisher publisher = createPublisher();
+        assertThat(publisher.forcePublish(getTwoSampleMessages()).getResponseCode(), is(500));
+        assertThat(standInServer.getErrorResponseCount(), is(1L));
+        assertThat(standInServer.getMessages(TOPIC_NAME).size(), is(0));
+        publisher.close();
+    }
+
+    @Test
+    public void testThrottling() throws Exception {
+        startStandInServer(new DMaaPMRStandInServer.Builder().setMaxRequestsPerSecond(1));
+        final DMaaPMRSubscriber subscriber = createSubscriber(0, SUBSCRIBER_MESSAGE_LIMIT);
+        int throttledResponses = 0;
+        // three requests can span at most two throttling windows - at least one must be throttled
+        for (int i = 0; i < 3; i++) {
+            if (subscriber.fetchMessages().getResponseCode() == 429) {
+                throttledResponses++;
+            }
+        }
+        assertThat(throttledResponses, greaterThanOrEqualTo(1));
+        assertThat(standInServer.getThrottledResponseCount(), is((long) throttledResponses));
+        subscriber.close();
+    }
+
+    private static List<String> createMessages(final int fromId, final int toId) {
+        final List<String> messages = new ArrayList<>();
+        for (int id = fromId; id <= toId; id++) {
+            messages.add("{\"id\":" + id + "}");
+        }
+        return messages;
+    }
+
+    private void startStandInServer(final DMaaPMRStandInServer.Builder serverBuilder) throws Exception {
+        standInServer = serverBuilder.build();
+        standInServer.start();
+    }
+
+    private DMaaPMRPublisher createPublisher() {
+        final DMaaPMRPublisherConfig publisherConfig =
+                new DMaaPMRPublisherConfig.Builder(standInServer.getHostName(), TOPIC_NAME)
+                        .setPortNumber(standInServer.getPort())
+                        .setProtocol(DMaaPMRStandInServer.HTTP_PROTOCOL)
+                        .setContentType(CONTENT_TYPE)
+                        .setMaxBatchSize(PUBLISHER_MAX_BATCH_QUEUE_SIZE)
+                        .setMaxRecoveryQueueSize(PUBLISHER_MAX_RECOVERY_QUEUE_SIZE)
+                        .build();
+        return DMaaPMRFactory.create().createPublisher(publisherConfig);
+    }
+
+    private DMaaPMRSubscriber createSubscriber(final int timeoutMS, final int messageLimit) {
+        final DMaaPMRSubscriberConfig subscriberConfig =
+                new DMaaPMRSubscriberConfig.Builder(standInServer.getHostName(), TOPIC_NAME)
+                        .setPortNumber(standInServer.getPort())
+                        .setProtocol(DMaaPMRStandInServer.HTTP_PROTOCOL)
+                        .setContentType(CONTENT_TYPE)
+                        .setConsumerGroup(SUBSCRIBER_CONSUMER_GROUP_NAME)
+                        .setConsumerId(SUBSCRIBER_CONSUMER_ID)
+                        .setTimeoutMS(timeoutMS)
+                        .setMessageLimit(messageLimit)
+                        .build();
+        return DMaaPMRFactory.create().createSubscriber(subscriberConfig);
+    }
+
+}
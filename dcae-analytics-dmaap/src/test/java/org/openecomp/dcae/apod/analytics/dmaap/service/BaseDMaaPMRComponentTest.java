@@ -21,6 +21,7 @@
 package org.openecomp.dcae.apod.analytics.dmaap.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.google.common.base.Charsets;
 import com.google.common.base.Optional;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.http.HttpEntity;
@@ -332,6 +333,17 @@ public class BaseDMaaPMRComponentTest extends BaseAnalyticsDMaaPUnitTest {
     }
 
     //endregion
+
+    //region getUTF8EncodedLength tests
+    @Test
+    public void testGetUTF8EncodedLength() {
+        final String value = "{\"message\":\"caf\u00e9 \u20ac \ud83d\ude00\"}";
+        assertThat(BaseDMaaPMRComponent.getUTF8EncodedLength(value),
+                is((long) value.getBytes(Charsets.UTF_8).length));
+        assertThat(BaseDMaaPMRComponent.getUTF8EncodedLength(null), is(0L));
+    }
+
+    //endregion
 }
 
 
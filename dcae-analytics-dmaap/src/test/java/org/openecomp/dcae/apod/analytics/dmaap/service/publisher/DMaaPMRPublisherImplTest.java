@@ -31,6 +31,7 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentMatcher;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.runners.MockitoJUnitRunner;
@@ -38,6 +39,7 @@ import org.openecomp.dcae.apod.analytics.common.exception.DCAEAnalyticsRuntimeEx
 import org.openecomp.dcae.apod.analytics.dmaap.BaseAnalyticsDMaaPUnitTest;
 import org.openecomp.dcae.apod.analytics.dmaap.domain.config.DMaaPMRPublisherConfig;
 import org.openecomp.dcae.apod.analytics.dmaap.domain.response.DMaaPMRPublisherResponse;
+import org.openecomp.dcae.apod.analytics.dmaap.service.metrics.DMaaPMRMetrics;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -46,6 +48,7 @@ import static org.hamcrest.CoreMatchers.isA;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -61,6 +64,8 @@ public class DMaaPMRPublisherImplTest extends BaseAnalyticsDMaaPUnitTest {
     CloseableHttpClient closeableHttpClient;
     @Mock
     DMaaPMRPublisherQueue dmaapMRPublisherQueue;
+    @Mock
+    DMaaPMRMetrics dmaapMRMetrics;
 
     @Before
     public void setUp() throws Exception {
@@ -209,4 +214,58 @@ public class DMaaPMRPublisherImplTest extends BaseAnalyticsDMaaPUnitTest {
         verify(closeableHttpClient, times(6)).execute(Mockito.any(HttpUriRequest.class),
                 Mockito.any(ResponseHandler.class));
     }
+
+    @Test
+    public void testForcePublishReportsMetrics() throws Exception {
+        given(closeableHttpClient.execute(Mockito.any(HttpUriRequest.class), Mockito.any(ResponseHandler.class)))
+                .willReturn(new ImmutablePair<>(200, "Message successfully posted"));
+        given(dmaapMRPublisherQueue.getBatchQueueRemainingSize()).willReturn(getPublisherConfig().getMaxBatchSize());
+
+        DMaaPMRPublisherImpl dmaapMRPublisherImpl = new DMaaPMRPublisherImpl(
+                getPublisherConfig(), dmaapMRPublisherQueueFactory, closeableHttpClient, null, dmaapMRMetrics);
+        dmaapMRPublisherImpl.forcePublish(getTwoSampleMessages());
+
+        verify(dmaapMRMetrics).recordPublish(Mockito.eq(2), Mockito.longThat(new IsPositiveLong()), Mockito.eq(200),
+                Mockito.eq((long) "Message successfully posted".length()), Mockito.anyLong());
+        verify(dmaapMRMetrics).recordPublisherQueueDepth(Mockito.eq(0), Mockito.anyInt());
+        verify(dmaapMRMetrics, never()).recordRecoveryQueueSpill(Mockito.anyInt(), Mockito.anyBoolean());
+    }
+
+    @Test
+    public void testForcePublishUnsuccessfulReportsRecoveryQueueSpill() throws Exception {
+        given(closeableHttpClient.execute(Mockito.any(HttpUriRequest.class), Mockito.any(ResponseHandler.class)))
+                .willReturn(new ImmutablePair<>(503, "Service Unavailable"));
+
+        DMaaPMRPublisherImpl dmaapMRPublisherImpl = new DMaaPMRPublisherImpl(
+                getPublisherConfig(), dmaapMRPublisherQueueFactory, closeableHttpClient, null, dmaapMRMetrics);
+        dmaapMRPublisherImpl.forcePublish(getTwoSampleMessages());
+
+        verify(dmaapMRMetrics).recordPublish(Mockito.eq(2), Mockito.anyLong(), Mockito.eq(503), Mockito.anyLong(),
+                Mockito.anyLong());
+        verify(dmaapMRMetrics).recordRecoveryQueueSpill(2, false);
+    }
+
+    @Test
+    public void testForcePublishIOExceptionReportsPublishError() throws Exception {
+        given(closeableHttpClient.execute(Mockito.any(HttpUriRequest.class), Mockito.any(ResponseHandler.class)))
+                .willThrow(IOException.class);
+
+        DMaaPMRPublisherImpl dmaapMRPublisherImpl = new DMaaPMRPublisherImpl(
+                getPublisherConfig(), dmaapMRPublisherQueueFactory, closeableHttpClient, null, dmaapMRMetrics);
+        try {
+            dmaapMRPublisherImpl.forcePublish(getTwoSampleMessages());
+        } catch (DCAEAnalyticsRuntimeException e) {
+            // expected
+        }
+
+        verify(dmaapMRMetrics).recordPublishError(Mockito.eq(2), Mockito.anyLong(), Mockito.anyLong());
+        verify(dmaapMRMetrics).recordRecoveryQueueSpill(2, false);
+    }
+
+    private static class IsPositiveLong implements ArgumentMatcher<Long> {
+        @Override
+        public boolean matches(Long value) {
+            return value != null && value > 0;
+        }
+    }
 }
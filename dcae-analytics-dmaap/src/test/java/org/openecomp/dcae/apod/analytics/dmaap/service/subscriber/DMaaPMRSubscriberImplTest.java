@@ -38,6 +38,7 @@ import org.openecomp.dcae.apod.analytics.common.exception.DCAEAnalyticsRuntimeEx
 import org.openecomp.dcae.apod.analytics.dmaap.BaseAnalyticsDMaaPUnitTest;
 import org.openecomp.dcae.apod.analytics.dmaap.domain.config.DMaaPMRSubscriberConfig;
 import org.openecomp.dcae.apod.analytics.dmaap.domain.response.DMaaPMRSubscriberResponse;
+import org.openecomp.dcae.apod.analytics.dmaap.service.metrics.DMaaPMRMetrics;
 
 import java.io.IOException;
 import java.util.Random;
@@ -47,6 +48,7 @@ import static org.hamcrest.CoreMatchers.isA;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
 
 /**
  * @author Rajiv Singla. Creation Date: 10/21/2016.
@@ -56,6 +58,8 @@ public class DMaaPMRSubscriberImplTest extends BaseAnalyticsDMaaPUnitTest {
 
     @Mock
     CloseableHttpClient closeableHttpClient;
+    @Mock
+    DMaaPMRMetrics dmaapMRMetrics;
 
     private String consumerGroup, consumerId;
 
@@ -155,4 +159,34 @@ public class DMaaPMRSubscriberImplTest extends BaseAnalyticsDMaaPUnitTest {
         DMaaPMRSubscriberResponse dmaapMRSubscriberResponse = dmaapMRSubscriberImpl.fetchMessages();
     }
 
+    @Test
+    public void testSubscriberReportsFetchMetrics() throws Exception {
+        String testMessages = "[{\"message\":\"I'm Object 1 Message\"}," +
+                "{\"message\":\"I'm Object 2 Message\"}]";
+        Mockito.when(
+                closeableHttpClient.execute(Mockito.any(HttpUriRequest.class), Mockito.any(ResponseHandler.class)))
+                .thenReturn(new ImmutablePair<>(200, testMessages));
+
+        DMaaPMRSubscriberImpl dmaapMRSubscriberImpl = new DMaaPMRSubscriberImpl(
+                getSubscriberConfig(consumerId, consumerGroup), closeableHttpClient, null, dmaapMRMetrics);
+        dmaapMRSubscriberImpl.fetchMessages();
+        verify(dmaapMRMetrics).recordFetch(Mockito.eq(2), Mockito.eq(200), Mockito.eq((long) testMessages.length()),
+                Mockito.anyLong());
+    }
+
+    @Test
+    public void testSubscriberReportsFetchErrorMetrics() throws Exception {
+        given(closeableHttpClient.execute(
+                Mockito.any(HttpUriRequest.class), Mockito.any(ResponseHandler.class))).willThrow(IOException.class);
+
+        DMaaPMRSubscriberImpl dmaapMRSubscriberImpl = new DMaaPMRSubscriberImpl(
+                getSubscriberConfig(consumerId, consumerGroup), closeableHttpClient, null, dmaapMRMetrics);
+        try {
+            dmaapMRSubscriberImpl.fetchMessages();
+        } catch (DCAEAnalyticsRuntimeException e) {
+            // expected
+        }
+        verify(dmaapMRMetrics).recordFetchError(Mockito.anyLong());
+    }
+
 }
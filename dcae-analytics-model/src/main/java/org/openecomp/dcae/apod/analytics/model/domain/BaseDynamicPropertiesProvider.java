@@ -29,6 +29,7 @@ import java.util.Map;
  * <p>
  *     Base Dynamic Provider provide functionality so that all the
  *     additional dynamic Properties can be accumalated in a map.
+ *     The map is only allocated when first dynamic property is added or dynamic properties are first accessed.
  * </p>
  *
  * @author Rajiv Singla. Creation Date: 11/5/2016.
@@ -42,7 +43,21 @@ public abstract class BaseDynamicPropertiesProvider implements DynamicProperties
      * @param dynamicProperties Dynamic properties
      * @return dynamic properties
      */
-    private Map<String, Object> dynamicProperties = new LinkedHashMap<>();
+    private Map<String, Object> dynamicProperties;
+
+
+    /**
+     * Returns modifiable dynamic properties - map is allocated on first access if no dynamic property has been
+     * added yet
+     *
+     * @return dynamic properties
+     */
+    public Map<String, Object> getDynamicProperties() {
+        if (dynamicProperties == null) {
+            dynamicProperties = new LinkedHashMap<>();
+        }
+        return dynamicProperties;
+    }
 
 
     /**
@@ -52,6 +67,9 @@ public abstract class BaseDynamicPropertiesProvider implements DynamicProperties
      * @param propertyValue property value
      */
     public void addDynamicProperties(String propertyName, Object propertyValue) {
+        if (dynamicProperties == null) {
+            dynamicProperties = new LinkedHashMap<>();
+        }
         dynamicProperties.put(propertyName, propertyValue);
     }
 
@@ -61,7 +79,7 @@ public abstract class BaseDynamicPropertiesProvider implements DynamicProperties
      * @return return true if Dynamic Properties are present
      */
     public boolean isDynamicPropertiesPresent() {
-        return dynamicProperties.size() == 0;
+        return dynamicProperties == null || dynamicProperties.size() == 0;
     }
 
 
@@ -22,7 +22,9 @@ package org.openecomp.dcae.apod.analytics.model.domain.cef;
 
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -31,7 +33,8 @@ import java.util.List;
  * @author Rajiv Singla. Creation Date: 10/17/2016.
  */
 @Data
-@EqualsAndHashCode(callSuper = true)
+@EqualsAndHashCode(callSuper = true, exclude = "vNicUsageColumns")
+@ToString(exclude = "vNicUsageColumns")
 public class MeasurementsForVfScalingFields extends BaseCEFModel {
 
 
@@ -53,5 +56,50 @@ public class MeasurementsForVfScalingFields extends BaseCEFModel {
      */
     private List<VNicUsageArray> vNicUsageArray;
 
+    /**
+     * Read only column oriented view of Virtual Network Card Usage Array. Populated by streaming CEF deserializer
+     * so that vNic counters can be read as primitive arrays without creating {@link VNicUsageArray} objects
+     *
+     * @return Virtual Network Card Usage Columns or null if vNic usage array was not deserialized into columns
+     */
+    private VNicUsageColumns vNicUsageColumns;
+
+
+    /**
+     * Virtual Network Card Usage Array. If vNic usage array was deserialized into columns an unmodifiable
+     * list of {@link VNicUsageArray} objects is created from the columns on first call and returned by all later
+     * calls - changes to its elements are not reflected in the columns. Use {@link #setVNicUsageArray(List)} to
+     * change vNic usage array
+     *
+     * @return Virtual Network Card Usage Array
+     */
+    public List<VNicUsageArray> getVNicUsageArray() {
+        if (vNicUsageColumns != null && vNicUsageArray == null) {
+            vNicUsageArray = Collections.unmodifiableList(vNicUsageColumns.toVNicUsageArrays());
+        }
+        return vNicUsageArray;
+    }
+
+    /**
+     * Sets Virtual Network Card Usage Array. Any column oriented view is discarded as it would no longer
+     * reflect vNic usage array values
+     *
+     * @param vNicUsageArray New value for Virtual Network Card Usage Array
+     */
+    public void setVNicUsageArray(final List<VNicUsageArray> vNicUsageArray) {
+        this.vNicUsageArray = vNicUsageArray;
+        this.vNicUsageColumns = null;
+    }
+
+    /**
+     * Sets column oriented view of Virtual Network Card Usage Array. Any vNic usage array list is discarded
+     * as vNic usage array is backed by the columns
+     *
+     * @param vNicUsageColumns New value for Virtual Network Card Usage Columns
+     */
+    public void setVNicUsageColumns(final VNicUsageColumns vNicUsageColumns) {
+        this.vNicUsageColumns = vNicUsageColumns;
+        this.vNicUsageArray = null;
+    }
 
 }
@@ -0,0 +1,385 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+package org.openecomp.dcae.apod.analytics.model.domain.cef;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * <p>
+ *     Read only, column oriented (struct of arrays) view of Common Event Format {@link VNicUsageArray} list. Typed
+ *     vNic counters (bytesIn, bytesOut, packetsIn and packetsOut) are kept as primitive long columns, so wide vNic
+ *     usage arrays are held by a handful of objects instead of one object per vNic plus one object per counter
+ *     value. All other vNic properties are kept per row as dynamic properties.
+ *     <br>
+ *     Columns are created by the CEF deserializer using {@link VNicUsageColumns.Builder}. {@link VNicUsageArray}
+ *     objects are only created when {@link #toVNicUsageArrays()} is called and are equal to objects created by
+ *     regular deserialization.
+ * </p>
+ */
+public class VNicUsageColumns implements CEFModel {
+
+    private static final long serialVersionUID = 1398452618873512042L;
+
+    public static final String BYTES_IN = "bytesIn";
+    public static final String BYTES_OUT = "bytesOut";
+    public static final String PACKETS_IN = "packetsIn";
+    public static final String PACKETS_OUT = "packetsOut";
+    public static final String VNIC_IDENTIFIER = "vNicIdentifier";
+
+    private static final String[] COUNTER_NAMES = {BYTES_IN, BYTES_OUT, PACKETS_IN, PACKETS_OUT};
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final int size;
+    private final String[] vNicIdentifiers;
+    // null vNic usage array elements - null if no element is null
+    private final boolean[] nullRows;
+    // counter values and present flags indexed by counter - null if counter is not present in any row
+    private final long[][] counterValues;
+    private final boolean[][] counterPresent;
+    // dynamic properties of each row - null if no row has dynamic properties
+    private final Map<String, Object>[] rowDynamicProperties;
+
+    private VNicUsageColumns(final Builder builder) {
+        this.size = builder.size;
+        this.vNicIdentifiers = Arrays.copyOf(builder.vNicIdentifiers, size);
+        this.nullRows = builder.nullRows == null ? null : Arrays.copyOf(builder.nullRows, size);
+        this.counterValues = new long[COUNTER_NAMES.length][];
+        this.counterPresent = new boolean[COUNTER_NAMES.length][];
+        for (int counterIndex = 0; counterIndex < COUNTER_NAMES.length; counterIndex++) {
+            if (builder.counterValues[counterIndex] != null) {
+                counterValues[counterIndex] = Arrays.copyOf(builder.counterValues[counterIndex], size);
+                counterPresent[counterIndex] = Arrays.copyOf(builder.counterPresent[counterIndex], size);
+            }
+        }
+        if (builder.rowDynamicProperties == null) {
+            this.rowDynamicProperties = null;
+        } else {
+            this.rowDynamicProperties = Arrays.copyOf(builder.rowDynamicProperties, size);
+            for (int row = 0; row < size; row++) {
+                if (rowDynamicProperties[row] != null) {
+                    rowDynamicProperties[row] = new LinkedHashMap<>(rowDynamicProperties[row]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns number of rows (vNics)
+     *
+     * @return number of rows
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns true if vNic usage array element of given row was null
+     *
+     * @param row row index
+     *
+     * @return true if row is null
+     */
+    public boolean isNullRow(final int row) {
+        return nullRows != null && nullRows[row];
+    }
+
+    /**
+     * Returns vNic identifier of given row
+     *
+     * @param row row index
+     *
+     * @return vNic identifier or null if not present
+     */
+    @Nullable
+    public String getVNicIdentifier(final int row) {
+        return vNicIdentifiers[row];
+    }
+
+    /**
+     * Returns true if given counter has a value in given row
+     *
+     * @param counterName counter name e.g. bytesIn
+     * @param row row index
+     *
+     * @return true if counter value is present
+     */
+    public boolean isValuePresent(@Nonnull final String counterName, final int row) {
+        final int counterIndex = getCounterIndex(counterName);
+        return counterIndex >= 0 && counterPresent[counterIndex] != null && counterPresent[counterIndex][row];
+    }
+
+    /**
+     * Returns counter value of given row. Value must be present - see {@link #isValuePresent(String, int)}
+     *
+     * @param counterName counter name e.g. bytesIn
+     * @param row row index
+     *
+     * @return counter value
+     */
+    public long getValue(@Nonnull final String counterName, final int row) {
+        if (!isValuePresent(counterName, row)) {
+            throw new IllegalArgumentException(
+                    String.format("vNic counter: %s is not present in row: %d", counterName, row));
+        }
+        return counterValues[getCounterIndex(counterName)][row];
+    }
+
+    /**
+     * Returns all values present for given counter across all rows as contiguous primitive array
+     *
+     * @param counterName counter name e.g. bytesIn
+     *
+     * @return copy of counter values or null if no row has a value for the counter
+     */
+    @Nullable
+    public long[] getValues(@Nonnull final String counterName) {
+        final int counterIndex = getCounterIndex(counterName);
+        if (counterIndex < 0 || counterValues[counterIndex] == null) {
+            return null;
+        }
+        final long[] values = counterValues[counterIndex];
+        final boolean[] present = counterPresent[counterIndex];
+        int presentCount = 0;
+        for (int row = 0; row < size; row++) {
+            if (present[row]) {
+                presentCount++;
+            }
+        }
+        final long[] presentValues = new long[presentCount];
+        int presentIndex = 0;
+        for (int row = 0; row < size; row++) {
+            if (present[row]) {
+                presentValues[presentIndex++] = values[row];
+            }
+        }
+        return presentValues;
+    }
+
+    /**
+     * Creates new {@link VNicUsageArray} objects for all rows. Changes to created objects are not reflected
+     * in the columns
+     *
+     * @return list of vNic usage array objects
+     */
+    public List<VNicUsageArray> toVNicUsageArrays() {
+        final List<VNicUsageArray> vNicUsageArrays = new ArrayList<>(size);
+        for (int row = 0; row < size; row++) {
+            if (isNullRow(row)) {
+                vNicUsageArrays.add(null);
+                continue;
+            }
+            final VNicUsageArray vNicUsageArray = new VNicUsageArray();
+            vNicUsageArray.setVNicIdentifier(vNicIdentifiers[row]);
+            for (int counterIndex = 0; counterIndex < COUNTER_NAMES.length; counterIndex++) {
+                if (counterPresent[counterIndex] != null && counterPresent[counterIndex][row]) {
+                    setVNicUsageArrayValue(vNicUsageArray, counterIndex, counterValues[counterIndex][row]);
+                }
+            }
+            if (rowDynamicProperties != null && rowDynamicProperties[row] != null) {
+                for (Map.Entry<String, Object> dynamicProperty : rowDynamicProperties[row].entrySet()) {
+                    vNicUsageArray.addDynamicProperties(dynamicProperty.getKey(), dynamicProperty.getValue());
+                }
+            }
+            vNicUsageArrays.add(vNicUsageArray);
+        }
+        return vNicUsageArrays;
+    }
+
+    private static int getCounterIndex(final String counterName) {
+        switch (counterName) {
+            case BYTES_IN:
+                return 0;
+            case BYTES_OUT:
+                return 1;
+            case PACKETS_IN:
+                return 2;
+            case PACKETS_OUT:
+                return 3;
+            default:
+                return -1;
+        }
+    }
+
+    private static void setVNicUsageArrayValue(final VNicUsageArray vNicUsageArray, final int counterIndex,
+                                               final long value) {
+        switch (counterIndex) {
+            case 0:
+                vNicUsageArray.setBytesIn(value);
+                break;
+            case 1:
+                vNicUsageArray.setBytesOut(value);
+                break;
+            case 2:
+                vNicUsageArray.setPacketsIn(value);
+                break;
+            default:
+                vNicUsageArray.setPacketsOut(value);
+        }
+    }
+
+
+    /**
+     * Builder to create immutable {@link VNicUsageColumns}. Rows must be populated in order - values are always
+     * set for the last added row
+     */
+    public static class Builder {
+
+        private int size;
+        private String[] vNicIdentifiers = new String[INITIAL_CAPACITY];
+        private boolean[] nullRows;
+        private final long[][] counterValues = new long[COUNTER_NAMES.length][];
+        private final boolean[][] counterPresent = new boolean[COUNTER_NAMES.length][];
+        private Map<String, Object>[] rowDynamicProperties;
+
+        /**
+         * Adds new empty row
+         *
+         * @return Builder object itself for chaining
+         */
+        public Builder addRow() {
+            if (size == vNicIdentifiers.length) {
+                vNicIdentifiers = Arrays.copyOf(vNicIdentifiers, size * 2);
+            }
+            size++;
+            return this;
+        }
+
+        /**
+         * Adds a row for null vNic usage array element
+         *
+         * @return Builder object itself for chaining
+         */
+        public Builder addNullRow() {
+            addRow();
+            if (nullRows == null || nullRows.length < vNicIdentifiers.length) {
+                nullRows = nullRows == null ? new boolean[vNicIdentifiers.length] :
+                        Arrays.copyOf(nullRows, vNicIdentifiers.length);
+            }
+            nullRows[size - 1] = true;
+            return this;
+        }
+
+        /**
+         * Sets vNic identifier of the last added row
+         *
+         * @param vNicIdentifier vNic identifier
+         *
+         * @return Builder object itself for chaining
+         */
+        public Builder setVNicIdentifier(@Nullable final String vNicIdentifier) {
+            vNicIdentifiers[getLastRow()] = vNicIdentifier;
+            return this;
+        }
+
+        /**
+         * Sets counter value of the last added row
+         *
+         * @param counterName counter name - one of bytesIn, bytesOut, packetsIn or packetsOut
+         * @param value counter value
+         *
+         * @return Builder object itself for chaining
+         */
+        public Builder setValue(@Nonnull final String counterName, final long value) {
+            final int row = getLastRow();
+            final int counterIndex = getRequiredCounterIndex(counterName);
+            if (counterValues[counterIndex] == null) {
+                counterValues[counterIndex] = new long[vNicIdentifiers.length];
+                counterPresent[counterIndex] = new boolean[vNicIdentifiers.length];
+            } else if (counterValues[counterIndex].length < vNicIdentifiers.length) {
+                counterValues[counterIndex] = Arrays.copyOf(counterValues[counterIndex], vNicIdentifiers.length);
+                counterPresent[counterIndex] = Arrays.copyOf(counterPresent[counterIndex], vNicIdentifiers.length);
+            }
+            counterValues[counterIndex][row] = value;
+            counterPresent[counterIndex][row] = true;
+            return this;
+        }
+
+        /**
+         * Removes counter value of the last added row
+         *
+         * @param counterName counter name - one of bytesIn, bytesOut, packetsIn or packetsOut
+         *
+         * @return Builder object itself for chaining
+         */
+        public Builder clearValue(@Nonnull final String counterName) {
+            final int row = getLastRow();
+            final boolean[] present = counterPresent[getRequiredCounterIndex(counterName)];
+            if (present != null && row < present.length) {
+                present[row] = false;
+            }
+            return this;
+        }
+
+        /**
+         * Adds dynamic property value of the last added row
+         *
+         * @param propertyName property name
+         * @param propertyValue property value
+         *
+         * @return Builder object itself for chaining
+         */
+        @SuppressWarnings("unchecked")
+        public Builder addDynamicProperty(@Nonnull final String propertyName, @Nullable final Object propertyValue) {
+            final int row = getLastRow();
+            if (rowDynamicProperties == null) {
+                rowDynamicProperties = new Map[vNicIdentifiers.length];
+            } else if (rowDynamicProperties.length < vNicIdentifiers.length) {
+                rowDynamicProperties = Arrays.copyOf(rowDynamicProperties, vNicIdentifiers.length);
+            }
+            if (rowDynamicProperties[row] == null) {
+                rowDynamicProperties[row] = new LinkedHashMap<>();
+            }
+            rowDynamicProperties[row].put(propertyName, propertyValue);
+            return this;
+        }
+
+        /**
+         * Creates immutable vNic usage columns
+         *
+         * @return vNic usage columns
+         */
+        public VNicUsageColumns build() {
+            return new VNicUsageColumns(this);
+        }
+
+        private int getLastRow() {
+            if (size == 0) {
+                throw new IllegalStateException("No vNic usage row has been added");
+            }
+            return size - 1;
+        }
+
+        private static int getRequiredCounterIndex(final String counterName) {
+            final int counterIndex = getCounterIndex(counterName);
+            if (counterIndex < 0) {
+                throw new IllegalArgumentException(String.format("Unknown vNic counter: %s", counterName));
+            }
+            return counterIndex;
+        }
+    }
+
+}
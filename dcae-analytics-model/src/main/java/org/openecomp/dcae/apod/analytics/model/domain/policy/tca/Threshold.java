@@ -59,6 +59,18 @@ public class Threshold extends BaseTCAPolicyModel {
      */
     private String fieldPath;
 
+    /**
+     * Arithmetic expression over one or more Common Event Format field paths which needs to be monitored by
+     * TCA App for threshold crossing instead of a single field path e.g.
+     * <code>($.event.measurementsForVfScalingFields.vNicUsageArray[*].bytesIn +
+     * $.event.measurementsForVfScalingFields.vNicUsageArray[*].bytesOut) / 1024</code>.
+     * Supports numbers, field paths, parenthesis and +, -, *, / operators
+     *
+     * @param fieldExpression New value for arithmetic expression over CEF field paths
+     * @return Arithmetic expression over CEF field paths which needs to be monitored by TCA App
+     */
+    private String fieldExpression;
+
     /**
      * Threshold Value
      *
@@ -67,6 +79,63 @@ public class Threshold extends BaseTCAPolicyModel {
      */
     private Long thresholdValue;
 
+    /**
+     * Type of value threshold is applied to. If not present threshold is applied to field path values as reported
+     * in the message. Delta and rate thresholds are applied to change of cumulative counters since previous message
+     * of the same reporting entity
+     *
+     * @param valueType New value for type of value threshold is applied to
+     * @return Type of value threshold is applied to
+     */
+    private ThresholdValueType valueType;
+
+    /**
+     * Aggregation of window samples threshold is applied to. If present threshold is applied to aggregate of
+     * field values (or delta and rate values if value type is present) of the most recent messages of the same
+     * reporting entity instead of a single message value. PERCENTILE windows must have window seconds present and
+     * all other windows must have window size present
+     *
+     * @param windowAggregation New value for aggregation of window samples
+     * @return Aggregation of window samples threshold is applied to
+     */
+    private ThresholdWindowAggregation windowAggregation;
+
+    /**
+     * Number of most recent samples in window. If window seconds is not present threshold is only applied once
+     * window has this many samples. If window seconds is present window size caps the number of samples within
+     * window seconds which are aggregated - it must be at least window seconds divided by reporting interval of
+     * reporting entities, otherwise only the most recent window size samples are aggregated
+     *
+     * @param windowSize New value for number of most recent samples in window
+     * @return Number of most recent samples in window
+     */
+    private Integer windowSize;
+
+    /**
+     * Time span of window in seconds - only samples of messages within window seconds of the latest message are
+     * aggregated
+     *
+     * @param windowSeconds New value for time span of window in seconds
+     * @return Time span of window in seconds
+     */
+    private Integer windowSeconds;
+
+    /**
+     * Number of window samples which must violate the threshold for COUNT window aggregation
+     *
+     * @param windowViolationCount New value for number of window samples which must violate the threshold
+     * @return Number of window samples which must violate the threshold
+     */
+    private Integer windowViolationCount;
+
+    /**
+     * Percentile of window samples for PERCENTILE window aggregation e.g. 95 for 95th percentile
+     *
+     * @param windowPercentile New value for percentile of window samples
+     * @return Percentile of window samples
+     */
+    private Double windowPercentile;
+
     /**
      * Direction of threshold
      *
@@ -0,0 +1,41 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.model.domain.policy.tca;
+
+/**
+ * <p>
+ *     Enum for type of value a Threshold is applied to. Thresholds without value type are applied to field values
+ *     as reported in the message
+ * </p>
+ */
+public enum ThresholdValueType implements TCAPolicyModel {
+
+    /**
+     * Change of a cumulative counter since previous message of the same reporting entity
+     */
+    DELTA,
+
+    /**
+     * Change of a cumulative counter per second since previous message of the same reporting entity
+     */
+    RATE
+
+}
@@ -0,0 +1,57 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.model.domain.policy.tca;
+
+/**
+ * <p>
+ *     Enum for aggregation applied to samples of a threshold window. Samples of a window are field values (or delta
+ *     and rate values) reported by the same reporting entity in its most recent messages
+ * </p>
+ */
+public enum ThresholdWindowAggregation implements TCAPolicyModel {
+
+    /**
+     * Average of window samples
+     */
+    AVERAGE,
+
+    /**
+     * Min of window samples
+     */
+    MIN,
+
+    /**
+     * Max of window samples
+     */
+    MAX,
+
+    /**
+     * Number of window samples which violate the threshold
+     */
+    COUNT,
+
+    /**
+     * Approximate window percentile of window samples. Samples are summarized in mergeable quantile sketches instead
+     * of being kept individually so window must have window seconds present
+     */
+    PERCENTILE
+
+}
@@ -23,7 +23,12 @@ package org.openecomp.dcae.apod.analytics.model.util;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.google.common.base.Suppliers;
+import org.openecomp.dcae.apod.analytics.model.domain.cef.EventListener;
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.TCAPolicy;
+import org.openecomp.dcae.apod.analytics.model.facade.tca.TCAVESResponse;
 import org.openecomp.dcae.apod.analytics.model.util.json.AnalyticsModelObjectMapperSupplier;
 
 import java.io.IOException;
@@ -41,6 +46,23 @@ public abstract class AnalyticsModelJsonUtils {
     protected static final ObjectMapper ANALYTICS_MODEL_OBJECT_MAPPER =
             Suppliers.memoize(new AnalyticsModelObjectMapperSupplier()).get();
 
+    /**
+     * Pre-built readers and writers for hot path model types. Unlike generic Object Mapper calls these
+     * resolve their root (de)serializers only once
+     */
+    protected static final ObjectReader EVENT_LISTENER_READER =
+            ANALYTICS_MODEL_OBJECT_MAPPER.readerFor(EventListener.class);
+    protected static final ObjectWriter EVENT_LISTENER_WRITER =
+            ANALYTICS_MODEL_OBJECT_MAPPER.writerFor(EventListener.class);
+    protected static final ObjectReader TCA_VES_RESPONSE_READER =
+            ANALYTICS_MODEL_OBJECT_MAPPER.readerFor(TCAVESResponse.class);
+    protected static final ObjectWriter TCA_VES_RESPONSE_WRITER =
+            ANALYTICS_MODEL_OBJECT_MAPPER.writerFor(TCAVESResponse.class);
+    protected static final ObjectReader TCA_POLICY_READER =
+            ANALYTICS_MODEL_OBJECT_MAPPER.readerFor(TCAPolicy.class);
+    protected static final ObjectWriter TCA_POLICY_WRITER =
+            ANALYTICS_MODEL_OBJECT_MAPPER.writerFor(TCAPolicy.class);
+
 
     /**
      * Converts Input Stream to given type reference object
@@ -101,4 +123,85 @@ public abstract class AnalyticsModelJsonUtils {
     public static <T> T readValue(final String jsonString, final Class<T> objectClass) throws IOException {
         return ANALYTICS_MODEL_OBJECT_MAPPER.readValue(jsonString, objectClass);
     }
+
+
+    /**
+     * Deserializes given CEF JSON String to {@link EventListener} using pre-built reader
+     *
+     * @param cefMessage CEF JSON String
+     *
+     * @return event listener
+     *
+     * @throws IOException IO Exception
+     */
+    public static EventListener readEventListener(final String cefMessage) throws IOException {
+        return EVENT_LISTENER_READER.readValue(cefMessage);
+    }
+
+
+    /**
+     * Deserializes given JSON String to {@link TCAVESResponse} using pre-built reader
+     *
+     * @param tcaVESResponse TCA VES Response JSON String
+     *
+     * @return TCA VES Response
+     *
+     * @throws IOException IO Exception
+     */
+    public static TCAVESResponse readTCAVESResponse(final String tcaVESResponse) throws IOException {
+        return TCA_VES_RESPONSE_READER.readValue(tcaVESResponse);
+    }
+
+
+    /**
+     * Deserializes given JSON String to {@link TCAPolicy} using pre-built reader
+     *
+     * @param tcaPolicy TCA Policy JSON String
+     *
+     * @return TCA Policy
+     *
+     * @throws IOException IO Exception
+     */
+    public static TCAPolicy readTCAPolicy(final String tcaPolicy) throws IOException {
+        return TCA_POLICY_READER.readValue(tcaPolicy);
+    }
+
+
+    /**
+     * Converts given {@link EventListener} to JSON String using pre-built writer
+     *
+     * @param eventListener event listener
+     *
+     * @return json string
+     * @throws JsonProcessingException Json Processing exception
+     */
+    public static String writeValueAsString(final EventListener eventListener) throws JsonProcessingException {
+        return EVENT_LISTENER_WRITER.writeValueAsString(eventListener);
+    }
+
+
+    /**
+     * Converts given {@link TCAVESResponse} to JSON String using pre-built writer
+     *
+     * @param tcaVESResponse TCA VES Response
+     *
+     * @return json string
+     * @throws JsonProcessingException Json Processing exception
+     */
+    public static String writeValueAsString(final TCAVESResponse tcaVESResponse) throws JsonProcessingException {
+        return TCA_VES_RESPONSE_WRITER.writeValueAsString(tcaVESResponse);
+    }
+
+
+    /**
+     * Converts given {@link TCAPolicy} to JSON String using pre-built writer
+     *
+     * @param tcaPolicy TCA Policy
+     *
+     * @return json string
+     * @throws JsonProcessingException Json Processing exception
+     */
+    public static String writeValueAsString(final TCAPolicy tcaPolicy) throws JsonProcessingException {
+        return TCA_POLICY_WRITER.writeValueAsString(tcaPolicy);
+    }
 }
@@ -23,6 +23,7 @@ package org.openecomp.dcae.apod.analytics.model.util.json;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
 import com.google.common.base.Supplier;
 import com.jayway.jsonpath.Configuration;
 import com.jayway.jsonpath.JsonPath;
@@ -44,12 +45,31 @@ import java.util.Set;
  *     <br>
  *     NOTE: This supplier also setups up {@link JsonPath} default
  *     config to make use of this Supplier object mapper
+ *     <br>
+ *     Bytecode generated property accessors ({@link AfterburnerModule}) can be enabled
+ *     by passing the flag in the constructor or by setting system property
+ *     {@value #AFTERBURNER_ENABLED_SYSTEM_PROPERTY} to true
  *</p>
  * @author Rajiv Singla. Creation Date: 11/10/2016.
  */
 @SuppressFBWarnings("SIC_INNER_SHOULD_BE_STATIC_ANON")
 public class AnalyticsModelObjectMapperSupplier implements Supplier<ObjectMapper> {
 
+    /**
+     * System property which enables {@link AfterburnerModule} for default constructed suppliers
+     */
+    public static final String AFTERBURNER_ENABLED_SYSTEM_PROPERTY = "dcae.analytics.json.afterburner.enabled";
+
+    private final boolean enableAfterburnerModule;
+
+    public AnalyticsModelObjectMapperSupplier() {
+        this(Boolean.getBoolean(AFTERBURNER_ENABLED_SYSTEM_PROPERTY));
+    }
+
+    public AnalyticsModelObjectMapperSupplier(final boolean enableAfterburnerModule) {
+        this.enableAfterburnerModule = enableAfterburnerModule;
+    }
+
     @Override
     public ObjectMapper get() {
 
@@ -68,6 +88,11 @@ public class AnalyticsModelObjectMapperSupplier implements Supplier<ObjectMapper
         // Register TCA Facade Module
         objectMapper.registerModule(new TCAFacadeModelModule());
 
+        // Register Afterburner Module - replaces reflection based property access with generated bytecode
+        if (enableAfterburnerModule) {
+            objectMapper.registerModule(new AfterburnerModule());
+        }
+
 
         // Setup JsonPath default config
         setupJsonPathDefaultConfig(objectMapper);
@@ -21,6 +21,7 @@
 package org.openecomp.dcae.apod.analytics.model.util.json;
 
 import com.fasterxml.jackson.core.Version;
+import com.fasterxml.jackson.databind.module.SimpleDeserializers;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import org.openecomp.dcae.apod.analytics.model.domain.cef.AlertAction;
 import org.openecomp.dcae.apod.analytics.model.domain.cef.AlertType;
@@ -35,6 +36,11 @@ import org.openecomp.dcae.apod.analytics.model.domain.cef.PerformanceCounter;
 import org.openecomp.dcae.apod.analytics.model.domain.cef.Priority;
 import org.openecomp.dcae.apod.analytics.model.domain.cef.ThresholdCrossingAlertFields;
 import org.openecomp.dcae.apod.analytics.model.domain.cef.VNicUsageArray;
+import org.openecomp.dcae.apod.analytics.model.util.json.deserializer.cef.CommonEventHeaderDeserializer;
+import org.openecomp.dcae.apod.analytics.model.util.json.deserializer.cef.EventDeserializer;
+import org.openecomp.dcae.apod.analytics.model.util.json.deserializer.cef.EventListenerDeserializer;
+import org.openecomp.dcae.apod.analytics.model.util.json.deserializer.cef.MeasurementsForVfScalingFieldsDeserializer;
+import org.openecomp.dcae.apod.analytics.model.util.json.deserializer.cef.VNicUsageArrayDeserializer;
 import org.openecomp.dcae.apod.analytics.model.util.json.mixin.cef.AlertActionMixin;
 import org.openecomp.dcae.apod.analytics.model.util.json.mixin.cef.AlertTypeMixin;
 import org.openecomp.dcae.apod.analytics.model.util.json.mixin.cef.BaseCEFModelMixin;
@@ -79,6 +85,16 @@ public class CommonEventFormatModule extends SimpleModule {
         setupContext.setMixInAnnotations(ThresholdCrossingAlertFields.class, ThresholdCrossingAlertFieldsMixin.class);
         setupContext.setMixInAnnotations(VNicUsageArray.class, VNicUsageArrayMixin.class);
 
+        // Hot path CEF models use hand written streaming deserializers. Mixins are still used for serialization
+        final SimpleDeserializers cefDeserializers = new SimpleDeserializers();
+        cefDeserializers.addDeserializer(EventListener.class, new EventListenerDeserializer());
+        cefDeserializers.addDeserializer(Event.class, new EventDeserializer());
+        cefDeserializers.addDeserializer(CommonEventHeader.class, new CommonEventHeaderDeserializer());
+        cefDeserializers.addDeserializer(MeasurementsForVfScalingFields.class,
+                new MeasurementsForVfScalingFieldsDeserializer());
+        cefDeserializers.addDeserializer(VNicUsageArray.class, new VNicUsageArrayDeserializer());
+        setupContext.addDeserializers(cefDeserializers);
+
     }
 
 }
@@ -27,11 +27,15 @@ import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.Direction;
 import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.MetricsPerFunctionalRole;
 import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.TCAPolicy;
 import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.Threshold;
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.ThresholdValueType;
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.ThresholdWindowAggregation;
 import org.openecomp.dcae.apod.analytics.model.util.json.mixin.policy.tca.BaseTCAPolicyModelMixin;
 import org.openecomp.dcae.apod.analytics.model.util.json.mixin.policy.tca.DirectionMixin;
 import org.openecomp.dcae.apod.analytics.model.util.json.mixin.policy.tca.MetricsPerFunctionalRoleMixin;
 import org.openecomp.dcae.apod.analytics.model.util.json.mixin.policy.tca.TCAPolicyMixin;
 import org.openecomp.dcae.apod.analytics.model.util.json.mixin.policy.tca.ThresholdMixin;
+import org.openecomp.dcae.apod.analytics.model.util.json.mixin.policy.tca.ThresholdValueTypeMixin;
+import org.openecomp.dcae.apod.analytics.model.util.json.mixin.policy.tca.ThresholdWindowAggregationMixin;
 
 /**
  *
@@ -54,6 +58,8 @@ public class TCAPolicyModule extends SimpleModule {
         setupContext.setMixInAnnotations(TCAPolicy.class, TCAPolicyMixin.class);
         setupContext.setMixInAnnotations(MetricsPerFunctionalRole.class, MetricsPerFunctionalRoleMixin.class);
         setupContext.setMixInAnnotations(Threshold.class, ThresholdMixin.class);
+        setupContext.setMixInAnnotations(ThresholdValueType.class, ThresholdValueTypeMixin.class);
+        setupContext.setMixInAnnotations(ThresholdWindowAggregation.class, ThresholdWindowAggregationMixin.class);
         setupContext.setMixInAnnotations(TCAPolicy.class, TCAPolicyMixin.class);
 
 
@@ -0,0 +1,173 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+package org.openecomp.dcae.apod.analytics.model.util.json.deserializer.cef;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.ResolvableDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import org.openecomp.dcae.apod.analytics.model.domain.cef.BaseCEFModel;
+
+import java.io.IOException;
+
+/**
+ * <p>
+ *     Base class for hand written streaming Common Event Format deserializers. Known properties are read
+ *     directly from the parser by sub classes while all other properties are captured as dynamic properties
+ *     so that the resulting object graph is same as produced by generic bean deserialization with mixins.
+ *     <br>
+ *     Uncommon token types (e.g. numbers sent as strings) are delegated back to Jackson so that coercion rules
+ *     remain unchanged.
+ * </p>
+ *
+ * @param <T> Common Event Format Model type
+ */
+public abstract class BaseCEFModelDeserializer<T extends BaseCEFModel> extends StdDeserializer<T>
+        implements ResolvableDeserializer {
+
+    private static final long serialVersionUID = 6392614128398155170L;
+
+    /**
+     * Deserializer used for dynamic properties values - same as used by Jackson for any setter values
+     */
+    private transient JsonDeserializer<Object> untypedDeserializer;
+
+    protected BaseCEFModelDeserializer(final Class<T> modelClass) {
+        super(modelClass);
+    }
+
+    @Override
+    public void resolve(final DeserializationContext context) throws JsonMappingException {
+        untypedDeserializer = context.findRootValueDeserializer(context.constructType(Object.class));
+    }
+
+    @Override
+    public T deserialize(final JsonParser jsonParser, final DeserializationContext context) throws IOException {
+
+        JsonToken currentToken = jsonParser.getCurrentToken();
+        if (currentToken == JsonToken.START_OBJECT) {
+            currentToken = jsonParser.nextToken();
+        } else if (currentToken != JsonToken.FIELD_NAME && currentToken != JsonToken.END_OBJECT) {
+            throw JsonMappingException.from(jsonParser, String.format(
+                    "Can not deserialize instance of %s out of %s token", handledType().getName(), currentToken));
+        }
+
+        final T model = createModel();
+
+        for (; currentToken == JsonToken.FIELD_NAME; currentToken = jsonParser.nextToken()) {
+            final String fieldName = jsonParser.getCurrentName();
+            jsonParser.nextToken();
+            if (!readProperty(fieldName, model, jsonParser, context)) {
+                model.addDynamicProperties(fieldName, readDynamicPropertyValue(jsonParser, context));
+            }
+        }
+
+        return model;
+    }
+
+    /**
+     * Creates new empty model instance
+     *
+     * @return new model instance
+     */
+    protected abstract T createModel();
+
+    /**
+     * Reads value of given property into the model. Parser is positioned at the value token
+     *
+     * @param fieldName field name
+     * @param model model being populated
+     * @param jsonParser json parser
+     * @param context deserialization context
+     *
+     * @return true if property is known to the model, false if it must be captured as dynamic property
+     *
+     * @throws IOException IO Exception
+     */
+    protected abstract boolean readProperty(String fieldName, T model, JsonParser jsonParser,
+                                            DeserializationContext context) throws IOException;
+
+
+    protected static String readString(final JsonParser jsonParser, final DeserializationContext context)
+            throws IOException {
+        final JsonToken currentToken = jsonParser.getCurrentToken();
+        if (currentToken == JsonToken.VALUE_STRING) {
+            return jsonParser.getText();
+        }
+        if (currentToken == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        return context.readValue(jsonParser, String.class);
+    }
+
+    protected static Long readLong(final JsonParser jsonParser, final DeserializationContext context)
+            throws IOException {
+        final JsonToken currentToken = jsonParser.getCurrentToken();
+        if (currentToken == JsonToken.VALUE_NUMBER_INT) {
+            return jsonParser.getLongValue();
+        }
+        if (currentToken == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        return context.readValue(jsonParser, Long.class);
+    }
+
+    protected static Integer readInteger(final JsonParser jsonParser, final DeserializationContext context)
+            throws IOException {
+        final JsonToken currentToken = jsonParser.getCurrentToken();
+        if (currentToken == JsonToken.VALUE_NUMBER_INT) {
+            return jsonParser.getIntValue();
+        }
+        if (currentToken == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        return context.readValue(jsonParser, Integer.class);
+    }
+
+    /**
+     * Reads nested Common Event Format model using given deserializer
+     */
+    protected static <M extends BaseCEFModel> M readModel(final BaseCEFModelDeserializer<M> modelDeserializer,
+                                                          final JsonParser jsonParser,
+                                                          final DeserializationContext context) throws IOException {
+        if (jsonParser.getCurrentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        return modelDeserializer.deserialize(jsonParser, context);
+    }
+
+    /**
+     * Reads value of unknown property same way as Jackson any setter does
+     */
+    protected Object readDynamicPropertyValue(final JsonParser jsonParser, final DeserializationContext context)
+            throws IOException {
+        if (jsonParser.getCurrentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (untypedDeserializer == null) {
+            return context.readValue(jsonParser, Object.class);
+        }
+        return untypedDeserializer.deserialize(jsonParser, context);
+    }
+
+}
@@ -0,0 +1,84 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+package org.openecomp.dcae.apod.analytics.model.util.json.deserializer.cef;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import org.openecomp.dcae.apod.analytics.model.domain.cef.CommonEventHeader;
+import org.openecomp.dcae.apod.analytics.model.domain.cef.Priority;
+
+import java.io.IOException;
+
+/**
+ * Streaming deserializer for Common Event Format {@link CommonEventHeader}
+ */
+public class CommonEventHeaderDeserializer extends BaseCEFModelDeserializer<CommonEventHeader> {
+
+    private static final long serialVersionUID = -5528155536766404377L;
+
+    public CommonEventHeaderDeserializer() {
+        super(CommonEventHeader.class);
+    }
+
+    @Override
+    protected CommonEventHeader createModel() {
+        return new CommonEventHeader();
+    }
+
+    @Override
+    protected boolean readProperty(final String fieldName, final CommonEventHeader commonEventHeader,
+                                   final JsonParser jsonParser, final DeserializationContext context)
+            throws IOException {
+        switch (fieldName) {
+            case "domain":
+                commonEventHeader.setDomain(readString(jsonParser, context));
+                return true;
+            case "eventId":
+                commonEventHeader.setEventId(readString(jsonParser, context));
+                return true;
+            case "functionalRole":
+                commonEventHeader.setFunctionalRole(readString(jsonParser, context));
+                return true;
+            case "lastEpochMicrosec":
+                commonEventHeader.setLastEpochMicrosec(readLong(jsonParser, context));
+                return true;
+            case "priority":
+                commonEventHeader.setPriority(jsonParser.getCurrentToken() == JsonToken.VALUE_NULL ? null :
+                        context.readValue(jsonParser, Priority.class));
+                return true;
+            case "reportingEntityName":
+                commonEventHeader.setReportingEntityName(readString(jsonParser, context));
+                return true;
+            case "sequence":
+                commonEventHeader.setSequence(readInteger(jsonParser, context));
+                return true;
+            case "sourceName":
+                commonEventHeader.setSourceName(readString(jsonParser, context));
+                return true;
+            case "startEpochMicrosec":
+                commonEventHeader.setStartEpochMicrosec(readLong(jsonParser, context));
+                return true;
+            default:
+                return false;
+        }
+    }
+
+}
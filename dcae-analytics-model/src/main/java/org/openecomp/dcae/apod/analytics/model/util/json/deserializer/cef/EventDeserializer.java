@@ -0,0 +1,80 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+package org.openecomp.dcae.apod.analytics.model.util.json.deserializer.cef;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import org.openecomp.dcae.apod.analytics.model.domain.cef.Event;
+import org.openecomp.dcae.apod.analytics.model.domain.cef.ThresholdCrossingAlertFields;
+
+import java.io.IOException;
+
+/**
+ * Streaming deserializer for Common Event Format {@link Event}. Threshold Crossing Alert Fields are not
+ * on TCA hot path and are delegated to regular Jackson deserialization
+ */
+public class EventDeserializer extends BaseCEFModelDeserializer<Event> {
+
+    private static final long serialVersionUID = 4427009513262563851L;
+
+    private final CommonEventHeaderDeserializer commonEventHeaderDeserializer = new CommonEventHeaderDeserializer();
+    private final MeasurementsForVfScalingFieldsDeserializer measurementsForVfScalingFieldsDeserializer =
+            new MeasurementsForVfScalingFieldsDeserializer();
+
+    public EventDeserializer() {
+        super(Event.class);
+    }
+
+    @Override
+    public void resolve(final DeserializationContext context) throws JsonMappingException {
+        super.resolve(context);
+        commonEventHeaderDeserializer.resolve(context);
+        measurementsForVfScalingFieldsDeserializer.resolve(context);
+    }
+
+    @Override
+    protected Event createModel() {
+        return new Event();
+    }
+
+    @Override
+    protected boolean readProperty(final String fieldName, final Event event,
+                                   final JsonParser jsonParser, final DeserializationContext context)
+            throws IOException {
+        switch (fieldName) {
+            case "commonEventHeader":
+                event.setCommonEventHeader(readModel(commonEventHeaderDeserializer, jsonParser, context));
+                return true;
+            case "measurementsForVfScalingFields":
+                event.setMeasurementsForVfScalingFields(
+                        readModel(measurementsForVfScalingFieldsDeserializer, jsonParser, context));
+                return true;
+            case "thresholdCrossingAlertFields":
+                event.setThresholdCrossingAlertFields(jsonParser.getCurrentToken() == JsonToken.VALUE_NULL ? null :
+                        context.readValue(jsonParser, ThresholdCrossingAlertFields.class));
+                return true;
+            default:
+                return false;
+        }
+    }
+
+}
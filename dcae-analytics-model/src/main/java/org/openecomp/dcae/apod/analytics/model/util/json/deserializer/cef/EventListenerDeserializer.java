@@ -0,0 +1,64 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+package org.openecomp.dcae.apod.analytics.model.util.json.deserializer.cef;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import org.openecomp.dcae.apod.analytics.model.domain.cef.EventListener;
+
+import java.io.IOException;
+
+/**
+ * Streaming deserializer for Common Event Format {@link EventListener}
+ */
+public class EventListenerDeserializer extends BaseCEFModelDeserializer<EventListener> {
+
+    private static final long serialVersionUID = -1786373915032460735L;
+
+    private final EventDeserializer eventDeserializer = new EventDeserializer();
+
+    public EventListenerDeserializer() {
+        super(EventListener.class);
+    }
+
+    @Override
+    public void resolve(final DeserializationContext context) throws JsonMappingException {
+        super.resolve(context);
+        eventDeserializer.resolve(context);
+    }
+
+    @Override
+    protected EventListener createModel() {
+        return new EventListener();
+    }
+
+    @Override
+    protected boolean readProperty(final String fieldName, final EventListener eventListener,
+                                   final JsonParser jsonParser, final DeserializationContext context)
+            throws IOException {
+        if ("event".equals(fieldName)) {
+            eventListener.setEvent(readModel(eventDeserializer, jsonParser, context));
+            return true;
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,137 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+package org.openecomp.dcae.apod.analytics.model.util.json.deserializer.cef;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import org.openecomp.dcae.apod.analytics.model.domain.cef.MeasurementsForVfScalingFields;
+import org.openecomp.dcae.apod.analytics.model.domain.cef.VNicUsageArray;
+import org.openecomp.dcae.apod.analytics.model.domain.cef.VNicUsageColumns;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Streaming deserializer for Common Event Format {@link MeasurementsForVfScalingFields}.
+ * <p>
+ * vNic usage array is read directly into {@link VNicUsageColumns} so that no {@link VNicUsageArray} objects
+ * are created unless {@link MeasurementsForVfScalingFields#getVNicUsageArray()} is called.
+ */
+public class MeasurementsForVfScalingFieldsDeserializer
+        extends BaseCEFModelDeserializer<MeasurementsForVfScalingFields> {
+
+    private static final long serialVersionUID = 2879163012425946137L;
+
+    private final VNicUsageArrayDeserializer vNicUsageArrayDeserializer = new VNicUsageArrayDeserializer();
+
+    public MeasurementsForVfScalingFieldsDeserializer() {
+        super(MeasurementsForVfScalingFields.class);
+    }
+
+    @Override
+    public void resolve(final DeserializationContext context) throws JsonMappingException {
+        super.resolve(context);
+        vNicUsageArrayDeserializer.resolve(context);
+    }
+
+    @Override
+    protected MeasurementsForVfScalingFields createModel() {
+        return new MeasurementsForVfScalingFields();
+    }
+
+    @Override
+    protected boolean readProperty(final String fieldName,
+                                   final MeasurementsForVfScalingFields measurementsForVfScalingFields,
+                                   final JsonParser jsonParser, final DeserializationContext context)
+            throws IOException {
+        switch (fieldName) {
+            case "measurementInterval":
+                measurementsForVfScalingFields.setMeasurementInterval(readLong(jsonParser, context));
+                return true;
+            case "vNicUsageArray":
+                readVNicUsageArrays(measurementsForVfScalingFields, jsonParser, context);
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private void readVNicUsageArrays(final MeasurementsForVfScalingFields measurementsForVfScalingFields,
+                                     final JsonParser jsonParser,
+                                     final DeserializationContext context) throws IOException {
+        final JsonToken currentToken = jsonParser.getCurrentToken();
+        if (currentToken == JsonToken.VALUE_NULL) {
+            measurementsForVfScalingFields.setVNicUsageArray(null);
+            return;
+        }
+        if (currentToken != JsonToken.START_ARRAY) {
+            final List<VNicUsageArray> vNicUsageArrays = context.readValue(jsonParser,
+                    context.getTypeFactory().constructCollectionType(List.class, VNicUsageArray.class));
+            measurementsForVfScalingFields.setVNicUsageArray(vNicUsageArrays);
+            return;
+        }
+        final VNicUsageColumns.Builder vNicUsageColumnsBuilder = new VNicUsageColumns.Builder();
+        for (JsonToken elementToken = jsonParser.nextToken(); elementToken != JsonToken.END_ARRAY;
+             elementToken = jsonParser.nextToken()) {
+            if (elementToken == JsonToken.VALUE_NULL) {
+                vNicUsageColumnsBuilder.addNullRow();
+            } else if (elementToken == JsonToken.START_OBJECT) {
+                readVNicUsageRow(vNicUsageColumnsBuilder, jsonParser, context);
+            } else {
+                // not a json object - let vNic usage array deserializer report the error
+                vNicUsageArrayDeserializer.deserialize(jsonParser, context);
+            }
+        }
+        measurementsForVfScalingFields.setVNicUsageColumns(vNicUsageColumnsBuilder.build());
+    }
+
+    private void readVNicUsageRow(final VNicUsageColumns.Builder vNicUsageColumnsBuilder,
+                                  final JsonParser jsonParser,
+                                  final DeserializationContext context) throws IOException {
+        vNicUsageColumnsBuilder.addRow();
+        for (JsonToken currentToken = jsonParser.nextToken(); currentToken == JsonToken.FIELD_NAME;
+             currentToken = jsonParser.nextToken()) {
+            final String fieldName = jsonParser.getCurrentName();
+            jsonParser.nextToken();
+            switch (fieldName) {
+                case VNicUsageColumns.BYTES_IN:
+                case VNicUsageColumns.BYTES_OUT:
+                case VNicUsageColumns.PACKETS_IN:
+                case VNicUsageColumns.PACKETS_OUT:
+                    final Long counterValue = readLong(jsonParser, context);
+                    if (counterValue != null) {
+                        vNicUsageColumnsBuilder.setValue(fieldName, counterValue);
+                    } else {
+                        vNicUsageColumnsBuilder.clearValue(fieldName);
+                    }
+                    break;
+                case VNicUsageColumns.VNIC_IDENTIFIER:
+                    vNicUsageColumnsBuilder.setVNicIdentifier(readString(jsonParser, context));
+                    break;
+                default:
+                    vNicUsageColumnsBuilder.addDynamicProperty(fieldName,
+                            vNicUsageArrayDeserializer.readDynamicPropertyValue(jsonParser, context));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,69 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+package org.openecomp.dcae.apod.analytics.model.util.json.deserializer.cef;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import org.openecomp.dcae.apod.analytics.model.domain.cef.VNicUsageArray;
+
+import java.io.IOException;
+
+/**
+ * Streaming deserializer for Common Event Format {@link VNicUsageArray}
+ */
+public class VNicUsageArrayDeserializer extends BaseCEFModelDeserializer<VNicUsageArray> {
+
+    private static final long serialVersionUID = 8235570193806470411L;
+
+    public VNicUsageArrayDeserializer() {
+        super(VNicUsageArray.class);
+    }
+
+    @Override
+    protected VNicUsageArray createModel() {
+        return new VNicUsageArray();
+    }
+
+    @Override
+    protected boolean readProperty(final String fieldName, final VNicUsageArray vNicUsageArray,
+                                   final JsonParser jsonParser, final DeserializationContext context)
+            throws IOException {
+        switch (fieldName) {
+            case "bytesIn":
+                vNicUsageArray.setBytesIn(readLong(jsonParser, context));
+                return true;
+            case "bytesOut":
+                vNicUsageArray.setBytesOut(readLong(jsonParser, context));
+                return true;
+            case "packetsIn":
+                vNicUsageArray.setPacketsIn(readLong(jsonParser, context));
+                return true;
+            case "packetsOut":
+                vNicUsageArray.setPacketsOut(readLong(jsonParser, context));
+                return true;
+            case "vNicIdentifier":
+                vNicUsageArray.setVNicIdentifier(readString(jsonParser, context));
+                return true;
+            default:
+                return false;
+        }
+    }
+
+}
@@ -21,8 +21,10 @@
 package org.openecomp.dcae.apod.analytics.model.util.json.mixin.cef;
 
 import com.fasterxml.jackson.annotation.JsonGetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonSetter;
 import org.openecomp.dcae.apod.analytics.model.domain.cef.VNicUsageArray;
+import org.openecomp.dcae.apod.analytics.model.domain.cef.VNicUsageColumns;
 
 import java.util.List;
 
@@ -36,4 +38,10 @@ public abstract class MeasurementsForVfScalingFieldsMixin extends BaseCEFModelMi
 
     @JsonGetter("vNicUsageArray")
     public abstract List<VNicUsageArray> getVNicUsageArray();
+
+    @JsonIgnore
+    public abstract VNicUsageColumns getVNicUsageColumns();
+
+    @JsonIgnore
+    public abstract void setVNicUsageColumns(VNicUsageColumns vNicUsageColumns);
 }
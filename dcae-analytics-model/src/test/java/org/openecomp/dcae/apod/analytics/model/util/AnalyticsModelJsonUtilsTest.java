@@ -0,0 +1,78 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+package org.openecomp.dcae.apod.analytics.model.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import org.openecomp.dcae.apod.analytics.model.BaseAnalyticsModelUnitTest;
+import org.openecomp.dcae.apod.analytics.model.domain.cef.EventListener;
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.TCAPolicy;
+import org.openecomp.dcae.apod.analytics.model.facade.tca.TCAVESResponse;
+import org.openecomp.dcae.apod.analytics.model.util.json.AnalyticsModelObjectMapperSupplier;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class AnalyticsModelJsonUtilsTest extends BaseAnalyticsModelUnitTest {
+
+    private static final String EVENT_LISTENER_FILE_LOCATION = "data/json/cef/event_listener.json";
+    private static final String TCA_POLICY_FILE_LOCATION = "data/json/policy/tca_policy.json";
+    private static final String TCA_VES_RESPONSE_FILE_LOCATION = "data/json/facade/tca_ves_cef_response.json";
+
+    @Test
+    public void testReadEventListener() throws Exception {
+        final String cefMessage = fromStream(EVENT_LISTENER_FILE_LOCATION);
+        final EventListener eventListener = AnalyticsModelJsonUtils.readEventListener(cefMessage);
+        assertThat("Typed reader must match Object Mapper deserialization",
+                eventListener, is(objectMapper.readValue(cefMessage, EventListener.class)));
+        assertJson(cefMessage, AnalyticsModelJsonUtils.writeValueAsString(eventListener));
+    }
+
+    @Test
+    public void testReadTCAPolicy() throws Exception {
+        final String tcaPolicyString = fromStream(TCA_POLICY_FILE_LOCATION);
+        final TCAPolicy tcaPolicy = AnalyticsModelJsonUtils.readTCAPolicy(tcaPolicyString);
+        assertThat("Typed reader must match Object Mapper deserialization",
+                tcaPolicy, is(objectMapper.readValue(tcaPolicyString, TCAPolicy.class)));
+        assertJson(tcaPolicyString, AnalyticsModelJsonUtils.writeValueAsString(tcaPolicy));
+    }
+
+    @Test
+    public void testReadTCAVESResponse() throws Exception {
+        final String tcaVESResponseString = fromStream(TCA_VES_RESPONSE_FILE_LOCATION);
+        final TCAVESResponse tcaVESResponse = AnalyticsModelJsonUtils.readTCAVESResponse(tcaVESResponseString);
+        assertThat("Typed reader must match Object Mapper deserialization",
+                tcaVESResponse, is(objectMapper.readValue(tcaVESResponseString, TCAVESResponse.class)));
+        assertJson(tcaVESResponseString, AnalyticsModelJsonUtils.writeValueAsString(tcaVESResponse));
+    }
+
+    @Test
+    public void testAfterburnerObjectMapperProducesSameModel() throws Exception {
+        final ObjectMapper afterburnerObjectMapper = new AnalyticsModelObjectMapperSupplier(true).get();
+        final String cefMessage = fromStream(EVENT_LISTENER_FILE_LOCATION);
+        final EventListener eventListener = afterburnerObjectMapper.readValue(cefMessage, EventListener.class);
+        assertThat("Afterburner deserialization must match default deserialization",
+                eventListener, is(objectMapper.readValue(cefMessage, EventListener.class)));
+        assertJson(cefMessage, afterburnerObjectMapper.writeValueAsString(eventListener));
+        // restore JsonPath defaults to regular object mapper
+        new AnalyticsModelObjectMapperSupplier().get();
+    }
+
+}
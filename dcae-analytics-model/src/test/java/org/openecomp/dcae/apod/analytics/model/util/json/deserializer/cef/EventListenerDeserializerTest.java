@@ -0,0 +1,213 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+package org.openecomp.dcae.apod.analytics.model.util.json.deserializer.cef;
+
+import org.junit.Test;
+import org.openecomp.dcae.apod.analytics.model.BaseAnalyticsModelUnitTest;
+import org.openecomp.dcae.apod.analytics.model.domain.cef.CommonEventHeader;
+import org.openecomp.dcae.apod.analytics.model.domain.cef.EventListener;
+import org.openecomp.dcae.apod.analytics.model.domain.cef.MeasurementsForVfScalingFields;
+import org.openecomp.dcae.apod.analytics.model.domain.cef.Priority;
+import org.openecomp.dcae.apod.analytics.model.domain.cef.VNicUsageArray;
+import org.openecomp.dcae.apod.analytics.model.domain.cef.VNicUsageColumns;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class EventListenerDeserializerTest extends BaseAnalyticsModelUnitTest {
+
+    final String eventListenerJsonFileLocation = "data/json/cef/event_listener.json";
+
+    @Test
+    public void testEventListenerDeserialization() throws Exception {
+
+        final EventListener eventListener =
+                deserializeJsonFileToModel(eventListenerJsonFileLocation, EventListener.class);
+
+        assertThat("Unknown top level property must be captured as dynamic property",
+                eventListener.getDynamicProperties().get("hp.tag"),
+                is((Object) "hp.collectorStream.20161014.0000000004"));
+        assertThat("Unknown event property must be captured as dynamic property",
+                eventListener.getEvent().getDynamicProperties().get("measurementsForVfScaling"),
+                instanceOf(LinkedHashMap.class));
+
+        final CommonEventHeader commonEventHeader = eventListener.getEvent().getCommonEventHeader();
+        assertThat(commonEventHeader.getDomain(), is("measurementsForVfScaling"));
+        assertThat(commonEventHeader.getFunctionalRole(), is("vFirewall"));
+        assertThat(commonEventHeader.getStartEpochMicrosec(), is(1476456641231767L));
+        assertThat(commonEventHeader.getLastEpochMicrosec(), is(1476456641231767L));
+        assertThat(commonEventHeader.getPriority(), is(Priority.Normal));
+        assertThat(commonEventHeader.getSequence(), is(1));
+        assertThat("Header unknown properties must be captured as dynamic properties",
+                commonEventHeader.getDynamicProperties().size(), is(3));
+    }
+
+    @Test
+    public void testMeasurementsForVfScalingFieldsDeserialization() throws Exception {
+
+        final String cefMessage = "{\"event\":{\"measurementsForVfScalingFields\":{\"measurementInterval\":\"10\"," +
+                "\"vNicUsageArray\":[{\"bytesIn\":6086,\"packetsIn\":null,\"vNicIdentifier\":\"eth0\"," +
+                "\"multicastPacketsIn\":0}]}}}";
+
+        final EventListener eventListener = objectMapper.readValue(cefMessage, EventListener.class);
+
+        assertThat("String numeric values must be coerced",
+                eventListener.getEvent().getMeasurementsForVfScalingFields().getMeasurementInterval(), is(10L));
+        final List<VNicUsageArray> vNicUsageArrays =
+                eventListener.getEvent().getMeasurementsForVfScalingFields().getVNicUsageArray();
+        assertThat(vNicUsageArrays.size(), is(1));
+        assertThat(vNicUsageArrays.get(0).getBytesIn(), is(6086L));
+        assertThat(vNicUsageArrays.get(0).getPacketsIn(), is(nullValue()));
+        assertThat(vNicUsageArrays.get(0).getVNicIdentifier(), is("eth0"));
+        assertThat(vNicUsageArrays.get(0).getDynamicProperties().get("multicastPacketsIn"), is((Object) 0));
+    }
+
+    @Test
+    public void testVNicUsageArrayIsDeserializedIntoColumns() throws Exception {
+
+        final String cefMessage = "{\"event\":{\"measurementsForVfScalingFields\":{\"vNicUsageArray\":[" +
+                "{\"bytesIn\":6086,\"packetsIn\":93,\"vNicIdentifier\":\"eth0\",\"multicastPacketsIn\":0}," +
+                "null,{\"bytesIn\":\"20000\",\"vNicIdentifier\":\"eth1\",\"unicastPacketsIn\":\"NA\"}]}}}";
+
+        final MeasurementsForVfScalingFields measurementsForVfScalingFields = objectMapper.readValue(cefMessage,
+                EventListener.class).getEvent().getMeasurementsForVfScalingFields();
+        final VNicUsageColumns vNicUsageColumns = measurementsForVfScalingFields.getVNicUsageColumns();
+
+        assertThat(vNicUsageColumns.getSize(), is(3));
+        assertThat(vNicUsageColumns.getVNicIdentifier(2), is("eth1"));
+        assertThat(vNicUsageColumns.getValues(VNicUsageColumns.BYTES_IN), is(new long[]{6086L, 20000L}));
+        assertThat(vNicUsageColumns.getValues(VNicUsageColumns.PACKETS_IN), is(new long[]{93L}));
+        assertThat(vNicUsageColumns.getValues(VNicUsageColumns.PACKETS_OUT), is(nullValue()));
+        assertThat("Only typed vNic counters must be kept as columns",
+                vNicUsageColumns.getValues("multicastPacketsIn"), is(nullValue()));
+        assertThat(vNicUsageColumns.isNullRow(1), is(true));
+        assertThat(vNicUsageColumns.isValuePresent(VNicUsageColumns.PACKETS_IN, 2), is(false));
+        assertThat(vNicUsageColumns.getValue(VNicUsageColumns.BYTES_IN, 2), is(20000L));
+
+        // vNic usage array objects are created only on access
+        final List<VNicUsageArray> vNicUsageArrays = measurementsForVfScalingFields.getVNicUsageArray();
+        assertThat(vNicUsageArrays.size(), is(3));
+        assertThat(vNicUsageArrays.get(0).getDynamicProperties().get("multicastPacketsIn"), is((Object) 0));
+        assertThat(vNicUsageArrays.get(1), is(nullValue()));
+        assertThat(vNicUsageArrays.get(2).getBytesIn(), is(20000L));
+        assertThat(vNicUsageArrays.get(2).getDynamicProperties().get("unicastPacketsIn"), is((Object) "NA"));
+    }
+
+    @Test
+    public void testVNicUsageColumnsModelEqualityAndSerialization() throws Exception {
+
+        final String cefMessage = "{\"event\":{\"measurementsForVfScalingFields\":{\"measurementInterval\":10," +
+                "\"vNicUsageArray\":[{\"bytesIn\":6086,\"bytesOut\":7156,\"vNicIdentifier\":\"eth0\"," +
+                "\"unicastPacketsIn\":5000000000}]}}}";
+
+        final MeasurementsForVfScalingFields measurementsForVfScalingFields = objectMapper.readValue(cefMessage,
+                EventListener.class).getEvent().getMeasurementsForVfScalingFields();
+
+        final VNicUsageArray expectedVNicUsageArray = new VNicUsageArray();
+        expectedVNicUsageArray.setBytesIn(6086L);
+        expectedVNicUsageArray.setBytesOut(7156L);
+        expectedVNicUsageArray.setVNicIdentifier("eth0");
+        expectedVNicUsageArray.addDynamicProperties("unicastPacketsIn", 5000000000L);
+        final MeasurementsForVfScalingFields expectedMeasurementsForVfScalingFields =
+                new MeasurementsForVfScalingFields();
+        expectedMeasurementsForVfScalingFields.setMeasurementInterval(10L);
+        expectedMeasurementsForVfScalingFields.setVNicUsageArray(Arrays.asList(expectedVNicUsageArray));
+
+        assertThat("Model backed by vNic usage columns must be equal to model with vNic usage array objects",
+                measurementsForVfScalingFields, is(expectedMeasurementsForVfScalingFields));
+        assertThat(measurementsForVfScalingFields.hashCode(), is(expectedMeasurementsForVfScalingFields.hashCode()));
+        assertThat("vNic usage columns must not be serialized",
+                objectMapper.readTree(objectMapper.writeValueAsString(measurementsForVfScalingFields)),
+                is(objectMapper.readTree(cefMessage).get("event").get("measurementsForVfScalingFields")));
+    }
+
+    @Test
+    public void testVNicUsageColumnsAreDiscardedWhenVNicUsageArrayIsSet() throws Exception {
+
+        final String cefMessage = "{\"event\":{\"measurementsForVfScalingFields\":{\"vNicUsageArray\":[" +
+                "{\"bytesIn\":6086,\"vNicIdentifier\":\"eth0\"}]}}}";
+
+        final MeasurementsForVfScalingFields measurementsForVfScalingFields = objectMapper.readValue(cefMessage,
+                EventListener.class).getEvent().getMeasurementsForVfScalingFields();
+
+        final List<VNicUsageArray> vNicUsageArrays = measurementsForVfScalingFields.getVNicUsageArray();
+        assertThat("Accessing vNic usage array must not discard vNic usage columns",
+                measurementsForVfScalingFields.getVNicUsageColumns(), is(notNullValue()));
+        assertThat("vNic usage array created from columns must be reused",
+                measurementsForVfScalingFields.getVNicUsageArray(), is(sameInstance(vNicUsageArrays)));
+        vNicUsageArrays.get(0).setBytesIn(7000L);
+        assertThat("Changes to vNic usage array elements must not be reflected in vNic usage columns",
+                measurementsForVfScalingFields.getVNicUsageColumns().getValue(VNicUsageColumns.BYTES_IN, 0),
+                is(6086L));
+
+        final List<VNicUsageArray> modifiedVNicUsageArrays = new ArrayList<>(vNicUsageArrays);
+        measurementsForVfScalingFields.setVNicUsageArray(modifiedVNicUsageArrays);
+        assertThat("vNic usage columns must be discarded once vNic usage array is set",
+                measurementsForVfScalingFields.getVNicUsageColumns(), is(nullValue()));
+        assertThat(measurementsForVfScalingFields.getVNicUsageArray().get(0).getBytesIn(), is(7000L));
+    }
+
+    @Test
+    public void testDynamicPropertiesAreNotRequiredForEquality() throws Exception {
+
+        final EventListener eventListener = objectMapper.readValue("{\"event\":{}}", EventListener.class);
+        assertThat(eventListener.getDynamicProperties().isEmpty(), is(true));
+
+        final EventListener emptyDynamicPropertiesEventListener = new EventListener();
+        emptyDynamicPropertiesEventListener.setEvent(eventListener.getEvent());
+        emptyDynamicPropertiesEventListener.setDynamicProperties(new LinkedHashMap<String, Object>());
+
+        assertThat("Models without dynamic properties must be equal irrespective of map allocation",
+                eventListener, is(emptyDynamicPropertiesEventListener));
+        assertThat(eventListener.hashCode(), is(emptyDynamicPropertiesEventListener.hashCode()));
+    }
+
+    @Test
+    public void testDynamicPropertiesAreModifiableWhenNoneWereDeserialized() throws Exception {
+
+        final EventListener eventListener = objectMapper.readValue("{\"event\":{}}", EventListener.class);
+        eventListener.getDynamicProperties().put("hp.tag", "tag");
+        assertThat(eventListener.getDynamicProperties().get("hp.tag"), is((Object) "tag"));
+    }
+
+    @Test
+    public void testNullNestedModelsDeserialization() throws Exception {
+
+        final EventListener eventListener = objectMapper.readValue(
+                "{\"event\":{\"commonEventHeader\":null,\"unknown\":[1,{\"a\":null}]}}", EventListener.class);
+
+        assertThat(eventListener.getEvent().getCommonEventHeader(), is(nullValue()));
+        final Map<String, Object> dynamicProperties = eventListener.getEvent().getDynamicProperties();
+        final Map<String, Object> nestedUnknown = new LinkedHashMap<>();
+        nestedUnknown.put("a", null);
+        assertThat(dynamicProperties.get("unknown"), is((Object) Arrays.asList(1, nestedUnknown)));
+    }
+
+}
@@ -23,16 +23,20 @@ package org.openecomp.dcae.apod.analytics.tca;
 import co.cask.cdap.api.app.AbstractApplication;
 import co.cask.cdap.api.data.stream.Stream;
 import co.cask.cdap.api.dataset.DatasetProperties;
+import co.cask.cdap.api.dataset.lib.KeyValueTable;
 import co.cask.cdap.api.dataset.lib.ObjectMappedTable;
 import org.openecomp.dcae.apod.analytics.common.utils.ValidationUtils;
 import org.openecomp.dcae.apod.analytics.tca.flow.TCAVESCollectorFlow;
 import org.openecomp.dcae.apod.analytics.tca.persistance.TCAMessageStatusPersister;
+import org.openecomp.dcae.apod.analytics.tca.persistance.TCAThresholdSketchPersister;
+import org.openecomp.dcae.apod.analytics.tca.persistance.TCAThresholdViolationStatsPersister;
 import org.openecomp.dcae.apod.analytics.tca.persistance.TCAVESAlertsPersister;
+import org.openecomp.dcae.apod.analytics.tca.service.TCAThresholdViolationStatsService;
 import org.openecomp.dcae.apod.analytics.tca.settings.TCAAppConfig;
 import org.openecomp.dcae.apod.analytics.tca.validator.TCAAppConfigValidator;
-import org.openecomp.dcae.apod.analytics.tca.worker.TCADMaaPMockSubscriberWorker;
 import org.openecomp.dcae.apod.analytics.tca.worker.TCADMaaPPublisherWorker;
 import org.openecomp.dcae.apod.analytics.tca.worker.TCADMaaPSubscriberWorker;
+import org.openecomp.dcae.apod.analytics.tca.worker.TCAVESLoadGeneratorWorker;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -89,6 +93,26 @@ public class TCAAnalyticsApplication extends AbstractApplication<TCAAppConfig> {
                 TCAVESAlertsPersister.getDatasetProperties(alertsTableTTLSeconds);
         createDataset(tcaVESAlertsTableName, ObjectMappedTable.class, alertTableProperties);
 
+        // Create TCA Threshold Sketch Table - rows expire same as in memory threshold state
+        final String tcaThresholdSketchTableName = tcaAppConfig.getTcaThresholdSketchTableName();
+        final Integer thresholdSketchTableTTLSeconds = tcaAppConfig.getThresholdStateTTLSeconds();
+        LOG.info("Creating TCA Threshold Sketch Table: {} with TTL: {}",
+                tcaThresholdSketchTableName, thresholdSketchTableTTLSeconds);
+        final DatasetProperties thresholdSketchTableProperties =
+                TCAThresholdSketchPersister.getDatasetProperties(thresholdSketchTableTTLSeconds);
+        createDataset(tcaThresholdSketchTableName, KeyValueTable.class, thresholdSketchTableProperties);
+
+        // Create TCA Threshold Violation Stats Table
+        final String tcaThresholdViolationStatsTableName = tcaAppConfig.getTcaThresholdViolationStatsTableName();
+        final Integer thresholdViolationStatsTableTTLSeconds =
+                tcaAppConfig.getTcaThresholdViolationStatsTableTTLSeconds();
+        LOG.info("Creating TCA Threshold Violation Stats Table: {} with TTL: {}",
+                tcaThresholdViolationStatsTableName, thresholdViolationStatsTableTTLSeconds);
+        final DatasetProperties thresholdViolationStatsTableProperties =
+                TCAThresholdViolationStatsPersister.getDatasetProperties(thresholdViolationStatsTableTTLSeconds);
+        createDataset(tcaThresholdViolationStatsTableName, ObjectMappedTable.class,
+                thresholdViolationStatsTableProperties);
+
         // =========== Flow Setup ============= //
         addFlow(new TCAVESCollectorFlow(tcaAppConfig));
 
@@ -97,8 +121,15 @@ public class TCAAnalyticsApplication extends AbstractApplication<TCAAppConfig> {
         addWorker(new TCADMaaPSubscriberWorker(tcaAppConfig.getTcaSubscriberOutputStreamName()));
         LOG.info("Creating TCA DMaaP Publisher Worker");
         addWorker(new TCADMaaPPublisherWorker(tcaAppConfig.getTcaVESAlertsTableName()));
-        // TODO: Remove this before going to production
-        addWorker(new TCADMaaPMockSubscriberWorker(tcaAppConfig.getTcaSubscriberOutputStreamName()));
+        // load generator writes test messages to subscriber output stream - so it is only added when enabled
+        if (tcaAppConfig.getEnableLoadGeneratorWorker()) {
+            LOG.info("Creating TCA VES Load Generator Worker");
+            addWorker(new TCAVESLoadGeneratorWorker(tcaAppConfig.getTcaSubscriberOutputStreamName()));
+        }
+
+        // ========== Services Setup =========== //
+        LOG.info("Creating TCA Threshold Violation Stats Service");
+        addService(new TCAThresholdViolationStatsService(tcaAppConfig.getTcaThresholdViolationStatsTableName()));
     }
 
 
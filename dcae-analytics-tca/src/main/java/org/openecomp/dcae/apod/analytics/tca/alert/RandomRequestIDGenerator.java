@@ -0,0 +1,36 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.alert;
+
+import java.util.UUID;
+
+/**
+ * {@link TCARequestIDGenerator} which generates random (version 4) UUIDs using {@link UUID#randomUUID()}.
+ * All calls share a single {@link java.security.SecureRandom} instance which serializes threads under contention
+ */
+public class RandomRequestIDGenerator implements TCARequestIDGenerator {
+
+    @Override
+    public String generateRequestID() {
+        return UUID.randomUUID().toString();
+    }
+
+}
@@ -0,0 +1,171 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.alert;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.openecomp.dcae.apod.analytics.model.domain.cef.EventSeverity;
+import org.openecomp.dcae.apod.analytics.tca.persistance.TCAVESAlertEntity;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * <p>
+ *     Coalesces alerts with same closed loop control name and target which were created within the same coalescing
+ *     window so that only one alert per group is published to DMaaP MR Topic. Windows are aligned to alert creation
+ *     time and groups span across publisher polls - an alert of a group which was already published in an earlier
+ *     poll is dropped unless it is more severe than the published alert for {@link TCAAlertCoalescingType}
+ *     HIGHEST_SEVERITY.
+ * </p>
+ * <p>
+ *     Alerts are grouped using closed loop control name, target and severity index columns of alerts table so
+ *     alert message json is never parsed. Alerts without index columns are always published.
+ * </p>
+ * <p>
+ *     Groups of a coalesced batch are remembered as published only once {@link #markPublished()} is called after
+ *     the batch was successfully published, so that alerts of a group whose publish failed are not dropped for
+ *     the rest of the window. Coalescer is not thread safe.
+ * </p>
+ */
+public class TCAAlertCoalescer {
+
+    private static final char KEY_DELIMITER = '\u0000';
+    // rank of alerts without severity - less severe than all event severities
+    private static final int UNKNOWN_SEVERITY_RANK = EventSeverity.values().length;
+
+    private final TCAAlertCoalescingType coalescingType;
+    private final long windowMS;
+    // severity rank of published alert of each group of recent windows
+    private final Cache<String, Integer> publishedGroupSeverityRanks;
+    // severity rank of alert of each group of last coalesced batch - not yet known to be published
+    private final Map<String, Integer> pendingGroupSeverityRanks = new HashMap<>();
+
+    public TCAAlertCoalescer(@Nonnull final TCAAlertCoalescingType coalescingType, final long windowMS) {
+        this(coalescingType, windowMS, Ticker.systemTicker());
+    }
+
+    TCAAlertCoalescer(@Nonnull final TCAAlertCoalescingType coalescingType, final long windowMS,
+                      @Nonnull final Ticker ticker) {
+        if (windowMS <= 0) {
+            throw new IllegalArgumentException("Alert coalescing window must be greater than 0");
+        }
+        this.coalescingType = coalescingType;
+        this.windowMS = windowMS;
+        // groups are kept for two windows as alerts created at the end of a window may be polled in next window
+        this.publishedGroupSeverityRanks = CacheBuilder.newBuilder()
+                .expireAfterWrite(2 * windowMS, TimeUnit.MILLISECONDS)
+                .ticker(ticker)
+                .build();
+    }
+
+    /**
+     * Coalesces new alerts and returns alert messages which must be published. Call {@link #markPublished()} once
+     * returned alert messages are successfully published
+     *
+     * @param newAlertsMap new alerts with row keys as keys in creation order
+     *
+     * @return alert messages to publish in creation order
+     */
+    public List<String> coalesce(@Nonnull final Map<String, TCAVESAlertEntity> newAlertsMap) {
+        // groups of previous batch which were never marked published are not remembered
+        pendingGroupSeverityRanks.clear();
+        final int alertsCount = newAlertsMap.size();
+        final TCAVESAlertEntity[] alertEntities = newAlertsMap.values().toArray(new TCAVESAlertEntity[alertsCount]);
+
+        // index of the alert which represents each group in this poll
+        final Map<String, Integer> groupAlertIndices = new HashMap<>();
+        final int[] severityRanks = new int[alertsCount];
+        final boolean[] isPublished = new boolean[alertsCount];
+
+        for (int alertIndex = 0; alertIndex < alertsCount; alertIndex++) {
+            final TCAVESAlertEntity alertEntity = alertEntities[alertIndex];
+            severityRanks[alertIndex] = getSeverityRank(alertEntity.getSeverity());
+            if (alertEntity.getClosedLoopControlName() == null) {
+                isPublished[alertIndex] = true;
+                continue;
+            }
+            final String groupKey = createGroupKey(alertEntity);
+            final Integer groupAlertIndex = groupAlertIndices.get(groupKey);
+            if (groupAlertIndex == null) {
+                groupAlertIndices.put(groupKey, alertIndex);
+            } else if (coalescingType == TCAAlertCoalescingType.HIGHEST_SEVERITY &&
+                    severityRanks[alertIndex] < severityRanks[groupAlertIndex]) {
+                groupAlertIndices.put(groupKey, alertIndex);
+            }
+        }
+
+        for (Map.Entry<String, Integer> groupAlertIndex : groupAlertIndices.entrySet()) {
+            final int alertIndex = groupAlertIndex.getValue();
+            final Integer publishedSeverityRank =
+                    publishedGroupSeverityRanks.getIfPresent(groupAlertIndex.getKey());
+            if (publishedSeverityRank == null || (coalescingType == TCAAlertCoalescingType.HIGHEST_SEVERITY &&
+                    severityRanks[alertIndex] < publishedSeverityRank)) {
+                isPublished[alertIndex] = true;
+                pendingGroupSeverityRanks.put(groupAlertIndex.getKey(), severityRanks[alertIndex]);
+            }
+        }
+
+        final List<String> alertMessages = new ArrayList<>(groupAlertIndices.size());
+        for (int alertIndex = 0; alertIndex < alertsCount; alertIndex++) {
+            if (isPublished[alertIndex]) {
+                alertMessages.add(alertEntities[alertIndex].getAlertMessage());
+            }
+        }
+        return alertMessages;
+    }
+
+    /**
+     * Remembers groups of last coalesced batch as published so that later alerts of same groups and windows are
+     * coalesced into them. Must be called only if alert messages returned by last
+     * {@link #coalesce(Map)} call were successfully published
+     */
+    public void markPublished() {
+        publishedGroupSeverityRanks.putAll(pendingGroupSeverityRanks);
+        pendingGroupSeverityRanks.clear();
+    }
+
+    private String createGroupKey(final TCAVESAlertEntity alertEntity) {
+        final long windowIndex = alertEntity.getCreationTS() / windowMS;
+        return alertEntity.getClosedLoopControlName() + KEY_DELIMITER + alertEntity.getTarget() + KEY_DELIMITER +
+                windowIndex;
+    }
+
+    private static int getSeverityRank(@Nullable final String severity) {
+        if (severity == null) {
+            return UNKNOWN_SEVERITY_RANK;
+        }
+        try {
+            // event severities are ordered from high to low
+            return EventSeverity.valueOf(severity).ordinal();
+        } catch (IllegalArgumentException e) {
+            return UNKNOWN_SEVERITY_RANK;
+        }
+    }
+
+}
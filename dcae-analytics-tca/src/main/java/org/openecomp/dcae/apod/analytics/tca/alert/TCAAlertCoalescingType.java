@@ -0,0 +1,40 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.alert;
+
+/**
+ * Determines which alert is published by {@link TCAAlertCoalescer} for a group of alerts with same closed loop
+ * control name and target within coalescing window
+ */
+public enum TCAAlertCoalescingType {
+
+    /**
+     * Publishes most severe alert of the group. First alert is published if group alerts have same severity.
+     * A more severe alert which arrives after an alert of the group was published is published too
+     */
+    HIGHEST_SEVERITY,
+
+    /**
+     * Publishes only first alert of the group
+     */
+    FIRST
+
+}
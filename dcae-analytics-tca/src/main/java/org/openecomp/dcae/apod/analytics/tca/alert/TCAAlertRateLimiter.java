@@ -0,0 +1,188 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.alert;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * <p>
+ *     Limits rate of alerts emitted for each reporting entity name and for each closed loop control name using
+ *     token buckets. An alert is emitted only if both reporting entity and closed loop bucket have a token.
+ *     <br>
+ *     Each bucket is a single atomic time - the time at which bucket will be full again. Tokens are refilled
+ *     lazily when an alert is acquired and bucket is updated with compare and set so no locks are required for
+ *     concurrent acquires. Buckets which are not used for the time they take to refill are evicted as they are
+ *     indistinguishable from new buckets.
+ *     <br>
+ *     Each threshold calculator instance has its own rate limiter. Messages are partitioned by reporting entity so
+ *     reporting entity limits apply as they are, but alerts of a closed loop may come from any instance - see
+ *     {@link #toInstanceAlertsPerMinute(int, int)}.
+ * </p>
+ */
+public class TCAAlertRateLimiter {
+
+    /**
+     * Result of alert rate limiter acquire
+     */
+    public enum RateLimitResult {
+        ALLOWED, ENTITY_RATE_LIMITED, CLOSED_LOOP_RATE_LIMITED
+    }
+
+    private static final long NANOS_PER_MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    private final TokenBuckets entityBuckets;
+    private final TokenBuckets closedLoopBuckets;
+
+    /**
+     * Creates alert rate limiter
+     *
+     * @param entityAlertsPerMinute max alerts per minute for each reporting entity or 0 for no limit
+     * @param closedLoopAlertsPerMinute max alerts per minute for each closed loop control name or 0 for no limit
+     * @param burstSize max alerts which can be emitted at once by a reporting entity or closed loop
+     * @param maxEntries max number of buckets kept for reporting entities and for closed loops
+     */
+    public TCAAlertRateLimiter(final int entityAlertsPerMinute, final int closedLoopAlertsPerMinute,
+                               final int burstSize, final int maxEntries) {
+        this(entityAlertsPerMinute, closedLoopAlertsPerMinute, burstSize, maxEntries, Ticker.systemTicker());
+    }
+
+    TCAAlertRateLimiter(final int entityAlertsPerMinute, final int closedLoopAlertsPerMinute,
+                        final int burstSize, final int maxEntries, @Nonnull final Ticker ticker) {
+        if (entityAlertsPerMinute < 0 || closedLoopAlertsPerMinute < 0 || burstSize <= 0 || maxEntries <= 0) {
+            throw new IllegalArgumentException("Alert rate limits must not be negative and burst size and max " +
+                    "entries must be greater than 0");
+        }
+        this.entityBuckets = entityAlertsPerMinute == 0 ? null :
+                new TokenBuckets(entityAlertsPerMinute, burstSize, maxEntries, ticker);
+        this.closedLoopBuckets = closedLoopAlertsPerMinute == 0 ? null :
+                new TokenBuckets(closedLoopAlertsPerMinute, burstSize, maxEntries, ticker);
+    }
+
+    /**
+     * Returns share of a single calculator instance of an alert rate limit which applies to all calculator instances
+     * together. Limit is split equally and rounded up so that each instance can emit at least one alert per minute -
+     * instances may emit slightly more than the limit together when limit is not a multiple of instance count
+     *
+     * @param alertsPerMinute max alerts per minute of all calculator instances or 0 for no limit
+     * @param instanceCount number of calculator instances
+     *
+     * @return max alerts per minute of a single calculator instance or 0 for no limit
+     */
+    public static int toInstanceAlertsPerMinute(final int alertsPerMinute, final int instanceCount) {
+        if (alertsPerMinute <= 0 || instanceCount <= 1) {
+            return Math.max(alertsPerMinute, 0);
+        }
+        return (alertsPerMinute + instanceCount - 1) / instanceCount;
+    }
+
+    /**
+     * Acquires a token from reporting entity and closed loop buckets. If closed loop bucket has no token
+     * reporting entity token is returned back to its bucket
+     *
+     * @param reportingEntityName reporting entity name of the alert
+     * @param closedLoopControlName closed loop control name of the violated threshold
+     *
+     * @return allowed if alert can be emitted or which limit was exceeded
+     */
+    public RateLimitResult tryAcquire(@Nullable final String reportingEntityName,
+                                      @Nullable final String closedLoopControlName) {
+        if (entityBuckets != null && !entityBuckets.tryAcquire(reportingEntityName)) {
+            return RateLimitResult.ENTITY_RATE_LIMITED;
+        }
+        if (closedLoopBuckets != null && !closedLoopBuckets.tryAcquire(closedLoopControlName)) {
+            if (entityBuckets != null) {
+                entityBuckets.release(reportingEntityName);
+            }
+            return RateLimitResult.CLOSED_LOOP_RATE_LIMITED;
+        }
+        return RateLimitResult.ALLOWED;
+    }
+
+    /**
+     * Token buckets of same rate and burst size keyed by name
+     */
+    private static class TokenBuckets {
+
+        private final Ticker ticker;
+        // time in nanos to refill one token
+        private final long tokenNanos;
+        // time in nanos to refill an empty bucket
+        private final long burstNanos;
+        private final ConcurrentMap<String, AtomicLong> bucketFullTimes;
+
+        private TokenBuckets(final int tokensPerMinute, final int burstSize, final int maxEntries,
+                             final Ticker ticker) {
+            this.ticker = ticker;
+            this.tokenNanos = Math.max(1L, NANOS_PER_MINUTE / tokensPerMinute);
+            this.burstNanos = tokenNanos * burstSize;
+            final Cache<String, AtomicLong> bucketCache = CacheBuilder.newBuilder()
+                    .maximumSize(maxEntries)
+                    .expireAfterAccess(burstNanos, TimeUnit.NANOSECONDS)
+                    .ticker(ticker)
+                    .build();
+            this.bucketFullTimes = bucketCache.asMap();
+        }
+
+        private boolean tryAcquire(@Nullable final String name) {
+            final long currentNanos = ticker.read();
+            final AtomicLong bucketFullTime = getBucketFullTime(name, currentNanos);
+            while (true) {
+                final long fullTime = bucketFullTime.get();
+                // tokens refilled since last acquire are the time passed since then
+                final long newFullTime = Math.max(fullTime, currentNanos) + tokenNanos;
+                if (newFullTime - currentNanos > burstNanos) {
+                    return false;
+                }
+                if (bucketFullTime.compareAndSet(fullTime, newFullTime)) {
+                    return true;
+                }
+            }
+        }
+
+        private void release(@Nullable final String name) {
+            final AtomicLong bucketFullTime = bucketFullTimes.get(String.valueOf(name));
+            if (bucketFullTime != null) {
+                bucketFullTime.addAndGet(-tokenNanos);
+            }
+        }
+
+        private AtomicLong getBucketFullTime(@Nullable final String name, final long currentNanos) {
+            final String key = String.valueOf(name);
+            final AtomicLong bucketFullTime = bucketFullTimes.get(key);
+            if (bucketFullTime != null) {
+                return bucketFullTime;
+            }
+            final AtomicLong newBucketFullTime = new AtomicLong(currentNanos);
+            final AtomicLong existingBucketFullTime = bucketFullTimes.putIfAbsent(key, newBucketFullTime);
+            return existingBucketFullTime != null ? existingBucketFullTime : newBucketFullTime;
+        }
+    }
+
+}
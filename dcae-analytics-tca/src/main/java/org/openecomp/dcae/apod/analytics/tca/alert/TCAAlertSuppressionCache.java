@@ -0,0 +1,243 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.alert;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.openecomp.dcae.apod.analytics.model.domain.cef.CommonEventHeader;
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.Direction;
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.MetricsPerFunctionalRole;
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.TCAPolicy;
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.Threshold;
+import org.openecomp.dcae.apod.analytics.tca.processor.TCACEFProcessorContext;
+import org.openecomp.dcae.apod.analytics.tca.threshold.TCAPolicyThresholds;
+import org.openecomp.dcae.apod.analytics.tca.utils.TCAUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * <p>
+ *     Suppresses repeated alerts of a reporting entity which stays in violation of a TCA Policy closed loop. Once an
+ *     alert is emitted for a reporting entity name and closed loop control name, further alerts for the same pair are
+ *     suppressed until re-arm interval has elapsed since the emitted alert.
+ *     <br>
+ *     If a clear margin is present the pair is also re-armed as soon as a message of the reporting entity is clear
+ *     of all policy thresholds of its functional role by clear margin percent of threshold value e.g. with margin 10
+ *     a GREATER 1000 threshold only clears once value is not greater than 900. This avoids alert flapping of values
+ *     which hover around threshold value. Margin applies to thresholds on field values as reported in the message -
+ *     delta, rate and window thresholds are not evaluated again and clear with the first compliant message.
+ *     <br>
+ *     Armed pairs are kept in a bounded concurrent cache which evicts pairs after re-arm interval or least recently
+ *     armed pairs when max entries is reached.
+ * </p>
+ */
+public class TCAAlertSuppressionCache {
+
+    private static final char KEY_DELIMITER = '\u0000';
+
+    private final Cache<String, Boolean> armedAlerts;
+    // closed loop control names of each functional role - used to clear all armed alerts of a reporting entity
+    private final Map<String, List<String>> functionalRoleClosedLoopControlNames;
+    private final TCAPolicyThresholds clearThresholds;
+    private final AtomicLong suppressedCount = new AtomicLong();
+    private final AtomicLong clearedCount = new AtomicLong();
+
+    public TCAAlertSuppressionCache(@Nonnull final TCAPolicy tcaPolicy, final int maxEntries, final int rearmSeconds,
+                                    @Nullable final Double clearMarginPercent) {
+        this(tcaPolicy, maxEntries, rearmSeconds, clearMarginPercent, Ticker.systemTicker());
+    }
+
+    TCAAlertSuppressionCache(@Nonnull final TCAPolicy tcaPolicy, final int maxEntries, final int rearmSeconds,
+                             @Nullable final Double clearMarginPercent, @Nonnull final Ticker ticker) {
+        if (maxEntries <= 0 || rearmSeconds <= 0) {
+            throw new IllegalArgumentException("Alert suppression max entries and re-arm seconds must be " +
+                    "greater than 0");
+        }
+        this.armedAlerts = CacheBuilder.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(rearmSeconds, TimeUnit.SECONDS)
+                .ticker(ticker)
+                .build();
+        this.functionalRoleClosedLoopControlNames = new HashMap<>();
+        for (MetricsPerFunctionalRole metricsPerFunctionalRole : tcaPolicy.getMetricsPerFunctionalRole()) {
+            final Set<String> closedLoopControlNames = new LinkedHashSet<>();
+            for (Threshold threshold : metricsPerFunctionalRole.getThresholds()) {
+                closedLoopControlNames.add(threshold.getClosedLoopControlName());
+            }
+            functionalRoleClosedLoopControlNames.put(metricsPerFunctionalRole.getFunctionalRole(),
+                    new ArrayList<>(closedLoopControlNames));
+        }
+        this.clearThresholds = clearMarginPercent == null ? null :
+                new TCAPolicyThresholds(createClearPolicy(tcaPolicy, clearMarginPercent));
+    }
+
+    /**
+     * Determines if alert of given reporting entity and closed loop must be suppressed. If alert is not suppressed
+     * the pair is armed so that subsequent alerts are suppressed
+     *
+     * @param reportingEntityName reporting entity name of the alert
+     * @param closedLoopControlName closed loop control name of the violated threshold
+     *
+     * @return true if alert must be suppressed
+     */
+    public boolean suppress(@Nullable final String reportingEntityName,
+                            @Nullable final String closedLoopControlName) {
+        final boolean isSuppressed =
+                armedAlerts.asMap().putIfAbsent(createKey(reportingEntityName, closedLoopControlName), Boolean.TRUE)
+                        != null;
+        if (isSuppressed) {
+            suppressedCount.incrementAndGet();
+        }
+        return isSuppressed;
+    }
+
+    /**
+     * Re-arms alert of given reporting entity and closed loop e.g. when alert which armed the pair was not emitted
+     *
+     * @param reportingEntityName reporting entity name of the alert
+     * @param closedLoopControlName closed loop control name of the violated threshold
+     */
+    public void rearm(@Nullable final String reportingEntityName, @Nullable final String closedLoopControlName) {
+        armedAlerts.invalidate(createKey(reportingEntityName, closedLoopControlName));
+    }
+
+    /**
+     * Re-arms alerts of the reporting entity of given compliant message if message is clear of all functional role
+     * thresholds by clear margin. Does nothing if clear margin is not present
+     *
+     * @param processorContext processor context of a message which did not violate any threshold
+     *
+     * @return number of re-armed closed loops of the reporting entity
+     */
+    public int clear(@Nonnull final TCACEFProcessorContext processorContext) {
+        if (clearThresholds == null || processorContext.getCEFEventListener() == null) {
+            return 0;
+        }
+        final CommonEventHeader commonEventHeader =
+                processorContext.getCEFEventListener().getEvent().getCommonEventHeader();
+        final String reportingEntityName = commonEventHeader.getReportingEntityName();
+        final List<String> closedLoopControlNames = getClosedLoopControlNames(commonEventHeader.getFunctionalRole());
+        final List<String> armedKeys = new ArrayList<>(closedLoopControlNames.size());
+        for (String closedLoopControlName : closedLoopControlNames) {
+            final String key = createKey(reportingEntityName, closedLoopControlName);
+            if (armedAlerts.getIfPresent(key) != null) {
+                armedKeys.add(key);
+            }
+        }
+        // thresholds with clear margin are only applied to reporting entities with armed alerts
+        if (armedKeys.isEmpty()) {
+            return 0;
+        }
+        final TCACEFProcessorContext clearProcessorContext =
+                new TCACEFProcessorContext(processorContext.getMessage(), processorContext.getTCAPolicy());
+        clearProcessorContext.setCEFEventListener(processorContext.getCEFEventListener());
+        if (TCAUtils.computeThresholdViolations(clearProcessorContext, clearThresholds).canProcessingContinue()) {
+            return 0;
+        }
+        armedAlerts.invalidateAll(armedKeys);
+        clearedCount.addAndGet(armedKeys.size());
+        return armedKeys.size();
+    }
+
+    /**
+     * Returns number of alerts suppressed since cache was created
+     *
+     * @return suppressed alerts count
+     */
+    public long getSuppressedCount() {
+        return suppressedCount.get();
+    }
+
+    /**
+     * Returns number of closed loops re-armed by clear margin since cache was created
+     *
+     * @return cleared closed loops count
+     */
+    public long getClearedCount() {
+        return clearedCount.get();
+    }
+
+    private List<String> getClosedLoopControlNames(@Nullable final String functionalRole) {
+        final List<String> closedLoopControlNames = functionalRoleClosedLoopControlNames.get(functionalRole);
+        return closedLoopControlNames == null ? Collections.<String>emptyList() : closedLoopControlNames;
+    }
+
+    private static String createKey(@Nullable final String reportingEntityName,
+                                    @Nullable final String closedLoopControlName) {
+        return reportingEntityName + KEY_DELIMITER + closedLoopControlName;
+    }
+
+    /**
+     * Creates copy of TCA Policy containing thresholds on field values with threshold values moved towards
+     * compliant values by clear margin percent
+     *
+     * @param tcaPolicy TCA Policy
+     * @param clearMarginPercent clear margin percent of threshold value
+     *
+     * @return TCA Policy with clear thresholds
+     */
+    private static TCAPolicy createClearPolicy(final TCAPolicy tcaPolicy, final double clearMarginPercent) {
+        final List<MetricsPerFunctionalRole> clearMetricsPerFunctionalRoles = new ArrayList<>();
+        for (MetricsPerFunctionalRole metricsPerFunctionalRole : tcaPolicy.getMetricsPerFunctionalRole()) {
+            final List<Threshold> clearThresholds = new ArrayList<>();
+            for (Threshold threshold : metricsPerFunctionalRole.getThresholds()) {
+                if (threshold.getValueType() != null || threshold.getWindowAggregation() != null ||
+                        threshold.getDirection() == null || threshold.getThresholdValue() == null) {
+                    continue;
+                }
+                final long thresholdValue = threshold.getThresholdValue();
+                final long margin = Math.round(Math.abs(thresholdValue) * clearMarginPercent / 100d);
+                final boolean isUpperLimit = threshold.getDirection() == Direction.GREATER ||
+                        threshold.getDirection() == Direction.GREATER_OR_EQUAL;
+                final Threshold clearThreshold = new Threshold();
+                clearThreshold.setClosedLoopControlName(threshold.getClosedLoopControlName());
+                clearThreshold.setVersion(threshold.getVersion());
+                clearThreshold.setFieldPath(threshold.getFieldPath());
+                clearThreshold.setFieldExpression(threshold.getFieldExpression());
+                clearThreshold.setDirection(threshold.getDirection());
+                clearThreshold.setSeverity(threshold.getSeverity());
+                clearThreshold.setThresholdValue(isUpperLimit ? thresholdValue - margin : thresholdValue + margin);
+                clearThresholds.add(clearThreshold);
+            }
+            final MetricsPerFunctionalRole clearMetricsPerFunctionalRole = new MetricsPerFunctionalRole();
+            clearMetricsPerFunctionalRole.setFunctionalRole(metricsPerFunctionalRole.getFunctionalRole());
+            clearMetricsPerFunctionalRole.setThresholds(clearThresholds);
+            clearMetricsPerFunctionalRoles.add(clearMetricsPerFunctionalRole);
+        }
+        final TCAPolicy clearPolicy = new TCAPolicy();
+        clearPolicy.setDomain(tcaPolicy.getDomain());
+        clearPolicy.setMetricsPerFunctionalRole(clearMetricsPerFunctionalRoles);
+        return clearPolicy;
+    }
+
+}
@@ -0,0 +1,36 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.alert;
+
+/**
+ * Generates request ID for TCA VES alert messages. Generated request IDs must be RFC 4122 formatted and
+ * globally unique across all TCA threshold calculator flowlet instances. Implementations must be thread safe
+ */
+public interface TCARequestIDGenerator {
+
+    /**
+     * Generates new alert request ID
+     *
+     * @return RFC 4122 formatted request ID
+     */
+    String generateRequestID();
+
+}
@@ -0,0 +1,55 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.alert;
+
+/**
+ * Types of {@link TCARequestIDGenerator} which can be configured for TCA VES alert messages
+ */
+public enum TCARequestIDGeneratorType {
+
+    /**
+     * Time based (version 1) UUIDs with random node id - does not contend on shared random number generator
+     */
+    TIME_BASED {
+        @Override
+        public TCARequestIDGenerator create() {
+            return new TimeBasedRequestIDGenerator();
+        }
+    },
+
+    /**
+     * Random (version 4) UUIDs generated by {@link java.util.UUID#randomUUID()}
+     */
+    RANDOM {
+        @Override
+        public TCARequestIDGenerator create() {
+            return new RandomRequestIDGenerator();
+        }
+    };
+
+    /**
+     * Creates new request ID generator of this type
+     *
+     * @return new request ID generator
+     */
+    public abstract TCARequestIDGenerator create();
+
+}
@@ -0,0 +1,205 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.alert;
+
+import co.cask.cdap.api.metrics.Metrics;
+import org.openecomp.dcae.apod.analytics.common.CDAPMetricsConstants;
+import org.openecomp.dcae.apod.analytics.common.cdap.metrics.LatencyMetricsRecorder;
+import org.openecomp.dcae.apod.analytics.common.exception.DCAEAnalyticsRuntimeException;
+import org.openecomp.dcae.apod.analytics.common.utils.HTTPUtils;
+import org.openecomp.dcae.apod.analytics.dmaap.domain.response.DMaaPMRPublisherResponse;
+import org.openecomp.dcae.apod.analytics.dmaap.service.publisher.DMaaPMRPublisher;
+import org.openecomp.dcae.apod.analytics.tca.persistance.TCAVESAlertEntity;
+import org.openecomp.dcae.apod.analytics.tca.utils.TCAUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * <p>
+ *     Publishes a batch of new alerts read from TCA Alerts table to DMaaP MR Topic. Alerts are coalesced if an
+ *     {@link TCAAlertCoalescer} is given, published, alert creation to publish and VES event to publish latencies
+ *     of successfully published alerts are recorded and finally all alerts of the batch are deleted from alerts
+ *     table whether they were published or not.
+ * </p>
+ * <p>
+ *     Used by TCA DMaaP MR Publisher Job and TCA Pipeline Runner publisher stage so that both publish alerts
+ *     and count publisher metrics in the same way.
+ * </p>
+ */
+public class TCAVESAlertsPublisher {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TCAVESAlertsPublisher.class);
+
+    /**
+     * Deletes alerts from alerts table once they are published
+     */
+    public interface AlertsDeleter {
+
+        /**
+         * Deletes given alerts from alerts table
+         *
+         * @param alertsMap alerts table row keys and alert entities of alerts to be deleted
+         */
+        void delete(@Nonnull Map<String, TCAVESAlertEntity> alertsMap);
+    }
+
+    private final DMaaPMRPublisher publisher;
+    private final TCAAlertCoalescer alertCoalescer;
+    private final Metrics metrics;
+    private final LatencyMetricsRecorder alertToPublishLatency;
+    private final LatencyMetricsRecorder eventToPublishLatency;
+
+    /**
+     * Creates new TCA VES Alerts Publisher
+     *
+     * @param publisher DMaaP MR publisher - if null alerts are deleted without being published
+     * @param alertCoalescer alert coalescer - if null all alerts are published
+     * @param metrics CDAP metrics
+     * @param alertToPublishLatency alert creation to publish latency recorder - may be null
+     * @param eventToPublishLatency VES event to publish latency recorder - may be null
+     */
+    public TCAVESAlertsPublisher(@Nullable final DMaaPMRPublisher publisher,
+                                 @Nullable final TCAAlertCoalescer alertCoalescer,
+                                 @Nonnull final Metrics metrics,
+                                 @Nullable final LatencyMetricsRecorder alertToPublishLatency,
+                                 @Nullable final LatencyMetricsRecorder eventToPublishLatency) {
+        this.publisher = publisher;
+        this.alertCoalescer = alertCoalescer;
+        this.metrics = metrics;
+        this.alertToPublishLatency = alertToPublishLatency;
+        this.eventToPublishLatency = eventToPublishLatency;
+    }
+
+    /**
+     * Publishes new alerts and deletes them from alerts table
+     *
+     * @param newAlertsMap alerts table row keys and alert entities of new alerts
+     * @param alertsDeleter deletes alerts from alerts table
+     *
+     * @return true if there were no new alerts or new alerts were published successfully
+     */
+    public boolean publish(@Nonnull final Map<String, TCAVESAlertEntity> newAlertsMap,
+                           @Nonnull final AlertsDeleter alertsDeleter) {
+
+        // If no new alerts are found - nothing to publish
+        if (newAlertsMap.isEmpty()) {
+            LOG.debug("No new alerts found in Alerts Table. Nothing to Publisher....");
+            metrics.count(CDAPMetricsConstants.TCA_PUBLISHER_NO_NEW_ALERTS_LOOKUP_METRIC, 1);
+            return true;
+        }
+
+        final int newAlertsCount = newAlertsMap.size();
+        LOG.debug("Found new alerts in Alerts Table. No of new alerts: {}", newAlertsCount);
+        metrics.count(CDAPMetricsConstants.TCA_PUBLISHER_NEW_ALERTS_METRIC, newAlertsCount);
+
+        // Get alert message strings from alert Entities - coalesced alerts are deleted without being published
+        final List<String> newAlertsMessages;
+        if (alertCoalescer != null) {
+            newAlertsMessages = alertCoalescer.coalesce(newAlertsMap);
+            final int coalescedAlertsCount = newAlertsCount - newAlertsMessages.size();
+            LOG.debug("Coalesced {} new alerts. No of alerts to publish: {}", coalescedAlertsCount,
+                    newAlertsMessages.size());
+            metrics.count(CDAPMetricsConstants.TCA_PUBLISHER_COALESCED_ALERTS_METRIC, coalescedAlertsCount);
+        } else {
+            newAlertsMessages = TCAUtils.extractAlertFromAlertEntities(newAlertsMap.values());
+        }
+
+        // Publish messages to DMaaP MR Topic
+        boolean isPublished = publisher == null;
+        try {
+            if (publisher != null) {
+                final DMaaPMRPublisherResponse publisherResponse = publisher.publish(newAlertsMessages);
+
+                final Integer responseCode = publisherResponse.getResponseCode();
+                LOG.debug("Publisher Response Code: {}, Publisher message: {}, Pending Messages Count: {}",
+                        responseCode, publisherResponse.getResponseMessage(),
+                        publisherResponse.getPendingMessagesCount());
+
+                if (HTTPUtils.isSuccessfulResponseCode(responseCode)) {
+                    LOG.debug("Successfully Published alerts to DMaaP MR Topic.");
+                    metrics.count(CDAPMetricsConstants.TCA_PUBLISHER_SUCCESSFUL_DMAAP_RESPONSE_METRIC, 1);
+                    recordPublishLatencies(newAlertsMap.values());
+                    isPublished = true;
+                } else {
+                    LOG.warn("Unable to publish alerts to DMaaP MR Topic. Publisher will try to send it later....");
+                    metrics.count(CDAPMetricsConstants.TCA_PUBLISHER_UNSUCCESSFUL_DMAAP_RESPONSE_METRIC, 1);
+                }
+            }
+        } catch (DCAEAnalyticsRuntimeException e) {
+            LOG.error("Exception while publishing messages to DMaaP MR Topic: {}", e);
+        } finally {
+            // delete send message from alerts table
+            alertsDeleter.delete(newAlertsMap);
+            // deleted alerts are counted once per batch after alerts are deleted
+            metrics.count(CDAPMetricsConstants.TCA_PUBLISHER_DELETED_ALERTS_METRIC, newAlertsCount);
+        }
+
+        // groups of alerts which failed to publish must not coalesce later alerts of the same window
+        if (isPublished && alertCoalescer != null) {
+            alertCoalescer.markPublished();
+        }
+
+        if (alertToPublishLatency != null && eventToPublishLatency != null) {
+            alertToPublishLatency.publishIfDue(metrics);
+            eventToPublishLatency.publishIfDue(metrics);
+        }
+
+        return isPublished;
+    }
+
+    /**
+     * Publishes latency gauges of all publish latencies recorded since previous publish of latency gauges
+     */
+    public void flushLatencyMetrics() {
+        if (alertToPublishLatency != null && eventToPublishLatency != null) {
+            alertToPublishLatency.publish(metrics);
+            eventToPublishLatency.publish(metrics);
+        }
+    }
+
+    /**
+     * Records alert creation to publish and VES event to publish latencies of published alert entities. Coalesced
+     * alert entities are considered published along with alert they were coalesced into. Entities persisted
+     * without timestamps are ignored
+     *
+     * @param alertEntities published alert entities
+     */
+    private void recordPublishLatencies(final Iterable<TCAVESAlertEntity> alertEntities) {
+        if (alertToPublishLatency == null || eventToPublishLatency == null) {
+            return;
+        }
+        final long publishTimestampMS = System.currentTimeMillis();
+        for (TCAVESAlertEntity alertEntity : alertEntities) {
+            if (alertEntity.getAlertTimestampMS() != null) {
+                alertToPublishLatency.record(publishTimestampMS - alertEntity.getAlertTimestampMS());
+            }
+            if (alertEntity.getEventTimestampMS() != null) {
+                eventToPublishLatency.record(publishTimestampMS - alertEntity.getEventTimestampMS());
+            }
+        }
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.alert;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import org.openecomp.dcae.apod.analytics.common.AnalyticsConstants;
+import org.openecomp.dcae.apod.analytics.common.exception.MessageProcessingException;
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.MetricsPerFunctionalRole;
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.Threshold;
+import org.openecomp.dcae.apod.analytics.model.facade.tca.TCAVESResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * <p>
+ *     Pre compiled {@link TCAVESResponse} alert message template for a single TCA Policy {@link Threshold}.
+ * </p>
+ * <p>
+ *     All alert message fields which are constant for a threshold and its functional role are escaped and
+ *     serialized once when template is created. Only requestID, closedLoopAlarmStart and AAI id are written
+ *     at runtime using a streaming {@link JsonGenerator}. Generated alert message is equivalent to
+ *     {@link TCAVESResponse} serialized by analytics model object mapper
+ * </p>
+ */
+public class TCAVESResponseTemplate {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TCAVESResponseTemplate.class);
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    // TCA VES Response json field names
+    private static final SerializableString CLOSED_LOOP_CONTROL_NAME_FIELD =
+            new SerializedString("closedLoopControlName");
+    private static final SerializableString VERSION_FIELD = new SerializedString("version");
+    private static final SerializableString REQUEST_ID_FIELD = new SerializedString("requestID");
+    private static final SerializableString CLOSED_LOOP_ALARM_START_FIELD =
+            new SerializedString("closedLoopAlarmStart");
+    private static final SerializableString CLOSED_LOOP_EVENT_CLIENT_FIELD =
+            new SerializedString("closedLoopEventClient");
+    private static final SerializableString TARGET_TYPE_FIELD = new SerializedString("target_type");
+    private static final SerializableString AAI_FIELD = new SerializedString("AAI");
+    private static final SerializableString AAI_GENERIC_VNF_ID_FIELD = new SerializedString("generic-vnf.vnf-id");
+    private static final SerializableString AAI_GENERIC_SERVER_ID_FIELD =
+            new SerializedString("vserver.vserver-name");
+    private static final SerializableString TARGET_FIELD = new SerializedString("target");
+    private static final SerializableString FROM_FIELD = new SerializedString("from");
+    private static final SerializableString POLICY_SCOPE_FIELD = new SerializedString("policyScope");
+    private static final SerializableString POLICY_NAME_FIELD = new SerializedString("policyName");
+    private static final SerializableString POLICY_VERSION_FIELD = new SerializedString("policyVersion");
+    private static final SerializableString CLOSED_LOOP_EVENT_STATUS_FIELD =
+            new SerializedString("closedLoopEventStatus");
+
+    private final Threshold threshold;
+    private final String functionalRole;
+
+    // pre serialized constant field values
+    private final SerializableString closedLoopControlName;
+    private final SerializableString version;
+    private final SerializableString closedLoopEventClient;
+    private final SerializableString targetType;
+    private final SerializableString aaiIdField;
+    private final SerializableString target;
+    private final SerializableString from;
+    private final SerializableString policyScope;
+    private final SerializableString policyName;
+    private final SerializableString policyVersion;
+    private final SerializableString closedLoopEventStatus;
+
+    private final int estimatedMessageLength;
+
+    public TCAVESResponseTemplate(@Nonnull final MetricsPerFunctionalRole metricsPerFunctionalRole,
+                                  @Nonnull final Threshold threshold,
+                                  @Nonnull final String tcaAppName) {
+        this.threshold = threshold;
+        this.functionalRole = metricsPerFunctionalRole.getFunctionalRole();
+
+        final boolean isVLoadBalancer = AnalyticsConstants.LOAD_BALANCER_FUNCTIONAL_ROLE.equals(functionalRole);
+
+        this.closedLoopControlName = serialize(threshold.getClosedLoopControlName());
+        this.version = serialize(threshold.getVersion());
+        this.closedLoopEventClient = serialize("DCAE_INSTANCE_ID." + tcaAppName);
+        this.targetType = serialize(isVLoadBalancer ? AnalyticsConstants.LOAD_BALANCER_TCA_VES_RESPONSE_TARGET_TYPE :
+                AnalyticsConstants.TCA_VES_RESPONSE_TARGET_TYPE);
+        this.aaiIdField = isVLoadBalancer ? AAI_GENERIC_SERVER_ID_FIELD : AAI_GENERIC_VNF_ID_FIELD;
+        this.target = serialize(isVLoadBalancer ? AnalyticsConstants.LOAD_BALANCER_TCA_VES_RESPONSE_TARGET :
+                AnalyticsConstants.TCA_VES_RESPONSE_TARGET);
+        this.from = serialize(AnalyticsConstants.TCA_VES_RESPONSE_FROM);
+        this.policyScope = serialize(metricsPerFunctionalRole.getPolicyScope());
+        this.policyName = serialize(metricsPerFunctionalRole.getPolicyName());
+        this.policyVersion = serialize(metricsPerFunctionalRole.getPolicyVersion());
+        this.closedLoopEventStatus = serialize(AnalyticsConstants.TCA_VES_RESPONSE_CLOSED_LOOP_EVENT_STATUS);
+
+        this.estimatedMessageLength = 512 + length(closedLoopControlName) + length(closedLoopEventClient) +
+                length(policyScope) + length(policyName);
+    }
+
+    /**
+     * Creates new alert message json by splicing runtime values into pre compiled template
+     *
+     * @param requestID request ID of the alert
+     * @param closedLoopAlarmStart commonEventHeader.startEpochMicrosec of the VES message
+     * @param aaiId commonEventHeader.reportingEntityName of the VES message
+     *
+     * @return alert message json string
+     */
+    public String createAlertMessage(@Nullable final String requestID,
+                                     @Nullable final Long closedLoopAlarmStart,
+                                     @Nullable final String aaiId) {
+
+        final StringWriter alertMessageWriter = new StringWriter(estimatedMessageLength);
+
+        try {
+            final JsonGenerator jsonGenerator = JSON_FACTORY.createGenerator(alertMessageWriter);
+            jsonGenerator.writeStartObject();
+            writeField(jsonGenerator, CLOSED_LOOP_CONTROL_NAME_FIELD, closedLoopControlName);
+            writeField(jsonGenerator, VERSION_FIELD, version);
+            if (requestID != null) {
+                jsonGenerator.writeFieldName(REQUEST_ID_FIELD);
+                jsonGenerator.writeString(requestID);
+            }
+            if (closedLoopAlarmStart != null) {
+                jsonGenerator.writeFieldName(CLOSED_LOOP_ALARM_START_FIELD);
+                jsonGenerator.writeNumber(closedLoopAlarmStart);
+            }
+            writeField(jsonGenerator, CLOSED_LOOP_EVENT_CLIENT_FIELD, closedLoopEventClient);
+            writeField(jsonGenerator, TARGET_TYPE_FIELD, targetType);
+            jsonGenerator.writeFieldName(AAI_FIELD);
+            jsonGenerator.writeStartObject();
+            if (aaiId != null) {
+                jsonGenerator.writeFieldName(aaiIdField);
+                jsonGenerator.writeString(aaiId);
+            }
+            jsonGenerator.writeEndObject();
+            writeField(jsonGenerator, TARGET_FIELD, target);
+            writeField(jsonGenerator, FROM_FIELD, from);
+            writeField(jsonGenerator, POLICY_SCOPE_FIELD, policyScope);
+            writeField(jsonGenerator, POLICY_NAME_FIELD, policyName);
+            writeField(jsonGenerator, POLICY_VERSION_FIELD, policyVersion);
+            writeField(jsonGenerator, CLOSED_LOOP_EVENT_STATUS_FIELD, closedLoopEventStatus);
+            jsonGenerator.writeEndObject();
+            jsonGenerator.close();
+        } catch (IOException e) {
+            final String errorMessage = String.format("Unable to create alert message for threshold: %s", threshold);
+            throw new MessageProcessingException(errorMessage, LOG, e);
+        }
+
+        return alertMessageWriter.toString();
+    }
+
+    /**
+     * Returns threshold for which this template was created
+     *
+     * @return TCA Policy threshold
+     */
+    public Threshold getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Returns functional role for which this template was created
+     *
+     * @return functional role
+     */
+    public String getFunctionalRole() {
+        return functionalRole;
+    }
+
+    /**
+     * Writes pre serialized constant field if value is present. Null values are not written to be consistent
+     * with analytics model object mapper serialization inclusion settings
+     *
+     * @param jsonGenerator json generator
+     * @param fieldName pre serialized field name
+     * @param fieldValue pre serialized field value
+     *
+     * @throws IOException IO Exception
+     */
+    private static void writeField(final JsonGenerator jsonGenerator, final SerializableString fieldName,
+                                   @Nullable final SerializableString fieldValue) throws IOException {
+        if (fieldValue != null) {
+            jsonGenerator.writeFieldName(fieldName);
+            jsonGenerator.writeString(fieldValue);
+        }
+    }
+
+    /**
+     * Escapes constant value eagerly so that no escaping is required when template is used
+     *
+     * @param value constant value
+     *
+     * @return pre serialized value or null if value is null
+     */
+    private static SerializableString serialize(@Nullable final String value) {
+        if (value == null) {
+            return null;
+        }
+        final SerializedString serializedString = new SerializedString(value);
+        serializedString.asQuotedChars();
+        return serializedString;
+    }
+
+    private static int length(@Nullable final SerializableString value) {
+        return value == null ? 0 : value.charLength();
+    }
+
+}
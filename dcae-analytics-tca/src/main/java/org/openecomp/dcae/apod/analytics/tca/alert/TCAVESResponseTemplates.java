@@ -0,0 +1,83 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.alert;
+
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.MetricsPerFunctionalRole;
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.TCAPolicy;
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.Threshold;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * <p>
+ *     Contains pre compiled {@link TCAVESResponseTemplate} for all thresholds of a {@link TCAPolicy}.
+ *     Templates are created once when policy is loaded and looked up by functional role and policy threshold
+ *     instance at runtime.
+ * </p>
+ */
+public class TCAVESResponseTemplates {
+
+    private final String tcaAppName;
+    private final Map<String, Map<Threshold, TCAVESResponseTemplate>> functionalRoleTemplates;
+
+    public TCAVESResponseTemplates(@Nonnull final TCAPolicy tcaPolicy, @Nonnull final String tcaAppName) {
+        this.tcaAppName = tcaAppName;
+        this.functionalRoleTemplates = new HashMap<>();
+        for (MetricsPerFunctionalRole metricsPerFunctionalRole : tcaPolicy.getMetricsPerFunctionalRole()) {
+            // thresholds are looked up by instance as violated thresholds are same instances as policy thresholds
+            final Map<Threshold, TCAVESResponseTemplate> thresholdTemplates = new IdentityHashMap<>();
+            for (Threshold threshold : metricsPerFunctionalRole.getThresholds()) {
+                thresholdTemplates.put(threshold,
+                        new TCAVESResponseTemplate(metricsPerFunctionalRole, threshold, tcaAppName));
+            }
+            functionalRoleTemplates.put(metricsPerFunctionalRole.getFunctionalRole(), thresholdTemplates);
+        }
+    }
+
+    /**
+     * Returns pre compiled template for given functional role and policy threshold
+     *
+     * @param functionalRole functional role
+     * @param threshold policy threshold
+     *
+     * @return pre compiled template or null if threshold is not part of the policy
+     */
+    @Nullable
+    public TCAVESResponseTemplate getTemplate(@Nonnull final String functionalRole,
+                                              @Nonnull final Threshold threshold) {
+        final Map<Threshold, TCAVESResponseTemplate> thresholdTemplates = functionalRoleTemplates.get(functionalRole);
+        return thresholdTemplates == null ? null : thresholdTemplates.get(threshold);
+    }
+
+    /**
+     * Returns TCA App Name used to create the templates
+     *
+     * @return TCA App Name
+     */
+    public String getTcaAppName() {
+        return tcaAppName;
+    }
+}
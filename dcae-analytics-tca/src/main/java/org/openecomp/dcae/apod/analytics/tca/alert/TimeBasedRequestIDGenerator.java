@@ -0,0 +1,89 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.alert;
+
+import java.security.SecureRandom;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nonnull;
+
+/**
+ * <p>
+ *     {@link TCARequestIDGenerator} which generates time based (version 1) RFC 4122 UUIDs.
+ * </p>
+ * <p>
+ *     Clock sequence and node id are chosen randomly once per generator instance (node id has multicast bit set
+ *     as per RFC 4122 section 4.5) so that request ids are unique across flowlet instances. Within a generator
+ *     timestamps are made strictly increasing with a single compare and set, so no locks or shared
+ *     {@link SecureRandom} are used when request ids are generated.
+ * </p>
+ */
+public class TimeBasedRequestIDGenerator implements TCARequestIDGenerator {
+
+    // Offset between UUID epoch (15 Oct 1582) and Unix epoch in 100 nano seconds intervals
+    private static final long UUID_EPOCH_OFFSET = 0x01B21DD213814000L;
+    private static final long VERSION_1 = 0x1000L;
+    private static final long IETF_VARIANT = 0x8000000000000000L;
+    private static final long MULTICAST_BIT = 0x010000000000L;
+
+    private final AtomicLong lastTimestamp = new AtomicLong();
+    private final long leastSignificantBits;
+
+    public TimeBasedRequestIDGenerator() {
+        this(new SecureRandom());
+    }
+
+    public TimeBasedRequestIDGenerator(@Nonnull final Random random) {
+        final long clockSequence = random.nextInt() & 0x3FFFL;
+        final long nodeId = (random.nextLong() & 0xFFFFFFFFFFFFL) | MULTICAST_BIT;
+        this.leastSignificantBits = IETF_VARIANT | (clockSequence << 48) | nodeId;
+    }
+
+    @Override
+    public String generateRequestID() {
+        final long timestamp = nextTimestamp();
+        final long timeLow = timestamp & 0xFFFFFFFFL;
+        final long timeMid = (timestamp >>> 32) & 0xFFFFL;
+        final long timeHigh = (timestamp >>> 48) & 0x0FFFL;
+        final long mostSignificantBits = (timeLow << 32) | (timeMid << 16) | VERSION_1 | timeHigh;
+        return new UUID(mostSignificantBits, leastSignificantBits).toString();
+    }
+
+    /**
+     * Returns current UUID timestamp. If more than one request id is requested within same timestamp interval
+     * timestamp is incremented so that timestamps are always unique for this generator
+     *
+     * @return unique UUID timestamp
+     */
+    private long nextTimestamp() {
+        final long currentTimestamp = System.currentTimeMillis() * 10000L + UUID_EPOCH_OFFSET;
+        while (true) {
+            final long previousTimestamp = lastTimestamp.get();
+            final long newTimestamp = currentTimestamp > previousTimestamp ? currentTimestamp : previousTimestamp + 1;
+            if (lastTimestamp.compareAndSet(previousTimestamp, newTimestamp)) {
+                return newTimestamp;
+            }
+        }
+    }
+
+}
@@ -46,11 +46,12 @@ public class TCAVESCollectorFlow extends AbstractFlow {
         setName(CDAPComponentsConstants.TCA_FIXED_VES_COLLECTOR_NAME_FLOW);
         setDescription(CDAPComponentsConstants.TCA_FIXED_VES_COLLECTOR_DESCRIPTION_FLOW);
 
-        final TCAVESMessageRouterFlowlet messageRouterFlowlet = new TCAVESMessageRouterFlowlet();
+        final TCAVESMessageRouterFlowlet messageRouterFlowlet =
+                new TCAVESMessageRouterFlowlet(tcaAppConfig.getEnableCompactFlowletRecords());
         addFlowlet(messageRouterFlowlet);
 
         final TCAVESThresholdViolationCalculatorFlowlet thresholdViolationCalculatorFlowlet =
-                new TCAVESThresholdViolationCalculatorFlowlet(tcaAppConfig.getTcaVESMessageStatusTableName());
+                new TCAVESThresholdViolationCalculatorFlowlet(tcaAppConfig);
         addFlowlet(thresholdViolationCalculatorFlowlet, tcaAppConfig.getThresholdCalculatorFlowletInstances());
 
         final TCAVESAlertsSinkFlowlet alertsSinkFlowlet =
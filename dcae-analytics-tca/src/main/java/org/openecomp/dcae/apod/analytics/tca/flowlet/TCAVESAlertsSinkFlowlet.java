@@ -27,6 +27,7 @@ import co.cask.cdap.api.flow.flowlet.AbstractFlowlet;
 import co.cask.cdap.api.flow.flowlet.FlowletContext;
 import org.openecomp.dcae.apod.analytics.tca.persistance.TCAVESAlertEntity;
 import org.openecomp.dcae.apod.analytics.tca.persistance.TCAVESAlertsPersister;
+import org.openecomp.dcae.apod.analytics.tca.record.TCAVESAlertRecord;
 
 import static org.openecomp.dcae.apod.analytics.common.CDAPComponentsConstants.TCA_FIXED_VES_ALERTS_SINK_DESCRIPTION_FLOWLET;
 import static org.openecomp.dcae.apod.analytics.common.CDAPComponentsConstants.TCA_FIXED_VES_ALERTS_SINK_NAME_FLOWLET;
@@ -61,9 +62,9 @@ public class TCAVESAlertsSinkFlowlet extends AbstractFlowlet {
     }
 
     @ProcessInput(TCA_FIXED_VES_TCA_CALCULATOR_NAME_OUTPUT)
-    public void saveAlerts(String alertMessage) {
-        // Saves alert message in alerts table
-        TCAVESAlertsPersister.persist(alertMessage, tcaVESAlertsTable);
+    public void saveAlerts(byte[] alertRecordBytes) {
+        // Saves alert message along with its index columns in alerts table
+        TCAVESAlertsPersister.persist(TCAVESAlertRecord.fromBytes(alertRecordBytes), tcaVESAlertsTable);
     }
 
 }
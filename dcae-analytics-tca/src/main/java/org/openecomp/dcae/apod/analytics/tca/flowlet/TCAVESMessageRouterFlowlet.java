@@ -22,30 +22,66 @@ package org.openecomp.dcae.apod.analytics.tca.flowlet;
 
 import co.cask.cdap.api.annotation.Output;
 import co.cask.cdap.api.annotation.ProcessInput;
+import co.cask.cdap.api.annotation.Property;
+import co.cask.cdap.api.common.Bytes;
 import co.cask.cdap.api.flow.flowlet.AbstractFlowlet;
+import co.cask.cdap.api.flow.flowlet.FlowletContext;
 import co.cask.cdap.api.flow.flowlet.OutputEmitter;
 import co.cask.cdap.api.flow.flowlet.StreamEvent;
+import co.cask.cdap.api.metrics.Metrics;
 import com.google.common.base.Charsets;
+import org.openecomp.dcae.apod.analytics.common.AnalyticsConstants;
+import org.openecomp.dcae.apod.analytics.common.CDAPMetricsConstants;
+import org.openecomp.dcae.apod.analytics.common.cdap.metrics.LatencyMetricsRecorder;
+import org.openecomp.dcae.apod.analytics.model.domain.cef.CommonEventHeader;
+import org.openecomp.dcae.apod.analytics.tca.record.TCAVESMessageRecord;
+import org.openecomp.dcae.apod.analytics.tca.utils.TCAUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
 
 import static org.openecomp.dcae.apod.analytics.common.AnalyticsConstants.TCA_VES_MESSAGE_ROUTER_PARTITION_KEY;
 import static org.openecomp.dcae.apod.analytics.common.CDAPComponentsConstants.TCA_FIXED_VES_MESSAGE_ROUTER_DESCRIPTION_FLOWLET;
 import static org.openecomp.dcae.apod.analytics.common.CDAPComponentsConstants.TCA_FIXED_VES_MESSAGE_ROUTER_NAME_FLOWLET;
 import static org.openecomp.dcae.apod.analytics.common.CDAPComponentsConstants.TCA_FIXED_VES_MESSAGE_ROUTER_OUTPUT;
+import static org.openecomp.dcae.apod.analytics.common.CDAPComponentsConstants.TCA_FIXED_VES_MESSAGE_ROUTER_RECORD_OUTPUT;
 
 
 /**
- * TCA Message Router Flowlet emits VES Message to {@link TCAVESThresholdViolationCalculatorFlowlet} instances
+ * TCA Message Router Flowlet emits VES Message to {@link TCAVESThresholdViolationCalculatorFlowlet} instances.
+ * If compact flowlet records are enabled VES Message is emitted as binary {@link TCAVESMessageRecord} instead
+ * along with its DMaaP MR fetch time. Router also measures VES event age at fetch time
  *
  * @author Rajiv Singla. Creation Date: 11/14/2016.
  */
 public class TCAVESMessageRouterFlowlet extends AbstractFlowlet {
 
+    private static final Logger LOG = LoggerFactory.getLogger(TCAVESMessageRouterFlowlet.class);
+
     /**
      * Emits ves message to TCA Calculator Instances
      */
     @Output(TCA_FIXED_VES_MESSAGE_ROUTER_OUTPUT)
     private OutputEmitter<String> vesMessageEmitter;
 
+    /**
+     * Emits compact binary ves message records to TCA Calculator Instances
+     */
+    @Output(TCA_FIXED_VES_MESSAGE_ROUTER_RECORD_OUTPUT)
+    private OutputEmitter<byte[]> vesMessageRecordEmitter;
+
+    @Property
+    private final boolean enableCompactFlowletRecords;
+
+    private Metrics metrics;
+    private LatencyMetricsRecorder eventAgeAtFetch;
+
+    public TCAVESMessageRouterFlowlet(boolean enableCompactFlowletRecords) {
+        this.enableCompactFlowletRecords = enableCompactFlowletRecords;
+    }
 
     @Override
     public void configure() {
@@ -53,10 +89,65 @@ public class TCAVESMessageRouterFlowlet extends AbstractFlowlet {
         setDescription(TCA_FIXED_VES_MESSAGE_ROUTER_DESCRIPTION_FLOWLET);
     }
 
+    @Override
+    public void initialize(FlowletContext flowletContext) throws Exception {
+        super.initialize(flowletContext);
+        eventAgeAtFetch = new LatencyMetricsRecorder(CDAPMetricsConstants.TCA_VES_EVENT_AGE_AT_FETCH_METRIC,
+                TimeUnit.SECONDS.toMillis(AnalyticsConstants.TCA_EVENT_LATENCY_METRICS_INTERVAL_SECONDS));
+    }
+
     @ProcessInput
     public void routeVESMessage(StreamEvent vesMessageStreamEvent) {
+
+        final long fetchTimestampMS = getFetchTimestampMS(vesMessageStreamEvent);
+
+        if (enableCompactFlowletRecords) {
+            final TCAVESMessageRecord vesMessageRecord =
+                    TCAVESMessageRecord.fromVESMessage(Bytes.toBytes(vesMessageStreamEvent.getBody()));
+            vesMessageRecord.setFetchTimestampMS(fetchTimestampMS);
+            recordEventAgeAtFetch(fetchTimestampMS, TCAUtils.getEventTimestampMS(
+                    vesMessageRecord.getStartEpochMicrosec(), vesMessageRecord.getLastEpochMicrosec()));
+            // raw message bytes are forwarded as is - no decoding and re-encoding of VES Message string is required
+            vesMessageRecordEmitter.emit(vesMessageRecord.toBytes(), TCA_VES_MESSAGE_ROUTER_PARTITION_KEY,
+                    vesMessageRecord.getPartitionHash());
+            return;
+        }
+
+        // header is still extracted as messages must be partitioned by reporting entity name
         final String vesMessage = Charsets.UTF_8.decode(vesMessageStreamEvent.getBody()).toString();
-        vesMessageEmitter.emit(vesMessage, TCA_VES_MESSAGE_ROUTER_PARTITION_KEY, vesMessage
-                .hashCode());
+        final CommonEventHeader commonEventHeader = TCAVESMessageRecord.extractCommonEventHeader(vesMessage);
+        recordEventAgeAtFetch(fetchTimestampMS, commonEventHeader == null ? null : TCAUtils.getEventTimestampMS(
+                commonEventHeader.getStartEpochMicrosec(), commonEventHeader.getLastEpochMicrosec()));
+        vesMessageEmitter.emit(vesMessage, TCA_VES_MESSAGE_ROUTER_PARTITION_KEY,
+                TCAVESMessageRecord.getPartitionHash(commonEventHeader, vesMessage));
+    }
+
+    /**
+     * Returns time at which VES Message was fetched from DMaaP MR. Messages which were not written by DMaaP MR
+     * subscriber or have an invalid fetch timestamp header use stream write time as fetch time
+     *
+     * @param vesMessageStreamEvent VES Message stream event
+     *
+     * @return fetch time in milli seconds
+     */
+    private static long getFetchTimestampMS(final StreamEvent vesMessageStreamEvent) {
+        final String fetchTimestampHeader =
+                vesMessageStreamEvent.getHeaders().get(AnalyticsConstants.TCA_VES_FETCH_TIMESTAMP_STREAM_HEADER);
+        if (fetchTimestampHeader != null) {
+            try {
+                return Long.parseLong(fetchTimestampHeader);
+            } catch (NumberFormatException e) {
+                LOG.debug("Invalid VES Message fetch timestamp header: {}. Using stream event timestamp",
+                        fetchTimestampHeader);
+            }
+        }
+        return vesMessageStreamEvent.getTimestamp();
+    }
+
+    private void recordEventAgeAtFetch(final long fetchTimestampMS, @Nullable final Long eventTimestampMS) {
+        if (eventTimestampMS != null) {
+            eventAgeAtFetch.record(fetchTimestampMS - eventTimestampMS);
+        }
+        eventAgeAtFetch.publishIfDue(metrics);
     }
 }
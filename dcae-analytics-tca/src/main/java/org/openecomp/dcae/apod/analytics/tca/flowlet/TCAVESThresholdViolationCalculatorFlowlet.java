@@ -20,27 +20,35 @@
 
 package org.openecomp.dcae.apod.analytics.tca.flowlet;
 
+import co.cask.cdap.api.annotation.HashPartition;
 import co.cask.cdap.api.annotation.Output;
 import co.cask.cdap.api.annotation.ProcessInput;
 import co.cask.cdap.api.annotation.Property;
-import co.cask.cdap.api.annotation.RoundRobin;
+import co.cask.cdap.api.dataset.lib.KeyValueTable;
 import co.cask.cdap.api.dataset.lib.ObjectMappedTable;
 import co.cask.cdap.api.flow.flowlet.AbstractFlowlet;
 import co.cask.cdap.api.flow.flowlet.FlowletContext;
 import co.cask.cdap.api.flow.flowlet.OutputEmitter;
 import co.cask.cdap.api.metrics.Metrics;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import org.openecomp.dcae.apod.analytics.common.AnalyticsConstants;
 import org.openecomp.dcae.apod.analytics.common.CDAPComponentsConstants;
 import org.openecomp.dcae.apod.analytics.common.CDAPMetricsConstants;
+import org.openecomp.dcae.apod.analytics.common.cdap.metrics.MessageProcessorMetricsPublisher;
 import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.TCAPolicy;
-import org.openecomp.dcae.apod.analytics.model.facade.tca.TCAVESResponse;
-import org.openecomp.dcae.apod.analytics.tca.persistance.TCACalculatorMessageType;
 import org.openecomp.dcae.apod.analytics.tca.persistance.TCAMessageStatusEntity;
 import org.openecomp.dcae.apod.analytics.tca.persistance.TCAMessageStatusPersister;
+import org.openecomp.dcae.apod.analytics.tca.persistance.TCAThresholdSketchPersister;
+import org.openecomp.dcae.apod.analytics.tca.persistance.TCAThresholdViolationStatsEntity;
+import org.openecomp.dcae.apod.analytics.tca.persistance.TCAThresholdViolationStatsPersister;
 import org.openecomp.dcae.apod.analytics.tca.processor.TCACEFProcessorContext;
+import org.openecomp.dcae.apod.analytics.tca.record.TCAVESAlertRecord;
+import org.openecomp.dcae.apod.analytics.tca.record.TCAVESMessageRecord;
+import org.openecomp.dcae.apod.analytics.tca.settings.TCAAppConfig;
+import org.openecomp.dcae.apod.analytics.tca.threshold.TCAThresholdViolationCalculator;
 import org.openecomp.dcae.apod.analytics.tca.utils.TCAUtils;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
 
 import static org.openecomp.dcae.apod.analytics.common.CDAPComponentsConstants.TCA_FIXED_VES_THRESHOLD_VIOLATION_CALCULATOR_DESCRIPTION_FLOWLET;
 import static org.openecomp.dcae.apod.analytics.common.CDAPComponentsConstants.TCA_FIXED_VES_THRESHOLD_VIOLATION_CALCULATOR_NAME_FLOWLET;
@@ -52,20 +60,66 @@ import static org.openecomp.dcae.apod.analytics.common.CDAPComponentsConstants.T
  */
 public class TCAVESThresholdViolationCalculatorFlowlet extends AbstractFlowlet {
 
-    private static final Logger LOG = LoggerFactory.getLogger(TCAVESThresholdViolationCalculatorFlowlet.class);
-
     @Output(CDAPComponentsConstants.TCA_FIXED_VES_TCA_CALCULATOR_NAME_OUTPUT)
-    private OutputEmitter<String> tcaAlertOutputEmitter;
+    private OutputEmitter<byte[]> tcaAlertOutputEmitter;
 
     @Property
     private final String messageStatusTableName;
 
+    @Property
+    private final String alertRequestIDGenerator;
+
+    @Property
+    private final int thresholdStateMaxEntries;
+
+    @Property
+    private final int thresholdStateTTLSeconds;
+
+    @Property
+    private final String thresholdSketchTableName;
+
+    @Property
+    private final String thresholdViolationStatsTableName;
+
+    @Property
+    private final int alertSuppressionMaxEntries;
+
+    @Property
+    private final int alertRearmSeconds;
+
+    // negative value indicates alert clear margin is not present
+    @Property
+    private final double alertClearMarginPercent;
+
+    @Property
+    private final int entityAlertRateLimitPerMinute;
+
+    @Property
+    private final int closedLoopAlertRateLimitPerMinute;
+
+    @Property
+    private final int alertRateLimitBurstSize;
+
     private TCAPolicy tcaPolicy;
+    private TCAThresholdViolationCalculator thresholdViolationCalculator;
     private Metrics metrics;
+    private MessageProcessorMetricsPublisher messageProcessorMetricsPublisher;
     private ObjectMappedTable<TCAMessageStatusEntity> vesMessageStatusTable;
 
-    public TCAVESThresholdViolationCalculatorFlowlet(String messageStatusTableName) {
-        this.messageStatusTableName = messageStatusTableName;
+    public TCAVESThresholdViolationCalculatorFlowlet(TCAAppConfig tcaAppConfig) {
+        this.messageStatusTableName = tcaAppConfig.getTcaVESMessageStatusTableName();
+        this.alertRequestIDGenerator = tcaAppConfig.getAlertRequestIDGenerator();
+        this.thresholdStateMaxEntries = tcaAppConfig.getThresholdStateMaxEntries();
+        this.thresholdStateTTLSeconds = tcaAppConfig.getThresholdStateTTLSeconds();
+        this.thresholdSketchTableName = tcaAppConfig.getTcaThresholdSketchTableName();
+        this.thresholdViolationStatsTableName = tcaAppConfig.getTcaThresholdViolationStatsTableName();
+        this.alertSuppressionMaxEntries = tcaAppConfig.getAlertSuppressionMaxEntries();
+        this.alertRearmSeconds = tcaAppConfig.getAlertRearmSeconds();
+        final Double alertClearMarginPercent = tcaAppConfig.getAlertClearMarginPercent();
+        this.alertClearMarginPercent = alertClearMarginPercent == null ? -1 : alertClearMarginPercent;
+        this.entityAlertRateLimitPerMinute = tcaAppConfig.getEntityAlertRateLimitPerMinute();
+        this.closedLoopAlertRateLimitPerMinute = tcaAppConfig.getClosedLoopAlertRateLimitPerMinute();
+        this.alertRateLimitBurstSize = tcaAppConfig.getAlertRateLimitBurstSize();
     }
 
     @Override
@@ -81,57 +135,89 @@ public class TCAVESThresholdViolationCalculatorFlowlet extends AbstractFlowlet {
 
         // parse Runtime Arguments to tca policy preferences
         tcaPolicy = TCAUtils.getValidatedTCAPolicyPreferences(flowletContext);
+        // percentile windows are checkpointed in threshold sketch table so they survive instance restarts
+        final KeyValueTable thresholdSketchTable = getContext().getDataset(thresholdSketchTableName);
+        // violation stats of each instance are saved in its own rows of threshold violation stats table
+        final ObjectMappedTable<TCAThresholdViolationStatsEntity> thresholdViolationStatsTable =
+                getContext().getDataset(thresholdViolationStatsTableName);
+        final String tcaAppName = flowletContext.getApplicationSpecification().getName();
+        thresholdViolationCalculator = new TCAThresholdViolationCalculator.Builder(tcaPolicy, tcaAppName, metrics)
+                .setAlertRequestIDGenerator(alertRequestIDGenerator)
+                .setThresholdStateMaxEntries(thresholdStateMaxEntries)
+                .setThresholdStateTTLSeconds(thresholdStateTTLSeconds)
+                .setThresholdSketchCheckpoint(new TCAThresholdSketchPersister(thresholdSketchTable))
+                .setThresholdViolationStatsSink(new TCAThresholdViolationStatsPersister(thresholdViolationStatsTable,
+                        flowletContext.getInstanceId()))
+                .setAlertSuppressionMaxEntries(alertSuppressionMaxEntries)
+                .setAlertRearmSeconds(alertRearmSeconds)
+                .setAlertClearMarginPercent(alertClearMarginPercent < 0 ? null : alertClearMarginPercent)
+                .setEntityAlertRateLimitPerMinute(entityAlertRateLimitPerMinute)
+                .setClosedLoopAlertRateLimitPerMinute(closedLoopAlertRateLimitPerMinute)
+                .setAlertRateLimitBurstSize(alertRateLimitBurstSize)
+                // closed loop alerts may come from any instance - so each instance gets its share of rate limit
+                .setCalculatorInstances(flowletContext.getInstanceCount())
+                .build();
 
         vesMessageStatusTable = getContext().getDataset(messageStatusTableName);
 
+        // latency and processing state of filter and threshold processors are published periodically
+        messageProcessorMetricsPublisher = new MessageProcessorMetricsPublisher(
+                CDAPMetricsConstants.TCA_VES_MESSAGE_PROCESSOR_METRIC_PREFIX,
+                TimeUnit.SECONDS.toMillis(AnalyticsConstants.TCA_MESSAGE_PROCESSOR_METRICS_INTERVAL_SECONDS));
+
     }
 
     @ProcessInput(CDAPComponentsConstants.TCA_FIXED_VES_MESSAGE_ROUTER_OUTPUT)
-    @RoundRobin
+    @HashPartition(AnalyticsConstants.TCA_VES_MESSAGE_ROUTER_PARTITION_KEY)
     public void filterVESMessages(String vesMessage) throws JsonProcessingException {
-
-        TCACalculatorMessageType calculatorMessageType = TCACalculatorMessageType.INAPPLICABLE;
-        String alertMessage = null;
-
         // Step 1: Filter incoming messages
-        final TCACEFProcessorContext processorContext = TCAUtils.filterCEFMessage(vesMessage, tcaPolicy);
-
-        if (processorContext.canProcessingContinue()) {
-
-            // Step 2: Check if CEF Message violate any thresholds
-            final TCACEFProcessorContext processorContextWithViolations =
-                    TCAUtils.computeThresholdViolations(processorContext);
-
-            if (processorContextWithViolations.canProcessingContinue()) {
-
-                // Step 3: Create Alert Message
-                final String tcaAppName = getContext().getApplicationSpecification().getName();
-                final TCAVESResponse newTCAVESResponse =
-                        TCAUtils.createNewTCAVESResponse(processorContextWithViolations, tcaAppName);
-                alertMessage = TCAUtils.writeValueAsString(newTCAVESResponse);
-                calculatorMessageType = TCACalculatorMessageType.NON_COMPLIANT;
-                LOG.debug("VES Threshold Violation Detected. An alert message is be generated. {}", alertMessage);
-
-                metrics.count(CDAPMetricsConstants.TCA_VES_NON_COMPLIANT_MESSAGES_METRIC, 1);
-
-                // Step 4: Emit message to Alert Sink Flowlet
-                tcaAlertOutputEmitter.emit(alertMessage);
-
-            } else {
-
-                calculatorMessageType = TCACalculatorMessageType.COMPLIANT;
-                metrics.count(CDAPMetricsConstants.TCA_VES_COMPLIANT_MESSAGES_METRIC, 1);
-            }
+        calculateThresholdViolations(TCAUtils.filterCEFMessage(vesMessage, tcaPolicy));
+    }
 
-        } else {
+    @ProcessInput(CDAPComponentsConstants.TCA_FIXED_VES_MESSAGE_ROUTER_RECORD_OUTPUT)
+    @HashPartition(AnalyticsConstants.TCA_VES_MESSAGE_ROUTER_PARTITION_KEY)
+    public void filterVESMessageRecords(byte[] vesMessageRecordBytes) throws JsonProcessingException {
+        // Step 1: Filter incoming messages using pre extracted common event header fields
+        final TCAVESMessageRecord vesMessageRecord = TCAVESMessageRecord.fromBytes(vesMessageRecordBytes);
+        calculateThresholdViolations(TCAUtils.filterCEFMessage(vesMessageRecord, tcaPolicy));
+    }
 
-            metrics.count(CDAPMetricsConstants.TCA_VES_INAPPLICABLE_MESSAGES_METRIC, 1);
+    /**
+     * Computes threshold violations for filtered VES Message, emits alert message if required and saves
+     * message status in message status table
+     *
+     * @param processorContext processor context after filter chain is applied
+     *
+     * @throws JsonProcessingException if alert message cannot be serialized
+     */
+    private void calculateThresholdViolations(final TCACEFProcessorContext processorContext)
+            throws JsonProcessingException {
+
+        // Step 2 and 3: Compute threshold violations and create alert message if alert must be emitted
+        final TCAThresholdViolationCalculator.Result result =
+                thresholdViolationCalculator.calculate(processorContext);
+
+        // Step 4: Emit message to Alert Sink Flowlet along with its coalescing index fields
+        final TCAVESAlertRecord alertRecord = result.getAlertRecord();
+        if (alertRecord != null) {
+            tcaAlertOutputEmitter.emit(alertRecord.toBytes());
         }
 
         // save message to message status table
-        TCAMessageStatusPersister.persist(
-                processorContext, getContext(), calculatorMessageType, vesMessageStatusTable, alertMessage);
+        TCAMessageStatusPersister.persist(processorContext, getContext(), result.getCalculatorMessageType(),
+                vesMessageStatusTable, result.getAlertMessage());
+
+        messageProcessorMetricsPublisher.publishIfDue(metrics);
     }
 
+    @Override
+    public void destroy() {
+        // counts and violation stats aggregated since last flush interval would be lost otherwise
+        if (thresholdViolationCalculator != null) {
+            thresholdViolationCalculator.flushThresholdViolationStats();
+            thresholdViolationCalculator.flushMetrics();
+        }
+        super.destroy();
+    }
 
 }
@@ -0,0 +1,211 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.generator;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openecomp.dcae.apod.analytics.common.utils.HTTPUtils;
+import org.openecomp.dcae.apod.analytics.dmaap.DMaaPMRFactory;
+import org.openecomp.dcae.apod.analytics.dmaap.domain.config.DMaaPMRPublisherConfig;
+import org.openecomp.dcae.apod.analytics.dmaap.domain.response.DMaaPMRPublisherResponse;
+import org.openecomp.dcae.apod.analytics.dmaap.service.publisher.DMaaPMRPublisher;
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.TCAPolicy;
+import org.openecomp.dcae.apod.analytics.model.util.json.AnalyticsModelObjectMapperSupplier;
+import org.openecomp.dcae.apod.analytics.tca.runner.TCAPipelineSource;
+import org.openecomp.dcae.apod.analytics.tca.settings.TCAVESLoadGeneratorPreferences;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * <p>
+ *     TCA VES Load Generator synthesizes batches of VES messages paced to target rate. Load generator is used by
+ *     TCA VES Load Generator Worker to write messages to TCA subscriber output stream, can be used directly as
+ *     TCA Pipeline Runner source and can publish messages to a DMaaP MR topic - like the embedded MR stand-in
+ *     server - by running {@link #main(String[])}
+ * </p>
+ */
+public class TCAVESLoadGenerator implements TCAPipelineSource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TCAVESLoadGenerator.class);
+
+    private final TCAVESMessageGenerator messageGenerator;
+    private final TCAVESLoadPacer loadPacer;
+    private final int batchSize;
+    private final long maxMessages;
+    private volatile boolean isStopped;
+
+    public TCAVESLoadGenerator(@Nonnull final TCAVESMessageGenerator messageGenerator,
+                               @Nonnull final TCAVESLoadPacer loadPacer,
+                               final int batchSize, final long maxMessages) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Load Generator batch size must be positive");
+        }
+        this.messageGenerator = messageGenerator;
+        this.loadPacer = loadPacer;
+        this.batchSize = batchSize;
+        this.maxMessages = maxMessages;
+    }
+
+    /**
+     * Creates load generator for given TCA Policy and load generator preferences
+     *
+     * @param tcaPolicy TCA Policy
+     * @param loadGeneratorPreferences load generator preferences
+     *
+     * @return load generator
+     */
+    public static TCAVESLoadGenerator create(@Nonnull final TCAPolicy tcaPolicy,
+                                             @Nonnull final TCAVESLoadGeneratorPreferences loadGeneratorPreferences) {
+        final TCAVESMessageGenerator.Builder messageGeneratorBuilder = new TCAVESMessageGenerator.Builder(tcaPolicy)
+                .setMessageMix(loadGeneratorPreferences.getLoadGeneratorMessageMix())
+                .setEntityCount(loadGeneratorPreferences.getLoadGeneratorEntityCount())
+                .setVNicCount(loadGeneratorPreferences.getLoadGeneratorVNicCount())
+                .setViolationRatio(loadGeneratorPreferences.getLoadGeneratorViolationRatio());
+        if (loadGeneratorPreferences.getLoadGeneratorSeed() != null) {
+            messageGeneratorBuilder.setSeed(loadGeneratorPreferences.getLoadGeneratorSeed());
+        }
+        final TCAVESLoadPacer loadPacer = new TCAVESLoadPacer(
+                loadGeneratorPreferences.getLoadGeneratorMessagesPerSecond(),
+                loadGeneratorPreferences.getLoadGeneratorBurstMultiplier(),
+                loadGeneratorPreferences.getLoadGeneratorBurstDurationMS(),
+                loadGeneratorPreferences.getLoadGeneratorBurstPeriodMS());
+        return new TCAVESLoadGenerator(messageGeneratorBuilder.build(), loadPacer,
+                loadGeneratorPreferences.getLoadGeneratorBatchSize(),
+                loadGeneratorPreferences.getLoadGeneratorMaxMessages());
+    }
+
+    /**
+     * Synthesizes next batch of VES messages once it can be sent without exceeding target rate
+     *
+     * @return next batch of VES messages or null if max messages are generated or generator is stopped
+     */
+    @Nullable
+    @Override
+    public List<String> nextBatch() {
+        final long generatedMessageCount = messageGenerator.getGeneratedMessageCount();
+        if (isStopped || (maxMessages > 0 && generatedMessageCount >= maxMessages)) {
+            return null;
+        }
+        final int messageCount = maxMessages > 0 ?
+                (int) Math.min(batchSize, maxMessages - generatedMessageCount) : batchSize;
+        try {
+            loadPacer.acquire(messageCount);
+        } catch (InterruptedException e) {
+            LOG.debug("Load Generator interrupted while waiting to generate next batch");
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        return messageGenerator.nextMessages(messageCount);
+    }
+
+    /**
+     * Stops load generator. Subsequent batches will be null
+     */
+    public void stop() {
+        isStopped = true;
+    }
+
+    @Override
+    public void close() {
+        stop();
+    }
+
+    public TCAVESMessageGenerator getMessageGenerator() {
+        return messageGenerator;
+    }
+
+    /**
+     * Publishes synthesized VES messages to a DMaaP MR topic. Options:
+     * <pre>
+     *  --policy file                   TCA Policy json file
+     *  --publisher-url url             DMaaP MR topic url - e.g. http://localhost:3904/events/TOPIC_NAME
+     *  --loadGenerator... value        any TCA VES Load Generator preference - e.g.
+     *                                  --loadGeneratorMessagesPerSecond 5000
+     * </pre>
+     *
+     * @param args command line options
+     *
+     * @throws Exception if messages cannot be published
+     */
+    public static void main(final String[] args) throws Exception {
+        if (args.length % 2 != 0) {
+            throw new IllegalArgumentException("Load Generator options must be option name and value pairs");
+        }
+        final Map<String, String> options = new HashMap<>();
+        for (int argIndex = 0; argIndex < args.length; argIndex += 2) {
+            if (!args[argIndex].startsWith("--")) {
+                throw new IllegalArgumentException("Invalid Load Generator option: " + args[argIndex]);
+            }
+            options.put(args[argIndex].substring(2), args[argIndex + 1]);
+        }
+        if (!options.containsKey("policy") || !options.containsKey("publisher-url")) {
+            throw new IllegalArgumentException("Load Generator requires --policy and --publisher-url options");
+        }
+
+        final ObjectMapper objectMapper = new AnalyticsModelObjectMapperSupplier().get();
+        final TCAPolicy tcaPolicy = objectMapper.readValue(new File(options.get("policy")), TCAPolicy.class);
+        final TCAVESLoadGeneratorPreferences loadGeneratorPreferences =
+                objectMapper.convertValue(options, TCAVESLoadGeneratorPreferences.class);
+        LOG.info("Load Generator preferences: {}", loadGeneratorPreferences);
+
+        final URI publisherURI = URI.create(options.get("publisher-url"));
+        final String publisherPath = publisherURI.getPath();
+        final int publisherPort = publisherURI.getPort() > 0 ? publisherURI.getPort() :
+                "https".equalsIgnoreCase(publisherURI.getScheme()) ? 443 : 80;
+        final DMaaPMRPublisherConfig publisherConfig = new DMaaPMRPublisherConfig.Builder(publisherURI.getHost(),
+                publisherPath.substring(publisherPath.lastIndexOf('/') + 1))
+                .setPortNumber(publisherPort)
+                .setProtocol(publisherURI.getScheme())
+                .build();
+
+        final long startNanos = System.nanoTime();
+        long publishedMessageCount = 0;
+        long failedMessageCount = 0;
+        try (TCAVESLoadGenerator loadGenerator = create(tcaPolicy, loadGeneratorPreferences);
+             DMaaPMRPublisher publisher = DMaaPMRFactory.create().createPublisher(publisherConfig)) {
+            List<String> messages = loadGenerator.nextBatch();
+            while (messages != null) {
+                final DMaaPMRPublisherResponse publisherResponse = publisher.forcePublish(messages);
+                if (HTTPUtils.isSuccessfulResponseCode(publisherResponse.getResponseCode())) {
+                    publishedMessageCount += messages.size();
+                } else {
+                    LOG.warn("Unable to publish Load Generator messages. Response: {}", publisherResponse);
+                    failedMessageCount += messages.size();
+                }
+                messages = loadGenerator.nextBatch();
+            }
+            final double elapsedSeconds = (System.nanoTime() - startNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+            LOG.info("Load Generator published: {} messages, violating: {}, failed: {}, rate: {} messages/sec",
+                    publishedMessageCount, loadGenerator.getMessageGenerator().getViolatingMessageCount(),
+                    failedMessageCount, String.format("%.1f", publishedMessageCount / elapsedSeconds));
+        }
+    }
+
+}
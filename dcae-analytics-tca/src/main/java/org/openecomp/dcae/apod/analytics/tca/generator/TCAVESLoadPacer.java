@@ -0,0 +1,98 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.generator;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ *     Paces TCA VES Load Generator to a target message rate. Optionally rate is multiplied by burst multiplier for
+ *     burst duration at start of every burst period - e.g. rate 1000, multiplier 5, duration 2000 ms and period
+ *     10000 ms sends 5000 messages per second for 2 seconds followed by 1000 messages per second for 8 seconds.
+ * </p>
+ * <p>
+ *     Pacer schedules messages against absolute send times so that sleep overshoot does not lower achieved rate.
+ *     If sender falls behind schedule by more than a second, schedule is reset instead of sending a catch up burst.
+ * </p>
+ */
+public class TCAVESLoadPacer {
+
+    private static final long MAX_BEHIND_SCHEDULE_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final double messagesPerSecond;
+    private final double burstMultiplier;
+    private final long burstDurationNanos;
+    private final long burstPeriodNanos;
+    private final long startNanos;
+    private long nextSendNanos;
+
+    public TCAVESLoadPacer(final double messagesPerSecond, final double burstMultiplier,
+                           final long burstDurationMS, final long burstPeriodMS) {
+        if (burstMultiplier <= 0 || burstDurationMS < 0 || burstPeriodMS < 0 || burstDurationMS > burstPeriodMS) {
+            throw new IllegalArgumentException("Load Pacer burst multiplier must be positive and burst duration " +
+                    "must not exceed burst period");
+        }
+        this.messagesPerSecond = messagesPerSecond;
+        this.burstMultiplier = burstMultiplier;
+        this.burstDurationNanos = TimeUnit.MILLISECONDS.toNanos(burstDurationMS);
+        this.burstPeriodNanos = TimeUnit.MILLISECONDS.toNanos(burstPeriodMS);
+        this.startNanos = System.nanoTime();
+        this.nextSendNanos = startNanos;
+    }
+
+    /**
+     * Blocks till given number of messages can be sent without exceeding current target rate
+     *
+     * @param messageCount number of messages to be sent
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void acquire(final int messageCount) throws InterruptedException {
+        if (messagesPerSecond <= 0) {
+            return;
+        }
+        final long currentNanos = System.nanoTime();
+        if (currentNanos - nextSendNanos > MAX_BEHIND_SCHEDULE_NANOS) {
+            nextSendNanos = currentNanos;
+        }
+        final long waitNanos = nextSendNanos - currentNanos;
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+        final double currentRate = getRate(nextSendNanos - startNanos);
+        nextSendNanos += (long) (messageCount * TimeUnit.SECONDS.toNanos(1) / currentRate);
+    }
+
+    /**
+     * Returns target message rate at given time since pacer was created
+     *
+     * @param elapsedNanos nanos elapsed since pacer was created
+     *
+     * @return target messages per second. Non positive rate means messages are not paced
+     */
+    public double getRate(final long elapsedNanos) {
+        if (burstPeriodNanos > 0 && elapsedNanos % burstPeriodNanos < burstDurationNanos) {
+            return messagesPerSecond * burstMultiplier;
+        }
+        return messagesPerSecond;
+    }
+
+}
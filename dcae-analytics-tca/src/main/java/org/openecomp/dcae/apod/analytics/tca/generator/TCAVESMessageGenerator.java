@@ -0,0 +1,432 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.generator;
+
+import com.google.common.base.Splitter;
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.MetricsPerFunctionalRole;
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.TCAPolicy;
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.Threshold;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import static org.openecomp.dcae.apod.analytics.common.AnalyticsConstants.TCA_LOAD_GENERATOR_DEFAULT_ENTITY_COUNT;
+import static org.openecomp.dcae.apod.analytics.common.AnalyticsConstants.TCA_LOAD_GENERATOR_DEFAULT_VIOLATION_RATIO;
+import static org.openecomp.dcae.apod.analytics.common.AnalyticsConstants.TCA_LOAD_GENERATOR_DEFAULT_VNIC_COUNT;
+
+/**
+ * <p>
+ *     Synthesizes VES CEF measurementsForVfScaling messages for a TCA Policy. Message json is assembled from
+ *     fragments which are serialized once when generator is built, so generating a message only appends
+ *     pre-built strings and counter values to a reused buffer.
+ * </p>
+ * <p>
+ *     Messages are spread over configured weighted mix of domains and functional roles and over configured number
+ *     of reporting entities per functional role. vNic usage counters used by policy absolute thresholds are kept
+ *     within the range which does not violate any of these thresholds, except for the configured fraction of policy
+ *     applicable messages where one counter of one vNic is set to a value violating one of the thresholds.
+ *     Thresholds on deltas, rates or field expressions do not constrain generated values.
+ * </p>
+ * <p>
+ *     Generator is not thread safe - each generating thread should use its own instance.
+ * </p>
+ */
+public class TCAVESMessageGenerator {
+
+    private static final String VNIC_FIELD_PATH_PREFIX = "$.event.measurementsForVfScalingFields.vNicUsageArray[*].";
+
+    private static final String[] VNIC_COUNTER_NAMES = new String[]{"bytesIn", "bytesOut", "packetsIn",
+            "packetsOut", "broadcastPacketsIn", "broadcastPacketsOut", "multicastPacketsIn", "multicastPacketsOut",
+            "unicastPacketsIn", "unicastPacketsOut"};
+
+    // range of counter values which are not constrained by any policy threshold from above
+    private static final long DEFAULT_COUNTER_RANGE = 10000L;
+
+    private static final String MESSAGE_PREFIX = "{\"event\":{\"measurementsForVfScalingFields\":{" +
+            "\"measurementInterval\":10,\"measurementsForVfScalingVersion\":1.1,\"vNicUsageArray\":[";
+
+    private static final String[] VNIC_COUNTER_PREFIXES = createVNicCounterPrefixes();
+
+    private final MessageTemplate[] messageTemplates;
+    private final int[] cumulativeWeights;
+    private final String[] vNicSuffixes;
+    private final double violationRatio;
+    private final Random random;
+    private final StringBuilder messageBuilder = new StringBuilder(1024);
+
+    private long generatedMessageCount;
+    private long violatingMessageCount;
+    private boolean lastMessageViolating;
+
+    private TCAVESMessageGenerator(final Builder builder) {
+        this.violationRatio = builder.violationRatio;
+        this.random = new Random(builder.seed);
+
+        final int messageMixSize = builder.mixDomains.size();
+        this.messageTemplates = new MessageTemplate[messageMixSize];
+        this.cumulativeWeights = new int[messageMixSize];
+        int totalWeight = 0;
+        for (int i = 0; i < messageMixSize; i++) {
+            final String domain = builder.mixDomains.get(i);
+            final String functionalRole = builder.mixFunctionalRoles.get(i);
+            final List<Threshold> thresholds = getPolicyThresholds(builder.tcaPolicy, domain, functionalRole);
+            messageTemplates[i] = new MessageTemplate(domain, functionalRole, builder.entityCount, thresholds);
+            totalWeight += builder.mixWeights.get(i);
+            cumulativeWeights[i] = totalWeight;
+        }
+
+        this.vNicSuffixes = new String[builder.vNicCount];
+        for (int i = 0; i < builder.vNicCount; i++) {
+            vNicSuffixes[i] = ",\"vNicIdentifier\":\"eth" + i + "\"}";
+        }
+    }
+
+    /**
+     * Synthesizes next VES message
+     *
+     * @return VES message json
+     */
+    public String nextMessage() {
+        final MessageTemplate template = messageTemplates[nextTemplateIndex()];
+        final String entityName = template.entityNames[random.nextInt(template.entityNames.length)];
+
+        int violatingVNic = -1;
+        int violatingCounter = -1;
+        long violatingValue = 0L;
+        if (template.violatingCounters.length > 0 && random.nextDouble() < violationRatio) {
+            final int violationIndex = random.nextInt(template.violatingCounters.length);
+            violatingVNic = random.nextInt(vNicSuffixes.length);
+            violatingCounter = template.violatingCounters[violationIndex];
+            violatingValue = template.violatingValues[violationIndex];
+        }
+
+        final StringBuilder builder = messageBuilder;
+        builder.setLength(0);
+        builder.append(MESSAGE_PREFIX);
+        for (int vNic = 0; vNic < vNicSuffixes.length; vNic++) {
+            if (vNic > 0) {
+                builder.append(',');
+            }
+            for (int counter = 0; counter < VNIC_COUNTER_PREFIXES.length; counter++) {
+                builder.append(VNIC_COUNTER_PREFIXES[counter]);
+                if (vNic == violatingVNic && counter == violatingCounter) {
+                    builder.append(violatingValue);
+                } else {
+                    builder.append(template.counterLowerBounds[counter] +
+                            (long) (random.nextDouble() * template.counterRanges[counter]));
+                }
+            }
+            builder.append(vNicSuffixes[vNic]);
+        }
+
+        // common event header sequence is an integer
+        final long sequence = generatedMessageCount;
+        final long epochMicros = System.currentTimeMillis() * 1000L;
+        builder.append(template.headerPrefix).append(entityName)
+                .append("\",\"sourceName\":\"").append(entityName)
+                .append("\",\"eventId\":\"").append(sequence)
+                .append("\",\"sequence\":").append(sequence % Integer.MAX_VALUE)
+                .append(",\"startEpochMicrosec\":").append(epochMicros)
+                .append(",\"lastEpochMicrosec\":").append(epochMicros)
+                .append(",\"priority\":\"Normal\",\"version\":1.1}}}");
+
+        generatedMessageCount++;
+        lastMessageViolating = violatingVNic >= 0;
+        if (lastMessageViolating) {
+            violatingMessageCount++;
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Synthesizes given number of VES messages
+     *
+     * @param messageCount number of messages to synthesize
+     *
+     * @return VES messages json
+     */
+    public List<String> nextMessages(final int messageCount) {
+        final List<String> messages = new ArrayList<>(messageCount);
+        for (int i = 0; i < messageCount; i++) {
+            messages.add(nextMessage());
+        }
+        return messages;
+    }
+
+    /**
+     * Returns true if last synthesized message violates a policy threshold
+     *
+     * @return true if last message violates a policy threshold
+     */
+    public boolean isLastMessageViolating() {
+        return lastMessageViolating;
+    }
+
+    /**
+     * Returns total number of synthesized messages
+     *
+     * @return total number of synthesized messages
+     */
+    public long getGeneratedMessageCount() {
+        return generatedMessageCount;
+    }
+
+    /**
+     * Returns number of synthesized messages which violate a policy threshold
+     *
+     * @return number of synthesized messages violating a policy threshold
+     */
+    public long getViolatingMessageCount() {
+        return violatingMessageCount;
+    }
+
+    private int nextTemplateIndex() {
+        if (cumulativeWeights.length == 1) {
+            return 0;
+        }
+        final int weightIndex = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        final int searchIndex = Arrays.binarySearch(cumulativeWeights, weightIndex + 1);
+        return searchIndex >= 0 ? searchIndex : -searchIndex - 1;
+    }
+
+    private static String[] createVNicCounterPrefixes() {
+        final String[] counterPrefixes = new String[VNIC_COUNTER_NAMES.length];
+        for (int i = 0; i < VNIC_COUNTER_NAMES.length; i++) {
+            counterPrefixes[i] = (i == 0 ? "{\"" : ",\"") + VNIC_COUNTER_NAMES[i] + "\":";
+        }
+        return counterPrefixes;
+    }
+
+    private static int getVNicCounterIndex(@Nullable final String fieldPath) {
+        if (fieldPath == null || !fieldPath.startsWith(VNIC_FIELD_PATH_PREFIX)) {
+            return -1;
+        }
+        final String counterName = fieldPath.substring(VNIC_FIELD_PATH_PREFIX.length());
+        return Arrays.asList(VNIC_COUNTER_NAMES).indexOf(counterName);
+    }
+
+    private static List<Threshold> getPolicyThresholds(final TCAPolicy tcaPolicy, final String domain,
+                                                       final String functionalRole) {
+        if (!domain.equals(tcaPolicy.getDomain()) || tcaPolicy.getMetricsPerFunctionalRole() == null) {
+            return Collections.emptyList();
+        }
+        final List<Threshold> thresholds = new ArrayList<>();
+        for (MetricsPerFunctionalRole metricsPerFunctionalRole : tcaPolicy.getMetricsPerFunctionalRole()) {
+            if (functionalRole.equals(metricsPerFunctionalRole.getFunctionalRole()) &&
+                    metricsPerFunctionalRole.getThresholds() != null) {
+                thresholds.addAll(metricsPerFunctionalRole.getThresholds());
+            }
+        }
+        return thresholds;
+    }
+
+    /**
+     * Pre-serialized fragments and counter value bounds of messages with same domain and functional role
+     */
+    private static class MessageTemplate {
+
+        private final String headerPrefix;
+        private final String[] entityNames;
+        private final long[] counterLowerBounds = new long[VNIC_COUNTER_NAMES.length];
+        private final long[] counterRanges = new long[VNIC_COUNTER_NAMES.length];
+        private final int[] violatingCounters;
+        private final long[] violatingValues;
+
+        private MessageTemplate(final String domain, final String functionalRole, final int entityCount,
+                                final List<Threshold> thresholds) {
+            this.headerPrefix = "]},\"commonEventHeader\":{\"domain\":\"" + domain + "\",\"functionalRole\":\"" +
+                    functionalRole + "\",\"reportingEntityName\":\"";
+            this.entityNames = new String[entityCount];
+            for (int i = 0; i < entityCount; i++) {
+                entityNames[i] = functionalRole + "-loadgen-" + i;
+            }
+
+            // compliant values must be at least lower bound and at most upper bound
+            final long[] counterUpperBounds = new long[VNIC_COUNTER_NAMES.length];
+            Arrays.fill(counterUpperBounds, Long.MAX_VALUE);
+            final List<Threshold> violationThresholds = new ArrayList<>();
+            for (Threshold threshold : thresholds) {
+                final int counterIndex = getVNicCounterIndex(threshold.getFieldPath());
+                if (counterIndex < 0 || threshold.getValueType() != null || threshold.getFieldExpression() != null ||
+                        threshold.getThresholdValue() == null || threshold.getDirection() == null) {
+                    continue;
+                }
+                final long thresholdValue = threshold.getThresholdValue();
+                switch (threshold.getDirection()) {
+                    case LESS:
+                        counterLowerBounds[counterIndex] = Math.max(counterLowerBounds[counterIndex], thresholdValue);
+                        break;
+                    case LESS_OR_EQUAL:
+                        counterLowerBounds[counterIndex] =
+                                Math.max(counterLowerBounds[counterIndex], thresholdValue + 1);
+                        break;
+                    case GREATER:
+                        counterUpperBounds[counterIndex] = Math.min(counterUpperBounds[counterIndex], thresholdValue);
+                        break;
+                    default:
+                        counterUpperBounds[counterIndex] =
+                                Math.min(counterUpperBounds[counterIndex], thresholdValue - 1);
+                        break;
+                }
+                // windowed thresholds are not violated by a single violating value
+                if (threshold.getWindowAggregation() == null) {
+                    violationThresholds.add(threshold);
+                }
+            }
+
+            for (int i = 0; i < VNIC_COUNTER_NAMES.length; i++) {
+                final long upperBound = Math.min(counterUpperBounds[i], counterLowerBounds[i] + DEFAULT_COUNTER_RANGE);
+                // range is exclusive of upper bound when used to generate values
+                counterRanges[i] = Math.max(0L, upperBound - counterLowerBounds[i]);
+            }
+
+            this.violatingCounters = new int[violationThresholds.size()];
+            this.violatingValues = new long[violationThresholds.size()];
+            for (int i = 0; i < violationThresholds.size(); i++) {
+                final Threshold threshold = violationThresholds.get(i);
+                final long thresholdValue = threshold.getThresholdValue();
+                violatingCounters[i] = getVNicCounterIndex(threshold.getFieldPath());
+                switch (threshold.getDirection()) {
+                    case LESS:
+                        violatingValues[i] = thresholdValue - 1;
+                        break;
+                    case GREATER:
+                        violatingValues[i] = thresholdValue + 1;
+                        break;
+                    default:
+                        violatingValues[i] = thresholdValue;
+                        break;
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Builder for {@link TCAVESMessageGenerator}
+     */
+    public static class Builder {
+
+        // Required Values
+        private final TCAPolicy tcaPolicy;
+
+        // Default values
+        private final List<String> mixDomains = new ArrayList<>();
+        private final List<String> mixFunctionalRoles = new ArrayList<>();
+        private final List<Integer> mixWeights = new ArrayList<>();
+        private int entityCount = TCA_LOAD_GENERATOR_DEFAULT_ENTITY_COUNT;
+        private int vNicCount = TCA_LOAD_GENERATOR_DEFAULT_VNIC_COUNT;
+        private double violationRatio = TCA_LOAD_GENERATOR_DEFAULT_VIOLATION_RATIO;
+        private long seed = System.nanoTime();
+
+        public Builder(@Nonnull final TCAPolicy tcaPolicy) {
+            this.tcaPolicy = tcaPolicy;
+        }
+
+        /**
+         * Adds messages of given domain and functional role to generated message mix. If no mix is added all
+         * policy functional roles are generated with equal weight
+         *
+         * @param domain message domain
+         * @param functionalRole message functional role
+         * @param weight relative weight of these messages in generated message mix
+         *
+         * @return builder
+         */
+        public Builder addMessageMix(@Nonnull final String domain, @Nonnull final String functionalRole,
+                                     final int weight) {
+            if (weight < 1) {
+                throw new IllegalArgumentException("Load Generator message mix weight must be positive");
+            }
+            mixDomains.add(domain);
+            mixFunctionalRoles.add(functionalRole);
+            mixWeights.add(weight);
+            return this;
+        }
+
+        /**
+         * Adds message mix given as comma separated entries of format [domain/]functionalRole[=weight] - e.g.
+         * "vFirewall=3,vLoadBalancer,heartbeat/vFirewall=1". Domain defaults to policy domain and weight to 1
+         *
+         * @param messageMix message mix entries
+         *
+         * @return builder
+         */
+        public Builder setMessageMix(@Nullable final String messageMix) {
+            if (messageMix == null) {
+                return this;
+            }
+            for (String mixEntry : Splitter.on(',').trimResults().omitEmptyStrings().split(messageMix)) {
+                final int weightIndex = mixEntry.indexOf('=');
+                final String domainAndRole = weightIndex < 0 ? mixEntry : mixEntry.substring(0, weightIndex);
+                final int weight = weightIndex < 0 ? 1 : Integer.parseInt(mixEntry.substring(weightIndex + 1).trim());
+                final int domainIndex = domainAndRole.indexOf('/');
+                final String domain = domainIndex < 0 ? tcaPolicy.getDomain() : domainAndRole.substring(0, domainIndex);
+                addMessageMix(domain.trim(), domainAndRole.substring(domainIndex + 1).trim(), weight);
+            }
+            return this;
+        }
+
+        public Builder setEntityCount(final int entityCount) {
+            this.entityCount = entityCount;
+            return this;
+        }
+
+        public Builder setVNicCount(final int vNicCount) {
+            this.vNicCount = vNicCount;
+            return this;
+        }
+
+        public Builder setViolationRatio(final double violationRatio) {
+            this.violationRatio = violationRatio;
+            return this;
+        }
+
+        public Builder setSeed(final long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public TCAVESMessageGenerator build() {
+            if (entityCount < 1 || vNicCount < 1 || violationRatio < 0 || violationRatio > 1) {
+                throw new IllegalArgumentException("Load Generator must have positive entity count and vNic count " +
+                        "and violation ratio between 0 and 1");
+            }
+            if (mixDomains.isEmpty()) {
+                if (tcaPolicy.getMetricsPerFunctionalRole() == null) {
+                    throw new IllegalArgumentException("Load Generator requires message mix or policy functional role");
+                }
+                for (MetricsPerFunctionalRole metricsPerFunctionalRole : tcaPolicy.getMetricsPerFunctionalRole()) {
+                    if (!mixFunctionalRoles.contains(metricsPerFunctionalRole.getFunctionalRole())) {
+                        addMessageMix(tcaPolicy.getDomain(), metricsPerFunctionalRole.getFunctionalRole(), 1);
+                    }
+                }
+            }
+            return new TCAVESMessageGenerator(this);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.metrics;
+
+import co.cask.cdap.api.metrics.Metrics;
+import org.openecomp.dcae.apod.analytics.common.cdap.metrics.LatencyMetricsRecorder;
+import org.openecomp.dcae.apod.analytics.dmaap.service.metrics.DMaaPMRMetrics;
+
+import javax.annotation.Nonnull;
+
+/**
+ * <p>
+ *     Adapts {@link DMaaPMRMetrics} measurements of DMaaP MR Publishers and Subscribers to CDAP {@link Metrics}.
+ *     Following metrics are reported under given metric prefix:
+ *     <pre>
+ *      (prefix).publish.requests                   count of publishing calls which received a response
+ *      (prefix).publish.messages                   count of published messages - messages / requests is batch size
+ *      (prefix).publish.request_bytes              count of published request body bytes
+ *      (prefix).publish.response_bytes             count of publishing response body bytes
+ *      (prefix).publish.status.(HTTP status code)  count of publishing calls by response status code
+ *      (prefix).publish.errors                     count of publishing calls which failed with IO errors
+ *      (prefix).publish.latency_ms                 publishing call latency percentile gauges
+ *      (prefix).queue.batch_depth                  gauge of messages in publisher batch queue
+ *      (prefix).queue.recovery_depth               gauge of messages in publisher recovery queue
+ *      (prefix).recovery.spilled                   count of messages spilled to recovery queue
+ *      (prefix).recovery.dropped                   count of messages lost as recovery queue was full
+ *      (prefix).fetch.requests                     count of fetch calls which received a response
+ *      (prefix).fetch.messages                     count of fetched messages
+ *      (prefix).fetch.response_bytes               count of fetch response body bytes
+ *      (prefix).fetch.status.(HTTP status code)    count of fetch calls by response status code
+ *      (prefix).fetch.errors                       count of fetch calls which failed with IO errors
+ *      (prefix).fetch.latency_ms                   fetch call latency percentile gauges
+ *      (prefix).pool.leased                        gauge of HTTP connections in use
+ *      (prefix).pool.available                     gauge of idle persistent HTTP connections
+ *      (prefix).pool.pending                       gauge of requests waiting for an HTTP connection
+ *      (prefix).pool.max                           gauge of max HTTP connections
+ *     </pre>
+ *     Latency percentile gauges are published as described in {@link LatencyMetricsRecorder}
+ * </p>
+ */
+public class CDAPDMaaPMRMetrics implements DMaaPMRMetrics {
+
+    private final Metrics metrics;
+    private final String publishRequestsMetric;
+    private final String publishMessagesMetric;
+    private final String publishRequestBytesMetric;
+    private final String publishResponseBytesMetric;
+    private final String publishStatusMetricPrefix;
+    private final String publishErrorsMetric;
+    private final String batchQueueDepthMetric;
+    private final String recoveryQueueDepthMetric;
+    private final String recoverySpilledMetric;
+    private final String recoveryDroppedMetric;
+    private final String fetchRequestsMetric;
+    private final String fetchMessagesMetric;
+    private final String fetchResponseBytesMetric;
+    private final String fetchStatusMetricPrefix;
+    private final String fetchErrorsMetric;
+    private final String poolLeasedMetric;
+    private final String poolAvailableMetric;
+    private final String poolPendingMetric;
+    private final String poolMaxMetric;
+    private final LatencyMetricsRecorder publishLatency;
+    private final LatencyMetricsRecorder fetchLatency;
+
+    public CDAPDMaaPMRMetrics(@Nonnull final Metrics metrics, @Nonnull final String metricPrefix,
+                              final long latencyPublishIntervalMS) {
+        this.metrics = metrics;
+        // metric names are computed once as metrics are reported on every DMaaP MR call
+        publishRequestsMetric = metricPrefix + ".publish.requests";
+        publishMessagesMetric = metricPrefix + ".publish.messages";
+        publishRequestBytesMetric = metricPrefix + ".publish.request_bytes";
+        publishResponseBytesMetric = metricPrefix + ".publish.response_bytes";
+        publishStatusMetricPrefix = metricPrefix + ".publish.status.";
+        publishErrorsMetric = metricPrefix + ".publish.errors";
+        batchQueueDepthMetric = metricPrefix + ".queue.batch_depth";
+        recoveryQueueDepthMetric = metricPrefix + ".queue.recovery_depth";
+        recoverySpilledMetric = metricPrefix + ".recovery.spilled";
+        recoveryDroppedMetric = metricPrefix + ".recovery.dropped";
+        fetchRequestsMetric = metricPrefix + ".fetch.requests";
+        fetchMessagesMetric = metricPrefix + ".fetch.messages";
+        fetchResponseBytesMetric = metricPrefix + ".fetch.response_bytes";
+        fetchStatusMetricPrefix = metricPrefix + ".fetch.status.";
+        fetchErrorsMetric = metricPrefix + ".fetch.errors";
+        poolLeasedMetric = metricPrefix + ".pool.leased";
+        poolAvailableMetric = metricPrefix + ".pool.available";
+        poolPendingMetric = metricPrefix + ".pool.pending";
+        poolMaxMetric = metricPrefix + ".pool.max";
+        publishLatency = new LatencyMetricsRecorder(metricPrefix + ".publish.latency_ms", latencyPublishIntervalMS);
+        fetchLatency = new LatencyMetricsRecorder(metricPrefix + ".fetch.latency_ms", latencyPublishIntervalMS);
+    }
+
+    @Override
+    public void recordPublish(int messageCount, long requestBytes, int responseCode, long responseBytes,
+                              long latencyMS) {
+        metrics.count(publishRequestsMetric, 1);
+        metrics.count(publishMessagesMetric, messageCount);
+        metrics.count(publishRequestBytesMetric, toCount(requestBytes));
+        metrics.count(publishResponseBytesMetric, toCount(responseBytes));
+        metrics.count(publishStatusMetricPrefix + responseCode, 1);
+        publishLatency.record(latencyMS);
+        publishLatency.publishIfDue(metrics);
+    }
+
+    @Override
+    public void recordPublishError(int messageCount, long requestBytes, long latencyMS) {
+        metrics.count(publishErrorsMetric, 1);
+        publishLatency.record(latencyMS);
+        publishLatency.publishIfDue(metrics);
+    }
+
+    @Override
+    public void recordPublisherQueueDepth(int batchQueueDepth, int recoveryQueueDepth) {
+        metrics.gauge(batchQueueDepthMetric, batchQueueDepth);
+        metrics.gauge(recoveryQueueDepthMetric, recoveryQueueDepth);
+    }
+
+    @Override
+    public void recordRecoveryQueueSpill(int messageCount, boolean isDropped) {
+        metrics.count(isDropped ? recoveryDroppedMetric : recoverySpilledMetric, messageCount);
+    }
+
+    @Override
+    public void recordFetch(int messageCount, int responseCode, long responseBytes, long latencyMS) {
+        metrics.count(fetchRequestsMetric, 1);
+        metrics.count(fetchMessagesMetric, messageCount);
+        metrics.count(fetchResponseBytesMetric, toCount(responseBytes));
+        metrics.count(fetchStatusMetricPrefix + responseCode, 1);
+        fetchLatency.record(latencyMS);
+        fetchLatency.publishIfDue(metrics);
+    }
+
+    @Override
+    public void recordFetchError(long latencyMS) {
+        metrics.count(fetchErrorsMetric, 1);
+        fetchLatency.record(latencyMS);
+        fetchLatency.publishIfDue(metrics);
+    }
+
+    @Override
+    public void recordConnectionPoolStats(int leasedConnections, int availableConnections, int pendingRequests,
+                                          int maxConnections) {
+        metrics.gauge(poolLeasedMetric, leasedConnections);
+        metrics.gauge(poolAvailableMetric, availableConnections);
+        metrics.gauge(poolPendingMetric, pendingRequests);
+        metrics.gauge(poolMaxMetric, maxConnections);
+    }
+
+    /**
+     * CDAP counters are int - byte counts of a single call are capped to int range and unknown (negative) sizes are
+     * counted as zero
+     */
+    private static int toCount(final long value) {
+        return (int) Math.max(0, Math.min(value, Integer.MAX_VALUE));
+    }
+
+}
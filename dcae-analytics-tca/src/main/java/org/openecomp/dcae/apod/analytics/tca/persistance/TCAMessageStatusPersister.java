@@ -93,8 +93,33 @@ public abstract class TCAMessageStatusPersister {
 
     final String rowKey = createKey(calculatorMessageType);
 
+    final TCAMessageStatusEntity tcaMessageStatusEntity = createMessageStatusEntity(processorContext,
+        flowletContext.getInstanceId(), calculatorMessageType, alertMessage);
+
+    messageStatusTable.write(rowKey, tcaMessageStatusEntity);
+
+    LOG.debug("Finished persisting VES Status Message with rowKey: {} in Message Status Table.",
+        rowKey);
+
+  }
+
+
+  /**
+   * Creates Message Status entity which is saved in Message Status Table
+   *
+   * @param processorContext processor Context
+   * @param flowletInstanceId Flowlet Instance Id
+   * @param calculatorMessageType Calculation Message Type
+   * @param alertMessage Alert message
+   * @return Message Status entity
+   */
+  public static TCAMessageStatusEntity createMessageStatusEntity(
+      final TCACEFProcessorContext processorContext,
+      final int flowletInstanceId,
+      final TCACalculatorMessageType calculatorMessageType,
+      @Nullable final String alertMessage) {
+
     final Long currentTS = new Date().getTime();
-    final int flowletInstanceId = flowletContext.getInstanceId();
     final String vesMessage = StringEscapeUtils.unescapeJson(processorContext.getMessage());
 
     // Find Functional Role and domain
@@ -115,11 +140,7 @@ public abstract class TCAMessageStatusPersister {
         alertMessage == null ? null : StringEscapeUtils.unescapeJson(alertMessage)
     );
 
-    messageStatusTable.write(rowKey, tcaMessageStatusEntity);
-
-    LOG.debug("Finished persisting VES Status Message with rowKey: {} in Message Status Table.",
-        rowKey);
-
+    return tcaMessageStatusEntity;
   }
 
 
@@ -232,7 +253,7 @@ public abstract class TCAMessageStatusPersister {
    * @param calculatorMessageType calculator message type
    * @return row key string
    */
-  private static String createKey(final TCACalculatorMessageType calculatorMessageType) {
+  public static String createKey(final TCACalculatorMessageType calculatorMessageType) {
 
     final List<String> keyList = new LinkedList<>();
     keyList.add(calculatorMessageType.name());
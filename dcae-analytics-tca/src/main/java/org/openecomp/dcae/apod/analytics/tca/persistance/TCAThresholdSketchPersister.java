@@ -0,0 +1,70 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.persistance;
+
+import co.cask.cdap.api.common.Bytes;
+import co.cask.cdap.api.dataset.DatasetProperties;
+import co.cask.cdap.api.dataset.lib.KeyValueTable;
+import co.cask.cdap.api.dataset.table.Table;
+import org.openecomp.dcae.apod.analytics.tca.threshold.TCAThresholdSketchCheckpoint;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import static org.openecomp.dcae.apod.analytics.common.CDAPComponentsConstants.TCA_FIXED_THRESHOLD_SKETCH_DESCRIPTION_TABLE;
+
+/**
+ * Checkpoints percentile threshold quantile sketch windows in TCA Threshold Sketch Table. Row key is the 8 byte
+ * value key of the window. Rows of reporting entities which stop sending messages expire after table TTL
+ */
+public class TCAThresholdSketchPersister implements TCAThresholdSketchCheckpoint {
+
+  private final KeyValueTable thresholdSketchTable;
+
+  public TCAThresholdSketchPersister(final KeyValueTable thresholdSketchTable) {
+    this.thresholdSketchTable = thresholdSketchTable;
+  }
+
+  @Nullable
+  @Override
+  public byte[] load(final long key) {
+    return thresholdSketchTable.read(Bytes.toBytes(key));
+  }
+
+  @Override
+  public void save(final long key, @Nonnull final byte[] serializedWindow) {
+    thresholdSketchTable.write(Bytes.toBytes(key), serializedWindow);
+  }
+
+  /**
+   * Create TCA Threshold Sketch Table Properties
+   *
+   * @param timeToLiveSeconds Threshold Sketch Table time to live in seconds
+   * @return Threshold Sketch table properties
+   */
+  public static DatasetProperties getDatasetProperties(final int timeToLiveSeconds) {
+    return DatasetProperties.builder()
+        .add(Table.PROPERTY_TTL, timeToLiveSeconds)
+        .setDescription(TCA_FIXED_THRESHOLD_SKETCH_DESCRIPTION_TABLE)
+        .build();
+  }
+
+}
@@ -0,0 +1,173 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.persistance;
+
+import org.apache.hadoop.io.Writable;
+import org.apache.hadoop.io.WritableUtils;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.Serializable;
+
+/**
+ * TCA Threshold Violation Stats is an Entity which is used to persist violation counts and top offending reporting
+ * entities of a policy threshold in a stats window of a calculator instance in Threshold Violation Stats Table
+ */
+public class TCAThresholdViolationStatsEntity implements Writable, Serializable {
+
+    private static final long serialVersionUID = 2853105948410624417L;
+
+    private long windowStartTS;
+    private int flowletInstance;
+    // start time of calculator instance run - stats saved before an instance restart are kept in their own rows
+    private long runStartTS;
+    private String functionalRole;
+    private String closedLoopControlName;
+    private String thresholdPath;
+    private String thresholdSeverity;
+    private long violationCount;
+    private long alertCount;
+    // top offending reporting entities as json array of item counts along with sketch min count used for merging
+    private String topOffenders;
+    private long topOffendersMinCount;
+
+    public TCAThresholdViolationStatsEntity() {
+    }
+
+    public long getWindowStartTS() {
+        return windowStartTS;
+    }
+
+    public void setWindowStartTS(long windowStartTS) {
+        this.windowStartTS = windowStartTS;
+    }
+
+    public int getFlowletInstance() {
+        return flowletInstance;
+    }
+
+    public void setFlowletInstance(int flowletInstance) {
+        this.flowletInstance = flowletInstance;
+    }
+
+    public long getRunStartTS() {
+        return runStartTS;
+    }
+
+    public void setRunStartTS(long runStartTS) {
+        this.runStartTS = runStartTS;
+    }
+
+    public String getFunctionalRole() {
+        return functionalRole;
+    }
+
+    public void setFunctionalRole(String functionalRole) {
+        this.functionalRole = functionalRole;
+    }
+
+    public String getClosedLoopControlName() {
+        return closedLoopControlName;
+    }
+
+    public void setClosedLoopControlName(String closedLoopControlName) {
+        this.closedLoopControlName = closedLoopControlName;
+    }
+
+    public String getThresholdPath() {
+        return thresholdPath;
+    }
+
+    public void setThresholdPath(String thresholdPath) {
+        this.thresholdPath = thresholdPath;
+    }
+
+    public String getThresholdSeverity() {
+        return thresholdSeverity;
+    }
+
+    public void setThresholdSeverity(String thresholdSeverity) {
+        this.thresholdSeverity = thresholdSeverity;
+    }
+
+    public long getViolationCount() {
+        return violationCount;
+    }
+
+    public void setViolationCount(long violationCount) {
+        this.violationCount = violationCount;
+    }
+
+    public long getAlertCount() {
+        return alertCount;
+    }
+
+    public void setAlertCount(long alertCount) {
+        this.alertCount = alertCount;
+    }
+
+    public String getTopOffenders() {
+        return topOffenders;
+    }
+
+    public void setTopOffenders(String topOffenders) {
+        this.topOffenders = topOffenders;
+    }
+
+    public long getTopOffendersMinCount() {
+        return topOffendersMinCount;
+    }
+
+    public void setTopOffendersMinCount(long topOffendersMinCount) {
+        this.topOffendersMinCount = topOffendersMinCount;
+    }
+
+    @Override
+    public void write(DataOutput dataOutput) throws IOException {
+        WritableUtils.writeVLong(dataOutput, windowStartTS);
+        WritableUtils.writeVInt(dataOutput, flowletInstance);
+        WritableUtils.writeVLong(dataOutput, runStartTS);
+        WritableUtils.writeString(dataOutput, functionalRole);
+        WritableUtils.writeString(dataOutput, closedLoopControlName);
+        WritableUtils.writeString(dataOutput, thresholdPath);
+        WritableUtils.writeString(dataOutput, thresholdSeverity);
+        WritableUtils.writeVLong(dataOutput, violationCount);
+        WritableUtils.writeVLong(dataOutput, alertCount);
+        WritableUtils.writeString(dataOutput, topOffenders);
+        WritableUtils.writeVLong(dataOutput, topOffendersMinCount);
+    }
+
+    @Override
+    public void readFields(DataInput dataInput) throws IOException {
+        windowStartTS = WritableUtils.readVLong(dataInput);
+        flowletInstance = WritableUtils.readVInt(dataInput);
+        runStartTS = WritableUtils.readVLong(dataInput);
+        functionalRole = WritableUtils.readString(dataInput);
+        closedLoopControlName = WritableUtils.readString(dataInput);
+        thresholdPath = WritableUtils.readString(dataInput);
+        thresholdSeverity = WritableUtils.readString(dataInput);
+        violationCount = WritableUtils.readVLong(dataInput);
+        alertCount = WritableUtils.readVLong(dataInput);
+        topOffenders = WritableUtils.readString(dataInput);
+        topOffendersMinCount = WritableUtils.readVLong(dataInput);
+    }
+}
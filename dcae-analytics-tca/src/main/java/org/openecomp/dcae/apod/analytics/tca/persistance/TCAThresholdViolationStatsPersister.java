@@ -0,0 +1,198 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.persistance;
+
+import co.cask.cdap.api.data.schema.Schema;
+import co.cask.cdap.api.data.schema.UnsupportedTypeException;
+import co.cask.cdap.api.dataset.DatasetProperties;
+import co.cask.cdap.api.dataset.lib.IndexedTable;
+import co.cask.cdap.api.dataset.lib.ObjectMappedTable;
+import co.cask.cdap.api.dataset.lib.ObjectMappedTableProperties;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openecomp.dcae.apod.analytics.common.exception.DCAEAnalyticsRuntimeException;
+import org.openecomp.dcae.apod.analytics.tca.threshold.TCASpaceSavingSketch;
+import org.openecomp.dcae.apod.analytics.tca.threshold.TCAThresholdViolationStats;
+import org.openecomp.dcae.apod.analytics.tca.threshold.TCAThresholdViolationStatsSink;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import static org.openecomp.dcae.apod.analytics.common.CDAPComponentsConstants.TCA_FIXED_THRESHOLD_VIOLATION_STATS_DESCRIPTION_TABLE;
+import static org.openecomp.dcae.apod.analytics.common.utils.PersistenceUtils.TABLE_ROW_KEY_COLUMN_NAME;
+
+/**
+ * Saves threshold violation stats of a calculator instance in TCA Threshold Violation Stats Table. Row key starts
+ * with stats window start time followed by calculator instance, calculator instance run start time and threshold,
+ * so stats of a time range can be read by a single row key range scan. Each save of a window overwrites previous
+ * row of same window, instance run and threshold. A restarted calculator instance starts counting from zero again
+ * so it saves its stats in new rows instead of overwriting rows saved before the restart - all rows of a window
+ * are merged when stats are queried. Rows expire after table TTL
+ */
+public class TCAThresholdViolationStatsPersister implements TCAThresholdViolationStatsSink {
+
+  private static final Logger LOG = LoggerFactory.getLogger(TCAThresholdViolationStatsPersister.class);
+
+  private static final ObjectMapper TOP_OFFENDERS_OBJECT_MAPPER = new ObjectMapper();
+  private static final TypeReference<List<TCASpaceSavingSketch.ItemCount>> TOP_OFFENDERS_TYPE =
+      new TypeReference<List<TCASpaceSavingSketch.ItemCount>>() {
+      };
+
+  private final ObjectMappedTable<TCAThresholdViolationStatsEntity> thresholdViolationStatsTable;
+  private final int flowletInstance;
+  private final long runStartMS;
+
+  public TCAThresholdViolationStatsPersister(
+      final ObjectMappedTable<TCAThresholdViolationStatsEntity> thresholdViolationStatsTable,
+      final int flowletInstance) {
+    this.thresholdViolationStatsTable = thresholdViolationStatsTable;
+    this.flowletInstance = flowletInstance;
+    this.runStartMS = System.currentTimeMillis();
+  }
+
+  @Override
+  public void save(final long windowStartMS,
+                   @Nonnull final Collection<TCAThresholdViolationStats.ThresholdStats> thresholdStats) {
+    for (TCAThresholdViolationStats.ThresholdStats stats : thresholdStats) {
+      thresholdViolationStatsTable.write(createRowKey(windowStartMS, flowletInstance, runStartMS, stats),
+          createThresholdViolationStatsEntity(windowStartMS, flowletInstance, runStartMS, stats));
+    }
+    LOG.debug("Finished persisting {} threshold violation stats of window: {}", thresholdStats.size(),
+        windowStartMS);
+  }
+
+  /**
+   * Creates Threshold Violation Stats entity which is saved in Threshold Violation Stats Table
+   *
+   * @param windowStartMS stats window start time
+   * @param flowletInstance calculator instance id
+   * @param runStartMS start time of calculator instance run
+   * @param thresholdStats threshold stats
+   * @return threshold violation stats entity
+   */
+  public static TCAThresholdViolationStatsEntity createThresholdViolationStatsEntity(
+      final long windowStartMS, final int flowletInstance, final long runStartMS,
+      final TCAThresholdViolationStats.ThresholdStats thresholdStats) {
+    final TCAThresholdViolationStatsEntity statsEntity = new TCAThresholdViolationStatsEntity();
+    statsEntity.setWindowStartTS(windowStartMS);
+    statsEntity.setFlowletInstance(flowletInstance);
+    statsEntity.setRunStartTS(runStartMS);
+    statsEntity.setFunctionalRole(thresholdStats.getFunctionalRole());
+    statsEntity.setClosedLoopControlName(thresholdStats.getClosedLoopControlName());
+    statsEntity.setThresholdPath(thresholdStats.getFieldPath());
+    statsEntity.setThresholdSeverity(thresholdStats.getSeverity());
+    statsEntity.setViolationCount(thresholdStats.getViolationCount());
+    statsEntity.setAlertCount(thresholdStats.getAlertCount());
+    statsEntity.setTopOffenders(encodeTopOffenders(thresholdStats.getTopOffenders().getItemCounts()));
+    statsEntity.setTopOffendersMinCount(thresholdStats.getTopOffenders().getMinCount());
+    return statsEntity;
+  }
+
+  /**
+   * Creates Row Key for Threshold Violation Stats Table
+   *
+   * @param windowStartMS stats window start time
+   * @param flowletInstance calculator instance id
+   * @param runStartMS start time of calculator instance run
+   * @param thresholdStats threshold stats
+   * @return row key
+   */
+  public static String createRowKey(final long windowStartMS, final int flowletInstance, final long runStartMS,
+                                    final TCAThresholdViolationStats.ThresholdStats thresholdStats) {
+    return String.format("%s:%d:%d:%s:%s:%s:%s", createWindowRowKey(windowStartMS), flowletInstance, runStartMS,
+        thresholdStats.getFunctionalRole(), thresholdStats.getClosedLoopControlName(),
+        thresholdStats.getFieldPath(), thresholdStats.getSeverity());
+  }
+
+  /**
+   * Creates Row Key prefix of all stats rows of windows starting at given time. Can be used as start and stop
+   * row key of scans
+   *
+   * @param windowStartMS stats window start time
+   * @return window row key prefix
+   */
+  public static String createWindowRowKey(final long windowStartMS) {
+    return String.format("%025d", windowStartMS);
+  }
+
+  /**
+   * Encodes top offenders as json array
+   *
+   * @param topOffenders top offenders item counts
+   * @return json array of top offenders
+   */
+  public static String encodeTopOffenders(final List<TCASpaceSavingSketch.ItemCount> topOffenders) {
+    try {
+      return TOP_OFFENDERS_OBJECT_MAPPER.writeValueAsString(topOffenders);
+    } catch (IOException e) {
+      final String errorMessage = "Unable to encode threshold violation stats top offenders";
+      throw new DCAEAnalyticsRuntimeException(errorMessage, LOG, e);
+    }
+  }
+
+  /**
+   * Decodes top offenders json array
+   *
+   * @param topOffenders json array of top offenders - may be null
+   * @return top offenders item counts
+   */
+  public static List<TCASpaceSavingSketch.ItemCount> decodeTopOffenders(@Nullable final String topOffenders) {
+    if (topOffenders == null) {
+      return Collections.emptyList();
+    }
+    try {
+      return TOP_OFFENDERS_OBJECT_MAPPER.readValue(topOffenders, TOP_OFFENDERS_TYPE);
+    } catch (IOException e) {
+      final String errorMessage = "Unable to decode threshold violation stats top offenders: " + topOffenders;
+      throw new DCAEAnalyticsRuntimeException(errorMessage, LOG, e);
+    }
+  }
+
+  /**
+   * Creates {@link DatasetProperties} for Threshold Violation Stats Table
+   *
+   * @param timeToLiveSeconds Threshold Violation Stats Table time to live in seconds
+   * @return Threshold Violation Stats table properties
+   */
+  public static DatasetProperties getDatasetProperties(final int timeToLiveSeconds) {
+    try {
+      return ObjectMappedTableProperties.builder()
+          .setType(TCAThresholdViolationStatsEntity.class)
+          .setRowKeyExploreName(TABLE_ROW_KEY_COLUMN_NAME)
+          .setRowKeyExploreType(Schema.Type.STRING)
+          .add(IndexedTable.PROPERTY_TTL, timeToLiveSeconds)
+          .setDescription(TCA_FIXED_THRESHOLD_VIOLATION_STATS_DESCRIPTION_TABLE)
+          .build();
+    } catch (UnsupportedTypeException e) {
+      final String errorMessage = "Unable to convert TCAThresholdViolationStatsEntity class to Schema";
+      throw new DCAEAnalyticsRuntimeException(errorMessage, LOG, new
+          IllegalArgumentException(errorMessage, e));
+    }
+  }
+
+}
@@ -38,6 +38,14 @@ public class TCAVESAlertEntity implements Writable, Serializable {
 
     private long creationTS;
     private String alertMessage;
+    // alert index columns - used to coalesce alerts without parsing alert message
+    private String closedLoopControlName;
+    private String target;
+    private String severity;
+    // pipeline timestamps - used to measure event freshness and alert latency when alert is published
+    private Long eventTimestampMS;
+    private Long fetchTimestampMS;
+    private Long alertTimestampMS;
 
     public TCAVESAlertEntity() {
     }
@@ -47,6 +55,15 @@ public class TCAVESAlertEntity implements Writable, Serializable {
         this.alertMessage = alertMessage;
     }
 
+    public TCAVESAlertEntity(long creationTS, String alertMessage, String closedLoopControlName, String target,
+                             String severity) {
+        this.creationTS = creationTS;
+        this.alertMessage = alertMessage;
+        this.closedLoopControlName = closedLoopControlName;
+        this.target = target;
+        this.severity = severity;
+    }
+
     public long getCreationTS() {
         return creationTS;
     }
@@ -63,15 +80,86 @@ public class TCAVESAlertEntity implements Writable, Serializable {
         this.alertMessage = alertMessage;
     }
 
+    public String getClosedLoopControlName() {
+        return closedLoopControlName;
+    }
+
+    public void setClosedLoopControlName(String closedLoopControlName) {
+        this.closedLoopControlName = closedLoopControlName;
+    }
+
+    public String getTarget() {
+        return target;
+    }
+
+    public void setTarget(String target) {
+        this.target = target;
+    }
+
+    public String getSeverity() {
+        return severity;
+    }
+
+    public void setSeverity(String severity) {
+        this.severity = severity;
+    }
+
+    public Long getEventTimestampMS() {
+        return eventTimestampMS;
+    }
+
+    public void setEventTimestampMS(Long eventTimestampMS) {
+        this.eventTimestampMS = eventTimestampMS;
+    }
+
+    public Long getFetchTimestampMS() {
+        return fetchTimestampMS;
+    }
+
+    public void setFetchTimestampMS(Long fetchTimestampMS) {
+        this.fetchTimestampMS = fetchTimestampMS;
+    }
+
+    public Long getAlertTimestampMS() {
+        return alertTimestampMS;
+    }
+
+    public void setAlertTimestampMS(Long alertTimestampMS) {
+        this.alertTimestampMS = alertTimestampMS;
+    }
+
     @Override
     public void write(DataOutput dataOutput) throws IOException {
         WritableUtils.writeVLong(dataOutput, creationTS);
         WritableUtils.writeString(dataOutput, alertMessage);
+        WritableUtils.writeString(dataOutput, closedLoopControlName);
+        WritableUtils.writeString(dataOutput, target);
+        WritableUtils.writeString(dataOutput, severity);
+        writeTimestamp(dataOutput, eventTimestampMS);
+        writeTimestamp(dataOutput, fetchTimestampMS);
+        writeTimestamp(dataOutput, alertTimestampMS);
     }
 
     @Override
     public void readFields(DataInput dataInput) throws IOException {
         creationTS = WritableUtils.readVLong(dataInput);
         alertMessage = WritableUtils.readString(dataInput);
+        closedLoopControlName = WritableUtils.readString(dataInput);
+        target = WritableUtils.readString(dataInput);
+        severity = WritableUtils.readString(dataInput);
+        eventTimestampMS = readTimestamp(dataInput);
+        fetchTimestampMS = readTimestamp(dataInput);
+        alertTimestampMS = readTimestamp(dataInput);
+    }
+
+    private static void writeTimestamp(DataOutput dataOutput, Long timestampMS) throws IOException {
+        dataOutput.writeBoolean(timestampMS != null);
+        if (timestampMS != null) {
+            WritableUtils.writeVLong(dataOutput, timestampMS);
+        }
+    }
+
+    private static Long readTimestamp(DataInput dataInput) throws IOException {
+        return dataInput.readBoolean() ? WritableUtils.readVLong(dataInput) : null;
     }
 }
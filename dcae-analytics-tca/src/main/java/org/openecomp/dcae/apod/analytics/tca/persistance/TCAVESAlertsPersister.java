@@ -28,6 +28,7 @@ import co.cask.cdap.api.dataset.lib.ObjectMappedTable;
 import co.cask.cdap.api.dataset.lib.ObjectMappedTableProperties;
 import org.apache.commons.lang3.StringEscapeUtils;
 import org.openecomp.dcae.apod.analytics.common.exception.DCAEAnalyticsRuntimeException;
+import org.openecomp.dcae.apod.analytics.tca.record.TCAVESAlertRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -61,6 +62,42 @@ public abstract class TCAVESAlertsPersister {
     LOG.debug("Finished persisting VES Alert message ID: {} in VES Alerts table.", rowKey);
   }
 
+  /**
+   * Persists Alert Message along with its closed loop control name, target and severity index columns to
+   * Alerts Table
+   *
+   * @param alertRecord alert record
+   * @param tcaVESAlertTable alert Table Name
+   */
+  public static void persist(final TCAVESAlertRecord alertRecord,
+      final ObjectMappedTable<TCAVESAlertEntity> tcaVESAlertTable) {
+    final Date currentDate = new Date();
+    final TCAVESAlertEntity alertEntity = createAlertEntity(alertRecord, currentDate);
+    // row key is same as current timestamp
+    final String rowKey = createRowKey(currentDate);
+    tcaVESAlertTable.write(rowKey, alertEntity);
+
+    LOG.debug("Finished persisting VES Alert message ID: {} in VES Alerts table.", rowKey);
+  }
+
+  /**
+   * Creates Alert entity which is saved in Alerts Table from alert record
+   *
+   * @param alertRecord alert record
+   * @param date alert creation date
+   * @return alert entity
+   */
+  public static TCAVESAlertEntity createAlertEntity(final TCAVESAlertRecord alertRecord, final Date date) {
+    final String severity = alertRecord.getSeverity() == null ? null : alertRecord.getSeverity().name();
+    final TCAVESAlertEntity alertEntity = new TCAVESAlertEntity(date.getTime(),
+        StringEscapeUtils.unescapeJson(alertRecord.getAlertMessage()), alertRecord.getClosedLoopControlName(),
+        alertRecord.getTarget(), severity);
+    alertEntity.setEventTimestampMS(alertRecord.getEventTimestampMS());
+    alertEntity.setFetchTimestampMS(alertRecord.getFetchTimestampMS());
+    alertEntity.setAlertTimestampMS(alertRecord.getAlertTimestampMS());
+    return alertEntity;
+  }
+
 
   /**
    * Creates {@link DatasetProperties} for Alerts Table
@@ -83,7 +83,7 @@ public class TCACEFJsonProcessor extends AbstractMessageProcessor<TCACEFProcesso
 
         // try parsing the cef message
         try {
-            final EventListener eventListener = TCAUtils.readValue(trimmedCEFMessage, EventListener.class);
+            final EventListener eventListener = TCAUtils.readEventListener(trimmedCEFMessage);
             setFinishedProcessingMessage("CEF JSON to Event Listener Conversion Successful", processorContext);
             // set new Event Listener in the Processor Context
             processorContext.setCEFEventListener(eventListener);
@@ -20,23 +20,22 @@
 
 package org.openecomp.dcae.apod.analytics.tca.processor;
 
-import com.google.common.base.Optional;
-import com.google.common.collect.Table;
 import org.openecomp.dcae.apod.analytics.common.exception.MessageProcessingException;
+import org.openecomp.dcae.apod.analytics.model.domain.cef.CommonEventHeader;
 import org.openecomp.dcae.apod.analytics.model.domain.cef.EventListener;
 import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.MetricsPerFunctionalRole;
 import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.TCAPolicy;
 import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.Threshold;
+import org.openecomp.dcae.apod.analytics.tca.threshold.TCAFieldValuesProvider;
+import org.openecomp.dcae.apod.analytics.tca.threshold.TCAFunctionalRoleThresholds;
+import org.openecomp.dcae.apod.analytics.tca.threshold.TCAPolicyThresholds;
+import org.openecomp.dcae.apod.analytics.tca.threshold.TCAThresholdStateStore;
 import org.openecomp.dcae.apod.analytics.tca.utils.TCAUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
-
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 /**
  *<p>
@@ -53,6 +52,43 @@ public class TCACEFPolicyThresholdsProcessor extends AbstractTCAECEFPolicyProces
 
     private static final Logger LOG = LoggerFactory.getLogger(TCACEFPolicyThresholdsProcessor.class);
 
+    private final TCAPolicyThresholds policyThresholds;
+    private final transient TCAThresholdStateStore thresholdStateStore;
+    // thresholds compiled from processor context TCA Policy when no pre compiled thresholds were given
+    private transient TCAPolicy compiledTCAPolicy;
+    private transient TCAPolicyThresholds compiledPolicyThresholds;
+
+    /**
+     * Creates processor which compiles thresholds of processor context TCA Policy. Thresholds are compiled again
+     * only if processor is applied to a context with a different TCA Policy
+     */
+    public TCACEFPolicyThresholdsProcessor() {
+        this(null, null);
+    }
+
+    /**
+     * Creates processor which uses given pre compiled thresholds
+     *
+     * @param policyThresholds pre compiled thresholds of processor context TCA Policy
+     */
+    public TCACEFPolicyThresholdsProcessor(@Nonnull final TCAPolicyThresholds policyThresholds) {
+        this(policyThresholds, null);
+    }
+
+    /**
+     * Creates processor which uses given pre compiled thresholds and evaluates delta and rate thresholds using
+     * counter values of previous messages kept in given state store
+     *
+     * @param policyThresholds pre compiled thresholds of processor context TCA Policy - if null thresholds are
+     * compiled from processor context TCA Policy
+     * @param thresholdStateStore previous counter values of reporting entities
+     */
+    public TCACEFPolicyThresholdsProcessor(@Nullable final TCAPolicyThresholds policyThresholds,
+                                           @Nullable final TCAThresholdStateStore thresholdStateStore) {
+        this.policyThresholds = policyThresholds;
+        this.thresholdStateStore = thresholdStateStore;
+    }
+
     @Override
     public TCACEFProcessorContext preProcessor(@Nonnull TCACEFProcessorContext processorContext) {
         // validates Domain and Functional Role are present
@@ -80,45 +116,41 @@ public class TCACEFPolicyThresholdsProcessor extends AbstractTCAECEFPolicyProces
 
         // Determine domain and functional Role
         final EventListener eventListener = processorContext.getCEFEventListener();
-        final String functionalRole = eventListener.getEvent().getCommonEventHeader().getFunctionalRole();
+        final CommonEventHeader commonEventHeader = eventListener.getEvent().getCommonEventHeader();
+        final String functionalRole = commonEventHeader.getFunctionalRole();
 
-        // Get Table containing Functional Role and Thresholds Field Path
+        // Get pre compiled thresholds for the functional role
         final TCAPolicy tcaPolicy = processorContext.getTCAPolicy();
-        final Table<String, String, List<Threshold>> functionalRoleFieldPathsTable =
-                TCAUtils.getPolicyFRThresholdsTableSupplier(tcaPolicy).get();
-
-        // Get Policy Field Paths for that functional Role
-        final Map<String, List<Threshold>> policyFieldPathsMap = functionalRoleFieldPathsTable.row(functionalRole);
-        final Set<String> policyFieldPaths = policyFieldPathsMap.keySet();
-
-        // Get Json Values for Policy Fields
-        final Map<String, List<Long>> messageFieldValuesMap = TCAUtils.getJsonPathValue(cefMessage, policyFieldPaths);
-
-        // Determine all violated thresholds per message field Path
-        final Map<String, Threshold> violatedThresholdsMap = new HashMap<>();
-        for (Map.Entry<String, List<Long>> messageFieldValuesMapEntry : messageFieldValuesMap.entrySet()) {
-            final String messageFieldPath = messageFieldValuesMapEntry.getKey();
-            final List<Threshold> messageFieldAssociatedPolicyThresholds = policyFieldPathsMap.get(messageFieldPath);
-            if (messageFieldAssociatedPolicyThresholds != null) {
-                final Optional<Threshold> thresholdOptional = TCAUtils.thresholdCalculator(
-                        messageFieldValuesMapEntry.getValue(), messageFieldAssociatedPolicyThresholds);
-                if (thresholdOptional.isPresent()) {
-                    violatedThresholdsMap.put(messageFieldPath, thresholdOptional.get());
-                }
+        final TCAFunctionalRoleThresholds functionalRoleThresholds =
+                getPolicyThresholds(tcaPolicy).getFunctionalRoleThresholds(functionalRole);
+
+        Threshold maxSeverityThresholdViolation = null;
+
+        if (functionalRoleThresholds != null && functionalRoleThresholds.getFieldPathCount() > 0) {
+
+            // Values for Policy Fields are extracted only when a threshold for that field needs to be applied.
+            // vNic usage counters are read from columns of parsed event listener without json path evaluation
+            final TCAFieldValuesProvider messageFieldValuesProvider =
+                    TCAUtils.createFieldValuesProvider(cefMessage, eventListener, functionalRoleThresholds);
+
+            // Apply thresholds in severity order - first violated threshold is the max severity violation.
+            // Delta and rate thresholds are evaluated against previous message of the same reporting entity
+            final int violatedThresholdIndex = functionalRoleThresholds.evaluateInSeverityOrder(
+                    messageFieldValuesProvider, thresholdStateStore, commonEventHeader.getReportingEntityName(),
+                    commonEventHeader.getLastEpochMicrosec());
+            if (violatedThresholdIndex != TCAFunctionalRoleThresholds.NO_VIOLATION) {
+                maxSeverityThresholdViolation = functionalRoleThresholds.getThreshold(violatedThresholdIndex);
             }
         }
 
         // No threshold were violated
-        if (violatedThresholdsMap.isEmpty()) {
+        if (maxSeverityThresholdViolation == null) {
 
             final String terminationMessage = "No Policy Threshold violated by the VES CEF Message.";
             setTerminatingProcessingMessage(terminationMessage, processorContext);
 
         } else {
 
-            // If there are policy violations then determine max priority violation
-            final Threshold maxSeverityThresholdViolation =
-                    TCAUtils.prioritizeThresholdViolations(violatedThresholdsMap);
             final MetricsPerFunctionalRole violatedMetrics = TCAUtils.createViolatedMetrics(tcaPolicy,
                     maxSeverityThresholdViolation, functionalRole);
             // attach policy violation to processor Context
@@ -132,4 +164,15 @@ public class TCACEFPolicyThresholdsProcessor extends AbstractTCAECEFPolicyProces
 
         return processorContext;
     }
+
+    private TCAPolicyThresholds getPolicyThresholds(final TCAPolicy tcaPolicy) {
+        if (policyThresholds != null) {
+            return policyThresholds;
+        }
+        if (compiledPolicyThresholds == null || compiledTCAPolicy != tcaPolicy) {
+            compiledPolicyThresholds = new TCAPolicyThresholds(tcaPolicy);
+            compiledTCAPolicy = tcaPolicy;
+        }
+        return compiledPolicyThresholds;
+    }
 }
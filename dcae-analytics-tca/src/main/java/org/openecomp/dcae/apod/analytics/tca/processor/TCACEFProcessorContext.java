@@ -37,6 +37,7 @@ public class TCACEFProcessorContext extends AbstractProcessorContext {
     private final TCAPolicy tcaPolicy;
     private EventListener eventListener;
     private MetricsPerFunctionalRole metricsPerFunctionalRole;
+    private Long fetchTimestampMS;
 
     public TCACEFProcessorContext(final String message, boolean canProcessingContinue, final TCAPolicy tcaPolicy) {
         super(message, canProcessingContinue);
@@ -100,4 +101,22 @@ public class TCACEFProcessorContext extends AbstractProcessorContext {
         this.metricsPerFunctionalRole = metricsPerFunctionalRole;
     }
 
+    /**
+     * Returns time in milli seconds at which CEF Message was fetched from DMaaP MR if known else null
+     *
+     * @return CEF Message fetch time
+     */
+    public Long getFetchTimestampMS() {
+        return fetchTimestampMS;
+    }
+
+    /**
+     * Sets time in milli seconds at which CEF Message was fetched from DMaaP MR
+     *
+     * @param fetchTimestampMS CEF Message fetch time
+     */
+    public void setFetchTimestampMS(final Long fetchTimestampMS) {
+        this.fetchTimestampMS = fetchTimestampMS;
+    }
+
 }
@@ -0,0 +1,229 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.record;
+
+import com.google.common.base.Objects;
+import org.apache.hadoop.io.Writable;
+import org.apache.hadoop.io.WritableUtils;
+import org.openecomp.dcae.apod.analytics.common.exception.DCAEAnalyticsRuntimeException;
+import org.openecomp.dcae.apod.analytics.model.domain.cef.EventSeverity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * <p>
+ *     Compact binary record which is passed from TCA Threshold Violation Calculator Flowlet to TCA VES Alerts Sink
+ *     Flowlet.
+ * </p>
+ * <p>
+ *     Record carries closed loop control name, target and severity of the violated threshold along with alert
+ *     message json. These fields are saved as alert index columns in alerts table so that alerts can be coalesced
+ *     by TCA DMaaP MR Publisher without parsing alert message json. Record also carries VES event, fetch and alert
+ *     creation times which are used to measure event freshness and pipeline latency until alert is published
+ * </p>
+ */
+public class TCAVESAlertRecord implements Writable, Serializable {
+
+    private static final long serialVersionUID = 6271354938715540813L;
+
+    private static final Logger LOG = LoggerFactory.getLogger(TCAVESAlertRecord.class);
+
+    // timestamp flags
+    private static final int EVENT_TIMESTAMP_PRESENT_FLAG = 1;
+    private static final int FETCH_TIMESTAMP_PRESENT_FLAG = 1 << 1;
+    private static final int ALERT_TIMESTAMP_PRESENT_FLAG = 1 << 2;
+
+    private String closedLoopControlName;
+    private String target;
+    private EventSeverity severity;
+    private String alertMessage;
+    private Long eventTimestampMS;
+    private Long fetchTimestampMS;
+    private Long alertTimestampMS;
+
+    public TCAVESAlertRecord() {
+    }
+
+    public TCAVESAlertRecord(@Nullable final String closedLoopControlName, @Nullable final String target,
+                             @Nullable final EventSeverity severity, @Nonnull final String alertMessage) {
+        this(closedLoopControlName, target, severity, alertMessage, null, null, null);
+    }
+
+    public TCAVESAlertRecord(@Nullable final String closedLoopControlName, @Nullable final String target,
+                             @Nullable final EventSeverity severity, @Nonnull final String alertMessage,
+                             @Nullable final Long eventTimestampMS, @Nullable final Long fetchTimestampMS,
+                             @Nullable final Long alertTimestampMS) {
+        this.closedLoopControlName = closedLoopControlName;
+        this.target = target;
+        this.severity = severity;
+        this.alertMessage = alertMessage;
+        this.eventTimestampMS = eventTimestampMS;
+        this.fetchTimestampMS = fetchTimestampMS;
+        this.alertTimestampMS = alertTimestampMS;
+    }
+
+    /**
+     * Decodes {@link TCAVESAlertRecord} from its compact binary representation
+     *
+     * @param recordBytes record bytes created by {@link #toBytes()}
+     *
+     * @return decoded TCA VES Alert Record
+     */
+    public static TCAVESAlertRecord fromBytes(@Nonnull final byte[] recordBytes) {
+        final TCAVESAlertRecord alertRecord = new TCAVESAlertRecord();
+        try {
+            alertRecord.readFields(new DataInputStream(new ByteArrayInputStream(recordBytes)));
+        } catch (IOException e) {
+            final String errorMessage = "Unable to decode TCA VES Alert Record";
+            throw new DCAEAnalyticsRuntimeException(errorMessage, LOG, e);
+        }
+        return alertRecord;
+    }
+
+    /**
+     * Encodes record to its compact binary representation
+     *
+     * @return record bytes
+     */
+    public byte[] toBytes() {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream(alertMessage.length() + 128);
+        try {
+            write(new DataOutputStream(outputStream));
+        } catch (IOException e) {
+            final String errorMessage = "Unable to encode TCA VES Alert Record";
+            throw new DCAEAnalyticsRuntimeException(errorMessage, LOG, e);
+        }
+        return outputStream.toByteArray();
+    }
+
+    public String getClosedLoopControlName() {
+        return closedLoopControlName;
+    }
+
+    public String getTarget() {
+        return target;
+    }
+
+    public EventSeverity getSeverity() {
+        return severity;
+    }
+
+    public String getAlertMessage() {
+        return alertMessage;
+    }
+
+    /**
+     * Returns VES event time in milli seconds derived from Common Event Header epoch fields
+     *
+     * @return event time or null if not known
+     */
+    @Nullable
+    public Long getEventTimestampMS() {
+        return eventTimestampMS;
+    }
+
+    /**
+     * Returns time in milli seconds at which VES message was fetched from DMaaP MR
+     *
+     * @return fetch time or null if not known
+     */
+    @Nullable
+    public Long getFetchTimestampMS() {
+        return fetchTimestampMS;
+    }
+
+    /**
+     * Returns time in milli seconds at which alert was created by calculator
+     *
+     * @return alert creation time or null if not known
+     */
+    @Nullable
+    public Long getAlertTimestampMS() {
+        return alertTimestampMS;
+    }
+
+    @Override
+    public void write(DataOutput dataOutput) throws IOException {
+        WritableUtils.writeString(dataOutput, closedLoopControlName);
+        WritableUtils.writeString(dataOutput, target);
+        // 0 indicates severity is not present
+        WritableUtils.writeVInt(dataOutput, severity == null ? 0 : severity.ordinal() + 1);
+        WritableUtils.writeString(dataOutput, alertMessage);
+        int flags = 0;
+        if (eventTimestampMS != null) {
+            flags |= EVENT_TIMESTAMP_PRESENT_FLAG;
+        }
+        if (fetchTimestampMS != null) {
+            flags |= FETCH_TIMESTAMP_PRESENT_FLAG;
+        }
+        if (alertTimestampMS != null) {
+            flags |= ALERT_TIMESTAMP_PRESENT_FLAG;
+        }
+        dataOutput.writeByte(flags);
+        if (eventTimestampMS != null) {
+            WritableUtils.writeVLong(dataOutput, eventTimestampMS);
+        }
+        if (fetchTimestampMS != null) {
+            WritableUtils.writeVLong(dataOutput, fetchTimestampMS);
+        }
+        if (alertTimestampMS != null) {
+            WritableUtils.writeVLong(dataOutput, alertTimestampMS);
+        }
+    }
+
+    @Override
+    public void readFields(DataInput dataInput) throws IOException {
+        closedLoopControlName = WritableUtils.readString(dataInput);
+        target = WritableUtils.readString(dataInput);
+        final int severityValue = WritableUtils.readVInt(dataInput);
+        severity = severityValue == 0 ? null : EventSeverity.values()[severityValue - 1];
+        alertMessage = WritableUtils.readString(dataInput);
+        final int flags = dataInput.readByte();
+        eventTimestampMS = (flags & EVENT_TIMESTAMP_PRESENT_FLAG) != 0 ? WritableUtils.readVLong(dataInput) : null;
+        fetchTimestampMS = (flags & FETCH_TIMESTAMP_PRESENT_FLAG) != 0 ? WritableUtils.readVLong(dataInput) : null;
+        alertTimestampMS = (flags & ALERT_TIMESTAMP_PRESENT_FLAG) != 0 ? WritableUtils.readVLong(dataInput) : null;
+    }
+
+    @Override
+    public String toString() {
+        return Objects.toStringHelper(this)
+                .add("closedLoopControlName", closedLoopControlName)
+                .add("target", target)
+                .add("severity", severity)
+                .add("alertMessageSize", alertMessage == null ? 0 : alertMessage.length())
+                .add("eventTimestampMS", eventTimestampMS)
+                .add("fetchTimestampMS", fetchTimestampMS)
+                .add("alertTimestampMS", alertTimestampMS)
+                .toString();
+    }
+}
@@ -0,0 +1,406 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.record;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.google.common.base.Charsets;
+import com.google.common.base.Objects;
+import org.apache.hadoop.io.Writable;
+import org.apache.hadoop.io.WritableUtils;
+import org.openecomp.dcae.apod.analytics.common.exception.DCAEAnalyticsRuntimeException;
+import org.openecomp.dcae.apod.analytics.model.domain.cef.CommonEventHeader;
+import org.openecomp.dcae.apod.analytics.model.domain.cef.Event;
+import org.openecomp.dcae.apod.analytics.model.domain.cef.EventListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Arrays;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * <p>
+ *     Compact binary record which is passed between TCA VES Message Router Flowlet and TCA Threshold Violation
+ *     Calculator Flowlet instances when compact flowlet records are enabled.
+ * </p>
+ * <p>
+ *     Record carries VES Message Common Event Header fields which are pre extracted by a streaming scan of
+ *     the message along with raw UTF-8 VES message bytes. Header fields allow calculator flowlet to filter out
+ *     messages which are not applicable to TCA Policy without binding the whole message to {@link EventListener}
+ * </p>
+ * <p>
+ *     Raw message bytes are still carried as every applicable message is saved as is in VES message status table
+ *     and alert messages are created from the full VES event. So messages which pass the header filters are
+ *     still fully parsed by the calculator - record only saves router JSON string decoding and the full parse of
+ *     messages which are not applicable to TCA Policy.
+ * </p>
+ */
+public class TCAVESMessageRecord implements Writable, Serializable {
+
+    private static final long serialVersionUID = 4623190756317125382L;
+
+    private static final Logger LOG = LoggerFactory.getLogger(TCAVESMessageRecord.class);
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    // record flags
+    private static final int HEADER_PRESENT_FLAG = 1;
+    private static final int START_EPOCH_PRESENT_FLAG = 1 << 1;
+    private static final int LAST_EPOCH_PRESENT_FLAG = 1 << 2;
+    private static final int FETCH_TIMESTAMP_PRESENT_FLAG = 1 << 3;
+
+    private boolean headerPresent;
+    private String domain;
+    private String functionalRole;
+    private String reportingEntityName;
+    private Long startEpochMicrosec;
+    private Long lastEpochMicrosec;
+    private Long fetchTimestampMS;
+    private byte[] vesMessageBytes;
+
+    public TCAVESMessageRecord() {
+    }
+
+    /**
+     * Creates a new {@link TCAVESMessageRecord} from raw UTF-8 VES Message bytes. Common Event Header
+     * fields are extracted by a streaming scan which skips all other message sub trees. If header cannot be
+     * extracted record is still created but header fields are marked as absent
+     *
+     * @param vesMessageBytes raw UTF-8 VES message bytes
+     *
+     * @return new TCA VES Message Record
+     */
+    public static TCAVESMessageRecord fromVESMessage(@Nonnull final byte[] vesMessageBytes) {
+        final TCAVESMessageRecord messageRecord = new TCAVESMessageRecord();
+        messageRecord.vesMessageBytes = vesMessageBytes;
+        try {
+            final CommonEventHeader commonEventHeader =
+                    readCommonEventHeader(JSON_FACTORY.createParser(vesMessageBytes));
+            if (commonEventHeader != null) {
+                messageRecord.headerPresent = true;
+                messageRecord.domain = commonEventHeader.getDomain();
+                messageRecord.functionalRole = commonEventHeader.getFunctionalRole();
+                messageRecord.reportingEntityName = commonEventHeader.getReportingEntityName();
+                messageRecord.startEpochMicrosec = commonEventHeader.getStartEpochMicrosec();
+                messageRecord.lastEpochMicrosec = commonEventHeader.getLastEpochMicrosec();
+            }
+        } catch (IOException e) {
+            // header is not present - calculator will fall back to full message parsing
+            LOG.debug("Unable to extract Common Event Header from VES Message. Exception: {}", e.toString());
+        }
+        return messageRecord;
+    }
+
+    /**
+     * Extracts Common Event Header fields required by TCA from VES Message String by the same streaming scan
+     * which is used by {@link #fromVESMessage(byte[])}. Used when VES Message is not wrapped in a record
+     *
+     * @param vesMessage VES message
+     *
+     * @return Common Event Header containing only fields required by TCA or null if header cannot be extracted
+     */
+    @Nullable
+    public static CommonEventHeader extractCommonEventHeader(@Nonnull final String vesMessage) {
+        try {
+            return readCommonEventHeader(JSON_FACTORY.createParser(vesMessage));
+        } catch (IOException e) {
+            LOG.debug("Unable to extract Common Event Header from VES Message. Exception: {}", e.toString());
+            return null;
+        }
+    }
+
+    /**
+     * Returns partition hash of a VES Message which is not wrapped in a record. Messages are partitioned same
+     * way as {@link #getPartitionHash()} except that messages without reporting entity name are partitioned by
+     * message string
+     *
+     * @param commonEventHeader extracted Common Event Header or null if header is not present
+     * @param vesMessage VES message
+     *
+     * @return partition hash
+     */
+    public static int getPartitionHash(@Nullable final CommonEventHeader commonEventHeader,
+                                       @Nonnull final String vesMessage) {
+        return commonEventHeader != null && commonEventHeader.getReportingEntityName() != null ?
+                commonEventHeader.getReportingEntityName().hashCode() : vesMessage.hashCode();
+    }
+
+    /**
+     * Decodes {@link TCAVESMessageRecord} from its compact binary representation
+     *
+     * @param recordBytes record bytes created by {@link #toBytes()}
+     *
+     * @return decoded TCA VES Message Record
+     */
+    public static TCAVESMessageRecord fromBytes(@Nonnull final byte[] recordBytes) {
+        final TCAVESMessageRecord messageRecord = new TCAVESMessageRecord();
+        try {
+            messageRecord.readFields(new DataInputStream(new ByteArrayInputStream(recordBytes)));
+        } catch (IOException e) {
+            final String errorMessage = "Unable to decode TCA VES Message Record";
+            throw new DCAEAnalyticsRuntimeException(errorMessage, LOG, e);
+        }
+        return messageRecord;
+    }
+
+    /**
+     * Encodes record to its compact binary representation
+     *
+     * @return record bytes
+     */
+    public byte[] toBytes() {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream(vesMessageBytes.length + 128);
+        try {
+            write(new DataOutputStream(outputStream));
+        } catch (IOException e) {
+            final String errorMessage = "Unable to encode TCA VES Message Record";
+            throw new DCAEAnalyticsRuntimeException(errorMessage, LOG, e);
+        }
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Creates a light weight {@link EventListener} which only contains pre extracted Common Event Header
+     * fields. Can be used by TCA Policy filters before full VES message is parsed
+     *
+     * @return Event Listener containing only Common Event Header fields
+     */
+    public EventListener createHeaderOnlyEventListener() {
+        final CommonEventHeader commonEventHeader = new CommonEventHeader();
+        commonEventHeader.setDomain(domain);
+        commonEventHeader.setFunctionalRole(functionalRole);
+        commonEventHeader.setReportingEntityName(reportingEntityName);
+        commonEventHeader.setStartEpochMicrosec(startEpochMicrosec);
+        commonEventHeader.setLastEpochMicrosec(lastEpochMicrosec);
+        final Event event = new Event();
+        event.setCommonEventHeader(commonEventHeader);
+        final EventListener eventListener = new EventListener();
+        eventListener.setEvent(event);
+        return eventListener;
+    }
+
+    /**
+     * Returns VES Message as String
+     *
+     * @return VES Message
+     */
+    public String getVESMessage() {
+        return new String(vesMessageBytes, Charsets.UTF_8);
+    }
+
+    public byte[] getVESMessageBytes() {
+        return vesMessageBytes;
+    }
+
+    public boolean isHeaderPresent() {
+        return headerPresent;
+    }
+
+    public String getDomain() {
+        return domain;
+    }
+
+    public String getFunctionalRole() {
+        return functionalRole;
+    }
+
+    public String getReportingEntityName() {
+        return reportingEntityName;
+    }
+
+    public Long getStartEpochMicrosec() {
+        return startEpochMicrosec;
+    }
+
+    public Long getLastEpochMicrosec() {
+        return lastEpochMicrosec;
+    }
+
+    /**
+     * Returns time in milli seconds at which VES message was fetched from DMaaP MR
+     *
+     * @return fetch time or null if fetch time is not known
+     */
+    public Long getFetchTimestampMS() {
+        return fetchTimestampMS;
+    }
+
+    public void setFetchTimestampMS(final Long fetchTimestampMS) {
+        this.fetchTimestampMS = fetchTimestampMS;
+    }
+
+    /**
+     * Returns hash by which VES message is partitioned to TCA Calculator instances. Messages of same reporting
+     * entity must go to the same calculator instance as delta and rate thresholds keep previous counter values
+     * of reporting entities in calculator instance. Messages without reporting entity name are partitioned by
+     * message bytes
+     *
+     * @return partition hash
+     */
+    public int getPartitionHash() {
+        return reportingEntityName != null ? reportingEntityName.hashCode() : Arrays.hashCode(vesMessageBytes);
+    }
+
+    @Override
+    public void write(DataOutput dataOutput) throws IOException {
+        int flags = 0;
+        if (headerPresent) {
+            flags |= HEADER_PRESENT_FLAG;
+        }
+        if (startEpochMicrosec != null) {
+            flags |= START_EPOCH_PRESENT_FLAG;
+        }
+        if (lastEpochMicrosec != null) {
+            flags |= LAST_EPOCH_PRESENT_FLAG;
+        }
+        if (fetchTimestampMS != null) {
+            flags |= FETCH_TIMESTAMP_PRESENT_FLAG;
+        }
+        dataOutput.writeByte(flags);
+        if (headerPresent) {
+            WritableUtils.writeString(dataOutput, domain);
+            WritableUtils.writeString(dataOutput, functionalRole);
+            WritableUtils.writeString(dataOutput, reportingEntityName);
+        }
+        if (startEpochMicrosec != null) {
+            WritableUtils.writeVLong(dataOutput, startEpochMicrosec);
+        }
+        if (lastEpochMicrosec != null) {
+            WritableUtils.writeVLong(dataOutput, lastEpochMicrosec);
+        }
+        if (fetchTimestampMS != null) {
+            WritableUtils.writeVLong(dataOutput, fetchTimestampMS);
+        }
+        WritableUtils.writeVInt(dataOutput, vesMessageBytes.length);
+        dataOutput.write(vesMessageBytes);
+    }
+
+    @Override
+    public void readFields(DataInput dataInput) throws IOException {
+        final int flags = dataInput.readByte();
+        headerPresent = (flags & HEADER_PRESENT_FLAG) != 0;
+        if (headerPresent) {
+            domain = WritableUtils.readString(dataInput);
+            functionalRole = WritableUtils.readString(dataInput);
+            reportingEntityName = WritableUtils.readString(dataInput);
+        }
+        startEpochMicrosec = (flags & START_EPOCH_PRESENT_FLAG) != 0 ? WritableUtils.readVLong(dataInput) : null;
+        lastEpochMicrosec = (flags & LAST_EPOCH_PRESENT_FLAG) != 0 ? WritableUtils.readVLong(dataInput) : null;
+        fetchTimestampMS = (flags & FETCH_TIMESTAMP_PRESENT_FLAG) != 0 ? WritableUtils.readVLong(dataInput) : null;
+        vesMessageBytes = new byte[WritableUtils.readVInt(dataInput)];
+        dataInput.readFully(vesMessageBytes);
+    }
+
+    @Override
+    public String toString() {
+        return Objects.toStringHelper(this)
+                .add("headerPresent", headerPresent)
+                .add("domain", domain)
+                .add("functionalRole", functionalRole)
+                .add("reportingEntityName", reportingEntityName)
+                .add("startEpochMicrosec", startEpochMicrosec)
+                .add("lastEpochMicrosec", lastEpochMicrosec)
+                .add("fetchTimestampMS", fetchTimestampMS)
+                .add("vesMessageSize", vesMessageBytes == null ? 0 : vesMessageBytes.length)
+                .toString();
+    }
+
+    /**
+     * Advances parser inside current json object to the start of given object field. All other fields and
+     * their sub trees are skipped
+     *
+     * @param jsonParser json parser positioned at start of an object
+     * @param fieldName field name whose object value needs to be located
+     *
+     * @return true if parser is now positioned at start of given field object value
+     *
+     * @throws IOException if message is not a valid json
+     */
+    private static boolean moveToObjectField(final JsonParser jsonParser, final String fieldName)
+            throws IOException {
+        while (jsonParser.nextToken() == JsonToken.FIELD_NAME) {
+            final String currentFieldName = jsonParser.getCurrentName();
+            final JsonToken valueToken = jsonParser.nextToken();
+            if (fieldName.equals(currentFieldName)) {
+                return valueToken == JsonToken.START_OBJECT;
+            }
+            jsonParser.skipChildren();
+        }
+        return false;
+    }
+
+    /**
+     * Reads Common Event Header fields required by TCA. All other message sub trees are skipped
+     *
+     * @param jsonParser json parser positioned before start of VES message. Parser is closed after the scan
+     *
+     * @return Common Event Header containing only fields required by TCA or null if message has no header
+     *
+     * @throws IOException if message is not a valid json
+     */
+    @Nullable
+    private static CommonEventHeader readCommonEventHeader(final JsonParser jsonParser) throws IOException {
+        try {
+            if (jsonParser.nextToken() != JsonToken.START_OBJECT ||
+                    !moveToObjectField(jsonParser, "event") ||
+                    !moveToObjectField(jsonParser, "commonEventHeader")) {
+                return null;
+            }
+            final CommonEventHeader commonEventHeader = new CommonEventHeader();
+            while (jsonParser.nextToken() == JsonToken.FIELD_NAME) {
+                final String fieldName = jsonParser.getCurrentName();
+                final JsonToken valueToken = jsonParser.nextToken();
+                if (valueToken == JsonToken.VALUE_STRING) {
+                    if ("domain".equals(fieldName)) {
+                        commonEventHeader.setDomain(jsonParser.getText());
+                    } else if ("functionalRole".equals(fieldName)) {
+                        commonEventHeader.setFunctionalRole(jsonParser.getText());
+                    } else if ("reportingEntityName".equals(fieldName)) {
+                        commonEventHeader.setReportingEntityName(jsonParser.getText());
+                    }
+                } else if (valueToken == JsonToken.VALUE_NUMBER_INT) {
+                    if ("startEpochMicrosec".equals(fieldName)) {
+                        commonEventHeader.setStartEpochMicrosec(jsonParser.getLongValue());
+                    } else if ("lastEpochMicrosec".equals(fieldName)) {
+                        commonEventHeader.setLastEpochMicrosec(jsonParser.getLongValue());
+                    }
+                } else {
+                    jsonParser.skipChildren();
+                }
+            }
+            return commonEventHeader;
+        } finally {
+            jsonParser.close();
+        }
+    }
+
+}
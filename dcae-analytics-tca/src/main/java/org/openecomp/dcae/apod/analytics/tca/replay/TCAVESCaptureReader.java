@@ -0,0 +1,281 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.replay;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.util.zip.GZIPInputStream;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * <p>
+ *     Reads records of a newline delimited VES traffic capture file. Plain captures are memory mapped in regions of
+ *     up to 1 GB and gzip captures are decompressed through a buffered channel. Records are returned as read only
+ *     byte buffer slices of mapped region or read buffer without decoding them to Strings. Returned slices stay
+ *     valid after subsequent reads - read buffers are never reused and mapped regions are released by garbage
+ *     collector once no slice refers to them.
+ * </p>
+ * <p>
+ *     Empty lines are skipped and a trailing carriage return is not part of the record. Reader is not thread safe.
+ * </p>
+ */
+public abstract class TCAVESCaptureReader implements Closeable {
+
+    private static final int GZIP_MAGIC_FIRST_BYTE = 0x1f;
+    private static final int GZIP_MAGIC_SECOND_BYTE = 0x8b;
+
+    private static final long DEFAULT_MAX_MAPPED_REGION_SIZE = 1L << 30;
+    private static final int DEFAULT_READ_BUFFER_SIZE = 4 << 20;
+
+    private long recordCount;
+    private long byteCount;
+
+    /**
+     * Opens capture file - gzip captures are detected from gzip magic bytes
+     *
+     * @param captureFile newline delimited VES capture file - plain or gzip
+     *
+     * @return capture reader
+     *
+     * @throws IOException if capture file cannot be opened
+     */
+    public static TCAVESCaptureReader open(@Nonnull final File captureFile) throws IOException {
+        return open(captureFile, DEFAULT_MAX_MAPPED_REGION_SIZE, DEFAULT_READ_BUFFER_SIZE);
+    }
+
+    static TCAVESCaptureReader open(final File captureFile, final long maxMappedRegionSize,
+                                    final int readBufferSize) throws IOException {
+        if (isGzipFile(captureFile)) {
+            final InputStream gzipInputStream = new GZIPInputStream(new FileInputStream(captureFile), 1 << 16);
+            return new ChannelCaptureReader(Channels.newChannel(gzipInputStream), readBufferSize);
+        }
+        return new MappedCaptureReader(new RandomAccessFile(captureFile, "r").getChannel(), maxMappedRegionSize);
+    }
+
+    /**
+     * Reads next capture record
+     *
+     * @return next record without line terminator or null if capture has no more records
+     *
+     * @throws IOException if capture cannot be read
+     */
+    @Nullable
+    public ByteBuffer nextRecord() throws IOException {
+        ByteBuffer record = readRecord();
+        while (record != null && !record.hasRemaining()) {
+            record = readRecord();
+        }
+        if (record != null) {
+            recordCount++;
+            byteCount += record.remaining();
+        }
+        return record;
+    }
+
+    /**
+     * Returns number of records read so far
+     *
+     * @return number of records read
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Returns number of record bytes - excluding line terminators - read so far
+     *
+     * @return number of record bytes read
+     */
+    public long getByteCount() {
+        return byteCount;
+    }
+
+    /**
+     * Reads next line which may be empty
+     *
+     * @return next line or null if there are no more lines
+     *
+     * @throws IOException if capture cannot be read
+     */
+    @Nullable
+    protected abstract ByteBuffer readRecord() throws IOException;
+
+    private static boolean isGzipFile(final File captureFile) throws IOException {
+        try (InputStream inputStream = new FileInputStream(captureFile)) {
+            return inputStream.read() == GZIP_MAGIC_FIRST_BYTE && inputStream.read() == GZIP_MAGIC_SECOND_BYTE;
+        }
+    }
+
+    /**
+     * Returns index of first line feed in given range of buffer or -1 if there is none
+     */
+    private static int indexOfLineFeed(final ByteBuffer buffer, final int fromIndex, final int toIndex) {
+        for (int i = fromIndex; i < toIndex; i++) {
+            if (buffer.get(i) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns read only slice of given buffer range excluding any trailing carriage return
+     */
+    private static ByteBuffer slice(final ByteBuffer buffer, final int fromIndex, final int toIndex) {
+        final int endIndex = toIndex > fromIndex && buffer.get(toIndex - 1) == '\r' ? toIndex - 1 : toIndex;
+        final ByteBuffer slice = buffer.asReadOnlyBuffer();
+        slice.limit(endIndex);
+        slice.position(fromIndex);
+        return slice.slice();
+    }
+
+
+    /**
+     * Reads plain capture files through memory mapped regions. When a record spans end of mapped region, next
+     * region is mapped starting from that record
+     */
+    private static class MappedCaptureReader extends TCAVESCaptureReader {
+
+        private final FileChannel fileChannel;
+        private final long fileSize;
+        private final long maxMappedRegionSize;
+        private long mappedRegionStart;
+        private MappedByteBuffer mappedRegion;
+
+        private MappedCaptureReader(final FileChannel fileChannel, final long maxMappedRegionSize)
+                throws IOException {
+            this.fileChannel = fileChannel;
+            this.fileSize = fileChannel.size();
+            this.maxMappedRegionSize = Math.min(maxMappedRegionSize, Integer.MAX_VALUE);
+            mapRegion(0L);
+        }
+
+        @Nullable
+        @Override
+        protected ByteBuffer readRecord() throws IOException {
+            while (true) {
+                final int recordStart = mappedRegion.position();
+                final int regionEnd = mappedRegion.limit();
+                final int lineFeedIndex = indexOfLineFeed(mappedRegion, recordStart, regionEnd);
+                if (lineFeedIndex >= 0) {
+                    mappedRegion.position(lineFeedIndex + 1);
+                    return slice(mappedRegion, recordStart, lineFeedIndex);
+                }
+                if (mappedRegionStart + regionEnd == fileSize) {
+                    if (recordStart == regionEnd) {
+                        return null;
+                    }
+                    mappedRegion.position(regionEnd);
+                    return slice(mappedRegion, recordStart, regionEnd);
+                }
+                if (recordStart == 0) {
+                    throw new IOException("VES capture record is larger than max mapped region size: " +
+                            maxMappedRegionSize);
+                }
+                mapRegion(mappedRegionStart + recordStart);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            fileChannel.close();
+        }
+
+        private void mapRegion(final long regionStart) throws IOException {
+            final long regionSize = Math.min(maxMappedRegionSize, fileSize - regionStart);
+            mappedRegionStart = regionStart;
+            mappedRegion = fileChannel.map(FileChannel.MapMode.READ_ONLY, regionStart, regionSize);
+        }
+    }
+
+
+    /**
+     * Reads capture files which cannot be memory mapped - like gzip captures - through a channel. Each read fills a
+     * newly allocated buffer so that slices of previous buffers stay valid. Only the partial record at the end of
+     * previous buffer is copied
+     */
+    private static class ChannelCaptureReader extends TCAVESCaptureReader {
+
+        private final ReadableByteChannel readableByteChannel;
+        private final int readBufferSize;
+        private ByteBuffer readBuffer = ByteBuffer.allocate(0);
+        private boolean isEndOfChannel;
+
+        private ChannelCaptureReader(final ReadableByteChannel readableByteChannel, final int readBufferSize) {
+            this.readableByteChannel = readableByteChannel;
+            this.readBufferSize = readBufferSize;
+        }
+
+        @Nullable
+        @Override
+        protected ByteBuffer readRecord() throws IOException {
+            while (true) {
+                final int recordStart = readBuffer.position();
+                final int bufferEnd = readBuffer.limit();
+                final int lineFeedIndex = indexOfLineFeed(readBuffer, recordStart, bufferEnd);
+                if (lineFeedIndex >= 0) {
+                    readBuffer.position(lineFeedIndex + 1);
+                    return slice(readBuffer, recordStart, lineFeedIndex);
+                }
+                if (isEndOfChannel) {
+                    if (recordStart == bufferEnd) {
+                        return null;
+                    }
+                    readBuffer.position(bufferEnd);
+                    return slice(readBuffer, recordStart, bufferEnd);
+                }
+                fillReadBuffer();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            readableByteChannel.close();
+        }
+
+        private void fillReadBuffer() throws IOException {
+            final int partialRecordSize = readBuffer.remaining();
+            // buffer grows if a single record does not fit in it
+            final ByteBuffer newReadBuffer = ByteBuffer.allocate(Math.max(readBufferSize, partialRecordSize * 2));
+            newReadBuffer.put(readBuffer);
+            while (newReadBuffer.hasRemaining()) {
+                if (readableByteChannel.read(newReadBuffer) < 0) {
+                    isEndOfChannel = true;
+                    break;
+                }
+            }
+            newReadBuffer.flip();
+            readBuffer = newReadBuffer;
+        }
+    }
+
+}
@@ -0,0 +1,312 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.replay;
+
+import com.google.common.base.Charsets;
+import org.openecomp.dcae.apod.analytics.common.exception.DCAEAnalyticsRuntimeException;
+import org.openecomp.dcae.apod.analytics.tca.runner.TCAPipelineSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * <p>
+ *     Replays captured VES traffic read by {@link TCAVESCaptureReader} in batches. Record batches can be written
+ *     as they are to a CDAP stream by TCA VES Load Generator Worker, while replayer used as TCA Pipeline Runner source
+ *     decodes records to Strings.
+ * </p>
+ * <p>
+ *     In {@link TCAVESReplayMode#ORIGINAL_TIMING} mode each record is due at the offset of its common event header
+ *     lastEpochMicrosec - or startEpochMicrosec - from the first record epoch, divided by speed factor. Epoch is
+ *     found by scanning record bytes without parsing the record. A batch contains records which are already due,
+ *     so batches are smaller when captured traffic is sparse. Records without epoch are due with previous record
+ *     and records older than previous records are due immediately.
+ * </p>
+ */
+public class TCAVESCaptureReplayer implements TCAPipelineSource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TCAVESCaptureReplayer.class);
+
+    private static final byte[] LAST_EPOCH_MICROSEC_FIELD = "\"lastEpochMicrosec\"".getBytes(Charsets.UTF_8);
+    private static final byte[] START_EPOCH_MICROSEC_FIELD = "\"startEpochMicrosec\"".getBytes(Charsets.UTF_8);
+
+    private final TCAVESCaptureReader captureReader;
+    private final TCAVESReplayMode replayMode;
+    private final double speedFactor;
+    private final int batchSize;
+
+    private ByteBuffer pendingRecord;
+    private long pendingRecordDueNanos;
+    private long firstRecordEpochMicros = -1;
+    private long previousRecordEpochMicros = -1;
+    private long replayStartNanos = -1;
+    private long replayEndNanos = -1;
+    private volatile boolean isStopped;
+
+    public TCAVESCaptureReplayer(@Nonnull final TCAVESCaptureReader captureReader,
+                                 @Nonnull final TCAVESReplayMode replayMode,
+                                 final double speedFactor, final int batchSize) {
+        if (speedFactor <= 0 || batchSize < 1) {
+            throw new IllegalArgumentException("Capture Replayer speed factor and batch size must be positive");
+        }
+        this.captureReader = captureReader;
+        this.replayMode = replayMode;
+        this.speedFactor = speedFactor;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Creates replayer for given capture file - which may be plain or gzip newline delimited VES messages
+     *
+     * @param captureFile capture file
+     * @param replayMode replay mode
+     * @param speedFactor replay speed factor for original timing mode - e.g. 2 replays twice as fast as captured
+     * @param batchSize max number of records in each batch
+     *
+     * @return capture replayer
+     */
+    public static TCAVESCaptureReplayer create(@Nonnull final File captureFile,
+                                               @Nonnull final TCAVESReplayMode replayMode,
+                                               final double speedFactor, final int batchSize) {
+        try {
+            LOG.info("Replaying VES capture file: {} in mode: {} with speed factor: {}",
+                    captureFile, replayMode, speedFactor);
+            return new TCAVESCaptureReplayer(TCAVESCaptureReader.open(captureFile), replayMode, speedFactor,
+                    batchSize);
+        } catch (IOException e) {
+            final String errorMessage = String.format("Unable to open VES capture file: %s", captureFile);
+            throw new DCAEAnalyticsRuntimeException(errorMessage, LOG, e);
+        }
+    }
+
+    /**
+     * Reads next batch of captured records. In original timing mode blocks till first record of batch is due
+     *
+     * @return next batch of records without line terminators or null if capture has no more records or replayer
+     * is stopped
+     */
+    @Nullable
+    public List<ByteBuffer> nextRecordBatch() {
+        if (isStopped) {
+            return null;
+        }
+        if (replayStartNanos < 0) {
+            replayStartNanos = System.nanoTime();
+        }
+        final List<ByteBuffer> recordBatch = new ArrayList<>(batchSize);
+        try {
+            while (recordBatch.size() < batchSize) {
+                final ByteBuffer record;
+                final long recordDueNanos;
+                if (pendingRecord != null) {
+                    record = pendingRecord;
+                    recordDueNanos = pendingRecordDueNanos;
+                    pendingRecord = null;
+                } else {
+                    record = captureReader.nextRecord();
+                    if (record == null) {
+                        break;
+                    }
+                    recordDueNanos = replayMode == TCAVESReplayMode.ORIGINAL_TIMING ? getDueNanos(record) : 0L;
+                }
+
+                final long waitNanos = recordDueNanos - System.nanoTime();
+                if (replayMode == TCAVESReplayMode.ORIGINAL_TIMING && waitNanos > 0) {
+                    // send records which are already due instead of holding them till next record is due
+                    if (!recordBatch.isEmpty()) {
+                        pendingRecord = record;
+                        pendingRecordDueNanos = recordDueNanos;
+                        break;
+                    }
+                    TimeUnit.NANOSECONDS.sleep(waitNanos);
+                }
+                recordBatch.add(record);
+            }
+        } catch (IOException e) {
+            final String errorMessage = String.format("Unable to read VES capture record no: %d",
+                    captureReader.getRecordCount() + 1);
+            throw new DCAEAnalyticsRuntimeException(errorMessage, LOG, e);
+        } catch (InterruptedException e) {
+            LOG.debug("Capture Replayer interrupted while waiting for next record to be due");
+            Thread.currentThread().interrupt();
+            isStopped = true;
+        }
+
+        replayEndNanos = System.nanoTime();
+        return recordBatch.isEmpty() ? null : recordBatch;
+    }
+
+    /**
+     * Reads next batch of captured records decoded as UTF-8 Strings
+     *
+     * @return next batch of VES messages or null if capture has no more records or replayer is stopped
+     */
+    @Nullable
+    @Override
+    public List<String> nextBatch() {
+        final List<ByteBuffer> recordBatch = nextRecordBatch();
+        if (recordBatch == null) {
+            return null;
+        }
+        final List<String> messages = new ArrayList<>(recordBatch.size());
+        for (ByteBuffer record : recordBatch) {
+            messages.add(Charsets.UTF_8.decode(record.duplicate()).toString());
+        }
+        return messages;
+    }
+
+    /**
+     * Stops replay. Subsequent batches will be null
+     */
+    public void stop() {
+        isStopped = true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        stop();
+        captureReader.close();
+    }
+
+    /**
+     * Returns number of replayed records
+     *
+     * @return number of replayed records
+     */
+    public long getRecordCount() {
+        return captureReader.getRecordCount() - (pendingRecord != null ? 1 : 0);
+    }
+
+    /**
+     * Returns number of replayed record bytes
+     *
+     * @return number of replayed record bytes
+     */
+    public long getByteCount() {
+        return captureReader.getByteCount() - (pendingRecord != null ? pendingRecord.remaining() : 0);
+    }
+
+    /**
+     * Returns replay throughput
+     *
+     * @return replayed records per second
+     */
+    public double getRecordsPerSecond() {
+        final long elapsedNanos = replayEndNanos - replayStartNanos;
+        return elapsedNanos > 0 ? getRecordCount() * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos : 0.0;
+    }
+
+    /**
+     * Returns replay throughput
+     *
+     * @return replayed megabytes per second
+     */
+    public double getMegabytesPerSecond() {
+        final long elapsedNanos = replayEndNanos - replayStartNanos;
+        return elapsedNanos > 0 ?
+                getByteCount() / (1024.0 * 1024.0) * TimeUnit.SECONDS.toNanos(1) / elapsedNanos : 0.0;
+    }
+
+    /**
+     * Formats replay throughput
+     *
+     * @return replay throughput summary
+     */
+    public String formatThroughput() {
+        return String.format("Replayed records: %d, bytes: %d, throughput: %.1f records/sec, %.2f MB/sec",
+                getRecordCount(), getByteCount(), getRecordsPerSecond(), getMegabytesPerSecond());
+    }
+
+    private long getDueNanos(final ByteBuffer record) {
+        long recordEpochMicros = extractEpochMicros(record);
+        if (recordEpochMicros < 0) {
+            recordEpochMicros = previousRecordEpochMicros;
+        }
+        if (recordEpochMicros < 0) {
+            return 0L;
+        }
+        if (firstRecordEpochMicros < 0) {
+            firstRecordEpochMicros = recordEpochMicros;
+            replayStartNanos = System.nanoTime();
+        }
+        previousRecordEpochMicros = recordEpochMicros;
+        final long offsetNanos = TimeUnit.MICROSECONDS.toNanos(recordEpochMicros - firstRecordEpochMicros);
+        return replayStartNanos + (long) (offsetNanos / speedFactor);
+    }
+
+    /**
+     * Finds common event header epoch of record by scanning its bytes
+     *
+     * @param record captured VES message record
+     *
+     * @return lastEpochMicrosec or if absent startEpochMicrosec of record or -1 if record has neither
+     */
+    static long extractEpochMicros(final ByteBuffer record) {
+        final long lastEpochMicros = extractLongField(record, LAST_EPOCH_MICROSEC_FIELD);
+        return lastEpochMicros >= 0 ? lastEpochMicros : extractLongField(record, START_EPOCH_MICROSEC_FIELD);
+    }
+
+    private static long extractLongField(final ByteBuffer record, final byte[] quotedFieldName) {
+        final int recordEnd = record.limit();
+        final int lastFieldStart = recordEnd - quotedFieldName.length;
+        for (int i = record.position(); i <= lastFieldStart; i++) {
+            if (!isFieldNameAt(record, i, quotedFieldName)) {
+                continue;
+            }
+            int valueIndex = i + quotedFieldName.length;
+            while (valueIndex < recordEnd && isSeparator(record.get(valueIndex))) {
+                valueIndex++;
+            }
+            long value = 0;
+            int digitCount = 0;
+            while (valueIndex < recordEnd && record.get(valueIndex) >= '0' && record.get(valueIndex) <= '9') {
+                value = value * 10 + (record.get(valueIndex) - '0');
+                valueIndex++;
+                digitCount++;
+            }
+            return digitCount > 0 ? value : -1;
+        }
+        return -1;
+    }
+
+    private static boolean isFieldNameAt(final ByteBuffer record, final int index, final byte[] quotedFieldName) {
+        for (int j = 0; j < quotedFieldName.length; j++) {
+            if (record.get(index + j) != quotedFieldName[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSeparator(final byte recordByte) {
+        return recordByte == ':' || recordByte == ' ' || recordByte == '\t';
+    }
+
+}
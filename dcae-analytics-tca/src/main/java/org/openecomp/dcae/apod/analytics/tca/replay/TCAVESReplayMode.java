@@ -0,0 +1,39 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.replay;
+
+/**
+ * Modes in which captured VES traffic is replayed by {@link TCAVESCaptureReplayer}
+ */
+public enum TCAVESReplayMode {
+
+    /**
+     * Records are replayed with the same spacing as their common event header epoch - optionally scaled by replay
+     * speed factor - which reproduces load shape of captured traffic
+     */
+    ORIGINAL_TIMING,
+
+    /**
+     * Records are replayed as fast as they can be read and consumed
+     */
+    AS_FAST_AS_POSSIBLE
+
+}
@@ -0,0 +1,120 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.runner;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nonnull;
+
+/**
+ * <p>
+ *     In memory stand-in of a CDAP Object Mapped Table used by TCA Pipeline Runner. Rows are kept sorted by row
+ *     key like HBase rows so that table can be scanned up to a stop row key. Writing a row with an existing row key
+ *     overwrites it just like CDAP tables do - count of overwritten rows is reported so that row key collisions
+ *     become visible under load.
+ *     <br>
+ *     Table is bounded by max entries - rows with the smallest row keys are evicted when table is full, which is a
+ *     stand-in for table time to live.
+ * </p>
+ *
+ * @param <T> table entity type
+ */
+public class TCAInMemoryTable<T> {
+
+    private final String tableName;
+    private final int maxEntries;
+    private final ConcurrentNavigableMap<String, T> rows = new ConcurrentSkipListMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong writtenCount = new AtomicLong();
+    private final AtomicLong overwrittenCount = new AtomicLong();
+    private final AtomicLong evictedCount = new AtomicLong();
+
+    public TCAInMemoryTable(@Nonnull final String tableName, final int maxEntries) {
+        this.tableName = tableName;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Writes entity with given row key
+     *
+     * @param rowKey row key
+     * @param entity table entity
+     */
+    public void write(@Nonnull final String rowKey, @Nonnull final T entity) {
+        writtenCount.incrementAndGet();
+        if (rows.put(rowKey, entity) != null) {
+            overwrittenCount.incrementAndGet();
+            return;
+        }
+        if (size.incrementAndGet() > maxEntries && rows.pollFirstEntry() != null) {
+            size.decrementAndGet();
+            evictedCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Scans all rows with row keys less than given stop row key
+     *
+     * @param stopRowKey stop row key - exclusive
+     *
+     * @return row keys and entities in row key order
+     */
+    public Map<String, T> scan(@Nonnull final String stopRowKey) {
+        return new LinkedHashMap<>(rows.headMap(stopRowKey, false));
+    }
+
+    /**
+     * Deletes row with given row key
+     *
+     * @param rowKey row key
+     */
+    public void delete(@Nonnull final String rowKey) {
+        if (rows.remove(rowKey) != null) {
+            size.decrementAndGet();
+        }
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public int getSize() {
+        return size.get();
+    }
+
+    public long getWrittenCount() {
+        return writtenCount.get();
+    }
+
+    public long getOverwrittenCount() {
+        return overwrittenCount.get();
+    }
+
+    public long getEvictedCount() {
+        return evictedCount.get();
+    }
+
+}
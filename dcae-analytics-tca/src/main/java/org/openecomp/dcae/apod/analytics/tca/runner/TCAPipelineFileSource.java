@@ -0,0 +1,126 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.runner;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Charsets;
+import com.google.common.io.Files;
+import org.openecomp.dcae.apod.analytics.common.exception.DCAEAnalyticsRuntimeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * <p>
+ *     TCA Pipeline Source which replays VES messages from a file. File can either contain a json array of VES
+ *     messages - like CEF test message files - or one VES message json per line. All messages are kept in memory
+ *     and replayed given number of times so that small files can generate sustained load.
+ * </p>
+ */
+public class TCAPipelineFileSource implements TCAPipelineSource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TCAPipelineFileSource.class);
+
+    private final List<String> messages;
+    private final int repeatCount;
+    private final int batchSize;
+    private int completedRepeatCount;
+    private int nextMessageIndex;
+
+    public TCAPipelineFileSource(@Nonnull final List<String> messages, final int repeatCount, final int batchSize) {
+        if (messages.isEmpty() || repeatCount < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("File Source must have messages, repeat count and batch size");
+        }
+        this.messages = Collections.unmodifiableList(new ArrayList<>(messages));
+        this.repeatCount = repeatCount;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Creates file source from json array or newline delimited json VES messages file
+     *
+     * @param messagesFile VES messages file
+     * @param repeatCount number of times all messages are replayed
+     * @param batchSize number of messages returned in each batch
+     *
+     * @return file source
+     */
+    public static TCAPipelineFileSource fromFile(@Nonnull final File messagesFile, final int repeatCount,
+                                                 final int batchSize) {
+        try {
+            final List<String> messages = readMessages(messagesFile);
+            LOG.info("Loaded {} VES messages from file: {}", messages.size(), messagesFile);
+            return new TCAPipelineFileSource(messages, repeatCount, batchSize);
+        } catch (IOException e) {
+            final String errorMessage = String.format("Unable to read VES messages file: %s", messagesFile);
+            throw new DCAEAnalyticsRuntimeException(errorMessage, LOG, e);
+        }
+    }
+
+    @Nullable
+    @Override
+    public List<String> nextBatch() {
+        if (completedRepeatCount == repeatCount) {
+            return null;
+        }
+        final int batchEndIndex = Math.min(nextMessageIndex + batchSize, messages.size());
+        final List<String> batch = messages.subList(nextMessageIndex, batchEndIndex);
+        nextMessageIndex = batchEndIndex;
+        if (nextMessageIndex == messages.size()) {
+            nextMessageIndex = 0;
+            completedRepeatCount++;
+        }
+        return batch;
+    }
+
+    @Override
+    public void close() {
+        // nothing to close - all messages are in memory
+    }
+
+    private static List<String> readMessages(final File messagesFile) throws IOException {
+        final String fileContent = Files.toString(messagesFile, Charsets.UTF_8).trim();
+        final List<String> messages = new ArrayList<>();
+        if (fileContent.startsWith("[")) {
+            final JsonNode messagesNode = new ObjectMapper().readTree(fileContent);
+            for (JsonNode messageNode : messagesNode) {
+                messages.add(messageNode.toString());
+            }
+            return messages;
+        }
+        for (String line : fileContent.split("\\r?\\n")) {
+            if (!line.trim().isEmpty()) {
+                messages.add(line.trim());
+            }
+        }
+        return messages;
+    }
+
+}
@@ -0,0 +1,103 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.runner;
+
+import co.cask.cdap.api.metrics.Metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>
+ *     In memory stand-in of CDAP {@link Metrics} used by TCA Pipeline Runner. Counts are accumulated and only the
+ *     last value of each gauge is kept.
+ *     <br>
+ *     Metrics are thread safe and can be shared by all pipeline stages.
+ * </p>
+ */
+public class TCAPipelineMetrics implements Metrics {
+
+    private final ConcurrentMap<String, AtomicLong> counts = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicLong> gauges = new ConcurrentHashMap<>();
+
+    @Override
+    public void count(final String metricName, final int delta) {
+        getOrCreate(counts, metricName).addAndGet(delta);
+    }
+
+    @Override
+    public void gauge(final String metricName, final long value) {
+        getOrCreate(gauges, metricName).set(value);
+    }
+
+    /**
+     * Returns current count of given metric
+     *
+     * @param metricName metric name
+     *
+     * @return current count or zero if metric was never counted
+     */
+    public long getCount(final String metricName) {
+        final AtomicLong count = counts.get(metricName);
+        return count == null ? 0 : count.get();
+    }
+
+    /**
+     * Returns snapshot of all counts sorted by metric name
+     *
+     * @return counts snapshot
+     */
+    public Map<String, Long> getCounts() {
+        return snapshot(counts);
+    }
+
+    /**
+     * Returns snapshot of last values of all gauges sorted by metric name
+     *
+     * @return gauges snapshot
+     */
+    public Map<String, Long> getGauges() {
+        return snapshot(gauges);
+    }
+
+    private static AtomicLong getOrCreate(final ConcurrentMap<String, AtomicLong> metricsMap,
+                                          final String metricName) {
+        final AtomicLong value = metricsMap.get(metricName);
+        if (value != null) {
+            return value;
+        }
+        final AtomicLong newValue = new AtomicLong();
+        final AtomicLong existingValue = metricsMap.putIfAbsent(metricName, newValue);
+        return existingValue == null ? newValue : existingValue;
+    }
+
+    private static Map<String, Long> snapshot(final ConcurrentMap<String, AtomicLong> metricsMap) {
+        final Map<String, Long> snapshot = new TreeMap<>();
+        for (Map.Entry<String, AtomicLong> metricEntry : metricsMap.entrySet()) {
+            snapshot.put(metricEntry.getKey(), metricEntry.getValue().get());
+        }
+        return snapshot;
+    }
+
+}
@@ -0,0 +1,84 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.runner;
+
+import com.google.common.base.Objects;
+
+import javax.annotation.Nonnull;
+
+/**
+ * <p>
+ *     Depth statistics of a bounded queue between two TCA Pipeline stages. Queue depth is sampled periodically by
+ *     the pipeline monitor thread - a queue which stays close to its capacity indicates that the stage reading from
+ *     it is the pipeline bottleneck.
+ * </p>
+ */
+public class TCAPipelineQueueStats {
+
+    private final String queueName;
+    private final int capacity;
+    private long sampleCount;
+    private long depthSum;
+    private int maxDepth;
+
+    public TCAPipelineQueueStats(@Nonnull final String queueName, final int capacity) {
+        this.queueName = queueName;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Records sampled queue depth
+     *
+     * @param depth current queue depth
+     */
+    public void recordDepth(final int depth) {
+        sampleCount++;
+        depthSum += depth;
+        maxDepth = Math.max(maxDepth, depth);
+    }
+
+    public String getQueueName() {
+        return queueName;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public double getMeanDepth() {
+        return sampleCount == 0 ? 0 : (double) depthSum / sampleCount;
+    }
+
+    @Override
+    public String toString() {
+        return Objects.toStringHelper(this)
+                .add("queueName", queueName)
+                .add("capacity", capacity)
+                .add("meanDepth", getMeanDepth())
+                .add("maxDepth", maxDepth)
+                .toString();
+    }
+
+}
@@ -0,0 +1,188 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.runner;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+
+/**
+ * <p>
+ *     Result of a TCA Pipeline Runner run - per stage throughput and latency percentiles, depth of queues between
+ *     stages, in memory table counts and all TCA metrics counted by the pipeline.
+ * </p>
+ */
+public class TCAPipelineReport {
+
+    private static final double[] REPORTED_PERCENTILES = {50, 95, 99, 100};
+
+    private final long elapsedMS;
+    private final List<TCAPipelineStageStats> stageStats;
+    private final List<TCAPipelineStageStats> calculatorInstanceStats;
+    private final TCAPipelineStageStats endToEndStats;
+    private final List<TCAPipelineQueueStats> queueStats;
+    private final List<TCAInMemoryTable<?>> tables;
+    private final TCAPipelineMetrics metrics;
+
+    public TCAPipelineReport(final long elapsedMS,
+                             @Nonnull final List<TCAPipelineStageStats> stageStats,
+                             @Nonnull final List<TCAPipelineStageStats> calculatorInstanceStats,
+                             @Nonnull final TCAPipelineStageStats endToEndStats,
+                             @Nonnull final List<TCAPipelineQueueStats> queueStats,
+                             @Nonnull final List<TCAInMemoryTable<?>> tables,
+                             @Nonnull final TCAPipelineMetrics metrics) {
+        this.elapsedMS = elapsedMS;
+        this.stageStats = Collections.unmodifiableList(new ArrayList<>(stageStats));
+        this.calculatorInstanceStats = Collections.unmodifiableList(new ArrayList<>(calculatorInstanceStats));
+        this.endToEndStats = endToEndStats;
+        this.queueStats = Collections.unmodifiableList(new ArrayList<>(queueStats));
+        this.tables = Collections.unmodifiableList(new ArrayList<>(tables));
+        this.metrics = metrics;
+    }
+
+    public long getElapsedMS() {
+        return elapsedMS;
+    }
+
+    /**
+     * Returns stats of each pipeline stage in pipeline order. Stats of all calculator instances are merged
+     *
+     * @return stage stats
+     */
+    public List<TCAPipelineStageStats> getStageStats() {
+        return stageStats;
+    }
+
+    /**
+     * Returns stats of given pipeline stage
+     *
+     * @param stageName stage name
+     *
+     * @return stage stats
+     */
+    public TCAPipelineStageStats getStageStats(@Nonnull final String stageName) {
+        for (TCAPipelineStageStats stats : stageStats) {
+            if (stats.getStageName().equals(stageName)) {
+                return stats;
+            }
+        }
+        throw new IllegalArgumentException("No TCA Pipeline stage found with name: " + stageName);
+    }
+
+    public List<TCAPipelineStageStats> getCalculatorInstanceStats() {
+        return calculatorInstanceStats;
+    }
+
+    /**
+     * Returns latency from the time message was fetched by source until calculator instance finished processing it
+     *
+     * @return end to end stats
+     */
+    public TCAPipelineStageStats getEndToEndStats() {
+        return endToEndStats;
+    }
+
+    public List<TCAPipelineQueueStats> getQueueStats() {
+        return queueStats;
+    }
+
+    public List<TCAInMemoryTable<?>> getTables() {
+        return tables;
+    }
+
+    public TCAPipelineMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Returns throughput of given stage in items per second
+     *
+     * @param stats stage stats
+     *
+     * @return throughput in items per second
+     */
+    public double getThroughputPerSecond(@Nonnull final TCAPipelineStageStats stats) {
+        return elapsedMS == 0 ? 0 : stats.getProcessedCount() * 1000.0 / elapsedMS;
+    }
+
+    /**
+     * Formats report as human readable text table
+     *
+     * @return formatted report
+     */
+    public String formatReport() {
+        final StringBuilder report = new StringBuilder();
+        report.append(String.format(Locale.ENGLISH, "TCA Pipeline run finished in %d ms%n", elapsedMS));
+
+        report.append(String.format(Locale.ENGLISH, "%n%-16s %12s %8s %12s %12s %10s %10s %10s %10s%n",
+                "stage", "processed", "failed", "per second", "service us", "p50 us", "p95 us", "p99 us", "max us"));
+        final List<TCAPipelineStageStats> reportedStats = new ArrayList<>(stageStats);
+        if (calculatorInstanceStats.size() > 1) {
+            reportedStats.addAll(calculatorInstanceStats);
+        }
+        for (TCAPipelineStageStats stats : reportedStats) {
+            report.append(String.format(Locale.ENGLISH, "%-16s %12d %8d %12.1f %12d",
+                    stats.getStageName(), stats.getProcessedCount(), stats.getFailedCount(),
+                    getThroughputPerSecond(stats), stats.getMeanServiceTimeMicros()));
+            appendLatencyPercentiles(report, stats);
+        }
+        report.append(String.format(Locale.ENGLISH, "%-16s %12s %8s %12s %12s", endToEndStats.getStageName(),
+                "", "", "", ""));
+        appendLatencyPercentiles(report, endToEndStats);
+
+        report.append(String.format(Locale.ENGLISH, "%n%-16s %10s %12s %10s%n", "queue", "capacity", "mean depth",
+                "max depth"));
+        for (TCAPipelineQueueStats stats : queueStats) {
+            report.append(String.format(Locale.ENGLISH, "%-16s %10d %12.1f %10d%n", stats.getQueueName(),
+                    stats.getCapacity(), stats.getMeanDepth(), stats.getMaxDepth()));
+        }
+
+        report.append(String.format(Locale.ENGLISH, "%n%-16s %12s %12s %12s %12s%n", "table", "written",
+                "overwritten", "evicted", "size"));
+        for (TCAInMemoryTable<?> table : tables) {
+            report.append(String.format(Locale.ENGLISH, "%-16s %12d %12d %12d %12d%n", table.getTableName(),
+                    table.getWrittenCount(), table.getOverwrittenCount(), table.getEvictedCount(),
+                    table.getSize()));
+        }
+
+        report.append(String.format(Locale.ENGLISH, "%nmetrics%n"));
+        for (Map.Entry<String, Long> countEntry : metrics.getCounts().entrySet()) {
+            report.append(String.format(Locale.ENGLISH, "%s = %d%n", countEntry.getKey(), countEntry.getValue()));
+        }
+        for (Map.Entry<String, Long> gaugeEntry : metrics.getGauges().entrySet()) {
+            report.append(String.format(Locale.ENGLISH, "%s = %d (gauge)%n", gaugeEntry.getKey(),
+                    gaugeEntry.getValue()));
+        }
+        return report.toString();
+    }
+
+    private static void appendLatencyPercentiles(final StringBuilder report, final TCAPipelineStageStats stats) {
+        for (double percentile : REPORTED_PERCENTILES) {
+            report.append(String.format(Locale.ENGLISH, " %10d", stats.getLatencyPercentileMicros(percentile)));
+        }
+        report.append(String.format("%n"));
+    }
+
+}
@@ -0,0 +1,981 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.runner;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.google.common.base.Charsets;
+import org.openecomp.dcae.apod.analytics.common.AnalyticsConstants;
+import org.openecomp.dcae.apod.analytics.common.CDAPMetricsConstants;
+import org.openecomp.dcae.apod.analytics.common.cdap.metrics.LatencyMetricsRecorder;
+import org.openecomp.dcae.apod.analytics.dmaap.DMaaPMRFactory;
+import org.openecomp.dcae.apod.analytics.dmaap.domain.config.DMaaPMRPublisherConfig;
+import org.openecomp.dcae.apod.analytics.dmaap.domain.config.DMaaPMRSubscriberConfig;
+import org.openecomp.dcae.apod.analytics.dmaap.service.publisher.DMaaPMRPublisher;
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.TCAPolicy;
+import org.openecomp.dcae.apod.analytics.model.util.json.AnalyticsModelObjectMapperSupplier;
+import org.openecomp.dcae.apod.analytics.tca.alert.TCAAlertCoalescer;
+import org.openecomp.dcae.apod.analytics.tca.alert.TCAAlertCoalescingType;
+import org.openecomp.dcae.apod.analytics.tca.alert.TCAVESAlertsPublisher;
+import org.openecomp.dcae.apod.analytics.tca.generator.TCAVESLoadGenerator;
+import org.openecomp.dcae.apod.analytics.tca.generator.TCAVESLoadPacer;
+import org.openecomp.dcae.apod.analytics.tca.generator.TCAVESMessageGenerator;
+import org.openecomp.dcae.apod.analytics.tca.persistance.TCACalculatorMessageType;
+import org.openecomp.dcae.apod.analytics.tca.persistance.TCAMessageStatusEntity;
+import org.openecomp.dcae.apod.analytics.tca.persistance.TCAMessageStatusPersister;
+import org.openecomp.dcae.apod.analytics.tca.persistance.TCAThresholdViolationStatsEntity;
+import org.openecomp.dcae.apod.analytics.tca.persistance.TCAThresholdViolationStatsPersister;
+import org.openecomp.dcae.apod.analytics.tca.persistance.TCAVESAlertEntity;
+import org.openecomp.dcae.apod.analytics.tca.persistance.TCAVESAlertsPersister;
+import org.openecomp.dcae.apod.analytics.tca.processor.TCACEFProcessorContext;
+import org.openecomp.dcae.apod.analytics.tca.record.TCAVESAlertRecord;
+import org.openecomp.dcae.apod.analytics.tca.record.TCAVESMessageRecord;
+import org.openecomp.dcae.apod.analytics.tca.replay.TCAVESCaptureReplayer;
+import org.openecomp.dcae.apod.analytics.tca.replay.TCAVESReplayMode;
+import org.openecomp.dcae.apod.analytics.tca.settings.TCAAppConfig;
+import org.openecomp.dcae.apod.analytics.tca.threshold.TCAThresholdSketchCheckpoint;
+import org.openecomp.dcae.apod.analytics.tca.threshold.TCAThresholdViolationCalculator;
+import org.openecomp.dcae.apod.analytics.tca.threshold.TCAThresholdViolationStats;
+import org.openecomp.dcae.apod.analytics.tca.threshold.TCAThresholdViolationStatsSink;
+import org.openecomp.dcae.apod.analytics.tca.utils.TCAUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * <p>
+ *     Runs the full TCA pipeline in a single process without CDAP so that the whole chain can be load tested and
+ *     profiled. Each CDAP component is replaced by a stage thread which uses the same processors, persisters and
+ *     DMaaP MR clients as the component it replaces:
+ *     <ol>
+ *         <li>Source - stand-in for TCA DMaaP MR Subscriber Job. Reads messages from a {@link TCAPipelineSource}
+ *         </li>
+ *         <li>Router - stand-in for TCA VES Message Router Flowlet. Partitions messages by reporting entity</li>
+ *         <li>Calculator - one thread for each threshold calculator flowlet instance. Computes threshold
+ *         violations using {@link TCAThresholdViolationCalculator} and saves message status in an in memory
+ *         message status table</li>
+ *         <li>Alerts Sink - stand-in for TCA VES Alerts Sink Flowlet. Saves alerts in an in memory alerts table
+ *         </li>
+ *         <li>Publisher - stand-in for TCA DMaaP MR Publisher Job. Publishes new alerts from alerts table</li>
+ *     </ol>
+ *     Stages are connected by bounded queues - stand-ins for CDAP stream and flowlet queues - so a slow stage
+ *     applies back pressure to all stages before it. Report contains throughput and latency percentiles of each
+ *     stage and depth of each queue which can be used to size threshold calculator flowlet instances.
+ * </p>
+ */
+public class TCAPipelineRunner {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TCAPipelineRunner.class);
+
+    public static final String SOURCE_STAGE_NAME = "source";
+    public static final String ROUTER_STAGE_NAME = "router";
+    public static final String CALCULATOR_STAGE_NAME = "calculator";
+    public static final String ALERTS_SINK_STAGE_NAME = "alerts-sink";
+    public static final String PUBLISHER_STAGE_NAME = "publisher";
+    public static final String END_TO_END_STAGE_NAME = "end-to-end";
+
+    public static final String STREAM_QUEUE_NAME = "stream";
+    public static final String ALERTS_QUEUE_NAME = "alerts";
+    public static final String MESSAGE_STATUS_TABLE_NAME = "message-status";
+    public static final String ALERTS_TABLE_NAME = "alerts";
+    public static final String THRESHOLD_VIOLATION_STATS_TABLE_NAME = "threshold-violation-stats";
+
+    // queue depths are sampled and progress is logged by monitor thread at these intervals
+    private static final long QUEUE_DEPTH_SAMPLE_INTERVAL_MS = 100L;
+    private static final long PROGRESS_LOG_INTERVAL_MS = 10000L;
+
+    // marks end of input in all pipeline queues
+    private static final Envelope END_OF_INPUT = new Envelope(new byte[0], 0L, 0L);
+
+    private final TCAPolicy tcaPolicy;
+    private final TCAPipelineSource source;
+    private final TCAAppConfig appConfig;
+    private final int calculatorInstances;
+    private final boolean enableCompactFlowletRecords;
+    private final int queueCapacity;
+    private final long maxMessages;
+    private final long durationMS;
+    private final int messageStatusTableMaxEntries;
+    private final DMaaPMRPublisher publisher;
+    private final TCAAlertCoalescer alertCoalescer;
+    private final long publisherPollingIntervalMS;
+
+    private final TCAPipelineMetrics metrics = new TCAPipelineMetrics();
+    private volatile boolean isStopRequested;
+
+    private TCAPipelineRunner(final Builder builder) {
+        this.tcaPolicy = builder.tcaPolicy;
+        this.source = builder.source;
+        this.appConfig = builder.appConfig;
+        this.calculatorInstances = builder.calculatorInstances;
+        this.enableCompactFlowletRecords = builder.enableCompactFlowletRecords;
+        this.queueCapacity = builder.queueCapacity;
+        this.maxMessages = builder.maxMessages;
+        this.durationMS = builder.durationMS;
+        this.messageStatusTableMaxEntries = builder.messageStatusTableMaxEntries;
+        this.publisher = builder.publisher;
+        this.alertCoalescer = builder.alertCoalescer;
+        this.publisherPollingIntervalMS = builder.publisherPollingIntervalMS;
+    }
+
+    /**
+     * Runs the pipeline until source is exhausted, max messages are read, run duration has elapsed or
+     * {@link #stop()} is called. All messages read by source are processed and all alerts are published before
+     * this method returns.
+     *
+     * @return pipeline report
+     *
+     * @throws InterruptedException if interrupted while waiting for pipeline stages to finish
+     */
+    public TCAPipelineReport run() throws InterruptedException {
+
+        final BlockingQueue<Envelope> streamQueue = new ArrayBlockingQueue<>(queueCapacity);
+        final BlockingQueue<Envelope> alertsQueue = new ArrayBlockingQueue<>(queueCapacity);
+        final List<BlockingQueue<Envelope>> calculatorQueues = new ArrayList<>(calculatorInstances);
+        final List<TCAPipelineQueueStats> queueStats = new ArrayList<>();
+        queueStats.add(new TCAPipelineQueueStats(STREAM_QUEUE_NAME, queueCapacity));
+        for (int instanceId = 0; instanceId < calculatorInstances; instanceId++) {
+            calculatorQueues.add(new ArrayBlockingQueue<Envelope>(queueCapacity));
+            queueStats.add(new TCAPipelineQueueStats(CALCULATOR_STAGE_NAME + "-" + instanceId, queueCapacity));
+        }
+        queueStats.add(new TCAPipelineQueueStats(ALERTS_QUEUE_NAME, queueCapacity));
+        final List<BlockingQueue<Envelope>> queues = new ArrayList<>();
+        queues.add(streamQueue);
+        queues.addAll(calculatorQueues);
+        queues.add(alertsQueue);
+
+        final TCAInMemoryTable<TCAMessageStatusEntity> messageStatusTable =
+                new TCAInMemoryTable<>(MESSAGE_STATUS_TABLE_NAME, messageStatusTableMaxEntries);
+        final TCAInMemoryTable<TCAVESAlertEntity> alertsTable =
+                new TCAInMemoryTable<>(ALERTS_TABLE_NAME, Integer.MAX_VALUE);
+        final TCAThresholdSketchCheckpoint thresholdSketchCheckpoint = new InMemoryThresholdSketchCheckpoint();
+        final TCAInMemoryTable<TCAThresholdViolationStatsEntity> thresholdViolationStatsTable =
+                new TCAInMemoryTable<>(THRESHOLD_VIOLATION_STATS_TABLE_NAME, Integer.MAX_VALUE);
+
+        final TCAPipelineStageStats sourceStats = new TCAPipelineStageStats(SOURCE_STAGE_NAME);
+        final TCAPipelineStageStats routerStats = new TCAPipelineStageStats(ROUTER_STAGE_NAME);
+        final TCAPipelineStageStats alertsSinkStats = new TCAPipelineStageStats(ALERTS_SINK_STAGE_NAME);
+        final TCAPipelineStageStats publisherStats = new TCAPipelineStageStats(PUBLISHER_STAGE_NAME);
+        final List<TCAPipelineStageStats> calculatorStats = new ArrayList<>(calculatorInstances);
+        final List<TCAPipelineStageStats> endToEndStats = new ArrayList<>(calculatorInstances);
+
+        final List<Thread> stageThreads = new ArrayList<>();
+        stageThreads.add(new Thread(new SourceStage(streamQueue, sourceStats), "tca-pipeline-source"));
+        stageThreads.add(new Thread(new RouterStage(streamQueue, calculatorQueues, routerStats),
+                "tca-pipeline-router"));
+        for (int instanceId = 0; instanceId < calculatorInstances; instanceId++) {
+            final TCAPipelineStageStats instanceStats =
+                    new TCAPipelineStageStats(CALCULATOR_STAGE_NAME + "-" + instanceId);
+            final TCAPipelineStageStats instanceEndToEndStats =
+                    new TCAPipelineStageStats(END_TO_END_STAGE_NAME + "-" + instanceId);
+            calculatorStats.add(instanceStats);
+            endToEndStats.add(instanceEndToEndStats);
+            final TCAThresholdViolationCalculator calculator = createCalculator(thresholdSketchCheckpoint,
+                    new InMemoryThresholdViolationStatsSink(thresholdViolationStatsTable, instanceId));
+            stageThreads.add(new Thread(new CalculatorStage(instanceId, calculator, calculatorQueues.get(instanceId),
+                    alertsQueue, messageStatusTable, instanceStats, instanceEndToEndStats),
+                    "tca-pipeline-calculator-" + instanceId));
+        }
+        final CountDownLatch alertsSinkFinishedLatch = new CountDownLatch(1);
+        stageThreads.add(new Thread(new AlertsSinkStage(alertsQueue, alertsTable, alertsSinkStats,
+                alertsSinkFinishedLatch), "tca-pipeline-alerts-sink"));
+        stageThreads.add(new Thread(new PublisherStage(alertsTable, publisherStats, alertsSinkFinishedLatch),
+                "tca-pipeline-publisher"));
+
+        LOG.info("Starting TCA Pipeline with {} calculator instances, queue capacity: {}, compact records: {}",
+                calculatorInstances, queueCapacity, enableCompactFlowletRecords);
+
+        final long startTimeMS = System.currentTimeMillis();
+        for (Thread stageThread : stageThreads) {
+            stageThread.setDaemon(true);
+            stageThread.start();
+        }
+
+        // sample queue depths and log progress until all stages are finished
+        long nextProgressLogTimeMS = startTimeMS + PROGRESS_LOG_INTERVAL_MS;
+        while (isAnyAlive(stageThreads)) {
+            for (int queueIndex = 0; queueIndex < queues.size(); queueIndex++) {
+                queueStats.get(queueIndex).recordDepth(queues.get(queueIndex).size());
+            }
+            final long currentTimeMS = System.currentTimeMillis();
+            if (currentTimeMS >= nextProgressLogTimeMS) {
+                nextProgressLogTimeMS = currentTimeMS + PROGRESS_LOG_INTERVAL_MS;
+                LOG.info("TCA Pipeline progress - source: {}, router: {}, calculator: {}, alerts sink: {}, " +
+                                "publisher: {}", sourceStats.getProcessedCount(), routerStats.getProcessedCount(),
+                        TCAPipelineStageStats.merge(CALCULATOR_STAGE_NAME, calculatorStats).getProcessedCount(),
+                        alertsSinkStats.getProcessedCount(), publisherStats.getProcessedCount());
+            }
+            stageThreads.get(stageThreads.size() - 1).join(QUEUE_DEPTH_SAMPLE_INTERVAL_MS);
+        }
+        for (Thread stageThread : stageThreads) {
+            stageThread.join();
+        }
+        final long elapsedMS = System.currentTimeMillis() - startTimeMS;
+
+        final List<TCAPipelineStageStats> stageStats = new ArrayList<>();
+        stageStats.add(sourceStats);
+        stageStats.add(routerStats);
+        stageStats.add(TCAPipelineStageStats.merge(CALCULATOR_STAGE_NAME, calculatorStats));
+        stageStats.add(alertsSinkStats);
+        stageStats.add(publisherStats);
+        final List<TCAInMemoryTable<?>> tables = new ArrayList<>();
+        tables.add(messageStatusTable);
+        tables.add(alertsTable);
+        tables.add(thresholdViolationStatsTable);
+
+        return new TCAPipelineReport(elapsedMS, stageStats, calculatorStats,
+                TCAPipelineStageStats.merge(END_TO_END_STAGE_NAME, endToEndStats), queueStats, tables, metrics);
+    }
+
+    /**
+     * Stops reading new messages from source. Messages which are already read are still processed by the pipeline
+     */
+    public void stop() {
+        isStopRequested = true;
+    }
+
+    /**
+     * Runs TCA Pipeline from command line and logs pipeline report. Options are given as option name and value
+     * pairs:
+     * <pre>
+     *  --policy file                           TCA Policy json file - required
+     *  --input file                            VES messages file - json array or one message per line
+     *  --input-repeat-count count              number of times input file messages are replayed - defaults to 1
+     *  --subscriber-url url                    DMaaP MR topic url used instead of input file
+     *                                          e.g. http://localhost:3904/events/unauthenticated.SEC_MEASUREMENT_OUTPUT
+     *  --replay file                           captured VES traffic file - newline delimited, plain or gzip
+     *  --replay-mode mode                      ORIGINAL_TIMING or AS_FAST_AS_POSSIBLE - defaults to ORIGINAL_TIMING
+     *  --replay-speed-factor factor            original timing replay speed factor - defaults to 1
+     *  --generator-messages-per-second rate    synthesizes VES messages at given rate instead of input file - non
+     *                                          positive rate synthesizes messages as fast as pipeline consumes them
+     *  --generator-message-mix mix             generated [domain/]functionalRole[=weight],... mix
+     *  --generator-entity-count count          generated reporting entities per functional role
+     *  --generator-vnic-count count            generated vNics per message
+     *  --generator-violation-ratio ratio       fraction of generated policy applicable messages violating thresholds
+     *  --publisher-url url                     DMaaP MR topic url to which alerts are published
+     *  --publisher-polling-interval-ms ms      alerts table polling interval of publisher
+     *  --alert-coalescing-window-ms ms         alert coalescing window - defaults to no coalescing
+     *  --alert-coalescing-type type            alert coalescing type - defaults to HIGHEST_SEVERITY
+     *  --calculator-instances count            threshold calculator instances
+     *  --compact-records true|false            enables compact flowlet records
+     *  --queue-capacity capacity               capacity of each queue between stages
+     *  --max-messages count                    max messages read from source
+     *  --duration-seconds seconds              max duration for which messages are read from source
+     * </pre>
+     *
+     * @param args command line options
+     *
+     * @throws Exception if pipeline cannot be run
+     */
+    public static void main(final String[] args) throws Exception {
+
+        final Map<String, String> options = parseOptions(args);
+        if (!options.containsKey("policy") || !(options.containsKey("input") || options.containsKey("replay") ||
+                options.containsKey("subscriber-url") || options.containsKey("generator-messages-per-second"))) {
+            throw new IllegalArgumentException("TCA Pipeline Runner requires --policy and either --input, --replay, " +
+                    "--subscriber-url or --generator-messages-per-second options");
+        }
+
+        final TCAPolicy tcaPolicy = new AnalyticsModelObjectMapperSupplier().get()
+                .readValue(new File(options.get("policy")), TCAPolicy.class);
+        final DMaaPMRFactory dMaaPMRFactory = DMaaPMRFactory.create();
+
+        final TCAPipelineSource source;
+        if (options.containsKey("input")) {
+            source = TCAPipelineFileSource.fromFile(new File(options.get("input")),
+                    getIntOption(options, "input-repeat-count", 1),
+                    AnalyticsConstants.TCA_PIPELINE_RUNNER_DEFAULT_QUEUE_CAPACITY);
+        } else if (options.containsKey("replay")) {
+            final String replayMode = options.containsKey("replay-mode") ?
+                    options.get("replay-mode") : AnalyticsConstants.TCA_REPLAY_DEFAULT_MODE;
+            final double replaySpeedFactor = options.containsKey("replay-speed-factor") ?
+                    Double.parseDouble(options.get("replay-speed-factor")) :
+                    AnalyticsConstants.TCA_REPLAY_DEFAULT_SPEED_FACTOR;
+            source = TCAVESCaptureReplayer.create(new File(options.get("replay")),
+                    TCAVESReplayMode.valueOf(replayMode), replaySpeedFactor,
+                    AnalyticsConstants.TCA_PIPELINE_RUNNER_DEFAULT_QUEUE_CAPACITY);
+        } else if (options.containsKey("generator-messages-per-second")) {
+            final TCAVESMessageGenerator.Builder messageGeneratorBuilder = new TCAVESMessageGenerator.Builder(tcaPolicy)
+                    .setMessageMix(options.get("generator-message-mix"))
+                    .setEntityCount(getIntOption(options, "generator-entity-count",
+                            AnalyticsConstants.TCA_LOAD_GENERATOR_DEFAULT_ENTITY_COUNT))
+                    .setVNicCount(getIntOption(options, "generator-vnic-count",
+                            AnalyticsConstants.TCA_LOAD_GENERATOR_DEFAULT_VNIC_COUNT));
+            if (options.containsKey("generator-violation-ratio")) {
+                messageGeneratorBuilder.setViolationRatio(Double.parseDouble(options.get("generator-violation-ratio")));
+            }
+            final TCAVESLoadPacer loadPacer = new TCAVESLoadPacer(
+                    getIntOption(options, "generator-messages-per-second", 0),
+                    AnalyticsConstants.TCA_LOAD_GENERATOR_DEFAULT_BURST_MULTIPLIER, 0, 0);
+            // max messages are limited by pipeline runner
+            source = new TCAVESLoadGenerator(messageGeneratorBuilder.build(), loadPacer,
+                    AnalyticsConstants.TCA_LOAD_GENERATOR_DEFAULT_BATCH_SIZE, 0);
+        } else {
+            final URI subscriberURI = URI.create(options.get("subscriber-url"));
+            final DMaaPMRSubscriberConfig subscriberConfig =
+                    new DMaaPMRSubscriberConfig.Builder(subscriberURI.getHost(), getTopicName(subscriberURI))
+                            .setPortNumber(getPortNumber(subscriberURI))
+                            .setProtocol(subscriberURI.getScheme())
+                            .build();
+            source = new TCAPipelineSubscriberSource(dMaaPMRFactory.createSubscriber(subscriberConfig),
+                    AnalyticsConstants.TCA_PIPELINE_RUNNER_DEFAULT_MAX_EMPTY_FETCHES);
+        }
+
+        final Builder builder = new Builder(tcaPolicy, source);
+        DMaaPMRPublisher publisher = null;
+        if (options.containsKey("publisher-url")) {
+            final URI publisherURI = URI.create(options.get("publisher-url"));
+            final DMaaPMRPublisherConfig publisherConfig =
+                    new DMaaPMRPublisherConfig.Builder(publisherURI.getHost(), getTopicName(publisherURI))
+                            .setPortNumber(getPortNumber(publisherURI))
+                            .setProtocol(publisherURI.getScheme())
+                            .build();
+            publisher = dMaaPMRFactory.createPublisher(publisherConfig);
+            builder.setPublisher(publisher);
+        }
+        if (options.containsKey("publisher-polling-interval-ms")) {
+            builder.setPublisherPollingIntervalMS(getIntOption(options, "publisher-polling-interval-ms", 0));
+        }
+        final int alertCoalescingWindowMS = getIntOption(options, "alert-coalescing-window-ms", 0);
+        if (alertCoalescingWindowMS > 0) {
+            final String alertCoalescingType = options.containsKey("alert-coalescing-type") ?
+                    options.get("alert-coalescing-type") :
+                    AnalyticsConstants.TCA_DEFAULT_PUBLISHER_ALERT_COALESCING_TYPE;
+            builder.setAlertCoalescer(new TCAAlertCoalescer(TCAAlertCoalescingType.valueOf(alertCoalescingType),
+                    alertCoalescingWindowMS));
+        }
+        if (options.containsKey("calculator-instances")) {
+            builder.setCalculatorInstances(getIntOption(options, "calculator-instances", 0));
+        }
+        if (options.containsKey("compact-records")) {
+            builder.setEnableCompactFlowletRecords(Boolean.parseBoolean(options.get("compact-records")));
+        }
+        if (options.containsKey("queue-capacity")) {
+            builder.setQueueCapacity(getIntOption(options, "queue-capacity", 0));
+        }
+        if (options.containsKey("max-messages")) {
+            builder.setMaxMessages(Long.parseLong(options.get("max-messages")));
+        }
+        builder.setDurationMS(TimeUnit.SECONDS.toMillis(getIntOption(options, "duration-seconds", 0)));
+
+        try {
+            final TCAPipelineReport report = builder.build().run();
+            LOG.info("{}{}", System.lineSeparator(), report.formatReport());
+            if (source instanceof TCAVESCaptureReplayer) {
+                LOG.info(((TCAVESCaptureReplayer) source).formatThroughput());
+            }
+        } finally {
+            source.close();
+            if (publisher != null) {
+                publisher.close();
+            }
+        }
+    }
+
+    private static Map<String, String> parseOptions(final String[] args) {
+        if (args.length % 2 != 0) {
+            throw new IllegalArgumentException("TCA Pipeline Runner options must be option name and value pairs");
+        }
+        final Map<String, String> options = new HashMap<>();
+        for (int argIndex = 0; argIndex < args.length; argIndex += 2) {
+            if (!args[argIndex].startsWith("--")) {
+                throw new IllegalArgumentException("Invalid TCA Pipeline Runner option: " + args[argIndex]);
+            }
+            options.put(args[argIndex].substring(2), args[argIndex + 1]);
+        }
+        return options;
+    }
+
+    private static int getIntOption(final Map<String, String> options, final String optionName,
+                                    final int defaultValue) {
+        return options.containsKey(optionName) ? Integer.parseInt(options.get(optionName)) : defaultValue;
+    }
+
+    private static String getTopicName(final URI topicURI) {
+        final String path = topicURI.getPath();
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+
+    private static int getPortNumber(final URI topicURI) {
+        if (topicURI.getPort() > 0) {
+            return topicURI.getPort();
+        }
+        return "https".equalsIgnoreCase(topicURI.getScheme()) ? 443 : 80;
+    }
+
+    /**
+     * Creates threshold violation calculator for a calculator instance with same settings as threshold calculator
+     * flowlet
+     *
+     * @param thresholdSketchCheckpoint in memory threshold sketch checkpoint
+     * @param thresholdViolationStatsSink in memory threshold violation stats sink of calculator instance
+     *
+     * @return threshold violation calculator
+     */
+    private TCAThresholdViolationCalculator createCalculator(
+            final TCAThresholdSketchCheckpoint thresholdSketchCheckpoint,
+            final TCAThresholdViolationStatsSink thresholdViolationStatsSink) {
+        return new TCAThresholdViolationCalculator.Builder(tcaPolicy, appConfig.getAppName(), metrics)
+                .setAppConfig(appConfig)
+                .setCalculatorInstances(calculatorInstances)
+                .setThresholdSketchCheckpoint(thresholdSketchCheckpoint)
+                .setThresholdViolationStatsSink(thresholdViolationStatsSink)
+                .build();
+    }
+
+    private static boolean isAnyAlive(final List<Thread> threads) {
+        for (Thread thread : threads) {
+            if (thread.isAlive()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Source Stage - reads messages from pipeline source and writes them to stream queue
+     */
+    private class SourceStage implements Runnable {
+
+        private final BlockingQueue<Envelope> streamQueue;
+        private final TCAPipelineStageStats stats;
+
+        private SourceStage(final BlockingQueue<Envelope> streamQueue, final TCAPipelineStageStats stats) {
+            this.streamQueue = streamQueue;
+            this.stats = stats;
+        }
+
+        @Override
+        public void run() {
+            final long endTimeMS = durationMS > 0 ? System.currentTimeMillis() + durationMS : Long.MAX_VALUE;
+            long messageCount = 0;
+            try {
+                while (!isStopRequested && messageCount < maxMessages && System.currentTimeMillis() < endTimeMS) {
+                    final long fetchStartNanos = System.nanoTime();
+                    final List<String> messages = source.nextBatch();
+                    if (messages == null) {
+                        break;
+                    }
+                    stats.recordProcessed(messages.size(), System.nanoTime() - fetchStartNanos);
+                    for (String message : messages) {
+                        if (messageCount == maxMessages) {
+                            break;
+                        }
+                        final long currentNanos = System.nanoTime();
+                        streamQueue.put(new Envelope(message, currentNanos, currentNanos));
+                        messageCount++;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                stats.recordFailed();
+                LOG.error("TCA Pipeline Source failed. No more messages will be read: {}", e);
+            } finally {
+                putUninterruptibly(streamQueue, END_OF_INPUT);
+                LOG.info("TCA Pipeline Source finished after reading {} messages", messageCount);
+            }
+        }
+    }
+
+    /**
+     * Router Stage - partitions messages by reporting entity name to calculator queues
+     */
+    private class RouterStage implements Runnable {
+
+        private final BlockingQueue<Envelope> streamQueue;
+        private final List<BlockingQueue<Envelope>> calculatorQueues;
+        private final TCAPipelineStageStats stats;
+
+        private RouterStage(final BlockingQueue<Envelope> streamQueue,
+                            final List<BlockingQueue<Envelope>> calculatorQueues,
+                            final TCAPipelineStageStats stats) {
+            this.streamQueue = streamQueue;
+            this.calculatorQueues = calculatorQueues;
+            this.stats = stats;
+        }
+
+        @Override
+        public void run() {
+            try {
+                Envelope envelope;
+                while ((envelope = streamQueue.take()) != END_OF_INPUT) {
+                    final long startNanos = System.nanoTime();
+                    try {
+                        final byte[] vesMessageBytes = ((String) envelope.payload).getBytes(Charsets.UTF_8);
+                        final TCAVESMessageRecord vesMessageRecord =
+                                TCAVESMessageRecord.fromVESMessage(vesMessageBytes);
+                        final int partitionHash = vesMessageRecord.getPartitionHash();
+                        final Object payload = enableCompactFlowletRecords ? vesMessageRecord.toBytes() :
+                                new String(vesMessageBytes, Charsets.UTF_8);
+                        final int instanceId = ((partitionHash % calculatorInstances) + calculatorInstances) %
+                                calculatorInstances;
+                        calculatorQueues.get(instanceId).put(
+                                new Envelope(payload, envelope.sourceNanos, System.nanoTime()));
+                        stats.recordProcessed(1, System.nanoTime() - startNanos);
+                        stats.recordLatency(System.nanoTime() - envelope.enqueueNanos);
+                    } catch (RuntimeException e) {
+                        stats.recordFailed();
+                        LOG.warn("TCA Pipeline Router dropped message which cannot be routed: {}", e);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                for (BlockingQueue<Envelope> calculatorQueue : calculatorQueues) {
+                    putUninterruptibly(calculatorQueue, END_OF_INPUT);
+                }
+            }
+        }
+    }
+
+    /**
+     * Calculator Stage - computes threshold violations of messages of a single calculator instance
+     */
+    private class CalculatorStage implements Runnable {
+
+        private final int instanceId;
+        private final TCAThresholdViolationCalculator calculator;
+        private final BlockingQueue<Envelope> calculatorQueue;
+        private final BlockingQueue<Envelope> alertsQueue;
+        private final TCAInMemoryTable<TCAMessageStatusEntity> messageStatusTable;
+        private final TCAPipelineStageStats stats;
+        private final TCAPipelineStageStats endToEndStats;
+
+        private CalculatorStage(final int instanceId, final TCAThresholdViolationCalculator calculator,
+                                final BlockingQueue<Envelope> calculatorQueue,
+                                final BlockingQueue<Envelope> alertsQueue,
+                                final TCAInMemoryTable<TCAMessageStatusEntity> messageStatusTable,
+                                final TCAPipelineStageStats stats, final TCAPipelineStageStats endToEndStats) {
+            this.instanceId = instanceId;
+            this.calculator = calculator;
+            this.calculatorQueue = calculatorQueue;
+            this.alertsQueue = alertsQueue;
+            this.messageStatusTable = messageStatusTable;
+            this.stats = stats;
+            this.endToEndStats = endToEndStats;
+        }
+
+        @Override
+        public void run() {
+            try {
+                Envelope envelope;
+                while ((envelope = calculatorQueue.take()) != END_OF_INPUT) {
+                    final long startNanos = System.nanoTime();
+                    try {
+                        // Step 1: Filter incoming messages
+                        final TCACEFProcessorContext processorContext = envelope.payload instanceof byte[] ?
+                                TCAUtils.filterCEFMessage(TCAVESMessageRecord.fromBytes((byte[]) envelope.payload),
+                                        tcaPolicy) :
+                                TCAUtils.filterCEFMessage((String) envelope.payload, tcaPolicy);
+
+                        // Step 2 and 3: Compute threshold violations and create alert message if required
+                        final TCAThresholdViolationCalculator.Result result = calculator.calculate(processorContext);
+
+                        // Step 4: Emit alert to alerts sink stage
+                        final TCAVESAlertRecord alertRecord = result.getAlertRecord();
+                        if (alertRecord != null) {
+                            alertsQueue.put(new Envelope(alertRecord.toBytes(), envelope.sourceNanos,
+                                    System.nanoTime()));
+                        }
+
+                        // save message to message status table
+                        final TCACalculatorMessageType calculatorMessageType = result.getCalculatorMessageType();
+                        messageStatusTable.write(TCAMessageStatusPersister.createKey(calculatorMessageType),
+                                TCAMessageStatusPersister.createMessageStatusEntity(processorContext, instanceId,
+                                        calculatorMessageType, result.getAlertMessage()));
+
+                        final long endNanos = System.nanoTime();
+                        stats.recordProcessed(1, endNanos - startNanos);
+                        stats.recordLatency(endNanos - envelope.enqueueNanos);
+                        endToEndStats.recordLatency(endNanos - envelope.sourceNanos);
+                    } catch (JsonProcessingException | RuntimeException e) {
+                        stats.recordFailed();
+                        LOG.warn("TCA Pipeline Calculator instance: {} failed to process message: {}",
+                                instanceId, e);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                calculator.flushThresholdViolationStats();
+                calculator.flushMetrics();
+                putUninterruptibly(alertsQueue, END_OF_INPUT);
+            }
+        }
+    }
+
+    /**
+     * Alerts Sink Stage - saves alerts to alerts table
+     */
+    private class AlertsSinkStage implements Runnable {
+
+        private final BlockingQueue<Envelope> alertsQueue;
+        private final TCAInMemoryTable<TCAVESAlertEntity> alertsTable;
+        private final TCAPipelineStageStats stats;
+        private final CountDownLatch finishedLatch;
+
+        private AlertsSinkStage(final BlockingQueue<Envelope> alertsQueue,
+                                final TCAInMemoryTable<TCAVESAlertEntity> alertsTable,
+                                final TCAPipelineStageStats stats, final CountDownLatch finishedLatch) {
+            this.alertsQueue = alertsQueue;
+            this.alertsTable = alertsTable;
+            this.stats = stats;
+            this.finishedLatch = finishedLatch;
+        }
+
+        @Override
+        public void run() {
+            try {
+                // each calculator instance marks end of its alerts
+                int finishedCalculatorCount = 0;
+                while (finishedCalculatorCount < calculatorInstances) {
+                    final Envelope envelope = alertsQueue.take();
+                    if (envelope == END_OF_INPUT) {
+                        finishedCalculatorCount++;
+                        continue;
+                    }
+                    final long startNanos = System.nanoTime();
+                    try {
+                        final TCAVESAlertRecord alertRecord = TCAVESAlertRecord.fromBytes((byte[]) envelope.payload);
+                        final Date currentDate = new Date();
+                        alertsTable.write(TCAVESAlertsPersister.createRowKey(currentDate),
+                                TCAVESAlertsPersister.createAlertEntity(alertRecord, currentDate));
+                        final long endNanos = System.nanoTime();
+                        stats.recordProcessed(1, endNanos - startNanos);
+                        stats.recordLatency(endNanos - envelope.enqueueNanos);
+                    } catch (RuntimeException e) {
+                        stats.recordFailed();
+                        LOG.warn("TCA Pipeline Alerts Sink failed to save alert: {}", e);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                finishedLatch.countDown();
+            }
+        }
+    }
+
+    /**
+     * Publisher Stage - publishes new alerts from alerts table once every polling interval and all remaining alerts
+     * after alerts sink stage is finished
+     */
+    private class PublisherStage implements Runnable {
+
+        private final TCAInMemoryTable<TCAVESAlertEntity> alertsTable;
+        private final TCAPipelineStageStats stats;
+        private final CountDownLatch alertsSinkFinishedLatch;
+        private final TCAVESAlertsPublisher alertsPublisher;
+
+        private PublisherStage(final TCAInMemoryTable<TCAVESAlertEntity> alertsTable,
+                               final TCAPipelineStageStats stats, final CountDownLatch alertsSinkFinishedLatch) {
+            this.alertsTable = alertsTable;
+            this.stats = stats;
+            this.alertsSinkFinishedLatch = alertsSinkFinishedLatch;
+            final long latencyMetricsIntervalMS =
+                    TimeUnit.SECONDS.toMillis(AnalyticsConstants.TCA_EVENT_LATENCY_METRICS_INTERVAL_SECONDS);
+            this.alertsPublisher = new TCAVESAlertsPublisher(publisher, alertCoalescer, metrics,
+                    new LatencyMetricsRecorder(CDAPMetricsConstants.TCA_VES_ALERT_TO_PUBLISH_LATENCY_METRIC,
+                            latencyMetricsIntervalMS),
+                    new LatencyMetricsRecorder(CDAPMetricsConstants.TCA_VES_EVENT_TO_PUBLISH_LATENCY_METRIC,
+                            latencyMetricsIntervalMS));
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!alertsSinkFinishedLatch.await(publisherPollingIntervalMS, TimeUnit.MILLISECONDS)) {
+                    publishNewAlerts(TCAVESAlertsPersister.createRowKey(new Date()));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                // all remaining alerts are published
+                publishNewAlerts(TCAVESAlertsPersister.createRowKey(new Date(Long.MAX_VALUE)));
+                alertsPublisher.flushLatencyMetrics();
+                if (publisher != null) {
+                    publisher.flush();
+                }
+            }
+        }
+
+        private void publishNewAlerts(final String stopRowKey) {
+            final long startNanos = System.nanoTime();
+            final Map<String, TCAVESAlertEntity> newAlertsMap = alertsTable.scan(stopRowKey);
+            final boolean isPublished = alertsPublisher.publish(newAlertsMap,
+                    new TCAVESAlertsPublisher.AlertsDeleter() {
+                        @Override
+                        public void delete(final Map<String, TCAVESAlertEntity> alertsMap) {
+                            final long currentTimeMS = System.currentTimeMillis();
+                            for (Map.Entry<String, TCAVESAlertEntity> alertEntry : alertsMap.entrySet()) {
+                                alertsTable.delete(alertEntry.getKey());
+                                stats.recordLatency(TimeUnit.MILLISECONDS.toNanos(
+                                        currentTimeMS - alertEntry.getValue().getCreationTS()));
+                            }
+                        }
+                    });
+            if (newAlertsMap.isEmpty()) {
+                return;
+            }
+            if (!isPublished) {
+                stats.recordFailed();
+            }
+            stats.recordProcessed(newAlertsMap.size(), System.nanoTime() - startNanos);
+        }
+    }
+
+    private static void putUninterruptibly(final BlockingQueue<Envelope> queue, final Envelope envelope) {
+        boolean isInterrupted = false;
+        while (true) {
+            try {
+                queue.put(envelope);
+                break;
+            } catch (InterruptedException e) {
+                isInterrupted = true;
+            }
+        }
+        if (isInterrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Item passed between pipeline stages along with its timestamps
+     */
+    private static final class Envelope {
+
+        private final Object payload;
+        // time when message was read by source
+        private final long sourceNanos;
+        // time when item was put in its current queue
+        private final long enqueueNanos;
+
+        private Envelope(final Object payload, final long sourceNanos, final long enqueueNanos) {
+            this.payload = payload;
+            this.sourceNanos = sourceNanos;
+            this.enqueueNanos = enqueueNanos;
+        }
+    }
+
+    /**
+     * In memory stand-in for threshold sketch table shared by all calculator instances
+     */
+    private static final class InMemoryThresholdSketchCheckpoint implements TCAThresholdSketchCheckpoint {
+
+        private final ConcurrentMap<Long, byte[]> savedWindows = new ConcurrentHashMap<>();
+
+        @Nullable
+        @Override
+        public byte[] load(final long key) {
+            return savedWindows.get(key);
+        }
+
+        @Override
+        public void save(final long key, @Nonnull final byte[] serializedWindow) {
+            savedWindows.put(key, serializedWindow);
+        }
+    }
+
+    /**
+     * In memory stand-in for threshold violation stats table writer of a calculator instance
+     */
+    private static final class InMemoryThresholdViolationStatsSink implements TCAThresholdViolationStatsSink {
+
+        private final TCAInMemoryTable<TCAThresholdViolationStatsEntity> thresholdViolationStatsTable;
+        private final int instanceId;
+        private final long runStartMS;
+
+        private InMemoryThresholdViolationStatsSink(
+                final TCAInMemoryTable<TCAThresholdViolationStatsEntity> thresholdViolationStatsTable,
+                final int instanceId) {
+            this.thresholdViolationStatsTable = thresholdViolationStatsTable;
+            this.instanceId = instanceId;
+            this.runStartMS = System.currentTimeMillis();
+        }
+
+        @Override
+        public void save(final long windowStartMS,
+                         @Nonnull final Collection<TCAThresholdViolationStats.ThresholdStats> thresholdStats) {
+            for (TCAThresholdViolationStats.ThresholdStats stats : thresholdStats) {
+                thresholdViolationStatsTable.write(
+                        TCAThresholdViolationStatsPersister.createRowKey(windowStartMS, instanceId, runStartMS, stats),
+                        TCAThresholdViolationStatsPersister.createThresholdViolationStatsEntity(windowStartMS,
+                                instanceId, runStartMS, stats));
+            }
+        }
+    }
+
+
+    /**
+     * Builder for TCA Pipeline Runner. Calculator settings default to TCA App Config defaults
+     */
+    public static class Builder {
+
+        private final TCAPolicy tcaPolicy;
+        private final TCAPipelineSource source;
+        private TCAAppConfig appConfig;
+        private int calculatorInstances;
+        private boolean enableCompactFlowletRecords;
+        private int queueCapacity;
+        private long maxMessages;
+        private long durationMS;
+        private int messageStatusTableMaxEntries;
+        private DMaaPMRPublisher publisher;
+        private TCAAlertCoalescer alertCoalescer;
+        private long publisherPollingIntervalMS;
+
+        public Builder(@Nonnull final TCAPolicy tcaPolicy, @Nonnull final TCAPipelineSource source) {
+            // Required Values
+            this.tcaPolicy = tcaPolicy;
+            this.source = source;
+
+            // Default values
+            setAppConfig(new TCAAppConfig());
+            this.queueCapacity = AnalyticsConstants.TCA_PIPELINE_RUNNER_DEFAULT_QUEUE_CAPACITY;
+            this.maxMessages = Long.MAX_VALUE;
+            this.durationMS = 0;
+            this.messageStatusTableMaxEntries =
+                    AnalyticsConstants.TCA_PIPELINE_RUNNER_DEFAULT_MESSAGE_STATUS_MAX_ENTRIES;
+            this.publisherPollingIntervalMS = AnalyticsConstants.TCA_DEFAULT_PUBLISHER_POLLING_INTERVAL_MS;
+        }
+
+        /**
+         * Sets calculator settings, calculator instances and compact flowlet records from TCA App Config
+         *
+         * @param appConfig TCA App Config
+         * @return Builder object itself for chaining
+         */
+        public Builder setAppConfig(@Nonnull final TCAAppConfig appConfig) {
+            this.appConfig = appConfig;
+            this.calculatorInstances = appConfig.getThresholdCalculatorFlowletInstances();
+            this.enableCompactFlowletRecords = appConfig.getEnableCompactFlowletRecords();
+            return this;
+        }
+
+        /**
+         * Number of calculator instances - stand-in for threshold calculator flowlet instances
+         *
+         * @param calculatorInstances number of calculator instances
+         * @return Builder object itself for chaining
+         */
+        public Builder setCalculatorInstances(final int calculatorInstances) {
+            this.calculatorInstances = calculatorInstances;
+            return this;
+        }
+
+        public Builder setEnableCompactFlowletRecords(final boolean enableCompactFlowletRecords) {
+            this.enableCompactFlowletRecords = enableCompactFlowletRecords;
+            return this;
+        }
+
+        /**
+         * Capacity of each queue between pipeline stages - Defaults to 1000
+         *
+         * @param queueCapacity queue capacity
+         * @return Builder object itself for chaining
+         */
+        public Builder setQueueCapacity(final int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        /**
+         * Max messages read from source - Defaults to no limit
+         *
+         * @param maxMessages max messages
+         * @return Builder object itself for chaining
+         */
+        public Builder setMaxMessages(final long maxMessages) {
+            this.maxMessages = maxMessages;
+            return this;
+        }
+
+        /**
+         * Max duration for which messages are read from source - Defaults to no limit
+         *
+         * @param durationMS run duration in milli seconds - zero indicates no limit
+         * @return Builder object itself for chaining
+         */
+        public Builder setDurationMS(final long durationMS) {
+            this.durationMS = durationMS;
+            return this;
+        }
+
+        /**
+         * Max rows kept in in memory message status table - Defaults to 100000
+         *
+         * @param messageStatusTableMaxEntries max message status table rows
+         * @return Builder object itself for chaining
+         */
+        public Builder setMessageStatusTableMaxEntries(final int messageStatusTableMaxEntries) {
+            this.messageStatusTableMaxEntries = messageStatusTableMaxEntries;
+            return this;
+        }
+
+        /**
+         * DMaaP MR Publisher to which alerts are published - Defaults to no publisher in which case alerts are only
+         * deleted from alerts table
+         *
+         * @param publisher DMaaP MR publisher
+         * @return Builder object itself for chaining
+         */
+        public Builder setPublisher(@Nullable final DMaaPMRPublisher publisher) {
+            this.publisher = publisher;
+            return this;
+        }
+
+        public Builder setAlertCoalescer(@Nullable final TCAAlertCoalescer alertCoalescer) {
+            this.alertCoalescer = alertCoalescer;
+            return this;
+        }
+
+        public Builder setPublisherPollingIntervalMS(final long publisherPollingIntervalMS) {
+            this.publisherPollingIntervalMS = publisherPollingIntervalMS;
+            return this;
+        }
+
+        public TCAPipelineRunner build() {
+            if (calculatorInstances < 1 || queueCapacity < 1 || maxMessages < 1 || durationMS < 0 ||
+                    messageStatusTableMaxEntries < 1 || publisherPollingIntervalMS < 1) {
+                throw new IllegalArgumentException("Invalid TCA Pipeline Runner settings");
+            }
+            return new TCAPipelineRunner(this);
+        }
+    }
+
+}
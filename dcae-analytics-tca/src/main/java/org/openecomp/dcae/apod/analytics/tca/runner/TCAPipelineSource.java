@@ -0,0 +1,46 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.runner;
+
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+/**
+ * <p>
+ *     Source of VES messages for TCA Pipeline Runner - stand-in for TCA DMaaP MR Subscriber Job which writes
+ *     subscribed messages to TCA subscriber output stream.
+ *     <br>
+ *     Source is only called by the pipeline source stage thread and need not be thread safe.
+ * </p>
+ */
+public interface TCAPipelineSource extends AutoCloseable {
+
+    /**
+     * Fetches next batch of VES messages. Source may block until messages are available
+     *
+     * @return next batch of VES messages - which may be empty if no messages are currently available or
+     * null if source has no more messages
+     */
+    @Nullable
+    List<String> nextBatch();
+
+}
@@ -0,0 +1,232 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.runner;
+
+import com.google.common.base.Objects;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+
+/**
+ * <p>
+ *     Throughput and latency statistics of a single TCA Pipeline stage worker. Latency is measured from the time
+ *     an item was put in the input queue of the stage until the stage finished processing it, so it includes queue
+ *     wait time. Service time only includes processing time. Percentiles are computed from a fixed size uniform
+ *     reservoir sample of each so that long runs have bounded memory. Stats of multiple workers of the same stage
+ *     are merged by weighting samples of each worker by its count.
+ *     <br>
+ *     Stats are written only by the worker thread which owns them. Counts can be read by other threads while
+ *     the pipeline is running but percentiles must only be read after worker thread has finished.
+ * </p>
+ */
+public class TCAPipelineStageStats {
+
+    // max latency samples kept for percentile computation
+    private static final int RESERVOIR_SIZE = 10000;
+
+    private final String stageName;
+    private final LongReservoir latencyNanos;
+    private final LongReservoir serviceTimeNanos;
+    private final List<LongReservoir> latencyReservoirs = new ArrayList<>();
+    private final List<LongReservoir> serviceTimeReservoirs = new ArrayList<>();
+    private volatile long processedCount;
+    private volatile long failedCount;
+
+    public TCAPipelineStageStats(@Nonnull final String stageName) {
+        this.stageName = stageName;
+        // fixed seeds keep reservoir sampling repeatable for repeated runs of same input
+        this.latencyNanos = new LongReservoir(RESERVOIR_SIZE, new Random(stageName.hashCode()));
+        this.serviceTimeNanos = new LongReservoir(RESERVOIR_SIZE, new Random(~stageName.hashCode()));
+        this.latencyReservoirs.add(latencyNanos);
+        this.serviceTimeReservoirs.add(serviceTimeNanos);
+    }
+
+    /**
+     * Records successful processing of given number of items
+     *
+     * @param itemCount number of items processed together
+     * @param serviceTimeNanos processing time in nano seconds
+     */
+    public void recordProcessed(final int itemCount, final long serviceTimeNanos) {
+        processedCount += itemCount;
+        this.serviceTimeNanos.add(serviceTimeNanos);
+    }
+
+    /**
+     * Records latency of a single item
+     *
+     * @param latencyNanos time since item was queued for this stage in nano seconds
+     */
+    public void recordLatency(final long latencyNanos) {
+        this.latencyNanos.add(latencyNanos);
+    }
+
+    /**
+     * Records failure to process an item. Failed items are dropped by the pipeline
+     */
+    public void recordFailed() {
+        failedCount++;
+    }
+
+    public String getStageName() {
+        return stageName;
+    }
+
+    public long getProcessedCount() {
+        return processedCount;
+    }
+
+    public long getFailedCount() {
+        return failedCount;
+    }
+
+    /**
+     * Returns latency percentile in micro seconds
+     *
+     * @param percentile percentile between 0 and 100
+     *
+     * @return latency percentile in micro seconds or zero if no latency was recorded
+     */
+    public long getLatencyPercentileMicros(final double percentile) {
+        return TimeUnit.NANOSECONDS.toMicros(LongReservoir.getPercentile(latencyReservoirs, percentile));
+    }
+
+    /**
+     * Returns mean service time in micro seconds
+     *
+     * @return mean service time in micro seconds or zero if no service time was recorded
+     */
+    public long getMeanServiceTimeMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(LongReservoir.getMean(serviceTimeReservoirs));
+    }
+
+    /**
+     * Merges stats of multiple workers of the same stage - like all calculator instances
+     *
+     * @param stageName merged stage name
+     * @param workerStats stats of each worker
+     *
+     * @return merged stats
+     */
+    public static TCAPipelineStageStats merge(@Nonnull final String stageName,
+                                              @Nonnull final List<TCAPipelineStageStats> workerStats) {
+        final TCAPipelineStageStats mergedStats = new TCAPipelineStageStats(stageName);
+        mergedStats.latencyReservoirs.clear();
+        mergedStats.serviceTimeReservoirs.clear();
+        for (TCAPipelineStageStats stats : workerStats) {
+            mergedStats.processedCount += stats.processedCount;
+            mergedStats.failedCount += stats.failedCount;
+            mergedStats.latencyReservoirs.addAll(stats.latencyReservoirs);
+            mergedStats.serviceTimeReservoirs.addAll(stats.serviceTimeReservoirs);
+        }
+        return mergedStats;
+    }
+
+    @Override
+    public String toString() {
+        return Objects.toStringHelper(this)
+                .add("stageName", stageName)
+                .add("processedCount", processedCount)
+                .add("failedCount", failedCount)
+                .toString();
+    }
+
+    /**
+     * Uniform reservoir sample of long values which also keeps exact count and sum of all values
+     */
+    private static class LongReservoir {
+
+        private final long[] samples;
+        private final Random random;
+        private long count;
+        private long sum;
+
+        private LongReservoir(final int size, final Random random) {
+            this.samples = new long[size];
+            this.random = random;
+        }
+
+        private void add(final long value) {
+            count++;
+            sum += value;
+            if (count <= samples.length) {
+                samples[(int) (count - 1)] = value;
+                return;
+            }
+            final long index = (long) (random.nextDouble() * count);
+            if (index < samples.length) {
+                samples[(int) index] = value;
+            }
+        }
+
+        /**
+         * Computes percentile of values of all given reservoirs - each sample of a reservoir stands for
+         * count / sample count values of that reservoir
+         */
+        private static long getPercentile(final List<LongReservoir> reservoirs, final double percentile) {
+            final List<double[]> weightedSamples = new ArrayList<>();
+            double totalWeight = 0;
+            for (LongReservoir reservoir : reservoirs) {
+                final int sampleCount = (int) Math.min(reservoir.count, reservoir.samples.length);
+                final double sampleWeight = (double) reservoir.count / Math.max(1, sampleCount);
+                for (int i = 0; i < sampleCount; i++) {
+                    weightedSamples.add(new double[]{reservoir.samples[i], sampleWeight});
+                }
+                totalWeight += reservoir.count;
+            }
+            if (weightedSamples.isEmpty()) {
+                return 0;
+            }
+            Collections.sort(weightedSamples, new Comparator<double[]>() {
+                @Override
+                public int compare(final double[] first, final double[] second) {
+                    return Double.compare(first[0], second[0]);
+                }
+            });
+            final double rankWeight = percentile / 100.0 * totalWeight;
+            double cumulativeWeight = 0;
+            for (double[] weightedSample : weightedSamples) {
+                cumulativeWeight += weightedSample[1];
+                if (cumulativeWeight >= rankWeight) {
+                    return (long) weightedSample[0];
+                }
+            }
+            return (long) weightedSamples.get(weightedSamples.size() - 1)[0];
+        }
+
+        private static long getMean(final List<LongReservoir> reservoirs) {
+            long count = 0;
+            long sum = 0;
+            for (LongReservoir reservoir : reservoirs) {
+                count += reservoir.count;
+                sum += reservoir.sum;
+            }
+            return count == 0 ? 0 : sum / count;
+        }
+    }
+
+}
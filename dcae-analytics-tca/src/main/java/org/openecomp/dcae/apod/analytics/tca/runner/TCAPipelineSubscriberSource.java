@@ -0,0 +1,95 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.runner;
+
+import org.openecomp.dcae.apod.analytics.common.exception.DCAEAnalyticsRuntimeException;
+import org.openecomp.dcae.apod.analytics.common.utils.HTTPUtils;
+import org.openecomp.dcae.apod.analytics.dmaap.domain.response.DMaaPMRSubscriberResponse;
+import org.openecomp.dcae.apod.analytics.dmaap.service.subscriber.DMaaPMRSubscriber;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * <p>
+ *     TCA Pipeline Source which fetches VES messages from DMaaP MR Topic using {@link DMaaPMRSubscriber} - like
+ *     TCA DMaaP MR Subscriber Job but without any polling interval between fetches. Source is exhausted after
+ *     given number of consecutive fetches return no messages.
+ * </p>
+ */
+public class TCAPipelineSubscriberSource implements TCAPipelineSource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TCAPipelineSubscriberSource.class);
+
+    private final DMaaPMRSubscriber subscriber;
+    private final int maxEmptyFetches;
+    private int emptyFetchCount;
+    private long failedFetchCount;
+
+    public TCAPipelineSubscriberSource(@Nonnull final DMaaPMRSubscriber subscriber, final int maxEmptyFetches) {
+        this.subscriber = subscriber;
+        this.maxEmptyFetches = maxEmptyFetches;
+    }
+
+    @Nullable
+    @Override
+    public List<String> nextBatch() {
+        if (emptyFetchCount >= maxEmptyFetches) {
+            return null;
+        }
+        List<String> fetchedMessages = Collections.emptyList();
+        try {
+            final DMaaPMRSubscriberResponse subscriberResponse = subscriber.fetchMessages();
+            if (HTTPUtils.isSuccessfulResponseCode(subscriberResponse.getResponseCode())) {
+                fetchedMessages = subscriberResponse.getFetchedMessages();
+            } else {
+                failedFetchCount++;
+                LOG.warn("Unable to fetch messages from DMaaP MR Topic. Response Code: {}, Response Message: {}",
+                        subscriberResponse.getResponseCode(), subscriberResponse.getResponseMessage());
+            }
+        } catch (DCAEAnalyticsRuntimeException e) {
+            failedFetchCount++;
+            LOG.error("Exception while fetching messages from DMaaP MR Topic: {}", e);
+        }
+        emptyFetchCount = fetchedMessages.isEmpty() ? emptyFetchCount + 1 : 0;
+        return fetchedMessages;
+    }
+
+    /**
+     * Returns number of fetches which did not return successful DMaaP MR response
+     *
+     * @return failed fetch count
+     */
+    public long getFailedFetchCount() {
+        return failedFetchCount;
+    }
+
+    @Override
+    public void close() throws Exception {
+        subscriber.close();
+    }
+
+}
@@ -0,0 +1,145 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.service;
+
+import co.cask.cdap.api.annotation.Property;
+import co.cask.cdap.api.dataset.lib.CloseableIterator;
+import co.cask.cdap.api.dataset.lib.KeyValue;
+import co.cask.cdap.api.dataset.lib.ObjectMappedTable;
+import co.cask.cdap.api.service.http.AbstractHttpServiceHandler;
+import co.cask.cdap.api.service.http.HttpServiceRequest;
+import co.cask.cdap.api.service.http.HttpServiceResponder;
+import org.openecomp.dcae.apod.analytics.common.AnalyticsConstants;
+import org.openecomp.dcae.apod.analytics.tca.persistance.TCAThresholdViolationStatsEntity;
+import org.openecomp.dcae.apod.analytics.tca.persistance.TCAThresholdViolationStatsPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.QueryParam;
+
+/**
+ * <p>
+ *     Serves threshold violation stats saved by TCA Threshold Violation Calculator Flowlet instances. Stats of all
+ *     instances and stats windows overlapping requested time range are merged. Following endpoints are available:
+ *     <pre>
+ *      GET thresholds     violation counts and top offenders of each policy threshold
+ *      GET policies       violation counts and top offenders of each closed loop control name
+ *     </pre>
+ *     Both endpoints accept optional query parameters:
+ *     <pre>
+ *      startTime          start of time range in epoch milli seconds - defaults to one stats window before end
+ *      endTime            end of time range in epoch milli seconds - defaults to current time
+ *      functionalRole     only include stats of given functional role
+ *      topK               number of top offending reporting entities - defaults to 10
+ *     </pre>
+ *     Time range is rounded out to stats window boundaries. Results are sorted by violation count in descending
+ *     order. Top offender counts may overestimate true counts by at most their error.
+ * </p>
+ */
+public class TCAThresholdViolationStatsHandler extends AbstractHttpServiceHandler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TCAThresholdViolationStatsHandler.class);
+
+    private static final String DEFAULT_TOP_K = "" + AnalyticsConstants.TCA_THRESHOLD_VIOLATION_STATS_DEFAULT_TOP_K;
+    private static final long STATS_WINDOW_MS =
+            TimeUnit.SECONDS.toMillis(AnalyticsConstants.TCA_THRESHOLD_VIOLATION_STATS_WINDOW_SECONDS);
+
+    @Property
+    private final String thresholdViolationStatsTableName;
+
+    public TCAThresholdViolationStatsHandler(final String thresholdViolationStatsTableName) {
+        this.thresholdViolationStatsTableName = thresholdViolationStatsTableName;
+    }
+
+    @GET
+    @Path("thresholds")
+    public void getThresholdStats(final HttpServiceRequest request, final HttpServiceResponder responder,
+                                  @QueryParam("startTime") @DefaultValue("-1") final long startTimeMS,
+                                  @QueryParam("endTime") @DefaultValue("-1") final long endTimeMS,
+                                  @QueryParam("functionalRole") final String functionalRole,
+                                  @QueryParam("topK") @DefaultValue(DEFAULT_TOP_K) final int topK) {
+        sendStats(responder, startTimeMS, endTimeMS, functionalRole, topK, false);
+    }
+
+    @GET
+    @Path("policies")
+    public void getPolicyStats(final HttpServiceRequest request, final HttpServiceResponder responder,
+                               @QueryParam("startTime") @DefaultValue("-1") final long startTimeMS,
+                               @QueryParam("endTime") @DefaultValue("-1") final long endTimeMS,
+                               @QueryParam("functionalRole") final String functionalRole,
+                               @QueryParam("topK") @DefaultValue(DEFAULT_TOP_K) final int topK) {
+        sendStats(responder, startTimeMS, endTimeMS, functionalRole, topK, true);
+    }
+
+    private void sendStats(final HttpServiceResponder responder, final long startTimeMS, final long endTimeMS,
+                           final String functionalRole, final int topK, final boolean isPolicyStats) {
+        final long statsEndTimeMS = endTimeMS < 0 ? System.currentTimeMillis() : endTimeMS;
+        final long statsStartTimeMS = startTimeMS < 0 ? statsEndTimeMS - STATS_WINDOW_MS : startTimeMS;
+        if (statsStartTimeMS > statsEndTimeMS || topK <= 0) {
+            responder.sendError(HttpURLConnection.HTTP_BAD_REQUEST,
+                    "startTime must not be after endTime and topK must be greater than 0");
+            return;
+        }
+
+        final List<TCAThresholdViolationStatsEntity> statsEntities =
+                getStatsEntities(statsStartTimeMS, statsEndTimeMS, functionalRole);
+        LOG.debug("Merging {} threshold violation stats rows between: {} and {}", statsEntities.size(),
+                statsStartTimeMS, statsEndTimeMS);
+        responder.sendJson(isPolicyStats ?
+                TCAThresholdViolationStatsSummary.summarizeByPolicy(statsEntities, topK) :
+                TCAThresholdViolationStatsSummary.summarizeByThreshold(statsEntities, topK));
+    }
+
+    /**
+     * Scans stats rows of all windows overlapping given time range - row keys start with window start time
+     */
+    private List<TCAThresholdViolationStatsEntity> getStatsEntities(final long startTimeMS, final long endTimeMS,
+                                                                    final String functionalRole) {
+        final ObjectMappedTable<TCAThresholdViolationStatsEntity> thresholdViolationStatsTable =
+                getContext().getDataset(thresholdViolationStatsTableName);
+        final String startRowKey =
+                TCAThresholdViolationStatsPersister.createWindowRowKey(startTimeMS - startTimeMS % STATS_WINDOW_MS);
+        final String stopRowKey = TCAThresholdViolationStatsPersister.createWindowRowKey(endTimeMS + 1);
+
+        final List<TCAThresholdViolationStatsEntity> statsEntities = new ArrayList<>();
+        final CloseableIterator<KeyValue<byte[], TCAThresholdViolationStatsEntity>> scan =
+                thresholdViolationStatsTable.scan(startRowKey, stopRowKey);
+        try {
+            while (scan.hasNext()) {
+                final TCAThresholdViolationStatsEntity statsEntity = scan.next().getValue();
+                if (functionalRole == null || functionalRole.equals(statsEntity.getFunctionalRole())) {
+                    statsEntities.add(statsEntity);
+                }
+            }
+        } finally {
+            scan.close();
+        }
+        return statsEntities;
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.service;
+
+import co.cask.cdap.api.service.AbstractService;
+import org.openecomp.dcae.apod.analytics.common.CDAPComponentsConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * CDAP Service which serves violation counts and top offending reporting entities of TCA Policy thresholds and
+ * policies from TCA Threshold Violation Stats Table - see {@link TCAThresholdViolationStatsHandler} for endpoints
+ */
+public class TCAThresholdViolationStatsService extends AbstractService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TCAThresholdViolationStatsService.class);
+
+    private final String thresholdViolationStatsTableName;
+
+    public TCAThresholdViolationStatsService(final String thresholdViolationStatsTableName) {
+        this.thresholdViolationStatsTableName = thresholdViolationStatsTableName;
+    }
+
+    @Override
+    protected void configure() {
+        setName(CDAPComponentsConstants.TCA_FIXED_THRESHOLD_VIOLATION_STATS_NAME_SERVICE);
+        setDescription(CDAPComponentsConstants.TCA_FIXED_THRESHOLD_VIOLATION_STATS_DESCRIPTION_SERVICE);
+        addHandler(new TCAThresholdViolationStatsHandler(thresholdViolationStatsTableName));
+        LOG.debug("Configuring TCA Threshold Violation Stats Service with name: {}",
+                CDAPComponentsConstants.TCA_FIXED_THRESHOLD_VIOLATION_STATS_NAME_SERVICE);
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.service;
+
+import org.openecomp.dcae.apod.analytics.tca.persistance.TCAThresholdViolationStatsEntity;
+import org.openecomp.dcae.apod.analytics.tca.persistance.TCAThresholdViolationStatsPersister;
+import org.openecomp.dcae.apod.analytics.tca.threshold.TCASpaceSavingSketch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Merged violation stats of a policy threshold - or of all policy thresholds of a closed loop - across
+ * calculator instances and stats windows. Served as json by {@link TCAThresholdViolationStatsHandler}
+ */
+public class TCAThresholdViolationStatsSummary {
+
+    private static final Comparator<TCAThresholdViolationStatsSummary> VIOLATION_COUNT_DESCENDING_COMPARATOR =
+            new Comparator<TCAThresholdViolationStatsSummary>() {
+                @Override
+                public int compare(final TCAThresholdViolationStatsSummary summary1,
+                                   final TCAThresholdViolationStatsSummary summary2) {
+                    return Long.compare(summary2.violationCount, summary1.violationCount);
+                }
+            };
+
+    private final String functionalRole;
+    private final String closedLoopControlName;
+    private final String thresholdPath;
+    private final String thresholdSeverity;
+    private long violationCount;
+    private long alertCount;
+    private List<TCASpaceSavingSketch.ItemCount> topOffenders;
+    // not part of json response
+    private final transient TCASpaceSavingSketch.Merger topOffendersMerger = new TCASpaceSavingSketch.Merger();
+
+    private TCAThresholdViolationStatsSummary(final String functionalRole, final String closedLoopControlName,
+                                              final String thresholdPath, final String thresholdSeverity) {
+        this.functionalRole = functionalRole;
+        this.closedLoopControlName = closedLoopControlName;
+        this.thresholdPath = thresholdPath;
+        this.thresholdSeverity = thresholdSeverity;
+    }
+
+    /**
+     * Merges stats entities of each policy threshold
+     *
+     * @param statsEntities stats entities of calculator instances and stats windows
+     * @param topK number of top offenders of each threshold
+     *
+     * @return threshold summaries in descending violation count order
+     */
+    public static List<TCAThresholdViolationStatsSummary> summarizeByThreshold(
+            @Nonnull final Iterable<TCAThresholdViolationStatsEntity> statsEntities, final int topK) {
+        final Map<String, TCAThresholdViolationStatsSummary> summaries = new LinkedHashMap<>();
+        for (TCAThresholdViolationStatsEntity statsEntity : statsEntities) {
+            final String thresholdKey = statsEntity.getFunctionalRole() + '\n' +
+                    statsEntity.getClosedLoopControlName() + '\n' + statsEntity.getThresholdPath() + '\n' +
+                    statsEntity.getThresholdSeverity();
+            TCAThresholdViolationStatsSummary summary = summaries.get(thresholdKey);
+            if (summary == null) {
+                summary = new TCAThresholdViolationStatsSummary(statsEntity.getFunctionalRole(),
+                        statsEntity.getClosedLoopControlName(), statsEntity.getThresholdPath(),
+                        statsEntity.getThresholdSeverity());
+                summaries.put(thresholdKey, summary);
+            }
+            summary.merge(statsEntity);
+        }
+        return getSortedSummaries(summaries, topK);
+    }
+
+    /**
+     * Merges stats entities of all policy thresholds of each closed loop control name
+     *
+     * @param statsEntities stats entities of calculator instances and stats windows
+     * @param topK number of top offenders of each closed loop
+     *
+     * @return closed loop summaries in descending violation count order
+     */
+    public static List<TCAThresholdViolationStatsSummary> summarizeByPolicy(
+            @Nonnull final Iterable<TCAThresholdViolationStatsEntity> statsEntities, final int topK) {
+        final Map<String, TCAThresholdViolationStatsSummary> summaries = new LinkedHashMap<>();
+        for (TCAThresholdViolationStatsEntity statsEntity : statsEntities) {
+            final String closedLoopControlName = statsEntity.getClosedLoopControlName();
+            TCAThresholdViolationStatsSummary summary = summaries.get(closedLoopControlName);
+            if (summary == null) {
+                summary = new TCAThresholdViolationStatsSummary(null, closedLoopControlName, null, null);
+                summaries.put(closedLoopControlName, summary);
+            }
+            summary.merge(statsEntity);
+        }
+        return getSortedSummaries(summaries, topK);
+    }
+
+    private static List<TCAThresholdViolationStatsSummary> getSortedSummaries(
+            final Map<String, TCAThresholdViolationStatsSummary> summaries, final int topK) {
+        final List<TCAThresholdViolationStatsSummary> sortedSummaries = new ArrayList<>(summaries.values());
+        for (TCAThresholdViolationStatsSummary summary : sortedSummaries) {
+            summary.topOffenders = summary.topOffendersMerger.getTopK(topK);
+        }
+        Collections.sort(sortedSummaries, VIOLATION_COUNT_DESCENDING_COMPARATOR);
+        return sortedSummaries;
+    }
+
+    private void merge(final TCAThresholdViolationStatsEntity statsEntity) {
+        violationCount += statsEntity.getViolationCount();
+        alertCount += statsEntity.getAlertCount();
+        topOffendersMerger.merge(TCAThresholdViolationStatsPersister.decodeTopOffenders(statsEntity.getTopOffenders()),
+                statsEntity.getTopOffendersMinCount());
+    }
+
+    public String getFunctionalRole() {
+        return functionalRole;
+    }
+
+    public String getClosedLoopControlName() {
+        return closedLoopControlName;
+    }
+
+    public String getThresholdPath() {
+        return thresholdPath;
+    }
+
+    public String getThresholdSeverity() {
+        return thresholdSeverity;
+    }
+
+    public long getViolationCount() {
+        return violationCount;
+    }
+
+    public long getAlertCount() {
+        return alertCount;
+    }
+
+    public List<TCASpaceSavingSketch.ItemCount> getTopOffenders() {
+        return topOffenders;
+    }
+}
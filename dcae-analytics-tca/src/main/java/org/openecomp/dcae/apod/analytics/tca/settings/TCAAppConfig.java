@@ -38,11 +38,25 @@ public class TCAAppConfig extends CDAPBaseAppConfig {
 
     private String tcaSubscriberOutputStreamName;
     private Integer thresholdCalculatorFlowletInstances;
+    private Boolean enableCompactFlowletRecords;
+    private Boolean enableLoadGeneratorWorker;
+    private String alertRequestIDGenerator;
+    private Integer thresholdStateMaxEntries;
+    private Integer thresholdStateTTLSeconds;
+    private Integer alertSuppressionMaxEntries;
+    private Integer alertRearmSeconds;
+    private Double alertClearMarginPercent;
+    private Integer entityAlertRateLimitPerMinute;
+    private Integer closedLoopAlertRateLimitPerMinute;
+    private Integer alertRateLimitBurstSize;
 
     private String tcaVESMessageStatusTableName;
     private Integer tcaVESMessageStatusTableTTLSeconds;
     private String tcaVESAlertsTableName;
     private Integer tcaVESAlertsTableTTLSeconds;
+    private String tcaThresholdSketchTableName;
+    private String tcaThresholdViolationStatsTableName;
+    private Integer tcaThresholdViolationStatsTableTTLSeconds;
 
 
     public TCAAppConfig() {
@@ -50,10 +64,23 @@ public class TCAAppConfig extends CDAPBaseAppConfig {
         appDescription = CDAPComponentsConstants.TCA_DEFAULT_DESCRIPTION_APP;
         tcaSubscriberOutputStreamName = CDAPComponentsConstants.TCA_DEFAULT_SUBSCRIBER_OUTPUT_NAME_STREAM;
         thresholdCalculatorFlowletInstances = AnalyticsConstants.TCA_DEFAULT_THRESHOLD_CALCULATOR_FLOWLET_INSTANCES;
+        enableCompactFlowletRecords = AnalyticsConstants.TCA_DEFAULT_ENABLE_COMPACT_FLOWLET_RECORDS;
+        enableLoadGeneratorWorker = AnalyticsConstants.TCA_DEFAULT_ENABLE_LOAD_GENERATOR_WORKER;
+        alertRequestIDGenerator = AnalyticsConstants.TCA_DEFAULT_ALERT_REQUEST_ID_GENERATOR;
+        thresholdStateMaxEntries = AnalyticsConstants.TCA_DEFAULT_THRESHOLD_STATE_MAX_ENTRIES;
+        thresholdStateTTLSeconds = AnalyticsConstants.TCA_DEFAULT_THRESHOLD_STATE_TTL_SECONDS;
+        alertSuppressionMaxEntries = AnalyticsConstants.TCA_DEFAULT_ALERT_SUPPRESSION_MAX_ENTRIES;
+        alertRearmSeconds = AnalyticsConstants.TCA_DEFAULT_ALERT_REARM_SECONDS;
+        entityAlertRateLimitPerMinute = AnalyticsConstants.TCA_DEFAULT_ENTITY_ALERT_RATE_LIMIT_PER_MINUTE;
+        closedLoopAlertRateLimitPerMinute = AnalyticsConstants.TCA_DEFAULT_CLOSED_LOOP_ALERT_RATE_LIMIT_PER_MINUTE;
+        alertRateLimitBurstSize = AnalyticsConstants.TCA_DEFAULT_ALERT_RATE_LIMIT_BURST_SIZE;
         tcaVESMessageStatusTableName = CDAPComponentsConstants.TCA_DEFAULT_VES_MESSAGE_STATUS_NAME_TABLE;
         tcaVESMessageStatusTableTTLSeconds = AnalyticsConstants.TCA_DEFAULT_VES_MESSAGE_STATUS_TTL_TABLE;
         tcaVESAlertsTableName = CDAPComponentsConstants.TCA_DEFAULT_VES_ALERTS_NAME_TABLE;
         tcaVESAlertsTableTTLSeconds = AnalyticsConstants.TCA_DEFAULT_VES_ALERTS_TTL_TABLE;
+        tcaThresholdSketchTableName = CDAPComponentsConstants.TCA_DEFAULT_THRESHOLD_SKETCH_NAME_TABLE;
+        tcaThresholdViolationStatsTableName = CDAPComponentsConstants.TCA_DEFAULT_THRESHOLD_VIOLATION_STATS_NAME_TABLE;
+        tcaThresholdViolationStatsTableTTLSeconds = AnalyticsConstants.TCA_DEFAULT_THRESHOLD_VIOLATION_STATS_TTL_TABLE;
     }
 
     public String getTcaSubscriberOutputStreamName() {
@@ -76,10 +103,66 @@ public class TCAAppConfig extends CDAPBaseAppConfig {
         return tcaVESAlertsTableTTLSeconds;
     }
 
+    public String getTcaThresholdSketchTableName() {
+        return tcaThresholdSketchTableName;
+    }
+
+    public String getTcaThresholdViolationStatsTableName() {
+        return tcaThresholdViolationStatsTableName;
+    }
+
+    public Integer getTcaThresholdViolationStatsTableTTLSeconds() {
+        return tcaThresholdViolationStatsTableTTLSeconds;
+    }
+
     public Integer getThresholdCalculatorFlowletInstances() {
         return thresholdCalculatorFlowletInstances;
     }
 
+    public Boolean getEnableCompactFlowletRecords() {
+        return enableCompactFlowletRecords;
+    }
+
+    public Boolean getEnableLoadGeneratorWorker() {
+        return enableLoadGeneratorWorker;
+    }
+
+    public String getAlertRequestIDGenerator() {
+        return alertRequestIDGenerator;
+    }
+
+    public Integer getThresholdStateMaxEntries() {
+        return thresholdStateMaxEntries;
+    }
+
+    public Integer getThresholdStateTTLSeconds() {
+        return thresholdStateTTLSeconds;
+    }
+
+    public Integer getAlertSuppressionMaxEntries() {
+        return alertSuppressionMaxEntries;
+    }
+
+    public Integer getAlertRearmSeconds() {
+        return alertRearmSeconds;
+    }
+
+    public Double getAlertClearMarginPercent() {
+        return alertClearMarginPercent;
+    }
+
+    public Integer getEntityAlertRateLimitPerMinute() {
+        return entityAlertRateLimitPerMinute;
+    }
+
+    public Integer getClosedLoopAlertRateLimitPerMinute() {
+        return closedLoopAlertRateLimitPerMinute;
+    }
+
+    public Integer getAlertRateLimitBurstSize() {
+        return alertRateLimitBurstSize;
+    }
+
     @Override
     public String toString() {
         return Objects.toStringHelper(this)
@@ -87,10 +170,24 @@ public class TCAAppConfig extends CDAPBaseAppConfig {
                 .add("appDescription", appDescription)
                 .add("tcaSubscriberOutputStreamName", tcaSubscriberOutputStreamName)
                 .add("thresholdCalculatorFlowletInstances", thresholdCalculatorFlowletInstances)
+                .add("enableCompactFlowletRecords", enableCompactFlowletRecords)
+                .add("enableLoadGeneratorWorker", enableLoadGeneratorWorker)
+                .add("alertRequestIDGenerator", alertRequestIDGenerator)
+                .add("thresholdStateMaxEntries", thresholdStateMaxEntries)
+                .add("thresholdStateTTLSeconds", thresholdStateTTLSeconds)
+                .add("alertSuppressionMaxEntries", alertSuppressionMaxEntries)
+                .add("alertRearmSeconds", alertRearmSeconds)
+                .add("alertClearMarginPercent", alertClearMarginPercent)
+                .add("entityAlertRateLimitPerMinute", entityAlertRateLimitPerMinute)
+                .add("closedLoopAlertRateLimitPerMinute", closedLoopAlertRateLimitPerMinute)
+                .add("alertRateLimitBurstSize", alertRateLimitBurstSize)
                 .add("tcaVESMessageStatusTableName", tcaVESMessageStatusTableName)
                 .add("tcaVESMessageStatusTableTTLSeconds", tcaVESMessageStatusTableTTLSeconds)
                 .add("tcaVESAlertsTableName", tcaVESAlertsTableName)
                 .add("tcaVESAlertsTableTTLSeconds", tcaVESAlertsTableTTLSeconds)
+                .add("tcaThresholdSketchTableName", tcaThresholdSketchTableName)
+                .add("tcaThresholdViolationStatsTableName", tcaThresholdViolationStatsTableName)
+                .add("tcaThresholdViolationStatsTableTTLSeconds", tcaThresholdViolationStatsTableTTLSeconds)
                 .toString();
     }
 }
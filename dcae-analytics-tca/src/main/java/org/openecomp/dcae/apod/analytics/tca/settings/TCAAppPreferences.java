@@ -23,6 +23,8 @@ package org.openecomp.dcae.apod.analytics.tca.settings;
 import com.google.common.base.Objects;
 import org.openecomp.dcae.apod.analytics.common.cdap.settings.CDAPAppPreferences;
 
+import static org.openecomp.dcae.apod.analytics.common.AnalyticsConstants.TCA_DEFAULT_PUBLISHER_ALERT_COALESCING_TYPE;
+import static org.openecomp.dcae.apod.analytics.common.AnalyticsConstants.TCA_DEFAULT_PUBLISHER_ALERT_COALESCING_WINDOW_MS;
 import static org.openecomp.dcae.apod.analytics.common.AnalyticsConstants.TCA_DEFAULT_PUBLISHER_MAX_BATCH_QUEUE_SIZE;
 import static org.openecomp.dcae.apod.analytics.common.AnalyticsConstants.TCA_DEFAULT_PUBLISHER_MAX_RECOVERY_QUEUE_SIZE;
 import static org.openecomp.dcae.apod.analytics.common.AnalyticsConstants.TCA_DEFAULT_PUBLISHER_POLLING_INTERVAL_MS;
@@ -84,6 +86,10 @@ public class TCAAppPreferences implements CDAPAppPreferences {
 
     protected Integer publisherPollingInterval;
 
+    protected Integer publisherAlertCoalescingWindowMS;
+
+    protected String publisherAlertCoalescingType;
+
 
     public TCAAppPreferences() {
 
@@ -94,6 +100,8 @@ public class TCAAppPreferences implements CDAPAppPreferences {
         publisherMaxBatchSize = TCA_DEFAULT_PUBLISHER_MAX_BATCH_QUEUE_SIZE;
         publisherMaxRecoveryQueueSize = TCA_DEFAULT_PUBLISHER_MAX_RECOVERY_QUEUE_SIZE;
         publisherPollingInterval = TCA_DEFAULT_PUBLISHER_POLLING_INTERVAL_MS;
+        publisherAlertCoalescingWindowMS = TCA_DEFAULT_PUBLISHER_ALERT_COALESCING_WINDOW_MS;
+        publisherAlertCoalescingType = TCA_DEFAULT_PUBLISHER_ALERT_COALESCING_TYPE;
 
     }
 
@@ -185,6 +193,14 @@ public class TCAAppPreferences implements CDAPAppPreferences {
         return publisherPollingInterval;
     }
 
+    public Integer getPublisherAlertCoalescingWindowMS() {
+        return publisherAlertCoalescingWindowMS;
+    }
+
+    public String getPublisherAlertCoalescingType() {
+        return publisherAlertCoalescingType;
+    }
+
 
     public void setSubscriberHostName(String subscriberHostName) {
         this.subscriberHostName = subscriberHostName;
@@ -257,6 +273,8 @@ public class TCAAppPreferences implements CDAPAppPreferences {
                 .add("publisherMaxBatchSize", publisherMaxBatchSize)
                 .add("publisherMaxRecoveryQueueSize", publisherMaxRecoveryQueueSize)
                 .add("publisherPollingInterval", publisherPollingInterval)
+                .add("publisherAlertCoalescingWindowMS", publisherAlertCoalescingWindowMS)
+                .add("publisherAlertCoalescingType", publisherAlertCoalescingType)
                 .toString();
     }
 }
@@ -0,0 +1,168 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.settings;
+
+import com.google.common.base.Objects;
+import org.openecomp.dcae.apod.analytics.common.cdap.settings.CDAPAppPreferences;
+
+import static org.openecomp.dcae.apod.analytics.common.AnalyticsConstants.TCA_LOAD_GENERATOR_DEFAULT_BATCH_SIZE;
+import static org.openecomp.dcae.apod.analytics.common.AnalyticsConstants.TCA_LOAD_GENERATOR_DEFAULT_BURST_DURATION_MS;
+import static org.openecomp.dcae.apod.analytics.common.AnalyticsConstants.TCA_LOAD_GENERATOR_DEFAULT_BURST_MULTIPLIER;
+import static org.openecomp.dcae.apod.analytics.common.AnalyticsConstants.TCA_LOAD_GENERATOR_DEFAULT_BURST_PERIOD_MS;
+import static org.openecomp.dcae.apod.analytics.common.AnalyticsConstants.TCA_LOAD_GENERATOR_DEFAULT_ENTITY_COUNT;
+import static org.openecomp.dcae.apod.analytics.common.AnalyticsConstants.TCA_LOAD_GENERATOR_DEFAULT_MAX_MESSAGES;
+import static org.openecomp.dcae.apod.analytics.common.AnalyticsConstants.TCA_LOAD_GENERATOR_DEFAULT_MESSAGES_PER_SECOND;
+import static org.openecomp.dcae.apod.analytics.common.AnalyticsConstants.TCA_LOAD_GENERATOR_DEFAULT_VIOLATION_RATIO;
+import static org.openecomp.dcae.apod.analytics.common.AnalyticsConstants.TCA_LOAD_GENERATOR_DEFAULT_VNIC_COUNT;
+import static org.openecomp.dcae.apod.analytics.common.AnalyticsConstants.TCA_REPLAY_DEFAULT_MODE;
+import static org.openecomp.dcae.apod.analytics.common.AnalyticsConstants.TCA_REPLAY_DEFAULT_SPEED_FACTOR;
+
+/**
+ * <p>
+ *     Preferences for TCA VES Load Generator which synthesizes VES messages for load testing TCA. Preferences are
+ *     passed as runtime arguments to TCA VES Load Generator Worker. Message mix has format
+ *     [domain/]functionalRole[=weight],... and defaults to all policy functional roles with equal weight.
+ *     If replay file is given, captured VES traffic in that newline delimited - plain or gzip - file is replayed
+ *     instead of synthesizing messages
+ */
+public class TCAVESLoadGeneratorPreferences implements CDAPAppPreferences {
+
+    private static final long serialVersionUID = 3046127834587719621L;
+
+    protected Integer loadGeneratorMessagesPerSecond;
+
+    protected Long loadGeneratorMaxMessages;
+
+    protected String loadGeneratorMessageMix;
+
+    protected Integer loadGeneratorEntityCount;
+
+    protected Integer loadGeneratorVNicCount;
+
+    protected Double loadGeneratorViolationRatio;
+
+    protected Integer loadGeneratorBatchSize;
+
+    protected Double loadGeneratorBurstMultiplier;
+
+    protected Integer loadGeneratorBurstDurationMS;
+
+    protected Integer loadGeneratorBurstPeriodMS;
+
+    protected Long loadGeneratorSeed;
+
+    protected String loadGeneratorReplayFile;
+
+    protected String loadGeneratorReplayMode;
+
+    protected Double loadGeneratorReplaySpeedFactor;
+
+
+    public TCAVESLoadGeneratorPreferences() {
+        loadGeneratorMessagesPerSecond = TCA_LOAD_GENERATOR_DEFAULT_MESSAGES_PER_SECOND;
+        loadGeneratorMaxMessages = TCA_LOAD_GENERATOR_DEFAULT_MAX_MESSAGES;
+        loadGeneratorEntityCount = TCA_LOAD_GENERATOR_DEFAULT_ENTITY_COUNT;
+        loadGeneratorVNicCount = TCA_LOAD_GENERATOR_DEFAULT_VNIC_COUNT;
+        loadGeneratorViolationRatio = TCA_LOAD_GENERATOR_DEFAULT_VIOLATION_RATIO;
+        loadGeneratorBatchSize = TCA_LOAD_GENERATOR_DEFAULT_BATCH_SIZE;
+        loadGeneratorBurstMultiplier = TCA_LOAD_GENERATOR_DEFAULT_BURST_MULTIPLIER;
+        loadGeneratorBurstDurationMS = TCA_LOAD_GENERATOR_DEFAULT_BURST_DURATION_MS;
+        loadGeneratorBurstPeriodMS = TCA_LOAD_GENERATOR_DEFAULT_BURST_PERIOD_MS;
+        loadGeneratorReplayMode = TCA_REPLAY_DEFAULT_MODE;
+        loadGeneratorReplaySpeedFactor = TCA_REPLAY_DEFAULT_SPEED_FACTOR;
+    }
+
+    public Integer getLoadGeneratorMessagesPerSecond() {
+        return loadGeneratorMessagesPerSecond;
+    }
+
+    public Long getLoadGeneratorMaxMessages() {
+        return loadGeneratorMaxMessages;
+    }
+
+    public String getLoadGeneratorMessageMix() {
+        return loadGeneratorMessageMix;
+    }
+
+    public Integer getLoadGeneratorEntityCount() {
+        return loadGeneratorEntityCount;
+    }
+
+    public Integer getLoadGeneratorVNicCount() {
+        return loadGeneratorVNicCount;
+    }
+
+    public Double getLoadGeneratorViolationRatio() {
+        return loadGeneratorViolationRatio;
+    }
+
+    public Integer getLoadGeneratorBatchSize() {
+        return loadGeneratorBatchSize;
+    }
+
+    public Double getLoadGeneratorBurstMultiplier() {
+        return loadGeneratorBurstMultiplier;
+    }
+
+    public Integer getLoadGeneratorBurstDurationMS() {
+        return loadGeneratorBurstDurationMS;
+    }
+
+    public Integer getLoadGeneratorBurstPeriodMS() {
+        return loadGeneratorBurstPeriodMS;
+    }
+
+    public Long getLoadGeneratorSeed() {
+        return loadGeneratorSeed;
+    }
+
+    public String getLoadGeneratorReplayFile() {
+        return loadGeneratorReplayFile;
+    }
+
+    public String getLoadGeneratorReplayMode() {
+        return loadGeneratorReplayMode;
+    }
+
+    public Double getLoadGeneratorReplaySpeedFactor() {
+        return loadGeneratorReplaySpeedFactor;
+    }
+
+    @Override
+    public String toString() {
+        return Objects.toStringHelper(this)
+                .add("loadGeneratorMessagesPerSecond", loadGeneratorMessagesPerSecond)
+                .add("loadGeneratorMaxMessages", loadGeneratorMaxMessages)
+                .add("loadGeneratorMessageMix", loadGeneratorMessageMix)
+                .add("loadGeneratorEntityCount", loadGeneratorEntityCount)
+                .add("loadGeneratorVNicCount", loadGeneratorVNicCount)
+                .add("loadGeneratorViolationRatio", loadGeneratorViolationRatio)
+                .add("loadGeneratorBatchSize", loadGeneratorBatchSize)
+                .add("loadGeneratorBurstMultiplier", loadGeneratorBurstMultiplier)
+                .add("loadGeneratorBurstDurationMS", loadGeneratorBurstDurationMS)
+                .add("loadGeneratorBurstPeriodMS", loadGeneratorBurstPeriodMS)
+                .add("loadGeneratorSeed", loadGeneratorSeed)
+                .add("loadGeneratorReplayFile", loadGeneratorReplayFile)
+                .add("loadGeneratorReplayMode", loadGeneratorReplayMode)
+                .add("loadGeneratorReplaySpeedFactor", loadGeneratorReplaySpeedFactor)
+                .toString();
+    }
+}
@@ -0,0 +1,388 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.threshold;
+
+import com.google.common.base.Ticker;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+
+/**
+ * <p>
+ *     Base class for per calculator instance stores of reporting entity threshold state. Keys are 64 bit hashes of
+ *     functional role, reporting entity name, field state key and row key - see {@link #entityKey(String, String)}
+ *     and {@link #valueKey(long, long, long)}. Keys are mapped to dense entry indices by a primitive open addressing
+ *     (linear probing) hash table so that a lookup does not box or allocate. Sub classes keep entry state in
+ *     primitive arrays indexed by entry index.
+ *     <br>
+ *     Memory is bounded - entry arrays grow up to max entries and the hash table up to the capacity needed for max
+ *     entries and never beyond. Entries not updated for more than TTL seconds are treated as absent and are
+ *     evicted when the store is full. If the store is full of live entries new keys are rejected until some
+ *     entries expire.
+ *     <br>
+ *     Stores are not thread safe - each calculator instance must have its own stores.
+ * </p>
+ */
+public abstract class AbstractTCAThresholdStore {
+
+    /**
+     * Returned by {@link #find(long)} when key is not present
+     */
+    public static final int NOT_FOUND = -1;
+
+    private static final long EMPTY_KEY = 0L;
+    private static final int MIN_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private final int maxEntries;
+    private final int ttlSeconds;
+    private final int maxSlots;
+    private final Ticker ticker;
+    private final long startNanos;
+
+    // hash table slots - key and entry index of each slot
+    private long[] slotKeys;
+    private int[] slotEntries;
+    private int mask;
+    // dense entries - key and seconds since store creation when entry was last updated
+    private long[] entryKeys;
+    private int[] entryUpdateSeconds;
+    private int size;
+    private int nextSweepSeconds;
+    private long evictedCount;
+    private long rejectedCount;
+
+    protected AbstractTCAThresholdStore(final int maxEntries, final int ttlSeconds, @Nonnull final Ticker ticker) {
+        if (maxEntries <= 0 || ttlSeconds <= 0) {
+            throw new IllegalArgumentException("Threshold store max entries and TTL must be greater than 0");
+        }
+        this.maxEntries = maxEntries;
+        this.ttlSeconds = ttlSeconds;
+        this.maxSlots = toSlotCapacity(maxEntries);
+        this.ticker = ticker;
+        this.startNanos = ticker.read();
+        allocateSlots(Math.min(MIN_CAPACITY, maxSlots));
+        this.entryKeys = new long[0];
+        this.entryUpdateSeconds = new int[0];
+    }
+
+    /**
+     * Creates key prefix for all state of a reporting entity
+     *
+     * @param functionalRole functional role of the reporting entity
+     * @param reportingEntityName reporting entity name
+     *
+     * @return entity key
+     */
+    public static long entityKey(@Nonnull final String functionalRole, @Nonnull final String reportingEntityName) {
+        return mix(hash(functionalRole) * 31 + hash(reportingEntityName));
+    }
+
+    /**
+     * Creates key for state of a single value of a reporting entity
+     *
+     * @param entityKey entity key
+     * @param fieldStateKey key of the field definition - must not depend on position of the field in the policy
+     * @param rowKey key of the array row of the value - see {@link TCAFieldValues#getRowKey(int)}
+     *
+     * @return value key
+     */
+    public static long valueKey(final long entityKey, final long fieldStateKey, final long rowKey) {
+        final long key = mix(entityKey * 31 + mix(fieldStateKey * 31 + rowKey));
+        // empty slot marker is never used as a key
+        return key == EMPTY_KEY ? 1L : key;
+    }
+
+    /**
+     * Finds entry of given key. Expired entries are removed and reported as not found
+     *
+     * @param key value key
+     *
+     * @return entry index or {@link #NOT_FOUND}
+     */
+    public int find(final long key) {
+        final int slot = findSlot(key);
+        if (slot == NOT_FOUND) {
+            return NOT_FOUND;
+        }
+        final int entry = slotEntries[slot];
+        if (isExpired(entry, currentSeconds())) {
+            onEntryExpired(entry);
+            remove(slot);
+            evictedCount++;
+            return NOT_FOUND;
+        }
+        return entry;
+    }
+
+    /**
+     * Returns number of entries in the store including expired entries which are not evicted yet
+     *
+     * @return number of entries
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns number of hash table slots currently allocated
+     *
+     * @return allocated slots
+     */
+    public int getCapacity() {
+        return slotKeys.length;
+    }
+
+    /**
+     * Returns number of entries evicted because they were not updated within TTL
+     *
+     * @return evicted entries count
+     */
+    public long getEvictedCount() {
+        return evictedCount;
+    }
+
+    /**
+     * Returns number of new keys which were not added because store was full
+     *
+     * @return rejected keys count
+     */
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    /**
+     * Returns approximate number of bytes allocated by the store arrays
+     *
+     * @return allocated bytes
+     */
+    public long getMemoryBytes() {
+        return slotKeys.length * 12L + entryKeys.length * 12L + getEntryStateMemoryBytes();
+    }
+
+    /**
+     * Adds entry for a key which is not present in the store. Entry indices returned before this call must not be
+     * used after it
+     *
+     * @param key value key
+     *
+     * @return index of new entry or {@link #NOT_FOUND} if store is full
+     */
+    protected int add(final long key) {
+        final int currentSeconds = currentSeconds();
+        if (size >= maxEntries) {
+            // sweeps are throttled so that a store full of live entries is not scanned for every new key
+            if (currentSeconds >= nextSweepSeconds) {
+                evictExpired(currentSeconds);
+                nextSweepSeconds = currentSeconds + Math.max(1, ttlSeconds / 4);
+            }
+            if (size >= maxEntries) {
+                rejectedCount++;
+                return NOT_FOUND;
+            }
+        }
+        if (size + 1 > (int) (slotKeys.length * LOAD_FACTOR) && slotKeys.length < maxSlots) {
+            resizeSlots(slotKeys.length * 2);
+        }
+        if (size == entryKeys.length) {
+            final int entryCapacity = (int) Math.min(maxEntries, Math.max(MIN_CAPACITY, entryKeys.length * 2L));
+            entryKeys = Arrays.copyOf(entryKeys, entryCapacity);
+            entryUpdateSeconds = Arrays.copyOf(entryUpdateSeconds, entryCapacity);
+            resizeEntryState(entryCapacity);
+        }
+        final int entry = size++;
+        int slot = (int) key & mask;
+        while (slotKeys[slot] != EMPTY_KEY) {
+            slot = (slot + 1) & mask;
+        }
+        slotKeys[slot] = key;
+        slotEntries[slot] = entry;
+        entryKeys[entry] = key;
+        entryUpdateSeconds[entry] = currentSeconds;
+        return entry;
+    }
+
+    /**
+     * Returns key of given entry
+     *
+     * @param entry entry index
+     *
+     * @return value key
+     */
+    protected long getEntryKey(final int entry) {
+        return entryKeys[entry];
+    }
+
+    /**
+     * Marks entry as updated now so that it does not expire
+     *
+     * @param entry entry index
+     */
+    protected void touch(final int entry) {
+        entryUpdateSeconds[entry] = currentSeconds();
+    }
+
+    /**
+     * Called before an entry which was not updated within TTL is evicted. Entry state is still present
+     *
+     * @param entry entry index
+     */
+    protected void onEntryExpired(final int entry) {
+    }
+
+    /**
+     * Grows entry state arrays to given capacity keeping existing entry state
+     *
+     * @param entryCapacity new entry capacity
+     */
+    protected abstract void resizeEntryState(int entryCapacity);
+
+    /**
+     * Moves state of an entry to another entry index. Called when an entry is removed and last entry is moved to
+     * its place to keep entries dense
+     *
+     * @param fromEntry entry index to move state from
+     * @param toEntry entry index to move state to
+     */
+    protected abstract void moveEntryState(int fromEntry, int toEntry);
+
+    /**
+     * Returns approximate number of bytes allocated by entry state arrays
+     *
+     * @return allocated bytes
+     */
+    protected abstract long getEntryStateMemoryBytes();
+
+    private int findSlot(final long key) {
+        int slot = (int) key & mask;
+        while (slotKeys[slot] != EMPTY_KEY) {
+            if (slotKeys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return NOT_FOUND;
+    }
+
+    private void evictExpired(final int currentSeconds) {
+        // iterates backwards so that last entry moved in place of a removed entry is always already checked
+        for (int entry = size - 1; entry >= 0; entry--) {
+            if (isExpired(entry, currentSeconds)) {
+                onEntryExpired(entry);
+                remove(findSlot(entryKeys[entry]));
+                evictedCount++;
+            }
+        }
+    }
+
+    private void remove(final int slot) {
+        final int entry = slotEntries[slot];
+        // backward shift deletion - keeps probe chains intact without tombstones
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (slotKeys[next] != EMPTY_KEY) {
+            final int home = (int) slotKeys[next] & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                slotKeys[hole] = slotKeys[next];
+                slotEntries[hole] = slotEntries[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        slotKeys[hole] = EMPTY_KEY;
+
+        // move last entry in place of removed entry
+        final int lastEntry = --size;
+        if (entry != lastEntry) {
+            final long lastEntryKey = entryKeys[lastEntry];
+            slotEntries[findSlot(lastEntryKey)] = entry;
+            entryKeys[entry] = lastEntryKey;
+            entryUpdateSeconds[entry] = entryUpdateSeconds[lastEntry];
+            moveEntryState(lastEntry, entry);
+        }
+    }
+
+    private void resizeSlots(final int capacity) {
+        final long[] oldSlotKeys = slotKeys;
+        final int[] oldSlotEntries = slotEntries;
+        allocateSlots(capacity);
+        for (int oldSlot = 0; oldSlot < oldSlotKeys.length; oldSlot++) {
+            if (oldSlotKeys[oldSlot] != EMPTY_KEY) {
+                int slot = (int) oldSlotKeys[oldSlot] & mask;
+                while (slotKeys[slot] != EMPTY_KEY) {
+                    slot = (slot + 1) & mask;
+                }
+                slotKeys[slot] = oldSlotKeys[oldSlot];
+                slotEntries[slot] = oldSlotEntries[oldSlot];
+            }
+        }
+    }
+
+    private void allocateSlots(final int capacity) {
+        slotKeys = new long[capacity];
+        slotEntries = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    private boolean isExpired(final int entry, final int currentSeconds) {
+        return currentSeconds - entryUpdateSeconds[entry] > ttlSeconds;
+    }
+
+    private int currentSeconds() {
+        return (int) TimeUnit.NANOSECONDS.toSeconds(ticker.read() - startNanos);
+    }
+
+    private static int toSlotCapacity(final int maxEntries) {
+        final long minCapacity = (long) Math.ceil(maxEntries / (double) LOAD_FACTOR);
+        long capacity = MIN_CAPACITY;
+        while (capacity < minCapacity) {
+            capacity <<= 1;
+        }
+        if (capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Threshold store max entries is too large: " + maxEntries);
+        }
+        return (int) capacity;
+    }
+
+    static long hash(final String value) {
+        // FNV-1a 64 bit
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    static long mix(final long value) {
+        // murmur3 64 bit finalizer
+        long mixed = value;
+        mixed ^= mixed >>> 33;
+        mixed *= 0xff51afd7ed558ccdL;
+        mixed ^= mixed >>> 33;
+        mixed *= 0xc4ceb9fe1a85ec53L;
+        mixed ^= mixed >>> 33;
+        return mixed;
+    }
+
+}
@@ -0,0 +1,126 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+package org.openecomp.dcae.apod.analytics.tca.threshold;
+
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.ThresholdWindowAggregation;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * <p>
+ *     Base class of window field evaluators. Window samples are the values of the source field path - or of its
+ *     delta field - in most recent messages of the same reporting entity. Each source value is added as a sample
+ *     to the window of its row - e.g. its vNic - and the window is aggregated by the implementation. Windows are
+ *     keyed by field state key and row key so that samples of the same vNic stay together even if vNics or policy
+ *     thresholds are reordered. Messages which are not newer than the newest window sample do not produce window
+ *     values.
+ *     <br>
+ *     Windows are always per reporting entity - see {@link TCAFieldEvaluationContext#getEntityKey()}. Messages are
+ *     partitioned to calculator instances by reporting entity name, so a window of a whole functional role kept in
+ *     a calculator instance would only see the reporting entities routed to that instance.
+ * </p>
+ */
+abstract class AbstractTCAWindowFieldEvaluator implements TCAFieldEvaluator {
+
+    private static final long serialVersionUID = 3190572784640198437L;
+
+    protected final long fieldStateKey;
+    protected final int sourceFieldIndex;
+    protected final boolean isDeltaSource;
+    // field path field whose row keys apply to source values - delta values are aligned with their source values
+    protected final int rowFieldIndex;
+    protected final ThresholdWindowAggregation windowAggregation;
+    // window time span - 0 for sample count windows
+    protected final long windowMicrosecs;
+
+    protected AbstractTCAWindowFieldEvaluator(final long fieldStateKey, final int sourceFieldIndex,
+                                              final boolean isDeltaSource, final int rowFieldIndex,
+                                              @Nonnull final ThresholdWindowAggregation windowAggregation,
+                                              final long windowMicrosecs) {
+        this.fieldStateKey = fieldStateKey;
+        this.sourceFieldIndex = sourceFieldIndex;
+        this.isDeltaSource = isDeltaSource;
+        this.rowFieldIndex = rowFieldIndex;
+        this.windowAggregation = windowAggregation;
+        this.windowMicrosecs = windowMicrosecs;
+    }
+
+    /**
+     * Returns window aggregation of window field
+     *
+     * @return window aggregation
+     */
+    ThresholdWindowAggregation getWindowAggregation() {
+        return windowAggregation;
+    }
+
+    @Override
+    public boolean isStateful() {
+        return true;
+    }
+
+    @Nullable
+    @Override
+    public double[] evaluate(@Nonnull final TCAFieldEvaluationContext context) {
+        final TCAThresholdStateStore stateStore = context.getStateStore();
+        if (stateStore == null) {
+            return null;
+        }
+        final TCAFieldValues rowValues = context.getFieldValues(rowFieldIndex);
+        final double[] sourceDeltaValues = isDeltaSource ? context.getDerivedFieldValues(sourceFieldIndex) : null;
+        final int sourceValuesCount = isDeltaSource ? (sourceDeltaValues == null ? 0 : sourceDeltaValues.length) :
+                (rowValues == null ? 0 : rowValues.getValueCount());
+        if (sourceValuesCount == 0) {
+            return null;
+        }
+        final double[] windowValues = context.getScratchValues(sourceValuesCount);
+        int windowValuesCount = 0;
+        for (int valueIndex = 0; valueIndex < sourceValuesCount; valueIndex++) {
+            windowValues[valueIndex] = Double.NaN;
+            final double sample = isDeltaSource ? sourceDeltaValues[valueIndex] : rowValues.getValue(valueIndex);
+            if (Double.isNaN(sample)) {
+                continue;
+            }
+            final long key = AbstractTCAThresholdStore.valueKey(context.getEntityKey(), fieldStateKey,
+                    rowValues.getRowKey(valueIndex));
+            windowValues[valueIndex] = addSample(stateStore, key, sample, context.getEpochMicrosec());
+            if (!Double.isNaN(windowValues[valueIndex])) {
+                windowValuesCount++;
+            }
+        }
+        return windowValuesCount == 0 ? null : windowValues;
+    }
+
+    /**
+     * Adds sample to the window of given key and aggregates the window
+     *
+     * @param stateStore state store of reporting entities
+     * @param key window key of reporting entity, field and row - see
+     * {@link AbstractTCAThresholdStore#valueKey(long, long, long)}
+     * @param sample sample value
+     * @param epochMicrosec message time
+     *
+     * @return window value or NaN if window has no value yet or sample was not added
+     */
+    protected abstract double addSample(TCAThresholdStateStore stateStore, long key, double sample,
+                                        long epochMicrosec);
+
+}
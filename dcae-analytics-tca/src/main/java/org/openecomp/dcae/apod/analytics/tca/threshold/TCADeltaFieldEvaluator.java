@@ -0,0 +1,130 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+package org.openecomp.dcae.apod.analytics.tca.threshold;
+
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.ThresholdValueType;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * <p>
+ *     Evaluator of delta and rate fields. Delta is the increase of source field value since previous message of
+ *     the reporting entity. If field value decreased the counter is assumed to be reset and delta is the field value
+ *     itself. Rate is delta per second of time between last epoch microsec of the two messages. Messages which are
+ *     not newer than the previous message of the reporting entity do not produce delta values and do not update the
+ *     state.
+ *     <br>
+ *     Last value and message time of each source value are kept in {@link TCAThresholdCounterStore}, keyed by field
+ *     state key and row key of the value - e.g. vNic identifier - so that counters of the same vNic are compared
+ *     even if vNics are reordered between messages or policy thresholds are reordered.
+ * </p>
+ */
+final class TCADeltaFieldEvaluator implements TCAFieldEvaluator {
+
+    private static final long serialVersionUID = -6395120746208934165L;
+
+    private static final double MICROSECONDS_PER_SECOND = 1000000d;
+
+    private final long fieldStateKey;
+    private final int sourceFieldIndex;
+    private final ThresholdValueType valueType;
+
+    TCADeltaFieldEvaluator(final long fieldStateKey, final int sourceFieldIndex,
+                           @Nonnull final ThresholdValueType valueType) {
+        this.fieldStateKey = fieldStateKey;
+        this.sourceFieldIndex = sourceFieldIndex;
+        this.valueType = valueType;
+    }
+
+    /**
+     * Returns value type of delta field
+     *
+     * @return DELTA or RATE
+     */
+    ThresholdValueType getValueType() {
+        return valueType;
+    }
+
+    /**
+     * Returns field index of field path whose values are source of delta values
+     *
+     * @return source field index
+     */
+    int getSourceFieldIndex() {
+        return sourceFieldIndex;
+    }
+
+    @Override
+    public boolean isStateful() {
+        return true;
+    }
+
+    /**
+     * Computes delta values of the message. Delta values are aligned with source values so that window samples of
+     * each source value stay together - NaN marks source values without delta. NaN never violates any threshold
+     *
+     * @param context message evaluation context
+     *
+     * @return delta values or null if no source value has a delta
+     */
+    @Nullable
+    @Override
+    public double[] evaluate(@Nonnull final TCAFieldEvaluationContext context) {
+        final TCAThresholdStateStore stateStore = context.getStateStore();
+        if (stateStore == null) {
+            return null;
+        }
+        final TCAFieldValues values = context.getFieldValues(sourceFieldIndex);
+        if (values == null) {
+            return null;
+        }
+        final TCAThresholdCounterStore counterStore = stateStore.getCounterStore();
+        final long epochMicrosec = context.getEpochMicrosec();
+        final boolean isRate = valueType == ThresholdValueType.RATE;
+        final double[] deltaValues = context.getScratchValues(values.getValueCount());
+        int deltaValuesCount = 0;
+        for (int valueIndex = 0; valueIndex < values.getValueCount(); valueIndex++) {
+            deltaValues[valueIndex] = Double.NaN;
+            final long value = values.getValue(valueIndex);
+            final long key = AbstractTCAThresholdStore.valueKey(context.getEntityKey(), fieldStateKey,
+                    values.getRowKey(valueIndex));
+            final int entry = counterStore.find(key);
+            if (entry == AbstractTCAThresholdStore.NOT_FOUND) {
+                counterStore.put(key, value, epochMicrosec);
+                continue;
+            }
+            final long previousEpochMicrosec = counterStore.getEpochMicrosec(entry);
+            // duplicate or out of order message
+            if (epochMicrosec <= previousEpochMicrosec) {
+                continue;
+            }
+            final long previousValue = counterStore.getValue(entry);
+            counterStore.update(entry, value, epochMicrosec);
+            // counter reset - counter restarted from zero since previous message
+            final long delta = value >= previousValue ? value - previousValue : value;
+            deltaValues[valueIndex] = isRate ?
+                    delta * MICROSECONDS_PER_SECOND / (epochMicrosec - previousEpochMicrosec) : delta;
+            deltaValuesCount++;
+        }
+        return deltaValuesCount == 0 ? null : deltaValues;
+    }
+
+}
@@ -0,0 +1,195 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+package org.openecomp.dcae.apod.analytics.tca.threshold;
+
+import java.util.Arrays;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * <p>
+ *     Per message state of {@link TCAFunctionalRoleThresholds} evaluation. Provides message field values and
+ *     computes values of expression, delta and window fields at most once per message using their
+ *     {@link TCAFieldEvaluator}s.
+ *     <br>
+ *     Context is reused for all messages evaluated by the same thread - see {@link #reset}. Field evaluators get
+ *     their value arrays from the context too, so evaluation of messages with the same number of values per field
+ *     does not allocate. Values returned by the context are only valid until the context is reset.
+ * </p>
+ */
+final class TCAFieldEvaluationContext {
+
+    private static final double[] NO_DERIVED_FIELD_VALUES = new double[0];
+
+    private final TCAFieldEvaluator[] fieldEvaluators;
+    private final double[][] derivedFieldValues;
+    // value arrays of each field reused across messages
+    private final double[][] fieldScratchValues;
+    private final TCAFieldValues[][] fieldScratchOperandValues;
+    private TCAFieldValuesProvider fieldValuesProvider;
+    private TCAThresholdStateStore stateStore;
+    private long entityKey;
+    private long epochMicrosec;
+    // field whose evaluator is currently computing values
+    private int evaluatedFieldIndex = -1;
+
+    TCAFieldEvaluationContext(@Nonnull final TCAFieldEvaluator[] fieldEvaluators) {
+        this.fieldEvaluators = fieldEvaluators;
+        this.derivedFieldValues = new double[fieldEvaluators.length][];
+        this.fieldScratchValues = new double[fieldEvaluators.length][];
+        this.fieldScratchOperandValues = new TCAFieldValues[fieldEvaluators.length][];
+    }
+
+    /**
+     * Prepares context for evaluation of a new message. Derived field values of previous message are discarded
+     *
+     * @param fieldValuesProvider message field values provider
+     * @param stateStore state store of reporting entities or null if message state is not available
+     * @param entityKey key of message functional role and reporting entity
+     * @param epochMicrosec last epoch microsec of the message
+     */
+    void reset(@Nonnull final TCAFieldValuesProvider fieldValuesProvider,
+               @Nullable final TCAThresholdStateStore stateStore,
+               final long entityKey, final long epochMicrosec) {
+        this.fieldValuesProvider = fieldValuesProvider;
+        this.stateStore = stateStore;
+        this.entityKey = entityKey;
+        this.epochMicrosec = epochMicrosec;
+        Arrays.fill(derivedFieldValues, null);
+    }
+
+    /**
+     * Releases message field values provider and state store once message evaluation is done so that reused
+     * context does not keep the message
+     */
+    void clear() {
+        fieldValuesProvider = null;
+        stateStore = null;
+        for (final TCAFieldValues[] operandValues : fieldScratchOperandValues) {
+            if (operandValues != null) {
+                Arrays.fill(operandValues, null);
+            }
+        }
+    }
+
+    /**
+     * Returns message values of given field path field
+     *
+     * @param fieldIndex field index
+     *
+     * @return field values or null if message has no values for the field path
+     */
+    @Nullable
+    TCAFieldValues getFieldValues(final int fieldIndex) {
+        return fieldValuesProvider.getFieldValues(fieldIndex);
+    }
+
+    /**
+     * Returns values of given expression, delta or window field. Values are computed by field evaluator on first
+     * request and reused for the rest of the message
+     *
+     * @param fieldIndex field index
+     *
+     * @return field values or null if field has no values for the message
+     */
+    @Nullable
+    double[] getDerivedFieldValues(final int fieldIndex) {
+        double[] values = derivedFieldValues[fieldIndex];
+        if (values == null) {
+            // window fields request values of their source delta field while they are evaluated
+            final int outerEvaluatedFieldIndex = evaluatedFieldIndex;
+            evaluatedFieldIndex = fieldIndex;
+            try {
+                values = fieldEvaluators[fieldIndex].evaluate(this);
+            } finally {
+                evaluatedFieldIndex = outerEvaluatedFieldIndex;
+            }
+            if (values == null) {
+                values = NO_DERIVED_FIELD_VALUES;
+            }
+            derivedFieldValues[fieldIndex] = values;
+        }
+        return values.length == 0 ? null : values;
+    }
+
+    /**
+     * Returns value array of given length owned by the field which is being evaluated. Same array is returned for
+     * every message as long as the length does not change. Array content is not cleared
+     *
+     * @param valueCount number of values
+     *
+     * @return value array of the field being evaluated
+     */
+    double[] getScratchValues(final int valueCount) {
+        double[] values = fieldScratchValues[evaluatedFieldIndex];
+        if (values == null || values.length != valueCount) {
+            values = new double[valueCount];
+            fieldScratchValues[evaluatedFieldIndex] = values;
+        }
+        return values;
+    }
+
+    /**
+     * Returns operand values array of given length owned by the field expression field which is being evaluated.
+     * Same array is returned for every message
+     *
+     * @param operandCount number of field expression operands
+     *
+     * @return operand values array of the field being evaluated
+     */
+    TCAFieldValues[] getScratchOperandValues(final int operandCount) {
+        TCAFieldValues[] operandValues = fieldScratchOperandValues[evaluatedFieldIndex];
+        if (operandValues == null || operandValues.length != operandCount) {
+            operandValues = new TCAFieldValues[operandCount];
+            fieldScratchOperandValues[evaluatedFieldIndex] = operandValues;
+        }
+        return operandValues;
+    }
+
+    /**
+     * Returns state store of reporting entities
+     *
+     * @return state store or null if message reporting entity or time is not known - stateful fields have no values
+     */
+    @Nullable
+    TCAThresholdStateStore getStateStore() {
+        return stateStore;
+    }
+
+    /**
+     * Returns key of message functional role and reporting entity
+     *
+     * @return entity key - only meaningful if state store is available
+     */
+    long getEntityKey() {
+        return entityKey;
+    }
+
+    /**
+     * Returns last epoch microsec of the message
+     *
+     * @return message time - only meaningful if state store is available
+     */
+    long getEpochMicrosec() {
+        return epochMicrosec;
+    }
+
+}
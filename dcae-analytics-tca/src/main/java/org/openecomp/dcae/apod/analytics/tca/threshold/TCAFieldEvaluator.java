@@ -0,0 +1,54 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+package org.openecomp.dcae.apod.analytics.tca.threshold;
+
+import java.io.Serializable;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * <p>
+ *     Compiled evaluator of a {@link TCAFunctionalRoleThresholds} field whose values are not read from the message
+ *     as they are - field expressions, delta and window fields. Each kind of field has its own evaluator which keeps
+ *     the compiled field definition and decides how field state is keyed in {@link TCAThresholdStateStore}.
+ * </p>
+ */
+interface TCAFieldEvaluator extends Serializable {
+
+    /**
+     * Returns true if field keeps state of reporting entities. Stateful fields are evaluated for every message so
+     * that their state is updated even if none of their thresholds is applied
+     *
+     * @return true for delta and window fields
+     */
+    boolean isStateful();
+
+    /**
+     * Computes field values for the message of given evaluation context
+     *
+     * @param context message evaluation context
+     *
+     * @return field values - NaN for values which could not be computed - or null if field has no values
+     */
+    @Nullable
+    double[] evaluate(@Nonnull TCAFieldEvaluationContext context);
+
+}
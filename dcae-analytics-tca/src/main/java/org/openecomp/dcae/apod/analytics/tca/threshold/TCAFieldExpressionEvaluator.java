@@ -0,0 +1,72 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+package org.openecomp.dcae.apod.analytics.tca.threshold;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * <p>
+ *     Evaluator of field expression fields. Field expression is compiled once and applied to values of expression
+ *     field paths which are fields of their own so that their values are shared with other thresholds.
+ * </p>
+ */
+final class TCAFieldExpressionEvaluator implements TCAFieldEvaluator {
+
+    private static final long serialVersionUID = 4625010729174401857L;
+
+    private final TCAThresholdExpression fieldExpression;
+    // field index of each expression field path
+    private final int[] operandFieldIndices;
+
+    TCAFieldExpressionEvaluator(@Nonnull final TCAThresholdExpression fieldExpression,
+                                @Nonnull final int[] operandFieldIndices) {
+        this.fieldExpression = fieldExpression;
+        this.operandFieldIndices = operandFieldIndices;
+    }
+
+    /**
+     * Returns compiled field expression
+     *
+     * @return field expression
+     */
+    TCAThresholdExpression getFieldExpression() {
+        return fieldExpression;
+    }
+
+    @Override
+    public boolean isStateful() {
+        return false;
+    }
+
+    @Nullable
+    @Override
+    public double[] evaluate(@Nonnull final TCAFieldEvaluationContext context) {
+        final TCAFieldValues[] operandValues = context.getScratchOperandValues(operandFieldIndices.length);
+        for (int operandIndex = 0; operandIndex < operandFieldIndices.length; operandIndex++) {
+            operandValues[operandIndex] = context.getFieldValues(operandFieldIndices[operandIndex]);
+            if (operandValues[operandIndex] == null) {
+                return null;
+            }
+        }
+        return fieldExpression.evaluate(operandValues);
+    }
+
+}
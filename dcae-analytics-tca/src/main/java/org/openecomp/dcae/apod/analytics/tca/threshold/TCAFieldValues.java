@@ -0,0 +1,187 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+package org.openecomp.dcae.apod.analytics.tca.threshold;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+
+/**
+ * <p>
+ *     Message values of a single {@link TCAFunctionalRoleThresholds} field. Values of array field paths (e.g.
+ *     vNic usage array counters) carry the key of the array row each value was read from, so that values of
+ *     different field paths can be combined row by row and state of each row can be kept across messages even
+ *     when rows are missing values. Rows of vNic usage array are keyed by vNic identifier - see
+ *     {@link #toVNicRowKeys(String[])} - all other array rows by their position in the array.
+ *     <br>
+ *     Values of non array field paths have no row keys and apply to all rows.
+ * </p>
+ */
+public final class TCAFieldValues {
+
+    private final long[] values;
+    private final long[] rowKeys;
+
+    private TCAFieldValues(final long[] values, final long[] rowKeys) {
+        this.values = values;
+        this.rowKeys = rowKeys;
+    }
+
+    /**
+     * Creates values of array rows keyed by their position in the array
+     *
+     * @param values value of each array row
+     *
+     * @return field values
+     */
+    public static TCAFieldValues of(@Nonnull final long... values) {
+        final long[] rowKeys = new long[values.length];
+        for (int valueIndex = 0; valueIndex < values.length; valueIndex++) {
+            rowKeys[valueIndex] = valueIndex;
+        }
+        return new TCAFieldValues(values, rowKeys);
+    }
+
+    /**
+     * Creates values of array rows with given row keys
+     *
+     * @param values values present in array rows
+     * @param rowKeys row key of each value
+     *
+     * @return field values
+     */
+    public static TCAFieldValues of(@Nonnull final long[] values, @Nonnull final long[] rowKeys) {
+        if (values.length != rowKeys.length) {
+            throw new IllegalArgumentException("Each field value must have a row key");
+        }
+        return new TCAFieldValues(values, rowKeys);
+    }
+
+    /**
+     * Creates value of non array field path which applies to all rows
+     *
+     * @param value field value
+     *
+     * @return field values
+     */
+    public static TCAFieldValues ofScalar(final long value) {
+        return new TCAFieldValues(new long[]{value}, null);
+    }
+
+    /**
+     * Creates row keys of vNic usage array rows. Rows are keyed by vNic identifier so that values of the same vNic
+     * are combined and compared even if vNics are reordered, added or removed between messages. Repeated vNic
+     * identifiers are told apart by their occurrence and rows without vNic identifier are keyed by position
+     *
+     * @param vNicIdentifiers vNic identifier of each vNic usage array row
+     *
+     * @return row key of each vNic usage array row
+     */
+    public static long[] toVNicRowKeys(@Nonnull final String[] vNicIdentifiers) {
+        final long[] rowKeys = new long[vNicIdentifiers.length];
+        // occurrences of each vNic identifier in rows before current row
+        final Map<String, Integer> vNicIdentifierOccurrences = new HashMap<>();
+        for (int row = 0; row < vNicIdentifiers.length; row++) {
+            if (vNicIdentifiers[row] == null) {
+                rowKeys[row] = row;
+                continue;
+            }
+            final Integer previousOccurrences = vNicIdentifierOccurrences.get(vNicIdentifiers[row]);
+            final int occurrence = previousOccurrences == null ? 0 : previousOccurrences;
+            vNicIdentifierOccurrences.put(vNicIdentifiers[row], occurrence + 1);
+            rowKeys[row] = AbstractTCAThresholdStore.mix(AbstractTCAThresholdStore.hash(vNicIdentifiers[row]) +
+                    occurrence);
+        }
+        return rowKeys;
+    }
+
+    /**
+     * Returns number of values
+     *
+     * @return value count
+     */
+    public int getValueCount() {
+        return values.length;
+    }
+
+    /**
+     * Returns value at given index
+     *
+     * @param valueIndex value index
+     *
+     * @return field value
+     */
+    public long getValue(final int valueIndex) {
+        return values[valueIndex];
+    }
+
+    /**
+     * Returns true if values are values of array rows, false if single value applies to all rows
+     *
+     * @return true if values have row keys
+     */
+    public boolean hasRowKeys() {
+        return rowKeys != null;
+    }
+
+    /**
+     * Returns row key of value at given index
+     *
+     * @param valueIndex value index
+     *
+     * @return row key
+     */
+    public long getRowKey(final int valueIndex) {
+        return rowKeys == null ? 0L : rowKeys[valueIndex];
+    }
+
+    /**
+     * Returns index of value of given row. Values of different fields of the same array are usually in the same
+     * order - so the search starts at given expected index
+     *
+     * @param rowKey row key
+     * @param expectedValueIndex value index to look at first
+     *
+     * @return value index or -1 if row has no value
+     */
+    public int indexOfRowKey(final long rowKey, final int expectedValueIndex) {
+        if (rowKeys == null) {
+            return values.length == 0 ? -1 : 0;
+        }
+        for (int offset = 0; offset < rowKeys.length; offset++) {
+            final int valueIndex = (expectedValueIndex + offset) % rowKeys.length;
+            if (rowKeys[valueIndex] == rowKey) {
+                return valueIndex;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns copy of values
+     *
+     * @return field values
+     */
+    public long[] toArray() {
+        return values.clone();
+    }
+
+}
@@ -0,0 +1,40 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+package org.openecomp.dcae.apod.analytics.tca.threshold;
+
+import javax.annotation.Nullable;
+
+/**
+ * Provides message values for field paths of {@link TCAFunctionalRoleThresholds} on demand, so that values
+ * are only extracted for field paths which actually need to be evaluated
+ */
+public interface TCAFieldValuesProvider {
+
+    /**
+     * Returns message values for given field path index
+     *
+     * @param fieldIndex field path index
+     *
+     * @return message values or null if message contains no values for the field path
+     */
+    @Nullable
+    TCAFieldValues getFieldValues(int fieldIndex);
+
+}
@@ -0,0 +1,818 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+package org.openecomp.dcae.apod.analytics.tca.threshold;
+
+import com.google.common.base.Objects;
+import org.openecomp.dcae.apod.analytics.common.AnalyticsConstants;
+import org.openecomp.dcae.apod.analytics.model.domain.cef.EventSeverity;
+import org.openecomp.dcae.apod.analytics.model.domain.cef.VNicUsageColumns;
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.Direction;
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.Threshold;
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.ThresholdValueType;
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.ThresholdWindowAggregation;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * <p>
+ *     Pre compiled primitive view of all thresholds of a single functional role. Thresholds are grouped by
+ *     field path (in policy order) and within each field path are sorted by severity - highest severity first.
+ *     Threshold values, direction opcodes and severity ordinals are kept in parallel primitive arrays so that
+ *     evaluation does not box or allocate.
+ *     <br>
+ *     Thresholds with field expression, delta or rate value type or window aggregation are grouped by field
+ *     definition and their field values are computed by a {@link TCAFieldEvaluator} of the field kind:
+ *     {@link TCAFieldExpressionEvaluator}, {@link TCADeltaFieldEvaluator}, {@link TCAWindowFieldEvaluator} and
+ *     {@link TCAPercentileWindowFieldEvaluator}. Field paths used by these fields are added as fields of their own so
+ *     that their values are extracted only once per message even if they are shared with other thresholds.
+ *     <br>
+ *     Policy {@link Threshold} objects are not modified - violated thresholds returned are same instances
+ *     as in the policy.
+ * </p>
+ */
+public class TCAFunctionalRoleThresholds implements Serializable {
+
+    private static final long serialVersionUID = -2446381298364372893L;
+
+    /**
+     * Returned by evaluate methods when no threshold is violated
+     */
+    public static final int NO_VIOLATION = -1;
+
+    static final int LESS_OPCODE = 0;
+    static final int LESS_OR_EQUAL_OPCODE = 1;
+    static final int GREATER_OPCODE = 2;
+    static final int GREATER_OR_EQUAL_OPCODE = 3;
+
+    // thresholds with no severity are applied after all thresholds with severity
+    private static final int NO_SEVERITY_ORDINAL = EventSeverity.values().length;
+
+    private static final int NO_FIELD = -1;
+
+    private final String functionalRole;
+    // field path of each field - null for expression, delta and window fields
+    private final String[] fieldPaths;
+    // evaluator of each expression, delta and window field - null for field path fields
+    private final TCAFieldEvaluator[] fieldEvaluators;
+    private final boolean hasStatefulFields;
+    // vNic usage array property name for field paths which select a vNic usage array property, null otherwise
+    private final String[] vNicUsagePropertyNames;
+    // vNic usage counter name for field paths which select a typed vNic usage array counter, null otherwise
+    private final String[] vNicUsageCounterNames;
+    // thresholds for field path i are at indices fieldThresholdsStart[i] (inclusive) to fieldThresholdsStart[i + 1]
+    private final int[] fieldThresholdsStart;
+    private final long[] thresholdValues;
+    private final int[] directionOpcodes;
+    private final int[] severityOrdinals;
+    private final Threshold[] thresholds;
+    // field index of each threshold
+    private final int[] thresholdFieldIndices;
+    // all threshold indices ordered by severity, then field path order, then threshold order within field path
+    private final int[] severityOrderedThresholdIndices;
+    // evaluation context of each evaluating thread - created lazily as thresholds are serialized
+    private transient volatile ThreadLocal<TCAFieldEvaluationContext> evaluationContexts;
+
+    public TCAFunctionalRoleThresholds(@Nonnull final String functionalRole,
+                                       @Nonnull final List<Threshold> policyThresholds) {
+        this.functionalRole = functionalRole;
+
+        // group evaluable thresholds by field key preserving policy order
+        final Map<FieldKey, List<Threshold>> fieldThresholds = new LinkedHashMap<>();
+        int thresholdCount = 0;
+        for (Threshold threshold : policyThresholds) {
+            final FieldKey fieldKey = FieldKey.of(threshold);
+            if (fieldKey == null || threshold.getDirection() == null || threshold.getThresholdValue() == null) {
+                continue;
+            }
+            List<Threshold> thresholdsForField = fieldThresholds.get(fieldKey);
+            if (thresholdsForField == null) {
+                thresholdsForField = new ArrayList<>();
+                fieldThresholds.put(fieldKey, thresholdsForField);
+            }
+            thresholdsForField.add(threshold);
+            thresholdCount++;
+        }
+
+        // compile field expressions and add fields required by expression, delta and window fields which have
+        // no thresholds of their own - added fields are checked too so window source delta fields get their source
+        final List<FieldKey> allFieldKeys = new ArrayList<>(fieldThresholds.keySet());
+        final Map<FieldKey, TCAThresholdExpression> fieldExpressions = new LinkedHashMap<>();
+        for (int fieldIndex = 0; fieldIndex < allFieldKeys.size(); fieldIndex++) {
+            final FieldKey fieldKey = allFieldKeys.get(fieldIndex);
+            final List<FieldKey> requiredFieldKeys = new ArrayList<>();
+            if (fieldKey.fieldExpression != null) {
+                final TCAThresholdExpression fieldExpression = TCAThresholdExpression.compile(fieldKey.fieldExpression);
+                fieldExpressions.put(fieldKey, fieldExpression);
+                for (int operandIndex = 0; operandIndex < fieldExpression.getFieldPathCount(); operandIndex++) {
+                    requiredFieldKeys.add(FieldKey.ofFieldPath(fieldExpression.getFieldPath(operandIndex)));
+                }
+            }
+            if (fieldKey.getSourceKey() != null) {
+                requiredFieldKeys.add(fieldKey.getSourceKey());
+            }
+            for (FieldKey requiredFieldKey : requiredFieldKeys) {
+                if (!allFieldKeys.contains(requiredFieldKey)) {
+                    allFieldKeys.add(requiredFieldKey);
+                }
+            }
+        }
+
+        final int fieldCount = allFieldKeys.size();
+        this.fieldPaths = new String[fieldCount];
+        this.fieldEvaluators = new TCAFieldEvaluator[fieldCount];
+        this.vNicUsagePropertyNames = new String[fieldCount];
+        this.vNicUsageCounterNames = new String[fieldCount];
+        boolean hasStatefulField = false;
+        for (int fieldIndex = 0; fieldIndex < fieldCount; fieldIndex++) {
+            final FieldKey fieldKey = allFieldKeys.get(fieldIndex);
+            fieldEvaluators[fieldIndex] =
+                    createFieldEvaluator(fieldKey, fieldExpressions.get(fieldKey), allFieldKeys);
+            if (fieldEvaluators[fieldIndex] == null) {
+                fieldPaths[fieldIndex] = fieldKey.fieldPath;
+                vNicUsagePropertyNames[fieldIndex] = toVNicUsagePropertyName(fieldKey.fieldPath);
+                vNicUsageCounterNames[fieldIndex] = toVNicUsageCounterName(vNicUsagePropertyNames[fieldIndex]);
+            } else if (fieldEvaluators[fieldIndex].isStateful()) {
+                hasStatefulField = true;
+            }
+        }
+        this.hasStatefulFields = hasStatefulField;
+
+        this.fieldThresholdsStart = new int[fieldCount + 1];
+        this.thresholdValues = new long[thresholdCount];
+        this.directionOpcodes = new int[thresholdCount];
+        this.severityOrdinals = new int[thresholdCount];
+        this.thresholds = new Threshold[thresholdCount];
+
+        int fieldIndex = 0;
+        int thresholdIndex = 0;
+        for (List<Threshold> thresholdsForField : fieldThresholds.values()) {
+            fieldThresholdsStart[fieldIndex] = thresholdIndex;
+            for (Threshold threshold : thresholdsForField) {
+                // insertion sort by severity - stable so equal severity thresholds keep policy order
+                final int severityOrdinal = toSeverityOrdinal(threshold);
+                int insertIndex = thresholdIndex;
+                while (insertIndex > fieldThresholdsStart[fieldIndex] &&
+                        severityOrdinals[insertIndex - 1] > severityOrdinal) {
+                    copyThreshold(insertIndex - 1, insertIndex);
+                    insertIndex--;
+                }
+                if (threshold.getWindowAggregation() == ThresholdWindowAggregation.COUNT) {
+                    // COUNT window field value is number of samples violating threshold direction and value
+                    thresholdValues[insertIndex] = threshold.getWindowViolationCount();
+                    directionOpcodes[insertIndex] = GREATER_OR_EQUAL_OPCODE;
+                } else {
+                    thresholdValues[insertIndex] = threshold.getThresholdValue();
+                    directionOpcodes[insertIndex] = getDirectionOpcode(threshold.getDirection());
+                }
+                severityOrdinals[insertIndex] = severityOrdinal;
+                thresholds[insertIndex] = threshold;
+                thresholdIndex++;
+            }
+            fieldIndex++;
+        }
+        // fields added for expression, delta and window fields have empty threshold ranges
+        for (; fieldIndex <= fieldCount; fieldIndex++) {
+            fieldThresholdsStart[fieldIndex] = thresholdIndex;
+        }
+
+        this.thresholdFieldIndices = new int[thresholdCount];
+        this.severityOrderedThresholdIndices = new int[thresholdCount];
+        for (int currentFieldIndex = 0; currentFieldIndex < fieldPaths.length; currentFieldIndex++) {
+            for (int currentThresholdIndex = fieldThresholdsStart[currentFieldIndex];
+                 currentThresholdIndex < fieldThresholdsStart[currentFieldIndex + 1]; currentThresholdIndex++) {
+                thresholdFieldIndices[currentThresholdIndex] = currentFieldIndex;
+                // insertion sort by severity - stable so field path and threshold order is kept for same severity
+                int insertIndex = currentThresholdIndex;
+                while (insertIndex > 0 && severityOrdinals[severityOrderedThresholdIndices[insertIndex - 1]] >
+                        severityOrdinals[currentThresholdIndex]) {
+                    severityOrderedThresholdIndices[insertIndex] = severityOrderedThresholdIndices[insertIndex - 1];
+                    insertIndex--;
+                }
+                severityOrderedThresholdIndices[insertIndex] = currentThresholdIndex;
+            }
+        }
+    }
+
+    /**
+     * Returns functional role of these thresholds
+     *
+     * @return functional role
+     */
+    public String getFunctionalRole() {
+        return functionalRole;
+    }
+
+    /**
+     * Returns number of distinct fields - field paths, field expressions, delta and window fields
+     *
+     * @return field count
+     */
+    public int getFieldPathCount() {
+        return fieldPaths.length;
+    }
+
+    /**
+     * Returns field path at given index
+     *
+     * @param fieldIndex field index
+     *
+     * @return field path or null if field is a field expression, delta or window field
+     */
+    @Nullable
+    public String getFieldPath(final int fieldIndex) {
+        return fieldPaths[fieldIndex];
+    }
+
+    /**
+     * Returns compiled field expression at given index. Values of field expressions are computed from values of
+     * expression field paths and are never requested from {@link TCAFieldValuesProvider}
+     *
+     * @param fieldIndex field index
+     *
+     * @return compiled field expression or null if field is a field path
+     */
+    @Nullable
+    public TCAThresholdExpression getFieldExpression(final int fieldIndex) {
+        final TCAFieldEvaluator fieldEvaluator = fieldEvaluators[fieldIndex];
+        return fieldEvaluator instanceof TCAFieldExpressionEvaluator ?
+                ((TCAFieldExpressionEvaluator) fieldEvaluator).getFieldExpression() : null;
+    }
+
+    /**
+     * Returns value type of field at given index. Values of delta fields are computed from values of their source
+     * field path and are never requested from {@link TCAFieldValuesProvider}
+     *
+     * @param fieldIndex field index
+     *
+     * @return value type or null if field is not a delta field
+     */
+    @Nullable
+    public ThresholdValueType getFieldValueType(final int fieldIndex) {
+        final TCAFieldEvaluator fieldEvaluator = fieldEvaluators[fieldIndex];
+        return fieldEvaluator instanceof TCADeltaFieldEvaluator ?
+                ((TCADeltaFieldEvaluator) fieldEvaluator).getValueType() : null;
+    }
+
+    /**
+     * Returns window aggregation of field at given index. Values of window fields are computed from samples of
+     * their source field kept in {@link TCAThresholdWindowStore} and are never requested from
+     * {@link TCAFieldValuesProvider}
+     *
+     * @param fieldIndex field index
+     *
+     * @return window aggregation or null if field is not a window field
+     */
+    @Nullable
+    public ThresholdWindowAggregation getFieldWindowAggregation(final int fieldIndex) {
+        final TCAFieldEvaluator fieldEvaluator = fieldEvaluators[fieldIndex];
+        return fieldEvaluator instanceof AbstractTCAWindowFieldEvaluator ?
+                ((AbstractTCAWindowFieldEvaluator) fieldEvaluator).getWindowAggregation() : null;
+    }
+
+    /**
+     * Returns vNic usage array property name (e.g. bytesIn or multicastPacketsIn) selected by field path at given
+     * index. Values of such field paths are read row by row from vNic usage array so that each value is keyed by its
+     * vNic identifier
+     *
+     * @param fieldIndex field index
+     *
+     * @return vNic usage property name or null if field path does not select a vNic usage array property
+     */
+    @Nullable
+    public String getVNicUsagePropertyName(final int fieldIndex) {
+        return vNicUsagePropertyNames[fieldIndex];
+    }
+
+    /**
+     * Returns vNic usage array counter name (e.g. bytesIn) selected by field path at given index. Values of such
+     * field paths can be read from {@link VNicUsageColumns} instead of evaluating json path on the message
+     *
+     * @param fieldIndex field index
+     *
+     * @return vNic usage counter name or null if field path does not select a vNic usage array counter
+     */
+    @Nullable
+    public String getVNicUsageCounterName(final int fieldIndex) {
+        return vNicUsageCounterNames[fieldIndex];
+    }
+
+    /**
+     * Returns policy threshold at given threshold index
+     *
+     * @param thresholdIndex threshold index returned by evaluate methods
+     *
+     * @return policy threshold
+     */
+    public Threshold getThreshold(final int thresholdIndex) {
+        return thresholds[thresholdIndex];
+    }
+
+    /**
+     * Returns severity ordinal of threshold at given threshold index - lower is more severe
+     *
+     * @param thresholdIndex threshold index returned by evaluate methods
+     *
+     * @return severity ordinal
+     */
+    public int getSeverityOrdinal(final int thresholdIndex) {
+        return severityOrdinals[thresholdIndex];
+    }
+
+    /**
+     * Applies thresholds of given field path field to field values in order of threshold severity and returns
+     * index of the first violated threshold
+     *
+     * @param fieldIndex field index
+     * @param fieldValues message values for the field path
+     * @param fieldValuesCount number of values in field values array
+     *
+     * @return threshold index of highest severity violated threshold or {@link #NO_VIOLATION}
+     */
+    public int evaluateField(final int fieldIndex, final long[] fieldValues, final int fieldValuesCount) {
+        final int thresholdsEnd = fieldThresholdsStart[fieldIndex + 1];
+        for (int thresholdIndex = fieldThresholdsStart[fieldIndex]; thresholdIndex < thresholdsEnd;
+             thresholdIndex++) {
+            final int directionOpcode = directionOpcodes[thresholdIndex];
+            final long thresholdValue = thresholdValues[thresholdIndex];
+            for (int valueIndex = 0; valueIndex < fieldValuesCount; valueIndex++) {
+                if (isViolated(directionOpcode, fieldValues[valueIndex], thresholdValue)) {
+                    return thresholdIndex;
+                }
+            }
+        }
+        return NO_VIOLATION;
+    }
+
+    /**
+     * Evaluates all fields and returns the highest severity violated threshold. If more than one field
+     * violates thresholds with same severity, field which comes first in the policy wins.
+     *
+     * @param fieldValues message values for each field path index, null if message has no values for field path.
+     * Values of each field path are keyed by their position. Values of field expression indices are ignored - they
+     * are computed from values of expression field paths.
+     * Delta and window fields are not evaluated as they require previous values of the reporting entity
+     *
+     * @return threshold index of highest severity violated threshold or {@link #NO_VIOLATION}
+     */
+    public int evaluate(final long[][] fieldValues) {
+        final TCAFieldValuesProvider fieldValuesProvider = new TCAFieldValuesProvider() {
+            @Override
+            public TCAFieldValues getFieldValues(final int fieldIndex) {
+                return fieldValues[fieldIndex] == null ? null : TCAFieldValues.of(fieldValues[fieldIndex]);
+            }
+        };
+        final TCAFieldEvaluationContext context = getEvaluationContext();
+        context.reset(fieldValuesProvider, null, 0L, 0L);
+        try {
+            return evaluate(fieldValues, context);
+        } finally {
+            context.clear();
+        }
+    }
+
+    private int evaluate(final long[][] fieldValues, final TCAFieldEvaluationContext context) {
+        int maxSeverityThresholdIndex = NO_VIOLATION;
+        for (int fieldIndex = 0; fieldIndex < fieldPaths.length; fieldIndex++) {
+            final int thresholdIndex;
+            if (fieldPaths[fieldIndex] != null) {
+                final long[] values = fieldValues[fieldIndex];
+                if (values == null) {
+                    continue;
+                }
+                thresholdIndex = evaluateField(fieldIndex, values, values.length);
+            } else if (fieldEvaluators[fieldIndex].isStateful()) {
+                continue;
+            } else {
+                thresholdIndex = evaluateDerivedField(fieldIndex, context.getDerivedFieldValues(fieldIndex));
+            }
+            if (thresholdIndex != NO_VIOLATION && (maxSeverityThresholdIndex == NO_VIOLATION ||
+                    severityOrdinals[thresholdIndex] < severityOrdinals[maxSeverityThresholdIndex])) {
+                maxSeverityThresholdIndex = thresholdIndex;
+            }
+        }
+        return maxSeverityThresholdIndex;
+    }
+
+    /**
+     * Applies all thresholds across all fields in global severity order and returns the first violated
+     * threshold. Evaluation stops at first violation - so a CRITICAL violation is returned without looking at any
+     * other threshold, and field paths which are only needed by thresholds less severe than the violation found
+     * are never requested from field values provider. Result is same as {@link #evaluate(long[][])}
+     *
+     * @param fieldValuesProvider provides message values for field path index on demand
+     *
+     * @return threshold index of highest severity violated threshold or {@link #NO_VIOLATION}
+     */
+    public int evaluateInSeverityOrder(final TCAFieldValuesProvider fieldValuesProvider) {
+        return evaluateInSeverityOrder(fieldValuesProvider, null, null, null);
+    }
+
+    /**
+     * Applies all thresholds across all fields in global severity order and returns the first violated threshold.
+     * Delta and window fields are computed from previous values of the reporting entity kept in given state store.
+     * As the state of every delta and window field must be updated for each message, values of delta and window
+     * fields are computed before thresholds are applied, all other fields are evaluated on demand same as
+     * {@link #evaluateInSeverityOrder(TCAFieldValuesProvider)}.
+     * <br>
+     * Delta and rate values are computed by {@link TCADeltaFieldEvaluator} and window values by
+     * {@link TCAWindowFieldEvaluator} and {@link TCAPercentileWindowFieldEvaluator}.
+     *
+     * @param fieldValuesProvider provides message values for field path index on demand
+     * @param stateStore state of reporting entities - delta and window fields are not evaluated if null
+     * @param reportingEntityName reporting entity name of the message - delta and window fields are not evaluated
+     * if null
+     * @param lastEpochMicrosec last epoch microsec of the message - delta and window fields are not evaluated if
+     * null
+     *
+     * @return threshold index of highest severity violated threshold or {@link #NO_VIOLATION}
+     */
+    public int evaluateInSeverityOrder(final TCAFieldValuesProvider fieldValuesProvider,
+                                       @Nullable final TCAThresholdStateStore stateStore,
+                                       @Nullable final String reportingEntityName,
+                                       @Nullable final Long lastEpochMicrosec) {
+        final boolean isStateAvailable =
+                stateStore != null && reportingEntityName != null && lastEpochMicrosec != null;
+        // field expression, delta and window field values are computed at most once per evaluation
+        final TCAFieldEvaluationContext context = getEvaluationContext();
+        context.reset(fieldValuesProvider, isStateAvailable ? stateStore : null,
+                isStateAvailable ? AbstractTCAThresholdStore.entityKey(functionalRole, reportingEntityName) : 0L,
+                isStateAvailable ? lastEpochMicrosec : 0L);
+        try {
+            return evaluateInSeverityOrder(fieldValuesProvider, context);
+        } finally {
+            context.clear();
+        }
+    }
+
+    private int evaluateInSeverityOrder(final TCAFieldValuesProvider fieldValuesProvider,
+                                        final TCAFieldEvaluationContext context) {
+        if (hasStatefulFields) {
+            // state of every delta and window field is updated before thresholds are applied
+            for (int fieldIndex = 0; fieldIndex < fieldPaths.length; fieldIndex++) {
+                if (fieldEvaluators[fieldIndex] != null && fieldEvaluators[fieldIndex].isStateful()) {
+                    context.getDerivedFieldValues(fieldIndex);
+                }
+            }
+        }
+        for (final int thresholdIndex : severityOrderedThresholdIndices) {
+            final int fieldIndex = thresholdFieldIndices[thresholdIndex];
+            final int directionOpcode = directionOpcodes[thresholdIndex];
+            final long thresholdValue = thresholdValues[thresholdIndex];
+            if (fieldPaths[fieldIndex] != null) {
+                final TCAFieldValues values = fieldValuesProvider.getFieldValues(fieldIndex);
+                if (values == null) {
+                    continue;
+                }
+                for (int valueIndex = 0; valueIndex < values.getValueCount(); valueIndex++) {
+                    if (isViolated(directionOpcode, values.getValue(valueIndex), thresholdValue)) {
+                        return thresholdIndex;
+                    }
+                }
+            } else {
+                final double[] values = context.getDerivedFieldValues(fieldIndex);
+                if (values == null) {
+                    continue;
+                }
+                for (final double value : values) {
+                    if (isViolated(directionOpcode, value, thresholdValue)) {
+                        return thresholdIndex;
+                    }
+                }
+            }
+        }
+        return NO_VIOLATION;
+    }
+
+    /**
+     * Returns evaluation context of current thread. Context is reused for all messages evaluated by the thread so
+     * that evaluation does not allocate context and field value arrays for each message
+     *
+     * @return evaluation context of current thread
+     */
+    private TCAFieldEvaluationContext getEvaluationContext() {
+        ThreadLocal<TCAFieldEvaluationContext> threadEvaluationContexts = evaluationContexts;
+        if (threadEvaluationContexts == null) {
+            synchronized (this) {
+                threadEvaluationContexts = evaluationContexts;
+                if (threadEvaluationContexts == null) {
+                    threadEvaluationContexts = new ThreadLocal<TCAFieldEvaluationContext>() {
+                        @Override
+                        protected TCAFieldEvaluationContext initialValue() {
+                            return new TCAFieldEvaluationContext(fieldEvaluators);
+                        }
+                    };
+                    evaluationContexts = threadEvaluationContexts;
+                }
+            }
+        }
+        return threadEvaluationContexts.get();
+    }
+
+    private int evaluateDerivedField(final int fieldIndex, final double[] derivedValues) {
+        if (derivedValues == null) {
+            return NO_VIOLATION;
+        }
+        final int thresholdsEnd = fieldThresholdsStart[fieldIndex + 1];
+        for (int thresholdIndex = fieldThresholdsStart[fieldIndex]; thresholdIndex < thresholdsEnd;
+             thresholdIndex++) {
+            for (final double value : derivedValues) {
+                if (isViolated(directionOpcodes[thresholdIndex], value, thresholdValues[thresholdIndex])) {
+                    return thresholdIndex;
+                }
+            }
+        }
+        return NO_VIOLATION;
+    }
+
+    /**
+     * Applies direction operation to message value and threshold value
+     *
+     * @param directionOpcode direction opcode
+     * @param value message value
+     * @param thresholdValue threshold value
+     *
+     * @return true if threshold is violated
+     */
+    static boolean isViolated(final int directionOpcode, final long value, final long thresholdValue) {
+        switch (directionOpcode) {
+            case LESS_OPCODE:
+                return value < thresholdValue;
+            case LESS_OR_EQUAL_OPCODE:
+                return value <= thresholdValue;
+            case GREATER_OPCODE:
+                return value > thresholdValue;
+            case GREATER_OR_EQUAL_OPCODE:
+                return value >= thresholdValue;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Applies direction operation to field expression value and threshold value
+     *
+     * @param directionOpcode direction opcode
+     * @param value field expression value
+     * @param thresholdValue threshold value
+     *
+     * @return true if threshold is violated
+     */
+    static boolean isViolated(final int directionOpcode, final double value, final long thresholdValue) {
+        switch (directionOpcode) {
+            case LESS_OPCODE:
+                return value < thresholdValue;
+            case LESS_OR_EQUAL_OPCODE:
+                return value <= thresholdValue;
+            case GREATER_OPCODE:
+                return value > thresholdValue;
+            case GREATER_OR_EQUAL_OPCODE:
+                return value >= thresholdValue;
+            default:
+                return false;
+        }
+    }
+
+    static int getDirectionOpcode(@Nonnull final Direction direction) {
+        switch (direction) {
+            case LESS:
+                return LESS_OPCODE;
+            case LESS_OR_EQUAL:
+                return LESS_OR_EQUAL_OPCODE;
+            case GREATER:
+                return GREATER_OPCODE;
+            case GREATER_OR_EQUAL:
+                return GREATER_OR_EQUAL_OPCODE;
+            default:
+                throw new IllegalArgumentException("Unsupported threshold direction: " + direction);
+        }
+    }
+
+    @Nullable
+    private static TCAFieldEvaluator createFieldEvaluator(@Nonnull final FieldKey fieldKey,
+                                                          @Nullable final TCAThresholdExpression fieldExpression,
+                                                          @Nonnull final List<FieldKey> allFieldKeys) {
+        if (fieldExpression != null) {
+            final int[] operandFieldIndices = new int[fieldExpression.getFieldPathCount()];
+            for (int operandIndex = 0; operandIndex < operandFieldIndices.length; operandIndex++) {
+                operandFieldIndices[operandIndex] =
+                        allFieldKeys.indexOf(FieldKey.ofFieldPath(fieldExpression.getFieldPath(operandIndex)));
+            }
+            return new TCAFieldExpressionEvaluator(fieldExpression, operandFieldIndices);
+        }
+        final FieldKey sourceKey = fieldKey.getSourceKey();
+        final int sourceFieldIndex = sourceKey == null ? NO_FIELD : allFieldKeys.indexOf(sourceKey);
+        if (fieldKey.windowAggregation == null) {
+            return fieldKey.valueType == null ? null :
+                    new TCADeltaFieldEvaluator(fieldKey.getStateKey(), sourceFieldIndex, fieldKey.valueType);
+        }
+        final boolean isDeltaSource = fieldKey.valueType != null;
+        final int rowFieldIndex = isDeltaSource ? allFieldKeys.indexOf(sourceKey.getSourceKey()) : sourceFieldIndex;
+        final long windowMicrosecs = fieldKey.windowSeconds != null ? fieldKey.windowSeconds * 1000000L : 0L;
+        if (fieldKey.windowAggregation == ThresholdWindowAggregation.PERCENTILE) {
+            return new TCAPercentileWindowFieldEvaluator(fieldKey.getStateKey(), sourceFieldIndex, isDeltaSource,
+                    rowFieldIndex, windowMicrosecs, fieldKey.windowPercentile / 100d);
+        }
+        final boolean isCount = fieldKey.windowSampleDirection != null;
+        return new TCAWindowFieldEvaluator(fieldKey.getStateKey(), sourceFieldIndex, isDeltaSource, rowFieldIndex,
+                fieldKey.windowAggregation, fieldKey.windowSize, windowMicrosecs,
+                isCount ? getDirectionOpcode(fieldKey.windowSampleDirection) : 0,
+                isCount ? fieldKey.windowSampleThresholdValue : 0L);
+    }
+
+    private static int toSeverityOrdinal(@Nonnull final Threshold threshold) {
+        final EventSeverity severity = threshold.getSeverity();
+        return severity == null ? NO_SEVERITY_ORDINAL : severity.ordinal();
+    }
+
+    private static String toVNicUsagePropertyName(@Nullable final String fieldPath) {
+        if (fieldPath == null || !fieldPath.startsWith(AnalyticsConstants.TCA_VNIC_USAGE_ARRAY_FIELD_PATH_PREFIX)) {
+            return null;
+        }
+        // only plain property names - nested or filtered json paths are evaluated using json path
+        final String propertyName =
+                fieldPath.substring(AnalyticsConstants.TCA_VNIC_USAGE_ARRAY_FIELD_PATH_PREFIX.length());
+        if (propertyName.isEmpty()) {
+            return null;
+        }
+        for (int i = 0; i < propertyName.length(); i++) {
+            if (!Character.isJavaIdentifierPart(propertyName.charAt(i))) {
+                return null;
+            }
+        }
+        return propertyName;
+    }
+
+    private static String toVNicUsageCounterName(@Nullable final String propertyName) {
+        if (propertyName == null) {
+            return null;
+        }
+        // only typed counters are kept in columns
+        switch (propertyName) {
+            case VNicUsageColumns.BYTES_IN:
+            case VNicUsageColumns.BYTES_OUT:
+            case VNicUsageColumns.PACKETS_IN:
+            case VNicUsageColumns.PACKETS_OUT:
+                return propertyName;
+            default:
+                return null;
+        }
+    }
+
+    private void copyThreshold(final int fromIndex, final int toIndex) {
+        thresholdValues[toIndex] = thresholdValues[fromIndex];
+        directionOpcodes[toIndex] = directionOpcodes[fromIndex];
+        severityOrdinals[toIndex] = severityOrdinals[fromIndex];
+        thresholds[toIndex] = thresholds[fromIndex];
+    }
+
+    /**
+     * Identifies a field - thresholds with equal field keys are applied to the same field values
+     */
+    private static final class FieldKey {
+
+        private final String fieldPath;
+        private final String fieldExpression;
+        private final ThresholdValueType valueType;
+        private final ThresholdWindowAggregation windowAggregation;
+        private final Integer windowSize;
+        private final Integer windowSeconds;
+        // COUNT window samples are counted against threshold direction and value
+        private final Direction windowSampleDirection;
+        private final Long windowSampleThresholdValue;
+        private final Double windowPercentile;
+
+        private FieldKey(final String fieldPath, final String fieldExpression, final ThresholdValueType valueType,
+                         final ThresholdWindowAggregation windowAggregation, final Integer windowSize,
+                         final Integer windowSeconds, final Direction windowSampleDirection,
+                         final Long windowSampleThresholdValue, final Double windowPercentile) {
+            this.fieldPath = fieldPath;
+            this.fieldExpression = fieldExpression;
+            this.valueType = valueType;
+            this.windowAggregation = windowAggregation;
+            this.windowSize = windowSize;
+            this.windowSeconds = windowSeconds;
+            this.windowSampleDirection = windowSampleDirection;
+            this.windowSampleThresholdValue = windowSampleThresholdValue;
+            this.windowPercentile = windowPercentile;
+        }
+
+        private static FieldKey ofFieldPath(final String fieldPath) {
+            return new FieldKey(fieldPath, null, null, null, null, null, null, null, null);
+        }
+
+        @Nullable
+        private static FieldKey of(@Nonnull final Threshold threshold) {
+            // field expression takes precedence over field path
+            if (threshold.getFieldExpression() != null) {
+                return new FieldKey(null, threshold.getFieldExpression(), null, null, null, null, null, null, null);
+            }
+            if (threshold.getFieldPath() == null) {
+                return null;
+            }
+            final ThresholdWindowAggregation windowAggregation = threshold.getWindowAggregation();
+            if (windowAggregation == null) {
+                return new FieldKey(threshold.getFieldPath(), null, threshold.getValueType(), null, null, null, null,
+                        null, null);
+            }
+            // COUNT windows must have violation count
+            if (windowAggregation == ThresholdWindowAggregation.COUNT && threshold.getWindowViolationCount() == null) {
+                return null;
+            }
+            // percentile windows are time windows of sketches and must have percentile
+            if (windowAggregation == ThresholdWindowAggregation.PERCENTILE) {
+                if (threshold.getWindowSeconds() == null || threshold.getWindowPercentile() == null) {
+                    return null;
+                }
+                return new FieldKey(threshold.getFieldPath(), null, threshold.getValueType(), windowAggregation,
+                        null, threshold.getWindowSeconds(), null, null, threshold.getWindowPercentile());
+            }
+            // sample windows keep at most window size samples - also for time windows - so they must have window size
+            if (threshold.getWindowSize() == null) {
+                return null;
+            }
+            final boolean isCount = windowAggregation == ThresholdWindowAggregation.COUNT;
+            return new FieldKey(threshold.getFieldPath(), null, threshold.getValueType(), windowAggregation,
+                    threshold.getWindowSize(), threshold.getWindowSeconds(),
+                    isCount ? threshold.getDirection() : null, isCount ? threshold.getThresholdValue() : null, null);
+        }
+
+        /**
+         * Returns key of field whose values are source of delta and window fields
+         *
+         * @return source field key or null for field path and expression fields
+         */
+        @Nullable
+        private FieldKey getSourceKey() {
+            if (windowAggregation != null) {
+                return new FieldKey(fieldPath, null, valueType, null, null, null, null, null, null);
+            }
+            if (valueType != null) {
+                return ofFieldPath(fieldPath);
+            }
+            return null;
+        }
+
+        /**
+         * Returns key of field state which depends on all of field definition - unlike field index which depends on
+         * order of policy thresholds
+         *
+         * @return field state key
+         */
+        private long getStateKey() {
+            return AbstractTCAThresholdStore.hash(fieldPath + "|" + fieldExpression + "|" + valueType + "|" +
+                    windowAggregation + "|" + windowSize + "|" + windowSeconds + "|" + windowSampleDirection + "|" +
+                    windowSampleThresholdValue + "|" + windowPercentile);
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof FieldKey)) {
+                return false;
+            }
+            final FieldKey that = (FieldKey) other;
+            return Objects.equal(fieldPath, that.fieldPath) &&
+                    Objects.equal(fieldExpression, that.fieldExpression) &&
+                    valueType == that.valueType &&
+                    windowAggregation == that.windowAggregation &&
+                    Objects.equal(windowSize, that.windowSize) &&
+                    Objects.equal(windowSeconds, that.windowSeconds) &&
+                    windowSampleDirection == that.windowSampleDirection &&
+                    Objects.equal(windowSampleThresholdValue, that.windowSampleThresholdValue) &&
+                    Objects.equal(windowPercentile, that.windowPercentile);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(fieldPath, fieldExpression, valueType, windowAggregation, windowSize,
+                    windowSeconds, windowSampleDirection, windowSampleThresholdValue, windowPercentile);
+        }
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+package org.openecomp.dcae.apod.analytics.tca.threshold;
+
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import org.openecomp.dcae.apod.analytics.common.AnalyticsConstants;
+import org.openecomp.dcae.apod.analytics.model.domain.cef.VNicUsageColumns;
+import org.openecomp.dcae.apod.analytics.tca.utils.TCAUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * {@link TCAFieldValuesProvider} which extracts field path values from CEF message using json path.
+ * Message is parsed only when values of first field path are requested and values of each field path
+ * are extracted at most once. Values of vNic usage array properties are read row by row from vNic usage array so
+ * that each value is keyed by vNic identifier of its row
+ */
+public class TCAJsonPathFieldValuesProvider implements TCAFieldValuesProvider {
+
+    private static final String VNIC_USAGE_ARRAY_ROWS_FIELD_PATH =
+            AnalyticsConstants.TCA_VNIC_USAGE_ARRAY_FIELD_PATH_PREFIX.substring(0,
+                    AnalyticsConstants.TCA_VNIC_USAGE_ARRAY_FIELD_PATH_PREFIX.length() - 1);
+
+    private final String message;
+    private final TCAFunctionalRoleThresholds functionalRoleThresholds;
+    private final TCAFieldValues[] fieldValues;
+    private final boolean[] isFieldValuesExtracted;
+    private DocumentContext documentContext;
+    private List<?> vNicUsageRows;
+    private long[] vNicRowKeys;
+
+    public TCAJsonPathFieldValuesProvider(@Nonnull final String message,
+                                          @Nonnull final TCAFunctionalRoleThresholds functionalRoleThresholds) {
+        this.message = message;
+        this.functionalRoleThresholds = functionalRoleThresholds;
+        this.fieldValues = new TCAFieldValues[functionalRoleThresholds.getFieldPathCount()];
+        this.isFieldValuesExtracted = new boolean[functionalRoleThresholds.getFieldPathCount()];
+    }
+
+    @Nullable
+    @Override
+    public TCAFieldValues getFieldValues(final int fieldIndex) {
+        if (!isFieldValuesExtracted[fieldIndex]) {
+            if (documentContext == null) {
+                documentContext = JsonPath.parse(message);
+            }
+            final String vNicUsagePropertyName = functionalRoleThresholds.getVNicUsagePropertyName(fieldIndex);
+            if (vNicUsagePropertyName != null) {
+                fieldValues[fieldIndex] = getVNicUsageFieldValues(vNicUsagePropertyName);
+            } else {
+                fieldValues[fieldIndex] = TCAUtils.getJsonPathFieldValues(documentContext,
+                        functionalRoleThresholds.getFieldPath(fieldIndex));
+            }
+            isFieldValuesExtracted[fieldIndex] = true;
+        }
+        return fieldValues[fieldIndex];
+    }
+
+    private TCAFieldValues getVNicUsageFieldValues(final String vNicUsagePropertyName) {
+        if (vNicUsageRows == null) {
+            vNicUsageRows = documentContext.read(VNIC_USAGE_ARRAY_ROWS_FIELD_PATH, List.class);
+            final String[] vNicIdentifiers = new String[vNicUsageRows.size()];
+            for (int row = 0; row < vNicIdentifiers.length; row++) {
+                final Object vNicIdentifier = getRowValue(row, VNicUsageColumns.VNIC_IDENTIFIER);
+                vNicIdentifiers[row] = vNicIdentifier instanceof String ? (String) vNicIdentifier : null;
+            }
+            vNicRowKeys = TCAFieldValues.toVNicRowKeys(vNicIdentifiers);
+        }
+        final long[] values = new long[vNicUsageRows.size()];
+        final long[] rowKeys = new long[vNicUsageRows.size()];
+        int valuesCount = 0;
+        for (int row = 0; row < vNicUsageRows.size(); row++) {
+            final Long value = TCAUtils.getJsonLongValue(getRowValue(row, vNicUsagePropertyName),
+                    AnalyticsConstants.TCA_VNIC_USAGE_ARRAY_FIELD_PATH_PREFIX + vNicUsagePropertyName);
+            if (value != null) {
+                values[valuesCount] = value;
+                rowKeys[valuesCount] = vNicRowKeys[row];
+                valuesCount++;
+            }
+        }
+        if (valuesCount == 0) {
+            return null;
+        }
+        return TCAFieldValues.of(Arrays.copyOf(values, valuesCount), Arrays.copyOf(rowKeys, valuesCount));
+    }
+
+    private Object getRowValue(final int row, final String propertyName) {
+        final Object vNicUsageRow = vNicUsageRows.get(row);
+        return vNicUsageRow instanceof Map ? ((Map<?, ?>) vNicUsageRow).get(propertyName) : null;
+    }
+
+}
@@ -0,0 +1,55 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+package org.openecomp.dcae.apod.analytics.tca.threshold;
+
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.ThresholdWindowAggregation;
+
+/**
+ * <p>
+ *     Evaluator of PERCENTILE window fields. Window samples are summarized in quantile sketches of
+ *     {@link TCAThresholdSketchStore} and field value is the approximate window percentile. Sketches are
+ *     checkpointed and may be loaded by a calculator instance with a changed policy or a message with reordered
+ *     vNics - their keys depend only on the field definition and vNic identifier.
+ * </p>
+ */
+final class TCAPercentileWindowFieldEvaluator extends AbstractTCAWindowFieldEvaluator {
+
+    private static final long serialVersionUID = 8772519408735184210L;
+
+    // percentile / 100
+    private final double quantile;
+
+    TCAPercentileWindowFieldEvaluator(final long fieldStateKey, final int sourceFieldIndex,
+                                      final boolean isDeltaSource, final int rowFieldIndex,
+                                      final long windowMicrosecs, final double quantile) {
+        super(fieldStateKey, sourceFieldIndex, isDeltaSource, rowFieldIndex, ThresholdWindowAggregation.PERCENTILE,
+                windowMicrosecs);
+        this.quantile = quantile;
+    }
+
+    @Override
+    protected double addSample(final TCAThresholdStateStore stateStore, final long key, final double sample,
+                               final long epochMicrosec) {
+        final TCAThresholdSketchStore sketchStore = stateStore.getSketchStore();
+        final int entry = sketchStore.addSample(key, sample, epochMicrosec, windowMicrosecs);
+        return entry == AbstractTCAThresholdStore.NOT_FOUND ? Double.NaN : sketchStore.getQuantile(entry, quantile);
+    }
+
+}
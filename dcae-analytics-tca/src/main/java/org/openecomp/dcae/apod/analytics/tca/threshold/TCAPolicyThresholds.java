@@ -0,0 +1,64 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+package org.openecomp.dcae.apod.analytics.tca.threshold;
+
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.MetricsPerFunctionalRole;
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.TCAPolicy;
+
+import java.io.Serializable;
+import java.util.HashMap;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * <p>
+ *     Contains pre compiled {@link TCAFunctionalRoleThresholds} for all functional roles of a {@link TCAPolicy}.
+ *     Thresholds are compiled once when policy is loaded and looked up by functional role at runtime.
+ * </p>
+ */
+public class TCAPolicyThresholds implements Serializable {
+
+    private static final long serialVersionUID = 3914226706158862180L;
+
+    private final HashMap<String, TCAFunctionalRoleThresholds> functionalRoleThresholds;
+
+    public TCAPolicyThresholds(@Nonnull final TCAPolicy tcaPolicy) {
+        this.functionalRoleThresholds = new HashMap<>();
+        for (MetricsPerFunctionalRole metricsPerFunctionalRole : tcaPolicy.getMetricsPerFunctionalRole()) {
+            final String functionalRole = metricsPerFunctionalRole.getFunctionalRole();
+            functionalRoleThresholds.put(functionalRole,
+                    new TCAFunctionalRoleThresholds(functionalRole, metricsPerFunctionalRole.getThresholds()));
+        }
+    }
+
+    /**
+     * Returns pre compiled thresholds for given functional role
+     *
+     * @param functionalRole functional role
+     *
+     * @return pre compiled functional role thresholds or null if functional role is not part of the policy
+     */
+    @Nullable
+    public TCAFunctionalRoleThresholds getFunctionalRoleThresholds(@Nonnull final String functionalRole) {
+        return functionalRoleThresholds.get(functionalRole);
+    }
+
+}
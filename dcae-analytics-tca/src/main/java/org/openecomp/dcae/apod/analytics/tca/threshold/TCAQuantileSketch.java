@@ -0,0 +1,274 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.threshold;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import javax.annotation.Nonnull;
+
+/**
+ * <p>
+ *     Mergeable quantile sketch with relative accuracy guarantee (DDSketch style). Positive samples are counted in
+ *     logarithmic buckets - bucket i counts samples in range (gamma^(i-1), gamma^i] where
+ *     gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy), so any quantile is reported within relative accuracy
+ *     of an actual sample value. Zero and negative samples are counted in a single zero bucket and reported as 0.
+ *     <br>
+ *     Bucket counts are kept in a single primitive array covering the contiguous range of bucket indices seen so
+ *     far. Memory is bounded by max buckets - if samples span a wider range the lowest buckets are collapsed into
+ *     one so that high quantiles, which are usually monitored, stay accurate. Sketches with same relative accuracy
+ *     can be merged which makes them suitable for sliding windows made of panes.
+ *     <br>
+ *     Sketch is not thread safe.
+ * </p>
+ */
+public class TCAQuantileSketch {
+
+    // samples not greater than this are counted in zero bucket - also keeps bucket indices within int range
+    private static final double MIN_INDEXABLE_VALUE = 1e-9;
+    // extra buckets allocated when bucket range grows so that array is not copied for every new bucket index
+    private static final int GROWTH_BUCKETS = 8;
+    private static final int[] NO_BUCKETS = new int[0];
+
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+    private final int maxBuckets;
+
+    // bucketCounts[i] is the count of bucket index bucketOffset + i
+    private int[] bucketCounts = NO_BUCKETS;
+    private int bucketOffset;
+    private long zeroCount;
+    private long count;
+
+    public TCAQuantileSketch(final double relativeAccuracy, final int maxBuckets) {
+        if (relativeAccuracy <= 0d || relativeAccuracy >= 1d || maxBuckets <= 0) {
+            throw new IllegalArgumentException("Quantile sketch relative accuracy must be between 0 and 1 " +
+                    "and max buckets must be greater than 0");
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1d + relativeAccuracy) / (1d - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+        this.maxBuckets = maxBuckets;
+    }
+
+    /**
+     * Adds a sample to the sketch
+     *
+     * @param sample sample value - NaN samples must not be added
+     */
+    public void add(final double sample) {
+        count++;
+        if (sample <= MIN_INDEXABLE_VALUE) {
+            zeroCount++;
+            return;
+        }
+        final int bucketIndex = (int) Math.ceil(Math.log(sample) / logGamma);
+        ensureBucketRange(bucketIndex, bucketIndex + 1);
+        bucketCounts[Math.max(0, bucketIndex - bucketOffset)]++;
+    }
+
+    /**
+     * Adds all samples of other sketch to this sketch
+     *
+     * @param other sketch with the same relative accuracy
+     */
+    public void merge(@Nonnull final TCAQuantileSketch other) {
+        if (other.relativeAccuracy != relativeAccuracy) {
+            throw new IllegalArgumentException("Only quantile sketches with same relative accuracy can be merged");
+        }
+        count += other.count;
+        zeroCount += other.zeroCount;
+        if (other.bucketCounts.length == 0) {
+            return;
+        }
+        ensureBucketRange(other.bucketOffset, other.bucketOffset + other.bucketCounts.length);
+        for (int bucket = 0; bucket < other.bucketCounts.length; bucket++) {
+            bucketCounts[Math.max(0, other.bucketOffset + bucket - bucketOffset)] += other.bucketCounts[bucket];
+        }
+    }
+
+    /**
+     * Removes all samples. Allocated buckets are kept for reuse
+     */
+    public void clear() {
+        Arrays.fill(bucketCounts, 0);
+        zeroCount = 0L;
+        count = 0L;
+    }
+
+    /**
+     * Returns number of samples added to the sketch
+     *
+     * @return samples count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns approximate quantile of samples
+     *
+     * @param quantile quantile between 0 and 1 e.g. 0.95 for 95th percentile
+     *
+     * @return approximate sample value at given quantile or NaN if sketch is empty
+     */
+    public double getQuantile(final double quantile) {
+        if (count == 0L) {
+            return Double.NaN;
+        }
+        final long rank = (long) (quantile * (count - 1));
+        if (rank < zeroCount) {
+            return 0d;
+        }
+        long cumulativeCount = zeroCount;
+        for (int bucket = 0; bucket < bucketCounts.length; bucket++) {
+            cumulativeCount += bucketCounts[bucket];
+            if (cumulativeCount > rank) {
+                return getBucketValue(bucketOffset + bucket);
+            }
+        }
+        return getBucketValue(bucketOffset + bucketCounts.length - 1);
+    }
+
+    /**
+     * Returns approximate number of bytes allocated by the sketch
+     *
+     * @return allocated bytes
+     */
+    public long getMemoryBytes() {
+        return 64L + bucketCounts.length * 4L;
+    }
+
+    /**
+     * Returns number of bytes needed by {@link #writeTo(ByteBuffer)}
+     *
+     * @return serialized size in bytes
+     */
+    public int getSerializedSize() {
+        final int firstBucket = getFirstNonEmptyBucket();
+        final int lastBucket = getLastNonEmptyBucket();
+        return 24 + 4 * Math.max(0, lastBucket - firstBucket + 1);
+    }
+
+    /**
+     * Writes sketch samples to given buffer. Empty buckets at both ends of bucket range are not written
+     *
+     * @param buffer buffer with at least {@link #getSerializedSize()} bytes remaining
+     */
+    public void writeTo(@Nonnull final ByteBuffer buffer) {
+        final int firstBucket = getFirstNonEmptyBucket();
+        final int bucketsLength = Math.max(0, getLastNonEmptyBucket() - firstBucket + 1);
+        buffer.putLong(count);
+        buffer.putLong(zeroCount);
+        buffer.putInt(bucketOffset + firstBucket);
+        buffer.putInt(bucketsLength);
+        for (int bucket = firstBucket; bucket < firstBucket + bucketsLength; bucket++) {
+            buffer.putInt(bucketCounts[bucket]);
+        }
+    }
+
+    /**
+     * Reads sketch written by {@link #writeTo(ByteBuffer)}
+     *
+     * @param buffer buffer positioned at serialized sketch
+     * @param relativeAccuracy relative accuracy of the serialized sketch
+     * @param maxBuckets max buckets of the new sketch
+     *
+     * @return new sketch with serialized samples
+     * @throws IllegalArgumentException if buffer does not contain a valid sketch
+     */
+    public static TCAQuantileSketch readFrom(@Nonnull final ByteBuffer buffer, final double relativeAccuracy,
+                                             final int maxBuckets) {
+        final TCAQuantileSketch sketch = new TCAQuantileSketch(relativeAccuracy, maxBuckets);
+        try {
+            sketch.count = buffer.getLong();
+            sketch.zeroCount = buffer.getLong();
+            final int bucketOffset = buffer.getInt();
+            final int bucketsLength = buffer.getInt();
+            if (sketch.count < sketch.zeroCount || sketch.zeroCount < 0L || bucketsLength < 0 ||
+                    bucketsLength > buffer.remaining() / 4 || (long) bucketOffset + bucketsLength > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Invalid serialized quantile sketch");
+            }
+            if (bucketsLength > 0) {
+                sketch.ensureBucketRange(bucketOffset, bucketOffset + bucketsLength);
+                for (int bucket = 0; bucket < bucketsLength; bucket++) {
+                    sketch.bucketCounts[Math.max(0, bucketOffset + bucket - sketch.bucketOffset)] += buffer.getInt();
+                }
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Invalid serialized quantile sketch", e);
+        }
+        return sketch;
+    }
+
+    private double getBucketValue(final int bucketIndex) {
+        // middle of bucket range in relative terms - within relative accuracy of any value in the bucket
+        return 2d * Math.pow(gamma, bucketIndex) / (gamma + 1d);
+    }
+
+    private void ensureBucketRange(final int lowBucketIndex, final int highBucketIndex) {
+        final int currentHigh = bucketOffset + bucketCounts.length;
+        if (bucketCounts.length > 0 && lowBucketIndex >= bucketOffset && highBucketIndex <= currentHigh) {
+            return;
+        }
+        int newLow = bucketCounts.length == 0 ? lowBucketIndex : Math.min(lowBucketIndex, bucketOffset);
+        int newHigh = bucketCounts.length == 0 ? highBucketIndex : Math.max(highBucketIndex, currentHigh);
+        if (newHigh - newLow > maxBuckets) {
+            // collapse lowest buckets - samples below collapsed range are counted in lowest bucket
+            newLow = newHigh - maxBuckets;
+            if (bucketCounts.length > 0 && newLow >= bucketOffset && newHigh <= currentHigh) {
+                return;
+            }
+        } else {
+            final int growthBuckets = Math.min(GROWTH_BUCKETS, maxBuckets - (newHigh - newLow));
+            if (bucketCounts.length > 0 && newLow < bucketOffset) {
+                newLow -= growthBuckets;
+            } else {
+                newHigh += growthBuckets;
+            }
+        }
+        final int[] newBucketCounts = new int[newHigh - newLow];
+        for (int bucket = 0; bucket < bucketCounts.length; bucket++) {
+            newBucketCounts[Math.max(0, bucketOffset + bucket - newLow)] += bucketCounts[bucket];
+        }
+        bucketCounts = newBucketCounts;
+        bucketOffset = newLow;
+    }
+
+    private int getFirstNonEmptyBucket() {
+        int bucket = 0;
+        while (bucket < bucketCounts.length && bucketCounts[bucket] == 0) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    private int getLastNonEmptyBucket() {
+        int bucket = bucketCounts.length - 1;
+        while (bucket >= 0 && bucketCounts[bucket] == 0) {
+            bucket--;
+        }
+        return bucket;
+    }
+
+}
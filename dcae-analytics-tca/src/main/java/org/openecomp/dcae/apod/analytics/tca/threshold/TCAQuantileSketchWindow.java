@@ -0,0 +1,195 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.threshold;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+import javax.annotation.Nonnull;
+
+/**
+ * <p>
+ *     Sliding time window of samples summarized by {@link TCAQuantileSketch}es. Window is divided into panes of
+ *     equal time span - each pane has its own sketch and window quantiles are computed by merging sketches of the
+ *     panes within window. Window slides by one pane at a time so samples older than window span by up to one pane
+ *     span may still be included.
+ *     <br>
+ *     Panes are kept in a ring indexed by pane number (message epoch microsec divided by pane span). Only samples
+ *     of messages newer than the newest sample are added - duplicate and out of order messages are ignored.
+ * </p>
+ */
+public class TCAQuantileSketchWindow {
+
+    private static final byte SERIALIZATION_VERSION = 1;
+
+    private final long paneMicrosecs;
+    private final double relativeAccuracy;
+    private final int maxBuckets;
+    private final long[] paneNumbers;
+    // pane sketches are created on first sample of the pane
+    private final TCAQuantileSketch[] paneSketches;
+    private long newestEpochMicrosec = Long.MIN_VALUE;
+
+    public TCAQuantileSketchWindow(final long windowMicrosecs, final int panes, final double relativeAccuracy,
+                                   final int maxBuckets) {
+        if (panes <= 0 || windowMicrosecs < panes) {
+            throw new IllegalArgumentException("Quantile sketch window must have at least one microsecond per pane");
+        }
+        this.paneMicrosecs = windowMicrosecs / panes;
+        this.relativeAccuracy = relativeAccuracy;
+        this.maxBuckets = maxBuckets;
+        this.paneNumbers = new long[panes];
+        this.paneSketches = new TCAQuantileSketch[panes];
+    }
+
+    /**
+     * Returns time span of each window pane
+     *
+     * @return pane span in microseconds
+     */
+    public long getPaneMicrosecs() {
+        return paneMicrosecs;
+    }
+
+    /**
+     * Adds sample of a message to the window
+     *
+     * @param sample sample value - must not be NaN
+     * @param epochMicrosec message last epoch microsec
+     *
+     * @return true if sample was added or false if message is not newer than the newest sample
+     */
+    public boolean add(final double sample, final long epochMicrosec) {
+        if (epochMicrosec <= newestEpochMicrosec) {
+            return false;
+        }
+        newestEpochMicrosec = epochMicrosec;
+        final long paneNumber = epochMicrosec / paneMicrosecs;
+        final int pane = (int) (paneNumber % paneSketches.length);
+        if (paneSketches[pane] == null) {
+            paneSketches[pane] = new TCAQuantileSketch(relativeAccuracy, maxBuckets);
+        } else if (paneNumbers[pane] != paneNumber) {
+            // pane slid out of window
+            paneSketches[pane].clear();
+        }
+        paneNumbers[pane] = paneNumber;
+        paneSketches[pane].add(sample);
+        return true;
+    }
+
+    /**
+     * Returns approximate quantile of window samples at the time of the newest sample
+     *
+     * @param quantile quantile between 0 and 1
+     * @param mergedSketch sketch used to merge window panes - its samples are replaced
+     *
+     * @return approximate quantile or NaN if window is empty
+     */
+    public double getQuantile(final double quantile, @Nonnull final TCAQuantileSketch mergedSketch) {
+        final long newestPaneNumber = newestEpochMicrosec / paneMicrosecs;
+        mergedSketch.clear();
+        for (int pane = 0; pane < paneSketches.length; pane++) {
+            if (paneSketches[pane] != null && paneNumbers[pane] > newestPaneNumber - paneSketches.length) {
+                mergedSketch.merge(paneSketches[pane]);
+            }
+        }
+        return mergedSketch.getQuantile(quantile);
+    }
+
+    /**
+     * Returns approximate number of bytes allocated by the window
+     *
+     * @return allocated bytes
+     */
+    public long getMemoryBytes() {
+        long memoryBytes = 48L + paneSketches.length * 12L;
+        for (TCAQuantileSketch paneSketch : paneSketches) {
+            memoryBytes += paneSketch == null ? 0L : paneSketch.getMemoryBytes();
+        }
+        return memoryBytes;
+    }
+
+    /**
+     * Serializes window so that it can be checkpointed
+     *
+     * @return serialized window
+     */
+    public byte[] toBytes() {
+        int size = 21;
+        for (TCAQuantileSketch paneSketch : paneSketches) {
+            size += paneSketch == null ? 1 : 9 + paneSketch.getSerializedSize();
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.put(SERIALIZATION_VERSION);
+        buffer.putLong(paneMicrosecs);
+        buffer.putLong(newestEpochMicrosec);
+        buffer.putInt(paneSketches.length);
+        for (int pane = 0; pane < paneSketches.length; pane++) {
+            if (paneSketches[pane] == null) {
+                buffer.put((byte) 0);
+            } else {
+                buffer.put((byte) 1);
+                buffer.putLong(paneNumbers[pane]);
+                paneSketches[pane].writeTo(buffer);
+            }
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Deserializes window serialized by {@link #toBytes()}
+     *
+     * @param bytes serialized window
+     * @param relativeAccuracy relative accuracy of window sketches
+     * @param maxBuckets max buckets of window sketches
+     *
+     * @return deserialized window
+     * @throws IllegalArgumentException if bytes do not contain a valid window
+     */
+    public static TCAQuantileSketchWindow fromBytes(@Nonnull final byte[] bytes, final double relativeAccuracy,
+                                                    final int maxBuckets) {
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        try {
+            if (buffer.get() != SERIALIZATION_VERSION) {
+                throw new IllegalArgumentException("Unsupported serialized quantile sketch window version");
+            }
+            final long paneMicrosecs = buffer.getLong();
+            final long newestEpochMicrosec = buffer.getLong();
+            final int panes = buffer.getInt();
+            if (paneMicrosecs <= 0L || panes <= 0 || panes > buffer.remaining()) {
+                throw new IllegalArgumentException("Invalid serialized quantile sketch window");
+            }
+            final TCAQuantileSketchWindow window =
+                    new TCAQuantileSketchWindow(paneMicrosecs * panes, panes, relativeAccuracy, maxBuckets);
+            window.newestEpochMicrosec = newestEpochMicrosec;
+            for (int pane = 0; pane < panes; pane++) {
+                if (buffer.get() != 0) {
+                    window.paneNumbers[pane] = buffer.getLong();
+                    window.paneSketches[pane] = TCAQuantileSketch.readFrom(buffer, relativeAccuracy, maxBuckets);
+                }
+            }
+            return window;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Invalid serialized quantile sketch window", e);
+        }
+    }
+
+}
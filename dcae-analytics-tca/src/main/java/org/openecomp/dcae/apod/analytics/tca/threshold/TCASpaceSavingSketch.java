@@ -0,0 +1,231 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.threshold;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Nonnull;
+
+/**
+ * <p>
+ *     Space-Saving sketch of most frequent items - like reporting entities which violate a threshold most often.
+ *     Sketch keeps counts of at most capacity items. When an item which is not tracked arrives and sketch is full,
+ *     the item with minimum count is replaced and new item inherits that count plus one. Reported count of an item
+ *     never underestimates its true count and overestimates it by at most its error, which is bounded by
+ *     total count / capacity. Any item occurring more often than that is guaranteed to be tracked.
+ *     <br>
+ *     Replacing an item scans all tracked items, which is cheap for the small capacities used for top offenders.
+ *     Sketches can be merged with {@link Merger} - like sketches of multiple calculator instances and windows.
+ *     <br>
+ *     Sketch is not thread safe.
+ * </p>
+ */
+public class TCASpaceSavingSketch {
+
+    private static final Comparator<ItemCount> COUNT_DESCENDING_COMPARATOR = new Comparator<ItemCount>() {
+        @Override
+        public int compare(final ItemCount itemCount1, final ItemCount itemCount2) {
+            final int countComparison = Long.compare(itemCount2.count, itemCount1.count);
+            return countComparison != 0 ? countComparison : itemCount1.item.compareTo(itemCount2.item);
+        }
+    };
+
+    private final int capacity;
+    private final Map<String, ItemCount> itemCounts;
+
+    public TCASpaceSavingSketch(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Space-Saving sketch capacity must be greater than 0");
+        }
+        this.capacity = capacity;
+        this.itemCounts = new HashMap<>(capacity * 2);
+    }
+
+    /**
+     * Counts one occurrence of given item
+     *
+     * @param item item
+     */
+    public void offer(@Nonnull final String item) {
+        final ItemCount itemCount = itemCounts.get(item);
+        if (itemCount != null) {
+            itemCount.count++;
+            return;
+        }
+        if (itemCounts.size() < capacity) {
+            itemCounts.put(item, new ItemCount(item, 1L, 0L));
+            return;
+        }
+        final ItemCount minItemCount = getMinItemCount();
+        itemCounts.remove(minItemCount.item);
+        itemCounts.put(item, new ItemCount(item, minItemCount.count + 1L, minItemCount.count));
+    }
+
+    /**
+     * Returns minimum count of tracked items if sketch is full - count which any item not tracked by the sketch
+     * may have at most
+     *
+     * @return minimum tracked count or zero if sketch is not full
+     */
+    public long getMinCount() {
+        return itemCounts.size() < capacity ? 0L : getMinItemCount().count;
+    }
+
+    /**
+     * Returns copies of all tracked item counts in descending count order
+     *
+     * @return tracked item counts
+     */
+    public List<ItemCount> getItemCounts() {
+        final List<ItemCount> sortedItemCounts = new ArrayList<>(itemCounts.size());
+        for (ItemCount itemCount : itemCounts.values()) {
+            sortedItemCounts.add(new ItemCount(itemCount.item, itemCount.count, itemCount.error));
+        }
+        Collections.sort(sortedItemCounts, COUNT_DESCENDING_COMPARATOR);
+        return sortedItemCounts;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private ItemCount getMinItemCount() {
+        ItemCount minItemCount = null;
+        for (ItemCount itemCount : itemCounts.values()) {
+            if (minItemCount == null || itemCount.count < minItemCount.count) {
+                minItemCount = itemCount;
+            }
+        }
+        return minItemCount;
+    }
+
+
+    /**
+     * Count of an item along with max overestimation of its count
+     */
+    public static class ItemCount {
+
+        private String item;
+        private long count;
+        private long error;
+
+        public ItemCount() {
+        }
+
+        public ItemCount(final String item, final long count, final long error) {
+            this.item = item;
+            this.count = count;
+            this.error = error;
+        }
+
+        public String getItem() {
+            return item;
+        }
+
+        public void setItem(String item) {
+            this.item = item;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public void setCount(long count) {
+            this.count = count;
+        }
+
+        public long getError() {
+            return error;
+        }
+
+        public void setError(long error) {
+            this.error = error;
+        }
+    }
+
+
+    /**
+     * <p>
+     *     Merges item counts of multiple Space-Saving sketches. An item which is not tracked by a sketch may have
+     *     occurred up to that sketch min count times, so merged count of an item is the sum of its counts in
+     *     sketches tracking it plus min counts of sketches not tracking it. Merged counts keep the guarantee that
+     *     they never underestimate true counts.
+     * </p>
+     */
+    public static class Merger {
+
+        private final Map<String, ItemCount> mergedItemCounts = new HashMap<>();
+        private long mergedMinCountSum;
+
+        /**
+         * Merges item counts of a sketch
+         *
+         * @param itemCounts item counts tracked by sketch
+         * @param minCount min count of sketch - see {@link TCASpaceSavingSketch#getMinCount()}
+         */
+        public void merge(@Nonnull final Collection<ItemCount> itemCounts, final long minCount) {
+            final Set<String> sketchItems = new HashSet<>(itemCounts.size() * 2);
+            for (ItemCount itemCount : itemCounts) {
+                sketchItems.add(itemCount.item);
+                final ItemCount mergedItemCount = mergedItemCounts.get(itemCount.item);
+                if (mergedItemCount == null) {
+                    // item may have occurred up to min count times in each previously merged sketch
+                    mergedItemCounts.put(itemCount.item, new ItemCount(itemCount.item,
+                            itemCount.count + mergedMinCountSum, itemCount.error + mergedMinCountSum));
+                } else {
+                    mergedItemCount.count += itemCount.count;
+                    mergedItemCount.error += itemCount.error;
+                }
+            }
+            if (minCount > 0) {
+                for (ItemCount mergedItemCount : mergedItemCounts.values()) {
+                    if (!sketchItems.contains(mergedItemCount.item)) {
+                        mergedItemCount.count += minCount;
+                        mergedItemCount.error += minCount;
+                    }
+                }
+            }
+            mergedMinCountSum += minCount;
+        }
+
+        /**
+         * Returns merged counts of top k items in descending count order
+         *
+         * @param k number of items
+         *
+         * @return merged counts of top k items
+         */
+        public List<ItemCount> getTopK(final int k) {
+            final List<ItemCount> sortedItemCounts = new ArrayList<>(mergedItemCounts.values());
+            Collections.sort(sortedItemCounts, COUNT_DESCENDING_COMPARATOR);
+            return new ArrayList<>(sortedItemCounts.subList(0, Math.min(k, sortedItemCounts.size())));
+        }
+    }
+
+}
@@ -0,0 +1,116 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.threshold;
+
+import com.google.common.base.Ticker;
+
+import java.util.Arrays;
+
+import javax.annotation.Nonnull;
+
+/**
+ * <p>
+ *     Store of last counter value and message time of each reporting entity value used by delta and rate
+ *     thresholds
+ * </p>
+ */
+public class TCAThresholdCounterStore extends AbstractTCAThresholdStore {
+
+    private long[] values = new long[0];
+    private long[] epochMicrosecs = new long[0];
+
+    public TCAThresholdCounterStore(final int maxEntries, final int ttlSeconds, @Nonnull final Ticker ticker) {
+        super(maxEntries, ttlSeconds, ticker);
+    }
+
+    /**
+     * Returns last counter value of given entry
+     *
+     * @param entry entry index returned by {@link #find(long)}
+     *
+     * @return counter value
+     */
+    public long getValue(final int entry) {
+        return values[entry];
+    }
+
+    /**
+     * Returns message time of last counter value of given entry
+     *
+     * @param entry entry index returned by {@link #find(long)}
+     *
+     * @return message last epoch microsec
+     */
+    public long getEpochMicrosec(final int entry) {
+        return epochMicrosecs[entry];
+    }
+
+    /**
+     * Updates counter value of given entry
+     *
+     * @param entry entry index returned by {@link #find(long)}
+     * @param value new counter value
+     * @param epochMicrosec message last epoch microsec
+     */
+    public void update(final int entry, final long value, final long epochMicrosec) {
+        values[entry] = value;
+        epochMicrosecs[entry] = epochMicrosec;
+        touch(entry);
+    }
+
+    /**
+     * Adds counter value for a key which is not present in the store. Entry indices returned by
+     * {@link #find(long)} before this call must not be used after it
+     *
+     * @param key value key
+     * @param value counter value
+     * @param epochMicrosec message last epoch microsec
+     *
+     * @return true if value was added, false if store is full
+     */
+    public boolean put(final long key, final long value, final long epochMicrosec) {
+        final int entry = add(key);
+        if (entry == NOT_FOUND) {
+            return false;
+        }
+        values[entry] = value;
+        epochMicrosecs[entry] = epochMicrosec;
+        return true;
+    }
+
+    @Override
+    protected void resizeEntryState(final int entryCapacity) {
+        values = Arrays.copyOf(values, entryCapacity);
+        epochMicrosecs = Arrays.copyOf(epochMicrosecs, entryCapacity);
+    }
+
+    @Override
+    protected void moveEntryState(final int fromEntry, final int toEntry) {
+        values[toEntry] = values[fromEntry];
+        epochMicrosecs[toEntry] = epochMicrosecs[fromEntry];
+    }
+
+    @Override
+    protected long getEntryStateMemoryBytes() {
+        return values.length * 16L;
+    }
+
+}
@@ -0,0 +1,445 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+package org.openecomp.dcae.apod.analytics.tca.threshold;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * <p>
+ *     Compiled arithmetic expression over Common Event Format field paths used by TCA Policy thresholds
+ *     which monitor derived metrics e.g. <code>$.event...bytesIn + $.event...bytesOut</code>.
+ *     <br>
+ *     Expression is parsed once into a tree of primitive evaluator nodes. Constant sub expressions are folded
+ *     at compile time so evaluation only performs primitive arithmetic - there is no parsing, boxing or map
+ *     lookups per message.
+ *     <br>
+ *     Supported syntax: numbers, json field paths starting with <code>$</code>, parenthesis, unary minus
+ *     and <code>+ - * /</code> operators with usual precedence. Field names containing operator characters
+ *     or whitespace must use json path bracket notation e.g. <code>$.event['bytes-in']</code>
+ * </p>
+ */
+public class TCAThresholdExpression implements Serializable {
+
+    private static final long serialVersionUID = -6018364437203611298L;
+
+    private final String expression;
+    private final String[] fieldPaths;
+    private final Node rootNode;
+
+    private TCAThresholdExpression(final String expression, final String[] fieldPaths, final Node rootNode) {
+        this.expression = expression;
+        this.fieldPaths = fieldPaths;
+        this.rootNode = rootNode;
+    }
+
+    /**
+     * Compiles given arithmetic expression
+     *
+     * @param expression arithmetic expression over CEF field paths
+     *
+     * @return compiled expression
+     *
+     * @throws IllegalArgumentException if expression is not valid
+     */
+    public static TCAThresholdExpression compile(@Nonnull final String expression) {
+        final Parser parser = new Parser(expression);
+        final Node rootNode = parser.parse();
+        return new TCAThresholdExpression(expression, parser.fieldPaths.toArray(new String[parser.fieldPaths.size()]),
+                rootNode);
+    }
+
+    /**
+     * Returns source expression
+     *
+     * @return source expression
+     */
+    public String getExpression() {
+        return expression;
+    }
+
+    /**
+     * Returns number of distinct field paths used by the expression
+     *
+     * @return field path count
+     */
+    public int getFieldPathCount() {
+        return fieldPaths.length;
+    }
+
+    /**
+     * Returns field path at given operand index
+     *
+     * @param operandIndex operand index
+     *
+     * @return field path
+     */
+    public String getFieldPath(final int operandIndex) {
+        return fieldPaths[operandIndex];
+    }
+
+    /**
+     * Evaluates expression for given field path values. Values of field paths are combined by array row - e.g.
+     * bytesIn of a vNic is added to bytesOut of the same vNic. Values of non array field paths are combined with
+     * all rows. A row which has no value for any of the field paths is ignored, same as results which are not
+     * finite (e.g. division by zero). Expression without field paths has no results.
+     *
+     * @param operandValues values for each expression field path indexed by operand index
+     *
+     * @return expression results or null if any field path has no values or there is no finite result
+     */
+    @Nullable
+    public double[] evaluate(@Nonnull final TCAFieldValues[] operandValues) {
+        if (operandValues.length == 0) {
+            return null;
+        }
+        // rows of the first array field path - any other row has no value for that field path
+        TCAFieldValues rowValues = null;
+        for (final TCAFieldValues values : operandValues) {
+            if (values == null || values.getValueCount() == 0) {
+                return null;
+            }
+            if (rowValues == null && values.hasRowKeys()) {
+                rowValues = values;
+            }
+        }
+        final int rowCount = rowValues == null ? 1 : rowValues.getValueCount();
+        final double[] operandRowValues = new double[operandValues.length];
+        final double[] results = new double[rowCount];
+        int finiteResultCount = 0;
+        for (int row = 0; row < rowCount; row++) {
+            final long rowKey = rowValues == null ? 0L : rowValues.getRowKey(row);
+            boolean isRowComplete = true;
+            for (int operandIndex = 0; operandIndex < operandValues.length && isRowComplete; operandIndex++) {
+                final int valueIndex = operandValues[operandIndex].indexOfRowKey(rowKey, row);
+                operandRowValues[operandIndex] =
+                        valueIndex < 0 ? Double.NaN : operandValues[operandIndex].getValue(valueIndex);
+                isRowComplete = valueIndex >= 0;
+            }
+            if (!isRowComplete) {
+                continue;
+            }
+            final double result = rootNode.evaluate(operandRowValues);
+            if (!Double.isNaN(result) && !Double.isInfinite(result)) {
+                results[finiteResultCount++] = result;
+            }
+        }
+        if (finiteResultCount == 0) {
+            return null;
+        }
+        return finiteResultCount == rowCount ? results : Arrays.copyOf(results, finiteResultCount);
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+
+    /**
+     * Compiled expression node
+     */
+    private abstract static class Node implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        abstract double evaluate(double[] operandValues);
+
+        boolean isConstant() {
+            return false;
+        }
+    }
+
+    private static final class ConstantNode extends Node {
+
+        private static final long serialVersionUID = 1L;
+
+        private final double value;
+
+        private ConstantNode(final double value) {
+            this.value = value;
+        }
+
+        @Override
+        double evaluate(final double[] operandValues) {
+            return value;
+        }
+
+        @Override
+        boolean isConstant() {
+            return true;
+        }
+    }
+
+    private static final class FieldPathNode extends Node {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int operandIndex;
+
+        private FieldPathNode(final int operandIndex) {
+            this.operandIndex = operandIndex;
+        }
+
+        @Override
+        double evaluate(final double[] operandValues) {
+            return operandValues[operandIndex];
+        }
+    }
+
+    private static final class NegateNode extends Node {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Node operand;
+
+        private NegateNode(final Node operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        double evaluate(final double[] operandValues) {
+            return -operand.evaluate(operandValues);
+        }
+    }
+
+    private abstract static class BinaryNode extends Node {
+
+        private static final long serialVersionUID = 1L;
+
+        protected final Node left;
+        protected final Node right;
+
+        private BinaryNode(final Node left, final Node right) {
+            this.left = left;
+            this.right = right;
+        }
+    }
+
+    private static final class AddNode extends BinaryNode {
+
+        private static final long serialVersionUID = 1L;
+
+        private AddNode(final Node left, final Node right) {
+            super(left, right);
+        }
+
+        @Override
+        double evaluate(final double[] operandValues) {
+            return left.evaluate(operandValues) + right.evaluate(operandValues);
+        }
+    }
+
+    private static final class SubtractNode extends BinaryNode {
+
+        private static final long serialVersionUID = 1L;
+
+        private SubtractNode(final Node left, final Node right) {
+            super(left, right);
+        }
+
+        @Override
+        double evaluate(final double[] operandValues) {
+            return left.evaluate(operandValues) - right.evaluate(operandValues);
+        }
+    }
+
+    private static final class MultiplyNode extends BinaryNode {
+
+        private static final long serialVersionUID = 1L;
+
+        private MultiplyNode(final Node left, final Node right) {
+            super(left, right);
+        }
+
+        @Override
+        double evaluate(final double[] operandValues) {
+            return left.evaluate(operandValues) * right.evaluate(operandValues);
+        }
+    }
+
+    private static final class DivideNode extends BinaryNode {
+
+        private static final long serialVersionUID = 1L;
+
+        private DivideNode(final Node left, final Node right) {
+            super(left, right);
+        }
+
+        @Override
+        double evaluate(final double[] operandValues) {
+            return left.evaluate(operandValues) / right.evaluate(operandValues);
+        }
+    }
+
+    /**
+     * Recursive descent parser for threshold expressions
+     */
+    private static final class Parser {
+
+        private final String expression;
+        private final List<String> fieldPaths = new ArrayList<>();
+        private int position;
+
+        private Parser(final String expression) {
+            this.expression = expression;
+        }
+
+        private Node parse() {
+            final Node node = parseAdditive();
+            skipWhitespace();
+            if (position < expression.length()) {
+                throw invalidExpression("unexpected character '" + expression.charAt(position) + "'");
+            }
+            return node;
+        }
+
+        private Node parseAdditive() {
+            Node node = parseMultiplicative();
+            while (true) {
+                if (consume('+')) {
+                    node = fold(new AddNode(node, parseMultiplicative()));
+                } else if (consume('-')) {
+                    node = fold(new SubtractNode(node, parseMultiplicative()));
+                } else {
+                    return node;
+                }
+            }
+        }
+
+        private Node parseMultiplicative() {
+            Node node = parseUnary();
+            while (true) {
+                if (consume('*')) {
+                    node = fold(new MultiplyNode(node, parseUnary()));
+                } else if (consume('/')) {
+                    node = fold(new DivideNode(node, parseUnary()));
+                } else {
+                    return node;
+                }
+            }
+        }
+
+        private Node parseUnary() {
+            if (consume('-')) {
+                final Node operand = parseUnary();
+                return operand.isConstant() ? new ConstantNode(-operand.evaluate(null)) : new NegateNode(operand);
+            }
+            if (consume('+')) {
+                return parseUnary();
+            }
+            return parsePrimary();
+        }
+
+        private Node parsePrimary() {
+            skipWhitespace();
+            if (position >= expression.length()) {
+                throw invalidExpression("unexpected end of expression");
+            }
+            final char currentChar = expression.charAt(position);
+            if (currentChar == '(') {
+                position++;
+                final Node node = parseAdditive();
+                if (!consume(')')) {
+                    throw invalidExpression("missing closing parenthesis");
+                }
+                return node;
+            }
+            if (currentChar == '$') {
+                return parseFieldPath();
+            }
+            if (Character.isDigit(currentChar) || currentChar == '.') {
+                return parseNumber();
+            }
+            throw invalidExpression("unexpected character '" + currentChar + "'");
+        }
+
+        private Node parseFieldPath() {
+            final int startPosition = position;
+            int bracketDepth = 0;
+            while (position < expression.length()) {
+                final char currentChar = expression.charAt(position);
+                if (currentChar == '[') {
+                    bracketDepth++;
+                } else if (currentChar == ']') {
+                    bracketDepth--;
+                } else if (bracketDepth == 0 && (Character.isWhitespace(currentChar) ||
+                        "+-*/()".indexOf(currentChar) >= 0)) {
+                    break;
+                }
+                position++;
+            }
+            if (bracketDepth != 0) {
+                throw invalidExpression("unbalanced brackets in field path");
+            }
+            final String fieldPath = expression.substring(startPosition, position);
+            int operandIndex = fieldPaths.indexOf(fieldPath);
+            if (operandIndex < 0) {
+                operandIndex = fieldPaths.size();
+                fieldPaths.add(fieldPath);
+            }
+            return new FieldPathNode(operandIndex);
+        }
+
+        private Node parseNumber() {
+            final int startPosition = position;
+            while (position < expression.length() &&
+                    (Character.isDigit(expression.charAt(position)) || expression.charAt(position) == '.')) {
+                position++;
+            }
+            try {
+                return new ConstantNode(Double.parseDouble(expression.substring(startPosition, position)));
+            } catch (NumberFormatException e) {
+                position = startPosition;
+                throw invalidExpression("invalid number");
+            }
+        }
+
+        private boolean consume(final char expectedChar) {
+            skipWhitespace();
+            if (position < expression.length() && expression.charAt(position) == expectedChar) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private void skipWhitespace() {
+            while (position < expression.length() && Character.isWhitespace(expression.charAt(position))) {
+                position++;
+            }
+        }
+
+        private static Node fold(final BinaryNode node) {
+            return node.left.isConstant() && node.right.isConstant() ?
+                    new ConstantNode(node.evaluate(null)) : node;
+        }
+
+        private IllegalArgumentException invalidExpression(final String reason) {
+            return new IllegalArgumentException(String.format(
+                    "Invalid threshold field expression: \"%s\" - %s at position %d", expression, reason, position));
+        }
+    }
+
+}
@@ -0,0 +1,52 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.threshold;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * <p>
+ *     Durable storage of percentile window state so that calculator instances can restart without losing their
+ *     windows. Windows are saved periodically and loaded when a key is first seen by a calculator instance.
+ * </p>
+ */
+public interface TCAThresholdSketchCheckpoint {
+
+    /**
+     * Loads last saved window of given key
+     *
+     * @param key value key
+     *
+     * @return serialized window or null if no window was saved for the key
+     */
+    @Nullable
+    byte[] load(long key);
+
+    /**
+     * Saves window of given key
+     *
+     * @param key value key
+     * @param serializedWindow serialized window
+     */
+    void save(long key, @Nonnull byte[] serializedWindow);
+
+}
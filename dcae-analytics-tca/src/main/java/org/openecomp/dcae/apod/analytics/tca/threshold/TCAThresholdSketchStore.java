@@ -0,0 +1,190 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.threshold;
+
+import com.google.common.base.Ticker;
+import org.openecomp.dcae.apod.analytics.common.AnalyticsConstants;
+
+import java.util.Arrays;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * <p>
+ *     Store of percentile window quantile sketches of each reporting entity value used by percentile window
+ *     thresholds - see {@link TCAQuantileSketchWindow}.
+ *     <br>
+ *     If a checkpoint is present windows changed since their last checkpoint are saved by {@link #checkpoint(int)}
+ *     and when they are evicted after TTL, and windows of keys not present in the store are loaded from the
+ *     checkpoint before first sample is added.
+ *     <br>
+ *     Loading is a synchronous checkpoint read in the message path - one read for each key which is not in the
+ *     store. In steady state keys are found in the store and nothing is read, but after a calculator instance
+ *     restart, and for new reporting entities, the first message of every reporting entity value pays one read.
+ *     Windows can not be loaded lazily or in batches as the window value is needed for the message that adds the
+ *     first sample.
+ * </p>
+ */
+public class TCAThresholdSketchStore extends AbstractTCAThresholdStore {
+
+    private final TCAThresholdSketchCheckpoint sketchCheckpoint;
+    // reused to merge window panes
+    private final TCAQuantileSketch mergedSketch = newSketch();
+    private TCAQuantileSketchWindow[] windows = new TCAQuantileSketchWindow[0];
+    // windows changed since their last checkpoint
+    private boolean[] changedWindows = new boolean[0];
+    // entry where next checkpoint resumes scanning for changed windows
+    private int checkpointEntry;
+
+    public TCAThresholdSketchStore(final int maxEntries, final int ttlSeconds,
+                                   @Nullable final TCAThresholdSketchCheckpoint sketchCheckpoint,
+                                   @Nonnull final Ticker ticker) {
+        super(maxEntries, ttlSeconds, ticker);
+        this.sketchCheckpoint = sketchCheckpoint;
+    }
+
+    /**
+     * Adds a sample to the window of given key. Window is loaded from checkpoint or created if not present - see
+     * class description for the cost of loading. Entry indices returned before this call must not be used after it
+     *
+     * @param key value key
+     * @param sample sample value
+     * @param epochMicrosec message last epoch microsec
+     * @param windowMicrosecs window time span used if window is created
+     *
+     * @return entry index of the window or {@link #NOT_FOUND} if sample was ignored or store is full
+     */
+    public int addSample(final long key, final double sample, final long epochMicrosec,
+                         final long windowMicrosecs) {
+        int entry = find(key);
+        if (entry == NOT_FOUND) {
+            entry = add(key);
+            if (entry == NOT_FOUND) {
+                return NOT_FOUND;
+            }
+            windows[entry] = loadWindow(key, windowMicrosecs);
+            changedWindows[entry] = false;
+        }
+        if (!windows[entry].add(sample, epochMicrosec)) {
+            return NOT_FOUND;
+        }
+        changedWindows[entry] = true;
+        touch(entry);
+        return entry;
+    }
+
+    /**
+     * Returns approximate quantile of window of given entry at the time of its newest sample
+     *
+     * @param entry entry index returned by {@link #addSample(long, double, long, long)}
+     * @param quantile quantile between 0 and 1
+     *
+     * @return approximate quantile
+     */
+    public double getQuantile(final int entry, final double quantile) {
+        return windows[entry].getQuantile(quantile, mergedSketch);
+    }
+
+    /**
+     * Saves windows changed since their last checkpoint. Scanning resumes where previous call stopped so that
+     * windows are saved in bounded batches
+     *
+     * @param maxWindows max number of windows to save
+     *
+     * @return number of saved windows - less than max windows if all changed windows are saved
+     */
+    public int checkpoint(final int maxWindows) {
+        if (sketchCheckpoint == null) {
+            return 0;
+        }
+        int savedWindows = 0;
+        for (int scannedEntries = 0; scannedEntries < getSize() && savedWindows < maxWindows; scannedEntries++) {
+            if (checkpointEntry >= getSize()) {
+                checkpointEntry = 0;
+            }
+            final int entry = checkpointEntry++;
+            if (changedWindows[entry]) {
+                sketchCheckpoint.save(getEntryKey(entry), windows[entry].toBytes());
+                changedWindows[entry] = false;
+                savedWindows++;
+            }
+        }
+        return savedWindows;
+    }
+
+    @Override
+    protected void onEntryExpired(final int entry) {
+        // saved so that checkpoint does not keep an older state of the window to be loaded if key is seen again
+        if (sketchCheckpoint != null && changedWindows[entry]) {
+            sketchCheckpoint.save(getEntryKey(entry), windows[entry].toBytes());
+            changedWindows[entry] = false;
+        }
+    }
+
+    @Override
+    protected void resizeEntryState(final int entryCapacity) {
+        windows = Arrays.copyOf(windows, entryCapacity);
+        changedWindows = Arrays.copyOf(changedWindows, entryCapacity);
+    }
+
+    @Override
+    protected void moveEntryState(final int fromEntry, final int toEntry) {
+        windows[toEntry] = windows[fromEntry];
+        changedWindows[toEntry] = changedWindows[fromEntry];
+        windows[fromEntry] = null;
+    }
+
+    @Override
+    protected long getEntryStateMemoryBytes() {
+        long memoryBytes = windows.length * 9L;
+        for (int entry = 0; entry < getSize(); entry++) {
+            memoryBytes += windows[entry].getMemoryBytes();
+        }
+        return memoryBytes;
+    }
+
+    private TCAQuantileSketchWindow loadWindow(final long key, final long windowMicrosecs) {
+        final byte[] serializedWindow = sketchCheckpoint == null ? null : sketchCheckpoint.load(key);
+        if (serializedWindow != null) {
+            try {
+                final TCAQuantileSketchWindow window = TCAQuantileSketchWindow.fromBytes(serializedWindow,
+                        AnalyticsConstants.TCA_THRESHOLD_PERCENTILE_RELATIVE_ACCURACY,
+                        AnalyticsConstants.TCA_THRESHOLD_PERCENTILE_MAX_BUCKETS);
+                if (window.getPaneMicrosecs() == windowMicrosecs / AnalyticsConstants
+                        .TCA_THRESHOLD_PERCENTILE_WINDOW_PANES) {
+                    return window;
+                }
+            } catch (IllegalArgumentException e) {
+                // unreadable checkpoint is replaced by a new window on next checkpoint
+            }
+        }
+        return new TCAQuantileSketchWindow(windowMicrosecs, AnalyticsConstants.TCA_THRESHOLD_PERCENTILE_WINDOW_PANES,
+                AnalyticsConstants.TCA_THRESHOLD_PERCENTILE_RELATIVE_ACCURACY,
+                AnalyticsConstants.TCA_THRESHOLD_PERCENTILE_MAX_BUCKETS);
+    }
+
+    private static TCAQuantileSketch newSketch() {
+        return new TCAQuantileSketch(AnalyticsConstants.TCA_THRESHOLD_PERCENTILE_RELATIVE_ACCURACY,
+                AnalyticsConstants.TCA_THRESHOLD_PERCENTILE_MAX_BUCKETS);
+    }
+
+}
@@ -0,0 +1,177 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.threshold;
+
+import com.google.common.base.Ticker;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * <p>
+ *     Per calculator instance state of stateful thresholds - last counter values used by delta and rate thresholds,
+ *     sample windows used by window thresholds and quantile sketch windows used by percentile window thresholds.
+ *     Window stores are created on first use, one for each distinct window length. Quantile sketch windows can be
+ *     checkpointed to durable storage by {@link #checkpoint(int)}. Each store is bounded by max entries and evicts
+ *     entries of reporting entities which did not send messages for more than TTL seconds - see
+ *     {@link AbstractTCAThresholdStore}.
+ *     <br>
+ *     State store is not thread safe - each calculator instance must have its own state store.
+ * </p>
+ */
+public class TCAThresholdStateStore {
+
+    private final int maxEntries;
+    private final int ttlSeconds;
+    private final Ticker ticker;
+    private final TCAThresholdCounterStore counterStore;
+    private final TCAThresholdSketchStore sketchStore;
+    private final List<TCAThresholdWindowStore> windowStores = new ArrayList<>();
+
+    public TCAThresholdStateStore(final int maxEntries, final int ttlSeconds) {
+        this(maxEntries, ttlSeconds, null, Ticker.systemTicker());
+    }
+
+    public TCAThresholdStateStore(final int maxEntries, final int ttlSeconds,
+                                  @Nullable final TCAThresholdSketchCheckpoint sketchCheckpoint) {
+        this(maxEntries, ttlSeconds, sketchCheckpoint, Ticker.systemTicker());
+    }
+
+    TCAThresholdStateStore(final int maxEntries, final int ttlSeconds, @Nonnull final Ticker ticker) {
+        this(maxEntries, ttlSeconds, null, ticker);
+    }
+
+    TCAThresholdStateStore(final int maxEntries, final int ttlSeconds,
+                           @Nullable final TCAThresholdSketchCheckpoint sketchCheckpoint,
+                           @Nonnull final Ticker ticker) {
+        this.maxEntries = maxEntries;
+        this.ttlSeconds = ttlSeconds;
+        this.ticker = ticker;
+        this.counterStore = new TCAThresholdCounterStore(maxEntries, ttlSeconds, ticker);
+        this.sketchStore = new TCAThresholdSketchStore(maxEntries, ttlSeconds, sketchCheckpoint, ticker);
+    }
+
+    /**
+     * Returns store of last counter values used by delta and rate thresholds
+     *
+     * @return counter store
+     */
+    public TCAThresholdCounterStore getCounterStore() {
+        return counterStore;
+    }
+
+    /**
+     * Returns store of quantile sketch windows used by percentile window thresholds
+     *
+     * @return sketch store
+     */
+    public TCAThresholdSketchStore getSketchStore() {
+        return sketchStore;
+    }
+
+    /**
+     * Saves quantile sketch windows changed since their last checkpoint - see
+     * {@link TCAThresholdSketchStore#checkpoint(int)}
+     *
+     * @param maxWindows max number of windows to save
+     *
+     * @return number of saved windows
+     */
+    public int checkpoint(final int maxWindows) {
+        return sketchStore.checkpoint(maxWindows);
+    }
+
+    /**
+     * Returns store of sample windows with given window length. Store is created if not present
+     *
+     * @param windowLength max number of samples in each window
+     *
+     * @return window store
+     */
+    public TCAThresholdWindowStore getWindowStore(final int windowLength) {
+        // policies have only a few distinct window lengths
+        for (TCAThresholdWindowStore windowStore : windowStores) {
+            if (windowStore.getWindowLength() == windowLength) {
+                return windowStore;
+            }
+        }
+        final TCAThresholdWindowStore windowStore =
+                new TCAThresholdWindowStore(maxEntries, ttlSeconds, windowLength, ticker);
+        windowStores.add(windowStore);
+        return windowStore;
+    }
+
+    /**
+     * Returns number of entries in all stores
+     *
+     * @return number of entries
+     */
+    public long getSize() {
+        long size = counterStore.getSize() + sketchStore.getSize();
+        for (TCAThresholdWindowStore windowStore : windowStores) {
+            size += windowStore.getSize();
+        }
+        return size;
+    }
+
+    /**
+     * Returns approximate number of bytes allocated by all stores
+     *
+     * @return allocated bytes
+     */
+    public long getMemoryBytes() {
+        long memoryBytes = counterStore.getMemoryBytes() + sketchStore.getMemoryBytes();
+        for (TCAThresholdWindowStore windowStore : windowStores) {
+            memoryBytes += windowStore.getMemoryBytes();
+        }
+        return memoryBytes;
+    }
+
+    /**
+     * Returns number of entries evicted from all stores because they were not updated within TTL
+     *
+     * @return evicted entries count
+     */
+    public long getEvictedCount() {
+        long evictedCount = counterStore.getEvictedCount() + sketchStore.getEvictedCount();
+        for (TCAThresholdWindowStore windowStore : windowStores) {
+            evictedCount += windowStore.getEvictedCount();
+        }
+        return evictedCount;
+    }
+
+    /**
+     * Returns number of new keys which were not added to any store because store was full
+     *
+     * @return rejected keys count
+     */
+    public long getRejectedCount() {
+        long rejectedCount = counterStore.getRejectedCount() + sketchStore.getRejectedCount();
+        for (TCAThresholdWindowStore windowStore : windowStores) {
+            rejectedCount += windowStore.getRejectedCount();
+        }
+        return rejectedCount;
+    }
+
+}
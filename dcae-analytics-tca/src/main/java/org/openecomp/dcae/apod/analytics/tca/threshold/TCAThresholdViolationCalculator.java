@@ -0,0 +1,618 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.threshold;
+
+import co.cask.cdap.api.metrics.Metrics;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.openecomp.dcae.apod.analytics.common.AnalyticsConstants;
+import org.openecomp.dcae.apod.analytics.common.CDAPMetricsConstants;
+import org.openecomp.dcae.apod.analytics.common.cdap.metrics.LatencyMetricsRecorder;
+import org.openecomp.dcae.apod.analytics.common.cdap.metrics.MetricsAggregator;
+import org.openecomp.dcae.apod.analytics.common.service.metrics.StripedCounter;
+import org.openecomp.dcae.apod.analytics.model.domain.cef.CommonEventHeader;
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.MetricsPerFunctionalRole;
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.TCAPolicy;
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.Threshold;
+import org.openecomp.dcae.apod.analytics.tca.alert.TCAAlertRateLimiter;
+import org.openecomp.dcae.apod.analytics.tca.alert.TCAAlertSuppressionCache;
+import org.openecomp.dcae.apod.analytics.tca.alert.TCARequestIDGenerator;
+import org.openecomp.dcae.apod.analytics.tca.alert.TCARequestIDGeneratorType;
+import org.openecomp.dcae.apod.analytics.tca.alert.TCAVESResponseTemplates;
+import org.openecomp.dcae.apod.analytics.tca.persistance.TCACalculatorMessageType;
+import org.openecomp.dcae.apod.analytics.tca.processor.TCACEFProcessorContext;
+import org.openecomp.dcae.apod.analytics.tca.record.TCAVESAlertRecord;
+import org.openecomp.dcae.apod.analytics.tca.settings.TCAAppConfig;
+import org.openecomp.dcae.apod.analytics.tca.utils.TCAUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * <p>
+ *     Computes threshold violations of filtered VES messages and creates alerts for them after applying alert
+ *     suppression and alert rate limits. Holds all per calculator instance state - threshold state store, alert
+ *     suppression cache, alert rate limiter and threshold violation stats - so that the same calculation can be run
+ *     by TCA Threshold Violation Calculator Flowlet inside CDAP and by TCA Pipeline Runner outside of CDAP.
+ *     <br>
+ *     Calculator is not thread safe - each calculator instance must have its own calculator.
+ * </p>
+ */
+public class TCAThresholdViolationCalculator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TCAThresholdViolationCalculator.class);
+
+    // threshold state metrics are emitted at most once every interval
+    private static final long THRESHOLD_STATE_METRICS_INTERVAL_MS = 10000L;
+
+    private final TCAPolicyThresholds tcaPolicyThresholds;
+    private final TCAThresholdStateStore thresholdStateStore;
+    private final TCAThresholdViolationStats thresholdViolationStats;
+    private final TCAAlertSuppressionCache alertSuppressionCache;
+    private final TCAAlertRateLimiter alertRateLimiter;
+    private final TCAVESResponseTemplates tcaVESResponseTemplates;
+    private final TCARequestIDGenerator requestIDGenerator;
+    private final Metrics metrics;
+    private final MetricsAggregator metricsAggregator;
+    private final StripedCounter nonCompliantMessagesCounter;
+    private final StripedCounter compliantMessagesCounter;
+    private final StripedCounter inapplicableMessagesCounter;
+    private final StripedCounter suppressedAlertsCounter;
+    private final StripedCounter clearedAlertsCounter;
+    private final StripedCounter entityRateLimitedAlertsCounter;
+    private final StripedCounter closedLoopRateLimitedAlertsCounter;
+    private final StripedCounter thresholdViolationStatsSavedCounter;
+    private final StripedCounter thresholdSketchCheckpointedCounter;
+    private final StripedCounter thresholdStateEvictedCounter;
+    private final StripedCounter thresholdStateRejectedCounter;
+    // violations counter of each policy threshold - keyed by identity of compiled policy threshold
+    private final Map<Threshold, StripedCounter> thresholdViolationsCounters;
+    private final LatencyMetricsRecorder fetchToAlertLatency;
+    private long nextThresholdStateMetricsTimeMS;
+    private long reportedThresholdStateEvictedCount;
+    private long reportedThresholdStateRejectedCount;
+    private long nextThresholdSketchCheckpointTimeMS;
+    private boolean isThresholdSketchCheckpointPending;
+
+    private TCAThresholdViolationCalculator(final Builder builder) {
+
+        final TCAPolicy tcaPolicy = builder.tcaPolicy;
+        // pre compile policy thresholds for primitive threshold evaluation
+        this.tcaPolicyThresholds = new TCAPolicyThresholds(tcaPolicy);
+        // previous counter values and window samples of reporting entities are local to each instance - percentile
+        // windows are also checkpointed if checkpoint is present so they survive instance restarts
+        this.thresholdStateStore = new TCAThresholdStateStore(builder.thresholdStateMaxEntries,
+                builder.thresholdStateTTLSeconds, builder.thresholdSketchCheckpoint);
+        this.nextThresholdSketchCheckpointTimeMS = System.currentTimeMillis() +
+                TimeUnit.SECONDS.toMillis(AnalyticsConstants.TCA_THRESHOLD_SKETCH_CHECKPOINT_INTERVAL_SECONDS);
+
+        // violation counts and top offenders of each threshold are kept in windows which are saved periodically
+        this.thresholdViolationStats = builder.thresholdViolationStatsSink == null ? null :
+                new TCAThresholdViolationStats(builder.thresholdViolationStatsSink,
+                        TimeUnit.SECONDS.toMillis(AnalyticsConstants.TCA_THRESHOLD_VIOLATION_STATS_WINDOW_SECONDS),
+                        TimeUnit.SECONDS.toMillis(
+                                AnalyticsConstants.TCA_THRESHOLD_VIOLATION_STATS_FLUSH_INTERVAL_SECONDS),
+                        AnalyticsConstants.TCA_THRESHOLD_VIOLATION_STATS_TOP_OFFENDERS_CAPACITY);
+
+        // repeated alerts of reporting entities which stay in violation are suppressed until re-arm interval
+        this.alertSuppressionCache = builder.alertRearmSeconds > 0 ?
+                new TCAAlertSuppressionCache(tcaPolicy, builder.alertSuppressionMaxEntries, builder.alertRearmSeconds,
+                        builder.alertClearMarginPercent) : null;
+
+        // alerts of reporting entities and closed loops which alert too often are dropped - closed loop alerts may
+        // come from any calculator instance so each instance gets its share of closed loop alert rate limit
+        final int closedLoopAlertRateLimitPerMinute = TCAAlertRateLimiter.toInstanceAlertsPerMinute(
+                builder.closedLoopAlertRateLimitPerMinute, builder.calculatorInstances);
+        this.alertRateLimiter = builder.entityAlertRateLimitPerMinute > 0 || closedLoopAlertRateLimitPerMinute > 0 ?
+                new TCAAlertRateLimiter(builder.entityAlertRateLimitPerMinute, closedLoopAlertRateLimitPerMinute,
+                        builder.alertRateLimitBurstSize, AnalyticsConstants.TCA_ALERT_RATE_LIMIT_MAX_ENTRIES) : null;
+
+        // pre compile alert message templates for all policy thresholds
+        this.tcaVESResponseTemplates = new TCAVESResponseTemplates(tcaPolicy, builder.tcaAppName);
+        this.requestIDGenerator = TCARequestIDGeneratorType.valueOf(builder.alertRequestIDGenerator).create();
+        this.metrics = builder.metrics;
+
+        // per message counts are aggregated in memory and flushed to metrics once every flush interval
+        this.metricsAggregator = new MetricsAggregator(
+                TimeUnit.SECONDS.toMillis(AnalyticsConstants.TCA_AGGREGATED_METRICS_FLUSH_INTERVAL_SECONDS),
+                AnalyticsConstants.TCA_AGGREGATED_METRICS_MAX_NAMES);
+        this.nonCompliantMessagesCounter =
+                metricsAggregator.getCounter(CDAPMetricsConstants.TCA_VES_NON_COMPLIANT_MESSAGES_METRIC);
+        this.compliantMessagesCounter =
+                metricsAggregator.getCounter(CDAPMetricsConstants.TCA_VES_COMPLIANT_MESSAGES_METRIC);
+        this.inapplicableMessagesCounter =
+                metricsAggregator.getCounter(CDAPMetricsConstants.TCA_VES_INAPPLICABLE_MESSAGES_METRIC);
+        this.suppressedAlertsCounter =
+                metricsAggregator.getCounter(CDAPMetricsConstants.TCA_VES_SUPPRESSED_ALERTS_METRIC);
+        this.clearedAlertsCounter = metricsAggregator.getCounter(CDAPMetricsConstants.TCA_VES_CLEARED_ALERTS_METRIC);
+        this.entityRateLimitedAlertsCounter =
+                metricsAggregator.getCounter(CDAPMetricsConstants.TCA_VES_ENTITY_RATE_LIMITED_ALERTS_METRIC);
+        this.closedLoopRateLimitedAlertsCounter =
+                metricsAggregator.getCounter(CDAPMetricsConstants.TCA_VES_CLOSED_LOOP_RATE_LIMITED_ALERTS_METRIC);
+        this.thresholdViolationStatsSavedCounter =
+                metricsAggregator.getCounter(CDAPMetricsConstants.TCA_VES_THRESHOLD_VIOLATION_STATS_SAVED_METRIC);
+        this.thresholdSketchCheckpointedCounter =
+                metricsAggregator.getCounter(CDAPMetricsConstants.TCA_VES_THRESHOLD_SKETCH_CHECKPOINTED_METRIC);
+        this.thresholdStateEvictedCounter =
+                metricsAggregator.getCounter(CDAPMetricsConstants.TCA_VES_THRESHOLD_STATE_EVICTED_METRIC);
+        this.thresholdStateRejectedCounter =
+                metricsAggregator.getCounter(CDAPMetricsConstants.TCA_VES_THRESHOLD_STATE_REJECTED_METRIC);
+        this.thresholdViolationsCounters = createThresholdViolationsCounters(tcaPolicy, metricsAggregator);
+        // fetch time is only known when messages are passed to calculator as compact flowlet records
+        this.fetchToAlertLatency =
+                metricsAggregator.getLatencyRecorder(CDAPMetricsConstants.TCA_VES_FETCH_TO_ALERT_LATENCY_METRIC);
+    }
+
+    /**
+     * Computes threshold violations for filtered VES Message and creates alert record if alert must be emitted
+     *
+     * @param processorContext processor context after filter chain is applied
+     *
+     * @return calculation result containing calculator message type and alert record if any
+     *
+     * @throws JsonProcessingException if alert message cannot be serialized
+     */
+    public Result calculate(@Nonnull final TCACEFProcessorContext processorContext)
+            throws JsonProcessingException {
+
+        TCACalculatorMessageType calculatorMessageType = TCACalculatorMessageType.INAPPLICABLE;
+        TCAVESAlertRecord alertRecord = null;
+
+        if (processorContext.canProcessingContinue()) {
+
+            // Step 2: Check if CEF Message violate any thresholds
+            final TCACEFProcessorContext processorContextWithViolations =
+                    TCAUtils.computeThresholdViolations(processorContext, tcaPolicyThresholds, thresholdStateStore);
+
+            if (processorContextWithViolations.canProcessingContinue()) {
+
+                calculatorMessageType = TCACalculatorMessageType.NON_COMPLIANT;
+                nonCompliantMessagesCounter.increment();
+
+                final String reportingEntityName = processorContextWithViolations.getCEFEventListener().getEvent()
+                        .getCommonEventHeader().getReportingEntityName();
+                final Threshold violatedThreshold =
+                        processorContextWithViolations.getMetricsPerFunctionalRole().getThresholds().get(0);
+                final String closedLoopControlName = violatedThreshold.getClosedLoopControlName();
+                final String functionalRole =
+                        processorContextWithViolations.getMetricsPerFunctionalRole().getFunctionalRole();
+                final StripedCounter thresholdViolationsCounter = thresholdViolationsCounters.get(violatedThreshold);
+                if (thresholdViolationsCounter != null) {
+                    thresholdViolationsCounter.increment();
+                } else {
+                    metricsAggregator.count(createThresholdViolationsMetricName(functionalRole, violatedThreshold), 1);
+                }
+
+                if (alertSuppressionCache != null &&
+                        alertSuppressionCache.suppress(reportingEntityName, closedLoopControlName)) {
+
+                    // Alert for same reporting entity and closed loop was emitted within alert re-arm interval
+                    suppressedAlertsCounter.increment();
+
+                } else if (isAlertRateLimited(reportingEntityName, closedLoopControlName)) {
+
+                    // Alert was dropped - next violation of reporting entity and closed loop must be alerted
+                    if (alertSuppressionCache != null) {
+                        alertSuppressionCache.rearm(reportingEntityName, closedLoopControlName);
+                    }
+
+                } else {
+
+                    // Step 3: Create Alert Message
+                    final String alertMessage = TCAUtils.createNewTCAVESAlertMessage(processorContextWithViolations,
+                            tcaVESResponseTemplates, requestIDGenerator);
+                    LOG.debug("VES Threshold Violation Detected. An alert message is be generated. {}",
+                            alertMessage);
+
+                    // alert message along with its coalescing index fields and pipeline timestamps
+                    final CommonEventHeader commonEventHeader =
+                            processorContextWithViolations.getCEFEventListener().getEvent().getCommonEventHeader();
+                    final Long fetchTimestampMS = processorContextWithViolations.getFetchTimestampMS();
+                    final long alertTimestampMS = System.currentTimeMillis();
+                    alertRecord = new TCAVESAlertRecord(closedLoopControlName, reportingEntityName,
+                            violatedThreshold.getSeverity(), alertMessage,
+                            TCAUtils.getEventTimestampMS(commonEventHeader.getStartEpochMicrosec(),
+                                    commonEventHeader.getLastEpochMicrosec()),
+                            fetchTimestampMS, alertTimestampMS);
+                    if (fetchTimestampMS != null) {
+                        fetchToAlertLatency.record(alertTimestampMS - fetchTimestampMS);
+                    }
+                }
+
+                if (thresholdViolationStats != null) {
+                    thresholdViolationStats.record(functionalRole, violatedThreshold, reportingEntityName,
+                            alertRecord != null);
+                }
+
+            } else {
+
+                calculatorMessageType = TCACalculatorMessageType.COMPLIANT;
+                compliantMessagesCounter.increment();
+
+                // re-arm alerts of reporting entity if values recovered beyond clear margin
+                if (alertSuppressionCache != null) {
+                    clearedAlertsCounter.add(alertSuppressionCache.clear(processorContextWithViolations));
+                }
+            }
+
+        } else {
+
+            inapplicableMessagesCounter.increment();
+        }
+
+        checkpointThresholdSketches();
+        if (thresholdViolationStats != null) {
+            thresholdViolationStatsSavedCounter.add(thresholdViolationStats.flushIfDue());
+        }
+        recordThresholdStateMetrics();
+        metricsAggregator.flushIfDue(metrics);
+
+        return new Result(calculatorMessageType, alertRecord);
+    }
+
+    /**
+     * Flushes calculator counts and latencies aggregated since previous flush to metrics - like when calculator
+     * instance is stopped
+     */
+    public void flushMetrics() {
+        metricsAggregator.flush(metrics);
+    }
+
+    /**
+     * Saves threshold violation stats changed since previous save - like when calculator instance is stopped
+     */
+    public void flushThresholdViolationStats() {
+        if (thresholdViolationStats != null) {
+            thresholdViolationStatsSavedCounter.add(thresholdViolationStats.flush());
+        }
+    }
+
+    /**
+     * Returns threshold state store of this calculator
+     *
+     * @return threshold state store
+     */
+    public TCAThresholdStateStore getThresholdStateStore() {
+        return thresholdStateStore;
+    }
+
+    /**
+     * Determines if alert must be dropped as reporting entity or closed loop exceeded its alert rate limit and
+     * counts dropped alert
+     *
+     * @param reportingEntityName reporting entity name of the alert
+     * @param closedLoopControlName closed loop control name of the violated threshold
+     *
+     * @return true if alert must not be emitted
+     */
+    private boolean isAlertRateLimited(final String reportingEntityName, final String closedLoopControlName) {
+        if (alertRateLimiter == null) {
+            return false;
+        }
+        switch (alertRateLimiter.tryAcquire(reportingEntityName, closedLoopControlName)) {
+            case ENTITY_RATE_LIMITED:
+                entityRateLimitedAlertsCounter.increment();
+                return true;
+            case CLOSED_LOOP_RATE_LIMITED:
+                closedLoopRateLimitedAlertsCounter.increment();
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Saves percentile window sketches changed since last checkpoint once every checkpoint interval. Large
+     * checkpoints are spread over subsequent messages so that each flowlet transaction writes a bounded number of
+     * sketches
+     */
+    private void checkpointThresholdSketches() {
+        final long currentTimeMS = System.currentTimeMillis();
+        if (!isThresholdSketchCheckpointPending && currentTimeMS < nextThresholdSketchCheckpointTimeMS) {
+            return;
+        }
+        final int maxCheckpointEntries = AnalyticsConstants.TCA_THRESHOLD_SKETCH_CHECKPOINT_MAX_ENTRIES;
+        final int checkpointedCount = thresholdStateStore.checkpoint(maxCheckpointEntries);
+        isThresholdSketchCheckpointPending = checkpointedCount == maxCheckpointEntries;
+        if (!isThresholdSketchCheckpointPending) {
+            nextThresholdSketchCheckpointTimeMS = currentTimeMS +
+                    TimeUnit.SECONDS.toMillis(AnalyticsConstants.TCA_THRESHOLD_SKETCH_CHECKPOINT_INTERVAL_SECONDS);
+        }
+        thresholdSketchCheckpointedCounter.add(checkpointedCount);
+    }
+
+    /**
+     * Records threshold state size and memory gauges and counts of evicted and rejected state entries since
+     * last recording in metrics aggregator
+     */
+    private void recordThresholdStateMetrics() {
+        final long currentTimeMS = System.currentTimeMillis();
+        if (currentTimeMS < nextThresholdStateMetricsTimeMS) {
+            return;
+        }
+        nextThresholdStateMetricsTimeMS = currentTimeMS + THRESHOLD_STATE_METRICS_INTERVAL_MS;
+
+        metricsAggregator.gauge(CDAPMetricsConstants.TCA_VES_THRESHOLD_STATE_ENTRIES_METRIC,
+                thresholdStateStore.getSize());
+        metricsAggregator.gauge(CDAPMetricsConstants.TCA_VES_THRESHOLD_STATE_MEMORY_BYTES_METRIC,
+                thresholdStateStore.getMemoryBytes());
+
+        final long evictedCount = thresholdStateStore.getEvictedCount();
+        final long rejectedCount = thresholdStateStore.getRejectedCount();
+        thresholdStateEvictedCounter.add(evictedCount - reportedThresholdStateEvictedCount);
+        thresholdStateRejectedCounter.add(rejectedCount - reportedThresholdStateRejectedCount);
+        reportedThresholdStateEvictedCount = evictedCount;
+        reportedThresholdStateRejectedCount = rejectedCount;
+    }
+
+    /**
+     * Resolves violations counter of each policy threshold once so that violations are counted without building
+     * metric names or looking up counters by name
+     *
+     * @param tcaPolicy TCA policy
+     * @param metricsAggregator calculator metrics aggregator
+     *
+     * @return violations counters keyed by identity of policy thresholds
+     */
+    private static Map<Threshold, StripedCounter> createThresholdViolationsCounters(
+            final TCAPolicy tcaPolicy, final MetricsAggregator metricsAggregator) {
+        final Map<Threshold, StripedCounter> thresholdViolationsCounters = new IdentityHashMap<>();
+        for (MetricsPerFunctionalRole metricsPerFunctionalRole : tcaPolicy.getMetricsPerFunctionalRole()) {
+            for (Threshold threshold : metricsPerFunctionalRole.getThresholds()) {
+                thresholdViolationsCounters.put(threshold, metricsAggregator.getCounter(
+                        createThresholdViolationsMetricName(metricsPerFunctionalRole.getFunctionalRole(), threshold)));
+            }
+        }
+        return thresholdViolationsCounters;
+    }
+
+    private static String createThresholdViolationsMetricName(final String functionalRole,
+                                                              final Threshold threshold) {
+        return CDAPMetricsConstants.TCA_VES_THRESHOLD_VIOLATIONS_METRIC_PREFIX + "." + functionalRole + "." +
+                threshold.getClosedLoopControlName();
+    }
+
+
+    /**
+     * Result of threshold violation calculation of a single VES message
+     */
+    public static class Result {
+
+        private final TCACalculatorMessageType calculatorMessageType;
+        private final TCAVESAlertRecord alertRecord;
+
+        public Result(@Nonnull final TCACalculatorMessageType calculatorMessageType,
+                      @Nullable final TCAVESAlertRecord alertRecord) {
+            this.calculatorMessageType = calculatorMessageType;
+            this.alertRecord = alertRecord;
+        }
+
+        public TCACalculatorMessageType getCalculatorMessageType() {
+            return calculatorMessageType;
+        }
+
+        /**
+         * Returns alert record which must be emitted or null if no alert must be emitted for the message
+         *
+         * @return alert record or null
+         */
+        @Nullable
+        public TCAVESAlertRecord getAlertRecord() {
+            return alertRecord;
+        }
+
+        /**
+         * Returns alert message which must be emitted or null if no alert must be emitted for the message
+         *
+         * @return alert message or null
+         */
+        @Nullable
+        public String getAlertMessage() {
+            return alertRecord == null ? null : alertRecord.getAlertMessage();
+        }
+    }
+
+
+    /**
+     * Builder to create {@link TCAThresholdViolationCalculator} for a calculator instance
+     */
+    public static class Builder {
+
+        private final TCAPolicy tcaPolicy;
+        private final String tcaAppName;
+        private final Metrics metrics;
+        private String alertRequestIDGenerator;
+        private int thresholdStateMaxEntries;
+        private int thresholdStateTTLSeconds;
+        private TCAThresholdSketchCheckpoint thresholdSketchCheckpoint;
+        private TCAThresholdViolationStatsSink thresholdViolationStatsSink;
+        private int alertSuppressionMaxEntries;
+        private int alertRearmSeconds;
+        private Double alertClearMarginPercent;
+        private int entityAlertRateLimitPerMinute;
+        private int closedLoopAlertRateLimitPerMinute;
+        private int alertRateLimitBurstSize;
+        private int calculatorInstances;
+
+        /**
+         * Creates new calculator builder
+         *
+         * @param tcaPolicy validated TCA Policy
+         * @param tcaAppName TCA application name used in alert messages
+         * @param metrics metrics to which aggregated calculator counts are flushed
+         */
+        public Builder(@Nonnull final TCAPolicy tcaPolicy, @Nonnull final String tcaAppName,
+                       @Nonnull final Metrics metrics) {
+            // Required Values
+            this.tcaPolicy = tcaPolicy;
+            this.tcaAppName = tcaAppName;
+            this.metrics = metrics;
+
+            // Default values
+            setAppConfig(new TCAAppConfig());
+            this.calculatorInstances = 1;
+        }
+
+        /**
+         * Sets threshold state, alert suppression and alert rate limit settings from TCA App Config
+         *
+         * @param appConfig TCA App Config
+         * @return Builder object itself for chaining
+         */
+        public Builder setAppConfig(@Nonnull final TCAAppConfig appConfig) {
+            this.alertRequestIDGenerator = appConfig.getAlertRequestIDGenerator();
+            this.thresholdStateMaxEntries = appConfig.getThresholdStateMaxEntries();
+            this.thresholdStateTTLSeconds = appConfig.getThresholdStateTTLSeconds();
+            this.alertSuppressionMaxEntries = appConfig.getAlertSuppressionMaxEntries();
+            this.alertRearmSeconds = appConfig.getAlertRearmSeconds();
+            this.alertClearMarginPercent = appConfig.getAlertClearMarginPercent();
+            this.entityAlertRateLimitPerMinute = appConfig.getEntityAlertRateLimitPerMinute();
+            this.closedLoopAlertRateLimitPerMinute = appConfig.getClosedLoopAlertRateLimitPerMinute();
+            this.alertRateLimitBurstSize = appConfig.getAlertRateLimitBurstSize();
+            return this;
+        }
+
+        /**
+         * Name of {@link TCARequestIDGeneratorType} used to create alert request ids - Defaults to TIME_BASED
+         *
+         * @param alertRequestIDGenerator alert request id generator name
+         * @return Builder object itself for chaining
+         */
+        public Builder setAlertRequestIDGenerator(@Nonnull final String alertRequestIDGenerator) {
+            this.alertRequestIDGenerator = alertRequestIDGenerator;
+            return this;
+        }
+
+        public Builder setThresholdStateMaxEntries(final int thresholdStateMaxEntries) {
+            this.thresholdStateMaxEntries = thresholdStateMaxEntries;
+            return this;
+        }
+
+        public Builder setThresholdStateTTLSeconds(final int thresholdStateTTLSeconds) {
+            this.thresholdStateTTLSeconds = thresholdStateTTLSeconds;
+            return this;
+        }
+
+        /**
+         * Durable storage of percentile windows - Defaults to no checkpoint in which case windows are not saved
+         *
+         * @param thresholdSketchCheckpoint threshold sketch checkpoint
+         * @return Builder object itself for chaining
+         */
+        public Builder setThresholdSketchCheckpoint(
+                @Nullable final TCAThresholdSketchCheckpoint thresholdSketchCheckpoint) {
+            this.thresholdSketchCheckpoint = thresholdSketchCheckpoint;
+            return this;
+        }
+
+        /**
+         * Durable storage of threshold violation stats - Defaults to no sink in which case violation stats are not
+         * kept
+         *
+         * @param thresholdViolationStatsSink threshold violation stats sink
+         * @return Builder object itself for chaining
+         */
+        public Builder setThresholdViolationStatsSink(
+                @Nullable final TCAThresholdViolationStatsSink thresholdViolationStatsSink) {
+            this.thresholdViolationStatsSink = thresholdViolationStatsSink;
+            return this;
+        }
+
+        public Builder setAlertSuppressionMaxEntries(final int alertSuppressionMaxEntries) {
+            this.alertSuppressionMaxEntries = alertSuppressionMaxEntries;
+            return this;
+        }
+
+        /**
+         * Alert re-arm interval - zero or negative value disables alert suppression
+         *
+         * @param alertRearmSeconds alert re-arm interval in seconds
+         * @return Builder object itself for chaining
+         */
+        public Builder setAlertRearmSeconds(final int alertRearmSeconds) {
+            this.alertRearmSeconds = alertRearmSeconds;
+            return this;
+        }
+
+        /**
+         * Alert clear margin - null indicates clear margin is not present
+         *
+         * @param alertClearMarginPercent alert clear margin percent
+         * @return Builder object itself for chaining
+         */
+        public Builder setAlertClearMarginPercent(@Nullable final Double alertClearMarginPercent) {
+            this.alertClearMarginPercent = alertClearMarginPercent;
+            return this;
+        }
+
+        /**
+         * Alert rate limit of each reporting entity - zero or negative value disables it
+         *
+         * @param entityAlertRateLimitPerMinute entity alerts per minute
+         * @return Builder object itself for chaining
+         */
+        public Builder setEntityAlertRateLimitPerMinute(final int entityAlertRateLimitPerMinute) {
+            this.entityAlertRateLimitPerMinute = entityAlertRateLimitPerMinute;
+            return this;
+        }
+
+        /**
+         * Alert rate limit of each closed loop across all calculator instances - zero or negative value disables it
+         *
+         * @param closedLoopAlertRateLimitPerMinute closed loop alerts per minute
+         * @return Builder object itself for chaining
+         */
+        public Builder setClosedLoopAlertRateLimitPerMinute(final int closedLoopAlertRateLimitPerMinute) {
+            this.closedLoopAlertRateLimitPerMinute = closedLoopAlertRateLimitPerMinute;
+            return this;
+        }
+
+        public Builder setAlertRateLimitBurstSize(final int alertRateLimitBurstSize) {
+            this.alertRateLimitBurstSize = alertRateLimitBurstSize;
+            return this;
+        }
+
+        /**
+         * Number of calculator instances among which closed loop alert rate limit is shared - Defaults to 1.
+         * See {@link TCAAlertRateLimiter#toInstanceAlertsPerMinute(int, int)}
+         *
+         * @param calculatorInstances number of calculator instances
+         * @return Builder object itself for chaining
+         */
+        public Builder setCalculatorInstances(final int calculatorInstances) {
+            this.calculatorInstances = calculatorInstances;
+            return this;
+        }
+
+        public TCAThresholdViolationCalculator build() {
+            if (thresholdStateMaxEntries < 1 || thresholdStateTTLSeconds < 1 || calculatorInstances < 1) {
+                throw new IllegalArgumentException("Invalid TCA Threshold Violation Calculator settings");
+            }
+            return new TCAThresholdViolationCalculator(this);
+        }
+    }
+
+}
@@ -0,0 +1,228 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.threshold;
+
+import com.google.common.base.Ticker;
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.Threshold;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * <p>
+ *     Keeps violation stats of each policy threshold - identified by functional role, closed loop control name,
+ *     field path and severity - in fixed length windows aligned to epoch, so that windows of all calculator
+ *     instances can be merged. For each threshold number of violations, number of alerts emitted for them and a
+ *     {@link TCASpaceSavingSketch} of top offending reporting entities are kept.
+ *     <br>
+ *     Stats changed since previous flush are saved to {@link TCAThresholdViolationStatsSink} once every flush
+ *     interval. When a window ends its stats are flushed one last time and a new window is started.
+ *     <br>
+ *     Stats are not thread safe - each calculator instance must have its own stats.
+ * </p>
+ */
+public class TCAThresholdViolationStats {
+
+    // windows are aligned to epoch so wall clock time is used instead of system ticker
+    private static final Ticker WALL_CLOCK_TICKER = new Ticker() {
+        @Override
+        public long read() {
+            return TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+        }
+    };
+
+    private final TCAThresholdViolationStatsSink thresholdViolationStatsSink;
+    private final long windowMS;
+    private final long flushIntervalMS;
+    private final int topOffendersCapacity;
+    private final Ticker ticker;
+    private final Map<String, ThresholdStats> thresholdStatsMap = new HashMap<>();
+    private long windowStartMS;
+    private long nextFlushTimeMS;
+
+    public TCAThresholdViolationStats(@Nonnull final TCAThresholdViolationStatsSink thresholdViolationStatsSink,
+                                      final long windowMS, final long flushIntervalMS,
+                                      final int topOffendersCapacity) {
+        this(thresholdViolationStatsSink, windowMS, flushIntervalMS, topOffendersCapacity, WALL_CLOCK_TICKER);
+    }
+
+    TCAThresholdViolationStats(@Nonnull final TCAThresholdViolationStatsSink thresholdViolationStatsSink,
+                               final long windowMS, final long flushIntervalMS, final int topOffendersCapacity,
+                               @Nonnull final Ticker ticker) {
+        this.thresholdViolationStatsSink = thresholdViolationStatsSink;
+        this.windowMS = windowMS;
+        this.flushIntervalMS = flushIntervalMS;
+        this.topOffendersCapacity = topOffendersCapacity;
+        this.ticker = ticker;
+        final long currentTimeMS = getCurrentTimeMS();
+        this.windowStartMS = getWindowStartMS(currentTimeMS);
+        this.nextFlushTimeMS = currentTimeMS + flushIntervalMS;
+    }
+
+    /**
+     * Records a threshold violation
+     *
+     * @param functionalRole functional role of violated threshold policy
+     * @param violatedThreshold violated threshold
+     * @param reportingEntityName reporting entity which violated threshold
+     * @param isAlertEmitted true if an alert was emitted for the violation - false if alert was suppressed or
+     * rate limited
+     */
+    public void record(@Nonnull final String functionalRole, @Nonnull final Threshold violatedThreshold,
+                       @Nullable final String reportingEntityName, final boolean isAlertEmitted) {
+        final String severity = violatedThreshold.getSeverity() == null ? null : violatedThreshold.getSeverity().name();
+        final String thresholdKey = functionalRole + '\n' + violatedThreshold.getClosedLoopControlName() + '\n' +
+                violatedThreshold.getFieldPath() + '\n' + severity;
+        ThresholdStats thresholdStats = thresholdStatsMap.get(thresholdKey);
+        if (thresholdStats == null) {
+            thresholdStats = new ThresholdStats(functionalRole, violatedThreshold.getClosedLoopControlName(),
+                    violatedThreshold.getFieldPath(), severity, topOffendersCapacity);
+            thresholdStatsMap.put(thresholdKey, thresholdStats);
+        }
+        thresholdStats.violationCount++;
+        if (isAlertEmitted) {
+            thresholdStats.alertCount++;
+        }
+        if (reportingEntityName != null) {
+            thresholdStats.topOffenders.offer(reportingEntityName);
+        }
+        thresholdStats.isChanged = true;
+    }
+
+    /**
+     * Flushes changed threshold stats if flush interval has elapsed and starts a new window if current window
+     * has ended
+     *
+     * @return number of saved threshold stats
+     */
+    public int flushIfDue() {
+        final long currentTimeMS = getCurrentTimeMS();
+        if (currentTimeMS >= windowStartMS + windowMS) {
+            final int flushedCount = flush();
+            thresholdStatsMap.clear();
+            windowStartMS = getWindowStartMS(currentTimeMS);
+            nextFlushTimeMS = currentTimeMS + flushIntervalMS;
+            return flushedCount;
+        }
+        if (currentTimeMS < nextFlushTimeMS) {
+            return 0;
+        }
+        nextFlushTimeMS = currentTimeMS + flushIntervalMS;
+        return flush();
+    }
+
+    /**
+     * Saves threshold stats changed since previous flush
+     *
+     * @return number of saved threshold stats
+     */
+    public int flush() {
+        final List<ThresholdStats> changedThresholdStats = new ArrayList<>();
+        for (ThresholdStats thresholdStats : thresholdStatsMap.values()) {
+            if (thresholdStats.isChanged) {
+                changedThresholdStats.add(thresholdStats);
+                thresholdStats.isChanged = false;
+            }
+        }
+        if (!changedThresholdStats.isEmpty()) {
+            thresholdViolationStatsSink.save(windowStartMS, changedThresholdStats);
+        }
+        return changedThresholdStats.size();
+    }
+
+    /**
+     * Returns start time of current window
+     *
+     * @return window start time in milli seconds
+     */
+    public long getWindowStartMS() {
+        return windowStartMS;
+    }
+
+    private long getCurrentTimeMS() {
+        return TimeUnit.NANOSECONDS.toMillis(ticker.read());
+    }
+
+    private long getWindowStartMS(final long timeMS) {
+        return timeMS - timeMS % windowMS;
+    }
+
+
+    /**
+     * Violation stats of a policy threshold in current window
+     */
+    public static class ThresholdStats {
+
+        private final String functionalRole;
+        private final String closedLoopControlName;
+        private final String fieldPath;
+        private final String severity;
+        private final TCASpaceSavingSketch topOffenders;
+        private long violationCount;
+        private long alertCount;
+        private boolean isChanged;
+
+        private ThresholdStats(final String functionalRole, final String closedLoopControlName,
+                               final String fieldPath, final String severity, final int topOffendersCapacity) {
+            this.functionalRole = functionalRole;
+            this.closedLoopControlName = closedLoopControlName;
+            this.fieldPath = fieldPath;
+            this.severity = severity;
+            this.topOffenders = new TCASpaceSavingSketch(topOffendersCapacity);
+        }
+
+        public String getFunctionalRole() {
+            return functionalRole;
+        }
+
+        public String getClosedLoopControlName() {
+            return closedLoopControlName;
+        }
+
+        public String getFieldPath() {
+            return fieldPath;
+        }
+
+        @Nullable
+        public String getSeverity() {
+            return severity;
+        }
+
+        public long getViolationCount() {
+            return violationCount;
+        }
+
+        public long getAlertCount() {
+            return alertCount;
+        }
+
+        public TCASpaceSavingSketch getTopOffenders() {
+            return topOffenders;
+        }
+    }
+
+}
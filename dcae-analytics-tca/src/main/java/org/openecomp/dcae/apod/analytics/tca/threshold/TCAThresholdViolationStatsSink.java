@@ -0,0 +1,45 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.threshold;
+
+import java.util.Collection;
+
+import javax.annotation.Nonnull;
+
+/**
+ * <p>
+ *     Durable storage of threshold violation stats so that violation counts and top offenders can be queried
+ *     without scanning message status table. Stats of current window are saved periodically - each save replaces
+ *     previously saved stats of the same window, calculator instance run and threshold. Stats of a calculator
+ *     instance which restarted within a window must not replace stats saved before the restart.
+ * </p>
+ */
+public interface TCAThresholdViolationStatsSink {
+
+    /**
+     * Saves stats of thresholds changed since previous save
+     *
+     * @param windowStartMS start time of stats window in milli seconds
+     * @param thresholdStats stats of thresholds violated in window since window start
+     */
+    void save(long windowStartMS, @Nonnull Collection<TCAThresholdViolationStats.ThresholdStats> thresholdStats);
+
+}
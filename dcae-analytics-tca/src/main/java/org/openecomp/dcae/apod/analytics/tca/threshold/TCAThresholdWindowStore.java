@@ -0,0 +1,158 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.threshold;
+
+import com.google.common.base.Ticker;
+
+import java.util.Arrays;
+
+import javax.annotation.Nonnull;
+
+/**
+ * <p>
+ *     Store of most recent samples of each reporting entity value used by window thresholds. Samples of each entry
+ *     are kept in a fixed length ring buffer - all ring buffers are slices of the same primitive arrays.
+ * </p>
+ */
+public class TCAThresholdWindowStore extends AbstractTCAThresholdStore {
+
+    private final int windowLength;
+    private double[] samples = new double[0];
+    private long[] sampleEpochMicrosecs = new long[0];
+    private int[] sampleCounts = new int[0];
+    // ring buffer position where next sample of the entry is written
+    private int[] sampleHeads = new int[0];
+
+    public TCAThresholdWindowStore(final int maxEntries, final int ttlSeconds, final int windowLength,
+                                   @Nonnull final Ticker ticker) {
+        super(maxEntries, ttlSeconds, ticker);
+        if (windowLength <= 0) {
+            throw new IllegalArgumentException("Threshold window length must be greater than 0");
+        }
+        this.windowLength = windowLength;
+    }
+
+    /**
+     * Returns max number of samples kept for each entry
+     *
+     * @return window length
+     */
+    public int getWindowLength() {
+        return windowLength;
+    }
+
+    /**
+     * Adds a sample to the window of given key. Oldest sample is dropped if window is full. Samples which are not
+     * newer than the newest sample of the window are ignored. Entry indices returned before this call must not be
+     * used after it
+     *
+     * @param key value key
+     * @param sample sample value
+     * @param epochMicrosec message last epoch microsec
+     *
+     * @return entry index of the window or {@link #NOT_FOUND} if sample was ignored or store is full
+     */
+    public int addSample(final long key, final double sample, final long epochMicrosec) {
+        int entry = find(key);
+        if (entry == NOT_FOUND) {
+            entry = add(key);
+            if (entry == NOT_FOUND) {
+                return NOT_FOUND;
+            }
+            sampleCounts[entry] = 0;
+            sampleHeads[entry] = 0;
+        } else if (sampleCounts[entry] > 0 && epochMicrosec <= getSampleEpochMicrosec(entry, 0)) {
+            // duplicate or out of order message
+            return NOT_FOUND;
+        }
+        final int sampleIndex = entry * windowLength + sampleHeads[entry];
+        samples[sampleIndex] = sample;
+        sampleEpochMicrosecs[sampleIndex] = epochMicrosec;
+        sampleHeads[entry] = (sampleHeads[entry] + 1) % windowLength;
+        if (sampleCounts[entry] < windowLength) {
+            sampleCounts[entry]++;
+        }
+        touch(entry);
+        return entry;
+    }
+
+    /**
+     * Returns number of samples in the window of given entry
+     *
+     * @param entry entry index returned by {@link #find(long)} or {@link #addSample(long, double, long)}
+     *
+     * @return samples count
+     */
+    public int getSampleCount(final int entry) {
+        return sampleCounts[entry];
+    }
+
+    /**
+     * Returns sample of given entry
+     *
+     * @param entry entry index returned by {@link #find(long)} or {@link #addSample(long, double, long)}
+     * @param age age of sample - 0 is the newest sample
+     *
+     * @return sample value
+     */
+    public double getSample(final int entry, final int age) {
+        return samples[toSampleIndex(entry, age)];
+    }
+
+    /**
+     * Returns message time of sample of given entry
+     *
+     * @param entry entry index returned by {@link #find(long)} or {@link #addSample(long, double, long)}
+     * @param age age of sample - 0 is the newest sample
+     *
+     * @return message last epoch microsec of the sample
+     */
+    public long getSampleEpochMicrosec(final int entry, final int age) {
+        return sampleEpochMicrosecs[toSampleIndex(entry, age)];
+    }
+
+    @Override
+    protected void resizeEntryState(final int entryCapacity) {
+        samples = Arrays.copyOf(samples, entryCapacity * windowLength);
+        sampleEpochMicrosecs = Arrays.copyOf(sampleEpochMicrosecs, entryCapacity * windowLength);
+        sampleCounts = Arrays.copyOf(sampleCounts, entryCapacity);
+        sampleHeads = Arrays.copyOf(sampleHeads, entryCapacity);
+    }
+
+    @Override
+    protected void moveEntryState(final int fromEntry, final int toEntry) {
+        System.arraycopy(samples, fromEntry * windowLength, samples, toEntry * windowLength, windowLength);
+        System.arraycopy(sampleEpochMicrosecs, fromEntry * windowLength, sampleEpochMicrosecs,
+                toEntry * windowLength, windowLength);
+        sampleCounts[toEntry] = sampleCounts[fromEntry];
+        sampleHeads[toEntry] = sampleHeads[fromEntry];
+    }
+
+    @Override
+    protected long getEntryStateMemoryBytes() {
+        return samples.length * 16L + sampleCounts.length * 8L;
+    }
+
+    private int toSampleIndex(final int entry, final int age) {
+        return entry * windowLength + (sampleHeads[entry] - 1 - age + 2 * windowLength) % windowLength;
+    }
+
+}
@@ -0,0 +1,80 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+package org.openecomp.dcae.apod.analytics.tca.threshold;
+
+import org.openecomp.dcae.apod.analytics.model.domain.cef.VNicUsageColumns;
+
+import java.util.Arrays;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * {@link TCAFieldValuesProvider} which reads vNic usage array counter values directly from primitive
+ * {@link VNicUsageColumns} of deserialized CEF message. Values are keyed by vNic identifier of their row. Values of
+ * all other field paths are requested from given fallback values provider
+ */
+public class TCAVNicUsageColumnsFieldValuesProvider implements TCAFieldValuesProvider {
+
+    private final VNicUsageColumns vNicUsageColumns;
+    private final TCAFunctionalRoleThresholds functionalRoleThresholds;
+    private final TCAFieldValuesProvider fallbackFieldValuesProvider;
+    private long[] vNicRowKeys;
+
+    public TCAVNicUsageColumnsFieldValuesProvider(@Nonnull final VNicUsageColumns vNicUsageColumns,
+                                                  @Nonnull final TCAFunctionalRoleThresholds functionalRoleThresholds,
+                                                  @Nonnull final TCAFieldValuesProvider fallbackFieldValuesProvider) {
+        this.vNicUsageColumns = vNicUsageColumns;
+        this.functionalRoleThresholds = functionalRoleThresholds;
+        this.fallbackFieldValuesProvider = fallbackFieldValuesProvider;
+    }
+
+    @Nullable
+    @Override
+    public TCAFieldValues getFieldValues(final int fieldIndex) {
+        final String vNicUsageCounterName = functionalRoleThresholds.getVNicUsageCounterName(fieldIndex);
+        if (vNicUsageCounterName == null) {
+            return fallbackFieldValuesProvider.getFieldValues(fieldIndex);
+        }
+        final int size = vNicUsageColumns.getSize();
+        if (vNicRowKeys == null) {
+            final String[] vNicIdentifiers = new String[size];
+            for (int row = 0; row < size; row++) {
+                vNicIdentifiers[row] = vNicUsageColumns.getVNicIdentifier(row);
+            }
+            vNicRowKeys = TCAFieldValues.toVNicRowKeys(vNicIdentifiers);
+        }
+        final long[] values = new long[size];
+        final long[] rowKeys = new long[size];
+        int valuesCount = 0;
+        for (int row = 0; row < size; row++) {
+            if (vNicUsageColumns.isValuePresent(vNicUsageCounterName, row)) {
+                values[valuesCount] = vNicUsageColumns.getValue(vNicUsageCounterName, row);
+                rowKeys[valuesCount] = vNicRowKeys[row];
+                valuesCount++;
+            }
+        }
+        if (valuesCount == 0) {
+            return null;
+        }
+        return TCAFieldValues.of(Arrays.copyOf(values, valuesCount), Arrays.copyOf(rowKeys, valuesCount));
+    }
+
+}
@@ -0,0 +1,104 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+package org.openecomp.dcae.apod.analytics.tca.threshold;
+
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.ThresholdWindowAggregation;
+
+import javax.annotation.Nonnull;
+
+/**
+ * <p>
+ *     Evaluator of MIN, MAX, AVERAGE, SUM and COUNT window fields. Window samples are kept in ring buffers of
+ *     {@link TCAThresholdWindowStore}. Window field value is the aggregate of window samples within window seconds
+ *     of the message - ring buffers keep at most window size samples, so only the most recent window size samples
+ *     within window seconds are aggregated. Windows without window seconds are only aggregated once they have window
+ *     size samples.
+ *     COUNT windows count samples which violate the threshold direction and value.
+ * </p>
+ */
+final class TCAWindowFieldEvaluator extends AbstractTCAWindowFieldEvaluator {
+
+    private static final long serialVersionUID = -2051316843679510652L;
+
+    // max samples of the window
+    private final int windowLength;
+    // COUNT aggregation sample direction opcode and threshold value
+    private final int sampleDirectionOpcode;
+    private final long sampleThresholdValue;
+
+    TCAWindowFieldEvaluator(final long fieldStateKey, final int sourceFieldIndex, final boolean isDeltaSource,
+                            final int rowFieldIndex, @Nonnull final ThresholdWindowAggregation windowAggregation,
+                            final int windowLength, final long windowMicrosecs, final int sampleDirectionOpcode,
+                            final long sampleThresholdValue) {
+        super(fieldStateKey, sourceFieldIndex, isDeltaSource, rowFieldIndex, windowAggregation, windowMicrosecs);
+        this.windowLength = windowLength;
+        this.sampleDirectionOpcode = sampleDirectionOpcode;
+        this.sampleThresholdValue = sampleThresholdValue;
+    }
+
+    @Override
+    protected double addSample(final TCAThresholdStateStore stateStore, final long key, final double sample,
+                               final long epochMicrosec) {
+        final TCAThresholdWindowStore windowStore = stateStore.getWindowStore(windowLength);
+        final int entry = windowStore.addSample(key, sample, epochMicrosec);
+        return entry == AbstractTCAThresholdStore.NOT_FOUND ? Double.NaN :
+                aggregateWindow(windowStore, entry, epochMicrosec);
+    }
+
+    private double aggregateWindow(final TCAThresholdWindowStore windowStore, final int entry,
+                                   final long epochMicrosec) {
+        final int sampleCount = windowStore.getSampleCount(entry);
+        // sample count windows are only aggregated when full
+        if (windowMicrosecs == 0L && sampleCount < windowLength) {
+            return Double.NaN;
+        }
+        double aggregate = windowAggregation == ThresholdWindowAggregation.MIN ? Double.POSITIVE_INFINITY :
+                windowAggregation == ThresholdWindowAggregation.MAX ? Double.NEGATIVE_INFINITY : 0d;
+        int windowSampleCount = 0;
+        // samples are ordered by message time - newest first
+        for (int age = 0; age < sampleCount; age++) {
+            if (windowMicrosecs != 0L &&
+                    windowStore.getSampleEpochMicrosec(entry, age) <= epochMicrosec - windowMicrosecs) {
+                break;
+            }
+            final double sample = windowStore.getSample(entry, age);
+            switch (windowAggregation) {
+                case MIN:
+                    aggregate = Math.min(aggregate, sample);
+                    break;
+                case MAX:
+                    aggregate = Math.max(aggregate, sample);
+                    break;
+                case COUNT:
+                    if (TCAFunctionalRoleThresholds.isViolated(sampleDirectionOpcode, sample,
+                            sampleThresholdValue)) {
+                        aggregate++;
+                    }
+                    break;
+                default:
+                    aggregate += sample;
+                    break;
+            }
+            windowSampleCount++;
+        }
+        return windowAggregation == ThresholdWindowAggregation.AVERAGE ? aggregate / windowSampleCount : aggregate;
+    }
+
+}
@@ -21,6 +21,7 @@
 package org.openecomp.dcae.apod.analytics.tca.utils;
 
 import co.cask.cdap.api.RuntimeContext;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.google.common.base.Function;
 import com.google.common.base.Optional;
 import com.google.common.base.Predicate;
@@ -32,6 +33,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Ordering;
 import com.google.common.collect.Table;
 import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.JsonPath;
@@ -47,21 +49,37 @@ import org.openecomp.dcae.apod.analytics.common.service.processor.GenericMessage
 import org.openecomp.dcae.apod.analytics.model.domain.cef.CommonEventHeader;
 import org.openecomp.dcae.apod.analytics.model.domain.cef.EventListener;
 import org.openecomp.dcae.apod.analytics.model.domain.cef.EventSeverity;
+import org.openecomp.dcae.apod.analytics.model.domain.cef.VNicUsageColumns;
 import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.Direction;
 import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.MetricsPerFunctionalRole;
 import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.TCAPolicy;
 import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.Threshold;
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.ThresholdValueType;
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.ThresholdWindowAggregation;
 import org.openecomp.dcae.apod.analytics.model.facade.tca.AAI;
 import org.openecomp.dcae.apod.analytics.model.facade.tca.TCAVESResponse;
 import org.openecomp.dcae.apod.analytics.model.util.AnalyticsModelJsonUtils;
+import org.openecomp.dcae.apod.analytics.tca.alert.RandomRequestIDGenerator;
+import org.openecomp.dcae.apod.analytics.tca.alert.TCARequestIDGenerator;
+import org.openecomp.dcae.apod.analytics.tca.alert.TCAVESResponseTemplate;
+import org.openecomp.dcae.apod.analytics.tca.alert.TCAVESResponseTemplates;
 import org.openecomp.dcae.apod.analytics.tca.persistance.TCAVESAlertEntity;
 import org.openecomp.dcae.apod.analytics.tca.processor.TCACEFJsonProcessor;
 import org.openecomp.dcae.apod.analytics.tca.processor.TCACEFPolicyDomainFilter;
 import org.openecomp.dcae.apod.analytics.tca.processor.TCACEFPolicyFunctionalRoleFilter;
 import org.openecomp.dcae.apod.analytics.tca.processor.TCACEFPolicyThresholdsProcessor;
 import org.openecomp.dcae.apod.analytics.tca.processor.TCACEFProcessorContext;
+import org.openecomp.dcae.apod.analytics.tca.record.TCAVESMessageRecord;
 import org.openecomp.dcae.apod.analytics.tca.settings.TCAAppPreferences;
 import org.openecomp.dcae.apod.analytics.tca.settings.TCAPolicyPreferences;
+import org.openecomp.dcae.apod.analytics.tca.settings.TCAVESLoadGeneratorPreferences;
+import org.openecomp.dcae.apod.analytics.tca.threshold.TCAFieldValues;
+import org.openecomp.dcae.apod.analytics.tca.threshold.TCAFieldValuesProvider;
+import org.openecomp.dcae.apod.analytics.tca.threshold.TCAFunctionalRoleThresholds;
+import org.openecomp.dcae.apod.analytics.tca.threshold.TCAJsonPathFieldValuesProvider;
+import org.openecomp.dcae.apod.analytics.tca.threshold.TCAPolicyThresholds;
+import org.openecomp.dcae.apod.analytics.tca.threshold.TCAThresholdStateStore;
+import org.openecomp.dcae.apod.analytics.tca.threshold.TCAVNicUsageColumnsFieldValuesProvider;
 import org.openecomp.dcae.apod.analytics.tca.validator.TCAPolicyPreferencesValidator;
 import org.openecomp.dcae.apod.analytics.tca.validator.TCAPreferencesValidator;
 import org.slf4j.Logger;
@@ -70,6 +88,7 @@ import org.slf4j.LoggerFactory;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
@@ -81,7 +100,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
-import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -101,6 +120,9 @@ public abstract class TCAUtils extends AnalyticsModelJsonUtils {
 
     private static final Logger LOG = LoggerFactory.getLogger(TCAUtils.class);
 
+    // request ID generator of VES responses created without a configured request ID generator
+    private static final TCARequestIDGenerator RANDOM_REQUEST_ID_GENERATOR = new RandomRequestIDGenerator();
+
     /**
      * Threshold Comparator which is used to order thresholds based on their severity e.g. ( CRITICAL, MAJOR, MINOR,
      * WARNING )
@@ -186,6 +208,12 @@ public abstract class TCAUtils extends AnalyticsModelJsonUtils {
             final String functionalRole = metricsPerFunctionalRole.getFunctionalRole();
             final List<Threshold> thresholds = metricsPerFunctionalRole.getThresholds();
             for (Threshold threshold : thresholds) {
+                // thresholds with field expression are not monitoring a single field path and delta and window
+                // thresholds are not monitoring field path values as reported in the message
+                if (threshold.getFieldPath() == null || threshold.getValueType() != null ||
+                        threshold.getWindowAggregation() != null) {
+                    continue;
+                }
                 final List<Threshold> existingThresholds = domainFRTable.get(functionalRole, threshold.getFieldPath());
                 if (existingThresholds == null) {
                     final LinkedList<Threshold> newThresholdList = new LinkedList<>();
@@ -241,6 +269,21 @@ public abstract class TCAUtils extends AnalyticsModelJsonUtils {
     }
 
 
+    /**
+     * Parses Runtime Arguments to {@link TCAVESLoadGeneratorPreferences} object. Load generator preferences which
+     * are not present in runtime arguments take their default values
+     *
+     * @param runtimeContext Runtime Context
+     *
+     * @return runtime arguments as {@link TCAVESLoadGeneratorPreferences} object
+     */
+    public static TCAVESLoadGeneratorPreferences getTCAVESLoadGeneratorPreferences(
+            final RuntimeContext runtimeContext) {
+        return ANALYTICS_MODEL_OBJECT_MAPPER.convertValue(runtimeContext.getRuntimeArguments(),
+                TCAVESLoadGeneratorPreferences.class);
+    }
+
+
     /**
      * Updates DMaaP Subscriber and Publisher Urls if present in runtime arguments.
      * Maps runtime arguments property - dmaap.in.event-input.dmaapUrl to Subscriber host, port and topic
@@ -365,6 +408,61 @@ public abstract class TCAUtils extends AnalyticsModelJsonUtils {
         return tcaProcessingChain.processChain();
     }
 
+    /**
+     * Creates a {@link GenericMessageChainProcessor} of {@link TCACEFPolicyDomainFilter},
+     * {@link TCACEFPolicyFunctionalRoleFilter} and {@link TCACEFJsonProcessor} which uses pre extracted
+     * Common Event Header fields of {@link TCAVESMessageRecord} to filter out messages which does not match
+     * policy domain or functional role. Full CEF Message is parsed only if message is applicable to TCA Policy.
+     * If record does not contain Common Event Header fields falls back to {@link #filterCEFMessage(String, TCAPolicy)}
+     *
+     * @param vesMessageRecord TCA VES Message Record
+     * @param tcaPolicy TCA Policy
+     * @return Message Process Context after processing filter chain
+     */
+    public static TCACEFProcessorContext filterCEFMessage(@Nonnull final TCAVESMessageRecord vesMessageRecord,
+                                                          @Nonnull final TCAPolicy tcaPolicy) {
+
+        final String cefMessage = vesMessageRecord.getVESMessage();
+        if (!vesMessageRecord.isHeaderPresent()) {
+            final TCACEFProcessorContext processorContext = filterCEFMessage(cefMessage, tcaPolicy);
+            processorContext.setFetchTimestampMS(vesMessageRecord.getFetchTimestampMS());
+            return processorContext;
+        }
+
+        final TCACEFPolicyDomainFilter domainFilter = new TCACEFPolicyDomainFilter();
+        final TCACEFPolicyFunctionalRoleFilter functionalRoleFilter = new TCACEFPolicyFunctionalRoleFilter();
+        final TCACEFJsonProcessor jsonProcessor = new TCACEFJsonProcessor();
+        // Create a list of message processors - json processor is applied only if filters pass
+        final ImmutableList<AbstractMessageProcessor<TCACEFProcessorContext>> messageProcessors =
+                ImmutableList.of(domainFilter, functionalRoleFilter, jsonProcessor);
+        final TCACEFProcessorContext processorContext = new TCACEFProcessorContext(cefMessage, tcaPolicy);
+        processorContext.setFetchTimestampMS(vesMessageRecord.getFetchTimestampMS());
+        // filters work on event listener containing only common event header fields
+        processorContext.setCEFEventListener(vesMessageRecord.createHeaderOnlyEventListener());
+        // Create a message processors chain
+        final GenericMessageChainProcessor<TCACEFProcessorContext> tcaProcessingChain =
+                new GenericMessageChainProcessor<>(messageProcessors, processorContext);
+        // process chain
+        return tcaProcessingChain.processChain();
+    }
+
+
+    /**
+     * Returns VES event time in milli seconds - Common Event Header lastEpochMicrosec or startEpochMicrosec if last
+     * epoch is not present
+     *
+     * @param startEpochMicrosec Common Event Header start epoch micro seconds
+     * @param lastEpochMicrosec Common Event Header last epoch micro seconds
+     *
+     * @return event time in milli seconds or null if both epochs are absent
+     */
+    @Nullable
+    public static Long getEventTimestampMS(@Nullable final Long startEpochMicrosec,
+                                           @Nullable final Long lastEpochMicrosec) {
+        final Long eventEpochMicrosec = lastEpochMicrosec != null ? lastEpochMicrosec : startEpochMicrosec;
+        return eventEpochMicrosec == null ? null : TimeUnit.MICROSECONDS.toMillis(eventEpochMicrosec);
+    }
+
 
     /**
      * Extracts json path values for given json Field Paths from using Json path notation. Assumes
@@ -398,6 +496,110 @@ public abstract class TCAUtils extends AnalyticsModelJsonUtils {
         return jsonFieldPathMap;
     }
 
+    /**
+     * Creates {@link TCAFieldValuesProvider} which lazily extracts values for field paths of given functional role
+     * thresholds. vNic usage array counters are read from primitive {@link VNicUsageColumns} of the CEF Event
+     * Listener if present, all other field paths are extracted from message using json path
+     *
+     * @param message CEF Message
+     * @param eventListener CEF Event Listener deserialized from the message
+     * @param functionalRoleThresholds pre compiled functional role thresholds
+     * @return field values provider for the message
+     */
+    public static TCAFieldValuesProvider createFieldValuesProvider(
+            @Nonnull final String message, @Nullable final EventListener eventListener,
+            @Nonnull final TCAFunctionalRoleThresholds functionalRoleThresholds) {
+        final TCAFieldValuesProvider jsonPathFieldValuesProvider =
+                new TCAJsonPathFieldValuesProvider(message, functionalRoleThresholds);
+        final VNicUsageColumns vNicUsageColumns = getVNicUsageColumns(eventListener);
+        if (vNicUsageColumns == null) {
+            return jsonPathFieldValuesProvider;
+        }
+        return new TCAVNicUsageColumnsFieldValuesProvider(vNicUsageColumns, functionalRoleThresholds,
+                jsonPathFieldValuesProvider);
+    }
+
+    @Nullable
+    private static VNicUsageColumns getVNicUsageColumns(@Nullable final EventListener eventListener) {
+        if (eventListener == null || eventListener.getEvent() == null ||
+                eventListener.getEvent().getMeasurementsForVfScalingFields() == null) {
+            return null;
+        }
+        return eventListener.getEvent().getMeasurementsForVfScalingFields().getVNicUsageColumns();
+    }
+
+    /**
+     * Extracts json path values for given json Field Path as primitive long array. Null and non numeric values
+     * are ignored
+     *
+     * @param documentContext parsed CEF Message
+     * @param jsonFieldPath Json Field Path
+     * @return values associated with json path or null if there are no values
+     */
+    @Nullable
+    public static long[] getJsonPathLongValues(@Nonnull final DocumentContext documentContext,
+                                               @Nonnull final String jsonFieldPath) {
+        final TCAFieldValues fieldValues = getJsonPathFieldValues(documentContext, jsonFieldPath);
+        return fieldValues == null ? null : fieldValues.toArray();
+    }
+
+    /**
+     * Extracts json path values for given json Field Path. Values of json path returning a list are keyed by their
+     * position in the list. Null and non numeric values are ignored
+     *
+     * @param documentContext parsed CEF Message
+     * @param jsonFieldPath Json Field Path
+     * @return values associated with json path or null if there are no values
+     */
+    @Nullable
+    public static TCAFieldValues getJsonPathFieldValues(@Nonnull final DocumentContext documentContext,
+                                                        @Nonnull final String jsonFieldPath) {
+        final Object jsonFieldValue = documentContext.read(jsonFieldPath);
+        if (jsonFieldValue instanceof List) {
+            final List<?> jsonFieldValues = (List<?>) jsonFieldValue;
+            final long[] longValues = new long[jsonFieldValues.size()];
+            final long[] rowKeys = new long[jsonFieldValues.size()];
+            int longValuesCount = 0;
+            for (int position = 0; position < jsonFieldValues.size(); position++) {
+                final Long longValue = getJsonLongValue(jsonFieldValues.get(position), jsonFieldPath);
+                if (longValue != null) {
+                    longValues[longValuesCount] = longValue;
+                    rowKeys[longValuesCount] = position;
+                    longValuesCount++;
+                }
+            }
+            if (longValuesCount == 0) {
+                return null;
+            }
+            return TCAFieldValues.of(Arrays.copyOf(longValues, longValuesCount),
+                    Arrays.copyOf(rowKeys, longValuesCount));
+        } else if (jsonFieldValue instanceof Number) {
+            return TCAFieldValues.ofScalar(((Number) jsonFieldValue).longValue());
+        }
+        return null;
+    }
+
+    /**
+     * Converts json value to long. Numbers and numeric strings are converted, all other values are ignored
+     *
+     * @param jsonValue json value
+     * @param jsonFieldPath Json Field Path of the value
+     * @return long value or null if json value is not numeric
+     */
+    @Nullable
+    public static Long getJsonLongValue(@Nullable final Object jsonValue, @Nonnull final String jsonFieldPath) {
+        if (jsonValue instanceof Number) {
+            return ((Number) jsonValue).longValue();
+        } else if (jsonValue instanceof String) {
+            try {
+                return Long.parseLong((String) jsonValue);
+            } catch (NumberFormatException e) {
+                LOG.debug("Ignoring non numeric value: {} for json path: {}", jsonValue, jsonFieldPath);
+            }
+        }
+        return null;
+    }
+
     /**
      * Computes if any CEF Message Fields have violated any Policy Thresholds. For the same policy field path
      * it applies threshold in order of their severity and record the first threshold per message field path
@@ -408,10 +610,11 @@ public abstract class TCAUtils extends AnalyticsModelJsonUtils {
      */
     public static Optional<Threshold> thresholdCalculator(final List<Long> messageFieldValues, final List<Threshold>
             fieldThresholds) {
-        // order thresholds by severity
-        Collections.sort(fieldThresholds, THRESHOLD_COMPARATOR);
+        // order thresholds by severity - sorted copy is used as policy thresholds are shared across messages
+        final List<Threshold> severityOrderedThresholds =
+                Ordering.from(THRESHOLD_COMPARATOR).sortedCopy(fieldThresholds);
         // Now apply each threshold to field values
-        for (Threshold fieldThreshold : fieldThresholds) {
+        for (Threshold fieldThreshold : severityOrderedThresholds) {
             for (Long messageFieldValue : messageFieldValues) {
                 final Boolean isThresholdViolated =
                         fieldThreshold.getDirection().operate(messageFieldValue, fieldThreshold.getThresholdValue());
@@ -480,13 +683,46 @@ public abstract class TCAUtils extends AnalyticsModelJsonUtils {
     }
 
     /**
-     * Computes threshold violations
+     * Computes threshold violations. Thresholds of processor context TCA Policy are compiled on each call - callers
+     * processing more than one message should compile {@link TCAPolicyThresholds} once and reuse them
      *
      * @param processorContext Filtered processor Context
      * @return processor context with any threshold violations
      */
     public static TCACEFProcessorContext computeThresholdViolations(final TCACEFProcessorContext processorContext) {
-        final TCACEFPolicyThresholdsProcessor policyThresholdsProcessor = new TCACEFPolicyThresholdsProcessor();
+        return computeThresholdViolations(processorContext,
+                new TCAPolicyThresholds(processorContext.getTCAPolicy()));
+    }
+
+    /**
+     * Computes threshold violations using pre compiled policy thresholds
+     *
+     * @param processorContext Filtered processor Context
+     * @param policyThresholds pre compiled thresholds of processor context TCA Policy
+     * @return processor context with any threshold violations
+     */
+    public static TCACEFProcessorContext computeThresholdViolations(final TCACEFProcessorContext processorContext,
+                                                                    final TCAPolicyThresholds policyThresholds) {
+        final TCACEFPolicyThresholdsProcessor policyThresholdsProcessor =
+                new TCACEFPolicyThresholdsProcessor(policyThresholds);
+        return policyThresholdsProcessor.apply(processorContext);
+    }
+
+    /**
+     * Computes threshold violations using pre compiled policy thresholds. Delta and rate thresholds are computed
+     * using counter values of previous messages kept in threshold state store
+     *
+     * @param processorContext Filtered processor Context
+     * @param policyThresholds pre compiled thresholds of processor context TCA Policy
+     * @param thresholdStateStore previous counter values of reporting entities
+     * @return processor context with any threshold violations
+     */
+    public static TCACEFProcessorContext computeThresholdViolations(final TCACEFProcessorContext processorContext,
+                                                                    final TCAPolicyThresholds policyThresholds,
+                                                                    final TCAThresholdStateStore
+                                                                            thresholdStateStore) {
+        final TCACEFPolicyThresholdsProcessor policyThresholdsProcessor =
+                new TCACEFPolicyThresholdsProcessor(policyThresholds, thresholdStateStore);
         return policyThresholdsProcessor.apply(processorContext);
     }
 
@@ -500,6 +736,21 @@ public abstract class TCAUtils extends AnalyticsModelJsonUtils {
      */
     public static TCAVESResponse createNewTCAVESResponse(final TCACEFProcessorContext processorContext,
                                                          final String tcaAppName) {
+        return createNewTCAVESResponse(processorContext, tcaAppName, RANDOM_REQUEST_ID_GENERATOR);
+    }
+
+    /**
+     * Creates {@link TCAVESResponse} object with request ID generated by given request ID generator
+     *
+     * @param processorContext processor Context with violations
+     * @param tcaAppName TCA App Name
+     * @param requestIDGenerator alert request ID generator
+     *
+     * @return TCA VES Response Message
+     */
+    public static TCAVESResponse createNewTCAVESResponse(final TCACEFProcessorContext processorContext,
+                                                         final String tcaAppName,
+                                                         final TCARequestIDGenerator requestIDGenerator) {
 
         final MetricsPerFunctionalRole metricsPerFunctionalRole = processorContext.getMetricsPerFunctionalRole();
         // confirm violations are indeed present
@@ -519,7 +770,7 @@ public abstract class TCAUtils extends AnalyticsModelJsonUtils {
         // version included in the DCAE configuration Policy
         tcavesResponse.setVersion(violatedThreshold.getVersion());
         // Generate a UUID for this output message
-        tcavesResponse.setRequestID(UUID.randomUUID().toString());
+        tcavesResponse.setRequestID(requestIDGenerator.generateRequestID());
         // commonEventHeader.startEpochMicrosec from the received VES measurementsForVfScaling message
         tcavesResponse.setClosedLoopAlarmStart(commonEventHeader.getStartEpochMicrosec());
         // Concatenate name of this DCAE instance and name for this TCA instance, separated by dot
@@ -560,6 +811,48 @@ public abstract class TCAUtils extends AnalyticsModelJsonUtils {
         return tcavesResponse;
     }
 
+    /**
+     * Creates TCA VES Response alert message json using pre compiled {@link TCAVESResponseTemplate} of the
+     * violated threshold. Only requestID, closedLoopAlarmStart and AAI id are computed for each alert.
+     * Falls back to {@link #createNewTCAVESResponse(TCACEFProcessorContext, String, TCARequestIDGenerator)} if
+     * violated threshold has no pre compiled template
+     *
+     * @param processorContext processor Context with violations
+     * @param responseTemplates pre compiled TCA VES Response templates
+     * @param requestIDGenerator alert request ID generator
+     *
+     * @return TCA VES Response alert message json
+     *
+     * @throws JsonProcessingException if fall back alert message cannot be serialized
+     */
+    public static String createNewTCAVESAlertMessage(final TCACEFProcessorContext processorContext,
+                                                     final TCAVESResponseTemplates responseTemplates,
+                                                     final TCARequestIDGenerator requestIDGenerator)
+            throws JsonProcessingException {
+
+        final MetricsPerFunctionalRole metricsPerFunctionalRole = processorContext.getMetricsPerFunctionalRole();
+        // confirm violations are indeed present
+        if (metricsPerFunctionalRole == null) {
+            final String errorMessage = "No violations metrics. Unable to create VES Response";
+            throw new MessageProcessingException(errorMessage, LOG, new IllegalArgumentException(errorMessage));
+        }
+
+        final Threshold violatedThreshold = metricsPerFunctionalRole.getThresholds().get(0);
+        final TCAVESResponseTemplate responseTemplate =
+                responseTemplates.getTemplate(metricsPerFunctionalRole.getFunctionalRole(), violatedThreshold);
+
+        if (responseTemplate == null) {
+            LOG.debug("No pre compiled alert template found for threshold: {}", violatedThreshold);
+            return writeValueAsString(
+                    createNewTCAVESResponse(processorContext, responseTemplates.getTcaAppName(), requestIDGenerator));
+        }
+
+        final CommonEventHeader commonEventHeader =
+                processorContext.getCEFEventListener().getEvent().getCommonEventHeader();
+        return responseTemplate.createAlertMessage(requestIDGenerator.generateRequestID(),
+                commonEventHeader.getStartEpochMicrosec(), commonEventHeader.getReportingEntityName());
+    }
+
     /**
      * Determines if Functional Role is vLoadBlanacer
      *
@@ -723,12 +1016,27 @@ public abstract class TCAUtils extends AnalyticsModelJsonUtils {
         threshold.setClosedLoopControlName(thresholdMap.get("policy.closedLoopControlName"));
         threshold.setVersion(thresholdMap.get("policy.version"));
         threshold.setFieldPath(thresholdMap.get("policy.fieldPath"));
+        threshold.setFieldExpression(thresholdMap.get("policy.fieldExpression"));
+        final String valueType = thresholdMap.get("policy.valueType");
+        threshold.setValueType(valueType == null ? null : ThresholdValueType.valueOf(valueType));
+        final String windowAggregation = thresholdMap.get("policy.windowAggregation");
+        threshold.setWindowAggregation(
+                windowAggregation == null ? null : ThresholdWindowAggregation.valueOf(windowAggregation));
+        threshold.setWindowSize(toInteger(thresholdMap.get("policy.windowSize")));
+        threshold.setWindowSeconds(toInteger(thresholdMap.get("policy.windowSeconds")));
+        threshold.setWindowViolationCount(toInteger(thresholdMap.get("policy.windowViolationCount")));
+        final String windowPercentile = thresholdMap.get("policy.windowPercentile");
+        threshold.setWindowPercentile(windowPercentile == null ? null : Double.valueOf(windowPercentile));
         threshold.setDirection(Direction.valueOf(thresholdMap.get("policy.direction")));
         threshold.setSeverity(EventSeverity.valueOf(thresholdMap.get("policy.severity")));
         threshold.setThresholdValue(Long.valueOf(thresholdMap.get("policy.thresholdValue")));
         return threshold;
     }
 
+    private static Integer toInteger(@Nullable final String value) {
+        return value == null ? null : Integer.valueOf(value);
+    }
+
     /**
      * Create new {@link MetricsPerFunctionalRole} instance with policy Name, policy Version and policy Scope
      * extracted from given functionalRolesEntry
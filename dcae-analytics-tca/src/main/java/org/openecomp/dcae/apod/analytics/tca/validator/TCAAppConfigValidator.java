@@ -22,6 +22,7 @@ package org.openecomp.dcae.apod.analytics.tca.validator;
 
 import org.openecomp.dcae.apod.analytics.common.cdap.validation.CDAPAppSettingsValidator;
 import org.openecomp.dcae.apod.analytics.common.validation.GenericValidationResponse;
+import org.openecomp.dcae.apod.analytics.tca.alert.TCARequestIDGeneratorType;
 import org.openecomp.dcae.apod.analytics.tca.settings.TCAAppConfig;
 
 import static org.openecomp.dcae.apod.analytics.common.utils.ValidationUtils.isEmpty;
@@ -54,7 +55,91 @@ public class TCAAppConfigValidator implements CDAPAppSettingsValidator<TCAAppCon
             validationResponse.addErrorMessage("tcaVESAlertsTableName",
                     "tcaVESAlertsTableName must be present");
         }
+        if (isEmpty(tcaAppConfig.getTcaThresholdSketchTableName())) {
+            validationResponse.addErrorMessage("tcaThresholdSketchTableName",
+                    "tcaThresholdSketchTableName must be present");
+        }
+        if (isEmpty(tcaAppConfig.getTcaThresholdViolationStatsTableName())) {
+            validationResponse.addErrorMessage("tcaThresholdViolationStatsTableName",
+                    "tcaThresholdViolationStatsTableName must be present");
+        }
+
+        if (tcaAppConfig.getEnableCompactFlowletRecords() == null) {
+            validationResponse.addErrorMessage("enableCompactFlowletRecords",
+                    "enableCompactFlowletRecords must be present");
+        }
+
+        if (tcaAppConfig.getEnableLoadGeneratorWorker() == null) {
+            validationResponse.addErrorMessage("enableLoadGeneratorWorker",
+                    "enableLoadGeneratorWorker must be present");
+        }
+
+        final String alertRequestIDGenerator = tcaAppConfig.getAlertRequestIDGenerator();
+        if (isEmpty(alertRequestIDGenerator)) {
+            validationResponse.addErrorMessage("alertRequestIDGenerator",
+                    "alertRequestIDGenerator must be present");
+        } else if (!isValidRequestIDGeneratorType(alertRequestIDGenerator)) {
+            validationResponse.addErrorMessage("alertRequestIDGenerator",
+                    "alertRequestIDGenerator must be one of TIME_BASED or RANDOM");
+        }
+
+        final Integer thresholdStateMaxEntries = tcaAppConfig.getThresholdStateMaxEntries();
+        if (thresholdStateMaxEntries == null || thresholdStateMaxEntries <= 0) {
+            validationResponse.addErrorMessage("thresholdStateMaxEntries",
+                    "thresholdStateMaxEntries must be present and greater than 0");
+        }
+
+        final Integer thresholdStateTTLSeconds = tcaAppConfig.getThresholdStateTTLSeconds();
+        if (thresholdStateTTLSeconds == null || thresholdStateTTLSeconds <= 0) {
+            validationResponse.addErrorMessage("thresholdStateTTLSeconds",
+                    "thresholdStateTTLSeconds must be present and greater than 0");
+        }
+
+        final Integer alertSuppressionMaxEntries = tcaAppConfig.getAlertSuppressionMaxEntries();
+        if (alertSuppressionMaxEntries == null || alertSuppressionMaxEntries <= 0) {
+            validationResponse.addErrorMessage("alertSuppressionMaxEntries",
+                    "alertSuppressionMaxEntries must be present and greater than 0");
+        }
+
+        final Integer alertRearmSeconds = tcaAppConfig.getAlertRearmSeconds();
+        if (alertRearmSeconds == null || alertRearmSeconds < 0) {
+            validationResponse.addErrorMessage("alertRearmSeconds",
+                    "alertRearmSeconds must be present and must not be negative");
+        }
+
+        final Double alertClearMarginPercent = tcaAppConfig.getAlertClearMarginPercent();
+        if (alertClearMarginPercent != null && (alertClearMarginPercent < 0 || alertClearMarginPercent > 100)) {
+            validationResponse.addErrorMessage("alertClearMarginPercent",
+                    "alertClearMarginPercent must be between 0 and 100");
+        }
+
+        final Integer entityAlertRateLimitPerMinute = tcaAppConfig.getEntityAlertRateLimitPerMinute();
+        if (entityAlertRateLimitPerMinute == null || entityAlertRateLimitPerMinute < 0) {
+            validationResponse.addErrorMessage("entityAlertRateLimitPerMinute",
+                    "entityAlertRateLimitPerMinute must be present and must not be negative");
+        }
+
+        final Integer closedLoopAlertRateLimitPerMinute = tcaAppConfig.getClosedLoopAlertRateLimitPerMinute();
+        if (closedLoopAlertRateLimitPerMinute == null || closedLoopAlertRateLimitPerMinute < 0) {
+            validationResponse.addErrorMessage("closedLoopAlertRateLimitPerMinute",
+                    "closedLoopAlertRateLimitPerMinute must be present and must not be negative");
+        }
+
+        final Integer alertRateLimitBurstSize = tcaAppConfig.getAlertRateLimitBurstSize();
+        if (alertRateLimitBurstSize == null || alertRateLimitBurstSize <= 0) {
+            validationResponse.addErrorMessage("alertRateLimitBurstSize",
+                    "alertRateLimitBurstSize must be present and greater than 0");
+        }
 
         return validationResponse;
     }
+
+    private static boolean isValidRequestIDGeneratorType(final String alertRequestIDGenerator) {
+        for (TCARequestIDGeneratorType requestIDGeneratorType : TCARequestIDGeneratorType.values()) {
+            if (requestIDGeneratorType.name().equals(alertRequestIDGenerator)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
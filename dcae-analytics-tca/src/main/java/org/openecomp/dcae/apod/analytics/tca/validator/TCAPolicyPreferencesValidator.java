@@ -20,13 +20,16 @@
 
 package org.openecomp.dcae.apod.analytics.tca.validator;
 
+import org.openecomp.dcae.apod.analytics.common.AnalyticsConstants;
 import org.openecomp.dcae.apod.analytics.common.cdap.validation.CDAPAppSettingsValidator;
 import org.openecomp.dcae.apod.analytics.common.validation.GenericValidationResponse;
 import org.openecomp.dcae.apod.analytics.model.domain.cef.EventSeverity;
 import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.Direction;
 import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.MetricsPerFunctionalRole;
 import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.Threshold;
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.ThresholdWindowAggregation;
 import org.openecomp.dcae.apod.analytics.tca.settings.TCAPolicyPreferences;
+import org.openecomp.dcae.apod.analytics.tca.threshold.TCAThresholdExpression;
 import org.openecomp.dcae.apod.analytics.tca.utils.TCAUtils;
 
 import java.util.List;
@@ -72,18 +75,46 @@ public class TCAPolicyPreferencesValidator implements CDAPAppSettingsValidator<T
             }
         }
 
-        // validate each threshold must have non null - fieldPath, thresholdValue, direction and severity
+        // validate each threshold must have non null - fieldPath or fieldExpression, thresholdValue, direction
+        // and severity
         for (MetricsPerFunctionalRole metricsPerFunctionalRole : metricsPerFunctionalRoles) {
             final List<Threshold> functionalRoleThresholds = metricsPerFunctionalRole.getThresholds();
             for (Threshold functionalRoleThreshold : functionalRoleThresholds) {
                 final String fieldPath = functionalRoleThreshold.getFieldPath();
+                final String fieldExpression = functionalRoleThreshold.getFieldExpression();
                 final Long thresholdValue = functionalRoleThreshold.getThresholdValue();
                 final Direction direction = functionalRoleThreshold.getDirection();
                 final EventSeverity severity = functionalRoleThreshold.getSeverity();
-                if (isEmpty(fieldPath) || thresholdValue == null || direction == null || severity == null) {
+                if ((isEmpty(fieldPath) && isEmpty(fieldExpression)) || thresholdValue == null || direction == null
+                        || severity == null) {
                     validationResponse.addErrorMessage("threshold",
-                            "TCA Policy threshold must have fieldPath, thresholdValue, direction and severity present."
-                                    + "Threshold causing this validation error:" + functionalRoleThreshold);
+                            "TCA Policy threshold must have fieldPath or fieldExpression, thresholdValue, direction " +
+                                    "and severity present. Threshold causing this validation error:" +
+                                    functionalRoleThreshold);
+                }
+                // validate field expression can be compiled and uses message values
+                if (!isEmpty(fieldExpression)) {
+                    try {
+                        if (TCAThresholdExpression.compile(fieldExpression).getFieldPathCount() == 0) {
+                            validationResponse.addErrorMessage("threshold",
+                                    "TCA Policy threshold fieldExpression must contain at least one field path. " +
+                                            "Threshold causing this validation error:" + functionalRoleThreshold);
+                        }
+                    } catch (IllegalArgumentException e) {
+                        validationResponse.addErrorMessage("threshold", e.getMessage() +
+                                ". Threshold causing this validation error:" + functionalRoleThreshold);
+                    }
+                }
+                // validate delta and rate thresholds monitor a field path
+                if (functionalRoleThreshold.getValueType() != null && (isEmpty(fieldPath) ||
+                        !isEmpty(fieldExpression))) {
+                    validationResponse.addErrorMessage("threshold",
+                            "TCA Policy threshold with valueType must have fieldPath and no fieldExpression. " +
+                                    "Threshold causing this validation error:" + functionalRoleThreshold);
+                }
+                // validate window thresholds
+                if (functionalRoleThreshold.getWindowAggregation() != null) {
+                    validateWindow(functionalRoleThreshold, validationResponse);
                 }
             }
         }
@@ -91,4 +122,49 @@ public class TCAPolicyPreferencesValidator implements CDAPAppSettingsValidator<T
 
         return validationResponse;
     }
+
+    private static void validateWindow(final Threshold threshold,
+                                       final GenericValidationResponse<TCAPolicyPreferences> validationResponse) {
+        final Integer windowSize = threshold.getWindowSize();
+        final Integer windowSeconds = threshold.getWindowSeconds();
+        final Integer windowViolationCount = threshold.getWindowViolationCount();
+        if (isEmpty(threshold.getFieldPath()) || !isEmpty(threshold.getFieldExpression())) {
+            validationResponse.addErrorMessage("threshold",
+                    "TCA Policy threshold with windowAggregation must have fieldPath and no fieldExpression. " +
+                            "Threshold causing this validation error:" + threshold);
+        }
+        // sample windows keep at most window size samples - time windows without window size would silently
+        // aggregate fewer samples than were reported within window seconds
+        if (threshold.getWindowAggregation() != ThresholdWindowAggregation.PERCENTILE && windowSize == null) {
+            validationResponse.addErrorMessage("threshold",
+                    "TCA Policy threshold with windowAggregation other than PERCENTILE must have windowSize - " +
+                            "windows with windowSeconds keep at most windowSize samples. " +
+                            "Threshold causing this validation error:" + threshold);
+        }
+        if (windowSize != null && (windowSize <= 0 || windowSize > AnalyticsConstants.TCA_MAX_THRESHOLD_WINDOW_SIZE)) {
+            validationResponse.addErrorMessage("threshold",
+                    "TCA Policy threshold windowSize must be between 1 and " +
+                            AnalyticsConstants.TCA_MAX_THRESHOLD_WINDOW_SIZE +
+                            ". Threshold causing this validation error:" + threshold);
+        }
+        if (windowSeconds != null && windowSeconds <= 0) {
+            validationResponse.addErrorMessage("threshold",
+                    "TCA Policy threshold windowSeconds must be positive. " +
+                            "Threshold causing this validation error:" + threshold);
+        }
+        if (threshold.getWindowAggregation() == ThresholdWindowAggregation.COUNT && (windowViolationCount == null ||
+                windowViolationCount <= 0 || (windowSize != null && windowViolationCount > windowSize))) {
+            validationResponse.addErrorMessage("threshold",
+                    "TCA Policy threshold with COUNT windowAggregation must have positive windowViolationCount " +
+                            "not greater than windowSize. Threshold causing this validation error:" + threshold);
+        }
+        final Double windowPercentile = threshold.getWindowPercentile();
+        if (threshold.getWindowAggregation() == ThresholdWindowAggregation.PERCENTILE && (windowSeconds == null ||
+                windowSize != null || windowPercentile == null || windowPercentile <= 0 || windowPercentile > 100)) {
+            validationResponse.addErrorMessage("threshold",
+                    "TCA Policy threshold with PERCENTILE windowAggregation must have windowSeconds, no windowSize " +
+                            "and windowPercentile greater than 0 and not greater than 100. " +
+                            "Threshold causing this validation error:" + threshold);
+        }
+    }
 }
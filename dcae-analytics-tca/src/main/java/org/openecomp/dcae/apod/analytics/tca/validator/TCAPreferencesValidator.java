@@ -22,6 +22,7 @@ package org.openecomp.dcae.apod.analytics.tca.validator;
 
 import org.openecomp.dcae.apod.analytics.common.cdap.validation.CDAPAppSettingsValidator;
 import org.openecomp.dcae.apod.analytics.common.validation.GenericValidationResponse;
+import org.openecomp.dcae.apod.analytics.tca.alert.TCAAlertCoalescingType;
 import org.openecomp.dcae.apod.analytics.tca.settings.TCAAppPreferences;
 
 import static org.openecomp.dcae.apod.analytics.common.utils.ValidationUtils.isEmpty;
@@ -57,7 +58,26 @@ public class TCAPreferencesValidator implements CDAPAppSettingsValidator<TCAAppP
         if (isEmpty(publisherTopicName)) {
             validationResponse.addErrorMessage("publisherTopicName", "Publisher topic name must be present");
         }
+        final Integer publisherAlertCoalescingWindowMS = appPreferences.getPublisherAlertCoalescingWindowMS();
+        if (publisherAlertCoalescingWindowMS != null && publisherAlertCoalescingWindowMS < 0) {
+            validationResponse.addErrorMessage("publisherAlertCoalescingWindowMS",
+                    "Publisher alert coalescing window must not be negative");
+        }
+        final String publisherAlertCoalescingType = appPreferences.getPublisherAlertCoalescingType();
+        if (publisherAlertCoalescingType != null && !isValidAlertCoalescingType(publisherAlertCoalescingType)) {
+            validationResponse.addErrorMessage("publisherAlertCoalescingType",
+                    "Publisher alert coalescing type must be one of HIGHEST_SEVERITY or FIRST");
+        }
 
         return validationResponse;
     }
+
+    private static boolean isValidAlertCoalescingType(final String alertCoalescingType) {
+        for (TCAAlertCoalescingType coalescingType : TCAAlertCoalescingType.values()) {
+            if (coalescingType.name().equals(alertCoalescingType)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -30,14 +30,12 @@ import co.cask.cdap.api.metrics.Metrics;
 import co.cask.cdap.api.worker.WorkerContext;
 import com.google.common.base.Joiner;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
-import org.openecomp.dcae.apod.analytics.common.CDAPMetricsConstants;
-import org.openecomp.dcae.apod.analytics.common.exception.DCAEAnalyticsRuntimeException;
-import org.openecomp.dcae.apod.analytics.common.utils.HTTPUtils;
-import org.openecomp.dcae.apod.analytics.dmaap.domain.response.DMaaPMRPublisherResponse;
+import org.openecomp.dcae.apod.analytics.common.cdap.metrics.LatencyMetricsRecorder;
 import org.openecomp.dcae.apod.analytics.dmaap.service.publisher.DMaaPMRPublisher;
+import org.openecomp.dcae.apod.analytics.tca.alert.TCAAlertCoalescer;
+import org.openecomp.dcae.apod.analytics.tca.alert.TCAVESAlertsPublisher;
 import org.openecomp.dcae.apod.analytics.tca.persistance.TCAVESAlertEntity;
 import org.openecomp.dcae.apod.analytics.tca.persistance.TCAVESAlertsPersister;
-import org.openecomp.dcae.apod.analytics.tca.utils.TCAUtils;
 import org.quartz.DisallowConcurrentExecution;
 import org.quartz.Job;
 import org.quartz.JobDataMap;
@@ -49,13 +47,15 @@ import org.slf4j.LoggerFactory;
 
 import java.util.Date;
 import java.util.LinkedHashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import static org.openecomp.dcae.apod.analytics.common.AnalyticsConstants.CDAP_ALERTS_TABLE_VARIABLE_NAME;
 import static org.openecomp.dcae.apod.analytics.common.AnalyticsConstants.DMAAP_METRICS_VARIABLE_NAME;
 import static org.openecomp.dcae.apod.analytics.common.AnalyticsConstants.DMAAP_PUBLISHER_VARIABLE_NAME;
+import static org.openecomp.dcae.apod.analytics.common.AnalyticsConstants.TCA_ALERT_COALESCER_VARIABLE_NAME;
+import static org.openecomp.dcae.apod.analytics.common.AnalyticsConstants.TCA_ALERT_TO_PUBLISH_LATENCY_VARIABLE_NAME;
+import static org.openecomp.dcae.apod.analytics.common.AnalyticsConstants.TCA_EVENT_TO_PUBLISH_LATENCY_VARIABLE_NAME;
 import static org.openecomp.dcae.apod.analytics.common.AnalyticsConstants.WORKER_CONTEXT_VARIABLE_NAME;
 
 /**
@@ -85,55 +85,27 @@ public class TCADMaaPMRPublisherJob implements Job {
         final WorkerContext workerContext = (WorkerContext) jobDataMap.get(WORKER_CONTEXT_VARIABLE_NAME);
         final DMaaPMRPublisher publisher = (DMaaPMRPublisher) jobDataMap.get(DMAAP_PUBLISHER_VARIABLE_NAME);
         final Metrics metrics = (Metrics) jobDataMap.get(DMAAP_METRICS_VARIABLE_NAME);
+        final TCAAlertCoalescer alertCoalescer = (TCAAlertCoalescer) jobDataMap.get(TCA_ALERT_COALESCER_VARIABLE_NAME);
+        final LatencyMetricsRecorder alertToPublishLatency =
+                (LatencyMetricsRecorder) jobDataMap.get(TCA_ALERT_TO_PUBLISH_LATENCY_VARIABLE_NAME);
+        final LatencyMetricsRecorder eventToPublishLatency =
+                (LatencyMetricsRecorder) jobDataMap.get(TCA_EVENT_TO_PUBLISH_LATENCY_VARIABLE_NAME);
 
         LOG.debug("Start looking for new message in Alerts Table: {}", cdapAlertsTableName);
 
         // Get new alerts from alerts table
         final Map<String, TCAVESAlertEntity> newAlertsMap = getNewAlertsMap(cdapAlertsTableName, workerContext);
 
-        // If no new alerts are found - nothing to publish
-        if (newAlertsMap.isEmpty()) {
-            LOG.debug("No new alerts found in Alerts Table name: {}. Nothing to Publisher....", cdapAlertsTableName);
-            metrics.count(CDAPMetricsConstants.TCA_PUBLISHER_NO_NEW_ALERTS_LOOKUP_METRIC, 1);
-            return;
-        }
-
-        final int newAlertsCount = newAlertsMap.size();
-        LOG.debug("Found new alerts in Alerts Table name: {}. No of new alerts: {}", cdapAlertsTableName,
-                newAlertsCount);
-        metrics.count(CDAPMetricsConstants.TCA_PUBLISHER_NEW_ALERTS_METRIC, newAlertsCount);
-
-        // Get alert message strings from alert Entities
-        final List<String> newAlertsMessages = TCAUtils.extractAlertFromAlertEntities(newAlertsMap.values());
-
-        // Publish messages to DMaaP MR Topic
-
-        try {
-
-            final DMaaPMRPublisherResponse publisherResponse = publisher.publish(newAlertsMessages);
-
-            final Integer responseCode = publisherResponse.getResponseCode();
-            final String responseMessage = publisherResponse.getResponseMessage();
-            final int pendingMessagesCount = publisherResponse.getPendingMessagesCount();
-
-            LOG.debug("Publisher Response Code: {}, Publisher message: {}, Pending Messages Count: {}", responseCode,
-                    responseMessage, pendingMessagesCount);
-
-            if (HTTPUtils.isSuccessfulResponseCode(responseCode)) {
-                LOG.debug("Successfully Published alerts to DMaaP MR Topic.");
-                metrics.count(CDAPMetricsConstants.TCA_PUBLISHER_SUCCESSFUL_DMAAP_RESPONSE_METRIC, 1);
-            } else {
-                LOG.warn("Unable to publish alerts to DMaaP MR Topic. Publisher will try to send it later....");
-                metrics.count(CDAPMetricsConstants.TCA_PUBLISHER_UNSUCCESSFUL_DMAAP_RESPONSE_METRIC, 1);
+        // Publish new alerts and delete them from alerts table
+        final TCAVESAlertsPublisher alertsPublisher = new TCAVESAlertsPublisher(publisher, alertCoalescer, metrics,
+                alertToPublishLatency, eventToPublishLatency);
+        alertsPublisher.publish(newAlertsMap, new TCAVESAlertsPublisher.AlertsDeleter() {
+            @Override
+            public void delete(final Map<String, TCAVESAlertEntity> alertsMap) {
+                deleteAlertsByKey(cdapAlertsTableName, workerContext, alertsMap.keySet());
             }
+        });
 
-        } catch (DCAEAnalyticsRuntimeException e) {
-            LOG.error("Exception while publishing messages to DMaaP MR Topic: {}", e);
-        } finally {
-            // delete send message from alerts table
-            deleteAlertsByKey(cdapAlertsTableName, workerContext, newAlertsMap.keySet(), metrics);
-        }
-        
         LOG.debug("Finished DMaaP MR Topic Publisher fetch Job.");
 
     }
@@ -170,10 +142,9 @@ public class TCADMaaPMRPublisherJob implements Job {
      * @param cdapAlertsTableName CDAP Alerts Table Name
      * @param workerContext Worker Context
      * @param rowKeys Row Key Set
-     * @param metrics CDAP metrics
      */
     private void deleteAlertsByKey(final String cdapAlertsTableName, final WorkerContext workerContext,
-                                   final Set<String> rowKeys, final Metrics metrics) {
+                                   final Set<String> rowKeys) {
         LOG.debug("Deleting Published Alerts from alerts table with rowKeys: {}", Joiner.on(",").join(rowKeys));
         workerContext.execute(new TxRunnable() {
             @Override
@@ -181,7 +152,6 @@ public class TCADMaaPMRPublisherJob implements Job {
                 final ObjectMappedTable<TCAVESAlertEntity> alertsTable = context.getDataset(cdapAlertsTableName);
                 for (String rowKey : rowKeys) {
                     alertsTable.delete(rowKey);
-                    metrics.count(CDAPMetricsConstants.TCA_PUBLISHER_DELETED_ALERTS_METRIC, 1);
                 }
             }
         });
@@ -40,7 +40,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static java.lang.String.format;
 
@@ -82,6 +84,9 @@ public class TCADMaaPMRSubscriberJob implements Job {
         }
 
         final DMaaPMRSubscriberResponse subscriberResponse = subscriberResponseOptional.get();
+        // fetch time is passed to flowlets as stream event header to measure event freshness and pipeline latency
+        final Map<String, String> streamEventHeaders = Collections.singletonMap(
+                AnalyticsConstants.TCA_VES_FETCH_TIMESTAMP_STREAM_HEADER, String.valueOf(System.currentTimeMillis()));
 
         // If response code return by the subscriber call is not successful, unable to do proceed
         if (!HTTPUtils.isSuccessfulResponseCode(subscriberResponse.getResponseCode())) {
@@ -111,7 +116,7 @@ public class TCADMaaPMRSubscriberJob implements Job {
         try {
 
             for (String message : actualMessages) {
-                workerContext.write(cdapStreamName, message);
+                workerContext.write(cdapStreamName, message, streamEventHeaders);
             }
 
         } catch (IOException e) {
@@ -26,11 +26,16 @@ import co.cask.cdap.api.worker.AbstractWorker;
 import co.cask.cdap.api.worker.WorkerContext;
 import org.openecomp.dcae.apod.analytics.common.AnalyticsConstants;
 import org.openecomp.dcae.apod.analytics.common.CDAPComponentsConstants;
+import org.openecomp.dcae.apod.analytics.common.CDAPMetricsConstants;
+import org.openecomp.dcae.apod.analytics.common.cdap.metrics.LatencyMetricsRecorder;
 import org.openecomp.dcae.apod.analytics.common.exception.DCAEAnalyticsRuntimeException;
 import org.openecomp.dcae.apod.analytics.dmaap.DMaaPMRFactory;
 import org.openecomp.dcae.apod.analytics.dmaap.domain.config.DMaaPMRPublisherConfig;
 import org.openecomp.dcae.apod.analytics.dmaap.service.publisher.DMaaPMRPublisher;
 import org.openecomp.dcae.apod.analytics.model.util.AnalyticsModelIOUtils;
+import org.openecomp.dcae.apod.analytics.tca.alert.TCAAlertCoalescer;
+import org.openecomp.dcae.apod.analytics.tca.alert.TCAAlertCoalescingType;
+import org.openecomp.dcae.apod.analytics.tca.metrics.CDAPDMaaPMRMetrics;
 import org.openecomp.dcae.apod.analytics.tca.settings.TCAAppPreferences;
 import org.openecomp.dcae.apod.analytics.tca.utils.AppPreferencesToPublisherConfigMapper;
 import org.openecomp.dcae.apod.analytics.tca.utils.TCAUtils;
@@ -47,6 +52,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static java.lang.String.format;
@@ -109,9 +115,12 @@ public class TCADMaaPPublisherWorker extends AbstractWorker {
 
         LOG.info("TCA DMaaP MR Publisher worker will be polling TCA Alerts Table Name: {}", tcaVESAlertsTableName);
 
-        // Create an instance of DMaaP MR Publisher
+        // Create an instance of DMaaP MR Publisher which reports DMaaP MR client metrics to CDAP metrics
         LOG.debug("Creating an instance of DMaaP Publisher");
-        publisher = DMaaPMRFactory.create().createPublisher(publisherConfig);
+        final CDAPDMaaPMRMetrics dmaapMRMetrics = new CDAPDMaaPMRMetrics(metrics,
+                CDAPMetricsConstants.TCA_PUBLISHER_DMAAP_CLIENT_METRIC_PREFIX,
+                TimeUnit.SECONDS.toMillis(AnalyticsConstants.TCA_DMAAP_CLIENT_LATENCY_METRICS_INTERVAL_SECONDS));
+        publisher = DMaaPMRFactory.create(dmaapMRMetrics).createPublisher(publisherConfig);
 
         // initialize a new Quartz scheduler
         initializeScheduler(tcaAppPreferences);
@@ -205,6 +214,26 @@ public class TCADMaaPPublisherWorker extends AbstractWorker {
         jobDataMap.put(AnalyticsConstants.DMAAP_PUBLISHER_VARIABLE_NAME, publisher);
         jobDataMap.put(AnalyticsConstants.DMAAP_METRICS_VARIABLE_NAME, metrics);
 
+        // Latency recorders live in job data map so that their distributions span multiple job executions
+        final long latencyMetricsIntervalMS =
+                TimeUnit.SECONDS.toMillis(AnalyticsConstants.TCA_EVENT_LATENCY_METRICS_INTERVAL_SECONDS);
+        jobDataMap.put(AnalyticsConstants.TCA_ALERT_TO_PUBLISH_LATENCY_VARIABLE_NAME, new LatencyMetricsRecorder(
+                CDAPMetricsConstants.TCA_VES_ALERT_TO_PUBLISH_LATENCY_METRIC, latencyMetricsIntervalMS));
+        jobDataMap.put(AnalyticsConstants.TCA_EVENT_TO_PUBLISH_LATENCY_VARIABLE_NAME, new LatencyMetricsRecorder(
+                CDAPMetricsConstants.TCA_VES_EVENT_TO_PUBLISH_LATENCY_METRIC, latencyMetricsIntervalMS));
+
+        // Alerts of same closed loop and target are coalesced if alert coalescing window is present
+        final Integer alertCoalescingWindowMS = tcaAnalyticsAppConfig.getPublisherAlertCoalescingWindowMS();
+        if (alertCoalescingWindowMS != null && alertCoalescingWindowMS > 0) {
+            final String alertCoalescingType = tcaAnalyticsAppConfig.getPublisherAlertCoalescingType() != null ?
+                    tcaAnalyticsAppConfig.getPublisherAlertCoalescingType() :
+                    AnalyticsConstants.TCA_DEFAULT_PUBLISHER_ALERT_COALESCING_TYPE;
+            LOG.info("TCA DMaaP MR Publisher will coalesce alerts within window of {} ms using type: {}",
+                    alertCoalescingWindowMS, alertCoalescingType);
+            jobDataMap.put(AnalyticsConstants.TCA_ALERT_COALESCER_VARIABLE_NAME, new TCAAlertCoalescer(
+                    TCAAlertCoalescingType.valueOf(alertCoalescingType), alertCoalescingWindowMS));
+        }
+
         // Create a new job detail
         final JobDetail jobDetail = JobBuilder.newJob(TCADMaaPMRPublisherJob.class)
                 .withIdentity(AnalyticsConstants.TCA_DMAAP_PUBLISHER_QUARTZ_JOB_NAME,
@@ -26,11 +26,13 @@ import co.cask.cdap.api.worker.AbstractWorker;
 import co.cask.cdap.api.worker.WorkerContext;
 import org.openecomp.dcae.apod.analytics.common.AnalyticsConstants;
 import org.openecomp.dcae.apod.analytics.common.CDAPComponentsConstants;
+import org.openecomp.dcae.apod.analytics.common.CDAPMetricsConstants;
 import org.openecomp.dcae.apod.analytics.common.exception.DCAEAnalyticsRuntimeException;
 import org.openecomp.dcae.apod.analytics.dmaap.DMaaPMRFactory;
 import org.openecomp.dcae.apod.analytics.dmaap.domain.config.DMaaPMRSubscriberConfig;
 import org.openecomp.dcae.apod.analytics.dmaap.service.subscriber.DMaaPMRSubscriber;
 import org.openecomp.dcae.apod.analytics.model.util.AnalyticsModelIOUtils;
+import org.openecomp.dcae.apod.analytics.tca.metrics.CDAPDMaaPMRMetrics;
 import org.openecomp.dcae.apod.analytics.tca.settings.TCAAppPreferences;
 import org.openecomp.dcae.apod.analytics.tca.utils.AppPreferencesToSubscriberConfigMapper;
 import org.openecomp.dcae.apod.analytics.tca.utils.TCAUtils;
@@ -47,6 +49,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static java.lang.String.format;
@@ -111,9 +114,12 @@ public class TCADMaaPSubscriberWorker extends AbstractWorker {
 
         LOG.info("TCA DMaaP MR Subscriber worker will be writing to CDAP Stream: {}", tcaSubscriberOutputStreamName);
 
-        // Create an instance of DMaaP MR Subscriber
+        // Create an instance of DMaaP MR Subscriber which reports DMaaP MR client metrics to CDAP metrics
         LOG.debug("Creating an instance of DMaaP Subscriber");
-        subscriber = DMaaPMRFactory.create().createSubscriber(subscriberConfig);
+        final CDAPDMaaPMRMetrics dmaapMRMetrics = new CDAPDMaaPMRMetrics(metrics,
+                CDAPMetricsConstants.TCA_SUBSCRIBER_DMAAP_CLIENT_METRIC_PREFIX,
+                TimeUnit.SECONDS.toMillis(AnalyticsConstants.TCA_DMAAP_CLIENT_LATENCY_METRICS_INTERVAL_SECONDS));
+        subscriber = DMaaPMRFactory.create(dmaapMRMetrics).createSubscriber(subscriberConfig);
 
         // initialize a new Quartz scheduler
         initializeScheduler(tcaAppPreferences);
@@ -0,0 +1,201 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.worker;
+
+import co.cask.cdap.api.annotation.Property;
+import co.cask.cdap.api.data.stream.StreamBatchWriter;
+import co.cask.cdap.api.metrics.Metrics;
+import co.cask.cdap.api.worker.AbstractWorker;
+import co.cask.cdap.api.worker.WorkerContext;
+import com.google.common.base.Charsets;
+import com.google.common.base.Joiner;
+import org.openecomp.dcae.apod.analytics.common.CDAPComponentsConstants;
+import org.openecomp.dcae.apod.analytics.common.CDAPMetricsConstants;
+import org.openecomp.dcae.apod.analytics.common.exception.DCAEAnalyticsRuntimeException;
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.TCAPolicy;
+import org.openecomp.dcae.apod.analytics.tca.generator.TCAVESLoadGenerator;
+import org.openecomp.dcae.apod.analytics.tca.replay.TCAVESCaptureReplayer;
+import org.openecomp.dcae.apod.analytics.tca.replay.TCAVESReplayMode;
+import org.openecomp.dcae.apod.analytics.tca.settings.TCAVESLoadGeneratorPreferences;
+import org.openecomp.dcae.apod.analytics.tca.utils.TCAUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static java.lang.String.format;
+
+/**
+ * CDAP Worker which synthesizes VES messages at configured rate - or replays captured VES traffic - and writes them
+ * to TCA subscriber output stream in place of DMaaP MR Subscriber. Used for load testing TCA flow - see
+ * {@link TCAVESLoadGeneratorPreferences} for load generator runtime arguments
+ */
+public class TCAVESLoadGeneratorWorker extends AbstractWorker {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TCAVESLoadGeneratorWorker.class);
+
+    private static final Joiner MESSAGES_JOINER = Joiner.on('\n');
+    private static final ByteBuffer LINE_FEED = ByteBuffer.wrap(new byte[]{'\n'}).asReadOnlyBuffer();
+
+    /**
+     * Synthesizes VES messages - null when captured traffic is replayed
+     */
+    private TCAVESLoadGenerator loadGenerator;
+    /**
+     * Replays captured VES traffic - null when messages are synthesized
+     */
+    private TCAVESCaptureReplayer captureReplayer;
+    /**
+     * Store runtime metrics
+     */
+    private Metrics metrics;
+
+    /**
+     * CDAP output stream name
+     */
+    @Property
+    private final String tcaSubscriberOutputStreamName;
+
+    public TCAVESLoadGeneratorWorker(final String tcaSubscriberOutputStreamName) {
+        this.tcaSubscriberOutputStreamName = tcaSubscriberOutputStreamName;
+    }
+
+    @Override
+    public void configure() {
+        setName(CDAPComponentsConstants.TCA_FIXED_VES_LOAD_GENERATOR_WORKER);
+        setDescription(CDAPComponentsConstants.TCA_FIXED_VES_LOAD_GENERATOR_DESCRIPTION_WORKER);
+        LOG.debug("Configuring TCA VES Load Generator worker with name: {}",
+                CDAPComponentsConstants.TCA_FIXED_VES_LOAD_GENERATOR_WORKER);
+    }
+
+    @Override
+    public void initialize(WorkerContext context) throws Exception {
+        super.initialize(context);
+
+        final TCAVESLoadGeneratorPreferences loadGeneratorPreferences =
+                TCAUtils.getTCAVESLoadGeneratorPreferences(context);
+
+        LOG.info("Initializing TCA VES Load Generator worker with preferences: {}", loadGeneratorPreferences);
+        LOG.info("TCA VES Load Generator worker will be writing to CDAP Stream: {}", tcaSubscriberOutputStreamName);
+
+        if (loadGeneratorPreferences.getLoadGeneratorReplayFile() != null) {
+            captureReplayer = TCAVESCaptureReplayer.create(
+                    new File(loadGeneratorPreferences.getLoadGeneratorReplayFile()),
+                    TCAVESReplayMode.valueOf(loadGeneratorPreferences.getLoadGeneratorReplayMode()),
+                    loadGeneratorPreferences.getLoadGeneratorReplaySpeedFactor(),
+                    loadGeneratorPreferences.getLoadGeneratorBatchSize());
+        } else {
+            final TCAPolicy tcaPolicy = TCAUtils.getValidatedTCAPolicyPreferences(context);
+            loadGenerator = TCAVESLoadGenerator.create(tcaPolicy, loadGeneratorPreferences);
+        }
+    }
+
+    @Override
+    public void run() {
+        if (captureReplayer != null) {
+            runCaptureReplay();
+        } else {
+            runLoadGenerator();
+        }
+    }
+
+    @Override
+    public void stop() {
+        LOG.info("Stopping TCA VES Load Generator");
+        // neither may be present if initialize failed
+        if (captureReplayer != null) {
+            captureReplayer.stop();
+        }
+        if (loadGenerator != null) {
+            loadGenerator.stop();
+        }
+    }
+
+    private void runLoadGenerator() {
+        long violatingMessageCount = 0;
+        List<String> messages = loadGenerator.nextBatch();
+        while (messages != null) {
+            writeToStream(Collections.singletonList(
+                    ByteBuffer.wrap(MESSAGES_JOINER.join(messages).getBytes(Charsets.UTF_8))));
+
+            final long currentViolatingMessageCount = loadGenerator.getMessageGenerator().getViolatingMessageCount();
+            metrics.count(CDAPMetricsConstants.TCA_LOAD_GENERATOR_MESSAGES_METRIC, messages.size());
+            metrics.count(CDAPMetricsConstants.TCA_LOAD_GENERATOR_VIOLATING_MESSAGES_METRIC,
+                    (int) (currentViolatingMessageCount - violatingMessageCount));
+            violatingMessageCount = currentViolatingMessageCount;
+
+            messages = loadGenerator.nextBatch();
+        }
+
+        LOG.info("Finished execution of TCA VES Load Generator worker thread. Messages written: {}",
+                loadGenerator.getMessageGenerator().getGeneratedMessageCount());
+    }
+
+    private void runCaptureReplay() {
+        try {
+            List<ByteBuffer> records = captureReplayer.nextRecordBatch();
+            while (records != null) {
+                // records are written as they were captured - separated by line feeds - without decoding them
+                final List<ByteBuffer> streamData = new ArrayList<>(records.size() * 2);
+                for (ByteBuffer record : records) {
+                    streamData.add(record);
+                    streamData.add(LINE_FEED.duplicate());
+                }
+                writeToStream(streamData);
+                metrics.count(CDAPMetricsConstants.TCA_LOAD_GENERATOR_MESSAGES_METRIC, records.size());
+                records = captureReplayer.nextRecordBatch();
+            }
+            LOG.info("Finished execution of TCA VES Load Generator worker thread. {}",
+                    captureReplayer.formatThroughput());
+        } finally {
+            try {
+                captureReplayer.close();
+            } catch (IOException e) {
+                LOG.warn("Unable to close VES capture file: {}", e.toString());
+            }
+        }
+    }
+
+    private void writeToStream(final List<ByteBuffer> streamData) {
+        try {
+            final StreamBatchWriter streamBatchWriter =
+                    getContext().createBatchWriter(tcaSubscriberOutputStreamName, "text/plain");
+            try {
+                for (ByteBuffer data : streamData) {
+                    streamBatchWriter.write(data);
+                }
+            } finally {
+                streamBatchWriter.close();
+            }
+        } catch (IOException e) {
+            metrics.count(CDAPMetricsConstants.TCA_LOAD_GENERATOR_FAILURE_TO_WRITE_TO_STREAM_METRIC, 1);
+            final String errorMessage =
+                    format("Error while TCA VES Load Generator attempting to write to CDAP Stream: %s, " +
+                            "Exception: %s", tcaSubscriberOutputStreamName, e);
+            throw new DCAEAnalyticsRuntimeException(errorMessage, LOG, e);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.alert;
+
+import com.google.common.base.Ticker;
+import org.junit.Test;
+import org.openecomp.dcae.apod.analytics.tca.BaseAnalyticsTCAUnitTest;
+import org.openecomp.dcae.apod.analytics.tca.persistance.TCAVESAlertEntity;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class TCAAlertCoalescerTest extends BaseAnalyticsTCAUnitTest {
+
+    private static final long WINDOW_MS = 60000L;
+
+    @Test
+    public void testHighestSeverityAlertOfEachGroupIsPublished() throws Exception {
+        final TCAAlertCoalescer alertCoalescer =
+                new TCAAlertCoalescer(TCAAlertCoalescingType.HIGHEST_SEVERITY, WINDOW_MS, new TestTicker());
+        final Map<String, TCAVESAlertEntity> newAlertsMap = new LinkedHashMap<>();
+        addAlert(newAlertsMap, "alert-1", 1000L, "CL-1", "vpp-1", "MAJOR");
+        addAlert(newAlertsMap, "alert-2", 2000L, "CL-1", "vpp-1", "CRITICAL");
+        addAlert(newAlertsMap, "alert-3", 3000L, "CL-1", "vpp-1", "CRITICAL");
+        addAlert(newAlertsMap, "alert-4", 4000L, "CL-1", "vpp-2", "MINOR");
+        addAlert(newAlertsMap, "alert-5", 5000L, "CL-2", "vpp-1", "MINOR");
+        // alerts without index columns are always published
+        newAlertsMap.put("alert-6", new TCAVESAlertEntity(6000L, "alert-6"));
+        newAlertsMap.put("alert-7", new TCAVESAlertEntity(7000L, "alert-7"));
+
+        assertThat(alertCoalescer.coalesce(newAlertsMap),
+                is(Arrays.asList("alert-2", "alert-4", "alert-5", "alert-6", "alert-7")));
+    }
+
+    @Test
+    public void testFirstAlertOfEachGroupIsPublished() throws Exception {
+        final TCAAlertCoalescer alertCoalescer =
+                new TCAAlertCoalescer(TCAAlertCoalescingType.FIRST, WINDOW_MS, new TestTicker());
+        final Map<String, TCAVESAlertEntity> newAlertsMap = new LinkedHashMap<>();
+        addAlert(newAlertsMap, "alert-1", 1000L, "CL-1", "vpp-1", "MAJOR");
+        addAlert(newAlertsMap, "alert-2", 2000L, "CL-1", "vpp-1", "CRITICAL");
+        addAlert(newAlertsMap, "alert-3", WINDOW_MS + 1000L, "CL-1", "vpp-1", "CRITICAL");
+
+        assertThat("Alerts of next window must not be coalesced",
+                alertCoalescer.coalesce(newAlertsMap), is(Arrays.asList("alert-1", "alert-3")));
+    }
+
+    @Test
+    public void testGroupsSpanPublisherPolls() throws Exception {
+        final TestTicker ticker = new TestTicker();
+        final TCAAlertCoalescer alertCoalescer =
+                new TCAAlertCoalescer(TCAAlertCoalescingType.HIGHEST_SEVERITY, WINDOW_MS, ticker);
+        final Map<String, TCAVESAlertEntity> firstPollAlertsMap = new LinkedHashMap<>();
+        addAlert(firstPollAlertsMap, "alert-1", 1000L, "CL-1", "vpp-1", "MAJOR");
+        assertThat(alertCoalescer.coalesce(firstPollAlertsMap), is(Arrays.asList("alert-1")));
+        alertCoalescer.markPublished();
+
+        ticker.advance(30);
+        final Map<String, TCAVESAlertEntity> secondPollAlertsMap = new LinkedHashMap<>();
+        addAlert(secondPollAlertsMap, "alert-2", 31000L, "CL-1", "vpp-1", "MAJOR");
+        addAlert(secondPollAlertsMap, "alert-3", 32000L, "CL-1", "vpp-1", "MINOR");
+        assertThat(alertCoalescer.coalesce(secondPollAlertsMap).isEmpty(), is(true));
+
+        final Map<String, TCAVESAlertEntity> thirdPollAlertsMap = new LinkedHashMap<>();
+        addAlert(thirdPollAlertsMap, "alert-4", 33000L, "CL-1", "vpp-1", "CRITICAL");
+        assertThat("More severe alert must be published",
+                alertCoalescer.coalesce(thirdPollAlertsMap), is(Arrays.asList("alert-4")));
+    }
+
+    @Test
+    public void testGroupsOfFailedPublishAreNotRemembered() throws Exception {
+        final TCAAlertCoalescer alertCoalescer =
+                new TCAAlertCoalescer(TCAAlertCoalescingType.FIRST, WINDOW_MS, new TestTicker());
+        final Map<String, TCAVESAlertEntity> firstPollAlertsMap = new LinkedHashMap<>();
+        addAlert(firstPollAlertsMap, "alert-1", 1000L, "CL-1", "vpp-1", "MAJOR");
+        // publish of first poll alerts fails - coalescer is not marked published
+        assertThat(alertCoalescer.coalesce(firstPollAlertsMap), is(Arrays.asList("alert-1")));
+
+        final Map<String, TCAVESAlertEntity> secondPollAlertsMap = new LinkedHashMap<>();
+        addAlert(secondPollAlertsMap, "alert-2", 2000L, "CL-1", "vpp-1", "MAJOR");
+        assertThat("Alert of group whose publish failed must be published",
+                alertCoalescer.coalesce(secondPollAlertsMap), is(Arrays.asList("alert-2")));
+        alertCoalescer.markPublished();
+
+        final Map<String, TCAVESAlertEntity> thirdPollAlertsMap = new LinkedHashMap<>();
+        addAlert(thirdPollAlertsMap, "alert-3", 3000L, "CL-1", "vpp-1", "MAJOR");
+        assertThat(alertCoalescer.coalesce(thirdPollAlertsMap).isEmpty(), is(true));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidWindow() throws Exception {
+        new TCAAlertCoalescer(TCAAlertCoalescingType.FIRST, 0);
+    }
+
+    private static void addAlert(final Map<String, TCAVESAlertEntity> alertsMap, final String alertMessage,
+                                 final long creationTS, final String closedLoopControlName, final String target,
+                                 final String severity) {
+        alertsMap.put(alertMessage,
+                new TCAVESAlertEntity(creationTS, alertMessage, closedLoopControlName, target, severity));
+    }
+
+    private static class TestTicker extends Ticker {
+
+        private long nanos;
+
+        @Override
+        public long read() {
+            return nanos;
+        }
+
+        private void advance(final long seconds) {
+            nanos += TimeUnit.SECONDS.toNanos(seconds);
+        }
+    }
+
+}
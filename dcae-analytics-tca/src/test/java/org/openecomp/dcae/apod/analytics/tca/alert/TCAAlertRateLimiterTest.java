@@ -0,0 +1,130 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.alert;
+
+import com.google.common.base.Ticker;
+import org.junit.Test;
+import org.openecomp.dcae.apod.analytics.tca.BaseAnalyticsTCAUnitTest;
+import org.openecomp.dcae.apod.analytics.tca.alert.TCAAlertRateLimiter.RateLimitResult;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class TCAAlertRateLimiterTest extends BaseAnalyticsTCAUnitTest {
+
+    @Test
+    public void testEntityAlertsAreLimitedToBurstAndRefilledLazily() throws Exception {
+        final TestTicker ticker = new TestTicker();
+        // 1 alert every 10 seconds with burst of 3
+        final TCAAlertRateLimiter rateLimiter = new TCAAlertRateLimiter(6, 0, 3, 100, ticker);
+        for (int alertIndex = 0; alertIndex < 3; alertIndex++) {
+            assertThat(rateLimiter.tryAcquire("vpp-test", "CL-1"), is(RateLimitResult.ALLOWED));
+        }
+        assertThat(rateLimiter.tryAcquire("vpp-test", "CL-1"), is(RateLimitResult.ENTITY_RATE_LIMITED));
+        assertThat("Other entities must have their own bucket",
+                rateLimiter.tryAcquire("vpp-test-2", "CL-1"), is(RateLimitResult.ALLOWED));
+
+        ticker.advance(9);
+        assertThat(rateLimiter.tryAcquire("vpp-test", "CL-1"), is(RateLimitResult.ENTITY_RATE_LIMITED));
+        ticker.advance(1);
+        assertThat(rateLimiter.tryAcquire("vpp-test", "CL-1"), is(RateLimitResult.ALLOWED));
+        assertThat(rateLimiter.tryAcquire("vpp-test", "CL-1"), is(RateLimitResult.ENTITY_RATE_LIMITED));
+
+        ticker.advance(3600);
+        for (int alertIndex = 0; alertIndex < 3; alertIndex++) {
+            assertThat("Idle bucket must refill only up to burst size",
+                    rateLimiter.tryAcquire("vpp-test", "CL-1"), is(RateLimitResult.ALLOWED));
+        }
+        assertThat(rateLimiter.tryAcquire("vpp-test", "CL-1"), is(RateLimitResult.ENTITY_RATE_LIMITED));
+    }
+
+    @Test
+    public void testClosedLoopLimitDoesNotConsumeEntityTokens() throws Exception {
+        final TCAAlertRateLimiter rateLimiter = new TCAAlertRateLimiter(6, 6, 2, 100, new TestTicker());
+        assertThat(rateLimiter.tryAcquire("vpp-test-1", "CL-1"), is(RateLimitResult.ALLOWED));
+        assertThat(rateLimiter.tryAcquire("vpp-test-2", "CL-1"), is(RateLimitResult.ALLOWED));
+        assertThat(rateLimiter.tryAcquire("vpp-test-3", "CL-1"), is(RateLimitResult.CLOSED_LOOP_RATE_LIMITED));
+        assertThat(rateLimiter.tryAcquire("vpp-test-3", "CL-1"), is(RateLimitResult.CLOSED_LOOP_RATE_LIMITED));
+        assertThat(rateLimiter.tryAcquire("vpp-test-3", "CL-2"), is(RateLimitResult.ALLOWED));
+        assertThat(rateLimiter.tryAcquire("vpp-test-3", "CL-3"), is(RateLimitResult.ALLOWED));
+        assertThat(rateLimiter.tryAcquire("vpp-test-3", "CL-4"), is(RateLimitResult.ENTITY_RATE_LIMITED));
+    }
+
+    @Test
+    public void testConcurrentAcquiresDoNotExceedBurst() throws Exception {
+        final TCAAlertRateLimiter rateLimiter = new TCAAlertRateLimiter(1, 0, 1000, 100, new TestTicker());
+        final int threadCount = 4;
+        final int[] allowedCounts = new int[threadCount];
+        final Thread[] threads = new Thread[threadCount];
+        for (int threadIndex = 0; threadIndex < threadCount; threadIndex++) {
+            final int index = threadIndex;
+            threads[threadIndex] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int alertIndex = 0; alertIndex < 1000; alertIndex++) {
+                        if (rateLimiter.tryAcquire("vpp-test", "CL-1") == RateLimitResult.ALLOWED) {
+                            allowedCounts[index]++;
+                        }
+                    }
+                }
+            });
+            threads[threadIndex].start();
+        }
+        int allowedCount = 0;
+        for (int threadIndex = 0; threadIndex < threadCount; threadIndex++) {
+            threads[threadIndex].join();
+            allowedCount += allowedCounts[threadIndex];
+        }
+        assertThat(allowedCount, is(1000));
+    }
+
+    @Test
+    public void testClosedLoopLimitIsSharedByCalculatorInstances() throws Exception {
+        assertThat(TCAAlertRateLimiter.toInstanceAlertsPerMinute(60, 4), is(15));
+        assertThat("Each instance must be able to emit alerts", TCAAlertRateLimiter.toInstanceAlertsPerMinute(3, 4),
+                is(1));
+        assertThat(TCAAlertRateLimiter.toInstanceAlertsPerMinute(10, 3), is(4));
+        assertThat(TCAAlertRateLimiter.toInstanceAlertsPerMinute(10, 1), is(10));
+        assertThat("No limit must stay no limit", TCAAlertRateLimiter.toInstanceAlertsPerMinute(0, 4), is(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidBurstSize() throws Exception {
+        new TCAAlertRateLimiter(6, 6, 0, 100);
+    }
+
+    private static class TestTicker extends Ticker {
+
+        private volatile long nanos;
+
+        @Override
+        public long read() {
+            return nanos;
+        }
+
+        private void advance(final long seconds) {
+            nanos += TimeUnit.SECONDS.toNanos(seconds);
+        }
+    }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.alert;
+
+import com.google.common.base.Ticker;
+import org.junit.Test;
+import org.openecomp.dcae.apod.analytics.tca.BaseAnalyticsTCAUnitTest;
+import org.openecomp.dcae.apod.analytics.tca.processor.TCACEFProcessorContext;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class TCAAlertSuppressionCacheTest extends BaseAnalyticsTCAUnitTest {
+
+    private static final String LOW_TRAFFIC_CLOSED_LOOP =
+            "CL-FRWL-LOW-TRAFFIC-SIG-d925ed73-8231-4d02-9545-db4e101f88f8";
+    private static final String HIGH_TRAFFIC_CLOSED_LOOP =
+            "CL-FRWL-HIGH-TRAFFIC-SIG-EA36FE84-9342-5E13-A656-EC5F21309A09";
+
+    @Test
+    public void testAlertsAreSuppressedUntilRearmInterval() throws Exception {
+        final TestTicker ticker = new TestTicker();
+        final TCAAlertSuppressionCache suppressionCache =
+                new TCAAlertSuppressionCache(getSampleTCAPolicy(), 100, 60, null, ticker);
+
+        assertThat(suppressionCache.suppress("vpp-test", LOW_TRAFFIC_CLOSED_LOOP), is(false));
+        assertThat(suppressionCache.suppress("vpp-test", LOW_TRAFFIC_CLOSED_LOOP), is(true));
+        assertThat("Other closed loops of the same entity must not be suppressed",
+                suppressionCache.suppress("vpp-test", HIGH_TRAFFIC_CLOSED_LOOP), is(false));
+        assertThat("Other entities must not be suppressed",
+                suppressionCache.suppress("vpp-test-2", LOW_TRAFFIC_CLOSED_LOOP), is(false));
+
+        ticker.advance(59);
+        assertThat(suppressionCache.suppress("vpp-test", LOW_TRAFFIC_CLOSED_LOOP), is(true));
+        ticker.advance(1);
+        assertThat("Alert must be emitted again after re-arm interval",
+                suppressionCache.suppress("vpp-test", LOW_TRAFFIC_CLOSED_LOOP), is(false));
+        assertThat(suppressionCache.getSuppressedCount(), is(2L));
+    }
+
+    @Test
+    public void testCacheIsBoundedByMaxEntries() throws Exception {
+        final TCAAlertSuppressionCache suppressionCache =
+                new TCAAlertSuppressionCache(getSampleTCAPolicy(), 10, 60, null, new TestTicker());
+        for (int entityIndex = 0; entityIndex < 1000; entityIndex++) {
+            assertThat(suppressionCache.suppress("vpp-test-" + entityIndex, LOW_TRAFFIC_CLOSED_LOOP), is(false));
+        }
+        assertThat("Least recently armed entities must be evicted",
+                suppressionCache.suppress("vpp-test-0", LOW_TRAFFIC_CLOSED_LOOP), is(false));
+        assertThat(suppressionCache.suppress("vpp-test-999", LOW_TRAFFIC_CLOSED_LOOP), is(true));
+    }
+
+    @Test
+    public void testAlertsAreClearedOnlyBeyondClearMargin() throws Exception {
+        // bytesIn of test message is 6086 - with 60 percent margin LESS_OR_EQUAL 4000 threshold clears above 6400
+        final TCAAlertSuppressionCache wideMarginCache =
+                new TCAAlertSuppressionCache(getSampleTCAPolicy(), 100, 60, 60d, new TestTicker());
+        wideMarginCache.suppress("vpp-test", LOW_TRAFFIC_CLOSED_LOOP);
+        assertThat(wideMarginCache.clear(createCompliantProcessorContext()), is(0));
+        assertThat(wideMarginCache.suppress("vpp-test", LOW_TRAFFIC_CLOSED_LOOP), is(true));
+
+        // with 50 percent margin LESS_OR_EQUAL 4000 threshold clears above 6000
+        final TCAAlertSuppressionCache narrowMarginCache =
+                new TCAAlertSuppressionCache(getSampleTCAPolicy(), 100, 60, 50d, new TestTicker());
+        narrowMarginCache.suppress("vpp-test", LOW_TRAFFIC_CLOSED_LOOP);
+        narrowMarginCache.suppress("vpp-test", HIGH_TRAFFIC_CLOSED_LOOP);
+        assertThat(narrowMarginCache.clear(createCompliantProcessorContext()), is(2));
+        assertThat(narrowMarginCache.suppress("vpp-test", LOW_TRAFFIC_CLOSED_LOOP), is(false));
+        assertThat(narrowMarginCache.getClearedCount(), is(2L));
+    }
+
+    @Test
+    public void testAlertsAreNotClearedWithoutClearMargin() throws Exception {
+        final TCAAlertSuppressionCache suppressionCache =
+                new TCAAlertSuppressionCache(getSampleTCAPolicy(), 100, 60, null, new TestTicker());
+        suppressionCache.suppress("vpp-test", LOW_TRAFFIC_CLOSED_LOOP);
+        assertThat(suppressionCache.clear(createCompliantProcessorContext()), is(0));
+        assertThat(suppressionCache.suppress("vpp-test", LOW_TRAFFIC_CLOSED_LOOP), is(true));
+    }
+
+    private TCACEFProcessorContext createCompliantProcessorContext() throws Exception {
+        final TCACEFProcessorContext processorContext =
+                new TCACEFProcessorContext(getValidCEFMessage(), getSampleTCAPolicy());
+        processorContext.setCEFEventListener(getCEFEventListener());
+        return processorContext;
+    }
+
+    private static class TestTicker extends Ticker {
+
+        private long nanos;
+
+        @Override
+        public long read() {
+            return nanos;
+        }
+
+        private void advance(final long seconds) {
+            nanos += TimeUnit.SECONDS.toNanos(seconds);
+        }
+    }
+
+}
@@ -0,0 +1,78 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.alert;
+
+import org.junit.Test;
+import org.openecomp.dcae.apod.analytics.tca.BaseAnalyticsTCAUnitTest;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class TCARequestIDGeneratorTest extends BaseAnalyticsTCAUnitTest {
+
+    @Test
+    public void testTimeBasedRequestIDIsRFC4122VersionOne() throws Exception {
+        final UUID requestID = UUID.fromString(new TimeBasedRequestIDGenerator().generateRequestID());
+        assertThat("Request ID must be version 1 UUID", requestID.version(), is(1));
+        assertThat("Request ID must be IETF variant UUID", requestID.variant(), is(2));
+        assertTrue("Request ID timestamp must be after unix epoch", requestID.timestamp() > 0x01B21DD213814000L);
+    }
+
+    @Test
+    public void testRandomRequestIDIsRFC4122VersionFour() throws Exception {
+        final UUID requestID = UUID.fromString(new RandomRequestIDGenerator().generateRequestID());
+        assertThat("Request ID must be version 4 UUID", requestID.version(), is(4));
+    }
+
+    @Test
+    public void testTimeBasedRequestIDsAreUniqueUnderContention() throws Exception {
+        final int threadCount = 4;
+        final int requestIDsPerThread = 20000;
+        final TCARequestIDGenerator requestIDGenerator = TCARequestIDGeneratorType.TIME_BASED.create();
+        final Set<String> requestIDs = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            executorService.submit(new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < requestIDsPerThread; j++) {
+                        requestIDs.add(requestIDGenerator.generateRequestID());
+                    }
+                }
+            });
+        }
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertThat("All generated request IDs must be unique", requestIDs.size(), is(threadCount * requestIDsPerThread));
+    }
+
+}
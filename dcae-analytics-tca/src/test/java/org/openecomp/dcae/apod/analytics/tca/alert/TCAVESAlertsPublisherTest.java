@@ -0,0 +1,145 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.alert;
+
+import co.cask.cdap.api.metrics.Metrics;
+import org.junit.Test;
+import org.openecomp.dcae.apod.analytics.common.CDAPMetricsConstants;
+import org.openecomp.dcae.apod.analytics.common.cdap.metrics.LatencyMetricsRecorder;
+import org.openecomp.dcae.apod.analytics.common.exception.DCAEAnalyticsRuntimeException;
+import org.openecomp.dcae.apod.analytics.dmaap.domain.response.DMaaPMRPublisherResponseImpl;
+import org.openecomp.dcae.apod.analytics.dmaap.service.publisher.DMaaPMRPublisher;
+import org.openecomp.dcae.apod.analytics.tca.BaseAnalyticsTCAUnitTest;
+import org.openecomp.dcae.apod.analytics.tca.persistance.TCAVESAlertEntity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TCAVESAlertsPublisherTest extends BaseAnalyticsTCAUnitTest {
+
+    @Test
+    public void testPublishedAlertsAreDeletedAndTheirLatenciesAreRecorded() throws Exception {
+        final DMaaPMRPublisher publisher = mock(DMaaPMRPublisher.class);
+        when(publisher.publish(anyList())).thenReturn(new DMaaPMRPublisherResponseImpl(200, "OK", 0));
+        final Metrics metrics = mock(Metrics.class);
+        final LatencyMetricsRecorder alertToPublishLatency = new LatencyMetricsRecorder("alert", 60000L);
+        final LatencyMetricsRecorder eventToPublishLatency = new LatencyMetricsRecorder("event", 60000L);
+        final TCAVESAlertsPublisher alertsPublisher = new TCAVESAlertsPublisher(publisher, null, metrics,
+                alertToPublishLatency, eventToPublishLatency);
+        final RecordingAlertsDeleter alertsDeleter = new RecordingAlertsDeleter();
+
+        assertThat(alertsPublisher.publish(createNewAlertsMap(), alertsDeleter), is(true));
+
+        verify(publisher).publish(Arrays.asList("alert-1", "alert-2"));
+        assertThat(alertsDeleter.deletedRowKeys, is(Arrays.asList("row-1", "row-2")));
+        assertThat(alertToPublishLatency.getSnapshot().getCount(), is(2L));
+        assertThat(eventToPublishLatency.getSnapshot().getCount(), is(2L));
+        verify(metrics).count(CDAPMetricsConstants.TCA_PUBLISHER_SUCCESSFUL_DMAAP_RESPONSE_METRIC, 1);
+        verify(metrics).count(CDAPMetricsConstants.TCA_PUBLISHER_DELETED_ALERTS_METRIC, 2);
+    }
+
+    @Test
+    public void testAlertsAreDeletedWhenPublishFails() throws Exception {
+        final DMaaPMRPublisher publisher = mock(DMaaPMRPublisher.class);
+        when(publisher.publish(anyList())).thenThrow(
+                new DCAEAnalyticsRuntimeException("publish failed", new IllegalStateException()));
+        final Metrics metrics = mock(Metrics.class);
+        final LatencyMetricsRecorder alertToPublishLatency = new LatencyMetricsRecorder("alert", 60000L);
+        final LatencyMetricsRecorder eventToPublishLatency = new LatencyMetricsRecorder("event", 60000L);
+        final TCAVESAlertsPublisher alertsPublisher = new TCAVESAlertsPublisher(publisher, null, metrics,
+                alertToPublishLatency, eventToPublishLatency);
+        final RecordingAlertsDeleter alertsDeleter = new RecordingAlertsDeleter();
+
+        assertThat(alertsPublisher.publish(createNewAlertsMap(), alertsDeleter), is(false));
+
+        assertThat(alertsDeleter.deletedRowKeys, is(Arrays.asList("row-1", "row-2")));
+        assertThat("Latencies of alerts which were not published must not be recorded",
+                alertToPublishLatency.getSnapshot().getCount(), is(0L));
+        verify(metrics).count(CDAPMetricsConstants.TCA_PUBLISHER_DELETED_ALERTS_METRIC, 2);
+    }
+
+    @Test
+    public void testCoalescedGroupsAreRetriedWhenPublishFails() throws Exception {
+        final DMaaPMRPublisher publisher = mock(DMaaPMRPublisher.class);
+        when(publisher.publish(anyList()))
+                .thenReturn(new DMaaPMRPublisherResponseImpl(503, "Service Unavailable", 0))
+                .thenReturn(new DMaaPMRPublisherResponseImpl(200, "OK", 0));
+        final TCAVESAlertsPublisher alertsPublisher = new TCAVESAlertsPublisher(publisher,
+                new TCAAlertCoalescer(TCAAlertCoalescingType.FIRST, 60000L), mock(Metrics.class), null, null);
+        final RecordingAlertsDeleter alertsDeleter = new RecordingAlertsDeleter();
+        final long currentTimeMS = System.currentTimeMillis();
+
+        final Map<String, TCAVESAlertEntity> firstAlertsMap = new LinkedHashMap<>();
+        firstAlertsMap.put("row-1", new TCAVESAlertEntity(currentTimeMS, "alert-1", "CL-1", "vpp-1", "MAJOR"));
+        assertThat(alertsPublisher.publish(firstAlertsMap, alertsDeleter), is(false));
+
+        final Map<String, TCAVESAlertEntity> secondAlertsMap = new LinkedHashMap<>();
+        secondAlertsMap.put("row-2", new TCAVESAlertEntity(currentTimeMS, "alert-2", "CL-1", "vpp-1", "MAJOR"));
+        assertThat(alertsPublisher.publish(secondAlertsMap, alertsDeleter), is(true));
+
+        verify(publisher).publish(Arrays.asList("alert-1"));
+        verify(publisher).publish(Arrays.asList("alert-2"));
+    }
+
+    @Test
+    public void testNoNewAlertsLookupIsCounted() throws Exception {
+        final Metrics metrics = mock(Metrics.class);
+        final TCAVESAlertsPublisher alertsPublisher = new TCAVESAlertsPublisher(null, null, metrics, null, null);
+        final RecordingAlertsDeleter alertsDeleter = new RecordingAlertsDeleter();
+
+        assertThat(alertsPublisher.publish(new LinkedHashMap<String, TCAVESAlertEntity>(), alertsDeleter), is(true));
+
+        assertThat(alertsDeleter.deletedRowKeys.isEmpty(), is(true));
+        verify(metrics).count(CDAPMetricsConstants.TCA_PUBLISHER_NO_NEW_ALERTS_LOOKUP_METRIC, 1);
+    }
+
+    private static Map<String, TCAVESAlertEntity> createNewAlertsMap() {
+        final long currentTimeMS = System.currentTimeMillis();
+        final Map<String, TCAVESAlertEntity> newAlertsMap = new LinkedHashMap<>();
+        for (int i = 1; i <= 2; i++) {
+            final TCAVESAlertEntity alertEntity = new TCAVESAlertEntity(currentTimeMS, "alert-" + i);
+            alertEntity.setAlertTimestampMS(currentTimeMS);
+            alertEntity.setEventTimestampMS(currentTimeMS - 1000L);
+            newAlertsMap.put("row-" + i, alertEntity);
+        }
+        return newAlertsMap;
+    }
+
+    private static class RecordingAlertsDeleter implements TCAVESAlertsPublisher.AlertsDeleter {
+
+        private final List<String> deletedRowKeys = new ArrayList<>();
+
+        @Override
+        public void delete(final Map<String, TCAVESAlertEntity> alertsMap) {
+            deletedRowKeys.addAll(alertsMap.keySet());
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.alert;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.Test;
+import org.openecomp.dcae.apod.analytics.model.domain.cef.CommonEventHeader;
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.MetricsPerFunctionalRole;
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.TCAPolicy;
+import org.openecomp.dcae.apod.analytics.model.facade.tca.TCAVESResponse;
+import org.openecomp.dcae.apod.analytics.tca.BaseAnalyticsTCAUnitTest;
+import org.openecomp.dcae.apod.analytics.tca.processor.TCACEFProcessorContext;
+import org.openecomp.dcae.apod.analytics.tca.utils.TCAUtils;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertThat;
+
+public class TCAVESResponseTemplateTest extends BaseAnalyticsTCAUnitTest {
+
+    private static final String TCA_APP_NAME = "TCA_APP_NAME";
+    private static final String REQUEST_ID = "c6a5d6d4-0c30-4c8a-8b3c-5a0f8d0c2c11";
+
+    @Test
+    public void testTemplateAlertMessageMatchesTCAVESResponse() throws Exception {
+        final TCAPolicy tcaPolicy = getSampleTCAPolicy();
+        final TCACEFProcessorContext processorContext = createProcessorContextWithViolations(tcaPolicy);
+        final MetricsPerFunctionalRole violatedMetrics = processorContext.getMetricsPerFunctionalRole();
+        assertNotNull("Threshold violation must be present", violatedMetrics);
+
+        final TCAVESResponseTemplates responseTemplates = new TCAVESResponseTemplates(tcaPolicy, TCA_APP_NAME);
+        final TCAVESResponseTemplate responseTemplate = responseTemplates.getTemplate(
+                violatedMetrics.getFunctionalRole(), violatedMetrics.getThresholds().get(0));
+        assertNotNull("Template must be present for violated policy threshold", responseTemplate);
+
+        final CommonEventHeader commonEventHeader =
+                processorContext.getCEFEventListener().getEvent().getCommonEventHeader();
+        final String templateAlertMessage = responseTemplate.createAlertMessage(REQUEST_ID,
+                commonEventHeader.getStartEpochMicrosec(), commonEventHeader.getReportingEntityName());
+
+        final TCAVESResponse tcavesResponse = TCAUtils.createNewTCAVESResponse(processorContext, TCA_APP_NAME);
+        tcavesResponse.setRequestID(REQUEST_ID);
+        final String expectedAlertMessage = TCAUtils.writeValueAsString(tcavesResponse);
+
+        final JsonNode templateAlertNode = ANALYTICS_MODEL_OBJECT_MAPPER.readTree(templateAlertMessage);
+        final JsonNode expectedAlertNode = ANALYTICS_MODEL_OBJECT_MAPPER.readTree(expectedAlertMessage);
+        assertThat("Template alert message must be same as TCA VES Response alert message",
+                templateAlertNode, is(expectedAlertNode));
+    }
+
+    @Test
+    public void testTemplateAlertMessageEscapesAAIId() throws Exception {
+        final TCAPolicy tcaPolicy = getSampleTCAPolicy();
+        final MetricsPerFunctionalRole metricsPerFunctionalRole = tcaPolicy.getMetricsPerFunctionalRole().get(0);
+        final TCAVESResponseTemplate responseTemplate = new TCAVESResponseTemplate(metricsPerFunctionalRole,
+                metricsPerFunctionalRole.getThresholds().get(0), TCA_APP_NAME);
+
+        final String alertMessage = responseTemplate.createAlertMessage(REQUEST_ID, null, "vnf \"quoted\"");
+        final TCAVESResponse tcavesResponse = TCAUtils.readValue(alertMessage, TCAVESResponse.class);
+        assertThat(tcavesResponse.getAai().getGenericVNFId(), is("vnf \"quoted\""));
+        assertThat(tcavesResponse.getClosedLoopEventClient(), is("DCAE_INSTANCE_ID." + TCA_APP_NAME));
+    }
+
+    @Test
+    public void testCreateNewTCAVESAlertMessage() throws Exception {
+        final TCAPolicy tcaPolicy = getSampleTCAPolicy();
+        final TCACEFProcessorContext processorContext = createProcessorContextWithViolations(tcaPolicy);
+        final String alertMessage = TCAUtils.createNewTCAVESAlertMessage(processorContext,
+                new TCAVESResponseTemplates(tcaPolicy, TCA_APP_NAME), new TimeBasedRequestIDGenerator());
+        final TCAVESResponse tcavesResponse = TCAUtils.readValue(alertMessage, TCAVESResponse.class);
+        assertNotNull("Request ID must be generated", tcavesResponse.getRequestID());
+        assertThat(tcavesResponse.getClosedLoopEventStatus(), is("ONSET"));
+    }
+
+    @Test
+    public void testCreateNewTCAVESResponseUsesRequestIDGenerator() throws Exception {
+        final TCACEFProcessorContext processorContext = createProcessorContextWithViolations(getSampleTCAPolicy());
+        final TCAVESResponse tcavesResponse = TCAUtils.createNewTCAVESResponse(processorContext, TCA_APP_NAME,
+                new TCARequestIDGenerator() {
+                    @Override
+                    public String generateRequestID() {
+                        return REQUEST_ID;
+                    }
+                });
+        assertThat(tcavesResponse.getRequestID(), is(REQUEST_ID));
+    }
+
+    private TCACEFProcessorContext createProcessorContextWithViolations(final TCAPolicy tcaPolicy) throws Exception {
+        final String cefMessage = fromStream(CEF_MESSAGE_WITH_THRESHOLD_VIOLATION_JSON_FILE_LOCATION);
+        final TCACEFProcessorContext processorContext = TCAUtils.filterCEFMessage(cefMessage, tcaPolicy);
+        return TCAUtils.computeThresholdViolations(processorContext);
+    }
+
+}
@@ -0,0 +1,87 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.generator;
+
+import org.junit.Test;
+import org.openecomp.dcae.apod.analytics.tca.BaseAnalyticsTCAUnitTest;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class TCAVESLoadGeneratorTest extends BaseAnalyticsTCAUnitTest {
+
+    @Test
+    public void testLoadGeneratorStopsAfterMaxMessages() throws Exception {
+        final TCAVESMessageGenerator messageGenerator =
+                new TCAVESMessageGenerator.Builder(getSampleTCAPolicy()).build();
+        final TCAVESLoadGenerator loadGenerator =
+                new TCAVESLoadGenerator(messageGenerator, new TCAVESLoadPacer(0, 1, 0, 0), 40, 100);
+
+        int messageCount = 0;
+        List<String> messages = loadGenerator.nextBatch();
+        while (messages != null) {
+            assertTrue("Batch must not exceed batch size", messages.size() <= 40);
+            messageCount += messages.size();
+            messages = loadGenerator.nextBatch();
+        }
+        assertThat(messageCount, is(100));
+    }
+
+    @Test
+    public void testLoadGeneratorIsPacedToTargetRate() throws Exception {
+        final TCAVESMessageGenerator messageGenerator =
+                new TCAVESMessageGenerator.Builder(getSampleTCAPolicy()).build();
+        final TCAVESLoadGenerator loadGenerator =
+                new TCAVESLoadGenerator(messageGenerator, new TCAVESLoadPacer(2000, 1, 0, 0), 50, 1000);
+
+        final long startNanos = System.nanoTime();
+        while (loadGenerator.nextBatch() != null) {
+            // consume all batches
+        }
+        final long elapsedMS = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        // last batch is sent without waiting for its own interval
+        assertTrue("1000 messages at 2000 messages/sec must take around half a second", elapsedMS >= 450);
+    }
+
+    @Test
+    public void testLoadPacerBurstRate() throws Exception {
+        final TCAVESLoadPacer loadPacer = new TCAVESLoadPacer(1000, 5, 2000, 10000);
+        assertThat(loadPacer.getRate(TimeUnit.MILLISECONDS.toNanos(500)), is(5000.0));
+        assertThat(loadPacer.getRate(TimeUnit.MILLISECONDS.toNanos(5000)), is(1000.0));
+        assertThat(loadPacer.getRate(TimeUnit.MILLISECONDS.toNanos(11000)), is(5000.0));
+    }
+
+    @Test
+    public void testStoppedLoadGeneratorReturnsNoBatch() throws Exception {
+        final TCAVESLoadGenerator loadGenerator = new TCAVESLoadGenerator(
+                new TCAVESMessageGenerator.Builder(getSampleTCAPolicy()).build(),
+                new TCAVESLoadPacer(0, 1, 0, 0), 10, 0);
+        assertThat(loadGenerator.nextBatch().size(), is(10));
+        loadGenerator.stop();
+        assertThat(loadGenerator.nextBatch(), is(nullValue()));
+    }
+
+}
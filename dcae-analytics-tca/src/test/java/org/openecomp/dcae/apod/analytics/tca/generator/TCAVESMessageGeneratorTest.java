@@ -0,0 +1,104 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.generator;
+
+import org.junit.Test;
+import org.openecomp.dcae.apod.analytics.model.domain.cef.CommonEventHeader;
+import org.openecomp.dcae.apod.analytics.model.domain.cef.EventListener;
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.TCAPolicy;
+import org.openecomp.dcae.apod.analytics.tca.BaseAnalyticsTCAUnitTest;
+import org.openecomp.dcae.apod.analytics.tca.processor.TCACEFProcessorContext;
+import org.openecomp.dcae.apod.analytics.tca.utils.TCAUtils;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class TCAVESMessageGeneratorTest extends BaseAnalyticsTCAUnitTest {
+
+    @Test
+    public void testOnlyMessagesMarkedViolatingViolatePolicyThresholds() throws Exception {
+        final TCAPolicy tcaPolicy = getSampleTCAPolicy();
+        final TCAVESMessageGenerator messageGenerator = new TCAVESMessageGenerator.Builder(tcaPolicy)
+                .setViolationRatio(0.2)
+                .setVNicCount(3)
+                .setSeed(7L)
+                .build();
+
+        final int messageCount = 2000;
+        int violatingMessageCount = 0;
+        for (int i = 0; i < messageCount; i++) {
+            final String message = messageGenerator.nextMessage();
+            final TCACEFProcessorContext processorContext = TCAUtils.filterCEFMessage(message, tcaPolicy);
+            assertTrue("Generated message must be applicable to policy", processorContext.canProcessingContinue());
+            final boolean isViolating =
+                    TCAUtils.computeThresholdViolations(processorContext).getMetricsPerFunctionalRole() != null;
+            assertThat("Threshold violation must match generator violation", isViolating,
+                    is(messageGenerator.isLastMessageViolating()));
+            if (isViolating) {
+                violatingMessageCount++;
+            }
+        }
+
+        assertThat(messageGenerator.getGeneratedMessageCount(), is((long) messageCount));
+        assertThat(messageGenerator.getViolatingMessageCount(), is((long) violatingMessageCount));
+        assertTrue("Violating messages must be close to violation ratio",
+                violatingMessageCount > 300 && violatingMessageCount < 500);
+    }
+
+    @Test
+    public void testMessageMixAndEntityCardinality() throws Exception {
+        final TCAPolicy tcaPolicy = getSampleTCAPolicy();
+        final TCAVESMessageGenerator messageGenerator = new TCAVESMessageGenerator.Builder(tcaPolicy)
+                .setMessageMix("vFirewall=3,heartbeat/vFirewall=1")
+                .setEntityCount(5)
+                .setViolationRatio(1.0)
+                .setSeed(11L)
+                .build();
+
+        final int messageCount = 1000;
+        final Set<String> entityNames = new HashSet<>();
+        int inapplicableMessageCount = 0;
+        for (int i = 0; i < messageCount; i++) {
+            final String message = messageGenerator.nextMessage();
+            final EventListener eventListener = TCAUtils.readValue(message, EventListener.class);
+            final CommonEventHeader commonEventHeader = eventListener.getEvent().getCommonEventHeader();
+            assertThat(commonEventHeader.getFunctionalRole(), is("vFirewall"));
+            assertThat(eventListener.getEvent().getMeasurementsForVfScalingFields().getVNicUsageArray().size(),
+                    is(2));
+            entityNames.add(commonEventHeader.getReportingEntityName());
+            if (!TCAUtils.filterCEFMessage(message, tcaPolicy).canProcessingContinue()) {
+                inapplicableMessageCount++;
+                assertThat("Inapplicable messages must not be violating", messageGenerator.isLastMessageViolating(),
+                        is(false));
+            }
+        }
+
+        assertThat(entityNames.size(), is(5));
+        assertTrue("Other domain messages must be close to their mix weight",
+                inapplicableMessageCount > 200 && inapplicableMessageCount < 300);
+        assertThat(messageGenerator.getViolatingMessageCount(), is((long) (messageCount - inapplicableMessageCount)));
+    }
+
+}
@@ -0,0 +1,74 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.metrics;
+
+import co.cask.cdap.api.metrics.Metrics;
+import org.junit.Test;
+import org.openecomp.dcae.apod.analytics.tca.BaseAnalyticsTCAUnitTest;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class CDAPDMaaPMRMetricsTest extends BaseAnalyticsTCAUnitTest {
+
+    @Test
+    public void testPublishMetricsAreReportedUnderPrefix() throws Exception {
+        final Metrics metrics = mock(Metrics.class);
+        final CDAPDMaaPMRMetrics dmaapMRMetrics = new CDAPDMaaPMRMetrics(metrics, "tca.test.dmaap", 0);
+
+        dmaapMRMetrics.recordPublish(5, 1024, 200, 10, 3);
+        dmaapMRMetrics.recordPublisherQueueDepth(4, 7);
+        dmaapMRMetrics.recordRecoveryQueueSpill(5, true);
+
+        verify(metrics).count("tca.test.dmaap.publish.requests", 1);
+        verify(metrics).count("tca.test.dmaap.publish.messages", 5);
+        verify(metrics).count("tca.test.dmaap.publish.request_bytes", 1024);
+        verify(metrics).count("tca.test.dmaap.publish.status.200", 1);
+        verify(metrics).gauge("tca.test.dmaap.publish.latency_ms.max", 3);
+        verify(metrics).gauge("tca.test.dmaap.queue.batch_depth", 4);
+        verify(metrics).gauge("tca.test.dmaap.queue.recovery_depth", 7);
+        verify(metrics).count("tca.test.dmaap.recovery.dropped", 5);
+        verify(metrics, never()).count("tca.test.dmaap.recovery.spilled", 5);
+    }
+
+    @Test
+    public void testFetchMetricsAreReportedUnderPrefix() throws Exception {
+        final Metrics metrics = mock(Metrics.class);
+        final CDAPDMaaPMRMetrics dmaapMRMetrics = new CDAPDMaaPMRMetrics(metrics, "tca.test.dmaap", 0);
+
+        dmaapMRMetrics.recordFetch(2, 200, 512, 20);
+        dmaapMRMetrics.recordFetchError(30);
+        dmaapMRMetrics.recordConnectionPoolStats(1, 2, 0, 20);
+
+        verify(metrics).count("tca.test.dmaap.fetch.requests", 1);
+        verify(metrics).count("tca.test.dmaap.fetch.messages", 2);
+        verify(metrics).count("tca.test.dmaap.fetch.response_bytes", 512);
+        verify(metrics).count("tca.test.dmaap.fetch.errors", 1);
+        verify(metrics, times(2)).gauge(startsWith("tca.test.dmaap.fetch.latency_ms.p50"), anyLong());
+        verify(metrics).gauge("tca.test.dmaap.pool.leased", 1);
+        verify(metrics).gauge("tca.test.dmaap.pool.max", 20);
+    }
+
+}
@@ -24,6 +24,7 @@ import org.junit.Test;
 import org.openecomp.dcae.apod.analytics.common.service.processor.ProcessingState;
 import org.openecomp.dcae.apod.analytics.model.domain.cef.EventListener;
 import org.openecomp.dcae.apod.analytics.tca.BaseAnalyticsTCAUnitTest;
+import org.openecomp.dcae.apod.analytics.tca.threshold.TCAPolicyThresholds;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertFalse;
@@ -74,4 +75,23 @@ public class TCACEFPolicyThresholdsProcessorTest extends BaseAnalyticsTCAUnitTes
 
     }
 
+    @Test
+    public void testCEFPolicyThresholdProcessorWithPreCompiledThresholds() throws Exception {
+
+        final String cefMessageString = fromStream(CEF_MESSAGE_WITH_THRESHOLD_VIOLATION_JSON_FILE_LOCATION);
+        final TCACEFProcessorContext tcacefProcessorContext = new TCACEFProcessorContext(cefMessageString,
+                getSampleTCAPolicy());
+        tcacefProcessorContext.setCEFEventListener(getCEFEventListener());
+
+        AbstractTCAECEFPolicyProcessor policyThresholdsProcessor =
+                new TCACEFPolicyThresholdsProcessor(new TCAPolicyThresholds(getSampleTCAPolicy()));
+        final TCACEFProcessorContext finalProcessorContext = policyThresholdsProcessor.apply(tcacefProcessorContext);
+
+        assertTrue("Process Context can Processing Continue flag should be true", finalProcessorContext
+                .canProcessingContinue());
+        assertThat("Policy Threshold Processor State must be successful",
+                policyThresholdsProcessor.getProcessingState(), is(ProcessingState.PROCESSING_FINISHED_SUCCESSFULLY));
+
+    }
+
 }
@@ -0,0 +1,68 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.record;
+
+import org.junit.Test;
+import org.openecomp.dcae.apod.analytics.model.domain.cef.EventSeverity;
+import org.openecomp.dcae.apod.analytics.tca.BaseAnalyticsTCAUnitTest;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+
+public class TCAVESAlertRecordTest extends BaseAnalyticsTCAUnitTest {
+
+    @Test
+    public void testRecordBinaryRoundTrip() throws Exception {
+        final TCAVESAlertRecord alertRecord =
+                new TCAVESAlertRecord("CL-1", "vpp-test", EventSeverity.CRITICAL, "{\"closedLoopControlName\":1}");
+        final TCAVESAlertRecord decodedRecord = TCAVESAlertRecord.fromBytes(alertRecord.toBytes());
+        assertThat(decodedRecord.getClosedLoopControlName(), is("CL-1"));
+        assertThat(decodedRecord.getTarget(), is("vpp-test"));
+        assertThat(decodedRecord.getSeverity(), is(EventSeverity.CRITICAL));
+        assertThat(decodedRecord.getAlertMessage(), is("{\"closedLoopControlName\":1}"));
+    }
+
+    @Test
+    public void testRecordBinaryRoundTripWithoutIndexFields() throws Exception {
+        final TCAVESAlertRecord alertRecord = new TCAVESAlertRecord(null, null, null, "{}");
+        final TCAVESAlertRecord decodedRecord = TCAVESAlertRecord.fromBytes(alertRecord.toBytes());
+        assertNull(decodedRecord.getClosedLoopControlName());
+        assertNull(decodedRecord.getTarget());
+        assertNull(decodedRecord.getSeverity());
+        assertThat(decodedRecord.getAlertMessage(), is("{}"));
+        assertNull(decodedRecord.getEventTimestampMS());
+        assertNull(decodedRecord.getFetchTimestampMS());
+        assertNull(decodedRecord.getAlertTimestampMS());
+    }
+
+    @Test
+    public void testRecordBinaryRoundTripWithTimestamps() throws Exception {
+        final TCAVESAlertRecord alertRecord = new TCAVESAlertRecord("CL-1", "vpp-test", EventSeverity.MAJOR, "{}",
+                1477070220290L, null, 1477070220390L);
+        final TCAVESAlertRecord decodedRecord = TCAVESAlertRecord.fromBytes(alertRecord.toBytes());
+        assertThat(decodedRecord.getSeverity(), is(EventSeverity.MAJOR));
+        assertThat(decodedRecord.getEventTimestampMS(), is(1477070220290L));
+        assertNull(decodedRecord.getFetchTimestampMS());
+        assertThat(decodedRecord.getAlertTimestampMS(), is(1477070220390L));
+    }
+
+}
@@ -0,0 +1,132 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.record;
+
+import com.google.common.base.Charsets;
+import org.junit.Test;
+import org.openecomp.dcae.apod.analytics.model.domain.cef.CommonEventHeader;
+import org.openecomp.dcae.apod.analytics.tca.BaseAnalyticsTCAUnitTest;
+import org.openecomp.dcae.apod.analytics.tca.processor.TCACEFProcessorContext;
+import org.openecomp.dcae.apod.analytics.tca.utils.TCAUtils;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class TCAVESMessageRecordTest extends BaseAnalyticsTCAUnitTest {
+
+    @Test
+    public void testFromVESMessageExtractsCommonEventHeader() throws Exception {
+        final TCAVESMessageRecord messageRecord =
+                TCAVESMessageRecord.fromVESMessage(getValidCEFMessage().getBytes(Charsets.UTF_8));
+        assertTrue("Common Event Header must be present", messageRecord.isHeaderPresent());
+        assertThat(messageRecord.getDomain(), is("measurementsForVfScaling"));
+        assertThat(messageRecord.getFunctionalRole(), is("vFirewall"));
+        assertThat(messageRecord.getReportingEntityName(), is("vpp-test"));
+        assertThat(messageRecord.getStartEpochMicrosec(), is(1477070210290442L));
+        assertThat(messageRecord.getLastEpochMicrosec(), is(1477070220290442L));
+    }
+
+    @Test
+    public void testFromVESMessageWithInvalidJson() throws Exception {
+        final TCAVESMessageRecord messageRecord =
+                TCAVESMessageRecord.fromVESMessage("{\"event\": {\"commonEventHeader\": ".getBytes(Charsets.UTF_8));
+        assertFalse("Common Event Header must not be present", messageRecord.isHeaderPresent());
+        assertNull(messageRecord.getDomain());
+    }
+
+    @Test
+    public void testExtractCommonEventHeaderFromVESMessageString() throws Exception {
+        final String cefMessage = getValidCEFMessage();
+        final CommonEventHeader commonEventHeader = TCAVESMessageRecord.extractCommonEventHeader(cefMessage);
+        assertNotNull("Common Event Header must be present", commonEventHeader);
+        assertThat(commonEventHeader.getReportingEntityName(), is("vpp-test"));
+        assertThat(commonEventHeader.getLastEpochMicrosec(), is(1477070220290442L));
+        assertThat(TCAVESMessageRecord.getPartitionHash(commonEventHeader, cefMessage),
+                is(TCAVESMessageRecord.fromVESMessage(cefMessage.getBytes(Charsets.UTF_8)).getPartitionHash()));
+    }
+
+    @Test
+    public void testExtractCommonEventHeaderWithInvalidJson() throws Exception {
+        final String invalidMessage = "{\"event\": {\"commonEventHeader\": ";
+        assertNull(TCAVESMessageRecord.extractCommonEventHeader(invalidMessage));
+        assertThat(TCAVESMessageRecord.getPartitionHash(null, invalidMessage), is(invalidMessage.hashCode()));
+    }
+
+    @Test
+    public void testRecordBinaryRoundTrip() throws Exception {
+        final String cefMessage = getValidCEFMessage();
+        final TCAVESMessageRecord messageRecord =
+                TCAVESMessageRecord.fromVESMessage(cefMessage.getBytes(Charsets.UTF_8));
+        final TCAVESMessageRecord decodedRecord = TCAVESMessageRecord.fromBytes(messageRecord.toBytes());
+        assertTrue(decodedRecord.isHeaderPresent());
+        assertThat(decodedRecord.getFunctionalRole(), is("vFirewall"));
+        assertThat(decodedRecord.getStartEpochMicrosec(), is(1477070210290442L));
+        assertThat(decodedRecord.getVESMessage(), is(cefMessage));
+
+        final CommonEventHeader commonEventHeader =
+                decodedRecord.createHeaderOnlyEventListener().getEvent().getCommonEventHeader();
+        assertThat(commonEventHeader.getReportingEntityName(), is("vpp-test"));
+        assertNull(decodedRecord.getFetchTimestampMS());
+    }
+
+    @Test
+    public void testRecordBinaryRoundTripWithFetchTimestamp() throws Exception {
+        final TCAVESMessageRecord messageRecord =
+                TCAVESMessageRecord.fromVESMessage(getValidCEFMessage().getBytes(Charsets.UTF_8));
+        messageRecord.setFetchTimestampMS(1477070220390L);
+        final TCAVESMessageRecord decodedRecord = TCAVESMessageRecord.fromBytes(messageRecord.toBytes());
+        assertThat(decodedRecord.getFetchTimestampMS(), is(1477070220390L));
+        assertThat(decodedRecord.getReportingEntityName(), is("vpp-test"));
+    }
+
+    @Test
+    public void testFilterCEFMessageRecord() throws Exception {
+        final TCAVESMessageRecord messageRecord =
+                TCAVESMessageRecord.fromVESMessage(getValidCEFMessage().getBytes(Charsets.UTF_8));
+        final TCACEFProcessorContext processorContext =
+                TCAUtils.filterCEFMessage(messageRecord, getSampleTCAPolicy());
+        assertTrue("Valid CEF Message must pass all filters", processorContext.canProcessingContinue());
+        assertNotNull("Full CEF Message must be parsed",
+                processorContext.getCEFEventListener().getEvent().getMeasurementsForVfScalingFields());
+    }
+
+    @Test
+    public void testFilterCEFMessageRecordPropagatesFetchTimestamp() throws Exception {
+        final TCAVESMessageRecord messageRecord =
+                TCAVESMessageRecord.fromVESMessage(getValidCEFMessage().getBytes(Charsets.UTF_8));
+        messageRecord.setFetchTimestampMS(1477070220390L);
+        final TCACEFProcessorContext processorContext =
+                TCAUtils.filterCEFMessage(messageRecord, getSampleTCAPolicy());
+        assertThat(processorContext.getFetchTimestampMS(), is(1477070220390L));
+    }
+
+    @Test
+    public void testGetEventTimestampMSPrefersLastEpoch() throws Exception {
+        assertThat(TCAUtils.getEventTimestampMS(1477070210290442L, 1477070220290442L), is(1477070220290L));
+        assertThat(TCAUtils.getEventTimestampMS(1477070210290442L, null), is(1477070210290L));
+        assertNull(TCAUtils.getEventTimestampMS(null, null));
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.replay;
+
+import com.google.common.base.Charsets;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openecomp.dcae.apod.analytics.tca.BaseAnalyticsTCAUnitTest;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class TCAVESCaptureReaderTest extends BaseAnalyticsTCAUnitTest {
+
+    private static final String CAPTURE_CONTENT = "{\"id\":1}\n\n{\"id\":22}\r\n{\"id\":333}\n{\"id\":4444}";
+    private static final List<String> CAPTURE_RECORDS =
+            Arrays.asList("{\"id\":1}", "{\"id\":22}", "{\"id\":333}", "{\"id\":4444}");
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testPlainCaptureRecordsSpanningMappedRegions() throws Exception {
+        final File captureFile = writeCapture(false);
+        // mapped regions smaller than two records force remapping from partially read records
+        try (TCAVESCaptureReader captureReader = TCAVESCaptureReader.open(captureFile, 16, 16)) {
+            assertThat(readRecords(captureReader), is(CAPTURE_RECORDS));
+            assertThat(captureReader.getRecordCount(), is(4L));
+            assertThat(captureReader.getByteCount(), is(38L));
+        }
+    }
+
+    @Test
+    public void testGzipCaptureRecordsSpanningReadBuffers() throws Exception {
+        final File captureFile = writeCapture(true);
+        try (TCAVESCaptureReader captureReader = TCAVESCaptureReader.open(captureFile, 16, 4)) {
+            assertThat(readRecords(captureReader), is(CAPTURE_RECORDS));
+        }
+    }
+
+    @Test
+    public void testRecordsStayValidAfterSubsequentReads() throws Exception {
+        final File captureFile = writeCapture(true);
+        try (TCAVESCaptureReader captureReader = TCAVESCaptureReader.open(captureFile, 16, 4)) {
+            final List<ByteBuffer> records = new ArrayList<>();
+            ByteBuffer record = captureReader.nextRecord();
+            while (record != null) {
+                records.add(record);
+                record = captureReader.nextRecord();
+            }
+            final List<String> decodedRecords = new ArrayList<>();
+            for (ByteBuffer capturedRecord : records) {
+                decodedRecords.add(Charsets.UTF_8.decode(capturedRecord).toString());
+            }
+            assertThat(decodedRecords, is(CAPTURE_RECORDS));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testRecordLargerThanMappedRegionFails() throws Exception {
+        final File captureFile = writeCapture(false);
+        try (TCAVESCaptureReader captureReader = TCAVESCaptureReader.open(captureFile, 8, 8)) {
+            readRecords(captureReader);
+        }
+    }
+
+    private File writeCapture(final boolean isGzip) throws Exception {
+        final File captureFile = temporaryFolder.newFile(isGzip ? "capture.json.gz" : "capture.json");
+        try (OutputStream outputStream = isGzip ? new GZIPOutputStream(new FileOutputStream(captureFile)) :
+                new FileOutputStream(captureFile)) {
+            outputStream.write(CAPTURE_CONTENT.getBytes(Charsets.UTF_8));
+        }
+        return captureFile;
+    }
+
+    private static List<String> readRecords(final TCAVESCaptureReader captureReader) throws Exception {
+        final List<String> records = new ArrayList<>();
+        ByteBuffer record = captureReader.nextRecord();
+        while (record != null) {
+            records.add(Charsets.UTF_8.decode(record).toString());
+            record = captureReader.nextRecord();
+        }
+        return records;
+    }
+
+}
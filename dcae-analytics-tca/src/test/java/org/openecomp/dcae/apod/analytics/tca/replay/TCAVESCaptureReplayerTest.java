@@ -0,0 +1,106 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.replay;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.Files;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openecomp.dcae.apod.analytics.tca.BaseAnalyticsTCAUnitTest;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class TCAVESCaptureReplayerTest extends BaseAnalyticsTCAUnitTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testExtractEpochMicros() throws Exception {
+        assertThat(TCAVESCaptureReplayer.extractEpochMicros(toRecord(
+                "{\"startEpochMicrosec\":100,\"lastEpochMicrosec\": 1477070220290442}")), is(1477070220290442L));
+        assertThat(TCAVESCaptureReplayer.extractEpochMicros(toRecord("{\"startEpochMicrosec\":100}")), is(100L));
+        assertThat(TCAVESCaptureReplayer.extractEpochMicros(toRecord("{\"lastEpochMicrosec\":null}")), is(-1L));
+        assertThat(TCAVESCaptureReplayer.extractEpochMicros(toRecord("{\"sequence\":1}")), is(-1L));
+    }
+
+    @Test
+    public void testAsFastAsPossibleReplayDecodesAllRecords() throws Exception {
+        final File captureFile = writeCapture(0, 0, 0, 0, 0);
+        try (TCAVESCaptureReplayer captureReplayer =
+                     TCAVESCaptureReplayer.create(captureFile, TCAVESReplayMode.AS_FAST_AS_POSSIBLE, 1, 2)) {
+            assertThat(captureReplayer.nextBatch().size(), is(2));
+            assertThat(captureReplayer.nextBatch().size(), is(2));
+            final List<String> lastBatch = captureReplayer.nextBatch();
+            assertThat(lastBatch.size(), is(1));
+            assertThat(getSequence(lastBatch.get(0)), is(4));
+            assertThat(captureReplayer.nextBatch() == null, is(true));
+            assertThat(captureReplayer.getRecordCount(), is(5L));
+        }
+    }
+
+    @Test
+    public void testOriginalTimingReplayKeepsRecordSpacing() throws Exception {
+        // records 200 ms apart in capture are replayed 100 ms apart at speed factor 2
+        final File captureFile = writeCapture(0, 0, 200, 200, 400);
+        try (TCAVESCaptureReplayer captureReplayer =
+                     TCAVESCaptureReplayer.create(captureFile, TCAVESReplayMode.ORIGINAL_TIMING, 2, 10)) {
+            final long startNanos = System.nanoTime();
+            assertThat("Records due together must be batched together", captureReplayer.nextBatch().size(), is(2));
+            assertThat(captureReplayer.nextBatch().size(), is(2));
+            assertThat(captureReplayer.nextBatch().size(), is(1));
+            final long elapsedMS = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            assertTrue("Replay must take around 200 ms but took: " + elapsedMS, elapsedMS >= 190 && elapsedMS < 1000);
+            assertThat(captureReplayer.nextBatch() == null, is(true));
+        }
+    }
+
+    private File writeCapture(final long... recordOffsetsMS) throws Exception {
+        final StringBuilder captureBuilder = new StringBuilder();
+        for (int i = 0; i < recordOffsetsMS.length; i++) {
+            final long epochMicros = 1477070220290442L + TimeUnit.MILLISECONDS.toMicros(recordOffsetsMS[i]);
+            captureBuilder.append("{\"event\":{\"commonEventHeader\":{\"sequence\":").append(i)
+                    .append(",\"lastEpochMicrosec\":").append(epochMicros).append("}}}\n");
+        }
+        final File captureFile = temporaryFolder.newFile("capture.json");
+        Files.write(captureBuilder.toString(), captureFile, Charsets.UTF_8);
+        return captureFile;
+    }
+
+    private static int getSequence(final String message) {
+        final String sequencePrefix = "\"sequence\":";
+        final int sequenceIndex = message.indexOf(sequencePrefix) + sequencePrefix.length();
+        return Integer.parseInt(message.substring(sequenceIndex, message.indexOf(',', sequenceIndex)));
+    }
+
+    private static ByteBuffer toRecord(final String record) {
+        return ByteBuffer.wrap(record.getBytes(Charsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.runner;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.Test;
+import org.openecomp.dcae.apod.analytics.common.CDAPMetricsConstants;
+import org.openecomp.dcae.apod.analytics.dmaap.domain.response.DMaaPMRPublisherResponse;
+import org.openecomp.dcae.apod.analytics.dmaap.service.publisher.DMaaPMRPublisher;
+import org.openecomp.dcae.apod.analytics.tca.BaseAnalyticsTCAUnitTest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.anyListOf;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TCAPipelineRunnerTest extends BaseAnalyticsTCAUnitTest {
+
+    @Test
+    public void testAllMessagesAreProcessedByAllCalculatorInstances() throws Exception {
+        final TCAPipelineSource source = new TCAPipelineFileSource(getCEFMessageStrings(), 2, 100);
+        final TCAPipelineReport report = new TCAPipelineRunner.Builder(getSampleTCAPolicy(), source)
+                .setCalculatorInstances(3)
+                .setQueueCapacity(10)
+                .build()
+                .run();
+
+        final long messageCount = 700;
+        assertThat(report.getStageStats(TCAPipelineRunner.SOURCE_STAGE_NAME).getProcessedCount(), is(messageCount));
+        assertThat(report.getStageStats(TCAPipelineRunner.ROUTER_STAGE_NAME).getProcessedCount(), is(messageCount));
+        assertThat(report.getStageStats(TCAPipelineRunner.CALCULATOR_STAGE_NAME).getProcessedCount(),
+                is(messageCount));
+        assertThat(report.getCalculatorInstanceStats().size(), is(3));
+
+        final TCAPipelineMetrics metrics = report.getMetrics();
+        assertThat("Each message must be either compliant, non compliant or inapplicable",
+                metrics.getCount(CDAPMetricsConstants.TCA_VES_COMPLIANT_MESSAGES_METRIC) +
+                        metrics.getCount(CDAPMetricsConstants.TCA_VES_NON_COMPLIANT_MESSAGES_METRIC) +
+                        metrics.getCount(CDAPMetricsConstants.TCA_VES_INAPPLICABLE_MESSAGES_METRIC),
+                is(messageCount));
+
+        for (TCAInMemoryTable<?> table : report.getTables()) {
+            if (table.getTableName().equals(TCAPipelineRunner.ALERTS_TABLE_NAME)) {
+                assertThat("All alerts must be deleted from alerts table after publishing", table.getSize(), is(0));
+            }
+        }
+    }
+
+    @Test
+    public void testAlertsArePublishedToPublisher() throws Exception {
+        final DMaaPMRPublisher publisher = mock(DMaaPMRPublisher.class);
+        final DMaaPMRPublisherResponse publisherResponse = mock(DMaaPMRPublisherResponse.class);
+        when(publisherResponse.getResponseCode()).thenReturn(200);
+        when(publisher.publish(anyListOf(String.class))).thenReturn(publisherResponse);
+
+        final List<String> messages =
+                Collections.singletonList(fromStream(CEF_MESSAGE_WITH_THRESHOLD_VIOLATION_JSON_FILE_LOCATION));
+        final TCAPipelineReport report =
+                new TCAPipelineRunner.Builder(getSampleTCAPolicy(), new TCAPipelineFileSource(messages, 1, 1))
+                        .setPublisher(publisher)
+                        .build()
+                        .run();
+
+        assertThat(report.getStageStats(TCAPipelineRunner.ALERTS_SINK_STAGE_NAME).getProcessedCount(), is(1L));
+        assertThat(report.getStageStats(TCAPipelineRunner.PUBLISHER_STAGE_NAME).getProcessedCount(), is(1L));
+        verify(publisher).publish(anyListOf(String.class));
+        verify(publisher).flush();
+    }
+
+    @Test
+    public void testSourceStopsAfterMaxMessages() throws Exception {
+        final TCAPipelineSource source = new TCAPipelineFileSource(getCEFMessageStrings(), 10, 100);
+        final TCAPipelineReport report = new TCAPipelineRunner.Builder(getSampleTCAPolicy(), source)
+                .setMaxMessages(150)
+                .build()
+                .run();
+
+        assertThat(report.getStageStats(TCAPipelineRunner.CALCULATOR_STAGE_NAME).getProcessedCount(), is(150L));
+    }
+
+    private List<String> getCEFMessageStrings() throws Exception {
+        final JsonNode messagesNode =
+                ANALYTICS_MODEL_OBJECT_MAPPER.readTree(fromStream(CEF_MESSAGES_JSON_FILE_LOCATION));
+        final List<String> messages = new ArrayList<>();
+        for (JsonNode messageNode : messagesNode) {
+            messages.add(messageNode.toString());
+        }
+        return messages;
+    }
+
+}
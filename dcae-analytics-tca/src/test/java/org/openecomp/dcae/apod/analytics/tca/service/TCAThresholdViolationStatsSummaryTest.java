@@ -0,0 +1,150 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.service;
+
+import org.junit.Test;
+import org.openecomp.dcae.apod.analytics.model.domain.cef.EventSeverity;
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.Threshold;
+import org.openecomp.dcae.apod.analytics.tca.BaseAnalyticsTCAUnitTest;
+import org.openecomp.dcae.apod.analytics.tca.persistance.TCAThresholdViolationStatsEntity;
+import org.openecomp.dcae.apod.analytics.tca.persistance.TCAThresholdViolationStatsPersister;
+import org.openecomp.dcae.apod.analytics.tca.threshold.TCAThresholdViolationStats;
+import org.openecomp.dcae.apod.analytics.tca.threshold.TCAThresholdViolationStatsSink;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+
+public class TCAThresholdViolationStatsSummaryTest extends BaseAnalyticsTCAUnitTest {
+
+    private static final long WINDOW_START_MS = TimeUnit.HOURS.toMillis(1);
+    private static final long FIRST_RUN_START_MS = 1000L;
+    private static final long SECOND_RUN_START_MS = 2000L;
+    private static final String FUNCTIONAL_ROLE = "vFirewall";
+
+    @Test
+    public void testSummarizeByThresholdMergesCalculatorInstancesAndRuns() throws Exception {
+        final Threshold threshold = createThreshold("CL-1", EventSeverity.CRITICAL);
+        final TCAThresholdViolationStats.ThresholdStats firstInstanceStats =
+                createThresholdStats(threshold, "vpp-1", "vpp-1", "vpp-2");
+        final TCAThresholdViolationStats.ThresholdStats secondInstanceStats =
+                createThresholdStats(threshold, "vpp-1", "vpp-3");
+        final TCAThresholdViolationStats.ThresholdStats restartedInstanceStats =
+                createThresholdStats(threshold, "vpp-3");
+
+        final List<TCAThresholdViolationStatsEntity> statsEntities = Arrays.asList(
+                createStatsEntity(0, FIRST_RUN_START_MS, firstInstanceStats),
+                createStatsEntity(1, FIRST_RUN_START_MS, secondInstanceStats),
+                createStatsEntity(0, SECOND_RUN_START_MS, restartedInstanceStats));
+        final List<TCAThresholdViolationStatsSummary> summaries =
+                TCAThresholdViolationStatsSummary.summarizeByThreshold(statsEntities, 2);
+
+        assertThat(summaries.size(), is(1));
+        final TCAThresholdViolationStatsSummary summary = summaries.get(0);
+        assertThat(summary.getFunctionalRole(), is(FUNCTIONAL_ROLE));
+        assertThat(summary.getClosedLoopControlName(), is("CL-1"));
+        assertThat(summary.getThresholdSeverity(), is("CRITICAL"));
+        assertThat(summary.getViolationCount(), is(6L));
+        assertThat(summary.getAlertCount(), is(6L));
+        assertThat(summary.getTopOffenders().size(), is(2));
+        assertThat(summary.getTopOffenders().get(0).getItem(), is("vpp-1"));
+        assertThat(summary.getTopOffenders().get(0).getCount(), is(3L));
+        assertThat(summary.getTopOffenders().get(1).getItem(), is("vpp-3"));
+        assertThat(summary.getTopOffenders().get(1).getCount(), is(2L));
+    }
+
+    @Test
+    public void testSummarizeByPolicyGroupsByClosedLoopControlName() throws Exception {
+        final List<TCAThresholdViolationStatsEntity> statsEntities = Arrays.asList(
+                createStatsEntity(0, FIRST_RUN_START_MS,
+                        createThresholdStats(createThreshold("CL-1", EventSeverity.CRITICAL), "vpp-1")),
+                createStatsEntity(1, FIRST_RUN_START_MS,
+                        createThresholdStats(createThreshold("CL-1", EventSeverity.MAJOR), "vpp-2")),
+                createStatsEntity(0, FIRST_RUN_START_MS,
+                        createThresholdStats(createThreshold("CL-2", EventSeverity.CRITICAL), "vpp-1", "vpp-1",
+                                "vpp-1")));
+        final List<TCAThresholdViolationStatsSummary> summaries =
+                TCAThresholdViolationStatsSummary.summarizeByPolicy(statsEntities, 2);
+
+        assertThat(summaries.size(), is(2));
+        assertThat(summaries.get(0).getClosedLoopControlName(), is("CL-2"));
+        assertThat(summaries.get(0).getViolationCount(), is(3L));
+        assertThat(summaries.get(1).getClosedLoopControlName(), is("CL-1"));
+        assertThat(summaries.get(1).getViolationCount(), is(2L));
+        assertThat(summaries.get(1).getTopOffenders().size(), is(2));
+    }
+
+    @Test
+    public void testRowKeysOfCalculatorInstanceRunsAreDifferent() throws Exception {
+        final TCAThresholdViolationStats.ThresholdStats thresholdStats =
+                createThresholdStats(createThreshold("CL-1", EventSeverity.CRITICAL), "vpp-1");
+        final String firstRunRowKey = TCAThresholdViolationStatsPersister.createRowKey(WINDOW_START_MS, 0,
+                FIRST_RUN_START_MS, thresholdStats);
+        final String secondRunRowKey = TCAThresholdViolationStatsPersister.createRowKey(WINDOW_START_MS, 0,
+                SECOND_RUN_START_MS, thresholdStats);
+
+        assertThat("Restarted calculator instance must not overwrite stats of previous run",
+                firstRunRowKey, not(secondRunRowKey));
+        final String windowRowKey = TCAThresholdViolationStatsPersister.createWindowRowKey(WINDOW_START_MS);
+        assertThat(firstRunRowKey.startsWith(windowRowKey), is(true));
+        assertThat(secondRunRowKey.startsWith(windowRowKey), is(true));
+    }
+
+    private static TCAThresholdViolationStatsEntity createStatsEntity(
+            final int flowletInstance, final long runStartMS,
+            final TCAThresholdViolationStats.ThresholdStats thresholdStats) {
+        return TCAThresholdViolationStatsPersister.createThresholdViolationStatsEntity(WINDOW_START_MS,
+                flowletInstance, runStartMS, thresholdStats);
+    }
+
+    private static TCAThresholdViolationStats.ThresholdStats createThresholdStats(
+            final Threshold threshold, final String... reportingEntityNames) {
+        final List<TCAThresholdViolationStats.ThresholdStats> savedStats = new ArrayList<>();
+        final TCAThresholdViolationStats violationStats = new TCAThresholdViolationStats(
+                new TCAThresholdViolationStatsSink() {
+                    @Override
+                    public void save(final long windowStartMS,
+                                     final Collection<TCAThresholdViolationStats.ThresholdStats> thresholdStats) {
+                        savedStats.addAll(thresholdStats);
+                    }
+                }, TimeUnit.HOURS.toMillis(1), TimeUnit.MINUTES.toMillis(1), 10);
+        for (String reportingEntityName : reportingEntityNames) {
+            violationStats.record(FUNCTIONAL_ROLE, threshold, reportingEntityName, true);
+        }
+        violationStats.flush();
+        return savedStats.get(0);
+    }
+
+    private static Threshold createThreshold(final String closedLoopControlName, final EventSeverity severity) {
+        final Threshold threshold = new Threshold();
+        threshold.setClosedLoopControlName(closedLoopControlName);
+        threshold.setFieldPath("$.event.measurementsForVfScalingFields.vNicUsageArray[*].bytesIn");
+        threshold.setSeverity(severity);
+        return threshold;
+    }
+
+}
@@ -0,0 +1,561 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+package org.openecomp.dcae.apod.analytics.tca.threshold;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.Test;
+import org.openecomp.dcae.apod.analytics.model.domain.cef.EventListener;
+import org.openecomp.dcae.apod.analytics.model.domain.cef.EventSeverity;
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.Direction;
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.MetricsPerFunctionalRole;
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.TCAPolicy;
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.Threshold;
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.ThresholdValueType;
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.ThresholdWindowAggregation;
+import org.openecomp.dcae.apod.analytics.tca.BaseAnalyticsTCAUnitTest;
+import org.openecomp.dcae.apod.analytics.tca.utils.TCAUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class TCAFunctionalRoleThresholdsTest extends BaseAnalyticsTCAUnitTest {
+
+    private static final String BYTES_IN_FIELD_PATH =
+            "$.event.measurementsForVfScalingFields.vNicUsageArray[*].bytesIn";
+    private static final String PACKETS_IN_FIELD_PATH =
+            "$.event.measurementsForVfScalingFields.vNicUsageArray[*].packetsIn";
+
+    @Test
+    public void testThresholdsAreOrderedBySeverityWithoutModifyingPolicy() throws Exception {
+        final TCAPolicy tcaPolicy = getSampleTCAPolicy();
+        final MetricsPerFunctionalRole vFirewallMetrics = tcaPolicy.getMetricsPerFunctionalRole().get(0);
+        final List<Threshold> policyThresholds = vFirewallMetrics.getThresholds();
+
+        final TCAFunctionalRoleThresholds functionalRoleThresholds =
+                new TCAPolicyThresholds(tcaPolicy).getFunctionalRoleThresholds("vFirewall");
+
+        assertThat(functionalRoleThresholds.getFieldPathCount(), is(1));
+        assertThat(functionalRoleThresholds.getFieldPath(0), is(BYTES_IN_FIELD_PATH));
+        assertThat("Critical threshold must be applied first",
+                functionalRoleThresholds.getThreshold(0), sameInstance(policyThresholds.get(1)));
+        assertThat(functionalRoleThresholds.getThreshold(1), sameInstance(policyThresholds.get(0)));
+        assertThat("Policy threshold order must not change",
+                policyThresholds.get(0).getSeverity(), is(EventSeverity.MAJOR));
+    }
+
+    @Test
+    public void testEvaluate() throws Exception {
+        final TCAPolicy tcaPolicy = getSampleTCAPolicy();
+        final TCAFunctionalRoleThresholds functionalRoleThresholds =
+                new TCAPolicyThresholds(tcaPolicy).getFunctionalRoleThresholds("vFirewall");
+
+        assertThat(functionalRoleThresholds.evaluate(new long[][]{{6086L}}),
+                is(TCAFunctionalRoleThresholds.NO_VIOLATION));
+        assertThat(functionalRoleThresholds.evaluate(new long[][]{null}),
+                is(TCAFunctionalRoleThresholds.NO_VIOLATION));
+
+        final int majorViolation = functionalRoleThresholds.evaluate(new long[][]{{6086L, 3000L}});
+        assertThat(functionalRoleThresholds.getThreshold(majorViolation).getSeverity(), is(EventSeverity.MAJOR));
+
+        final int criticalViolation = functionalRoleThresholds.evaluate(new long[][]{{3000L, 20000L}});
+        assertThat(functionalRoleThresholds.getThreshold(criticalViolation).getSeverity(),
+                is(EventSeverity.CRITICAL));
+    }
+
+    @Test
+    public void testEvaluateReturnsMaxSeverityAcrossFieldPaths() throws Exception {
+        final TCAFunctionalRoleThresholds functionalRoleThresholds = createMultiFieldPathThresholds();
+
+        assertThat(functionalRoleThresholds.getThreshold(functionalRoleThresholds.evaluate(
+                new long[][]{{6086L}, {93L}})).getSeverity(), is(EventSeverity.MAJOR));
+        assertThat(functionalRoleThresholds.getThreshold(functionalRoleThresholds.evaluate(
+                new long[][]{{6086L}, {500L}})).getSeverity(), is(EventSeverity.MINOR));
+        assertThat(functionalRoleThresholds.getThreshold(functionalRoleThresholds.evaluate(
+                new long[][]{{50L}, {500L}})).getSeverity(), is(EventSeverity.WARNING));
+    }
+
+    @Test
+    public void testEvaluateInSeverityOrderMatchesEvaluate() throws Exception {
+        final TCAFunctionalRoleThresholds functionalRoleThresholds = createMultiFieldPathThresholds();
+        final long[][][] messagesFieldValues = new long[][][]{
+                {{6086L}, {93L}}, {{6086L}, {500L}}, {{50L}, {500L}}, {{50L}, {5000L}}, {null, {5L}}, {null, null}};
+        for (final long[][] messageFieldValues : messagesFieldValues) {
+            final int severityOrderedResult = functionalRoleThresholds.evaluateInSeverityOrder(
+                    new TCAFieldValuesProvider() {
+                        @Override
+                        public TCAFieldValues getFieldValues(int fieldIndex) {
+                            return toFieldValues(messageFieldValues[fieldIndex]);
+                        }
+                    });
+            assertThat(severityOrderedResult, is(functionalRoleThresholds.evaluate(messageFieldValues)));
+        }
+    }
+
+    @Test
+    public void testEvaluateInSeverityOrderStopsAtFirstCriticalViolation() throws Exception {
+        final Threshold bytesInCriticalThreshold =
+                createThreshold(BYTES_IN_FIELD_PATH, Direction.GREATER, 100L, EventSeverity.CRITICAL);
+        final Threshold packetsInMajorThreshold =
+                createThreshold(PACKETS_IN_FIELD_PATH, Direction.LESS, 100L, EventSeverity.MAJOR);
+        final TCAFunctionalRoleThresholds functionalRoleThresholds = new TCAFunctionalRoleThresholds("vFirewall",
+                Arrays.asList(packetsInMajorThreshold, bytesInCriticalThreshold));
+
+        final List<Integer> requestedFieldIndices = new ArrayList<>();
+        final int violatedThresholdIndex = functionalRoleThresholds.evaluateInSeverityOrder(
+                new TCAFieldValuesProvider() {
+                    @Override
+                    public TCAFieldValues getFieldValues(int fieldIndex) {
+                        requestedFieldIndices.add(fieldIndex);
+                        return TCAFieldValues.of(6086L, 93L);
+                    }
+                });
+
+        assertThat(functionalRoleThresholds.getThreshold(violatedThresholdIndex),
+                sameInstance(bytesInCriticalThreshold));
+        assertThat("Packets In field values must not be extracted", requestedFieldIndices,
+                is((List<Integer>) Arrays.asList(1)));
+    }
+
+    @Test
+    public void testGetJsonPathLongValues() throws Exception {
+        final String cefMessage = getValidCEFMessage();
+        final long[] bytesInValues = TCAUtils.getJsonPathLongValues(JsonPath.parse(cefMessage), BYTES_IN_FIELD_PATH);
+        assertThat(bytesInValues.length, is(1));
+        assertThat(bytesInValues[0], is(6086L));
+        assertThat(TCAUtils.getJsonPathLongValues(JsonPath.parse(cefMessage),
+                "$.event.measurementsForVfScalingFields.vNicUsageArray[*].invalid"), nullValue());
+    }
+
+    @Test
+    public void testFieldValuesProviderReadsVNicUsageCountersFromColumns() throws Exception {
+        final String measurementIntervalFieldPath = "$.event.measurementsForVfScalingFields.measurementInterval";
+        final TCAFunctionalRoleThresholds functionalRoleThresholds = new TCAFunctionalRoleThresholds("vFirewall",
+                Arrays.asList(createThreshold(BYTES_IN_FIELD_PATH, Direction.GREATER, 100L, EventSeverity.MINOR),
+                        createThreshold(measurementIntervalFieldPath, Direction.LESS, 5L, EventSeverity.MAJOR)));
+        assertThat(functionalRoleThresholds.getVNicUsageCounterName(0), is("bytesIn"));
+        assertThat(functionalRoleThresholds.getVNicUsageCounterName(1), nullValue());
+
+        // message used for json path extraction does not contain any vNic usage array values
+        final TCAFieldValuesProvider fieldValuesProvider = TCAUtils.createFieldValuesProvider(
+                "{\"event\":{\"measurementsForVfScalingFields\":{\"measurementInterval\":10}}}",
+                getCEFEventListener(), functionalRoleThresholds);
+
+        assertThat("vNic usage counter must be read from event listener columns",
+                fieldValuesProvider.getFieldValues(0).toArray(), is(new long[]{6086L}));
+        assertThat("Other field paths must be extracted using json path",
+                fieldValuesProvider.getFieldValues(1).toArray(), is(new long[]{10L}));
+        assertThat("Json path must be used if event listener has no vNic usage columns",
+                TCAUtils.createFieldValuesProvider(getValidCEFMessage(), null, functionalRoleThresholds)
+                        .getFieldValues(0).toArray(), is(new long[]{6086L}));
+    }
+
+    @Test
+    public void testFieldExpressionThresholds() throws Exception {
+        final Threshold bytesInMajorThreshold =
+                createThreshold(BYTES_IN_FIELD_PATH, Direction.GREATER, 20000L, EventSeverity.MAJOR);
+        final Threshold packetsRatioCriticalThreshold =
+                createThreshold(null, Direction.GREATER_OR_EQUAL, 2L, EventSeverity.CRITICAL);
+        packetsRatioCriticalThreshold.setFieldExpression(
+                "$.event.measurementsForVfScalingFields.vNicUsageArray[*].packetsOut / " + PACKETS_IN_FIELD_PATH);
+        final TCAFunctionalRoleThresholds functionalRoleThresholds = new TCAFunctionalRoleThresholds("vFirewall",
+                Arrays.asList(bytesInMajorThreshold, packetsRatioCriticalThreshold));
+
+        assertThat("Expression field paths must be added as fields", functionalRoleThresholds.getFieldPathCount(),
+                is(4));
+        assertThat(functionalRoleThresholds.getFieldPath(1), nullValue());
+        assertThat(functionalRoleThresholds.getFieldExpression(1).getFieldPathCount(), is(2));
+        assertThat(functionalRoleThresholds.getFieldPath(3), is(PACKETS_IN_FIELD_PATH));
+
+        final long[][][] messagesFieldValues = new long[][][]{
+                {{6086L}, null, {42L}, {93L}}, {{30000L}, null, {42L}, {93L}}, {{30000L}, null, {200L}, {100L}},
+                {{6086L}, null, {200L}, {0L}}, {{6086L}, null, null, {10L}}};
+        final int[] expectedThresholdIndices = new int[]{TCAFunctionalRoleThresholds.NO_VIOLATION, 0, 1,
+                TCAFunctionalRoleThresholds.NO_VIOLATION, TCAFunctionalRoleThresholds.NO_VIOLATION};
+        for (int messageIndex = 0; messageIndex < messagesFieldValues.length; messageIndex++) {
+            final long[][] messageFieldValues = messagesFieldValues[messageIndex];
+            assertThat(functionalRoleThresholds.evaluate(messageFieldValues),
+                    is(expectedThresholdIndices[messageIndex]));
+            assertThat(functionalRoleThresholds.evaluateInSeverityOrder(new TCAFieldValuesProvider() {
+                @Override
+                public TCAFieldValues getFieldValues(int fieldIndex) {
+                    assertThat("Field expression values must not be requested from provider",
+                            functionalRoleThresholds.getFieldExpression(fieldIndex), nullValue());
+                    return toFieldValues(messageFieldValues[fieldIndex]);
+                }
+            }), is(expectedThresholdIndices[messageIndex]));
+        }
+        assertThat(functionalRoleThresholds.getThreshold(1), sameInstance(packetsRatioCriticalThreshold));
+    }
+
+    @Test
+    public void testFieldExpressionCombinesValuesOfSameVNic() throws Exception {
+        final Threshold bytesRatioCriticalThreshold =
+                createThreshold(null, Direction.GREATER_OR_EQUAL, 5L, EventSeverity.CRITICAL);
+        bytesRatioCriticalThreshold.setFieldExpression(
+                "$.event.measurementsForVfScalingFields.vNicUsageArray[*].bytesOut / " + BYTES_IN_FIELD_PATH);
+        final TCAFunctionalRoleThresholds functionalRoleThresholds = new TCAFunctionalRoleThresholds("vFirewall",
+                Arrays.asList(bytesRatioCriticalThreshold));
+
+        // eth0 has no bytes out - its bytes in must not be combined with bytes out of eth1
+        final String cefMessage = "{\"event\":{\"measurementsForVfScalingFields\":{\"vNicUsageArray\":[" +
+                "{\"bytesIn\":100,\"vNicIdentifier\":\"eth0\"}," +
+                "{\"bytesIn\":200,\"bytesOut\":800,\"vNicIdentifier\":\"eth1\"}]}}}";
+        final EventListener eventListener = ANALYTICS_MODEL_OBJECT_MAPPER.readValue(cefMessage, EventListener.class);
+
+        assertThat("Json path values must be combined by vNic", functionalRoleThresholds.evaluateInSeverityOrder(
+                TCAUtils.createFieldValuesProvider(cefMessage, null, functionalRoleThresholds)),
+                is(TCAFunctionalRoleThresholds.NO_VIOLATION));
+        assertThat("vNic usage column values must be combined by vNic",
+                functionalRoleThresholds.evaluateInSeverityOrder(
+                        TCAUtils.createFieldValuesProvider(cefMessage, eventListener, functionalRoleThresholds)),
+                is(TCAFunctionalRoleThresholds.NO_VIOLATION));
+    }
+
+    @Test
+    public void testDeltaAndRateThresholds() throws Exception {
+        final Threshold bytesInMinorThreshold =
+                createThreshold(BYTES_IN_FIELD_PATH, Direction.GREATER, 1000000L, EventSeverity.MINOR);
+        final Threshold bytesInDeltaMajorThreshold =
+                createThreshold(BYTES_IN_FIELD_PATH, Direction.GREATER, 1000L, EventSeverity.MAJOR);
+        bytesInDeltaMajorThreshold.setValueType(ThresholdValueType.DELTA);
+        final Threshold bytesInRateCriticalThreshold =
+                createThreshold(BYTES_IN_FIELD_PATH, Direction.GREATER, 100L, EventSeverity.CRITICAL);
+        bytesInRateCriticalThreshold.setValueType(ThresholdValueType.RATE);
+        final TCAFunctionalRoleThresholds functionalRoleThresholds = new TCAFunctionalRoleThresholds("vFirewall",
+                Arrays.asList(bytesInMinorThreshold, bytesInDeltaMajorThreshold, bytesInRateCriticalThreshold));
+
+        assertThat("Delta fields must reuse existing source field path", functionalRoleThresholds.getFieldPathCount(),
+                is(3));
+        assertThat(functionalRoleThresholds.getFieldPath(0), is(BYTES_IN_FIELD_PATH));
+        assertThat(functionalRoleThresholds.getFieldPath(1), nullValue());
+        assertThat(functionalRoleThresholds.getFieldValueType(1), is(ThresholdValueType.DELTA));
+        assertThat(functionalRoleThresholds.getFieldValueType(2), is(ThresholdValueType.RATE));
+
+        final TCAThresholdStateStore stateStore = new TCAThresholdStateStore(1000, 3600);
+        final String[] reportingEntityNames = new String[]{"vfw-1", "vfw-1", "vfw-1", "vfw-1", "vfw-1", "vfw-1",
+                "vfw-2"};
+        final long[] epochSeconds = new long[]{0L, 60L, 120L, 120L, 180L, 240L, 240L};
+        final long[] bytesInValues = new long[]{5000L, 5500L, 12000L, 99999L, 300L, 2000L, 2000L};
+        // first message, delta 500, rate above limit, duplicate message, counter reset, delta above limit, new entity
+        final Threshold[] expectedViolations = new Threshold[]{null, null, bytesInRateCriticalThreshold, null, null,
+                bytesInDeltaMajorThreshold, null};
+        for (int messageIndex = 0; messageIndex < bytesInValues.length; messageIndex++) {
+            final TCAFieldValues messageBytesInValues = TCAFieldValues.of(bytesInValues[messageIndex]);
+            final TCAFieldValuesProvider fieldValuesProvider = new TCAFieldValuesProvider() {
+                @Override
+                public TCAFieldValues getFieldValues(int fieldIndex) {
+                    assertThat("Delta field values must not be requested from provider",
+                            functionalRoleThresholds.getFieldValueType(fieldIndex), nullValue());
+                    return messageBytesInValues;
+                }
+            };
+            final int violatedThresholdIndex = functionalRoleThresholds.evaluateInSeverityOrder(fieldValuesProvider,
+                    stateStore, reportingEntityNames[messageIndex], epochSeconds[messageIndex] * 1000000L);
+            assertThat(violatedThresholdIndex == TCAFunctionalRoleThresholds.NO_VIOLATION ? null :
+                    functionalRoleThresholds.getThreshold(violatedThresholdIndex),
+                    is(expectedViolations[messageIndex]));
+            assertThat("Delta fields must not be evaluated without state",
+                    functionalRoleThresholds.evaluateInSeverityOrder(fieldValuesProvider),
+                    is(TCAFunctionalRoleThresholds.NO_VIOLATION));
+        }
+        assertThat(stateStore.getSize(), is(4L));
+    }
+
+    @Test
+    public void testDeltaThresholdsCompareCountersOfSameVNicWhenVNicsAreReordered() throws Exception {
+        final Threshold bytesInDeltaCriticalThreshold =
+                createThreshold(BYTES_IN_FIELD_PATH, Direction.GREATER, 100L, EventSeverity.CRITICAL);
+        bytesInDeltaCriticalThreshold.setValueType(ThresholdValueType.DELTA);
+        final TCAFunctionalRoleThresholds functionalRoleThresholds = new TCAFunctionalRoleThresholds("vFirewall",
+                Arrays.asList(bytesInDeltaCriticalThreshold));
+
+        final TCAThresholdStateStore stateStore = new TCAThresholdStateStore(1000, 3600);
+        // eth1 moves ahead of eth0 and eth2 is added in second message - each vNic counter grows by 50 only
+        final String[][] vNicIdentifiers = new String[][]{{"eth0", "eth1"}, {"eth2", "eth1", "eth0"}};
+        final long[][] bytesInValues = new long[][]{{1000L, 5000L}, {9000L, 5050L, 1050L}};
+        for (int messageIndex = 0; messageIndex < bytesInValues.length; messageIndex++) {
+            final TCAFieldValues messageBytesInValues = TCAFieldValues.of(bytesInValues[messageIndex],
+                    TCAFieldValues.toVNicRowKeys(vNicIdentifiers[messageIndex]));
+            final TCAFieldValuesProvider fieldValuesProvider = new TCAFieldValuesProvider() {
+                @Override
+                public TCAFieldValues getFieldValues(int fieldIndex) {
+                    return messageBytesInValues;
+                }
+            };
+            assertThat(functionalRoleThresholds.evaluateInSeverityOrder(fieldValuesProvider, stateStore, "vfw-1",
+                    (messageIndex + 1) * 60000000L), is(TCAFunctionalRoleThresholds.NO_VIOLATION));
+        }
+        assertThat("Each vNic must have its own counter", stateStore.getCounterStore().getSize(), is(3));
+    }
+
+    @Test
+    public void testWindowThresholds() throws Exception {
+        final Threshold bytesInAverageMinorThreshold =
+                createThreshold(BYTES_IN_FIELD_PATH, Direction.GREATER, 100L, EventSeverity.MINOR);
+        bytesInAverageMinorThreshold.setWindowAggregation(ThresholdWindowAggregation.AVERAGE);
+        bytesInAverageMinorThreshold.setWindowSize(3);
+        final Threshold bytesInCountCriticalThreshold =
+                createThreshold(BYTES_IN_FIELD_PATH, Direction.GREATER, 500L, EventSeverity.CRITICAL);
+        bytesInCountCriticalThreshold.setWindowAggregation(ThresholdWindowAggregation.COUNT);
+        bytesInCountCriticalThreshold.setWindowSeconds(120);
+        bytesInCountCriticalThreshold.setWindowSize(4);
+        bytesInCountCriticalThreshold.setWindowViolationCount(2);
+        final Threshold bytesInDeltaMaxMajorThreshold =
+                createThreshold(BYTES_IN_FIELD_PATH, Direction.GREATER, 1000L, EventSeverity.MAJOR);
+        bytesInDeltaMaxMajorThreshold.setValueType(ThresholdValueType.DELTA);
+        bytesInDeltaMaxMajorThreshold.setWindowAggregation(ThresholdWindowAggregation.MAX);
+        bytesInDeltaMaxMajorThreshold.setWindowSize(2);
+        final TCAFunctionalRoleThresholds functionalRoleThresholds = new TCAFunctionalRoleThresholds("vFirewall",
+                Arrays.asList(bytesInAverageMinorThreshold, bytesInCountCriticalThreshold,
+                        bytesInDeltaMaxMajorThreshold));
+
+        assertThat("Window source field path and delta fields must be added",
+                functionalRoleThresholds.getFieldPathCount(), is(5));
+        assertThat(functionalRoleThresholds.getFieldWindowAggregation(0), is(ThresholdWindowAggregation.AVERAGE));
+        assertThat(functionalRoleThresholds.getFieldWindowAggregation(2), is(ThresholdWindowAggregation.MAX));
+        assertThat("Window fields must not have value type", functionalRoleThresholds.getFieldValueType(2),
+                nullValue());
+        assertThat(functionalRoleThresholds.getFieldPath(3), is(BYTES_IN_FIELD_PATH));
+        assertThat(functionalRoleThresholds.getFieldValueType(4), is(ThresholdValueType.DELTA));
+
+        final TCAThresholdStateStore stateStore = new TCAThresholdStateStore(1000, 3600);
+        final long[] epochSeconds = new long[]{0L, 60L, 120L, 180L, 240L, 420L};
+        final long[] bytesInValues = new long[]{50L, 100L, 200L, 600L, 700L, 3000L};
+        // windows not full, average above limit twice, two samples above count limit within window seconds,
+        // max delta above limit
+        final Threshold[] expectedViolations = new Threshold[]{null, null, bytesInAverageMinorThreshold,
+                bytesInAverageMinorThreshold, bytesInCountCriticalThreshold, bytesInDeltaMaxMajorThreshold};
+        for (int messageIndex = 0; messageIndex < bytesInValues.length; messageIndex++) {
+            final TCAFieldValues messageBytesInValues = TCAFieldValues.of(bytesInValues[messageIndex]);
+            final TCAFieldValuesProvider fieldValuesProvider = new TCAFieldValuesProvider() {
+                @Override
+                public TCAFieldValues getFieldValues(int fieldIndex) {
+                    assertThat("Only field path values must be requested from provider",
+                            functionalRoleThresholds.getFieldPath(fieldIndex), is(BYTES_IN_FIELD_PATH));
+                    return messageBytesInValues;
+                }
+            };
+            final int violatedThresholdIndex = functionalRoleThresholds.evaluateInSeverityOrder(fieldValuesProvider,
+                    stateStore, "vfw-1", epochSeconds[messageIndex] * 1000000L);
+            assertThat(violatedThresholdIndex == TCAFunctionalRoleThresholds.NO_VIOLATION ? null :
+                    functionalRoleThresholds.getThreshold(violatedThresholdIndex),
+                    is(expectedViolations[messageIndex]));
+            assertThat("Window fields must not be evaluated without state",
+                    functionalRoleThresholds.evaluateInSeverityOrder(fieldValuesProvider),
+                    is(TCAFunctionalRoleThresholds.NO_VIOLATION));
+        }
+        assertThat(stateStore.getSize(), is(4L));
+    }
+
+    @Test
+    public void testTimeWindowsAggregateAtMostWindowSizeSamples() throws Exception {
+        final Threshold bytesInAverageCriticalThreshold =
+                createThreshold(BYTES_IN_FIELD_PATH, Direction.GREATER, 250L, EventSeverity.CRITICAL);
+        bytesInAverageCriticalThreshold.setWindowAggregation(ThresholdWindowAggregation.AVERAGE);
+        bytesInAverageCriticalThreshold.setWindowSeconds(600);
+        bytesInAverageCriticalThreshold.setWindowSize(2);
+        final Threshold bytesInAverageMajorThreshold =
+                createThreshold(BYTES_IN_FIELD_PATH, Direction.GREATER, 250L, EventSeverity.MAJOR);
+        bytesInAverageMajorThreshold.setWindowAggregation(ThresholdWindowAggregation.AVERAGE);
+        bytesInAverageMajorThreshold.setWindowSeconds(600);
+        final TCAFunctionalRoleThresholds functionalRoleThresholds = new TCAFunctionalRoleThresholds("vFirewall",
+                Arrays.asList(bytesInAverageCriticalThreshold, bytesInAverageMajorThreshold));
+        assertThat("Time window without window size must not be compiled",
+                functionalRoleThresholds.getFieldPathCount(), is(2));
+
+        final TCAThresholdStateStore stateStore = new TCAThresholdStateStore(1000, 3600);
+        // all samples are within window seconds but only latest two samples are aggregated - average of all three
+        // samples would violate the threshold for last message too
+        final long[] bytesInValues = new long[]{1000L, 100L, 100L};
+        final int[] expectedViolations = new int[]{0, 0, TCAFunctionalRoleThresholds.NO_VIOLATION};
+        for (int messageIndex = 0; messageIndex < bytesInValues.length; messageIndex++) {
+            final TCAFieldValues messageBytesInValues = TCAFieldValues.of(bytesInValues[messageIndex]);
+            final TCAFieldValuesProvider fieldValuesProvider = new TCAFieldValuesProvider() {
+                @Override
+                public TCAFieldValues getFieldValues(int fieldIndex) {
+                    return messageBytesInValues;
+                }
+            };
+            assertThat(functionalRoleThresholds.evaluateInSeverityOrder(fieldValuesProvider, stateStore, "vfw-1",
+                    (messageIndex + 1) * 60000000L), is(expectedViolations[messageIndex]));
+        }
+    }
+
+    @Test
+    public void testWindowThresholdsKeepSamplesOfSameVNicWhenVNicsAreReordered() throws Exception {
+        final Threshold bytesInAverageCriticalThreshold =
+                createThreshold(BYTES_IN_FIELD_PATH, Direction.GREATER, 3000L, EventSeverity.CRITICAL);
+        bytesInAverageCriticalThreshold.setWindowAggregation(ThresholdWindowAggregation.AVERAGE);
+        bytesInAverageCriticalThreshold.setWindowSize(2);
+        final TCAFunctionalRoleThresholds functionalRoleThresholds = new TCAFunctionalRoleThresholds("vFirewall",
+                Arrays.asList(bytesInAverageCriticalThreshold));
+
+        final TCAThresholdStateStore stateStore = new TCAThresholdStateStore(1000, 3600);
+        // eth1 stays above limit - its average must not be mixed with samples of eth0 after reorder
+        final String[][] vNicIdentifiers = new String[][]{{"eth0", "eth1"}, {"eth1", "eth0"}};
+        final long[][] bytesInValues = new long[][]{{100L, 5000L}, {5000L, 100L}};
+        final int[] expectedViolations = new int[]{TCAFunctionalRoleThresholds.NO_VIOLATION, 0};
+        for (int messageIndex = 0; messageIndex < bytesInValues.length; messageIndex++) {
+            final TCAFieldValues messageBytesInValues = TCAFieldValues.of(bytesInValues[messageIndex],
+                    TCAFieldValues.toVNicRowKeys(vNicIdentifiers[messageIndex]));
+            final TCAFieldValuesProvider fieldValuesProvider = new TCAFieldValuesProvider() {
+                @Override
+                public TCAFieldValues getFieldValues(int fieldIndex) {
+                    return messageBytesInValues;
+                }
+            };
+            assertThat(functionalRoleThresholds.evaluateInSeverityOrder(fieldValuesProvider, stateStore, "vfw-1",
+                    (messageIndex + 1) * 60000000L), is(expectedViolations[messageIndex]));
+        }
+        assertThat("Each vNic must have its own window", stateStore.getWindowStore(2).getSize(), is(2));
+    }
+
+    @Test
+    public void testPercentileWindowThresholds() throws Exception {
+        final Threshold bytesInP95MajorThreshold =
+                createThreshold(BYTES_IN_FIELD_PATH, Direction.GREATER, 1000L, EventSeverity.MAJOR);
+        bytesInP95MajorThreshold.setWindowAggregation(ThresholdWindowAggregation.PERCENTILE);
+        bytesInP95MajorThreshold.setWindowSeconds(100);
+        bytesInP95MajorThreshold.setWindowPercentile(95d);
+        final Threshold bytesInP50MinorThreshold =
+                createThreshold(BYTES_IN_FIELD_PATH, Direction.GREATER, 1000L, EventSeverity.MINOR);
+        bytesInP50MinorThreshold.setWindowAggregation(ThresholdWindowAggregation.PERCENTILE);
+        bytesInP50MinorThreshold.setWindowSeconds(100);
+        bytesInP50MinorThreshold.setWindowPercentile(50d);
+        final TCAFunctionalRoleThresholds functionalRoleThresholds = new TCAFunctionalRoleThresholds("vFirewall",
+                Arrays.asList(bytesInP95MajorThreshold, bytesInP50MinorThreshold));
+        assertThat(functionalRoleThresholds.getFieldPathCount(), is(3));
+
+        final TCAThresholdStateStore stateStore = new TCAThresholdStateStore(1000, 3600);
+        // one spike in every ten messages - p95 is above limit while spikes are more than 5% of window samples
+        Threshold lastViolation = null;
+        for (int messageIndex = 0; messageIndex < 100; messageIndex++) {
+            final TCAFieldValues messageBytesInValues =
+                    TCAFieldValues.of(messageIndex % 10 == 0 && messageIndex < 50 ? 5000L : 10L);
+            final TCAFieldValuesProvider fieldValuesProvider = new TCAFieldValuesProvider() {
+                @Override
+                public TCAFieldValues getFieldValues(int fieldIndex) {
+                    return messageBytesInValues;
+                }
+            };
+            final int violatedThresholdIndex = functionalRoleThresholds.evaluateInSeverityOrder(fieldValuesProvider,
+                    stateStore, "vfw-1", (messageIndex + 1) * 1000000L);
+            lastViolation = violatedThresholdIndex == TCAFunctionalRoleThresholds.NO_VIOLATION ? null :
+                    functionalRoleThresholds.getThreshold(violatedThresholdIndex);
+            if (messageIndex == 49) {
+                assertThat(lastViolation, is(bytesInP95MajorThreshold));
+            }
+        }
+        assertThat("Spikes must slide out of percentile window", lastViolation, nullValue());
+        assertThat(stateStore.getSketchStore().getSize(), is(2));
+    }
+
+    @Test
+    public void testPercentileWindowsAreRestoredOntoSameVNicWhenVNicsAreReordered() throws Exception {
+        final Threshold bytesInP50CriticalThreshold =
+                createThreshold(BYTES_IN_FIELD_PATH, Direction.GREATER, 1000L, EventSeverity.CRITICAL);
+        bytesInP50CriticalThreshold.setWindowAggregation(ThresholdWindowAggregation.PERCENTILE);
+        bytesInP50CriticalThreshold.setWindowSeconds(600);
+        bytesInP50CriticalThreshold.setWindowPercentile(50d);
+        final Threshold packetsInMinorThreshold =
+                createThreshold(PACKETS_IN_FIELD_PATH, Direction.GREATER, 1000L, EventSeverity.MINOR);
+        final Map<Long, byte[]> checkpointedWindows = new HashMap<>();
+        final TCAThresholdSketchCheckpoint sketchCheckpoint = new TCAThresholdSketchCheckpoint() {
+            @Override
+            public byte[] load(final long key) {
+                return checkpointedWindows.get(key);
+            }
+
+            @Override
+            public void save(final long key, final byte[] serializedWindow) {
+                checkpointedWindows.put(key, serializedWindow);
+            }
+        };
+
+        // eth0 is above limit and eth1 below limit before restart
+        final TCAFunctionalRoleThresholds functionalRoleThresholds = new TCAFunctionalRoleThresholds("vFirewall",
+                Arrays.asList(bytesInP50CriticalThreshold, packetsInMinorThreshold));
+        final TCAThresholdStateStore stateStore = new TCAThresholdStateStore(1000, 3600, sketchCheckpoint);
+        final TCAFieldValues bytesInValues =
+                TCAFieldValues.of(new long[]{5000L, 10L}, TCAFieldValues.toVNicRowKeys(new String[]{"eth0", "eth1"}));
+        for (int messageIndex = 0; messageIndex < 5; messageIndex++) {
+            functionalRoleThresholds.evaluateInSeverityOrder(createFieldValuesProvider(bytesInValues), stateStore,
+                    "vfw-1", (messageIndex + 1) * 1000000L);
+        }
+        assertThat(stateStore.checkpoint(10), is(2));
+
+        // restarted instance with reordered policy thresholds gets message with eth1 only - at position of eth0
+        final TCAFunctionalRoleThresholds restartedFunctionalRoleThresholds = new TCAFunctionalRoleThresholds(
+                "vFirewall", Arrays.asList(packetsInMinorThreshold, bytesInP50CriticalThreshold));
+        final TCAThresholdStateStore restartedStateStore = new TCAThresholdStateStore(1000, 3600, sketchCheckpoint);
+        final TCAFieldValues restartedBytesInValues =
+                TCAFieldValues.of(new long[]{10L}, TCAFieldValues.toVNicRowKeys(new String[]{"eth1"}));
+        assertThat("eth1 window must be restored from eth1 checkpoint",
+                restartedFunctionalRoleThresholds.evaluateInSeverityOrder(
+                        createFieldValuesProvider(restartedBytesInValues), restartedStateStore, "vfw-1", 6000000L),
+                is(TCAFunctionalRoleThresholds.NO_VIOLATION));
+        final TCAFieldValues restartedEth0BytesInValues =
+                TCAFieldValues.of(new long[]{10L}, TCAFieldValues.toVNicRowKeys(new String[]{"eth0"}));
+        final int violatedThresholdIndex = restartedFunctionalRoleThresholds.evaluateInSeverityOrder(
+                createFieldValuesProvider(restartedEth0BytesInValues), restartedStateStore, "vfw-1", 7000000L);
+        assertThat("eth0 window must be restored from eth0 checkpoint",
+                restartedFunctionalRoleThresholds.getThreshold(violatedThresholdIndex),
+                is(bytesInP50CriticalThreshold));
+    }
+
+    private static TCAFieldValuesProvider createFieldValuesProvider(final TCAFieldValues bytesInValues) {
+        return new TCAFieldValuesProvider() {
+            @Override
+            public TCAFieldValues getFieldValues(int fieldIndex) {
+                return bytesInValues;
+            }
+        };
+    }
+
+    private static TCAFieldValues toFieldValues(final long[] values) {
+        return values == null ? null : TCAFieldValues.of(values);
+    }
+
+    private static TCAFunctionalRoleThresholds createMultiFieldPathThresholds() {
+        return new TCAFunctionalRoleThresholds("vFirewall", Arrays.asList(
+                createThreshold(BYTES_IN_FIELD_PATH, Direction.GREATER, 100L, EventSeverity.MINOR),
+                createThreshold(PACKETS_IN_FIELD_PATH, Direction.LESS, 1000L, EventSeverity.WARNING),
+                createThreshold(PACKETS_IN_FIELD_PATH, Direction.LESS, 100L, EventSeverity.MAJOR)));
+    }
+
+    private static Threshold createThreshold(final String fieldPath, final Direction direction,
+                                             final Long thresholdValue, final EventSeverity severity) {
+        final Threshold threshold = new Threshold();
+        threshold.setFieldPath(fieldPath);
+        threshold.setDirection(direction);
+        threshold.setThresholdValue(thresholdValue);
+        threshold.setSeverity(severity);
+        return threshold;
+    }
+
+}
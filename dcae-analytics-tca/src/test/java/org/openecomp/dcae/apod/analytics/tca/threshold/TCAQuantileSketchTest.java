@@ -0,0 +1,148 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.threshold;
+
+import org.junit.Test;
+import org.openecomp.dcae.apod.analytics.tca.BaseAnalyticsTCAUnitTest;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class TCAQuantileSketchTest extends BaseAnalyticsTCAUnitTest {
+
+    private static final double RELATIVE_ACCURACY = 0.02;
+    private static final double[] QUANTILES = new double[]{0.0, 0.5, 0.9, 0.95, 0.99, 1.0};
+
+    @Test
+    public void testQuantilesAreWithinRelativeAccuracy() throws Exception {
+        final TCAQuantileSketch sketch = new TCAQuantileSketch(RELATIVE_ACCURACY, 1024);
+        final double[] samples = createSamples(new Random(7), 10000);
+        for (double sample : samples) {
+            sketch.add(sample);
+        }
+        assertThat(sketch.getCount(), is(10000L));
+        assertQuantiles(sketch, samples);
+    }
+
+    @Test
+    public void testMergedSketchMatchesSketchOfAllSamples() throws Exception {
+        final Random random = new Random(11);
+        final TCAQuantileSketch firstSketch = new TCAQuantileSketch(RELATIVE_ACCURACY, 1024);
+        final TCAQuantileSketch secondSketch = new TCAQuantileSketch(RELATIVE_ACCURACY, 1024);
+        final double[] samples = createSamples(random, 5000);
+        for (int sampleIndex = 0; sampleIndex < samples.length; sampleIndex++) {
+            (sampleIndex % 2 == 0 ? firstSketch : secondSketch).add(samples[sampleIndex] * (sampleIndex % 2 + 1));
+            samples[sampleIndex] *= sampleIndex % 2 + 1;
+        }
+        firstSketch.merge(secondSketch);
+        assertThat(firstSketch.getCount(), is(5000L));
+        assertQuantiles(firstSketch, samples);
+    }
+
+    @Test
+    public void testLowestBucketsAreCollapsedAtMaxBuckets() throws Exception {
+        final TCAQuantileSketch sketch = new TCAQuantileSketch(RELATIVE_ACCURACY, 32);
+        final double[] samples = new double[1000];
+        for (int sampleIndex = 0; sampleIndex < samples.length; sampleIndex++) {
+            samples[sampleIndex] = Math.pow(1.1, sampleIndex % 200);
+            sketch.add(samples[sampleIndex]);
+        }
+        assertTrue("Memory must be bounded by max buckets", sketch.getMemoryBytes() <= 64L + 32 * 4L);
+        Arrays.sort(samples);
+        assertWithinRelativeAccuracy(sketch.getQuantile(0.99), samples[(int) (0.99 * (samples.length - 1))]);
+        assertTrue("Collapsed low quantiles must not be below actual value",
+                sketch.getQuantile(0.1) >= samples[(int) (0.1 * (samples.length - 1))]);
+    }
+
+    @Test
+    public void testZeroAndSerialization() throws Exception {
+        final TCAQuantileSketch sketch = new TCAQuantileSketch(RELATIVE_ACCURACY, 1024);
+        assertTrue("Empty sketch quantile must be NaN", Double.isNaN(sketch.getQuantile(0.5)));
+        for (int sampleIndex = 0; sampleIndex < 100; sampleIndex++) {
+            sketch.add(sampleIndex < 50 ? 0d : 1000d + sampleIndex);
+        }
+        assertThat(sketch.getQuantile(0.25), is(0d));
+
+        final ByteBuffer buffer = ByteBuffer.allocate(sketch.getSerializedSize());
+        sketch.writeTo(buffer);
+        buffer.flip();
+        final TCAQuantileSketch readSketch = TCAQuantileSketch.readFrom(buffer, RELATIVE_ACCURACY, 1024);
+        assertThat(readSketch.getCount(), is(100L));
+        for (double quantile : QUANTILES) {
+            assertThat(readSketch.getQuantile(quantile), is(sketch.getQuantile(quantile)));
+        }
+    }
+
+    @Test
+    public void testWindowSlidesByPane() throws Exception {
+        // 4 panes of 10 seconds
+        final TCAQuantileSketchWindow window = new TCAQuantileSketchWindow(40000000L, 4, RELATIVE_ACCURACY, 1024);
+        final TCAQuantileSketch mergedSketch = new TCAQuantileSketch(RELATIVE_ACCURACY, 1024);
+        for (int second = 0; second < 40; second++) {
+            window.add(second < 10 ? 10000d : 100d, second * 1000000L + 1);
+        }
+        assertWithinRelativeAccuracy(window.getQuantile(0.95, mergedSketch), 10000d);
+        assertThat("Out of order samples must be ignored", window.add(1d, 1L), is(false));
+
+        // first pane slides out of window
+        window.add(100d, 40000001L);
+        assertWithinRelativeAccuracy(window.getQuantile(0.95, mergedSketch), 100d);
+
+        final TCAQuantileSketchWindow readWindow =
+                TCAQuantileSketchWindow.fromBytes(window.toBytes(), RELATIVE_ACCURACY, 1024);
+        assertThat(readWindow.getQuantile(0.5, mergedSketch), is(window.getQuantile(0.5, mergedSketch)));
+        assertThat(readWindow.getPaneMicrosecs(), is(10000000L));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidSerializedWindow() throws Exception {
+        TCAQuantileSketchWindow.fromBytes(new byte[]{1, 0, 0}, RELATIVE_ACCURACY, 1024);
+    }
+
+    private static double[] createSamples(final Random random, final int count) {
+        final double[] samples = new double[count];
+        for (int sampleIndex = 0; sampleIndex < count; sampleIndex++) {
+            // long tailed samples similar to counter deltas
+            samples[sampleIndex] = Math.floor(Math.exp(random.nextGaussian() * 2 + 8));
+        }
+        return samples;
+    }
+
+    private static void assertQuantiles(final TCAQuantileSketch sketch, final double[] samples) {
+        final double[] sortedSamples = samples.clone();
+        Arrays.sort(sortedSamples);
+        for (double quantile : QUANTILES) {
+            assertWithinRelativeAccuracy(sketch.getQuantile(quantile),
+                    sortedSamples[(int) (quantile * (sortedSamples.length - 1))]);
+        }
+    }
+
+    private static void assertWithinRelativeAccuracy(final double actual, final double expected) {
+        assertTrue("Quantile " + actual + " must be within relative accuracy of " + expected,
+                Math.abs(actual - expected) <= RELATIVE_ACCURACY * expected + 1e-9);
+    }
+
+}
@@ -0,0 +1,100 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.threshold;
+
+import org.junit.Test;
+import org.openecomp.dcae.apod.analytics.tca.BaseAnalyticsTCAUnitTest;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class TCASpaceSavingSketchTest extends BaseAnalyticsTCAUnitTest {
+
+    @Test
+    public void testFrequentItemsAreTrackedWithinErrorBounds() throws Exception {
+        final TCASpaceSavingSketch sketch = new TCASpaceSavingSketch(4);
+        final Map<String, Long> actualCounts = new HashMap<>();
+        final Random random = new Random(1);
+        for (int i = 0; i < 10000; i++) {
+            final String item = random.nextInt(10) < 6 ? "frequent" + random.nextInt(2) : "rare" + random.nextInt(200);
+            sketch.offer(item);
+            final Long actualCount = actualCounts.get(item);
+            actualCounts.put(item, actualCount == null ? 1L : actualCount + 1L);
+        }
+
+        final List<TCASpaceSavingSketch.ItemCount> itemCounts = sketch.getItemCounts();
+        assertThat(itemCounts.size(), is(4));
+        for (int i = 0; i < 2; i++) {
+            final TCASpaceSavingSketch.ItemCount itemCount = itemCounts.get(i);
+            assertTrue("Frequent items must be on top", itemCount.getItem().startsWith("frequent"));
+            final long actualCount = actualCounts.get(itemCount.getItem());
+            assertTrue("Count must never underestimate", itemCount.getCount() >= actualCount);
+            assertTrue("Count must be within error bound", itemCount.getCount() - itemCount.getError() <= actualCount);
+        }
+        assertThat(sketch.getMinCount(), is(itemCounts.get(3).getCount()));
+    }
+
+    @Test
+    public void testMinCountIsZeroUntilSketchIsFull() throws Exception {
+        final TCASpaceSavingSketch sketch = new TCASpaceSavingSketch(2);
+        sketch.offer("entity1");
+        sketch.offer("entity1");
+        assertThat(sketch.getMinCount(), is(0L));
+        sketch.offer("entity2");
+        assertThat(sketch.getMinCount(), is(1L));
+        sketch.offer("entity3");
+        assertThat("Replaced item inherits evicted count as error", sketch.getItemCounts().get(1).getError(), is(1L));
+        assertThat(sketch.getItemCounts().get(1).getItem(), is("entity3"));
+        assertThat(sketch.getItemCounts().get(1).getCount(), is(2L));
+    }
+
+    @Test
+    public void testMergerAddsMinCountOfSketchesNotTrackingItem() throws Exception {
+        final TCASpaceSavingSketch firstSketch = new TCASpaceSavingSketch(2);
+        for (String item : new String[]{"x", "x", "x", "y", "z"}) {
+            firstSketch.offer(item);
+        }
+        final TCASpaceSavingSketch secondSketch = new TCASpaceSavingSketch(2);
+        for (String item : new String[]{"y", "y", "w"}) {
+            secondSketch.offer(item);
+        }
+
+        final TCASpaceSavingSketch.Merger merger = new TCASpaceSavingSketch.Merger();
+        merger.merge(firstSketch.getItemCounts(), firstSketch.getMinCount());
+        merger.merge(secondSketch.getItemCounts(), secondSketch.getMinCount());
+        final List<TCASpaceSavingSketch.ItemCount> topK = merger.getTopK(2);
+
+        assertThat(topK.size(), is(2));
+        assertThat(topK.get(0).getItem(), is("x"));
+        assertThat(topK.get(0).getCount(), is(4L));
+        assertThat(topK.get(0).getError(), is(1L));
+        assertThat(topK.get(1).getItem(), is("y"));
+        assertThat(topK.get(1).getCount(), is(4L));
+        assertThat(topK.get(1).getError(), is(2L));
+    }
+
+}
@@ -0,0 +1,129 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+package org.openecomp.dcae.apod.analytics.tca.threshold;
+
+import org.junit.Test;
+import org.openecomp.dcae.apod.analytics.tca.BaseAnalyticsTCAUnitTest;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class TCAThresholdExpressionTest extends BaseAnalyticsTCAUnitTest {
+
+    private static final String BYTES_IN_FIELD_PATH =
+            "$.event.measurementsForVfScalingFields.vNicUsageArray[*].bytesIn";
+    private static final String BYTES_OUT_FIELD_PATH =
+            "$.event.measurementsForVfScalingFields.vNicUsageArray[*].bytesOut";
+
+    @Test
+    public void testCompileCollectsDistinctFieldPaths() throws Exception {
+        final TCAThresholdExpression expression = TCAThresholdExpression.compile(
+                BYTES_IN_FIELD_PATH + " * 100 / (" + BYTES_IN_FIELD_PATH + "+" + BYTES_OUT_FIELD_PATH + ")");
+        assertThat(expression.getFieldPathCount(), is(2));
+        assertThat(expression.getFieldPath(0), is(BYTES_IN_FIELD_PATH));
+        assertThat(expression.getFieldPath(1), is(BYTES_OUT_FIELD_PATH));
+    }
+
+    @Test
+    public void testEvaluateCombinesFieldPathValuesByRow() throws Exception {
+        final TCAThresholdExpression expression =
+                TCAThresholdExpression.compile(BYTES_IN_FIELD_PATH + " + " + BYTES_OUT_FIELD_PATH);
+        assertThat(expression.evaluate(new TCAFieldValues[]{TCAFieldValues.of(1L, 2L, 3L),
+                TCAFieldValues.of(10L, 20L)}), is(new double[]{11d, 22d}));
+        assertThat("Non array value must be combined with all rows", expression.evaluate(new TCAFieldValues[]{
+                TCAFieldValues.of(1L, 2L), TCAFieldValues.ofScalar(10L)}), is(new double[]{11d, 12d}));
+        assertThat("Missing field path values must not produce results",
+                expression.evaluate(new TCAFieldValues[]{TCAFieldValues.of(1L, 2L), null}), nullValue());
+    }
+
+    @Test
+    public void testVNicRowKeysOfRepeatedVNicIdentifiers() throws Exception {
+        final long[] vNicRowKeys = TCAFieldValues.toVNicRowKeys(new String[]{"eth0", null, "eth0", "eth1", "eth0"});
+        assertThat(vNicRowKeys[1], is(1L));
+        assertThat(vNicRowKeys[0] != vNicRowKeys[2] && vNicRowKeys[2] != vNicRowKeys[4], is(true));
+        // repeated vNic identifiers are keyed by their occurrence, not by their position
+        final long[] reorderedVNicRowKeys = TCAFieldValues.toVNicRowKeys(new String[]{"eth1", "eth0", "eth0"});
+        assertThat(reorderedVNicRowKeys[0], is(vNicRowKeys[3]));
+        assertThat(reorderedVNicRowKeys[1], is(vNicRowKeys[0]));
+        assertThat(reorderedVNicRowKeys[2], is(vNicRowKeys[2]));
+    }
+
+    @Test
+    public void testEvaluateAlignsValuesOfSameVNic() throws Exception {
+        final TCAThresholdExpression expression =
+                TCAThresholdExpression.compile(BYTES_OUT_FIELD_PATH + " / " + BYTES_IN_FIELD_PATH);
+        final long[] vNicRowKeys = TCAFieldValues.toVNicRowKeys(new String[]{"eth0", "eth1", "eth2"});
+        // eth0 has no bytesOut and eth1 has no bytesIn - only eth2 values can be combined
+        final TCAFieldValues bytesOutValues =
+                TCAFieldValues.of(new long[]{300L, 400L}, new long[]{vNicRowKeys[1], vNicRowKeys[2]});
+        final TCAFieldValues bytesInValues =
+                TCAFieldValues.of(new long[]{100L, 200L}, new long[]{vNicRowKeys[0], vNicRowKeys[2]});
+        assertThat(expression.evaluate(new TCAFieldValues[]{bytesOutValues, bytesInValues}),
+                is(new double[]{2d}));
+
+        // vNics in different order
+        final TCAFieldValues reorderedBytesInValues =
+                TCAFieldValues.of(new long[]{200L, 100L}, new long[]{vNicRowKeys[2], vNicRowKeys[1]});
+        assertThat(expression.evaluate(new TCAFieldValues[]{bytesOutValues, reorderedBytesInValues}),
+                is(new double[]{3d, 2d}));
+    }
+
+    @Test
+    public void testEvaluateOperatorPrecedence() throws Exception {
+        final TCAFieldValues[] operandValues = new TCAFieldValues[]{TCAFieldValues.of(2L)};
+        assertThat(TCAThresholdExpression.compile(BYTES_IN_FIELD_PATH + " + 3 * 4").evaluate(operandValues),
+                is(new double[]{14d}));
+        assertThat(TCAThresholdExpression.compile("(" + BYTES_IN_FIELD_PATH + " + 3) * 4").evaluate(operandValues),
+                is(new double[]{20d}));
+        assertThat(TCAThresholdExpression.compile("10 - " + BYTES_IN_FIELD_PATH + " - 3").evaluate(operandValues),
+                is(new double[]{5d}));
+        assertThat(TCAThresholdExpression.compile("-" + BYTES_IN_FIELD_PATH + " / 4")
+                .evaluate(new TCAFieldValues[]{TCAFieldValues.of(10L)}), is(new double[]{-2.5d}));
+    }
+
+    @Test
+    public void testConstantExpressionHasNoResults() throws Exception {
+        final TCAThresholdExpression expression = TCAThresholdExpression.compile("(2 + 3) * 4");
+        assertThat(expression.getFieldPathCount(), is(0));
+        assertThat(expression.evaluate(new TCAFieldValues[0]), nullValue());
+    }
+
+    @Test
+    public void testEvaluateIgnoresDivisionByZero() throws Exception {
+        final TCAThresholdExpression expression =
+                TCAThresholdExpression.compile(BYTES_OUT_FIELD_PATH + " / " + BYTES_IN_FIELD_PATH);
+        assertThat(expression.evaluate(new TCAFieldValues[]{TCAFieldValues.of(50L, 10L, 0L),
+                TCAFieldValues.of(100L, 0L, 0L)}), is(new double[]{0.5d}));
+        assertThat(expression.evaluate(new TCAFieldValues[]{TCAFieldValues.of(0L), TCAFieldValues.of(0L)}),
+                nullValue());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCompileInvalidExpression() throws Exception {
+        TCAThresholdExpression.compile("(" + BYTES_IN_FIELD_PATH + " + ");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCompileUnbalancedFieldPathBrackets() throws Exception {
+        TCAThresholdExpression.compile("$.event.vNicUsageArray[*.bytesIn * 2");
+    }
+
+}
@@ -0,0 +1,229 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.threshold;
+
+import com.google.common.base.Ticker;
+import org.junit.Test;
+import org.openecomp.dcae.apod.analytics.tca.BaseAnalyticsTCAUnitTest;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class TCAThresholdStateStoreTest extends BaseAnalyticsTCAUnitTest {
+
+    private static final long ENTITY_KEY = AbstractTCAThresholdStore.entityKey("vFirewall", "vfw-1");
+
+    @Test
+    public void testPutFindAndUpdate() throws Exception {
+        final TCAThresholdCounterStore stateStore = new TCAThresholdCounterStore(100, 10, new TestTicker());
+        final long key = AbstractTCAThresholdStore.valueKey(ENTITY_KEY, 0, 0);
+        assertThat(stateStore.find(key), is(AbstractTCAThresholdStore.NOT_FOUND));
+        assertThat(stateStore.put(key, 5000L, 1000000L), is(true));
+
+        final int entry = stateStore.find(key);
+        assertThat(stateStore.getValue(entry), is(5000L));
+        assertThat(stateStore.getEpochMicrosec(entry), is(1000000L));
+        stateStore.update(entry, 6000L, 2000000L);
+        assertThat(stateStore.getValue(stateStore.find(key)), is(6000L));
+        assertThat(stateStore.getSize(), is(1));
+        assertThat("Keys of other entities must differ",
+                AbstractTCAThresholdStore.valueKey(AbstractTCAThresholdStore.entityKey("vFirewall", "vfw-2"), 0, 0),
+                not(equalTo(key)));
+    }
+
+    @Test
+    public void testEntriesExpireAfterTTL() throws Exception {
+        final TestTicker ticker = new TestTicker();
+        final TCAThresholdCounterStore stateStore = new TCAThresholdCounterStore(10000, 10, ticker);
+        final int keyCount = 10000;
+        // even keys are older than odd keys
+        for (int valueIndex = 0; valueIndex < keyCount; valueIndex += 2) {
+            stateStore.put(AbstractTCAThresholdStore.valueKey(ENTITY_KEY, 0, valueIndex), valueIndex, 0L);
+        }
+        ticker.advance(5);
+        for (int valueIndex = 1; valueIndex < keyCount; valueIndex += 2) {
+            stateStore.put(AbstractTCAThresholdStore.valueKey(ENTITY_KEY, 0, valueIndex), valueIndex, 0L);
+        }
+        ticker.advance(6);
+
+        for (int valueIndex = 0; valueIndex < keyCount; valueIndex += 2) {
+            assertThat(stateStore.find(AbstractTCAThresholdStore.valueKey(ENTITY_KEY, 0, valueIndex)),
+                    is(AbstractTCAThresholdStore.NOT_FOUND));
+        }
+        assertThat(stateStore.getEvictedCount(), is((long) keyCount / 2));
+        assertThat(stateStore.getSize(), is(keyCount / 2));
+        for (int valueIndex = 1; valueIndex < keyCount; valueIndex += 2) {
+            final int entry = stateStore.find(AbstractTCAThresholdStore.valueKey(ENTITY_KEY, 0, valueIndex));
+            assertThat("Live entries must be found after expired entries are removed",
+                    stateStore.getValue(entry), is((long) valueIndex));
+        }
+    }
+
+    @Test
+    public void testStoreIsBoundedByMaxEntries() throws Exception {
+        final TestTicker ticker = new TestTicker();
+        final TCAThresholdCounterStore stateStore = new TCAThresholdCounterStore(100, 10, ticker);
+        for (int valueIndex = 0; valueIndex < 100; valueIndex++) {
+            assertThat(stateStore.put(AbstractTCAThresholdStore.valueKey(ENTITY_KEY, 0, valueIndex), valueIndex, 0L),
+                    is(true));
+        }
+        final long newKey = AbstractTCAThresholdStore.valueKey(ENTITY_KEY, 1, 0);
+        assertThat(stateStore.put(newKey, 0L, 0L), is(false));
+        assertThat(stateStore.getRejectedCount(), is(1L));
+        assertThat(stateStore.getCapacity(), is(256));
+
+        // expired entries are evicted to make room for new keys
+        ticker.advance(11);
+        assertThat(stateStore.put(newKey, 0L, 0L), is(true));
+        assertThat(stateStore.getSize(), is(1));
+        assertThat(stateStore.getEvictedCount(), is(100L));
+        assertThat(stateStore.getCapacity(), is(256));
+    }
+
+    @Test
+    public void testWindowKeepsMostRecentSamples() throws Exception {
+        final TCAThresholdWindowStore windowStore = new TCAThresholdWindowStore(100, 10, 3, new TestTicker());
+        final long key = AbstractTCAThresholdStore.valueKey(ENTITY_KEY, 0, 0);
+        for (int sampleIndex = 1; sampleIndex <= 5; sampleIndex++) {
+            windowStore.addSample(key, sampleIndex * 10d, sampleIndex);
+        }
+        final int entry = windowStore.find(key);
+        assertThat(windowStore.getSampleCount(entry), is(3));
+        assertThat(windowStore.getSample(entry, 0), is(50d));
+        assertThat(windowStore.getSample(entry, 2), is(30d));
+        assertThat(windowStore.getSampleEpochMicrosec(entry, 1), is(4L));
+        assertThat("Out of order samples must be ignored",
+                windowStore.addSample(key, 60d, 5L), is(AbstractTCAThresholdStore.NOT_FOUND));
+        assertThat(windowStore.getSample(windowStore.find(key), 0), is(50d));
+    }
+
+    @Test
+    public void testWindowStoresAreSharedByWindowLength() throws Exception {
+        final TestTicker ticker = new TestTicker();
+        final TCAThresholdStateStore stateStore = new TCAThresholdStateStore(100, 10, ticker);
+        assertThat(stateStore.getWindowStore(5), sameInstance(stateStore.getWindowStore(5)));
+        assertThat(stateStore.getWindowStore(5), not(sameInstance(stateStore.getWindowStore(10))));
+
+        stateStore.getCounterStore().put(AbstractTCAThresholdStore.valueKey(ENTITY_KEY, 0, 0), 0L, 0L);
+        stateStore.getWindowStore(5).addSample(AbstractTCAThresholdStore.valueKey(ENTITY_KEY, 1, 0), 0d, 0L);
+        stateStore.getWindowStore(10).addSample(AbstractTCAThresholdStore.valueKey(ENTITY_KEY, 2, 0), 0d, 0L);
+        assertThat(stateStore.getSize(), is(3L));
+
+        ticker.advance(11);
+        stateStore.getWindowStore(5).addSample(AbstractTCAThresholdStore.valueKey(ENTITY_KEY, 1, 0), 0d, 1L);
+        stateStore.getWindowStore(10).find(AbstractTCAThresholdStore.valueKey(ENTITY_KEY, 2, 0));
+        stateStore.getCounterStore().find(AbstractTCAThresholdStore.valueKey(ENTITY_KEY, 0, 0));
+        assertThat(stateStore.getEvictedCount(), is(3L));
+        assertThat("Expired window must restart with the new sample",
+                stateStore.getWindowStore(5).getSampleCount(
+                        stateStore.getWindowStore(5).find(AbstractTCAThresholdStore.valueKey(ENTITY_KEY, 1, 0))),
+                is(1));
+    }
+
+    @Test
+    public void testSketchWindowsAreCheckpointedAndRestored() throws Exception {
+        final Map<Long, byte[]> checkpointedWindows = new HashMap<>();
+        final TCAThresholdSketchCheckpoint sketchCheckpoint = new TCAThresholdSketchCheckpoint() {
+            @Override
+            public byte[] load(final long key) {
+                return checkpointedWindows.get(key);
+            }
+
+            @Override
+            public void save(final long key, final byte[] serializedWindow) {
+                checkpointedWindows.put(key, serializedWindow);
+            }
+        };
+        final long windowMicrosecs = 60000000L;
+        final long key = AbstractTCAThresholdStore.valueKey(ENTITY_KEY, 0, 0);
+        final TCAThresholdStateStore stateStore =
+                new TCAThresholdStateStore(100, 10, sketchCheckpoint, new TestTicker());
+        for (int sampleIndex = 1; sampleIndex <= 10; sampleIndex++) {
+            stateStore.getSketchStore().addSample(key, 1000d, sampleIndex * 1000000L, windowMicrosecs);
+        }
+        assertThat(stateStore.checkpoint(5), is(1));
+        assertThat("Unchanged windows must not be saved again", stateStore.checkpoint(5), is(0));
+
+        // restarted calculator instance continues the checkpointed window
+        final TCAThresholdSketchStore restartedSketchStore =
+                new TCAThresholdStateStore(100, 10, sketchCheckpoint, new TestTicker()).getSketchStore();
+        final int entry = restartedSketchStore.addSample(key, 10d, 11000000L, windowMicrosecs);
+        assertThat(restartedSketchStore.getQuantile(entry, 0.5) > 900d, is(true));
+        assertThat("Samples not newer than checkpointed samples must be ignored",
+                restartedSketchStore.addSample(key, 10d, 5000000L, windowMicrosecs),
+                is(AbstractTCAThresholdStore.NOT_FOUND));
+    }
+
+    @Test
+    public void testSketchWindowsAreCheckpointedWhenEvicted() throws Exception {
+        final Map<Long, byte[]> checkpointedWindows = new HashMap<>();
+        final TCAThresholdSketchCheckpoint sketchCheckpoint = new TCAThresholdSketchCheckpoint() {
+            @Override
+            public byte[] load(final long key) {
+                return checkpointedWindows.get(key);
+            }
+
+            @Override
+            public void save(final long key, final byte[] serializedWindow) {
+                checkpointedWindows.put(key, serializedWindow);
+            }
+        };
+        final long windowMicrosecs = 60000000L;
+        final long key = AbstractTCAThresholdStore.valueKey(ENTITY_KEY, 0, 0);
+        final TestTicker ticker = new TestTicker();
+        final TCAThresholdSketchStore sketchStore =
+                new TCAThresholdStateStore(100, 10, sketchCheckpoint, ticker).getSketchStore();
+        for (int sampleIndex = 1; sampleIndex <= 3; sampleIndex++) {
+            sketchStore.addSample(key, 1000d, sampleIndex * 1000000L, windowMicrosecs);
+        }
+        assertThat(checkpointedWindows.containsKey(key), is(false));
+
+        ticker.advance(11);
+        assertThat(sketchStore.find(key), is(AbstractTCAThresholdStore.NOT_FOUND));
+        assertThat("Changed window must be saved when evicted", checkpointedWindows.containsKey(key), is(true));
+
+        // evicted window is loaded back when key is seen again
+        final int entry = sketchStore.addSample(key, 10d, 4000000L, windowMicrosecs);
+        assertThat(sketchStore.getQuantile(entry, 0.5) > 900d, is(true));
+    }
+
+    private static class TestTicker extends Ticker {
+
+        private long nanos;
+
+        @Override
+        public long read() {
+            return nanos;
+        }
+
+        private void advance(final long seconds) {
+            nanos += TimeUnit.SECONDS.toNanos(seconds);
+        }
+    }
+
+}
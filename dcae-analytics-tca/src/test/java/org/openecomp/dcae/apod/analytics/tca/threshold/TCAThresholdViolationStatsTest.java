@@ -0,0 +1,151 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.threshold;
+
+import com.google.common.base.Ticker;
+import org.junit.Test;
+import org.openecomp.dcae.apod.analytics.model.domain.cef.EventSeverity;
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.Threshold;
+import org.openecomp.dcae.apod.analytics.tca.BaseAnalyticsTCAUnitTest;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class TCAThresholdViolationStatsTest extends BaseAnalyticsTCAUnitTest {
+
+    private static final long WINDOW_MS = TimeUnit.HOURS.toMillis(1);
+    private static final long FLUSH_INTERVAL_MS = TimeUnit.MINUTES.toMillis(1);
+    private static final String FUNCTIONAL_ROLE = "vFirewall";
+
+    @Test
+    public void testChangedStatsAreFlushedOnceEveryFlushInterval() throws Exception {
+        final TestTicker ticker = new TestTicker(WINDOW_MS);
+        final RecordingStatsSink statsSink = new RecordingStatsSink();
+        final TCAThresholdViolationStats stats =
+                new TCAThresholdViolationStats(statsSink, WINDOW_MS, FLUSH_INTERVAL_MS, 2, ticker);
+        final Threshold criticalThreshold = createThreshold("CL-1", EventSeverity.CRITICAL);
+        final Threshold majorThreshold = createThreshold("CL-1", EventSeverity.MAJOR);
+
+        stats.record(FUNCTIONAL_ROLE, criticalThreshold, "vpp-1", true);
+        stats.record(FUNCTIONAL_ROLE, criticalThreshold, "vpp-1", false);
+        stats.record(FUNCTIONAL_ROLE, majorThreshold, "vpp-2", true);
+        assertThat("Stats must not be flushed before flush interval", stats.flushIfDue(), is(0));
+
+        ticker.advance(FLUSH_INTERVAL_MS);
+        assertThat(stats.flushIfDue(), is(2));
+        assertThat(statsSink.windowStarts.get(0), is(WINDOW_MS));
+        final TCAThresholdViolationStats.ThresholdStats criticalStats = getStats(statsSink, 0, "CRITICAL");
+        assertThat(criticalStats.getViolationCount(), is(2L));
+        assertThat(criticalStats.getAlertCount(), is(1L));
+        assertThat(criticalStats.getTopOffenders().getItemCounts().get(0).getItem(), is("vpp-1"));
+
+        stats.record(FUNCTIONAL_ROLE, criticalThreshold, "vpp-3", true);
+        ticker.advance(FLUSH_INTERVAL_MS);
+        assertThat("Only changed stats must be flushed", stats.flushIfDue(), is(1));
+        final TCAThresholdViolationStats.ThresholdStats flushedCriticalStats = getStats(statsSink, 1, "CRITICAL");
+        assertThat("Flushed stats must include counts since window start",
+                flushedCriticalStats.getViolationCount(), is(3L));
+
+        ticker.advance(FLUSH_INTERVAL_MS);
+        assertThat("Unchanged stats must not be flushed", stats.flushIfDue(), is(0));
+    }
+
+    @Test
+    public void testEndedWindowIsFlushedAndNewWindowStartsFromZero() throws Exception {
+        final TestTicker ticker = new TestTicker(WINDOW_MS + FLUSH_INTERVAL_MS);
+        final RecordingStatsSink statsSink = new RecordingStatsSink();
+        final TCAThresholdViolationStats stats =
+                new TCAThresholdViolationStats(statsSink, WINDOW_MS, FLUSH_INTERVAL_MS, 2, ticker);
+        final Threshold criticalThreshold = createThreshold("CL-1", EventSeverity.CRITICAL);
+        assertThat("Window must be aligned to epoch", stats.getWindowStartMS(), is(WINDOW_MS));
+
+        stats.record(FUNCTIONAL_ROLE, criticalThreshold, "vpp-1", true);
+        stats.record(FUNCTIONAL_ROLE, criticalThreshold, "vpp-1", true);
+        ticker.advance(WINDOW_MS);
+        assertThat("Ended window must be flushed even before flush interval", stats.flushIfDue(), is(1));
+        assertThat(statsSink.windowStarts.get(0), is(WINDOW_MS));
+        assertThat(getStats(statsSink, 0, "CRITICAL").getViolationCount(), is(2L));
+        assertThat(stats.getWindowStartMS(), is(2 * WINDOW_MS));
+
+        stats.record(FUNCTIONAL_ROLE, criticalThreshold, "vpp-2", false);
+        assertThat(stats.flush(), is(1));
+        assertThat(statsSink.windowStarts.get(1), is(2 * WINDOW_MS));
+        final TCAThresholdViolationStats.ThresholdStats newWindowStats = getStats(statsSink, 1, "CRITICAL");
+        assertThat(newWindowStats.getViolationCount(), is(1L));
+        assertThat(newWindowStats.getAlertCount(), is(0L));
+        assertThat(newWindowStats.getTopOffenders().getItemCounts().get(0).getItem(), is("vpp-2"));
+    }
+
+    private static Threshold createThreshold(final String closedLoopControlName, final EventSeverity severity) {
+        final Threshold threshold = new Threshold();
+        threshold.setClosedLoopControlName(closedLoopControlName);
+        threshold.setFieldPath("$.event.measurementsForVfScalingFields.vNicUsageArray[*].bytesIn");
+        threshold.setSeverity(severity);
+        return threshold;
+    }
+
+    private static TCAThresholdViolationStats.ThresholdStats getStats(final RecordingStatsSink statsSink,
+                                                                      final int saveIndex, final String severity) {
+        for (TCAThresholdViolationStats.ThresholdStats thresholdStats : statsSink.savedStats.get(saveIndex)) {
+            if (severity.equals(thresholdStats.getSeverity())) {
+                return thresholdStats;
+            }
+        }
+        throw new AssertionError("No saved stats of severity: " + severity);
+    }
+
+    private static class RecordingStatsSink implements TCAThresholdViolationStatsSink {
+
+        private final List<Long> windowStarts = new ArrayList<>();
+        private final List<List<TCAThresholdViolationStats.ThresholdStats>> savedStats = new ArrayList<>();
+
+        @Override
+        public void save(final long windowStartMS,
+                         final Collection<TCAThresholdViolationStats.ThresholdStats> thresholdStats) {
+            windowStarts.add(windowStartMS);
+            savedStats.add(new ArrayList<>(thresholdStats));
+        }
+    }
+
+    private static class TestTicker extends Ticker {
+
+        private long nanos;
+
+        private TestTicker(final long startTimeMS) {
+            this.nanos = TimeUnit.MILLISECONDS.toNanos(startTimeMS);
+        }
+
+        @Override
+        public long read() {
+            return nanos;
+        }
+
+        private void advance(final long millis) {
+            nanos += TimeUnit.MILLISECONDS.toNanos(millis);
+        }
+    }
+
+}
@@ -36,9 +36,12 @@ import org.openecomp.dcae.apod.analytics.model.domain.cef.CommonEventHeader;
 import org.openecomp.dcae.apod.analytics.model.domain.cef.Event;
 import org.openecomp.dcae.apod.analytics.model.domain.cef.EventListener;
 import org.openecomp.dcae.apod.analytics.model.domain.cef.EventSeverity;
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.Direction;
 import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.MetricsPerFunctionalRole;
 import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.TCAPolicy;
 import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.Threshold;
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.ThresholdValueType;
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.ThresholdWindowAggregation;
 import org.openecomp.dcae.apod.analytics.model.facade.tca.TCAVESResponse;
 import org.openecomp.dcae.apod.analytics.model.util.AnalyticsModelIOUtils;
 import org.openecomp.dcae.apod.analytics.tca.BaseAnalyticsTCAUnitTest;
@@ -354,4 +357,84 @@ public class TCAUtilsTest extends BaseAnalyticsTCAUnitTest {
                 tcaPolicy.getMetricsPerFunctionalRole().size(), is(2));
 
     }
+
+    @Test
+    public void testCreateNewThresholdWithFieldExpression() throws Exception {
+        final Map<String, String> thresholdMap = createThresholdMap();
+        thresholdMap.remove("policy.fieldPath");
+        thresholdMap.put("policy.fieldExpression",
+                "$.event.measurementsForVfScalingFields.vNicUsageArray[*].bytesIn * 8");
+        final Threshold threshold = TCAUtils.createNewThreshold(thresholdMap);
+        assertNull(threshold.getFieldPath());
+        assertThat(threshold.getFieldExpression(),
+                is("$.event.measurementsForVfScalingFields.vNicUsageArray[*].bytesIn * 8"));
+        assertThat(threshold.getThresholdValue(), is(4000L));
+        assertThat(threshold.getDirection(), is(Direction.LESS_OR_EQUAL));
+        assertThat(threshold.getSeverity(), is(EventSeverity.MAJOR));
+    }
+
+    @Test
+    public void testCreateNewThresholdWithValueType() throws Exception {
+        final Map<String, String> thresholdMap = createThresholdMap();
+        thresholdMap.put("policy.valueType", "RATE");
+        assertThat(TCAUtils.createNewThreshold(thresholdMap).getValueType(), is(ThresholdValueType.RATE));
+    }
+
+    @Test
+    public void testCreateNewThresholdWithoutValueType() throws Exception {
+        assertNull(TCAUtils.createNewThreshold(createThresholdMap()).getValueType());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCreateNewThresholdWithInvalidValueType() throws Exception {
+        final Map<String, String> thresholdMap = createThresholdMap();
+        thresholdMap.put("policy.valueType", "INVALID");
+        TCAUtils.createNewThreshold(thresholdMap);
+    }
+
+    @Test
+    public void testCreateNewThresholdWithWindow() throws Exception {
+        final Map<String, String> thresholdMap = createThresholdMap();
+        thresholdMap.put("policy.windowAggregation", "COUNT");
+        thresholdMap.put("policy.windowSize", "10");
+        thresholdMap.put("policy.windowSeconds", "300");
+        thresholdMap.put("policy.windowViolationCount", "3");
+        final Threshold threshold = TCAUtils.createNewThreshold(thresholdMap);
+        assertThat(threshold.getWindowAggregation(), is(ThresholdWindowAggregation.COUNT));
+        assertThat(threshold.getWindowSize(), is(10));
+        assertThat(threshold.getWindowSeconds(), is(300));
+        assertThat(threshold.getWindowViolationCount(), is(3));
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void testCreateNewThresholdWithInvalidWindowSize() throws Exception {
+        final Map<String, String> thresholdMap = createThresholdMap();
+        thresholdMap.put("policy.windowAggregation", "AVERAGE");
+        thresholdMap.put("policy.windowSize", "ten");
+        TCAUtils.createNewThreshold(thresholdMap);
+    }
+
+    @Test
+    public void testCreateNewThresholdWithPercentileWindow() throws Exception {
+        final Map<String, String> thresholdMap = createThresholdMap();
+        thresholdMap.put("policy.windowAggregation", "PERCENTILE");
+        thresholdMap.put("policy.windowSeconds", "300");
+        thresholdMap.put("policy.windowPercentile", "99.5");
+        final Threshold threshold = TCAUtils.createNewThreshold(thresholdMap);
+        assertThat(threshold.getWindowAggregation(), is(ThresholdWindowAggregation.PERCENTILE));
+        assertNull(threshold.getWindowSize());
+        assertThat(threshold.getWindowPercentile(), is(99.5));
+    }
+
+    private static Map<String, String> createThresholdMap() {
+        final Map<String, String> thresholdMap = new HashMap<>();
+        thresholdMap.put("policy.closedLoopControlName",
+                "CL-FRWL-LOW-TRAFFIC-SIG-d925ed73-8231-4d02-9545-db4e101f88f8");
+        thresholdMap.put("policy.version", "1.0.2");
+        thresholdMap.put("policy.fieldPath", "$.event.measurementsForVfScalingFields.vNicUsageArray[*].bytesIn");
+        thresholdMap.put("policy.thresholdValue", "4000");
+        thresholdMap.put("policy.direction", "LESS_OR_EQUAL");
+        thresholdMap.put("policy.severity", "MAJOR");
+        return thresholdMap;
+    }
 }
@@ -0,0 +1,78 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.validator;
+
+import org.junit.Test;
+import org.openecomp.dcae.apod.analytics.common.validation.GenericValidationResponse;
+import org.openecomp.dcae.apod.analytics.tca.BaseAnalyticsTCAUnitTest;
+import org.openecomp.dcae.apod.analytics.tca.settings.TCAAppConfig;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.spy;
+
+public class TCAAppConfigValidatorTest extends BaseAnalyticsTCAUnitTest {
+
+    @Test
+    public void testDefaultTCAAppConfigIsValid() throws Exception {
+        final GenericValidationResponse<TCAAppConfig> validationResponse =
+                new TCAAppConfigValidator().validateAppSettings(new TCAAppConfig());
+        assertThat("Default TCA App Config must be valid", validationResponse.hasErrors(), is(false));
+    }
+
+    @Test
+    public void testThresholdStateMaxEntriesMustBePresent() throws Exception {
+        final TCAAppConfig tcaAppConfig = spy(new TCAAppConfig());
+        doReturn(null).when(tcaAppConfig).getThresholdStateMaxEntries();
+        assertFieldHasError(tcaAppConfig, "thresholdStateMaxEntries");
+    }
+
+    @Test
+    public void testThresholdStateMaxEntriesMustBePositive() throws Exception {
+        final TCAAppConfig tcaAppConfig = spy(new TCAAppConfig());
+        doReturn(0).when(tcaAppConfig).getThresholdStateMaxEntries();
+        assertFieldHasError(tcaAppConfig, "thresholdStateMaxEntries");
+    }
+
+    @Test
+    public void testThresholdStateTTLSecondsMustBePresent() throws Exception {
+        final TCAAppConfig tcaAppConfig = spy(new TCAAppConfig());
+        doReturn(null).when(tcaAppConfig).getThresholdStateTTLSeconds();
+        assertFieldHasError(tcaAppConfig, "thresholdStateTTLSeconds");
+    }
+
+    @Test
+    public void testThresholdStateTTLSecondsMustBePositive() throws Exception {
+        final TCAAppConfig tcaAppConfig = spy(new TCAAppConfig());
+        doReturn(-1).when(tcaAppConfig).getThresholdStateTTLSeconds();
+        assertFieldHasError(tcaAppConfig, "thresholdStateTTLSeconds");
+    }
+
+    private static void assertFieldHasError(final TCAAppConfig tcaAppConfig, final String fieldName) {
+        final GenericValidationResponse<TCAAppConfig> validationResponse =
+                new TCAAppConfigValidator().validateAppSettings(tcaAppConfig);
+        assertThat("TCA App Config must be invalid", validationResponse.hasErrors(), is(true));
+        assertThat(fieldName + " must have validation error",
+                validationResponse.getFieldNamesWithError().contains(fieldName), is(true));
+    }
+
+}
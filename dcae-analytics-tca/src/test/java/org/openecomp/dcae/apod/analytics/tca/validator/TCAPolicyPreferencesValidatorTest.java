@@ -0,0 +1,234 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.tca.validator;
+
+import org.junit.Test;
+import org.openecomp.dcae.apod.analytics.common.AnalyticsConstants;
+import org.openecomp.dcae.apod.analytics.common.validation.GenericValidationResponse;
+import org.openecomp.dcae.apod.analytics.model.domain.cef.EventSeverity;
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.Direction;
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.MetricsPerFunctionalRole;
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.Threshold;
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.ThresholdValueType;
+import org.openecomp.dcae.apod.analytics.model.domain.policy.tca.ThresholdWindowAggregation;
+import org.openecomp.dcae.apod.analytics.tca.BaseAnalyticsTCAUnitTest;
+import org.openecomp.dcae.apod.analytics.tca.settings.TCAPolicyPreferences;
+
+import java.util.Collections;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class TCAPolicyPreferencesValidatorTest extends BaseAnalyticsTCAUnitTest {
+
+    private static final String BYTES_IN_FIELD_PATH =
+            "$.event.measurementsForVfScalingFields.vNicUsageArray[*].bytesIn";
+
+    @Test
+    public void testValidThreshold() throws Exception {
+        assertThat("Threshold with fieldPath must be valid", hasErrors(createThreshold()), is(false));
+    }
+
+    @Test
+    public void testValidFieldExpressionThreshold() throws Exception {
+        final Threshold threshold = createThreshold();
+        threshold.setFieldPath(null);
+        threshold.setFieldExpression(BYTES_IN_FIELD_PATH + " * 8");
+        assertThat("Threshold with fieldExpression must be valid", hasErrors(threshold), is(false));
+    }
+
+    @Test
+    public void testThresholdWithoutFieldPathAndFieldExpression() throws Exception {
+        final Threshold threshold = createThreshold();
+        threshold.setFieldPath(null);
+        assertThat("Threshold must have fieldPath or fieldExpression", hasErrors(threshold), is(true));
+    }
+
+    @Test
+    public void testThresholdWithInvalidFieldExpression() throws Exception {
+        final Threshold threshold = createThreshold();
+        threshold.setFieldPath(null);
+        threshold.setFieldExpression("(" + BYTES_IN_FIELD_PATH + " + ");
+        assertThat("Threshold fieldExpression must compile", hasErrors(threshold), is(true));
+    }
+
+    @Test
+    public void testThresholdWithConstantFieldExpression() throws Exception {
+        final Threshold threshold = createThreshold();
+        threshold.setFieldPath(null);
+        threshold.setFieldExpression("(2 + 3) * 4");
+        assertThat("Threshold fieldExpression must contain field path", hasErrors(threshold), is(true));
+    }
+
+    @Test
+    public void testValidValueTypeThreshold() throws Exception {
+        final Threshold threshold = createThreshold();
+        threshold.setValueType(ThresholdValueType.RATE);
+        assertThat("Threshold with valueType and fieldPath must be valid", hasErrors(threshold), is(false));
+    }
+
+    @Test
+    public void testValueTypeThresholdWithoutFieldPath() throws Exception {
+        final Threshold threshold = createThreshold();
+        threshold.setFieldPath(null);
+        threshold.setFieldExpression(BYTES_IN_FIELD_PATH + " * 8");
+        threshold.setValueType(ThresholdValueType.DELTA);
+        assertThat("Threshold with valueType must have fieldPath", hasErrors(threshold), is(true));
+    }
+
+    @Test
+    public void testValueTypeThresholdWithFieldExpression() throws Exception {
+        final Threshold threshold = createThreshold();
+        threshold.setFieldExpression(BYTES_IN_FIELD_PATH + " * 8");
+        threshold.setValueType(ThresholdValueType.DELTA);
+        assertThat("Threshold with valueType must not have fieldExpression", hasErrors(threshold), is(true));
+    }
+
+    @Test
+    public void testValidWindowThreshold() throws Exception {
+        final Threshold threshold = createThreshold();
+        threshold.setWindowAggregation(ThresholdWindowAggregation.AVERAGE);
+        threshold.setWindowSize(10);
+        threshold.setWindowSeconds(300);
+        assertThat("Window threshold with windowSize must be valid", hasErrors(threshold), is(false));
+    }
+
+    @Test
+    public void testWindowThresholdWithoutWindowSize() throws Exception {
+        final Threshold threshold = createThreshold();
+        threshold.setWindowAggregation(ThresholdWindowAggregation.MAX);
+        threshold.setWindowSeconds(300);
+        assertThat("Window threshold other than PERCENTILE must have windowSize", hasErrors(threshold), is(true));
+    }
+
+    @Test
+    public void testWindowThresholdWithWindowSizeOutOfRange() throws Exception {
+        final Threshold threshold = createThreshold();
+        threshold.setWindowAggregation(ThresholdWindowAggregation.AVERAGE);
+        threshold.setWindowSize(0);
+        assertThat("Window threshold windowSize must be positive", hasErrors(threshold), is(true));
+        threshold.setWindowSize(AnalyticsConstants.TCA_MAX_THRESHOLD_WINDOW_SIZE + 1);
+        assertThat("Window threshold windowSize must not be greater than max window size",
+                hasErrors(threshold), is(true));
+        threshold.setWindowSize(AnalyticsConstants.TCA_MAX_THRESHOLD_WINDOW_SIZE);
+        assertThat("Window threshold with max window size must be valid", hasErrors(threshold), is(false));
+    }
+
+    @Test
+    public void testWindowThresholdWithNonPositiveWindowSeconds() throws Exception {
+        final Threshold threshold = createThreshold();
+        threshold.setWindowAggregation(ThresholdWindowAggregation.MIN);
+        threshold.setWindowSize(10);
+        threshold.setWindowSeconds(0);
+        assertThat("Window threshold windowSeconds must be positive", hasErrors(threshold), is(true));
+    }
+
+    @Test
+    public void testCountWindowThreshold() throws Exception {
+        final Threshold threshold = createThreshold();
+        threshold.setWindowAggregation(ThresholdWindowAggregation.COUNT);
+        threshold.setWindowSize(5);
+        assertThat("COUNT window threshold must have windowViolationCount", hasErrors(threshold), is(true));
+        threshold.setWindowViolationCount(6);
+        assertThat("COUNT window threshold windowViolationCount must not be greater than windowSize",
+                hasErrors(threshold), is(true));
+        threshold.setWindowViolationCount(3);
+        assertThat("COUNT window threshold must be valid", hasErrors(threshold), is(false));
+    }
+
+    @Test
+    public void testWindowThresholdWithFieldExpression() throws Exception {
+        final Threshold threshold = createThreshold();
+        threshold.setFieldPath(null);
+        threshold.setFieldExpression(BYTES_IN_FIELD_PATH + " * 8");
+        threshold.setWindowAggregation(ThresholdWindowAggregation.AVERAGE);
+        threshold.setWindowSize(10);
+        assertThat("Window threshold must not have fieldExpression", hasErrors(threshold), is(true));
+    }
+
+    @Test
+    public void testValidPercentileWindowThreshold() throws Exception {
+        final Threshold threshold = createThreshold();
+        threshold.setWindowAggregation(ThresholdWindowAggregation.PERCENTILE);
+        threshold.setWindowSeconds(300);
+        threshold.setWindowPercentile(99.0);
+        assertThat("PERCENTILE window threshold must be valid", hasErrors(threshold), is(false));
+    }
+
+    @Test
+    public void testPercentileWindowThresholdWithoutWindowSeconds() throws Exception {
+        final Threshold threshold = createThreshold();
+        threshold.setWindowAggregation(ThresholdWindowAggregation.PERCENTILE);
+        threshold.setWindowPercentile(99.0);
+        assertThat("PERCENTILE window threshold must have windowSeconds", hasErrors(threshold), is(true));
+    }
+
+    @Test
+    public void testPercentileWindowThresholdWithWindowSize() throws Exception {
+        final Threshold threshold = createThreshold();
+        threshold.setWindowAggregation(ThresholdWindowAggregation.PERCENTILE);
+        threshold.setWindowSeconds(300);
+        threshold.setWindowSize(10);
+        threshold.setWindowPercentile(99.0);
+        assertThat("PERCENTILE window threshold must not have windowSize", hasErrors(threshold), is(true));
+    }
+
+    @Test
+    public void testPercentileWindowThresholdWithWindowPercentileOutOfRange() throws Exception {
+        final Threshold threshold = createThreshold();
+        threshold.setWindowAggregation(ThresholdWindowAggregation.PERCENTILE);
+        threshold.setWindowSeconds(300);
+        assertThat("PERCENTILE window threshold must have windowPercentile", hasErrors(threshold), is(true));
+        threshold.setWindowPercentile(0.0);
+        assertThat("PERCENTILE window threshold windowPercentile must be greater than 0",
+                hasErrors(threshold), is(true));
+        threshold.setWindowPercentile(100.5);
+        assertThat("PERCENTILE window threshold windowPercentile must not be greater than 100",
+                hasErrors(threshold), is(true));
+        threshold.setWindowPercentile(100.0);
+        assertThat("PERCENTILE window threshold with 100 windowPercentile must be valid",
+                hasErrors(threshold), is(false));
+    }
+
+    private static Threshold createThreshold() {
+        final Threshold threshold = new Threshold();
+        threshold.setClosedLoopControlName("CL-FRWL-LOW-TRAFFIC-SIG-d925ed73-8231-4d02-9545-db4e101f88f8");
+        threshold.setVersion("1.0.2");
+        threshold.setFieldPath(BYTES_IN_FIELD_PATH);
+        threshold.setThresholdValue(4000L);
+        threshold.setDirection(Direction.GREATER);
+        threshold.setSeverity(EventSeverity.CRITICAL);
+        return threshold;
+    }
+
+    private static boolean hasErrors(final Threshold threshold) {
+        final MetricsPerFunctionalRole metricsPerFunctionalRole = new MetricsPerFunctionalRole();
+        metricsPerFunctionalRole.setFunctionalRole("vFirewall");
+        metricsPerFunctionalRole.setThresholds(Collections.singletonList(threshold));
+        final TCAPolicyPreferences tcaPolicyPreferences = new TCAPolicyPreferences();
+        tcaPolicyPreferences.setDomain("measurementsForVfScaling");
+        tcaPolicyPreferences.setMetricsPerFunctionalRole(Collections.singletonList(metricsPerFunctionalRole));
+        final GenericValidationResponse<TCAPolicyPreferences> validationResponse =
+                new TCAPolicyPreferencesValidator().validateAppSettings(tcaPolicyPreferences);
+        return validationResponse.hasErrors();
+    }
+
+}
@@ -0,0 +1,601 @@
+/*
+ * ============LICENSE_START=========================================================
+ * dcae-analytics
+ * ================================================================================
+ *  Copyright © 2017 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.openecomp.dcae.apod.analytics.test.dmaap;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Preconditions;
+import com.google.common.io.CharStreams;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lightweight embedded HTTP server which stands in for DMaaP Message Router in local tests and benchmarks.
+ * <p>
+ * Implements MR publish endpoint - POST /events/{topic} and fetch endpoint - GET /events/{topic}/{group}/{id}
+ * with optional timeout (long poll) and limit query params. Each consumer group keeps its own offset in the topic,
+ * consumer ids of the same group share messages. Latency, error rate, throttling, long poll timeout and
+ * message limits can be configured using {@link Builder}.
+ * </p>
+ * <pre>
+ *     try (DMaaPMRStandInServer server = new DMaaPMRStandInServer.Builder().setLatencyMS(5).build()) {
+ *         server.start();
+ *         // point publisher / subscriber configs to server.getHostName() and server.getPort() using http
+ *     }
+ * </pre>
+ */
+public class DMaaPMRStandInServer implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DMaaPMRStandInServer.class);
+
+    public static final String HOST_NAME = "localhost";
+    public static final String HTTP_PROTOCOL = "http";
+    public static final String EVENTS_PATH = "/events/";
+    public static final String TIMEOUT_QUERY_PARAM_NAME = "timeout";
+    public static final String LIMIT_QUERY_PARAM_NAME = "limit";
+
+    public static final int HTTP_OK_RESPONSE_CODE = 200;
+    public static final int HTTP_BAD_REQUEST_RESPONSE_CODE = 400;
+    public static final int HTTP_NOT_FOUND_RESPONSE_CODE = 404;
+    public static final int HTTP_METHOD_NOT_ALLOWED_RESPONSE_CODE = 405;
+    public static final int HTTP_TOO_MANY_REQUESTS_RESPONSE_CODE = 429;
+    public static final int HTTP_INTERNAL_SERVER_ERROR_RESPONSE_CODE = 500;
+
+    private static final String JSON_CONTENT_TYPE = "application/json";
+
+    private final HttpServer httpServer;
+    private final ExecutorService serverExecutor;
+    private final int latencyMS;
+    private final int latencyJitterMS;
+    private final double errorRate;
+    private final int maxRequestsPerSecond;
+    private final int maxLongPollTimeoutMS;
+    private final int maxFetchLimit;
+    private final int maxRetainedMessages;
+
+    private final Gson gson = new Gson();
+    private final ConcurrentMap<String, StandInTopic> topics = new ConcurrentHashMap<>();
+
+    private final Object throttleLock = new Object();
+    private long throttleWindowSecond;
+    private int throttleWindowRequestCount;
+
+    private final AtomicLong publishRequestCount = new AtomicLong();
+    private final AtomicLong fetchRequestCount = new AtomicLong();
+    private final AtomicLong publishedMessageCount = new AtomicLong();
+    private final AtomicLong fetchedMessageCount = new AtomicLong();
+    private final AtomicLong errorResponseCount = new AtomicLong();
+    private final AtomicLong throttledResponseCount = new AtomicLong();
+
+    private DMaaPMRStandInServer(final Builder builder) throws IOException {
+        this.latencyMS = builder.latencyMS;
+        this.latencyJitterMS = builder.latencyJitterMS;
+        this.errorRate = builder.errorRate;
+        this.maxRequestsPerSecond = builder.maxRequestsPerSecond;
+        this.maxLongPollTimeoutMS = builder.maxLongPollTimeoutMS;
+        this.maxFetchLimit = builder.maxFetchLimit;
+        this.maxRetainedMessages = builder.maxRetainedMessages;
+        this.httpServer = HttpServer.create(new InetSocketAddress(HOST_NAME, builder.portNumber), 0);
+        this.serverExecutor = Executors.newFixedThreadPool(builder.serverThreads);
+        this.httpServer.setExecutor(serverExecutor);
+        this.httpServer.createContext(EVENTS_PATH, new EventsHandler());
+    }
+
+    /**
+     * Starts accepting DMaaP MR requests
+     */
+    public void start() {
+        httpServer.start();
+        LOG.info("Started DMaaP MR Stand-in Server at: {}://{}:{}", HTTP_PROTOCOL, HOST_NAME, getPort());
+    }
+
+    /**
+     * Stops server immediately. Pending long poll fetch requests are interrupted
+     */
+    @Override
+    public void close() {
+        httpServer.stop(0);
+        serverExecutor.shutdownNow();
+        LOG.info("Stopped DMaaP MR Stand-in Server at port: {}", getPort());
+    }
+
+    /**
+     * Returns port number server is listening on. Useful when server was created with ephemeral port
+     *
+     * @return server port number
+     */
+    public int getPort() {
+        return httpServer.getAddress().getPort();
+    }
+
+    /**
+     * Returns server host name
+     *
+     * @return server host name
+     */
+    public String getHostName() {
+        return HOST_NAME;
+    }
+
+    /**
+     * Appends given messages to topic directly - without any simulated latency, errors or throttling.
+     * Can be used to preload topics for subscriber tests
+     *
+     * @param topicName topic name
+     * @param messages messages to be appended to topic
+     */
+    public void addMessages(final String topicName, final List<String> messages) {
+        getTopic(topicName).append(messages);
+    }
+
+    /**
+     * Returns all messages currently retained by topic
+     *
+     * @param topicName topic name
+     *
+     * @return retained topic messages
+     */
+    public List<String> getMessages(final String topicName) {
+        final StandInTopic topic = topics.get(topicName);
+        return topic == null ? Collections.<String>emptyList() : topic.getMessages();
+    }
+
+    public long getPublishRequestCount() {
+        return publishRequestCount.get();
+    }
+
+    public long getFetchRequestCount() {
+        return fetchRequestCount.get();
+    }
+
+    public long getPublishedMessageCount() {
+        return publishedMessageCount.get();
+    }
+
+    public long getFetchedMessageCount() {
+        return fetchedMessageCount.get();
+    }
+
+    public long getErrorResponseCount() {
+        return errorResponseCount.get();
+    }
+
+    public long getThrottledResponseCount() {
+        return throttledResponseCount.get();
+    }
+
+    private StandInTopic getTopic(final String topicName) {
+        StandInTopic topic = topics.get(topicName);
+        if (topic == null) {
+            final StandInTopic newTopic = new StandInTopic(maxRetainedMessages);
+            topic = topics.putIfAbsent(topicName, newTopic);
+            if (topic == null) {
+                topic = newTopic;
+            }
+        }
+        return topic;
+    }
+
+    private void handleRequest(final HttpExchange exchange) throws IOException {
+
+        final String requestMethod = exchange.getRequestMethod();
+        final String[] pathParts = exchange.getRequestURI().getPath().substring(EVENTS_PATH.length()).split("/");
+        final boolean isPublishRequest = pathParts.length == 1 && !pathParts[0].isEmpty();
+        final boolean isFetchRequest = pathParts.length == 3;
+
+        if (!isPublishRequest && !isFetchRequest) {
+            sendErrorResponse(exchange, HTTP_NOT_FOUND_RESPONSE_CODE, "Unknown DMaaP MR resource");
+            return;
+        }
+        if ((isPublishRequest && !"POST".equals(requestMethod)) || (isFetchRequest && !"GET".equals(requestMethod))) {
+            sendErrorResponse(exchange, HTTP_METHOD_NOT_ALLOWED_RESPONSE_CODE, "Method not allowed");
+            return;
+        }
+
+        simulateLatency();
+
+        if (isThrottled()) {
+            throttledResponseCount.incrementAndGet();
+            sendErrorResponse(exchange, HTTP_TOO_MANY_REQUESTS_RESPONSE_CODE, "Request rate limit exceeded");
+            return;
+        }
+        if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+            errorResponseCount.incrementAndGet();
+            sendErrorResponse(exchange, HTTP_INTERNAL_SERVER_ERROR_RESPONSE_CODE, "Stand-in simulated error");
+            return;
+        }
+
+        if (isPublishRequest) {
+            publishRequestCount.incrementAndGet();
+            handlePublish(exchange, pathParts[0]);
+        } else {
+            fetchRequestCount.incrementAndGet();
+            handleFetch(exchange, pathParts[0], pathParts[1]);
+        }
+    }
+
+    private void handlePublish(final HttpExchange exchange, final String topicName) throws IOException {
+        final long startTime = System.currentTimeMillis();
+        final String requestBody =
+                CharStreams.toString(new InputStreamReader(exchange.getRequestBody(), Charsets.UTF_8));
+        final List<String> messages = new ArrayList<>();
+        try {
+            final JsonElement requestJson = new JsonParser().parse(requestBody);
+            if (requestJson.isJsonArray()) {
+                for (JsonElement messageJson : requestJson.getAsJsonArray()) {
+                    messages.add(toMessage(messageJson));
+                }
+            } else if (!requestJson.isJsonNull()) {
+                messages.add(toMessage(requestJson));
+            }
+        } catch (JsonParseException e) {
+            sendErrorResponse(exchange, HTTP_BAD_REQUEST_RESPONSE_CODE, "Invalid json messages");
+            return;
+        }
+
+        getTopic(topicName).append(messages);
+        publishedMessageCount.addAndGet(messages.size());
+
+        final Map<String, Object> responseBody = new HashMap<>();
+        responseBody.put("serverTimeMs", System.currentTimeMillis() - startTime);
+        responseBody.put("count", messages.size());
+        sendResponse(exchange, HTTP_OK_RESPONSE_CODE, gson.toJson(responseBody));
+    }
+
+    private void handleFetch(final HttpExchange exchange, final String topicName, final String consumerGroup)
+            throws IOException {
+        final Map<String, String> queryParams = getQueryParams(exchange.getRequestURI().getRawQuery());
+
+        final int requestedTimeoutMS = parseIntParam(queryParams.get(TIMEOUT_QUERY_PARAM_NAME));
+        final int timeoutMS = Math.max(0, Math.min(requestedTimeoutMS, maxLongPollTimeoutMS));
+
+        final int requestedLimit = parseIntParam(queryParams.get(LIMIT_QUERY_PARAM_NAME));
+        int limit = requestedLimit > 0 ? requestedLimit : Integer.MAX_VALUE;
+        if (maxFetchLimit > 0) {
+            limit = Math.min(limit, maxFetchLimit);
+        }
+
+        final List<String> messages;
+        try {
+            messages = getTopic(topicName).fetch(consumerGroup, limit, timeoutMS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        fetchedMessageCount.addAndGet(messages.size());
+        // MR returns fetched messages as json array of message strings
+        sendResponse(exchange, HTTP_OK_RESPONSE_CODE, gson.toJson(messages));
+    }
+
+    private void simulateLatency() {
+        if (latencyMS <= 0 && latencyJitterMS <= 0) {
+            return;
+        }
+        final int jitterMS = latencyJitterMS > 0 ? ThreadLocalRandom.current().nextInt(latencyJitterMS + 1) : 0;
+        try {
+            TimeUnit.MILLISECONDS.sleep(latencyMS + jitterMS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean isThrottled() {
+        if (maxRequestsPerSecond <= 0) {
+            return false;
+        }
+        final long currentSecond = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+        synchronized (throttleLock) {
+            if (currentSecond != throttleWindowSecond) {
+                throttleWindowSecond = currentSecond;
+                throttleWindowRequestCount = 0;
+            }
+            throttleWindowRequestCount++;
+            return throttleWindowRequestCount > maxRequestsPerSecond;
+        }
+    }
+
+    private void sendErrorResponse(final HttpExchange exchange, final int responseCode, final String errorMessage)
+            throws IOException {
+        final Map<String, Object> responseBody = new HashMap<>();
+        responseBody.put("status", responseCode);
+        responseBody.put("message", errorMessage);
+        sendResponse(exchange, responseCode, gson.toJson(responseBody));
+    }
+
+    private static void sendResponse(final HttpExchange exchange, final int responseCode, final String responseBody)
+            throws IOException {
+        final byte[] responseBytes = responseBody.getBytes(Charsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", JSON_CONTENT_TYPE);
+        exchange.sendResponseHeaders(responseCode, responseBytes.length);
+        try (OutputStream responseStream = exchange.getResponseBody()) {
+            responseStream.write(responseBytes);
+        }
+    }
+
+    private static String toMessage(final JsonElement messageJson) {
+        return messageJson.isJsonPrimitive() ? messageJson.getAsString() : messageJson.toString();
+    }
+
+    private static Map<String, String> getQueryParams(final String rawQuery) {
+        final Map<String, String> queryParams = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return queryParams;
+        }
+        for (String queryParam : rawQuery.split("&")) {
+            final int separatorIndex = queryParam.indexOf('=');
+            if (separatorIndex > 0) {
+                queryParams.put(queryParam.substring(0, separatorIndex), queryParam.substring(separatorIndex + 1));
+            }
+        }
+        return queryParams;
+    }
+
+    private static int parseIntParam(final String paramValue) {
+        if (paramValue == null) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(paramValue);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+
+    /**
+     * Http handler for all requests under events path
+     */
+    private class EventsHandler implements HttpHandler {
+
+        @Override
+        public void handle(final HttpExchange exchange) throws IOException {
+            try {
+                handleRequest(exchange);
+            } finally {
+                exchange.close();
+            }
+        }
+    }
+
+
+    /**
+     * Messages of a topic along with offsets of consumer groups. Oldest messages are discarded once topic
+     * retains more than max retained messages
+     */
+    private static final class StandInTopic {
+
+        private final int maxRetainedMessages;
+        private final List<String> messages = new ArrayList<>();
+        private final Map<String, Long> consumerGroupOffsets = new HashMap<>();
+        private long firstMessageOffset;
+
+        private StandInTopic(final int maxRetainedMessages) {
+            this.maxRetainedMessages = maxRetainedMessages;
+        }
+
+        private synchronized void append(final List<String> newMessages) {
+            messages.addAll(newMessages);
+            if (messages.size() > maxRetainedMessages) {
+                final int discardedMessageCount = messages.size() - maxRetainedMessages;
+                messages.subList(0, discardedMessageCount).clear();
+                firstMessageOffset += discardedMessageCount;
+            }
+            notifyAll();
+        }
+
+        private synchronized List<String> fetch(final String consumerGroup, final int limit, final int timeoutMS)
+                throws InterruptedException {
+            final long deadline = System.currentTimeMillis() + timeoutMS;
+            // new consumer groups start from oldest retained message
+            final Long groupOffset = consumerGroupOffsets.get(consumerGroup);
+            long offset = groupOffset == null ? firstMessageOffset : Math.max(groupOffset, firstMessageOffset);
+
+            long remainingMS = timeoutMS;
+            while (offset >= firstMessageOffset + messages.size() && remainingMS > 0) {
+                wait(remainingMS);
+                offset = Math.max(offset, firstMessageOffset);
+                remainingMS = deadline - System.currentTimeMillis();
+            }
+
+            final int fromIndex = (int) (offset - firstMessageOffset);
+            final int toIndex = (int) Math.min(messages.size(), (long) fromIndex + limit);
+            final List<String> fetchedMessages = new ArrayList<>(messages.subList(fromIndex, toIndex));
+            consumerGroupOffsets.put(consumerGroup, offset + fetchedMessages.size());
+            return fetchedMessages;
+        }
+
+        private synchronized List<String> getMessages() {
+            return new ArrayList<>(messages);
+        }
+    }
+
+
+    /**
+     * Builder for {@link DMaaPMRStandInServer}
+     */
+    public static class Builder {
+
+        private int portNumber;
+        private int serverThreads = 16;
+        private int latencyMS;
+        private int latencyJitterMS;
+        private double errorRate;
+        private int maxRequestsPerSecond;
+        private int maxLongPollTimeoutMS = 15000;
+        private int maxFetchLimit;
+        private int maxRetainedMessages = 100000;
+
+        /**
+         * Port number server listens on. Defaults to 0 - ephemeral port
+         *
+         * @param portNumber port number
+         *
+         * @return builder
+         */
+        public Builder setPortNumber(final int portNumber) {
+            Preconditions.checkArgument(portNumber >= 0, "Port number must not be negative");
+            this.portNumber = portNumber;
+            return this;
+        }
+
+        /**
+         * Number of server threads. Each pending long poll fetch request occupies a thread. Defaults to 16
+         *
+         * @param serverThreads server threads
+         *
+         * @return builder
+         */
+        public Builder setServerThreads(final int serverThreads) {
+            Preconditions.checkArgument(serverThreads > 0, "Server threads must be positive");
+            this.serverThreads = serverThreads;
+            return this;
+        }
+
+        /**
+         * Fixed latency added to each request. Defaults to 0
+         *
+         * @param latencyMS latency in milliseconds
+         *
+         * @return builder
+         */
+        public Builder setLatencyMS(final int latencyMS) {
+            Preconditions.checkArgument(latencyMS >= 0, "Latency must not be negative");
+            this.latencyMS = latencyMS;
+            return this;
+        }
+
+        /**
+         * Max random latency added to fixed latency of each request. Defaults to 0
+         *
+         * @param latencyJitterMS latency jitter in milliseconds
+         *
+         * @return builder
+         */
+        public Builder setLatencyJitterMS(final int latencyJitterMS) {
+            Preconditions.checkArgument(latencyJitterMS >= 0, "Latency jitter must not be negative");
+            this.latencyJitterMS = latencyJitterMS;
+            return this;
+        }
+
+        /**
+         * Fraction of requests which fail with 500 (Internal Server Error) response code. Defaults to 0
+         *
+         * @param errorRate error rate between 0 and 1
+         *
+         * @return builder
+         */
+        public Builder setErrorRate(final double errorRate) {
+            Preconditions.checkArgument(errorRate >= 0 && errorRate <= 1, "Error rate must be between 0 and 1");
+            this.errorRate = errorRate;
+            return this;
+        }
+
+        /**
+         * Max requests accepted per second. Requests above limit fail with 429 (Too Many Requests) response code.
+         * Defaults to 0 - no throttling
+         *
+         * @param maxRequestsPerSecond max requests per second
+         *
+         * @return builder
+         */
+        public Builder setMaxRequestsPerSecond(final int maxRequestsPerSecond) {
+            Preconditions.checkArgument(maxRequestsPerSecond >= 0, "Max requests per second must not be negative");
+            this.maxRequestsPerSecond = maxRequestsPerSecond;
+            return this;
+        }
+
+        /**
+         * Max time fetch request waits for messages when topic has no new messages for consumer group.
+         * Requested timeout query param is capped to this value. Defaults to 15000
+         *
+         * @param maxLongPollTimeoutMS max long poll timeout in milliseconds
+         *
+         * @return builder
+         */
+        public Builder setMaxLongPollTimeoutMS(final int maxLongPollTimeoutMS) {
+            Preconditions.checkArgument(maxLongPollTimeoutMS >= 0, "Max long poll timeout must not be negative");
+            this.maxLongPollTimeoutMS = maxLongPollTimeoutMS;
+            return this;
+        }
+
+        /**
+         * Max messages returned by single fetch request. Requested limit query param is capped to this value.
+         * Defaults to 0 - no limit
+         *
+         * @param maxFetchLimit max fetch limit
+         *
+         * @return builder
+         */
+        public Builder setMaxFetchLimit(final int maxFetchLimit) {
+            Preconditions.checkArgument(maxFetchLimit >= 0, "Max fetch limit must not be negative");
+            this.maxFetchLimit = maxFetchLimit;
+            return this;
+        }
+
+        /**
+         * Max messages retained by each topic. Oldest messages are discarded above this limit. Defaults to 100000
+         *
+         * @param maxRetainedMessages max retained messages per topic
+         *
+         * @return builder
+         */
+        public Builder setMaxRetainedMessages(final int maxRetainedMessages) {
+            Preconditions.checkArgument(maxRetainedMessages > 0, "Max retained messages must be positive");
+            this.maxRetainedMessages = maxRetainedMessages;
+            return this;
+        }
+
+        /**
+         * Creates server bound to configured port. Server must be started before use
+         *
+         * @return new DMaaP MR stand-in server
+         *
+         * @throws IOException if server cannot be bound to port
+         */
+        public DMaaPMRStandInServer build() throws IOException {
+            return new DMaaPMRStandInServer(this);
+        }
+    }
+
+}